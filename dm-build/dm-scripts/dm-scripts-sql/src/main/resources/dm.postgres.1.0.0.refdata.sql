@@ -570,6 +570,7 @@ INSERT INTO scrty_fn_lk VALUES('FN_CUSTOM_DDLS_DELETE','FN_CUSTOM_DDLS_DELETE','
 INSERT INTO scrty_fn_lk VALUES('FN_CUSTOM_DDLS_GET','FN_CUSTOM_DDLS_GET','FN_CUSTOM_DDLS_GET,current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_CUSTOM_DDLS_POST','FN_CUSTOM_DDLS_POST','FN_CUSTOM_DDLS_POST,current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_CUSTOM_DDLS_PUT','FN_CUSTOM_DDLS_PUT','FN_CUSTOM_DDLS_PUT,current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
+INSERT INTO scrty_fn_lk VALUES('FN_DATABASE_STATISTICS_GET','FN_DATABASE_STATISTICS_GET','FN_DATABASE_STATISTICS_GET',current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_DISPLAY_DM_UI','FN_DISPLAY_DM_UI','FN_DISPLAY_DM_UI,current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_DOWNLOAD_GET','FN_DOWNLOAD_GET','FN_DOWNLOAD_GET,current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_EMR_CLUSTERS_DELETE','FN_EMR_CLUSTERS_DELETE','FN_EMR_CLUSTERS_DELETE,current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
@@ -596,6 +597,7 @@ INSERT INTO scrty_fn_lk VALUES('FN_JOBS_SIGNAL_POST','FN_JOBS_SIGNAL_POST','FN_J
 INSERT INTO scrty_fn_lk VALUES('FN_JOB_DEFINITIONS_GET','FN_JOB_DEFINITIONS_GET','FN_JOB_DEFINITIONS_GET,current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_JOB_DEFINITIONS_POST','FN_JOB_DEFINITIONS_POST','FN_JOB_DEFINITIONS_POST,current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_JOB_DEFINITIONS_PUT','FN_JOB_DEFINITIONS_PUT','FN_JOB_DEFINITIONS_PUT,current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
+INSERT INTO scrty_fn_lk VALUES('FN_METRICS_GET','FN_METRICS_GET','FN_METRICS_GET',current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_NAMESPACES_ALL_GET','FN_NAMESPACES_ALL_GET','FN_NAMESPACES_ALL_GET,current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_NAMESPACES_DELETE','FN_NAMESPACES_DELETE','FN_NAMESPACES_DELETE,current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_NAMESPACES_GET','FN_NAMESPACES_GET','FN_NAMESPACES_GET,current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
@@ -523,6 +523,37 @@ CREATE SEQUENCE emr_clstr_dfntn_seq
     CACHE 20;
 
 
+--
+-- Name: emr_clstr_pool; Type: TABLE; Schema: dmrowner; Owner: -; Tablespace: 
+--
+
+CREATE TABLE emr_clstr_pool (
+    emr_clstr_pool_id bigint NOT NULL,
+    emr_clstr_dfntn_id bigint NOT NULL,
+    dfntn_hash_cd character varying(64) NOT NULL,
+    emr_clstr_id character varying(20) NOT NULL,
+    emr_clstr_name_tx character varying(100) NOT NULL,
+    lease_emr_clstr_name_tx character varying(100),
+    lease_ts timestamp without time zone,
+    creat_ts timestamp without time zone DEFAULT ('now'::text)::timestamp without time zone NOT NULL,
+    creat_user_id character varying(100) NOT NULL,
+    updt_ts timestamp without time zone DEFAULT ('now'::text)::timestamp without time zone NOT NULL,
+    updt_user_id character varying(100)
+);
+
+
+--
+-- Name: emr_clstr_pool_seq; Type: SEQUENCE; Schema: dmrowner; Owner: -
+--
+
+CREATE SEQUENCE emr_clstr_pool_seq
+    START WITH 1
+    INCREMENT BY 1
+    NO MINVALUE
+    NO MAXVALUE
+    CACHE 20;
+
+
 --
 -- Name: file_type_cd_lk; Type: TABLE; Schema: dmrowner; Owner: -; Tablespace: 
 --
@@ -623,6 +654,21 @@ CREATE SEQUENCE job_dfntn_seq
     CACHE 20;
 
 
+--
+-- Name: job_smry; Type: TABLE; Schema: dmrowner; Owner: -; Tablespace: 
+--
+
+CREATE TABLE job_smry (
+    job_id character varying(64) NOT NULL,
+    prcs_dfntn_id character varying(64) NOT NULL,
+    job_stts_cd character varying(20) NOT NULL,
+    crnt_actvy_id character varying(255),
+    start_ts timestamp without time zone NOT NULL,
+    end_ts timestamp without time zone,
+    updt_ts timestamp without time zone DEFAULT ('now'::text)::timestamp without time zone NOT NULL
+);
+
+
 --
 -- Name: name_space; Type: TABLE; Schema: dmrowner; Owner: -; Tablespace: 
 --
@@ -1089,6 +1135,14 @@ ALTER TABLE ONLY emr_clstr_dfntn
     ADD CONSTRAINT emr_clstr_dfntn_pk PRIMARY KEY (emr_clstr_dfntn_id);
 
 
+--
+-- Name: emr_clstr_pool_pk; Type: CONSTRAINT; Schema: dmrowner; Owner: -; Tablespace: 
+--
+
+ALTER TABLE ONLY emr_clstr_pool
+    ADD CONSTRAINT emr_clstr_pool_pk PRIMARY KEY (emr_clstr_pool_id);
+
+
 --
 -- Name: file_type_cd_lk_pk; Type: CONSTRAINT; Schema: dmrowner; Owner: -; Tablespace: 
 --
@@ -1121,6 +1175,14 @@ ALTER TABLE ONLY job_dfntn
     ADD CONSTRAINT job_dfntn_pk PRIMARY KEY (job_dfntn_id);
 
 
+--
+-- Name: job_smry_pk; Type: CONSTRAINT; Schema: dmrowner; Owner: -; Tablespace: 
+--
+
+ALTER TABLE ONLY job_smry
+    ADD CONSTRAINT job_smry_pk PRIMARY KEY (job_id);
+
+
 --
 -- Name: name_space_pk; Type: CONSTRAINT; Schema: dmrowner; Owner: -; Tablespace: 
 --
@@ -1438,6 +1500,20 @@ CREATE UNIQUE INDEX emr_clstr_dfntn_ak ON emr_clstr_dfntn USING btree (name_spac
 CREATE INDEX emr_clstr_dfntn_ix1 ON emr_clstr_dfntn USING btree (name_space_cd);
 
 
+--
+-- Name: emr_clstr_pool_ak; Type: INDEX; Schema: dmrowner; Owner: -; Tablespace: 
+--
+
+CREATE UNIQUE INDEX emr_clstr_pool_ak ON emr_clstr_pool USING btree (emr_clstr_id);
+
+
+--
+-- Name: emr_clstr_pool_ix1; Type: INDEX; Schema: dmrowner; Owner: -; Tablespace: 
+--
+
+CREATE INDEX emr_clstr_pool_ix1 ON emr_clstr_pool USING btree (emr_clstr_dfntn_id);
+
+
 --
 -- Name: job_dfntn_ak; Type: INDEX; Schema: dmrowner; Owner: -; Tablespace: 
 --
@@ -1778,6 +1854,14 @@ ALTER TABLE ONLY emr_clstr_dfntn
     ADD CONSTRAINT emr_clstr_dfntn_fk1 FOREIGN KEY (name_space_cd) REFERENCES name_space(name_space_cd) DEFERRABLE INITIALLY DEFERRED;
 
 
+--
+-- Name: emr_clstr_pool_fk1; Type: FK CONSTRAINT; Schema: dmrowner; Owner: -
+--
+
+ALTER TABLE ONLY emr_clstr_pool
+    ADD CONSTRAINT emr_clstr_pool_fk1 FOREIGN KEY (emr_clstr_dfntn_id) REFERENCES emr_clstr_dfntn(emr_clstr_dfntn_id) DEFERRABLE INITIALLY DEFERRED;
+
+
 --
 -- Name: job_dfntn_atrbt_fk1; Type: FK CONSTRAINT; Schema: dmrowner; Owner: -
 --
@@ -0,0 +1,47 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.app.load;
+
+/**
+ * The operations that make up a load profile. Each operation is one client request against the REST controllers.
+ */
+public enum LoadOperation
+{
+    /**
+     * Gets the S3 key prefix of a new partition and registers business object data in the "UPLOADING" status for it.
+     */
+    REGISTER,
+
+    /**
+     * Updates the status of previously registered business object data to "VALID", the way an uploader completes a registration.
+     */
+    STATUS,
+
+    /**
+     * Checks the availability of a list of valid partitions.
+     */
+    AVAILABILITY,
+
+    /**
+     * Generates Hive 13 DDL for a list of valid partitions.
+     */
+    DDL,
+
+    /**
+     * Starts a job for the test workflow.
+     */
+    JOB
+}
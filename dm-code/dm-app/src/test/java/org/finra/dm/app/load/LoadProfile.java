@@ -0,0 +1,236 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.app.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.Assert;
+
+/**
+ * The settings of a load test run. All settings are read from "dm.load.*" system properties so a run can be configured from the Maven command line, e.g.:
+ * <p/>
+ * <pre>
+ * mvn -pl dm-app test -Dtest=LoadTest -Ddm.load.enabled=true -Ddm.load.threads=16 -Ddm.load.rate=200 \
+ *     -Ddm.load.mix=REGISTER:20,STATUS:20,AVAILABILITY:30,DDL:25,JOB:5
+ * </pre>
+ */
+public class LoadProfile
+{
+    public static final String PROPERTY_PREFIX = "dm.load.";
+
+    private static final String DEFAULT_MIX = "REGISTER:25,STATUS:25,AVAILABILITY:25,DDL:20,JOB:5";
+
+    private final int threadCount;
+
+    private final int targetRate;
+
+    private final int warmUpSeconds;
+
+    private final int durationSeconds;
+
+    private final int seedPartitionCount;
+
+    private final int storageFilesPerPartition;
+
+    private final int partitionsPerQuery;
+
+    private final double maxErrorPercentage;
+
+    private final double minThroughput;
+
+    private final Map<LoadOperation, Integer> operationWeights;
+
+    private final int totalWeight;
+
+    /**
+     * Creates a load profile.
+     *
+     * @param threadCount the number of concurrent client threads
+     * @param targetRate the total number of operations started per second across all threads or 0 to run the threads as fast as they can
+     * @param warmUpSeconds the duration of the warm-up phase whose measurements are discarded
+     * @param durationSeconds the duration of the measured phase
+     * @param seedPartitionCount the number of valid partitions registered before the run
+     * @param storageFilesPerPartition the number of storage files registered with each partition
+     * @param partitionsPerQuery the number of partitions requested by each availability and DDL operation
+     * @param maxErrorPercentage the highest percentage of failed operations for the run to pass
+     * @param minThroughput the lowest number of operations per second for the run to pass or 0 to not check the throughput
+     * @param mix the operation mix as a comma separated list of operation:weight pairs
+     */
+    public LoadProfile(int threadCount, int targetRate, int warmUpSeconds, int durationSeconds, int seedPartitionCount, int storageFilesPerPartition,
+        int partitionsPerQuery, double maxErrorPercentage, double minThroughput, String mix)
+    {
+        Assert.isTrue(threadCount > 0, "The thread count must be greater than 0.");
+        Assert.isTrue(targetRate >= 0, "The target rate must not be negative.");
+        Assert.isTrue(durationSeconds > 0, "The duration must be greater than 0.");
+        Assert.isTrue(seedPartitionCount > 0, "The seed partition count must be greater than 0.");
+        Assert.isTrue(storageFilesPerPartition > 0, "The number of storage files per partition must be greater than 0.");
+        Assert.isTrue(partitionsPerQuery > 0, "The number of partitions per query must be greater than 0.");
+
+        this.threadCount = threadCount;
+        this.targetRate = targetRate;
+        this.warmUpSeconds = Math.max(warmUpSeconds, 0);
+        this.durationSeconds = durationSeconds;
+        this.seedPartitionCount = seedPartitionCount;
+        this.storageFilesPerPartition = storageFilesPerPartition;
+        this.partitionsPerQuery = partitionsPerQuery;
+        this.maxErrorPercentage = maxErrorPercentage;
+        this.minThroughput = minThroughput;
+        this.operationWeights = parseMix(mix);
+
+        int weightSum = 0;
+        for (Integer weight : operationWeights.values())
+        {
+            weightSum += weight;
+        }
+        Assert.isTrue(weightSum > 0, "At least one operation must have a weight greater than 0.");
+        this.totalWeight = weightSum;
+    }
+
+    /**
+     * Creates a load profile from the "dm.load.*" system properties, using defaults for the properties that are not set.
+     *
+     * @return the load profile
+     */
+    public static LoadProfile fromSystemProperties()
+    {
+        return new LoadProfile(Integer.getInteger(PROPERTY_PREFIX + "threads", 8), Integer.getInteger(PROPERTY_PREFIX + "rate", 0),
+            Integer.getInteger(PROPERTY_PREFIX + "warmUpSeconds", 10), Integer.getInteger(PROPERTY_PREFIX + "durationSeconds", 60),
+            Integer.getInteger(PROPERTY_PREFIX + "seedPartitions", 200), Integer.getInteger(PROPERTY_PREFIX + "filesPerPartition", 10),
+            Integer.getInteger(PROPERTY_PREFIX + "partitionsPerQuery", 30), Double.parseDouble(System.getProperty(PROPERTY_PREFIX + "maxErrorPercentage", "1")),
+            Double.parseDouble(System.getProperty(PROPERTY_PREFIX + "minThroughput", "0")), System.getProperty(PROPERTY_PREFIX + "mix", DEFAULT_MIX));
+    }
+
+    /**
+     * Determines whether load testing was requested through the "dm.load.enabled" system property.
+     *
+     * @return true if load testing is enabled, false otherwise
+     */
+    public static boolean isEnabled()
+    {
+        return Boolean.getBoolean(PROPERTY_PREFIX + "enabled");
+    }
+
+    /**
+     * Picks the next operation to run according to the operation weights.
+     *
+     * @param random the random number generator of the calling thread
+     *
+     * @return the operation
+     */
+    public LoadOperation nextOperation(Random random)
+    {
+        int value = random.nextInt(totalWeight);
+        for (Map.Entry<LoadOperation, Integer> entry : operationWeights.entrySet())
+        {
+            value -= entry.getValue();
+            if (value < 0)
+            {
+                return entry.getKey();
+            }
+        }
+
+        // This can't happen since the values drawn are lower than the sum of the weights.
+        throw new IllegalStateException("No operation could be selected.");
+    }
+
+    /**
+     * Parses an operation mix.
+     *
+     * @param mix the operation mix as a comma separated list of operation:weight pairs, e.g. "REGISTER:25,DDL:75"
+     *
+     * @return the weights by operation, for the operations present in the mix
+     */
+    private static Map<LoadOperation, Integer> parseMix(String mix)
+    {
+        Assert.hasText(mix, "An operation mix must be specified.");
+
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(","))
+        {
+            String[] tokens = entry.split(":");
+            Assert.isTrue(tokens.length == 2, String.format("Invalid operation mix entry \"%s\". The expected format is \"operation:weight\".", entry));
+
+            LoadOperation operation = LoadOperation.valueOf(StringUtils.upperCase(tokens[0].trim()));
+            int weight = Integer.parseInt(tokens[1].trim());
+            Assert.isTrue(weight >= 0, String.format("The weight of the \"%s\" operation must not be negative.", operation));
+
+            weights.put(operation, weight);
+        }
+
+        return weights;
+    }
+
+    public int getThreadCount()
+    {
+        return threadCount;
+    }
+
+    public int getTargetRate()
+    {
+        return targetRate;
+    }
+
+    public int getWarmUpSeconds()
+    {
+        return warmUpSeconds;
+    }
+
+    public int getDurationSeconds()
+    {
+        return durationSeconds;
+    }
+
+    public int getSeedPartitionCount()
+    {
+        return seedPartitionCount;
+    }
+
+    public int getStorageFilesPerPartition()
+    {
+        return storageFilesPerPartition;
+    }
+
+    public int getPartitionsPerQuery()
+    {
+        return partitionsPerQuery;
+    }
+
+    public double getMaxErrorPercentage()
+    {
+        return maxErrorPercentage;
+    }
+
+    public double getMinThroughput()
+    {
+        return minThroughput;
+    }
+
+    public Map<LoadOperation, Integer> getOperationWeights()
+    {
+        return operationWeights;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("threads=%d, rate=%s, warmUpSeconds=%d, durationSeconds=%d, seedPartitions=%d, filesPerPartition=%d, partitionsPerQuery=%d, " +
+            "mix=%s", threadCount, targetRate == 0 ? "unthrottled" : targetRate + "/s", warmUpSeconds, durationSeconds, seedPartitionCount,
+            storageFilesPerPartition, partitionsPerQuery, operationWeights);
+    }
+}
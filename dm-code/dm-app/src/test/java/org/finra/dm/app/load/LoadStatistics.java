@@ -0,0 +1,154 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.app.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.finra.dm.core.LatencyHistogram;
+
+/**
+ * The measurements of a load test phase: per operation latencies, error counts and SQL statement counts. Measurements can be recorded concurrently by the
+ * client threads.
+ */
+public class LoadStatistics
+{
+    private final Map<LoadOperation, OperationStatistics> operationStatistics = new EnumMap<>(LoadOperation.class);
+
+    /**
+     * Creates empty statistics for all the operations.
+     */
+    public LoadStatistics()
+    {
+        for (LoadOperation operation : LoadOperation.values())
+        {
+            operationStatistics.put(operation, new OperationStatistics());
+        }
+    }
+
+    /**
+     * Records a completed operation.
+     *
+     * @param operation the operation
+     * @param latencyMicros the latency of the operation in microseconds
+     * @param sqlStatementCount the number of SQL statements run by the operation
+     * @param succeeded true if the operation succeeded, false if it failed
+     */
+    public void record(LoadOperation operation, long latencyMicros, long sqlStatementCount, boolean succeeded)
+    {
+        OperationStatistics statistics = operationStatistics.get(operation);
+
+        statistics.latencyHistogram.recordValue(latencyMicros);
+        statistics.sqlStatementCount.add(sqlStatementCount);
+        if (!succeeded)
+        {
+            statistics.errorCount.increment();
+        }
+    }
+
+    /**
+     * Gets the number of operations recorded.
+     *
+     * @return the operation count
+     */
+    public long getOperationCount()
+    {
+        long count = 0;
+        for (OperationStatistics statistics : operationStatistics.values())
+        {
+            count += statistics.latencyHistogram.getCount();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of failed operations recorded.
+     *
+     * @return the error count
+     */
+    public long getErrorCount()
+    {
+        long count = 0;
+        for (OperationStatistics statistics : operationStatistics.values())
+        {
+            count += statistics.errorCount.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of SQL statements run by the recorded operations.
+     *
+     * @return the SQL statement count
+     */
+    public long getSqlStatementCount()
+    {
+        long count = 0;
+        for (OperationStatistics statistics : operationStatistics.values())
+        {
+            count += statistics.sqlStatementCount.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Builds a human readable report with one line per operation that was run and a total line.
+     *
+     * @param elapsedSeconds the duration of the phase in seconds, used to compute the throughput
+     *
+     * @return the report
+     */
+    public String getReport(double elapsedSeconds)
+    {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-14s %10s %8s %10s %10s %10s %10s %10s %10s %10s %10s%n", "operation", "count", "errors", "ops/s", "mean ms", "p50 ms",
+            "p90 ms", "p99 ms", "p99.9 ms", "max ms", "sql/op"));
+
+        for (Map.Entry<LoadOperation, OperationStatistics> entry : operationStatistics.entrySet())
+        {
+            OperationStatistics statistics = entry.getValue();
+            LatencyHistogram histogram = statistics.latencyHistogram;
+            long count = histogram.getCount();
+
+            if (count > 0)
+            {
+                report.append(String.format("%-14s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f %10.2f %10.1f%n", entry.getKey(), count,
+                    statistics.errorCount.sum(), count / elapsedSeconds, histogram.getMean() / 1000, histogram.getValueAtPercentile(50) / 1000d,
+                    histogram.getValueAtPercentile(90) / 1000d, histogram.getValueAtPercentile(99) / 1000d, histogram.getValueAtPercentile(99.9) / 1000d,
+                    histogram.getMax() / 1000d, (double) statistics.sqlStatementCount.sum() / count));
+            }
+        }
+
+        long operationCount = getOperationCount();
+        report.append(String.format("%-14s %10d %8d %10.1f %65s %10.1f%n", "TOTAL", operationCount, getErrorCount(), operationCount / elapsedSeconds, "",
+            operationCount == 0 ? 0d : (double) getSqlStatementCount() / operationCount));
+
+        return report.toString();
+    }
+
+    /**
+     * The measurements of one operation.
+     */
+    private static class OperationStatistics
+    {
+        private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+        private final LongAdder errorCount = new LongAdder();
+
+        private final LongAdder sqlStatementCount = new LongAdder();
+    }
+}
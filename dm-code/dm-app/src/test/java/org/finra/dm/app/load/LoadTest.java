@@ -0,0 +1,460 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.app.load;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.junit.Assume;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import org.finra.dm.app.AbstractAppTest;
+import org.finra.dm.dao.SqlRequestStatistics;
+import org.finra.dm.dao.helper.SqlStatementMonitor;
+import org.finra.dm.model.api.xml.BusinessObjectDataAvailabilityRequest;
+import org.finra.dm.model.api.xml.BusinessObjectDataDdlOutputFormatEnum;
+import org.finra.dm.model.api.xml.BusinessObjectDataDdlRequest;
+import org.finra.dm.model.api.xml.PartitionValueFilter;
+import org.finra.dm.model.api.xml.SchemaColumn;
+import org.finra.dm.model.api.xml.SqlStatementStatistics;
+import org.finra.dm.model.api.xml.StorageFile;
+import org.finra.dm.model.dto.ConfigurationValue;
+import org.finra.dm.model.jpa.BusinessObjectDataStatusEntity;
+import org.finra.dm.model.jpa.FileTypeEntity;
+import org.finra.dm.model.jpa.StorageAttributeEntity;
+import org.finra.dm.model.jpa.StoragePlatformEntity;
+
+/**
+ * A load test that drives a realistic mix of client requests (registration, status updates, availability checks, DDL generation and job starts) through the
+ * REST controllers of the full application context, backed by the in-memory test database and the mock AWS operations. It reports the throughput, the latency
+ * percentiles and the number of SQL statements per operation and fails when the error rate or the throughput are outside of the configured bounds.
+ * <p/>
+ * The test is skipped unless the "dm.load.enabled" system property is set to true. It commits the data it creates, so it should be run on its own, e.g.:
+ * <p/>
+ * <pre>
+ * mvn -pl dm-app test -Dtest=LoadTest -Ddm.load.enabled=true -Ddm.load.threads=16 -Ddm.load.rate=200 -Ddm.load.durationSeconds=120
+ * </pre>
+ * <p/>
+ * See {@link LoadProfile} for the available settings. When a target rate is set, the operations are started on a fixed schedule and their latency is measured
+ * from their scheduled start time, so the time spent waiting when the application can't keep up is part of the reported latencies.
+ */
+public class LoadTest extends AbstractAppTest
+{
+    private static final Logger LOGGER = Logger.getLogger(LoadTest.class);
+
+    @Autowired
+    private SqlStatementMonitor sqlStatementMonitor;
+
+    private LoadProfile loadProfile;
+
+    private String partitionKey;
+
+    private final AtomicLong partitionSequence = new AtomicLong();
+
+    /**
+     * The partition values of the business object data registered in the "UPLOADING" status and waiting for a status update.
+     */
+    private final Queue<String> uploadingPartitionValues = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The partition values of the valid business object data, in ascending order. Access must be synchronized on the list.
+     */
+    private final List<String> validPartitionValues = new ArrayList<>();
+
+    @Test
+    public void testLoad() throws Exception
+    {
+        Assume.assumeTrue(LoadProfile.isEnabled());
+
+        loadProfile = LoadProfile.fromSystemProperties();
+        LOGGER.info(String.format("Running load profile: %s", loadProfile));
+
+        // Create the reference data and commit it, so the client threads (which run outside of the test transaction) can see it.
+        createReferenceData();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        // Run the clients as the trusted user.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.SECURITY_ENABLED_SPEL_EXPRESSION.getKey(), "false");
+
+        // All the clients run as the same user so the admission control would throttle them. It is only enabled when "dm.load.admissionControl" is set.
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_ENABLED.getKey(),
+            String.valueOf(Boolean.getBoolean(LoadProfile.PROPERTY_PREFIX + "admissionControl")));
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            trustedUserAuthenticationFilter.init(new MockFilterConfig());
+            authenticate();
+
+            // Create the job definition and the initial partitions.
+            jobDefinitionRestController.createJobDefinition(createJobDefinitionCreateRequest());
+            for (int i = 0; i < loadProfile.getSeedPartitionCount(); i++)
+            {
+                addValidPartitionValue(registerBusinessObjectData(BusinessObjectDataStatusEntity.VALID));
+            }
+
+            // Warm up, then run the measured phase.
+            if (loadProfile.getWarmUpSeconds() > 0)
+            {
+                runPhase(loadProfile.getWarmUpSeconds());
+            }
+            sqlStatementMonitor.reset();
+
+            long startTimeNanos = System.nanoTime();
+            LoadStatistics loadStatistics = runPhase(loadProfile.getDurationSeconds());
+            double elapsedSeconds = (System.nanoTime() - startTimeNanos) / 1e9;
+
+            SqlStatementStatistics sqlStatementStatistics = sqlStatementMonitor.getSqlStatementStatistics();
+            LOGGER.info(String.format("Load test results over %.1f second(s) with %d thread(s):%n%s" +
+                "SQL statements: count=%d totalExecutionTimeMillis=%d slowQueries=%d (threshold %d ms)", elapsedSeconds, loadProfile.getThreadCount(),
+                loadStatistics.getReport(elapsedSeconds), sqlStatementStatistics.getStatementCount(), sqlStatementStatistics.getTotalExecutionTimeMillis(),
+                sqlStatementStatistics.getSlowQueries().size(), sqlStatementStatistics.getSlowQueryThresholdMillis()));
+
+            // Validate the run against the configured bounds.
+            long operationCount = loadStatistics.getOperationCount();
+            assertTrue("No operations were run.", operationCount > 0);
+
+            double errorPercentage = loadStatistics.getErrorCount() * 100d / operationCount;
+            assertTrue(String.format("The error percentage %.2f%% is above the maximum of %.2f%%.", errorPercentage, loadProfile.getMaxErrorPercentage()),
+                errorPercentage <= loadProfile.getMaxErrorPercentage());
+
+            double throughput = operationCount / elapsedSeconds;
+            assertTrue(
+                String.format("The throughput of %.1f operation(s) per second is below the minimum of %.1f.", throughput, loadProfile.getMinThroughput()),
+                throughput >= loadProfile.getMinThroughput());
+        }
+        finally
+        {
+            SecurityContextHolder.clearContext();
+
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    /**
+     * Creates the namespaces, the business object format and the storage used by the load test.
+     */
+    private void createReferenceData()
+    {
+        if (dmDao.getNamespaceByCd(TEST_ACTIVITI_NAMESPACE_CD) == null)
+        {
+            createNamespaceEntity(TEST_ACTIVITI_NAMESPACE_CD);
+        }
+
+        // Use a single partition column, so the registered storage files don't need sub-partition directories for the DDL generation.
+        List<SchemaColumn> partitionColumns = getTestPartitionColumns().subList(0, 1);
+        partitionKey = partitionColumns.get(0).getName();
+
+        createBusinessObjectFormatEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, INITIAL_FORMAT_VERSION, FORMAT_DESCRIPTION,
+            true, partitionKey, null, SCHEMA_DELIMITER_PIPE, SCHEMA_ESCAPE_CHARACTER_BACKSLASH, SCHEMA_NULL_VALUE_BACKSLASH_N, getTestSchemaColumns(),
+            partitionColumns);
+
+        createStorageEntity(STORAGE_NAME, StoragePlatformEntity.S3, StorageAttributeEntity.ATTRIBUTE_BUCKET_NAME, S3_BUCKET_NAME);
+    }
+
+    /**
+     * Runs the client threads for the specified duration.
+     *
+     * @param durationSeconds the duration in seconds
+     *
+     * @return the statistics of the operations run
+     * @throws InterruptedException if the current thread is interrupted while waiting for the client threads
+     */
+    private LoadStatistics runPhase(int durationSeconds) throws InterruptedException
+    {
+        LoadStatistics loadStatistics = new LoadStatistics();
+
+        long startTimeNanos = System.nanoTime();
+        long endTimeNanos = startTimeNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long intervalNanos = loadProfile.getTargetRate() == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / loadProfile.getTargetRate();
+        AtomicLong nextStartTimeNanos = new AtomicLong(startTimeNanos);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(loadProfile.getThreadCount());
+        for (int i = 0; i < loadProfile.getThreadCount(); i++)
+        {
+            executorService.execute(new LoadClient(loadStatistics, endTimeNanos, intervalNanos, nextStartTimeNanos));
+        }
+        executorService.shutdown();
+
+        // Leave the operations in progress at the end of the phase some time to complete.
+        if (!executorService.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS))
+        {
+            executorService.shutdownNow();
+        }
+
+        return loadStatistics;
+    }
+
+    /**
+     * Runs an operation.
+     *
+     * @param operation the operation
+     * @param random the random number generator of the calling thread
+     *
+     * @throws Exception if the operation fails
+     */
+    private void runOperation(LoadOperation operation, Random random) throws Exception
+    {
+        if (operation == LoadOperation.REGISTER)
+        {
+            uploadingPartitionValues.add(registerBusinessObjectData(BusinessObjectDataStatusEntity.UPLOADING));
+        }
+        else if (operation == LoadOperation.STATUS)
+        {
+            // Complete a pending registration or, when there is none, validate an already valid partition again.
+            String partitionValue = uploadingPartitionValues.poll();
+            boolean uploading = partitionValue != null;
+            if (!uploading)
+            {
+                partitionValue = getValidPartitionValues(random, 1).get(0);
+            }
+
+            businessObjectDataStatusRestController
+                .updateBusinessObjectDataStatus(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, INITIAL_FORMAT_VERSION, partitionValue,
+                    INITIAL_DATA_VERSION, createBusinessObjectDataStatusUpdateRequest(BusinessObjectDataStatusEntity.VALID));
+
+            if (uploading)
+            {
+                addValidPartitionValue(partitionValue);
+            }
+        }
+        else if (operation == LoadOperation.AVAILABILITY)
+        {
+            BusinessObjectDataAvailabilityRequest request = new BusinessObjectDataAvailabilityRequest();
+            request.setNamespace(NAMESPACE_CD);
+            request.setBusinessObjectDefinitionName(BOD_NAME);
+            request.setBusinessObjectFormatUsage(FORMAT_USAGE_CODE);
+            request.setBusinessObjectFormatFileType(FileTypeEntity.TXT_FILE_TYPE);
+            request.setBusinessObjectFormatVersion(INITIAL_FORMAT_VERSION);
+            request.setPartitionValueFilters(Arrays.asList(createPartitionValueFilter(random)));
+            request.setStorageName(STORAGE_NAME);
+
+            businessObjectDataRestController.checkBusinessObjectDataAvailability(request);
+        }
+        else if (operation == LoadOperation.DDL)
+        {
+            BusinessObjectDataDdlRequest request = new BusinessObjectDataDdlRequest();
+            request.setNamespace(NAMESPACE_CD);
+            request.setBusinessObjectDefinitionName(BOD_NAME);
+            request.setBusinessObjectFormatUsage(FORMAT_USAGE_CODE);
+            request.setBusinessObjectFormatFileType(FileTypeEntity.TXT_FILE_TYPE);
+            request.setBusinessObjectFormatVersion(INITIAL_FORMAT_VERSION);
+            request.setPartitionValueFilters(Arrays.asList(createPartitionValueFilter(random)));
+            request.setStorageName(STORAGE_NAME);
+            request.setOutputFormat(BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL);
+            request.setTableName(TABLE_NAME);
+            request.setIncludeDropTableStatement(true);
+            request.setIncludeIfNotExistsOption(true);
+            request.setAllowMissingData(true);
+
+            businessObjectDataRestController.generateBusinessObjectDataDdl(request);
+        }
+        else
+        {
+            jobRestController.createJob(createJobCreateRequest(TEST_ACTIVITI_NAMESPACE_CD, TEST_ACTIVITI_JOB_NAME));
+        }
+    }
+
+    /**
+     * Registers business object data for a new partition the way a client does: it gets the S3 key prefix of the partition and registers the storage files
+     * found under it.
+     *
+     * @param status the business object data status
+     *
+     * @return the partition value of the registered business object data
+     */
+    private String registerBusinessObjectData(String status)
+    {
+        // Zero pad the partition values so their natural order is their registration order.
+        String partitionValue = String.format("P%010d", partitionSequence.incrementAndGet());
+
+        String s3KeyPrefix = businessObjectDataRestController
+            .getS3KeyPrefix(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, INITIAL_FORMAT_VERSION, partitionKey, partitionValue, null,
+                null, false, new MockHttpServletRequest()).getS3KeyPrefix();
+
+        List<StorageFile> storageFiles = new ArrayList<>();
+        for (int i = 0; i < loadProfile.getStorageFilesPerPartition(); i++)
+        {
+            storageFiles.add(new StorageFile(String.format("%s/part-%05d.gz", s3KeyPrefix, i), FILE_SIZE_1_KB, ROW_COUNT_1000));
+        }
+
+        businessObjectDataRestController.createBusinessObjectData(
+            createBusinessObjectDataCreateRequest(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, INITIAL_FORMAT_VERSION, partitionKey,
+                partitionValue, status, STORAGE_NAME, s3KeyPrefix, storageFiles));
+
+        return partitionValue;
+    }
+
+    /**
+     * Creates a partition value filter for a random range of consecutive valid partitions.
+     *
+     * @param random the random number generator of the calling thread
+     *
+     * @return the partition value filter
+     */
+    private PartitionValueFilter createPartitionValueFilter(Random random)
+    {
+        PartitionValueFilter partitionValueFilter = new PartitionValueFilter();
+        partitionValueFilter.setPartitionKey(partitionKey);
+        partitionValueFilter.setPartitionValues(getValidPartitionValues(random, loadProfile.getPartitionsPerQuery()));
+        return partitionValueFilter;
+    }
+
+    /**
+     * Gets a random range of consecutive valid partition values.
+     *
+     * @param random the random number generator of the calling thread
+     * @param count the number of partition values to get
+     *
+     * @return the partition values, fewer than requested if there are not enough valid partitions
+     */
+    private List<String> getValidPartitionValues(Random random, int count)
+    {
+        synchronized (validPartitionValues)
+        {
+            int size = validPartitionValues.size();
+            int fromIndex = random.nextInt(Math.max(size - count, 0) + 1);
+            return new ArrayList<>(validPartitionValues.subList(fromIndex, Math.min(fromIndex + count, size)));
+        }
+    }
+
+    private void addValidPartitionValue(String partitionValue)
+    {
+        synchronized (validPartitionValues)
+        {
+            validPartitionValues.add(partitionValue);
+        }
+    }
+
+    /**
+     * Authenticates the current thread as the trusted user.
+     *
+     * @throws Exception if the authentication fails
+     */
+    private void authenticate() throws Exception
+    {
+        trustedUserAuthenticationFilter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    /**
+     * A client thread that runs randomly selected operations until the end of the phase.
+     */
+    private class LoadClient implements Runnable
+    {
+        private final LoadStatistics loadStatistics;
+
+        private final long endTimeNanos;
+
+        private final long intervalNanos;
+
+        private final AtomicLong nextStartTimeNanos;
+
+        private final Random random = new Random();
+
+        /**
+         * Creates a client.
+         *
+         * @param loadStatistics the statistics to record the operations in
+         * @param endTimeNanos the time at which the phase ends, as given by System.nanoTime()
+         * @param intervalNanos the interval between the scheduled start times of consecutive operations across all clients or 0 to not throttle the clients
+         * @param nextStartTimeNanos the scheduled start time of the next operation, shared by all clients
+         */
+        LoadClient(LoadStatistics loadStatistics, long endTimeNanos, long intervalNanos, AtomicLong nextStartTimeNanos)
+        {
+            this.loadStatistics = loadStatistics;
+            this.endTimeNanos = endTimeNanos;
+            this.intervalNanos = intervalNanos;
+            this.nextStartTimeNanos = nextStartTimeNanos;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                authenticate();
+
+                while (true)
+                {
+                    // Take the next slot of the schedule and wait for it when throttled.
+                    long startTimeNanos = intervalNanos == 0 ? System.nanoTime() : nextStartTimeNanos.getAndAdd(intervalNanos);
+                    if (startTimeNanos >= endTimeNanos)
+                    {
+                        break;
+                    }
+                    long waitNanos = startTimeNanos - System.nanoTime();
+                    if (waitNanos > 0)
+                    {
+                        TimeUnit.NANOSECONDS.sleep(waitNanos);
+                    }
+
+                    LoadOperation operation = loadProfile.nextOperation(random);
+                    boolean succeeded = true;
+
+                    SqlRequestStatistics.start();
+                    try
+                    {
+                        runOperation(operation, random);
+                    }
+                    catch (Exception e)
+                    {
+                        succeeded = false;
+                        LOGGER.debug(String.format("Load test operation %s failed.", operation), e);
+                    }
+                    SqlRequestStatistics sqlRequestStatistics = SqlRequestStatistics.stop();
+
+                    loadStatistics.record(operation, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTimeNanos),
+                        sqlRequestStatistics == null ? 0 : sqlRequestStatistics.getStatementCount(), succeeded);
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            catch (Exception e)
+            {
+                LOGGER.error("Load test client failed.", e);
+            }
+            finally
+            {
+                SecurityContextHolder.clearContext();
+            }
+        }
+    }
+}
@@ -0,0 +1,481 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.ec2.model.AvailabilityZone;
+import com.amazonaws.services.ec2.model.DescribeAvailabilityZonesRequest;
+import com.amazonaws.services.ec2.model.DescribeAvailabilityZonesResult;
+import com.amazonaws.services.ec2.model.DescribeSpotPriceHistoryRequest;
+import com.amazonaws.services.ec2.model.DescribeSpotPriceHistoryResult;
+import com.amazonaws.services.ec2.model.DescribeSubnetsRequest;
+import com.amazonaws.services.ec2.model.DescribeSubnetsResult;
+import com.amazonaws.services.ec2.model.SpotPrice;
+import com.amazonaws.services.ec2.model.Subnet;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import org.finra.dm.core.helper.ConfigurationHelper;
+import org.finra.dm.dao.DmDao;
+import org.finra.dm.dao.Ec2Operations;
+import org.finra.dm.dao.helper.DmCharacterEscapeHandler;
+import org.finra.dm.dao.helper.DmStringHelper;
+import org.finra.dm.dao.helper.Ec2PriceOracle;
+import org.finra.dm.dao.helper.EmrPricingHelper;
+import org.finra.dm.dao.helper.XmlHelper;
+import org.finra.dm.dao.impl.Ec2DaoImpl;
+import org.finra.dm.model.jpa.BusinessObjectDataAttributeDefinitionEntity;
+import org.finra.dm.model.jpa.BusinessObjectDataEntity;
+import org.finra.dm.model.jpa.BusinessObjectDefinitionEntity;
+import org.finra.dm.model.jpa.BusinessObjectFormatEntity;
+import org.finra.dm.model.jpa.DataProviderEntity;
+import org.finra.dm.model.jpa.FileTypeEntity;
+import org.finra.dm.model.jpa.NamespaceEntity;
+import org.finra.dm.model.jpa.OnDemandPriceEntity;
+import org.finra.dm.model.jpa.SchemaColumnEntity;
+import org.finra.dm.model.jpa.StorageEntity;
+import org.finra.dm.model.jpa.StorageFileEntity;
+import org.finra.dm.model.jpa.StorageUnitEntity;
+import org.finra.dm.service.helper.BusinessObjectDataHelper;
+import org.finra.dm.service.helper.BusinessObjectFormatHelper;
+import org.finra.dm.service.helper.DmDaoHelper;
+import org.finra.dm.service.helper.DmHelper;
+import org.finra.dm.service.helper.Hive13DdlGenerator;
+import org.finra.dm.service.helper.VelocityHelper;
+
+/**
+ * The helpers exercised by the benchmarks, wired by hand against the default configuration values, an in-memory DM DAO and in-memory EC2 operations so the
+ * benchmarks don't need a Spring context, a database, or AWS. Only the collaborators used by the benchmarked code paths are wired.
+ */
+public class BenchmarkContext
+{
+    public static final String NAMESPACE = "BENCHMARK_NAMESPACE";
+    public static final String DATA_PROVIDER_NAME = "BENCHMARK_DATA_PROVIDER";
+    public static final String BUSINESS_OBJECT_DEFINITION_NAME = "BENCHMARK_BDEF";
+    public static final String FORMAT_USAGE = "PRC";
+    public static final String FORMAT_FILE_TYPE = "TXT";
+    public static final int FORMAT_VERSION = 0;
+    public static final int DATA_VERSION = 0;
+    public static final String STORAGE_NAME = "S3_MANAGED";
+    public static final String S3_BUCKET_NAME = "benchmark-bucket";
+    public static final String EC2_REGION_NAME = "us-east-1";
+    public static final String EC2_INSTANCE_TYPE = "m3.xlarge";
+    public static final List<String> EC2_SUBNET_IDS = Collections.unmodifiableList(Arrays.asList("subnet-1", "subnet-2", "subnet-3"));
+
+    private final List<BusinessObjectDataEntity> businessObjectDataEntities = new ArrayList<>();
+
+    private final ConfigurationHelper configurationHelper = new ConfigurationHelper();
+    private final DmStringHelper dmStringHelper = new DmStringHelper();
+    private final DmHelper dmHelper = new DmHelper();
+    private final DmDaoHelper dmDaoHelper = new DmDaoHelper();
+    private final BusinessObjectFormatHelper businessObjectFormatHelper = new BusinessObjectFormatHelper();
+    private final BusinessObjectDataHelper businessObjectDataHelper = new BusinessObjectDataHelper();
+    private final Hive13DdlGenerator hive13DdlGenerator = new Hive13DdlGenerator();
+    private final DmCharacterEscapeHandler dmCharacterEscapeHandler = new DmCharacterEscapeHandler();
+    private final XmlHelper xmlHelper = new XmlHelper();
+    private final VelocityHelper velocityHelper = new VelocityHelper();
+    private final Ec2DaoImpl ec2Dao = new Ec2DaoImpl();
+    private final Ec2PriceOracle ec2PriceOracle = new Ec2PriceOracle();
+    private final EmrPricingHelper emrPricingHelper = new EmrPricingHelper();
+
+    /**
+     * Creates and wires the helpers against the default configuration values.
+     */
+    public BenchmarkContext()
+    {
+        this(Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Creates and wires the helpers against the default configuration values and the specified overrides.
+     *
+     * @param configurationOverrides the configuration values to use instead of the default ones, keyed by configuration key
+     */
+    public BenchmarkContext(Map<String, Object> configurationOverrides)
+    {
+        DmDao dmDao = (DmDao) Proxy.newProxyInstance(BenchmarkContext.class.getClassLoader(), new Class<?>[] {DmDao.class}, new InMemoryDmDaoHandler());
+        Ec2Operations ec2Operations = (Ec2Operations) Proxy
+            .newProxyInstance(BenchmarkContext.class.getClassLoader(), new Class<?>[] {Ec2Operations.class}, new InMemoryEc2OperationsHandler());
+
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmarkConfigurationOverrides", configurationOverrides));
+        inject(configurationHelper, "environment", environment);
+
+        inject(dmStringHelper, "configurationHelper", configurationHelper);
+
+        inject(dmHelper, "configurationHelper", configurationHelper);
+        inject(dmHelper, "dmStringHelper", dmStringHelper);
+
+        inject(dmDaoHelper, "dmDao", dmDao);
+        inject(dmDaoHelper, "dmHelper", dmHelper);
+        inject(dmDaoHelper, "dmStringHelper", dmStringHelper);
+        inject(dmDaoHelper, "configurationHelper", configurationHelper);
+
+        inject(businessObjectFormatHelper, "dmDaoHelper", dmDaoHelper);
+
+        inject(businessObjectDataHelper, "dmHelper", dmHelper);
+        inject(businessObjectDataHelper, "dmDao", dmDao);
+        inject(businessObjectDataHelper, "dmDaoHelper", dmDaoHelper);
+        inject(businessObjectDataHelper, "configurationHelper", configurationHelper);
+        inject(businessObjectDataHelper, "businessObjectFormatHelper", businessObjectFormatHelper);
+
+        inject(hive13DdlGenerator, "dmHelper", dmHelper);
+        inject(hive13DdlGenerator, "dmDao", dmDao);
+        inject(hive13DdlGenerator, "dmDaoHelper", dmDaoHelper);
+        inject(hive13DdlGenerator, "businessObjectFormatHelper", businessObjectFormatHelper);
+        inject(hive13DdlGenerator, "businessObjectDataHelper", businessObjectDataHelper);
+
+        inject(xmlHelper, "dmCharacterEscapeHandler", dmCharacterEscapeHandler);
+
+        inject(velocityHelper, "configurationHelper", configurationHelper);
+
+        inject(ec2Dao, "ec2Operations", ec2Operations);
+
+        inject(ec2PriceOracle, "ec2Dao", ec2Dao);
+        inject(ec2PriceOracle, "dmDao", dmDao);
+        inject(ec2PriceOracle, "configurationHelper", configurationHelper);
+
+        inject(emrPricingHelper, "ec2Dao", ec2Dao);
+        inject(emrPricingHelper, "ec2PriceOracle", ec2PriceOracle);
+        inject(emrPricingHelper, "dmStringHelper", dmStringHelper);
+        inject(emrPricingHelper, "configurationHelper", configurationHelper);
+    }
+
+    /**
+     * Gets the business object data entities returned by the in-memory DM DAO. Benchmarks add the entities they need to this list during their setup.
+     *
+     * @return the modifiable list of business object data entities
+     */
+    public List<BusinessObjectDataEntity> getBusinessObjectDataEntities()
+    {
+        return businessObjectDataEntities;
+    }
+
+    public DmDaoHelper getDmDaoHelper()
+    {
+        return dmDaoHelper;
+    }
+
+    public BusinessObjectDataHelper getBusinessObjectDataHelper()
+    {
+        return businessObjectDataHelper;
+    }
+
+    public Hive13DdlGenerator getHive13DdlGenerator()
+    {
+        return hive13DdlGenerator;
+    }
+
+    public DmCharacterEscapeHandler getDmCharacterEscapeHandler()
+    {
+        return dmCharacterEscapeHandler;
+    }
+
+    public XmlHelper getXmlHelper()
+    {
+        return xmlHelper;
+    }
+
+    public VelocityHelper getVelocityHelper()
+    {
+        return velocityHelper;
+    }
+
+    public EmrPricingHelper getEmrPricingHelper()
+    {
+        return emrPricingHelper;
+    }
+
+    /**
+     * Creates a business object format entity with a schema. The first partition column is the partition key of the format.
+     *
+     * @param dataColumnCount the number of data columns
+     * @param partitionColumnNames the names of the partition columns
+     *
+     * @return the business object format entity
+     */
+    public static BusinessObjectFormatEntity createBusinessObjectFormatEntity(int dataColumnCount, String... partitionColumnNames)
+    {
+        NamespaceEntity namespaceEntity = new NamespaceEntity();
+        namespaceEntity.setCode(NAMESPACE);
+
+        DataProviderEntity dataProviderEntity = new DataProviderEntity();
+        dataProviderEntity.setName(DATA_PROVIDER_NAME);
+
+        BusinessObjectDefinitionEntity businessObjectDefinitionEntity = new BusinessObjectDefinitionEntity();
+        businessObjectDefinitionEntity.setNamespace(namespaceEntity);
+        businessObjectDefinitionEntity.setDataProvider(dataProviderEntity);
+        businessObjectDefinitionEntity.setName(BUSINESS_OBJECT_DEFINITION_NAME);
+
+        FileTypeEntity fileTypeEntity = new FileTypeEntity();
+        fileTypeEntity.setCode(FORMAT_FILE_TYPE);
+
+        BusinessObjectFormatEntity businessObjectFormatEntity = new BusinessObjectFormatEntity();
+        businessObjectFormatEntity.setId(1);
+        businessObjectFormatEntity.setBusinessObjectDefinition(businessObjectDefinitionEntity);
+        businessObjectFormatEntity.setUsage(FORMAT_USAGE);
+        businessObjectFormatEntity.setFileType(fileTypeEntity);
+        businessObjectFormatEntity.setBusinessObjectFormatVersion(FORMAT_VERSION);
+        businessObjectFormatEntity.setLatestVersion(true);
+        businessObjectFormatEntity.setPartitionKey(partitionColumnNames[0]);
+        businessObjectFormatEntity.setNullValue("\\N");
+        businessObjectFormatEntity.setDelimiter("|");
+        businessObjectFormatEntity.setEscapeCharacter("\\");
+        businessObjectFormatEntity.setAttributeDefinitions(new ArrayList<BusinessObjectDataAttributeDefinitionEntity>());
+
+        List<SchemaColumnEntity> schemaColumnEntities = new ArrayList<>();
+        for (int i = 0; i < dataColumnCount; i++)
+        {
+            schemaColumnEntities.add(createSchemaColumnEntity(businessObjectFormatEntity, "COLUMN_" + i, i % 2 == 0 ? "VARCHAR" : "BIGINT", i + 1, null));
+        }
+        for (int i = 0; i < partitionColumnNames.length; i++)
+        {
+            schemaColumnEntities.add(createSchemaColumnEntity(businessObjectFormatEntity, partitionColumnNames[i], "STRING", null, i + 1));
+        }
+        businessObjectFormatEntity.setSchemaColumns(schemaColumnEntities);
+
+        return businessObjectFormatEntity;
+    }
+
+    /**
+     * Creates a business object data entity registered in the benchmark storage with the specified storage files.
+     *
+     * @param id the business object data id
+     * @param businessObjectFormatEntity the business object format entity
+     * @param partitionValue the primary partition value
+     * @param storageFilePaths the storage file paths
+     *
+     * @return the business object data entity
+     */
+    public static BusinessObjectDataEntity createBusinessObjectDataEntity(int id, BusinessObjectFormatEntity businessObjectFormatEntity, String partitionValue,
+        List<String> storageFilePaths)
+    {
+        BusinessObjectDataEntity businessObjectDataEntity = new BusinessObjectDataEntity();
+        businessObjectDataEntity.setId(id);
+        businessObjectDataEntity.setBusinessObjectFormat(businessObjectFormatEntity);
+        businessObjectDataEntity.setPartitionValue(partitionValue);
+        businessObjectDataEntity.setVersion(DATA_VERSION);
+        businessObjectDataEntity.setLatestVersion(true);
+
+        StorageUnitEntity storageUnitEntity = new StorageUnitEntity();
+        storageUnitEntity.setBusinessObjectData(businessObjectDataEntity);
+        storageUnitEntity.setStorage(createStorageEntity());
+
+        List<StorageFileEntity> storageFileEntities = new ArrayList<>();
+        for (String storageFilePath : storageFilePaths)
+        {
+            StorageFileEntity storageFileEntity = new StorageFileEntity();
+            storageFileEntity.setStorageUnit(storageUnitEntity);
+            storageFileEntity.setPath(storageFilePath);
+            storageFileEntity.setFileSizeBytes(1024L);
+            storageFileEntities.add(storageFileEntity);
+        }
+        storageUnitEntity.setStorageFiles(storageFileEntities);
+
+        businessObjectDataEntity.setStorageUnits(new ArrayList<>(Arrays.asList(storageUnitEntity)));
+
+        return businessObjectDataEntity;
+    }
+
+    /**
+     * Creates the benchmark storage entity.
+     *
+     * @return the storage entity
+     */
+    public static StorageEntity createStorageEntity()
+    {
+        StorageEntity storageEntity = new StorageEntity();
+        storageEntity.setName(STORAGE_NAME);
+        return storageEntity;
+    }
+
+    private static SchemaColumnEntity createSchemaColumnEntity(BusinessObjectFormatEntity businessObjectFormatEntity, String name, String type,
+        Integer position, Integer partitionLevel)
+    {
+        SchemaColumnEntity schemaColumnEntity = new SchemaColumnEntity();
+        schemaColumnEntity.setBusinessObjectFormat(businessObjectFormatEntity);
+        schemaColumnEntity.setName(name);
+        schemaColumnEntity.setType(type);
+        schemaColumnEntity.setPosition(position);
+        schemaColumnEntity.setPartitionLevel(partitionLevel);
+        schemaColumnEntity.setDescription("The " + name + " column.");
+        return schemaColumnEntity;
+    }
+
+    private static void inject(Object target, String fieldName, Object value)
+    {
+        new DirectFieldAccessor(target).setPropertyValue(fieldName, value);
+    }
+
+    /**
+     * Answers the DM DAO queries made by the benchmarked code paths from the in-memory business object data entities.
+     */
+    private class InMemoryDmDaoHandler implements InvocationHandler
+    {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args)
+        {
+            String methodName = method.getName();
+            if ("getBusinessObjectDataEntities".equals(methodName))
+            {
+                return new ArrayList<>(businessObjectDataEntities);
+            }
+            else if ("getStorageUnitsByStorageAndBusinessObjectData".equals(methodName))
+            {
+                return getStorageUnits();
+            }
+            else if ("getStorageFilesByStorageAndBusinessObjectData".equals(methodName))
+            {
+                return getStorageFiles();
+            }
+            else if ("getOnDemandPrice".equals(methodName))
+            {
+                OnDemandPriceEntity onDemandPriceEntity = new OnDemandPriceEntity();
+                onDemandPriceEntity.setRegion((String) args[0]);
+                onDemandPriceEntity.setInstanceType((String) args[1]);
+                onDemandPriceEntity.setValue(BigDecimal.ONE);
+                return onDemandPriceEntity;
+            }
+            else if ("hashCode".equals(methodName))
+            {
+                return System.identityHashCode(proxy);
+            }
+            else if ("equals".equals(methodName))
+            {
+                return proxy == args[0];
+            }
+            else if ("toString".equals(methodName))
+            {
+                return "InMemoryDmDao";
+            }
+            else
+            {
+                throw new UnsupportedOperationException(String.format("DM DAO method \"%s\" is not available to the benchmarks.", methodName));
+            }
+        }
+
+        private List<StorageUnitEntity> getStorageUnits()
+        {
+            List<StorageUnitEntity> storageUnitEntities = new ArrayList<>();
+            for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataEntities)
+            {
+                storageUnitEntities.addAll(businessObjectDataEntity.getStorageUnits());
+            }
+            return storageUnitEntities;
+        }
+
+        private List<StorageFileEntity> getStorageFiles()
+        {
+            List<StorageFileEntity> storageFileEntities = new ArrayList<>();
+            for (StorageUnitEntity storageUnitEntity : getStorageUnits())
+            {
+                storageFileEntities.addAll(storageUnitEntity.getStorageFiles());
+            }
+            return storageFileEntities;
+        }
+    }
+
+    /**
+     * Answers the EC2 calls made by the best price search. Each subnet is in its own availability zone of the benchmark region, and the spot price of an
+     * instance type gets higher with the availability zone number.
+     */
+    private static class InMemoryEc2OperationsHandler implements InvocationHandler
+    {
+        private static final List<String> AVAILABILITY_ZONE_NAMES = Arrays.asList(EC2_REGION_NAME + "a", EC2_REGION_NAME + "b", EC2_REGION_NAME + "c");
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args)
+        {
+            String methodName = method.getName();
+            if ("describeSubnets".equals(methodName))
+            {
+                return describeSubnets((DescribeSubnetsRequest) args[1]);
+            }
+            else if ("describeAvailabilityZones".equals(methodName))
+            {
+                return describeAvailabilityZones((DescribeAvailabilityZonesRequest) args[1]);
+            }
+            else if ("describeSpotPriceHistory".equals(methodName))
+            {
+                return describeSpotPriceHistory((DescribeSpotPriceHistoryRequest) args[1]);
+            }
+            else if ("hashCode".equals(methodName))
+            {
+                return System.identityHashCode(proxy);
+            }
+            else if ("equals".equals(methodName))
+            {
+                return proxy == args[0];
+            }
+            else if ("toString".equals(methodName))
+            {
+                return "InMemoryEc2Operations";
+            }
+            else
+            {
+                throw new UnsupportedOperationException(String.format("EC2 operation \"%s\" is not available to the benchmarks.", methodName));
+            }
+        }
+
+        private DescribeSubnetsResult describeSubnets(DescribeSubnetsRequest describeSubnetsRequest)
+        {
+            List<Subnet> subnets = new ArrayList<>();
+            for (String subnetId : describeSubnetsRequest.getSubnetIds().isEmpty() ? EC2_SUBNET_IDS : describeSubnetsRequest.getSubnetIds())
+            {
+                subnets.add(new Subnet().withSubnetId(subnetId).withAvailabilityZone(getAvailabilityZoneName(subnetId)).withAvailableIpAddressCount(100));
+            }
+            return new DescribeSubnetsResult().withSubnets(subnets);
+        }
+
+        private DescribeAvailabilityZonesResult describeAvailabilityZones(DescribeAvailabilityZonesRequest describeAvailabilityZonesRequest)
+        {
+            List<AvailabilityZone> availabilityZones = new ArrayList<>();
+            for (String zoneName : describeAvailabilityZonesRequest.getZoneNames())
+            {
+                availabilityZones.add(new AvailabilityZone().withZoneName(zoneName).withRegionName(EC2_REGION_NAME));
+            }
+            return new DescribeAvailabilityZonesResult().withAvailabilityZones(availabilityZones);
+        }
+
+        private DescribeSpotPriceHistoryResult describeSpotPriceHistory(DescribeSpotPriceHistoryRequest describeSpotPriceHistoryRequest)
+        {
+            String zoneName = describeSpotPriceHistoryRequest.getAvailabilityZone();
+            BigDecimal spotPrice = new BigDecimal("0.1").multiply(new BigDecimal(AVAILABILITY_ZONE_NAMES.indexOf(zoneName) + 1));
+
+            List<SpotPrice> spotPrices = new ArrayList<>();
+            for (String instanceType : describeSpotPriceHistoryRequest.getInstanceTypes())
+            {
+                spotPrices.add(new SpotPrice().withAvailabilityZone(zoneName).withInstanceType(instanceType).withSpotPrice(spotPrice.toPlainString()));
+            }
+            return new DescribeSpotPriceHistoryResult().withSpotPriceHistory(spotPrices);
+        }
+
+        private String getAvailabilityZoneName(String subnetId)
+        {
+            return AVAILABILITY_ZONE_NAMES.get(EC2_SUBNET_IDS.indexOf(subnetId));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.api.xml.BusinessObjectFormatKey;
+import org.finra.dm.model.api.xml.PartitionValueFilter;
+import org.finra.dm.model.jpa.BusinessObjectFormatEntity;
+
+/**
+ * Benchmarks the S3 key prefix generation and the partition filter building (i.e. the cross product of the partition value filters) of the business object
+ * data helper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusinessObjectDataHelperBenchmark
+{
+    private BenchmarkContext benchmarkContext;
+
+    private BusinessObjectFormatEntity businessObjectFormatEntity;
+
+    private BusinessObjectFormatKey businessObjectFormatKey;
+
+    private BusinessObjectDataKey businessObjectDataKey;
+
+    private BusinessObjectDataKey subPartitionedBusinessObjectDataKey;
+
+    private List<PartitionValueFilter> partitionValueFilters;
+
+    @Setup
+    public void setup()
+    {
+        benchmarkContext = new BenchmarkContext();
+        businessObjectFormatEntity = BenchmarkContext.createBusinessObjectFormatEntity(10, "TRADE_DT", "REGION", "HOUR");
+
+        businessObjectFormatKey = new BusinessObjectFormatKey(BenchmarkContext.NAMESPACE, BenchmarkContext.BUSINESS_OBJECT_DEFINITION_NAME,
+            BenchmarkContext.FORMAT_USAGE, BenchmarkContext.FORMAT_FILE_TYPE, BenchmarkContext.FORMAT_VERSION);
+
+        businessObjectDataKey = new BusinessObjectDataKey(BenchmarkContext.NAMESPACE, BenchmarkContext.BUSINESS_OBJECT_DEFINITION_NAME,
+            BenchmarkContext.FORMAT_USAGE, BenchmarkContext.FORMAT_FILE_TYPE, BenchmarkContext.FORMAT_VERSION, "2015-01-01", new ArrayList<String>(),
+            BenchmarkContext.DATA_VERSION);
+
+        subPartitionedBusinessObjectDataKey = new BusinessObjectDataKey(BenchmarkContext.NAMESPACE, BenchmarkContext.BUSINESS_OBJECT_DEFINITION_NAME,
+            BenchmarkContext.FORMAT_USAGE, BenchmarkContext.FORMAT_FILE_TYPE, BenchmarkContext.FORMAT_VERSION, "2015-01-01", Arrays.asList("R01", "07"),
+            BenchmarkContext.DATA_VERSION);
+
+        // 100 dates x 50 regions x 24 hours make for a cross product of 120,000 partition filters.
+        partitionValueFilters = new ArrayList<>();
+        partitionValueFilters.add(new PartitionValueFilter("TRADE_DT", getPartitionValues("2015-01-%03d", 100), null, null, null));
+        partitionValueFilters.add(new PartitionValueFilter("REGION", getPartitionValues("R%02d", 50), null, null, null));
+        partitionValueFilters.add(new PartitionValueFilter("HOUR", getPartitionValues("%02d", 24), null, null, null));
+    }
+
+    @Benchmark
+    public String buildS3KeyPrefix()
+    {
+        return benchmarkContext.getBusinessObjectDataHelper().buildS3KeyPrefix(businessObjectFormatEntity, businessObjectDataKey);
+    }
+
+    @Benchmark
+    public String buildS3KeyPrefixWithSubPartitions()
+    {
+        return benchmarkContext.getBusinessObjectDataHelper().buildS3KeyPrefix(businessObjectFormatEntity, subPartitionedBusinessObjectDataKey);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<List<String>> buildPartitionFilters()
+    {
+        return benchmarkContext.getBusinessObjectDataHelper()
+            .buildPartitionFilters(partitionValueFilters, null, businessObjectFormatKey, BenchmarkContext.DATA_VERSION, BenchmarkContext.STORAGE_NAME,
+                businessObjectFormatEntity);
+    }
+
+    private static List<String> getPartitionValues(String format, int count)
+    {
+        List<String> partitionValues = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+        {
+            partitionValues.add(String.format(format, i));
+        }
+        return partitionValues;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.benchmarks;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.finra.dm.dao.helper.DmCharacterEscapeHandler;
+
+/**
+ * Benchmarks the DM character escape handler that the JAXB marshaller calls for all the text it writes. The text is either plain ASCII or has one percent of
+ * its characters that need escaping (markup characters, quotes and XML 1.1 restricted characters).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DmCharacterEscapeHandlerBenchmark
+{
+    private static final char[] ESCAPED_CHARACTERS = {'&', '<', '>', '"', '\'', '\u0001', '\u001F', '\u0085'};
+
+    @Param({"65536"})
+    private int textLength;
+
+    @Param({"0", "1"})
+    private int escapedCharacterPercentage;
+
+    private DmCharacterEscapeHandler dmCharacterEscapeHandler;
+
+    private char[] text;
+
+    private CharArrayWriter writer;
+
+    @Setup
+    public void setup()
+    {
+        dmCharacterEscapeHandler = new BenchmarkContext().getDmCharacterEscapeHandler();
+        writer = new CharArrayWriter(textLength * 2);
+
+        // Use a fixed seed so all the runs escape the same text.
+        Random random = new Random(42);
+        text = new char[textLength];
+        for (int i = 0; i < textLength; i++)
+        {
+            text[i] = random.nextInt(100) < escapedCharacterPercentage ? ESCAPED_CHARACTERS[random.nextInt(ESCAPED_CHARACTERS.length)] :
+                (char) ('a' + random.nextInt(26));
+        }
+    }
+
+    @Benchmark
+    public int escapeElementText() throws IOException
+    {
+        writer.reset();
+        dmCharacterEscapeHandler.escape(text, 0, text.length, false, writer);
+        return writer.size();
+    }
+
+    @Benchmark
+    public int escapeAttributeValue() throws IOException
+    {
+        writer.reset();
+        dmCharacterEscapeHandler.escape(text, 0, text.length, true, writer);
+        return writer.size();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.finra.dm.dao.helper.EmrPricingHelper;
+import org.finra.dm.model.api.xml.EmrClusterDefinition;
+import org.finra.dm.model.api.xml.InstanceDefinition;
+import org.finra.dm.model.api.xml.InstanceDefinitions;
+import org.finra.dm.model.api.xml.MasterInstanceDefinition;
+import org.finra.dm.model.dto.ConfigurationValue;
+
+/**
+ * Benchmarks the best price search done for every EMR cluster create, for a cluster definition that searches the subnets of three availability zones. The EC2
+ * prices are either looked up on every search (a cache time to live of 0) or served from the EC2 price oracle's cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmrPricingHelperBenchmark
+{
+    @Param({"0", "60"})
+    private long priceCacheTimeToLiveSeconds;
+
+    private EmrPricingHelper emrPricingHelper;
+
+    @Setup
+    public void setup()
+    {
+        Map<String, Object> configurationOverrides = new HashMap<>();
+        configurationOverrides.put(ConfigurationValue.EC2_PRICE_CACHE_TIME_TO_LIVE_SECONDS.getKey(), priceCacheTimeToLiveSeconds);
+        emrPricingHelper = new BenchmarkContext(configurationOverrides).getEmrPricingHelper();
+    }
+
+    @Benchmark
+    public EmrClusterDefinition updateEmrClusterDefinitionWithBestPrice()
+    {
+        MasterInstanceDefinition masterInstanceDefinition = new MasterInstanceDefinition();
+        masterInstanceDefinition.setInstanceType(BenchmarkContext.EC2_INSTANCE_TYPE);
+        masterInstanceDefinition.setInstanceCount(1);
+        masterInstanceDefinition.setInstanceMaxSearchPrice(BigDecimal.ONE);
+
+        InstanceDefinition coreInstanceDefinition = new InstanceDefinition();
+        coreInstanceDefinition.setInstanceType(BenchmarkContext.EC2_INSTANCE_TYPE);
+        coreInstanceDefinition.setInstanceCount(1);
+        coreInstanceDefinition.setInstanceMaxSearchPrice(BigDecimal.ONE);
+
+        InstanceDefinitions instanceDefinitions = new InstanceDefinitions();
+        instanceDefinitions.setMasterInstances(masterInstanceDefinition);
+        instanceDefinitions.setCoreInstances(coreInstanceDefinition);
+
+        EmrClusterDefinition emrClusterDefinition = new EmrClusterDefinition();
+        emrClusterDefinition.setSubnetId(StringUtils.join(BenchmarkContext.EC2_SUBNET_IDS, ","));
+        emrClusterDefinition.setInstanceDefinitions(instanceDefinitions);
+
+        emrPricingHelper.updateEmrClusterDefinitionWithBestPrice(emrClusterDefinition);
+
+        return emrClusterDefinition;
+    }
+}
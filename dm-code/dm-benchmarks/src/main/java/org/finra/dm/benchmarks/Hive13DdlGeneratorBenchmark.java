@@ -0,0 +1,112 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.finra.dm.model.api.xml.BusinessObjectDataDdlOutputFormatEnum;
+import org.finra.dm.model.api.xml.BusinessObjectDataDdlRequest;
+import org.finra.dm.model.api.xml.PartitionValueFilter;
+import org.finra.dm.model.jpa.BusinessObjectDataEntity;
+import org.finra.dm.model.jpa.BusinessObjectFormatEntity;
+import org.finra.dm.model.jpa.StorageEntity;
+
+/**
+ * Benchmarks the Hive 13 DDL generation for business object data with many partitions. Each business object data has a primary partition value and two
+ * auto-discovered sub-partitions, so the generated DDL has two "add partition" statements per business object data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Hive13DdlGeneratorBenchmark
+{
+    @Param({"10000"})
+    private int partitionCount;
+
+    private BenchmarkContext benchmarkContext;
+
+    private BusinessObjectFormatEntity businessObjectFormatEntity;
+
+    private StorageEntity storageEntity;
+
+    private BusinessObjectDataDdlRequest businessObjectDataDdlRequest;
+
+    @Setup
+    public void setup()
+    {
+        benchmarkContext = new BenchmarkContext();
+        businessObjectFormatEntity = BenchmarkContext.createBusinessObjectFormatEntity(50, "TRADE_DT", "REGION");
+        storageEntity = BenchmarkContext.createStorageEntity();
+
+        List<String> partitionValues = new ArrayList<>();
+        LocalDate startDate = LocalDate.of(2000, 1, 1);
+        for (int i = 0; i < partitionCount; i++)
+        {
+            String partitionValue = startDate.plusDays(i).toString();
+            partitionValues.add(partitionValue);
+
+            // Build the S3 key prefix of the business object data so its storage files can be registered under it.
+            BusinessObjectDataEntity businessObjectDataEntity =
+                BenchmarkContext.createBusinessObjectDataEntity(i, businessObjectFormatEntity, partitionValue, new ArrayList<String>());
+            String s3KeyPrefix = benchmarkContext.getBusinessObjectDataHelper()
+                .buildS3KeyPrefix(businessObjectFormatEntity, benchmarkContext.getDmDaoHelper().getBusinessObjectDataKey(businessObjectDataEntity));
+
+            benchmarkContext.getBusinessObjectDataEntities().add(BenchmarkContext.createBusinessObjectDataEntity(i, businessObjectFormatEntity, partitionValue,
+                Arrays.asList(s3KeyPrefix + "/region=NE/part-00000.gz", s3KeyPrefix + "/region=NE/part-00001.gz", s3KeyPrefix + "/region=SW/part-00000.gz")));
+        }
+
+        businessObjectDataDdlRequest = new BusinessObjectDataDdlRequest();
+        businessObjectDataDdlRequest.setNamespace(BenchmarkContext.NAMESPACE);
+        businessObjectDataDdlRequest.setBusinessObjectDefinitionName(BenchmarkContext.BUSINESS_OBJECT_DEFINITION_NAME);
+        businessObjectDataDdlRequest.setBusinessObjectFormatUsage(BenchmarkContext.FORMAT_USAGE);
+        businessObjectDataDdlRequest.setBusinessObjectFormatFileType(BenchmarkContext.FORMAT_FILE_TYPE);
+        businessObjectDataDdlRequest.setBusinessObjectFormatVersion(BenchmarkContext.FORMAT_VERSION);
+        businessObjectDataDdlRequest.setPartitionValueFilter(new PartitionValueFilter("TRADE_DT", partitionValues, null, null, null));
+        businessObjectDataDdlRequest.setBusinessObjectDataVersion(BenchmarkContext.DATA_VERSION);
+        businessObjectDataDdlRequest.setStorageName(BenchmarkContext.STORAGE_NAME);
+        businessObjectDataDdlRequest.setOutputFormat(BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL);
+        businessObjectDataDdlRequest.setTableName("BENCHMARK_TABLE");
+        businessObjectDataDdlRequest.setIncludeDropTableStatement(true);
+        businessObjectDataDdlRequest.setIncludeIfNotExistsOption(true);
+        businessObjectDataDdlRequest.setAllowMissingData(false);
+    }
+
+    @Benchmark
+    public String generateCreateTableDdl()
+    {
+        return benchmarkContext.getHive13DdlGenerator()
+            .generateCreateTableDdl(businessObjectDataDdlRequest, businessObjectFormatEntity, null, storageEntity, BenchmarkContext.S3_BUCKET_NAME);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.api.xml.SchemaColumn;
+import org.finra.dm.model.dto.HivePartitionDto;
+import org.finra.dm.model.jpa.BusinessObjectDataEntity;
+import org.finra.dm.model.jpa.BusinessObjectFormatEntity;
+
+/**
+ * Benchmarks the auto-discovery of Hive sub-partitions, i.e. matching the registered storage file paths of a business object data against the Hive
+ * sub-directory pattern of its partition columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class HivePartitionBenchmark
+{
+    @Param({"1000000"})
+    private int fileCount;
+
+    private BenchmarkContext benchmarkContext;
+
+    private BusinessObjectDataEntity businessObjectDataEntity;
+
+    private BusinessObjectDataKey businessObjectDataKey;
+
+    private List<SchemaColumn> autoDiscoverableSubPartitionColumns;
+
+    private String s3KeyPrefix;
+
+    private List<String> storageFilePaths;
+
+    @Setup
+    public void setup()
+    {
+        benchmarkContext = new BenchmarkContext();
+        BusinessObjectFormatEntity businessObjectFormatEntity = BenchmarkContext.createBusinessObjectFormatEntity(10, "TRADE_DT", "REGION", "HOUR");
+        businessObjectDataEntity = BenchmarkContext.createBusinessObjectDataEntity(1, businessObjectFormatEntity, "2015-01-01", new ArrayList<String>());
+        businessObjectDataKey = benchmarkContext.getDmDaoHelper().getBusinessObjectDataKey(businessObjectDataEntity);
+        s3KeyPrefix = benchmarkContext.getBusinessObjectDataHelper().buildS3KeyPrefix(businessObjectFormatEntity, businessObjectDataKey);
+
+        autoDiscoverableSubPartitionColumns = new ArrayList<>();
+        autoDiscoverableSubPartitionColumns.add(new SchemaColumn("REGION", "STRING", null, null, null, null));
+        autoDiscoverableSubPartitionColumns.add(new SchemaColumn("HOUR", "STRING", null, null, null, null));
+
+        // Spread the files over 50 regions and 24 hours, using both the column name and the hyphenated column name forms of the sub-directories.
+        storageFilePaths = new ArrayList<>(fileCount);
+        for (int i = 0; i < fileCount; i++)
+        {
+            int region = i % 50;
+            storageFilePaths.add(String.format("%s/%s=R%02d/hour=%02d/part-%07d.gz", s3KeyPrefix, region % 2 == 0 ? "region" : "REGION", region, i % 24, i));
+        }
+    }
+
+    @Benchmark
+    public List<HivePartitionDto> getHivePartitions()
+    {
+        return benchmarkContext.getHive13DdlGenerator()
+            .getHivePartitions(businessObjectDataKey, autoDiscoverableSubPartitionColumns, s3KeyPrefix, storageFilePaths, businessObjectDataEntity,
+                BenchmarkContext.STORAGE_NAME);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Pattern getHivePathPattern()
+    {
+        return benchmarkContext.getHive13DdlGenerator().getHivePathPattern(autoDiscoverableSubPartitionColumns);
+    }
+}
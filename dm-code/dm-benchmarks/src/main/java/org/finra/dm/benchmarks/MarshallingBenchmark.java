@@ -0,0 +1,186 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.log4j.Logger;
+import org.eclipse.persistence.jaxb.MarshallerProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.finra.dm.dao.helper.SmileHelper;
+import org.finra.dm.dao.helper.XmlHelper;
+import org.finra.dm.model.api.xml.Attribute;
+import org.finra.dm.model.api.xml.BusinessObjectData;
+import org.finra.dm.model.api.xml.Storage;
+import org.finra.dm.model.api.xml.StorageFile;
+import org.finra.dm.model.api.xml.StorageUnit;
+
+/**
+ * Benchmarks the XML, JSON and Smile marshalling of a large business object data response. The XML benchmarks marshal the way the REST layer does (a JAXB
+ * context created once and a marshaller per response using the DM character escape handler) and the way the XML helper does (a JAXB context per call). The
+ * JSON and Smile benchmarks use a shared Jackson object mapper like the REST layer does. The payload size of each representation is logged once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarshallingBenchmark
+{
+    private static final Logger LOGGER = Logger.getLogger(MarshallingBenchmark.class);
+
+    @Param({"10000"})
+    private int storageFileCount;
+
+    private BenchmarkContext benchmarkContext;
+
+    private BusinessObjectData businessObjectData;
+
+    private JAXBContext jaxbContext;
+
+    private ObjectMapper objectMapper;
+
+    private String businessObjectDataXml;
+
+    private String businessObjectDataJson;
+
+    private SmileHelper smileHelper;
+
+    private byte[] businessObjectDataSmile;
+
+    @Setup
+    public void setup() throws JAXBException, IOException
+    {
+        benchmarkContext = new BenchmarkContext();
+        jaxbContext = JAXBContext.newInstance(BusinessObjectData.class);
+        objectMapper = new ObjectMapper();
+        smileHelper = new SmileHelper();
+
+        businessObjectData = new BusinessObjectData();
+        businessObjectData.setId(1);
+        businessObjectData.setNamespace(BenchmarkContext.NAMESPACE);
+        businessObjectData.setBusinessObjectDefinitionName(BenchmarkContext.BUSINESS_OBJECT_DEFINITION_NAME);
+        businessObjectData.setBusinessObjectFormatUsage(BenchmarkContext.FORMAT_USAGE);
+        businessObjectData.setBusinessObjectFormatFileType(BenchmarkContext.FORMAT_FILE_TYPE);
+        businessObjectData.setBusinessObjectFormatVersion(BenchmarkContext.FORMAT_VERSION);
+        businessObjectData.setPartitionKey("TRADE_DT");
+        businessObjectData.setPartitionValue("2015-01-01");
+        businessObjectData.setSubPartitionValues(Arrays.asList("R01", "07"));
+        businessObjectData.setVersion(BenchmarkContext.DATA_VERSION);
+        businessObjectData.setLatestVersion(true);
+        businessObjectData.setStatus("VALID");
+        businessObjectData.setAttributes(Arrays.asList(new Attribute("SOURCE", "Exchange feed <A&B>"), new Attribute("ROW_COUNT", "123456789")));
+
+        Storage storage = new Storage();
+        storage.setName(BenchmarkContext.STORAGE_NAME);
+        storage.setStoragePlatformName("S3");
+        storage.setAttributes(Arrays.asList(new Attribute("bucket.name", BenchmarkContext.S3_BUCKET_NAME)));
+
+        List<StorageFile> storageFiles = new ArrayList<>(storageFileCount);
+        for (int i = 0; i < storageFileCount; i++)
+        {
+            storageFiles.add(new StorageFile(String.format("benchmark-namespace/benchmark-data-provider/prc/txt/benchmark-bdef/frmt-v0/data-v0/" +
+                "trade-dt=2015-01-01/region=R%02d/hour=%02d/part-%07d.gz", i % 50, i % 24, i), 1024L * i, 10L * i));
+        }
+
+        StorageUnit storageUnit = new StorageUnit();
+        storageUnit.setStorage(storage);
+        storageUnit.setStorageFiles(storageFiles);
+        businessObjectData.setStorageUnits(Arrays.asList(storageUnit));
+
+        businessObjectDataXml = marshalXml();
+        businessObjectDataJson = marshalJson();
+        businessObjectDataSmile = marshalSmile();
+
+        LOGGER.info(String.format("Payload sizes for %d storage files: XML=%d bytes, JSON=%d bytes, Smile=%d bytes", storageFileCount,
+            businessObjectDataXml.getBytes(StandardCharsets.UTF_8).length, businessObjectDataJson.getBytes(StandardCharsets.UTF_8).length,
+            businessObjectDataSmile.length));
+    }
+
+    @Benchmark
+    public String marshalXml() throws JAXBException
+    {
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+        marshaller.setProperty(MarshallerProperties.CHARACTER_ESCAPE_HANDLER, benchmarkContext.getDmCharacterEscapeHandler());
+
+        StringWriter writer = new StringWriter();
+        marshaller.marshal(businessObjectData, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public String marshalXmlWithXmlHelper() throws JAXBException
+    {
+        XmlHelper xmlHelper = benchmarkContext.getXmlHelper();
+        return xmlHelper.objectToXml(businessObjectData);
+    }
+
+    @Benchmark
+    public Object unmarshalXml() throws JAXBException
+    {
+        return jaxbContext.createUnmarshaller().unmarshal(new StringReader(businessObjectDataXml));
+    }
+
+    @Benchmark
+    public String marshalJson() throws IOException
+    {
+        return objectMapper.writeValueAsString(businessObjectData);
+    }
+
+    @Benchmark
+    public BusinessObjectData unmarshalJson() throws IOException
+    {
+        return objectMapper.readValue(businessObjectDataJson, BusinessObjectData.class);
+    }
+
+    @Benchmark
+    public byte[] marshalSmile() throws IOException
+    {
+        return smileHelper.objectToSmile(businessObjectData);
+    }
+
+    @Benchmark
+    public BusinessObjectData unmarshalSmile() throws IOException
+    {
+        return smileHelper.unmarshallSmileToObject(BusinessObjectData.class, new ByteArrayInputStream(businessObjectDataSmile));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.service.helper.VelocityHelper;
+
+/**
+ * Benchmarks the evaluation of the business object data status change notification message template, which is evaluated for every status change.
+ * The template is either parsed on every evaluation or parsed once and reused from the velocity helper's template cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VelocityHelperBenchmark
+{
+    private static final String LOG_TAG = "benchmark";
+
+    private static final String TEMPLATE_RESOURCE = "businessObjectDataStatusChangeMessage.vm";
+
+    private VelocityHelper velocityHelper;
+
+    private String template;
+
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        velocityHelper = new BenchmarkContext().getVelocityHelper();
+
+        // The template is a copy of the status change message template configured for the unit tests.
+        try (InputStream inputStream = VelocityHelperBenchmark.class.getResourceAsStream(TEMPLATE_RESOURCE))
+        {
+            template = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+
+        variables = new HashMap<>();
+        variables.put("dm_notification_sqs_environment", "BENCHMARK");
+        variables.put("current_time", "2015-01-01T00:00:00.000-05:00");
+        variables.put("uuid", "UUID");
+        variables.put("username", "USER");
+        variables.put("StringUtils", StringUtils.class);
+        variables.put("CollectionUtils", CollectionUtils.class);
+        variables.put("businessObjectDataId", 1);
+        variables.put("businessObjectDataKey",
+            new BusinessObjectDataKey(BenchmarkContext.NAMESPACE, BenchmarkContext.BUSINESS_OBJECT_DEFINITION_NAME, BenchmarkContext.FORMAT_USAGE,
+                BenchmarkContext.FORMAT_FILE_TYPE, BenchmarkContext.FORMAT_VERSION, "2015-01-01", Arrays.asList("A", "B"), BenchmarkContext.DATA_VERSION));
+        variables.put("newBusinessObjectDataStatus", "VALID");
+        variables.put("oldBusinessObjectDataStatus", "UPLOADING");
+    }
+
+    @Benchmark
+    public String evaluateUncached()
+    {
+        return velocityHelper.evaluate(new StringReader(template), variables, LOG_TAG);
+    }
+
+    @Benchmark
+    public String evaluateCached()
+    {
+        return velocityHelper.evaluate(template, variables, LOG_TAG);
+    }
+}
@@ -0,0 +1,274 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.finra.dm.model.dto.AdmissionClass;
+
+/**
+ * A JVM wide registry of the admission control metrics, keyed by admission class. The metrics are recorded by the admission control helper and published
+ * along with the method metrics.
+ */
+public final class AdmissionControlMetricsRegistry
+{
+    /**
+     * The reasons for which a request can be rejected by the admission control.
+     */
+    public enum RejectionReason
+    {
+        /**
+         * The user exceeded its request rate.
+         */
+        USER_RATE,
+
+        /**
+         * The user had too many requests in progress for longer than the queue timeout.
+         */
+        USER_CONCURRENCY,
+
+        /**
+         * The namespace had too many requests in progress for longer than the queue timeout.
+         */
+        NAMESPACE_CONCURRENCY
+    }
+
+    /**
+     * The prefix of the metric names in the text report.
+     */
+    private static final String METRIC_NAME_PREFIX = "dm_admission_";
+
+    private static final Map<AdmissionClass, AdmissionClassMetrics> ADMISSION_CLASS_METRICS = new EnumMap<>(AdmissionClass.class);
+
+    static
+    {
+        for (AdmissionClass admissionClass : AdmissionClass.values())
+        {
+            ADMISSION_CLASS_METRICS.put(admissionClass, new AdmissionClassMetrics());
+        }
+    }
+
+    private AdmissionControlMetricsRegistry()
+    {
+        // Prevent classes from instantiating.
+    }
+
+    /**
+     * Records a request that was admitted.
+     *
+     * @param admissionClass the admission class of the request
+     */
+    public static void recordAdmitted(AdmissionClass admissionClass)
+    {
+        ADMISSION_CLASS_METRICS.get(admissionClass).admittedCount.increment();
+    }
+
+    /**
+     * Records a request that started waiting for a concurrency slot.
+     *
+     * @param admissionClass the admission class of the request
+     */
+    public static void recordQueued(AdmissionClass admissionClass)
+    {
+        AdmissionClassMetrics admissionClassMetrics = ADMISSION_CLASS_METRICS.get(admissionClass);
+        admissionClassMetrics.queuedCount.increment();
+        admissionClassMetrics.waitingCount.incrementAndGet();
+    }
+
+    /**
+     * Records a request that stopped waiting for a concurrency slot, whether it got the slot or not.
+     *
+     * @param admissionClass the admission class of the request
+     */
+    public static void recordDequeued(AdmissionClass admissionClass)
+    {
+        ADMISSION_CLASS_METRICS.get(admissionClass).waitingCount.decrementAndGet();
+    }
+
+    /**
+     * Records a request that was rejected.
+     *
+     * @param admissionClass the admission class of the request
+     * @param rejectionReason the reason of the rejection
+     */
+    public static void recordRejected(AdmissionClass admissionClass, RejectionReason rejectionReason)
+    {
+        ADMISSION_CLASS_METRICS.get(admissionClass).rejectedCounts.get(rejectionReason).increment();
+    }
+
+    /**
+     * Gets the number of requests of an admission class that were admitted since the last reset.
+     *
+     * @param admissionClass the admission class
+     *
+     * @return the admitted request count
+     */
+    public static long getAdmittedCount(AdmissionClass admissionClass)
+    {
+        return ADMISSION_CLASS_METRICS.get(admissionClass).admittedCount.sum();
+    }
+
+    /**
+     * Gets the number of requests of an admission class that had to wait for a concurrency slot since the last reset.
+     *
+     * @param admissionClass the admission class
+     *
+     * @return the queued request count
+     */
+    public static long getQueuedCount(AdmissionClass admissionClass)
+    {
+        return ADMISSION_CLASS_METRICS.get(admissionClass).queuedCount.sum();
+    }
+
+    /**
+     * Gets the number of requests of an admission class currently waiting for a concurrency slot.
+     *
+     * @param admissionClass the admission class
+     *
+     * @return the waiting request count
+     */
+    public static long getWaitingCount(AdmissionClass admissionClass)
+    {
+        return ADMISSION_CLASS_METRICS.get(admissionClass).waitingCount.get();
+    }
+
+    /**
+     * Gets the number of requests of an admission class that were rejected for the specified reason since the last reset.
+     *
+     * @param admissionClass the admission class
+     * @param rejectionReason the reason of the rejection
+     *
+     * @return the rejected request count
+     */
+    public static long getRejectedCount(AdmissionClass admissionClass, RejectionReason rejectionReason)
+    {
+        return ADMISSION_CLASS_METRICS.get(admissionClass).rejectedCounts.get(rejectionReason).sum();
+    }
+
+    /**
+     * Clears the counters of all the admission classes. The number of requests currently waiting is a gauge and is not cleared.
+     */
+    public static void reset()
+    {
+        for (AdmissionClassMetrics admissionClassMetrics : ADMISSION_CLASS_METRICS.values())
+        {
+            admissionClassMetrics.admittedCount.reset();
+            admissionClassMetrics.queuedCount.reset();
+            for (LongAdder rejectedCount : admissionClassMetrics.rejectedCounts.values())
+            {
+                rejectedCount.reset();
+            }
+        }
+    }
+
+    /**
+     * Gets a plain text report of the admission control metrics in the Prometheus text exposition format.
+     *
+     * @return the text report
+     */
+    public static String getTextReport()
+    {
+        StringBuilder report = new StringBuilder();
+
+        appendMetricHeader(report, "admitted_total", "counter", "The number of requests admitted by the admission control.");
+        for (AdmissionClass admissionClass : AdmissionClass.values())
+        {
+            appendMetric(report, "admitted_total", admissionClass, null, getAdmittedCount(admissionClass));
+        }
+
+        appendMetricHeader(report, "queued_total", "counter", "The number of requests that waited for a concurrency slot.");
+        for (AdmissionClass admissionClass : AdmissionClass.values())
+        {
+            appendMetric(report, "queued_total", admissionClass, null, getQueuedCount(admissionClass));
+        }
+
+        appendMetricHeader(report, "waiting", "gauge", "The number of requests currently waiting for a concurrency slot.");
+        for (AdmissionClass admissionClass : AdmissionClass.values())
+        {
+            appendMetric(report, "waiting", admissionClass, null, getWaitingCount(admissionClass));
+        }
+
+        appendMetricHeader(report, "rejected_total", "counter", "The number of requests rejected by the admission control by reason.");
+        for (AdmissionClass admissionClass : AdmissionClass.values())
+        {
+            for (RejectionReason rejectionReason : RejectionReason.values())
+            {
+                appendMetric(report, "rejected_total", admissionClass, ",reason=\"" + rejectionReason + "\"",
+                    getRejectedCount(admissionClass, rejectionReason));
+            }
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * Appends the help and type lines of a metric to the report.
+     *
+     * @param report the report
+     * @param metricName the metric name without its prefix
+     * @param metricType the metric type
+     * @param help the description of the metric
+     */
+    private static void appendMetricHeader(StringBuilder report, String metricName, String metricType, String help)
+    {
+        report.append("# HELP ").append(METRIC_NAME_PREFIX).append(metricName).append(' ').append(help).append('\n');
+        report.append("# TYPE ").append(METRIC_NAME_PREFIX).append(metricName).append(' ').append(metricType).append('\n');
+    }
+
+    /**
+     * Appends a metric sample of an admission class to the report.
+     *
+     * @param report the report
+     * @param metricName the metric name without its prefix
+     * @param admissionClass the admission class
+     * @param additionalLabels the optional additional labels, each starting with a comma
+     * @param value the sample value
+     */
+    private static void appendMetric(StringBuilder report, String metricName, AdmissionClass admissionClass, String additionalLabels, long value)
+    {
+        report.append(METRIC_NAME_PREFIX).append(metricName).append("{class=\"").append(admissionClass).append('"');
+        if (additionalLabels != null)
+        {
+            report.append(additionalLabels);
+        }
+        report.append("} ").append(value).append('\n');
+    }
+
+    /**
+     * The metrics of one admission class.
+     */
+    private static class AdmissionClassMetrics
+    {
+        private final LongAdder admittedCount = new LongAdder();
+
+        private final LongAdder queuedCount = new LongAdder();
+
+        private final AtomicLong waitingCount = new AtomicLong();
+
+        private final Map<RejectionReason, LongAdder> rejectedCounts = new EnumMap<>(RejectionReason.class);
+
+        private AdmissionClassMetrics()
+        {
+            for (RejectionReason rejectionReason : RejectionReason.values())
+            {
+                rejectedCounts.put(rejectionReason, new LongAdder());
+            }
+        }
+    }
+}
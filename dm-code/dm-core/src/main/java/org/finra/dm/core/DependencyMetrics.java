@@ -0,0 +1,170 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of the calls made to an operation of an external dependency (e.g. an AWS or Oozie operation) from a given calling method: a latency histogram of
+ * the calls, including their retries, and counts of the failed calls, the retries, the throttling errors by error code and the bytes transferred.
+ */
+public class DependencyMetrics
+{
+    /**
+     * The calling method name used when an operation is called outside of an advised method.
+     */
+    public static final String UNKNOWN_CALLING_METHOD_NAME = "none";
+
+    private final String operationName;
+
+    private final String callingMethodName;
+
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+    private final LongAdder errorCount = new LongAdder();
+
+    private final LongAdder retryCount = new LongAdder();
+
+    private final LongAdder bytesTransferred = new LongAdder();
+
+    private final ConcurrentMap<String, LongAdder> throttlingErrorCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the metrics of an operation called from a method.
+     *
+     * @param operationName the operation name
+     * @param callingMethodName the fully qualified name of the calling method
+     */
+    public DependencyMetrics(String operationName, String callingMethodName)
+    {
+        this.operationName = operationName;
+        this.callingMethodName = callingMethodName;
+    }
+
+    /**
+     * Records a call of the operation.
+     *
+     * @param durationNanos the duration of the call in nanoseconds
+     * @param error true if the call ended with an exception
+     * @param bytes the number of bytes transferred by the call
+     */
+    public void recordCall(long durationNanos, boolean error, long bytes)
+    {
+        latencyHistogram.recordValue(durationNanos / 1000);
+        if (error)
+        {
+            errorCount.increment();
+        }
+        if (bytes > 0)
+        {
+            bytesTransferred.add(bytes);
+        }
+    }
+
+    /**
+     * Records a retry of the operation.
+     */
+    public void recordRetry()
+    {
+        retryCount.increment();
+    }
+
+    /**
+     * Records a throttling error returned by the operation.
+     *
+     * @param errorCode the error code of the throttling error
+     */
+    public void recordThrottlingError(String errorCode)
+    {
+        LongAdder throttlingErrorCount = throttlingErrorCounts.get(errorCode);
+        if (throttlingErrorCount == null)
+        {
+            throttlingErrorCount = new LongAdder();
+            LongAdder existingThrottlingErrorCount = throttlingErrorCounts.putIfAbsent(errorCode, throttlingErrorCount);
+            if (existingThrottlingErrorCount != null)
+            {
+                throttlingErrorCount = existingThrottlingErrorCount;
+            }
+        }
+        throttlingErrorCount.increment();
+    }
+
+    /**
+     * Clears the recorded calls.
+     */
+    public void reset()
+    {
+        latencyHistogram.reset();
+        errorCount.reset();
+        retryCount.reset();
+        bytesTransferred.reset();
+        throttlingErrorCounts.clear();
+    }
+
+    public String getOperationName()
+    {
+        return operationName;
+    }
+
+    public String getCallingMethodName()
+    {
+        return callingMethodName;
+    }
+
+    public LatencyHistogram getLatencyHistogram()
+    {
+        return latencyHistogram;
+    }
+
+    public long getCallCount()
+    {
+        return latencyHistogram.getCount();
+    }
+
+    public long getErrorCount()
+    {
+        return errorCount.sum();
+    }
+
+    public long getRetryCount()
+    {
+        return retryCount.sum();
+    }
+
+    public long getBytesTransferred()
+    {
+        return bytesTransferred.sum();
+    }
+
+    /**
+     * Gets the number of throttling errors by error code.
+     *
+     * @return the throttling error counts ordered by error code
+     */
+    public Map<String, Long> getThrottlingErrorCounts()
+    {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : throttlingErrorCounts.entrySet())
+        {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return counts;
+    }
+}
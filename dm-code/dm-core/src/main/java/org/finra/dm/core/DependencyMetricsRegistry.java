@@ -0,0 +1,235 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A JVM wide registry of the metrics of the calls made to external dependencies, keyed by operation name and by calling method name. The metrics are recorded
+ * by the DAO operations advices and published along with the method metrics.
+ */
+public final class DependencyMetricsRegistry
+{
+    /**
+     * The prefix of the metric names in the text report.
+     */
+    private static final String METRIC_NAME_PREFIX = "dm_dependency_";
+
+    private static final ConcurrentMap<String, ConcurrentMap<String, DependencyMetrics>> DEPENDENCY_METRICS = new ConcurrentHashMap<>();
+
+    private DependencyMetricsRegistry()
+    {
+        // Prevent classes from instantiating.
+    }
+
+    /**
+     * Gets the metrics of the specified operation called from the method currently being advised by the stop watch advice on this thread, creating them if
+     * needed.
+     *
+     * @param operationName the operation name
+     *
+     * @return the dependency metrics
+     */
+    public static DependencyMetrics getDependencyMetrics(String operationName)
+    {
+        String callingMethodName = StopWatchAdvice.getCurrentMethodName();
+        return getDependencyMetrics(operationName, callingMethodName != null ? callingMethodName : DependencyMetrics.UNKNOWN_CALLING_METHOD_NAME);
+    }
+
+    /**
+     * Gets the metrics of the specified operation called from the specified method, creating them if needed.
+     *
+     * @param operationName the operation name
+     * @param callingMethodName the fully qualified name of the calling method
+     *
+     * @return the dependency metrics
+     */
+    public static DependencyMetrics getDependencyMetrics(String operationName, String callingMethodName)
+    {
+        ConcurrentMap<String, DependencyMetrics> operationMetrics = DEPENDENCY_METRICS.get(operationName);
+        if (operationMetrics == null)
+        {
+            operationMetrics = new ConcurrentHashMap<>();
+            ConcurrentMap<String, DependencyMetrics> existingOperationMetrics = DEPENDENCY_METRICS.putIfAbsent(operationName, operationMetrics);
+            if (existingOperationMetrics != null)
+            {
+                operationMetrics = existingOperationMetrics;
+            }
+        }
+
+        DependencyMetrics dependencyMetrics = operationMetrics.get(callingMethodName);
+        if (dependencyMetrics == null)
+        {
+            dependencyMetrics = new DependencyMetrics(operationName, callingMethodName);
+            DependencyMetrics existingDependencyMetrics = operationMetrics.putIfAbsent(callingMethodName, dependencyMetrics);
+            if (existingDependencyMetrics != null)
+            {
+                dependencyMetrics = existingDependencyMetrics;
+            }
+        }
+
+        return dependencyMetrics;
+    }
+
+    /**
+     * Gets the statistics of all the operations that were called since the last reset, ordered by operation name and calling method name.
+     *
+     * @return the list of dependency statistics
+     */
+    public static List<DependencyStatistics> getDependencyStatistics()
+    {
+        List<DependencyStatistics> dependencyStatistics = new ArrayList<>();
+        for (ConcurrentMap<String, DependencyMetrics> operationMetrics : DEPENDENCY_METRICS.values())
+        {
+            for (DependencyMetrics dependencyMetrics : operationMetrics.values())
+            {
+                if (dependencyMetrics.getCallCount() > 0)
+                {
+                    dependencyStatistics.add(new DependencyStatistics(dependencyMetrics));
+                }
+            }
+        }
+
+        Collections.sort(dependencyStatistics, new Comparator<DependencyStatistics>()
+        {
+            @Override
+            public int compare(DependencyStatistics dependencyStatistics1, DependencyStatistics dependencyStatistics2)
+            {
+                int result = dependencyStatistics1.getOperationName().compareTo(dependencyStatistics2.getOperationName());
+                return result != 0 ? result : dependencyStatistics1.getCallingMethodName().compareTo(dependencyStatistics2.getCallingMethodName());
+            }
+        });
+
+        return dependencyStatistics;
+    }
+
+    /**
+     * Clears the metrics of all the operations.
+     */
+    public static void reset()
+    {
+        for (ConcurrentMap<String, DependencyMetrics> operationMetrics : DEPENDENCY_METRICS.values())
+        {
+            for (DependencyMetrics dependencyMetrics : operationMetrics.values())
+            {
+                dependencyMetrics.reset();
+            }
+        }
+    }
+
+    /**
+     * Gets a plain text report of the dependency metrics in the Prometheus text exposition format. Latencies are reported in microseconds.
+     *
+     * @return the text report
+     */
+    public static String getTextReport()
+    {
+        List<DependencyStatistics> dependencyStatisticsList = getDependencyStatistics();
+
+        StringBuilder report = new StringBuilder();
+
+        appendMetricHeader(report, "calls_total", "counter", "The number of dependency operation calls.");
+        for (DependencyStatistics dependencyStatistics : dependencyStatisticsList)
+        {
+            appendMetric(report, "calls_total", dependencyStatistics, null, dependencyStatistics.getCallCount());
+        }
+
+        appendMetricHeader(report, "errors_total", "counter", "The number of dependency operation calls that ended with an exception.");
+        for (DependencyStatistics dependencyStatistics : dependencyStatisticsList)
+        {
+            appendMetric(report, "errors_total", dependencyStatistics, null, dependencyStatistics.getErrorCount());
+        }
+
+        appendMetricHeader(report, "retries_total", "counter", "The number of dependency operation retries.");
+        for (DependencyStatistics dependencyStatistics : dependencyStatisticsList)
+        {
+            appendMetric(report, "retries_total", dependencyStatistics, null, dependencyStatistics.getRetryCount());
+        }
+
+        appendMetricHeader(report, "throttling_errors_total", "counter", "The number of throttling errors returned by dependency operations by error code.");
+        for (DependencyStatistics dependencyStatistics : dependencyStatisticsList)
+        {
+            for (Map.Entry<String, Long> entry : dependencyStatistics.getThrottlingErrorCounts().entrySet())
+            {
+                appendMetric(report, "throttling_errors_total", dependencyStatistics, ",error_code=\"" + entry.getKey() + "\"", entry.getValue());
+            }
+        }
+
+        appendMetricHeader(report, "bytes_total", "counter", "The number of bytes transferred by dependency operations.");
+        for (DependencyStatistics dependencyStatistics : dependencyStatisticsList)
+        {
+            appendMetric(report, "bytes_total", dependencyStatistics, null, dependencyStatistics.getBytesTransferred());
+        }
+
+        appendMetricHeader(report, "latency_microseconds", "summary", "The dependency operation latency in microseconds, including retries.");
+        for (DependencyStatistics dependencyStatistics : dependencyStatisticsList)
+        {
+            appendMetric(report, "latency_microseconds", dependencyStatistics, ",quantile=\"0.5\"", dependencyStatistics.getMedianLatency());
+            appendMetric(report, "latency_microseconds", dependencyStatistics, ",quantile=\"0.99\"", dependencyStatistics.getPercentile99Latency());
+            appendMetric(report, "latency_microseconds_sum", dependencyStatistics, null, dependencyStatistics.getTotalLatency());
+            appendMetric(report, "latency_microseconds_count", dependencyStatistics, null, dependencyStatistics.getCallCount());
+        }
+
+        appendMetricHeader(report, "latency_microseconds_max", "gauge",
+            "The highest dependency operation latency in microseconds since the metrics were reset.");
+        for (DependencyStatistics dependencyStatistics : dependencyStatisticsList)
+        {
+            appendMetric(report, "latency_microseconds_max", dependencyStatistics, null, dependencyStatistics.getMaxLatency());
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * Appends the help and type lines of a metric to the report.
+     *
+     * @param report the report
+     * @param metricName the metric name without its prefix
+     * @param metricType the metric type
+     * @param help the description of the metric
+     */
+    private static void appendMetricHeader(StringBuilder report, String metricName, String metricType, String help)
+    {
+        report.append("# HELP ").append(METRIC_NAME_PREFIX).append(metricName).append(' ').append(help).append('\n');
+        report.append("# TYPE ").append(METRIC_NAME_PREFIX).append(metricName).append(' ').append(metricType).append('\n');
+    }
+
+    /**
+     * Appends a metric sample of an operation to the report.
+     *
+     * @param report the report
+     * @param metricName the metric name without its prefix
+     * @param dependencyStatistics the dependency statistics
+     * @param additionalLabels the optional additional labels, each starting with a comma
+     * @param value the sample value
+     */
+    private static void appendMetric(StringBuilder report, String metricName, DependencyStatistics dependencyStatistics, String additionalLabels, long value)
+    {
+        report.append(METRIC_NAME_PREFIX).append(metricName).append("{operation=\"").append(dependencyStatistics.getOperationName())
+            .append("\",method=\"").append(dependencyStatistics.getCallingMethodName()).append('"');
+        if (additionalLabels != null)
+        {
+            report.append(additionalLabels);
+        }
+        report.append("} ").append(value).append('\n');
+    }
+}
@@ -0,0 +1,131 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import java.util.Map;
+
+/**
+ * An immutable point in time view of the metrics of an operation of an external dependency called from a method. Latencies are in microseconds.
+ */
+public class DependencyStatistics
+{
+    private final String operationName;
+
+    private final String callingMethodName;
+
+    private final long callCount;
+
+    private final long errorCount;
+
+    private final long retryCount;
+
+    private final long bytesTransferred;
+
+    private final Map<String, Long> throttlingErrorCounts;
+
+    private final double meanLatency;
+
+    private final long medianLatency;
+
+    private final long percentile99Latency;
+
+    private final long maxLatency;
+
+    private final long totalLatency;
+
+    /**
+     * Creates the statistics of an operation from its metrics.
+     *
+     * @param dependencyMetrics the dependency metrics
+     */
+    public DependencyStatistics(DependencyMetrics dependencyMetrics)
+    {
+        LatencyHistogram latencyHistogram = dependencyMetrics.getLatencyHistogram();
+
+        this.operationName = dependencyMetrics.getOperationName();
+        this.callingMethodName = dependencyMetrics.getCallingMethodName();
+        this.callCount = dependencyMetrics.getCallCount();
+        this.errorCount = dependencyMetrics.getErrorCount();
+        this.retryCount = dependencyMetrics.getRetryCount();
+        this.bytesTransferred = dependencyMetrics.getBytesTransferred();
+        this.throttlingErrorCounts = dependencyMetrics.getThrottlingErrorCounts();
+        this.meanLatency = latencyHistogram.getMean();
+        this.medianLatency = latencyHistogram.getValueAtPercentile(50);
+        this.percentile99Latency = latencyHistogram.getValueAtPercentile(99);
+        this.maxLatency = latencyHistogram.getMax();
+        this.totalLatency = latencyHistogram.getTotal();
+    }
+
+    public String getOperationName()
+    {
+        return operationName;
+    }
+
+    public String getCallingMethodName()
+    {
+        return callingMethodName;
+    }
+
+    public long getCallCount()
+    {
+        return callCount;
+    }
+
+    public long getErrorCount()
+    {
+        return errorCount;
+    }
+
+    public long getRetryCount()
+    {
+        return retryCount;
+    }
+
+    public long getBytesTransferred()
+    {
+        return bytesTransferred;
+    }
+
+    public Map<String, Long> getThrottlingErrorCounts()
+    {
+        return throttlingErrorCounts;
+    }
+
+    public double getMeanLatency()
+    {
+        return meanLatency;
+    }
+
+    public long getMedianLatency()
+    {
+        return medianLatency;
+    }
+
+    public long getPercentile99Latency()
+    {
+        return percentile99Latency;
+    }
+
+    public long getMaxLatency()
+    {
+        return maxLatency;
+    }
+
+    public long getTotalLatency()
+    {
+        return totalLatency;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram that records durations in microseconds. Values are grouped into power of two ranges that are each split into 32 linear
+ * sub-buckets, so any percentile is reported with a relative error of about 3% while the memory used stays fixed (a few kilobytes) regardless of how many
+ * values are recorded. Values from 1 microsecond to about 70 minutes are tracked precisely; larger values are counted in the last bucket. Recording a value
+ * never blocks and never allocates, which makes the histogram cheap enough to update on every method invocation.
+ */
+public class LatencyHistogram
+{
+    /**
+     * The number of bits used for the linear sub-buckets of each power of two range.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The highest value that is tracked precisely (2^32 - 1 microseconds, i.e. about 71 minutes).
+     */
+    static final long MAX_TRACKABLE_VALUE = (1L << 32) - 1;
+
+    private static final int BUCKET_COUNT = getBucketIndex(MAX_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder total = new LongAdder();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value.
+     *
+     * @param value the value in microseconds, negative values are recorded as 0
+     */
+    public void recordValue(long value)
+    {
+        long normalizedValue = Math.max(value, 0);
+
+        buckets.incrementAndGet(getBucketIndex(Math.min(normalizedValue, MAX_TRACKABLE_VALUE)));
+        count.increment();
+        total.add(normalizedValue);
+
+        long currentMax = max.get();
+        while (normalizedValue > currentMax && !max.compareAndSet(currentMax, normalizedValue))
+        {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    public long getCount()
+    {
+        return count.sum();
+    }
+
+    /**
+     * Gets the sum of all recorded values.
+     *
+     * @return the sum of the recorded values in microseconds
+     */
+    public long getTotal()
+    {
+        return total.sum();
+    }
+
+    /**
+     * Gets the highest recorded value.
+     *
+     * @return the highest recorded value in microseconds or 0 if no value was recorded
+     */
+    public long getMax()
+    {
+        return max.get();
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     *
+     * @return the mean in microseconds or 0 if no value was recorded
+     */
+    public double getMean()
+    {
+        long currentCount = getCount();
+        return currentCount == 0 ? 0 : (double) getTotal() / currentCount;
+    }
+
+    /**
+     * Gets the value at the specified percentile. The returned value is the highest value of the bucket the percentile falls into, capped by the highest
+     * recorded value.
+     *
+     * @param percentile the percentile between 0 and 100
+     *
+     * @return the value at the percentile in microseconds or 0 if no value was recorded
+     */
+    public long getValueAtPercentile(double percentile)
+    {
+        long totalCount = 0;
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            counts[i] = buckets.get(i);
+            totalCount += counts[i];
+        }
+
+        if (totalCount == 0)
+        {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * totalCount));
+        long cumulativeCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            cumulativeCount += counts[i];
+            if (cumulativeCount >= rank)
+            {
+                return Math.min(getBucketUpperBound(i), getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    /**
+     * Clears all the recorded values. Values recorded concurrently with a reset may or may not be cleared.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    /**
+     * Gets the index of the bucket that holds the specified value.
+     *
+     * @param value the value, between 0 and the maximum trackable value
+     *
+     * @return the bucket index
+     */
+    static int getBucketIndex(long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int) value;
+        }
+
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+
+        return ((shift + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    /**
+     * Gets the highest value that is held by the specified bucket.
+     *
+     * @param bucketIndex the bucket index
+     *
+     * @return the highest value of the bucket
+     */
+    static long getBucketUpperBound(int bucketIndex)
+    {
+        if (bucketIndex < SUB_BUCKET_COUNT)
+        {
+            return bucketIndex;
+        }
+
+        int shift = (bucketIndex >> SUB_BUCKET_BITS) - 1;
+        long subBucket = bucketIndex & (SUB_BUCKET_COUNT - 1);
+
+        return ((SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+}
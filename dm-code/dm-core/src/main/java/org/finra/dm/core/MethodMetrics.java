@@ -0,0 +1,84 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of a single method: a latency histogram of its invocations and a count of the invocations that ended with an exception.
+ */
+public class MethodMetrics
+{
+    private final String methodName;
+
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+    private final LongAdder errorCount = new LongAdder();
+
+    /**
+     * Creates the metrics of a method.
+     *
+     * @param methodName the fully qualified method name
+     */
+    public MethodMetrics(String methodName)
+    {
+        this.methodName = methodName;
+    }
+
+    /**
+     * Records an invocation of the method.
+     *
+     * @param durationNanos the duration of the invocation in nanoseconds
+     * @param error true if the invocation ended with an exception
+     */
+    public void recordInvocation(long durationNanos, boolean error)
+    {
+        latencyHistogram.recordValue(durationNanos / 1000);
+        if (error)
+        {
+            errorCount.increment();
+        }
+    }
+
+    /**
+     * Clears the recorded invocations.
+     */
+    public void reset()
+    {
+        latencyHistogram.reset();
+        errorCount.reset();
+    }
+
+    public String getMethodName()
+    {
+        return methodName;
+    }
+
+    public LatencyHistogram getLatencyHistogram()
+    {
+        return latencyHistogram;
+    }
+
+    public long getInvocationCount()
+    {
+        return latencyHistogram.getCount();
+    }
+
+    public long getErrorCount()
+    {
+        return errorCount.sum();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import java.util.List;
+
+/**
+ * The management interface that publishes the method metrics over JMX.
+ */
+public interface MethodMetricsMXBean
+{
+    /**
+     * Gets the statistics of all the methods that were invoked since the metrics were last reset.
+     *
+     * @return the list of method statistics
+     */
+    public List<MethodStatistics> getMethodStatistics();
+
+    /**
+     * Gets the method metrics as a plain text report.
+     *
+     * @return the text report
+     */
+    public String getTextReport();
+
+    /**
+     * Gets the time the metrics started to be recorded.
+     *
+     * @return the start time in milliseconds since the epoch
+     */
+    public long getStartTimeMillis();
+
+    /**
+     * Clears the metrics of all the methods.
+     */
+    public void reset();
+}
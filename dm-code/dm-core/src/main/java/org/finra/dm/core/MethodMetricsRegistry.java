@@ -0,0 +1,202 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A JVM wide registry of method metrics keyed by fully qualified method name. The metrics are recorded by the stop watch advice and published through the
+ * method metrics MXBean and the text metrics report.
+ */
+public final class MethodMetricsRegistry
+{
+    /**
+     * The prefix of the metric names in the text report.
+     */
+    private static final String METRIC_NAME_PREFIX = "dm_method_";
+
+    private static final ConcurrentMap<String, MethodMetrics> METHOD_METRICS = new ConcurrentHashMap<>();
+
+    private static volatile long startTimeMillis = System.currentTimeMillis();
+
+    private MethodMetricsRegistry()
+    {
+        // Prevent classes from instantiating.
+    }
+
+    /**
+     * Gets the metrics of the specified method, creating them if needed.
+     *
+     * @param methodName the fully qualified method name
+     *
+     * @return the method metrics
+     */
+    public static MethodMetrics getMethodMetrics(String methodName)
+    {
+        MethodMetrics methodMetrics = METHOD_METRICS.get(methodName);
+        if (methodMetrics == null)
+        {
+            methodMetrics = new MethodMetrics(methodName);
+            MethodMetrics existingMethodMetrics = METHOD_METRICS.putIfAbsent(methodName, methodMetrics);
+            if (existingMethodMetrics != null)
+            {
+                methodMetrics = existingMethodMetrics;
+            }
+        }
+        return methodMetrics;
+    }
+
+    /**
+     * Gets the statistics of all the methods that were invoked since the last reset, ordered by method name.
+     *
+     * @return the list of method statistics
+     */
+    public static List<MethodStatistics> getMethodStatistics()
+    {
+        long elapsedMillis = System.currentTimeMillis() - startTimeMillis;
+
+        List<MethodStatistics> methodStatistics = new ArrayList<>();
+        for (MethodMetrics methodMetrics : METHOD_METRICS.values())
+        {
+            if (methodMetrics.getInvocationCount() > 0)
+            {
+                methodStatistics.add(new MethodStatistics(methodMetrics, elapsedMillis));
+            }
+        }
+
+        Collections.sort(methodStatistics, new Comparator<MethodStatistics>()
+        {
+            @Override
+            public int compare(MethodStatistics methodStatistics1, MethodStatistics methodStatistics2)
+            {
+                return methodStatistics1.getMethodName().compareTo(methodStatistics2.getMethodName());
+            }
+        });
+
+        return methodStatistics;
+    }
+
+    /**
+     * Gets the time the metrics started to be recorded, i.e. the time the registry was created or last reset.
+     *
+     * @return the start time in milliseconds since the epoch
+     */
+    public static long getStartTimeMillis()
+    {
+        return startTimeMillis;
+    }
+
+    /**
+     * Clears the metrics of all the methods.
+     */
+    public static void reset()
+    {
+        for (MethodMetrics methodMetrics : METHOD_METRICS.values())
+        {
+            methodMetrics.reset();
+        }
+        startTimeMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Gets a plain text report of the method metrics in the Prometheus text exposition format. Latencies are reported in microseconds.
+     *
+     * @return the text report
+     */
+    public static String getTextReport()
+    {
+        List<MethodStatistics> methodStatisticsList = getMethodStatistics();
+
+        StringBuilder report = new StringBuilder();
+
+        appendMetricHeader(report, "invocations_total", "counter", "The number of method invocations.");
+        for (MethodStatistics methodStatistics : methodStatisticsList)
+        {
+            appendMetric(report, "invocations_total", methodStatistics, null, Long.toString(methodStatistics.getInvocationCount()));
+        }
+
+        appendMetricHeader(report, "errors_total", "counter", "The number of method invocations that ended with an exception.");
+        for (MethodStatistics methodStatistics : methodStatisticsList)
+        {
+            appendMetric(report, "errors_total", methodStatistics, null, Long.toString(methodStatistics.getErrorCount()));
+        }
+
+        appendMetricHeader(report, "throughput_per_second", "gauge", "The mean number of method invocations per second since the metrics were reset.");
+        for (MethodStatistics methodStatistics : methodStatisticsList)
+        {
+            appendMetric(report, "throughput_per_second", methodStatistics, null,
+                String.format(Locale.US, "%.3f", methodStatistics.getThroughputPerSecond()));
+        }
+
+        appendMetricHeader(report, "latency_microseconds", "summary", "The method latency in microseconds.");
+        for (MethodStatistics methodStatistics : methodStatisticsList)
+        {
+            appendMetric(report, "latency_microseconds", methodStatistics, "0.5", Long.toString(methodStatistics.getMedianLatency()));
+            appendMetric(report, "latency_microseconds", methodStatistics, "0.9", Long.toString(methodStatistics.getPercentile90Latency()));
+            appendMetric(report, "latency_microseconds", methodStatistics, "0.99", Long.toString(methodStatistics.getPercentile99Latency()));
+            appendMetric(report, "latency_microseconds", methodStatistics, "0.999", Long.toString(methodStatistics.getPercentile999Latency()));
+            appendMetric(report, "latency_microseconds_sum", methodStatistics, null, Long.toString(methodStatistics.getTotalLatency()));
+            appendMetric(report, "latency_microseconds_count", methodStatistics, null, Long.toString(methodStatistics.getInvocationCount()));
+        }
+
+        appendMetricHeader(report, "latency_microseconds_max", "gauge", "The highest method latency in microseconds since the metrics were reset.");
+        for (MethodStatistics methodStatistics : methodStatisticsList)
+        {
+            appendMetric(report, "latency_microseconds_max", methodStatistics, null, Long.toString(methodStatistics.getMaxLatency()));
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * Appends the help and type lines of a metric to the report.
+     *
+     * @param report the report
+     * @param metricName the metric name without its prefix
+     * @param metricType the metric type
+     * @param help the description of the metric
+     */
+    private static void appendMetricHeader(StringBuilder report, String metricName, String metricType, String help)
+    {
+        report.append("# HELP ").append(METRIC_NAME_PREFIX).append(metricName).append(' ').append(help).append('\n');
+        report.append("# TYPE ").append(METRIC_NAME_PREFIX).append(metricName).append(' ').append(metricType).append('\n');
+    }
+
+    /**
+     * Appends a metric sample of a method to the report.
+     *
+     * @param report the report
+     * @param metricName the metric name without its prefix
+     * @param methodStatistics the method statistics
+     * @param quantile the optional quantile label value
+     * @param value the sample value
+     */
+    private static void appendMetric(StringBuilder report, String metricName, MethodStatistics methodStatistics, String quantile, String value)
+    {
+        report.append(METRIC_NAME_PREFIX).append(metricName).append("{method=\"").append(methodStatistics.getMethodName()).append('"');
+        if (quantile != null)
+        {
+            report.append(",quantile=\"").append(quantile).append('"');
+        }
+        report.append("} ").append(value).append('\n');
+    }
+}
@@ -0,0 +1,122 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+/**
+ * An immutable point in time view of the metrics of a method. Latencies are in microseconds.
+ */
+public class MethodStatistics
+{
+    private final String methodName;
+
+    private final long invocationCount;
+
+    private final long errorCount;
+
+    private final double throughputPerSecond;
+
+    private final double meanLatency;
+
+    private final long medianLatency;
+
+    private final long percentile90Latency;
+
+    private final long percentile99Latency;
+
+    private final long percentile999Latency;
+
+    private final long maxLatency;
+
+    private final long totalLatency;
+
+    /**
+     * Creates the statistics of a method from its metrics.
+     *
+     * @param methodMetrics the method metrics
+     * @param elapsedMillis the time in milliseconds over which the metrics were recorded, used to compute the throughput
+     */
+    public MethodStatistics(MethodMetrics methodMetrics, long elapsedMillis)
+    {
+        LatencyHistogram latencyHistogram = methodMetrics.getLatencyHistogram();
+
+        this.methodName = methodMetrics.getMethodName();
+        this.invocationCount = methodMetrics.getInvocationCount();
+        this.errorCount = methodMetrics.getErrorCount();
+        this.throughputPerSecond = elapsedMillis > 0 ? invocationCount * 1000.0 / elapsedMillis : 0;
+        this.meanLatency = latencyHistogram.getMean();
+        this.medianLatency = latencyHistogram.getValueAtPercentile(50);
+        this.percentile90Latency = latencyHistogram.getValueAtPercentile(90);
+        this.percentile99Latency = latencyHistogram.getValueAtPercentile(99);
+        this.percentile999Latency = latencyHistogram.getValueAtPercentile(99.9);
+        this.maxLatency = latencyHistogram.getMax();
+        this.totalLatency = latencyHistogram.getTotal();
+    }
+
+    public String getMethodName()
+    {
+        return methodName;
+    }
+
+    public long getInvocationCount()
+    {
+        return invocationCount;
+    }
+
+    public long getErrorCount()
+    {
+        return errorCount;
+    }
+
+    public double getThroughputPerSecond()
+    {
+        return throughputPerSecond;
+    }
+
+    public double getMeanLatency()
+    {
+        return meanLatency;
+    }
+
+    public long getMedianLatency()
+    {
+        return medianLatency;
+    }
+
+    public long getPercentile90Latency()
+    {
+        return percentile90Latency;
+    }
+
+    public long getPercentile99Latency()
+    {
+        return percentile99Latency;
+    }
+
+    public long getPercentile999Latency()
+    {
+        return percentile999Latency;
+    }
+
+    public long getMaxLatency()
+    {
+        return maxLatency;
+    }
+
+    public long getTotalLatency()
+    {
+        return totalLatency;
+    }
+}
@@ -16,68 +16,205 @@
 package org.finra.dm.core;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.lang3.time.StopWatch;
 import org.apache.log4j.Logger;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.core.annotation.AnnotationUtils;
 
 /**
- * Advice that logs how long a method takes to run.
+ * Advice that measures how long a method takes to run. Every invocation is recorded in the method metrics registry and, optionally, logged. The metadata of
+ * the advised methods (i.e. their names and whether they suppress logging) is resolved once per target class and method and then cached, so the advice doesn't
+ * use reflection or annotation lookups on the invocation path.
  */
 public class StopWatchAdvice
 {
     private static final Logger LOGGER = Logger.getLogger(StopWatchAdvice.class);
 
     /**
-     * Logs the time it takes to execute the method at the join point if the class or method isn't annotated with SuppressLogging and if the log level is set to
-     * info.
+     * The cached method metadata keyed by target class and by the method of the join point signature.
+     */
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<Method, MethodMetadata>> METHOD_METADATA = new ConcurrentHashMap<>();
+
+    /**
+     * The name of the innermost method being run by the current thread that was advised by the log method time advice.
+     */
+    private static final ThreadLocal<String> CURRENT_METHOD_NAME = new ThreadLocal<>();
+
+    /**
+     * Gets the fully qualified name of the innermost method being run by the current thread that was advised by the log method time advice (i.e. the calling
+     * service method). This lets lower layers attribute their work to the method that caused it.
+     *
+     * @return the method name or null if no such method is running
+     */
+    public static String getCurrentMethodName()
+    {
+        return CURRENT_METHOD_NAME.get();
+    }
+
+    /**
+     * Records the time it takes to execute the method at the join point in the method metrics and logs it if the class or method isn't annotated with
+     * SuppressLogging and if the log level is set to info. The method is the current method of the thread while it runs.
      *
      * @param pjp the join point.
      *
      * @return the return value of the method at the join point.
      * @throws Throwable if any errors were encountered.
      */
-    @SuppressWarnings("rawtypes")
     public static Object logMethodTime(ProceedingJoinPoint pjp) throws Throwable
     {
-        // Get the target class being called.
-        Class targetClass = pjp.getTarget().getClass();
+        return proceed(pjp, true, true);
+    }
 
-        // Get the target method being called.
-        MethodSignature targetMethodSignature = (MethodSignature) pjp.getSignature();
-        Method targetMethod = targetMethodSignature.getMethod();
-        if (targetMethod.getDeclaringClass().isInterface())
+    /**
+     * Records the time it takes to execute the method at the join point in the method metrics without logging it.
+     *
+     * @param pjp the join point.
+     *
+     * @return the return value of the method at the join point.
+     * @throws Throwable if any errors were encountered.
+     */
+    public static Object recordMethodTime(ProceedingJoinPoint pjp) throws Throwable
+    {
+        return proceed(pjp, false, false);
+    }
+
+    /**
+     * Proceeds to the join point while timing it.
+     *
+     * @param pjp the join point.
+     * @param logEnabled true if the method time may be logged.
+     * @param currentMethodTracked true if the method becomes the current method of the thread while it runs.
+     *
+     * @return the return value of the method at the join point.
+     * @throws Throwable if any errors were encountered.
+     */
+    private static Object proceed(ProceedingJoinPoint pjp, boolean logEnabled, boolean currentMethodTracked) throws Throwable
+    {
+        MethodMetadata methodMetadata = getMethodMetadata(pjp);
+
+        String previousMethodName = null;
+        if (currentMethodTracked)
         {
-            // Get the underlying implementation if we are given an interface.
-            targetMethod = pjp.getTarget().getClass().getMethod(pjp.getSignature().getName(), targetMethod.getParameterTypes());
+            previousMethodName = CURRENT_METHOD_NAME.get();
+            CURRENT_METHOD_NAME.set(methodMetadata.methodMetrics.getMethodName());
         }
 
-        // Only keep a stop watch if the class and method aren't suppressing logging and the log level is info.
-        if ((AnnotationUtils.findAnnotation(targetClass, SuppressLogging.class) == null) &&
-            (AnnotationUtils.findAnnotation(targetMethod, SuppressLogging.class) == null) &&
-            (LOGGER.isInfoEnabled()))
+        boolean error = true;
+        long startTimeNanos = System.nanoTime();
+        try
         {
-            // Start the stop watch.
-            StopWatch stopWatch = new StopWatch();
-            stopWatch.start();
-
             // Proceed to the join point (i.e. call the method and let it return).
             Object returnValue = pjp.proceed();
+            error = false;
+            return returnValue;
+        }
+        finally
+        {
+            long durationNanos = System.nanoTime() - startTimeNanos;
 
-            // Log the duration.
-            LOGGER.info(
-                "Method " + targetClass.getName() + "." + targetMethodSignature.getName() + " took " + DmDateUtils.formatDuration(stopWatch.getTime(), true) +
-                    ".");
+            if (currentMethodTracked)
+            {
+                if (previousMethodName == null)
+                {
+                    CURRENT_METHOD_NAME.remove();
+                }
+                else
+                {
+                    CURRENT_METHOD_NAME.set(previousMethodName);
+                }
+            }
 
-            // Return the method return value.
-            return returnValue;
+            methodMetadata.methodMetrics.recordInvocation(durationNanos, error);
+
+            // Log the duration if the class and method aren't suppressing logging and the log level is info.
+            if (logEnabled && !methodMetadata.suppressLogging && LOGGER.isInfoEnabled())
+            {
+                LOGGER.info("Method " + methodMetadata.methodMetrics.getMethodName() + " took " +
+                    DmDateUtils.formatDuration(TimeUnit.NANOSECONDS.toMillis(durationNanos), true) + ".");
+            }
         }
-        else
+    }
+
+    /**
+     * Gets the metadata of the method at the join point, resolving it on the first invocation of the method.
+     *
+     * @param pjp the join point.
+     *
+     * @return the method metadata.
+     * @throws NoSuchMethodException if the implementation of an interface method couldn't be found.
+     */
+    private static MethodMetadata getMethodMetadata(ProceedingJoinPoint pjp) throws NoSuchMethodException
+    {
+        // Get the target class and method being called.
+        Class<?> targetClass = pjp.getTarget().getClass();
+        Method signatureMethod = ((MethodSignature) pjp.getSignature()).getMethod();
+
+        ConcurrentMap<Method, MethodMetadata> classMethodMetadata = METHOD_METADATA.get(targetClass);
+        if (classMethodMetadata == null)
+        {
+            classMethodMetadata = new ConcurrentHashMap<>();
+            ConcurrentMap<Method, MethodMetadata> existingClassMethodMetadata = METHOD_METADATA.putIfAbsent(targetClass, classMethodMetadata);
+            if (existingClassMethodMetadata != null)
+            {
+                classMethodMetadata = existingClassMethodMetadata;
+            }
+        }
+
+        MethodMetadata methodMetadata = classMethodMetadata.get(signatureMethod);
+        if (methodMetadata == null)
+        {
+            methodMetadata = createMethodMetadata(targetClass, signatureMethod);
+            MethodMetadata existingMethodMetadata = classMethodMetadata.putIfAbsent(signatureMethod, methodMetadata);
+            if (existingMethodMetadata != null)
+            {
+                methodMetadata = existingMethodMetadata;
+            }
+        }
+
+        return methodMetadata;
+    }
+
+    /**
+     * Resolves the metadata of a method.
+     *
+     * @param targetClass the target class.
+     * @param signatureMethod the method of the join point signature.
+     *
+     * @return the method metadata.
+     * @throws NoSuchMethodException if the implementation of an interface method couldn't be found.
+     */
+    private static MethodMetadata createMethodMetadata(Class<?> targetClass, Method signatureMethod) throws NoSuchMethodException
+    {
+        Method targetMethod = signatureMethod;
+        if (targetMethod.getDeclaringClass().isInterface())
+        {
+            // Get the underlying implementation if we are given an interface.
+            targetMethod = targetClass.getMethod(signatureMethod.getName(), signatureMethod.getParameterTypes());
+        }
+
+        boolean suppressLogging = (AnnotationUtils.findAnnotation(targetClass, SuppressLogging.class) != null) ||
+            (AnnotationUtils.findAnnotation(targetMethod, SuppressLogging.class) != null);
+
+        return new MethodMetadata(MethodMetricsRegistry.getMethodMetrics(targetClass.getName() + "." + signatureMethod.getName()), suppressLogging);
+    }
+
+    /**
+     * The cached metadata of an advised method.
+     */
+    private static class MethodMetadata
+    {
+        private final MethodMetrics methodMetrics;
+
+        private final boolean suppressLogging;
+
+        MethodMetadata(MethodMetrics methodMetrics, boolean suppressLogging)
         {
-            // Invoke the method normally.
-            return pjp.proceed();
+            this.methodMetrics = methodMetrics;
+            this.suppressLogging = suppressLogging;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import java.util.List;
+
+/**
+ * The management interface that publishes the metrics of the workload thread pools over JMX.
+ */
+public interface ThreadPoolMetricsMXBean
+{
+    /**
+     * Gets the current statistics of all the workload thread pools.
+     *
+     * @return the list of thread pool statistics
+     */
+    public List<ThreadPoolStatistics> getThreadPoolStatistics();
+
+    /**
+     * Gets the thread pool metrics as a plain text report.
+     *
+     * @return the text report
+     */
+    public String getTextReport();
+}
@@ -0,0 +1,41 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import java.util.List;
+
+/**
+ * The JMX management bean that publishes the thread pool metrics held by the thread pool metrics registry.
+ */
+public class ThreadPoolMetricsManagementBean implements ThreadPoolMetricsMXBean
+{
+    /**
+     * The JMX object name the management bean is registered under.
+     */
+    public static final String OBJECT_NAME = "org.finra.dm:type=ThreadPoolMetrics";
+
+    @Override
+    public List<ThreadPoolStatistics> getThreadPoolStatistics()
+    {
+        return ThreadPoolMetricsRegistry.getThreadPoolStatistics();
+    }
+
+    @Override
+    public String getTextReport()
+    {
+        return ThreadPoolMetricsRegistry.getTextReport();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A JVM wide registry of the workload thread pools, keyed by workload name. The workload thread pools register themselves when they get initialized, and their
+ * metrics are published along with the method metrics.
+ */
+public final class ThreadPoolMetricsRegistry
+{
+    /**
+     * The prefix of the metric names in the text report.
+     */
+    private static final String METRIC_NAME_PREFIX = "dm_thread_pool_";
+
+    private static final ConcurrentMap<String, WorkloadThreadPoolTaskExecutor> EXECUTORS = new ConcurrentSkipListMap<>();
+
+    private ThreadPoolMetricsRegistry()
+    {
+        // Prevent classes from instantiating.
+    }
+
+    /**
+     * Registers a workload thread pool, replacing any thread pool registered for the same workload (e.g. by another application context in the same JVM).
+     *
+     * @param executor the workload thread pool task executor
+     */
+    public static void register(WorkloadThreadPoolTaskExecutor executor)
+    {
+        EXECUTORS.put(executor.getWorkloadName(), executor);
+    }
+
+    /**
+     * Unregisters a workload thread pool, unless another thread pool was registered for the same workload since.
+     *
+     * @param executor the workload thread pool task executor
+     */
+    public static void unregister(WorkloadThreadPoolTaskExecutor executor)
+    {
+        EXECUTORS.remove(executor.getWorkloadName(), executor);
+    }
+
+    /**
+     * Gets the current statistics of all the registered workload thread pools, ordered by workload name.
+     *
+     * @return the list of thread pool statistics
+     */
+    public static List<ThreadPoolStatistics> getThreadPoolStatistics()
+    {
+        List<ThreadPoolStatistics> threadPoolStatistics = new ArrayList<>();
+        for (WorkloadThreadPoolTaskExecutor executor : EXECUTORS.values())
+        {
+            threadPoolStatistics.add(new ThreadPoolStatistics(executor));
+        }
+
+        return threadPoolStatistics;
+    }
+
+    /**
+     * Gets a plain text report of the thread pool metrics in the Prometheus text exposition format. Wait times are reported in milliseconds.
+     *
+     * @return the text report
+     */
+    public static String getTextReport()
+    {
+        List<ThreadPoolStatistics> threadPoolStatisticsList = getThreadPoolStatistics();
+
+        StringBuilder report = new StringBuilder();
+
+        appendMetricHeader(report, "threads", "gauge", "The number of threads in the thread pool.");
+        for (ThreadPoolStatistics threadPoolStatistics : threadPoolStatisticsList)
+        {
+            appendMetric(report, "threads", threadPoolStatistics, threadPoolStatistics.getPoolSize());
+        }
+
+        appendMetricHeader(report, "active", "gauge", "The number of threads actively running tasks.");
+        for (ThreadPoolStatistics threadPoolStatistics : threadPoolStatisticsList)
+        {
+            appendMetric(report, "active", threadPoolStatistics, threadPoolStatistics.getActiveCount());
+        }
+
+        appendMetricHeader(report, "queued", "gauge", "The number of tasks waiting in the queue.");
+        for (ThreadPoolStatistics threadPoolStatistics : threadPoolStatisticsList)
+        {
+            appendMetric(report, "queued", threadPoolStatistics, threadPoolStatistics.getQueuedTaskCount());
+        }
+
+        appendMetricHeader(report, "rejected_total", "counter", "The number of tasks rejected because both the thread pool and its queue were full.");
+        for (ThreadPoolStatistics threadPoolStatistics : threadPoolStatisticsList)
+        {
+            appendMetric(report, "rejected_total", threadPoolStatistics, threadPoolStatistics.getRejectedTaskCount());
+        }
+
+        appendMetricHeader(report, "started_total", "counter", "The number of tasks started by the thread pool.");
+        for (ThreadPoolStatistics threadPoolStatistics : threadPoolStatisticsList)
+        {
+            appendMetric(report, "started_total", threadPoolStatistics, threadPoolStatistics.getStartedTaskCount());
+        }
+
+        appendMetricHeader(report, "wait_milliseconds_avg", "gauge", "The average time in milliseconds the started tasks waited in the queue.");
+        for (ThreadPoolStatistics threadPoolStatistics : threadPoolStatisticsList)
+        {
+            appendMetric(report, "wait_milliseconds_avg", threadPoolStatistics, threadPoolStatistics.getAverageWaitTimeMillis());
+        }
+
+        appendMetricHeader(report, "wait_milliseconds_max", "gauge", "The longest time in milliseconds a started task waited in the queue.");
+        for (ThreadPoolStatistics threadPoolStatistics : threadPoolStatisticsList)
+        {
+            appendMetric(report, "wait_milliseconds_max", threadPoolStatistics, threadPoolStatistics.getMaxWaitTimeMillis());
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * Appends the help and type lines of a metric to the report.
+     *
+     * @param report the report
+     * @param metricName the metric name without its prefix
+     * @param metricType the metric type
+     * @param help the description of the metric
+     */
+    private static void appendMetricHeader(StringBuilder report, String metricName, String metricType, String help)
+    {
+        report.append("# HELP ").append(METRIC_NAME_PREFIX).append(metricName).append(' ').append(help).append('\n');
+        report.append("# TYPE ").append(METRIC_NAME_PREFIX).append(metricName).append(' ').append(metricType).append('\n');
+    }
+
+    /**
+     * Appends a metric sample of a thread pool to the report.
+     *
+     * @param report the report
+     * @param metricName the metric name without its prefix
+     * @param threadPoolStatistics the thread pool statistics
+     * @param value the sample value
+     */
+    private static void appendMetric(StringBuilder report, String metricName, ThreadPoolStatistics threadPoolStatistics, long value)
+    {
+        report.append(METRIC_NAME_PREFIX).append(metricName).append("{workload=\"").append(threadPoolStatistics.getWorkloadName()).append("\"} ")
+            .append(value).append('\n');
+    }
+}
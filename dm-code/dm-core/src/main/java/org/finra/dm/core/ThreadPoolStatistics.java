@@ -0,0 +1,95 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+/**
+ * An immutable point in time view of the metrics of a workload thread pool. Wait times are in milliseconds.
+ */
+public class ThreadPoolStatistics
+{
+    private final String workloadName;
+
+    private final int poolSize;
+
+    private final int activeCount;
+
+    private final int queuedTaskCount;
+
+    private final long rejectedTaskCount;
+
+    private final long startedTaskCount;
+
+    private final long averageWaitTimeMillis;
+
+    private final long maxWaitTimeMillis;
+
+    /**
+     * Creates the statistics of a workload thread pool from its executor.
+     *
+     * @param executor the workload thread pool task executor
+     */
+    public ThreadPoolStatistics(WorkloadThreadPoolTaskExecutor executor)
+    {
+        this.workloadName = executor.getWorkloadName();
+        this.poolSize = executor.getPoolSize();
+        this.activeCount = executor.getActiveCount();
+        this.queuedTaskCount = executor.getQueuedTaskCount();
+        this.rejectedTaskCount = executor.getRejectedTaskCount();
+        this.startedTaskCount = executor.getStartedTaskCount();
+        this.averageWaitTimeMillis = executor.getAverageWaitTimeMillis();
+        this.maxWaitTimeMillis = executor.getMaxWaitTimeMillis();
+    }
+
+    public String getWorkloadName()
+    {
+        return workloadName;
+    }
+
+    public int getPoolSize()
+    {
+        return poolSize;
+    }
+
+    public int getActiveCount()
+    {
+        return activeCount;
+    }
+
+    public int getQueuedTaskCount()
+    {
+        return queuedTaskCount;
+    }
+
+    public long getRejectedTaskCount()
+    {
+        return rejectedTaskCount;
+    }
+
+    public long getStartedTaskCount()
+    {
+        return startedTaskCount;
+    }
+
+    public long getAverageWaitTimeMillis()
+    {
+        return averageWaitTimeMillis;
+    }
+
+    public long getMaxWaitTimeMillis()
+    {
+        return maxWaitTimeMillis;
+    }
+}
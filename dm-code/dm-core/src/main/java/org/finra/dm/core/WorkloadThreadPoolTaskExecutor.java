@@ -0,0 +1,344 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import org.finra.dm.core.helper.ConfigurationHelper;
+import org.finra.dm.model.dto.ConfigurationValue;
+
+/**
+ * A thread pool task executor that is dedicated to a single workload, so a burst of one kind of work can't starve the others. The pool sizes are read from the
+ * environment and re-read periodically, so a pool can be resized at runtime by changing its configuration. The queue capacity and the saturation policy are
+ * read once when the executor is created. The executor keeps track of the number of rejected tasks and of the time the tasks wait in the queue, and
+ * registers itself with the thread pool metrics registry once initialized so these metrics get published.
+ */
+public class WorkloadThreadPoolTaskExecutor extends ThreadPoolTaskExecutor
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = Logger.getLogger(WorkloadThreadPoolTaskExecutor.class);
+
+    /**
+     * The policies that can be configured for when both the pool and its queue are full.
+     */
+    public enum SaturationPolicy
+    {
+        /**
+         * Reject the task by throwing a TaskRejectedException to the submitter.
+         */
+        ABORT,
+
+        /**
+         * Run the task in the submitting thread.
+         */
+        CALLER_RUNS
+    }
+
+    private final String workloadName;
+
+    private final transient Environment environment;
+
+    private final ConfigurationValue corePoolSizeConfigurationValue;
+
+    private final ConfigurationValue maxPoolSizeConfigurationValue;
+
+    private final AtomicLong rejectedTaskCount = new AtomicLong();
+
+    private final AtomicLong startedTaskCount = new AtomicLong();
+
+    private final AtomicLong totalWaitTimeMillis = new AtomicLong();
+
+    private final AtomicLong maxWaitTimeMillis = new AtomicLong();
+
+    private volatile long lastResizeCheckTimeMillis;
+
+    /**
+     * Creates a workload executor. The executor still needs to be initialized, which Spring does automatically when the executor is returned as a bean.
+     *
+     * @param workloadName the workload name, also used as the thread name prefix
+     * @param environment the environment to read the configuration from
+     * @param corePoolSizeConfigurationValue the configuration value for the core pool size
+     * @param maxPoolSizeConfigurationValue the configuration value for the max pool size
+     * @param queueCapacityConfigurationValue the configuration value for the queue capacity
+     * @param saturationPolicyConfigurationValue the configuration value for the saturation policy, one of the {@link SaturationPolicy} names
+     */
+    public WorkloadThreadPoolTaskExecutor(String workloadName, Environment environment, ConfigurationValue corePoolSizeConfigurationValue,
+        ConfigurationValue maxPoolSizeConfigurationValue, ConfigurationValue queueCapacityConfigurationValue,
+        ConfigurationValue saturationPolicyConfigurationValue)
+    {
+        this.workloadName = workloadName;
+        this.environment = environment;
+        this.corePoolSizeConfigurationValue = corePoolSizeConfigurationValue;
+        this.maxPoolSizeConfigurationValue = maxPoolSizeConfigurationValue;
+
+        setThreadNamePrefix(workloadName + "-");
+        setCorePoolSize(ConfigurationHelper.getProperty(corePoolSizeConfigurationValue, Integer.class, environment));
+        setMaxPoolSize(ConfigurationHelper.getProperty(maxPoolSizeConfigurationValue, Integer.class, environment));
+        setKeepAliveSeconds(ConfigurationHelper.getProperty(ConfigurationValue.THREAD_POOL_KEEP_ALIVE_SECS, Integer.class, environment));
+        setQueueCapacity(ConfigurationHelper.getProperty(queueCapacityConfigurationValue, Integer.class, environment));
+
+        final RejectedExecutionHandler rejectedExecutionHandler =
+            SaturationPolicy.valueOf(ConfigurationHelper.getProperty(saturationPolicyConfigurationValue, environment).trim().toUpperCase()) ==
+                SaturationPolicy.CALLER_RUNS ? new ThreadPoolExecutor.CallerRunsPolicy() : new ThreadPoolExecutor.AbortPolicy();
+
+        // Count the rejected tasks before applying the saturation policy.
+        setRejectedExecutionHandler(new RejectedExecutionHandler()
+        {
+            @Override
+            public void rejectedExecution(Runnable runnable, ThreadPoolExecutor threadPoolExecutor)
+            {
+                rejectedTaskCount.incrementAndGet();
+                rejectedExecutionHandler.rejectedExecution(runnable, threadPoolExecutor);
+            }
+        });
+
+        lastResizeCheckTimeMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    protected ExecutorService initializeExecutor(ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler)
+    {
+        ExecutorService executorService = super.initializeExecutor(threadFactory, rejectedExecutionHandler);
+        ThreadPoolMetricsRegistry.register(this);
+        return executorService;
+    }
+
+    @Override
+    public void shutdown()
+    {
+        ThreadPoolMetricsRegistry.unregister(this);
+        super.shutdown();
+    }
+
+    @Override
+    public void execute(Runnable task)
+    {
+        resizeIfNeeded();
+        super.execute(new TimedRunnable(task));
+    }
+
+    @Override
+    public Future<?> submit(Runnable task)
+    {
+        resizeIfNeeded();
+        return super.submit(new TimedRunnable(task));
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task)
+    {
+        resizeIfNeeded();
+        return super.submit(new TimedCallable<>(task));
+    }
+
+    @Override
+    public ListenableFuture<?> submitListenable(Runnable task)
+    {
+        resizeIfNeeded();
+        return super.submitListenable(new TimedRunnable(task));
+    }
+
+    @Override
+    public <T> ListenableFuture<T> submitListenable(Callable<T> task)
+    {
+        resizeIfNeeded();
+        return super.submitListenable(new TimedCallable<>(task));
+    }
+
+    /**
+     * Gets the workload name.
+     *
+     * @return the workload name
+     */
+    public String getWorkloadName()
+    {
+        return workloadName;
+    }
+
+    /**
+     * Gets the number of tasks that are waiting in the queue.
+     *
+     * @return the number of queued tasks
+     */
+    public int getQueuedTaskCount()
+    {
+        return getThreadPoolExecutor().getQueue().size();
+    }
+
+    /**
+     * Gets the number of tasks that were rejected because both the pool and its queue were full. This includes the tasks that were run by the submitting
+     * thread because of the caller runs saturation policy.
+     *
+     * @return the number of rejected tasks
+     */
+    public long getRejectedTaskCount()
+    {
+        return rejectedTaskCount.get();
+    }
+
+    /**
+     * Gets the number of tasks that were started by the pool threads.
+     *
+     * @return the number of started tasks
+     */
+    public long getStartedTaskCount()
+    {
+        return startedTaskCount.get();
+    }
+
+    /**
+     * Gets the average time the started tasks waited in the queue.
+     *
+     * @return the average wait time in milliseconds
+     */
+    public long getAverageWaitTimeMillis()
+    {
+        long count = startedTaskCount.get();
+        return count == 0 ? 0 : totalWaitTimeMillis.get() / count;
+    }
+
+    /**
+     * Gets the longest time a started task waited in the queue.
+     *
+     * @return the maximum wait time in milliseconds
+     */
+    public long getMaxWaitTimeMillis()
+    {
+        return maxWaitTimeMillis.get();
+    }
+
+    /**
+     * Re-reads the pool sizes from the environment if the resize check interval has elapsed and applies them if they changed.
+     */
+    private void resizeIfNeeded()
+    {
+        long currentTimeMillis = System.currentTimeMillis();
+        long resizeCheckIntervalMillis =
+            ConfigurationHelper.getProperty(ConfigurationValue.THREAD_POOL_RESIZE_CHECK_INTERVAL_SECS, Long.class, environment) * 1000;
+
+        if (currentTimeMillis - lastResizeCheckTimeMillis < resizeCheckIntervalMillis)
+        {
+            return;
+        }
+
+        synchronized (this)
+        {
+            lastResizeCheckTimeMillis = currentTimeMillis;
+
+            int corePoolSize = ConfigurationHelper.getProperty(corePoolSizeConfigurationValue, Integer.class, environment);
+            int maxPoolSize = ConfigurationHelper.getProperty(maxPoolSizeConfigurationValue, Integer.class, environment);
+
+            if (corePoolSize != getCorePoolSize() || maxPoolSize != getMaxPoolSize())
+            {
+                LOGGER.info(String.format("Resizing the \"%s\" thread pool from core=%d, max=%d to core=%d, max=%d.", workloadName, getCorePoolSize(),
+                    getMaxPoolSize(), corePoolSize, maxPoolSize));
+
+                // The max pool size can't go below the core pool size, so apply the sizes in the order that keeps them valid.
+                if (maxPoolSize >= getCorePoolSize())
+                {
+                    setMaxPoolSize(maxPoolSize);
+                    setCorePoolSize(corePoolSize);
+                }
+                else
+                {
+                    setCorePoolSize(corePoolSize);
+                    setMaxPoolSize(maxPoolSize);
+                }
+            }
+
+            LOGGER.debug(String
+                .format("Thread pool \"%s\": active=%d, queued=%d, rejected=%d, started=%d, averageWaitMillis=%d, maxWaitMillis=%d", workloadName,
+                    getActiveCount(), getQueuedTaskCount(), getRejectedTaskCount(), getStartedTaskCount(), getAverageWaitTimeMillis(),
+                    getMaxWaitTimeMillis()));
+        }
+    }
+
+    /**
+     * Records the time a task waited in the queue.
+     *
+     * @param submittedTimeMillis the time the task was submitted
+     */
+    private void recordWaitTime(long submittedTimeMillis)
+    {
+        long waitTimeMillis = System.currentTimeMillis() - submittedTimeMillis;
+
+        startedTaskCount.incrementAndGet();
+        totalWaitTimeMillis.addAndGet(waitTimeMillis);
+
+        long currentMaxWaitTimeMillis;
+        do
+        {
+            currentMaxWaitTimeMillis = maxWaitTimeMillis.get();
+        }
+        while (waitTimeMillis > currentMaxWaitTimeMillis && !maxWaitTimeMillis.compareAndSet(currentMaxWaitTimeMillis, waitTimeMillis));
+    }
+
+    /**
+     * A runnable that records how long it waited before it started running.
+     */
+    private class TimedRunnable implements Runnable
+    {
+        private final Runnable task;
+
+        private final long submittedTimeMillis = System.currentTimeMillis();
+
+        TimedRunnable(Runnable task)
+        {
+            this.task = task;
+        }
+
+        @Override
+        public void run()
+        {
+            recordWaitTime(submittedTimeMillis);
+            task.run();
+        }
+    }
+
+    /**
+     * A callable that records how long it waited before it started running.
+     */
+    private class TimedCallable<T> implements Callable<T>
+    {
+        private final Callable<T> task;
+
+        private final long submittedTimeMillis = System.currentTimeMillis();
+
+        TimedCallable(Callable<T> task)
+        {
+            this.task = task;
+        }
+
+        @Override
+        public T call() throws Exception
+        {
+            recordWaitTime(submittedTimeMillis);
+            return task.call();
+        }
+    }
+}
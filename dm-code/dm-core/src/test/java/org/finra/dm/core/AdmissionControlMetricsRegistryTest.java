@@ -0,0 +1,72 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import org.finra.dm.core.AdmissionControlMetricsRegistry.RejectionReason;
+import org.finra.dm.model.dto.AdmissionClass;
+
+/**
+ * This class tests functionality within the admission control metrics registry.
+ */
+public class AdmissionControlMetricsRegistryTest extends AbstractCoreTest
+{
+    @Test
+    public void testRecordMetrics()
+    {
+        AdmissionControlMetricsRegistry.reset();
+        long waitingCount = AdmissionControlMetricsRegistry.getWaitingCount(AdmissionClass.DDL);
+
+        AdmissionControlMetricsRegistry.recordAdmitted(AdmissionClass.DDL);
+        AdmissionControlMetricsRegistry.recordAdmitted(AdmissionClass.DDL);
+        AdmissionControlMetricsRegistry.recordQueued(AdmissionClass.DDL);
+        AdmissionControlMetricsRegistry.recordRejected(AdmissionClass.DDL, RejectionReason.NAMESPACE_CONCURRENCY);
+
+        assertEquals(2, AdmissionControlMetricsRegistry.getAdmittedCount(AdmissionClass.DDL));
+        assertEquals(1, AdmissionControlMetricsRegistry.getQueuedCount(AdmissionClass.DDL));
+        assertEquals(waitingCount + 1, AdmissionControlMetricsRegistry.getWaitingCount(AdmissionClass.DDL));
+        assertEquals(1, AdmissionControlMetricsRegistry.getRejectedCount(AdmissionClass.DDL, RejectionReason.NAMESPACE_CONCURRENCY));
+        assertEquals(0, AdmissionControlMetricsRegistry.getRejectedCount(AdmissionClass.DDL, RejectionReason.USER_RATE));
+        assertEquals(0, AdmissionControlMetricsRegistry.getAdmittedCount(AdmissionClass.AVAILABILITY));
+
+        // The waiting gauge survives a reset while the counters are cleared.
+        AdmissionControlMetricsRegistry.reset();
+        assertEquals(0, AdmissionControlMetricsRegistry.getAdmittedCount(AdmissionClass.DDL));
+        assertEquals(waitingCount + 1, AdmissionControlMetricsRegistry.getWaitingCount(AdmissionClass.DDL));
+        AdmissionControlMetricsRegistry.recordDequeued(AdmissionClass.DDL);
+        assertEquals(waitingCount, AdmissionControlMetricsRegistry.getWaitingCount(AdmissionClass.DDL));
+    }
+
+    @Test
+    public void testGetTextReport()
+    {
+        AdmissionControlMetricsRegistry.reset();
+        AdmissionControlMetricsRegistry.recordAdmitted(AdmissionClass.AVAILABILITY);
+        AdmissionControlMetricsRegistry.recordRejected(AdmissionClass.INVALIDATION, RejectionReason.USER_RATE);
+
+        String textReport = AdmissionControlMetricsRegistry.getTextReport();
+
+        assertTrue(textReport.contains("# TYPE dm_admission_admitted_total counter\n"));
+        assertTrue(textReport.contains("dm_admission_admitted_total{class=\"AVAILABILITY\"} 1\n"));
+        assertTrue(textReport.contains("# TYPE dm_admission_waiting gauge\n"));
+        assertTrue(textReport.contains("dm_admission_rejected_total{class=\"INVALIDATION\",reason=\"USER_RATE\"} 1\n"));
+        assertTrue(textReport.contains("dm_admission_rejected_total{class=\"DDL\",reason=\"USER_CONCURRENCY\"} 0\n"));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * This class tests functionality within the dependency metrics registry.
+ */
+public class DependencyMetricsRegistryTest extends AbstractCoreTest
+{
+    private static final String OPERATION_NAME = "TestOperations.testOperation";
+
+    private static final String CALLING_METHOD_NAME = DependencyMetricsRegistryTest.class.getName() + ".testMethod";
+
+    @Test
+    public void testGetDependencyMetrics()
+    {
+        // The same metrics are returned for the same operation and calling method.
+        assertSame(DependencyMetricsRegistry.getDependencyMetrics(OPERATION_NAME, CALLING_METHOD_NAME),
+            DependencyMetricsRegistry.getDependencyMetrics(OPERATION_NAME, CALLING_METHOD_NAME));
+
+        // Operations called outside of an advised method are attributed to an unknown calling method.
+        assertEquals(DependencyMetrics.UNKNOWN_CALLING_METHOD_NAME, DependencyMetricsRegistry.getDependencyMetrics(OPERATION_NAME).getCallingMethodName());
+    }
+
+    @Test
+    public void testGetDependencyStatistics()
+    {
+        DependencyMetricsRegistry.reset();
+        DependencyMetrics dependencyMetrics = DependencyMetricsRegistry.getDependencyMetrics(OPERATION_NAME, CALLING_METHOD_NAME);
+        dependencyMetrics.recordRetry();
+        dependencyMetrics.recordThrottlingError("ThrottlingException");
+        dependencyMetrics.recordThrottlingError("ThrottlingException");
+        dependencyMetrics.recordCall(3000000, true, 0);
+        dependencyMetrics.recordCall(1000000, false, 512);
+
+        List<DependencyStatistics> dependencyStatisticsList = DependencyMetricsRegistry.getDependencyStatistics();
+        assertEquals(1, dependencyStatisticsList.size());
+
+        DependencyStatistics dependencyStatistics = dependencyStatisticsList.get(0);
+        assertEquals(OPERATION_NAME, dependencyStatistics.getOperationName());
+        assertEquals(CALLING_METHOD_NAME, dependencyStatistics.getCallingMethodName());
+        assertEquals(2, dependencyStatistics.getCallCount());
+        assertEquals(1, dependencyStatistics.getErrorCount());
+        assertEquals(1, dependencyStatistics.getRetryCount());
+        assertEquals(512, dependencyStatistics.getBytesTransferred());
+        assertEquals(Long.valueOf(2), dependencyStatistics.getThrottlingErrorCounts().get("ThrottlingException"));
+        assertEquals(3000, dependencyStatistics.getMaxLatency());
+        assertEquals(4000, dependencyStatistics.getTotalLatency());
+
+        // Operations without calls since the last reset are not reported.
+        DependencyMetricsRegistry.reset();
+        assertTrue(DependencyMetricsRegistry.getDependencyStatistics().isEmpty());
+    }
+
+    @Test
+    public void testGetTextReport()
+    {
+        DependencyMetricsRegistry.reset();
+        DependencyMetrics dependencyMetrics = DependencyMetricsRegistry.getDependencyMetrics(OPERATION_NAME, CALLING_METHOD_NAME);
+        dependencyMetrics.recordThrottlingError("SlowDown");
+        dependencyMetrics.recordCall(1000000, false, 100);
+
+        String textReport = DependencyMetricsRegistry.getTextReport();
+
+        String labels = "operation=\"" + OPERATION_NAME + "\",method=\"" + CALLING_METHOD_NAME + "\"";
+        assertTrue(textReport.contains("# TYPE dm_dependency_calls_total counter\n"));
+        assertTrue(textReport.contains("dm_dependency_calls_total{" + labels + "} 1\n"));
+        assertTrue(textReport.contains("dm_dependency_retries_total{" + labels + "} 0\n"));
+        assertTrue(textReport.contains("dm_dependency_throttling_errors_total{" + labels + ",error_code=\"SlowDown\"} 1\n"));
+        assertTrue(textReport.contains("dm_dependency_bytes_total{" + labels + "} 100\n"));
+        assertTrue(textReport.contains("dm_dependency_latency_microseconds{" + labels + ",quantile=\"0.99\"} 1000\n"));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * This class tests functionality within the latency histogram.
+ */
+public class LatencyHistogramTest extends AbstractCoreTest
+{
+    @Test
+    public void testRecordValue()
+    {
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+        // Record the values from 1 to 1000.
+        for (long value = 1; value <= 1000; value++)
+        {
+            latencyHistogram.recordValue(value);
+        }
+
+        assertEquals(1000, latencyHistogram.getCount());
+        assertEquals(500500, latencyHistogram.getTotal());
+        assertEquals(1000, latencyHistogram.getMax());
+        assertEquals(500.5, latencyHistogram.getMean(), 0.001);
+
+        // The percentiles are accurate within the precision of the buckets.
+        assertValueWithinPrecision(500, latencyHistogram.getValueAtPercentile(50));
+        assertValueWithinPrecision(900, latencyHistogram.getValueAtPercentile(90));
+        assertValueWithinPrecision(990, latencyHistogram.getValueAtPercentile(99));
+        assertEquals(1000, latencyHistogram.getValueAtPercentile(100));
+        assertEquals(1, latencyHistogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void testRecordValueOutOfRange()
+    {
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+        // Negative values are recorded as 0 and values above the trackable range are kept in the last bucket.
+        latencyHistogram.recordValue(-5);
+        latencyHistogram.recordValue(LatencyHistogram.MAX_TRACKABLE_VALUE * 2);
+
+        assertEquals(2, latencyHistogram.getCount());
+        assertEquals(0, latencyHistogram.getValueAtPercentile(50));
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_VALUE, latencyHistogram.getValueAtPercentile(100));
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_VALUE * 2, latencyHistogram.getMax());
+    }
+
+    @Test
+    public void testBucketBoundaries()
+    {
+        // Every value must fall into a bucket whose upper bound is at least the value and within about 3% of it.
+        for (long value : new long[] {0, 1, 31, 32, 33, 63, 64, 65, 1000, 123456, 987654321, LatencyHistogram.MAX_TRACKABLE_VALUE})
+        {
+            long upperBound = LatencyHistogram.getBucketUpperBound(LatencyHistogram.getBucketIndex(value));
+            assertTrue(upperBound >= value);
+            assertTrue(upperBound - value <= value / 32);
+        }
+    }
+
+    @Test
+    public void testReset()
+    {
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        latencyHistogram.recordValue(100);
+
+        latencyHistogram.reset();
+
+        assertEquals(0, latencyHistogram.getCount());
+        assertEquals(0, latencyHistogram.getTotal());
+        assertEquals(0, latencyHistogram.getMax());
+        assertEquals(0, latencyHistogram.getMean(), 0);
+        assertEquals(0, latencyHistogram.getValueAtPercentile(99));
+    }
+
+    /**
+     * Asserts that an actual value is within the precision of the histogram buckets of the expected value.
+     *
+     * @param expectedValue the expected value
+     * @param actualValue the actual value
+     */
+    private void assertValueWithinPrecision(long expectedValue, long actualValue)
+    {
+        assertTrue(String.format("Expected %d but was %d.", expectedValue, actualValue), Math.abs(actualValue - expectedValue) <= expectedValue / 32 + 1);
+    }
+}
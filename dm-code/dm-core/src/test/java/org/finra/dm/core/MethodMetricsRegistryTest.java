@@ -0,0 +1,129 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.Test;
+
+/**
+ * This class tests functionality within the method metrics registry and the method metrics management bean.
+ */
+public class MethodMetricsRegistryTest extends AbstractCoreTest
+{
+    private static final String METHOD_NAME = MethodMetricsRegistryTest.class.getName() + ".testMethod";
+
+    @Test
+    public void testGetMethodMetrics()
+    {
+        // The same metrics are returned for the same method name.
+        assertSame(MethodMetricsRegistry.getMethodMetrics(METHOD_NAME), MethodMetricsRegistry.getMethodMetrics(METHOD_NAME));
+    }
+
+    @Test
+    public void testGetMethodStatistics()
+    {
+        MethodMetricsRegistry.reset();
+        MethodMetrics methodMetrics = MethodMetricsRegistry.getMethodMetrics(METHOD_NAME);
+        methodMetrics.recordInvocation(2000000, false);
+        methodMetrics.recordInvocation(4000000, true);
+
+        MethodStatistics methodStatistics = getMethodStatistics(MethodMetricsRegistry.getMethodStatistics());
+        assertNotNull(methodStatistics);
+        assertEquals(2, methodStatistics.getInvocationCount());
+        assertEquals(1, methodStatistics.getErrorCount());
+        assertEquals(4000, methodStatistics.getMaxLatency());
+        assertEquals(6000, methodStatistics.getTotalLatency());
+        assertEquals(3000, methodStatistics.getMeanLatency(), 0.001);
+        assertTrue(methodStatistics.getMedianLatency() >= 2000 && methodStatistics.getMedianLatency() < 2100);
+        assertEquals(4000, methodStatistics.getPercentile99Latency());
+
+        // Methods without invocations since the last reset are not reported.
+        MethodMetricsRegistry.reset();
+        assertEquals(null, getMethodStatistics(MethodMetricsRegistry.getMethodStatistics()));
+    }
+
+    @Test
+    public void testGetTextReport()
+    {
+        MethodMetricsRegistry.reset();
+        MethodMetricsRegistry.getMethodMetrics(METHOD_NAME).recordInvocation(1000000, true);
+
+        String textReport = MethodMetricsRegistry.getTextReport();
+
+        assertTrue(textReport.contains("# TYPE dm_method_invocations_total counter\n"));
+        assertTrue(textReport.contains("dm_method_invocations_total{method=\"" + METHOD_NAME + "\"} 1\n"));
+        assertTrue(textReport.contains("dm_method_errors_total{method=\"" + METHOD_NAME + "\"} 1\n"));
+        assertTrue(textReport.contains("dm_method_latency_microseconds{method=\"" + METHOD_NAME + "\",quantile=\"0.99\"} 1000\n"));
+        assertTrue(textReport.contains("dm_method_latency_microseconds_count{method=\"" + METHOD_NAME + "\"} 1\n"));
+        assertTrue(textReport.contains("dm_method_latency_microseconds_max{method=\"" + METHOD_NAME + "\"} 1000\n"));
+    }
+
+    @Test
+    public void testMethodMetricsManagementBean() throws Exception
+    {
+        MethodMetricsRegistry.reset();
+        MethodMetricsRegistry.getMethodMetrics(METHOD_NAME).recordInvocation(1000000, false);
+
+        // Register the management bean with the platform MBean server and read its attributes through JMX.
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(MethodMetricsManagementBean.OBJECT_NAME + ",name=" + MethodMetricsRegistryTest.class.getSimpleName());
+        mBeanServer.registerMBean(new MethodMetricsManagementBean(), objectName);
+        try
+        {
+            CompositeData[] methodStatistics = (CompositeData[]) mBeanServer.getAttribute(objectName, "MethodStatistics");
+            assertEquals(1, methodStatistics.length);
+            assertEquals(METHOD_NAME, methodStatistics[0].get("methodName"));
+            assertEquals(1L, methodStatistics[0].get("invocationCount"));
+
+            mBeanServer.invoke(objectName, "reset", null, null);
+            assertEquals(0, ((CompositeData[]) mBeanServer.getAttribute(objectName, "MethodStatistics")).length);
+        }
+        finally
+        {
+            mBeanServer.unregisterMBean(objectName);
+        }
+    }
+
+    /**
+     * Gets the statistics of the test method from a list of method statistics.
+     *
+     * @param methodStatisticsList the list of method statistics
+     *
+     * @return the statistics of the test method or null if they are not in the list
+     */
+    private MethodStatistics getMethodStatistics(List<MethodStatistics> methodStatisticsList)
+    {
+        for (MethodStatistics methodStatistics : methodStatisticsList)
+        {
+            if (METHOD_NAME.equals(methodStatistics.getMethodName()))
+            {
+                return methodStatistics;
+            }
+        }
+        return null;
+    }
+}
@@ -15,6 +15,11 @@
 */
 package org.finra.dm.core;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
 import java.lang.reflect.Method;
 
 import org.aspectj.lang.Signature;
@@ -46,6 +51,91 @@ public class StopWatchAdviceTest extends AbstractCoreTest
         StopWatchAdvice.logMethodTime(new MockProceedingJoinPointMethodSuppressLogging());
     }
 
+    @Test
+    public void testLogMethodTimeRecordsMethodMetrics() throws Throwable
+    {
+        MethodMetrics methodMetrics = MethodMetricsRegistry.getMethodMetrics(MockProceedingJoinPointRecordMetrics.class.getName() + ".getMethod");
+        long invocationCount = methodMetrics.getInvocationCount();
+
+        // Invoke the advice twice, once without and once with logging.
+        StopWatchAdvice.logMethodTime(new MockProceedingJoinPointRecordMetrics());
+        StopWatchAdvice.recordMethodTime(new MockProceedingJoinPointRecordMetrics());
+
+        // Both invocations should have been recorded in the metrics of the target method.
+        assertEquals(invocationCount + 2, methodMetrics.getInvocationCount());
+        assertEquals(0, methodMetrics.getErrorCount());
+    }
+
+    @Test
+    public void testLogMethodTimeRecordsErrors() throws Throwable
+    {
+        MethodMetrics methodMetrics = MethodMetricsRegistry.getMethodMetrics(MockProceedingJoinPointThrowingException.class.getName() + ".getMethod");
+        long errorCount = methodMetrics.getErrorCount();
+
+        try
+        {
+            StopWatchAdvice.logMethodTime(new MockProceedingJoinPointThrowingException());
+            fail("Should throw an IllegalStateException.");
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals("Method failed.", e.getMessage());
+        }
+
+        // The failed invocation should be recorded as an error.
+        assertEquals(errorCount + 1, methodMetrics.getErrorCount());
+        assertTrue(methodMetrics.getInvocationCount() > 0);
+    }
+
+    @Test
+    public void testLogMethodTimeTracksCurrentMethod() throws Throwable
+    {
+        // The advised method is the current method while it runs and is no longer current once it returns.
+        MockProceedingJoinPointCurrentMethod mockProceedingJoinPoint = new MockProceedingJoinPointCurrentMethod();
+        StopWatchAdvice.logMethodTime(mockProceedingJoinPoint);
+        assertEquals(MockProceedingJoinPointCurrentMethod.class.getName() + ".getMethod", mockProceedingJoinPoint.currentMethodName);
+        assertNull(StopWatchAdvice.getCurrentMethodName());
+
+        // Methods advised by the record method time advice don't become the current method.
+        mockProceedingJoinPoint = new MockProceedingJoinPointCurrentMethod();
+        StopWatchAdvice.recordMethodTime(mockProceedingJoinPoint);
+        assertNull(mockProceedingJoinPoint.currentMethodName);
+    }
+
+    /**
+     * This is a mock proceeding join point that keeps the current method name seen while it proceeds.
+     */
+    public class MockProceedingJoinPointCurrentMethod extends org.finra.dm.core.MockProceedingJoinPoint
+    {
+        private String currentMethodName;
+
+        @Override
+        public Object proceed() throws Throwable
+        {
+            currentMethodName = StopWatchAdvice.getCurrentMethodName();
+            return this;
+        }
+    }
+
+    /**
+     * This is a mock proceeding join point whose invocations are recorded in their own method metrics.
+     */
+    public class MockProceedingJoinPointRecordMetrics extends org.finra.dm.core.MockProceedingJoinPoint
+    {
+    }
+
+    /**
+     * This is a mock proceeding join point that throws an exception when it proceeds.
+     */
+    public class MockProceedingJoinPointThrowingException extends org.finra.dm.core.MockProceedingJoinPoint
+    {
+        @Override
+        public Object proceed() throws Throwable
+        {
+            throw new IllegalStateException("Method failed.");
+        }
+    }
+
     /**
      * This is a mock proceeding join point that has the suppress logging annotation present.
      */
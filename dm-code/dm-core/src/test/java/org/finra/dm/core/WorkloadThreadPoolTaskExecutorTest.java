@@ -0,0 +1,250 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.task.TaskRejectedException;
+
+import org.finra.dm.model.dto.ConfigurationValue;
+
+/**
+ * This class tests the functionality of the WorkloadThreadPoolTaskExecutor class.
+ */
+public class WorkloadThreadPoolTaskExecutorTest extends AbstractCoreTest
+{
+    private Map<String, Object> properties;
+
+    private StandardEnvironment workloadEnvironment;
+
+    private WorkloadThreadPoolTaskExecutor executor;
+
+    @Before
+    public void setup()
+    {
+        // Configure a pool with a single thread and a single queue slot that gets resized on every submission.
+        properties = new HashMap<>();
+        properties.put(ConfigurationValue.THREAD_POOL_FILE_MOVE_CORE_POOL_SIZE.getKey(), 1);
+        properties.put(ConfigurationValue.THREAD_POOL_FILE_MOVE_MAX_POOL_SIZE.getKey(), 1);
+        properties.put(ConfigurationValue.THREAD_POOL_FILE_MOVE_QUEUE_CAPACITY.getKey(), 1);
+        properties.put(ConfigurationValue.THREAD_POOL_FILE_MOVE_SATURATION_POLICY.getKey(), "ABORT");
+        properties.put(ConfigurationValue.THREAD_POOL_RESIZE_CHECK_INTERVAL_SECS.getKey(), 0L);
+
+        workloadEnvironment = new StandardEnvironment();
+        workloadEnvironment.getPropertySources().addFirst(new MapPropertySource("workload", properties));
+    }
+
+    @After
+    public void cleanup()
+    {
+        if (executor != null)
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSaturationAbort() throws Exception
+    {
+        executor = createExecutor();
+
+        // Occupy the only thread and the only queue slot.
+        CountDownLatch latch = new CountDownLatch(1);
+        Future<?> runningTask = executor.submit(new BlockingTask(latch));
+        Future<?> queuedTask = executor.submit(new BlockingTask(latch));
+        assertEquals(1, executor.getQueuedTaskCount());
+
+        // The next task gets rejected.
+        try
+        {
+            executor.submit(new BlockingTask(latch));
+            fail("Should throw a TaskRejectedException when the pool and its queue are full.");
+        }
+        catch (TaskRejectedException e)
+        {
+            assertEquals(1, executor.getRejectedTaskCount());
+        }
+
+        latch.countDown();
+        runningTask.get();
+        queuedTask.get();
+
+        assertEquals(2, executor.getStartedTaskCount());
+        assertTrue(executor.getMaxWaitTimeMillis() >= executor.getAverageWaitTimeMillis());
+    }
+
+    @Test
+    public void testSaturationCallerRuns() throws Exception
+    {
+        properties.put(ConfigurationValue.THREAD_POOL_FILE_MOVE_SATURATION_POLICY.getKey(), "caller_runs");
+        executor = createExecutor();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.submit(new BlockingTask(latch));
+        executor.submit(new BlockingTask(latch));
+
+        // The next task runs in this thread.
+        final Thread callerThread = Thread.currentThread();
+        final boolean[] ranInCallerThread = new boolean[1];
+        executor.execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                ranInCallerThread[0] = Thread.currentThread() == callerThread;
+            }
+        });
+        latch.countDown();
+
+        assertTrue(ranInCallerThread[0]);
+        assertEquals(1, executor.getRejectedTaskCount());
+    }
+
+    @Test
+    public void testResize() throws Exception
+    {
+        executor = createExecutor();
+        assertEquals(1, executor.getCorePoolSize());
+        assertEquals(1, executor.getMaxPoolSize());
+
+        // Change the configured sizes. They get applied on the next submission.
+        properties.put(ConfigurationValue.THREAD_POOL_FILE_MOVE_CORE_POOL_SIZE.getKey(), 2);
+        properties.put(ConfigurationValue.THREAD_POOL_FILE_MOVE_MAX_POOL_SIZE.getKey(), 4);
+        executor.submit(new BlockingTask(new CountDownLatch(0))).get();
+        assertEquals(2, executor.getCorePoolSize());
+        assertEquals(4, executor.getMaxPoolSize());
+
+        // Shrink the pool below its previous core size.
+        properties.put(ConfigurationValue.THREAD_POOL_FILE_MOVE_CORE_POOL_SIZE.getKey(), 1);
+        properties.put(ConfigurationValue.THREAD_POOL_FILE_MOVE_MAX_POOL_SIZE.getKey(), 1);
+        executor.submit(new BlockingTask(new CountDownLatch(0))).get();
+        assertEquals(1, executor.getCorePoolSize());
+        assertEquals(1, executor.getMaxPoolSize());
+    }
+
+    @Test
+    public void testThreadPoolMetrics() throws Exception
+    {
+        executor = createExecutor();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Future<?> runningTask = executor.submit(new BlockingTask(latch));
+        executor.submit(new BlockingTask(latch));
+        try
+        {
+            executor.submit(new BlockingTask(latch));
+            fail("Should throw a TaskRejectedException when the pool and its queue are full.");
+        }
+        catch (TaskRejectedException e)
+        {
+            // The rejected task is published with the thread pool metrics.
+        }
+
+        // The initialized executor is published by the thread pool metrics registry.
+        ThreadPoolStatistics threadPoolStatistics = getThreadPoolStatistics("test");
+        assertNotNull(threadPoolStatistics);
+        assertEquals(1, threadPoolStatistics.getQueuedTaskCount());
+        assertEquals(1, threadPoolStatistics.getRejectedTaskCount());
+
+        String textReport = ThreadPoolMetricsRegistry.getTextReport();
+        assertTrue(textReport.contains("# TYPE dm_thread_pool_rejected_total counter\n"));
+        assertTrue(textReport.contains("dm_thread_pool_queued{workload=\"test\"} 1\n"));
+        assertTrue(textReport.contains("dm_thread_pool_rejected_total{workload=\"test\"} 1\n"));
+
+        latch.countDown();
+        runningTask.get();
+
+        // A shut down executor is no longer published.
+        executor.shutdown();
+        executor = null;
+        assertNull(getThreadPoolStatistics("test"));
+    }
+
+    /**
+     * Gets the statistics of the specified workload thread pool from the thread pool metrics registry.
+     *
+     * @param workloadName the workload name
+     *
+     * @return the thread pool statistics or null if no thread pool is registered for the workload
+     */
+    private ThreadPoolStatistics getThreadPoolStatistics(String workloadName)
+    {
+        for (ThreadPoolStatistics threadPoolStatistics : ThreadPoolMetricsRegistry.getThreadPoolStatistics())
+        {
+            if (threadPoolStatistics.getWorkloadName().equals(workloadName))
+            {
+                return threadPoolStatistics;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates and initializes an executor using the file move configuration values.
+     *
+     * @return the executor
+     */
+    private WorkloadThreadPoolTaskExecutor createExecutor()
+    {
+        WorkloadThreadPoolTaskExecutor workloadExecutor =
+            new WorkloadThreadPoolTaskExecutor("test", workloadEnvironment, ConfigurationValue.THREAD_POOL_FILE_MOVE_CORE_POOL_SIZE,
+                ConfigurationValue.THREAD_POOL_FILE_MOVE_MAX_POOL_SIZE, ConfigurationValue.THREAD_POOL_FILE_MOVE_QUEUE_CAPACITY,
+                ConfigurationValue.THREAD_POOL_FILE_MOVE_SATURATION_POLICY);
+        workloadExecutor.initialize();
+        return workloadExecutor;
+    }
+
+    /**
+     * A task that blocks until the latch is released.
+     */
+    private static class BlockingTask implements Runnable
+    {
+        private final CountDownLatch latch;
+
+        BlockingTask(CountDownLatch latch)
+        {
+            this.latch = latch;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                latch.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -15,6 +15,7 @@
 */
 package org.finra.dm.dao;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 import org.finra.dm.model.dto.DateRangeDto;
@@ -28,6 +29,7 @@ import org.finra.dm.model.jpa.ConfigurationEntity;
 import org.finra.dm.model.jpa.CustomDdlEntity;
 import org.finra.dm.model.jpa.DataProviderEntity;
 import org.finra.dm.model.jpa.EmrClusterDefinitionEntity;
+import org.finra.dm.model.jpa.EmrClusterPoolEntity;
 import org.finra.dm.model.jpa.ExpectedPartitionValueEntity;
 import org.finra.dm.model.jpa.FileTypeEntity;
 import org.finra.dm.model.jpa.JmsMessageEntity;
@@ -366,6 +368,19 @@ public interface DmDao extends BaseJpaDao
      */
     public Long getBusinessObjectDataCount(BusinessObjectFormatKey businessObjectFormatKey);
 
+    /**
+     * Retrieves the latest versions of business object data registered with the specified business object format that have their primary partition value
+     * within the specified range.
+     *
+     * @param businessObjectFormatKey the business object format key (case-insensitive) with the business object format version specified
+     * @param startPartitionValue the inclusive lower bound of the primary partition value range
+     * @param endPartitionValue the inclusive upper bound of the primary partition value range
+     *
+     * @return the list of business object data entities sorted by partition values
+     */
+    public List<BusinessObjectDataEntity> getLatestVersionBusinessObjectDataEntities(BusinessObjectFormatKey businessObjectFormatKey,
+        String startPartitionValue, String endPartitionValue);
+
     /**
      * Retrieves business object data versions that match the specified business object data key with potentially missing business object format and/or data
      * version values.
@@ -570,6 +585,61 @@ public interface DmDao extends BaseJpaDao
      */
     public EmrClusterDefinitionEntity getEmrClusterDefinitionByAltKey(String namespaceCd, String definitionName);
 
+    // EmrClusterCreationLog
+
+    /**
+     * Gets the time the most recent EMR cluster was created for the specified EMR cluster definition.
+     *
+     * @param namespaceCd the namespace (case-insensitive)
+     * @param definitionName the EMR cluster definition name (case-insensitive)
+     *
+     * @return the creation time of the most recent EMR cluster or null if no EMR cluster was created for the definition
+     */
+    public Timestamp getLatestEmrClusterCreationTime(String namespaceCd, String definitionName);
+
+    // EmrClusterPool
+
+    /**
+     * Gets all the pooled EMR clusters, idle or leased, of the specified EMR cluster definition ordered by the time they were launched.
+     *
+     * @param emrClusterDefinitionEntity the EMR cluster definition entity
+     *
+     * @return the list of EMR cluster pool entities
+     */
+    public List<EmrClusterPoolEntity> getEmrClusterPoolEntities(EmrClusterDefinitionEntity emrClusterDefinitionEntity);
+
+    /**
+     * Gets the idle pooled EMR clusters of the specified EMR cluster definition that were launched with the specified definition hash, oldest first. The
+     * returned rows are locked for update until the current transaction completes, so that concurrent create requests can not lease the same cluster and the
+     * pool maintenance can not terminate a cluster that is being leased.
+     *
+     * @param emrClusterDefinitionEntity the EMR cluster definition entity
+     * @param emrClusterDefinitionHash the EMR cluster definition hash or null to get the idle pooled EMR clusters launched with any definition hash
+     *
+     * @return the list of idle EMR cluster pool entities
+     */
+    public List<EmrClusterPoolEntity> getIdleEmrClusterPoolEntities(EmrClusterDefinitionEntity emrClusterDefinitionEntity, String emrClusterDefinitionHash);
+
+    /**
+     * Gets the pooled EMR cluster of the specified EMR cluster definition that is leased to the specified EMR cluster name.
+     *
+     * @param namespaceCd the namespace (case-insensitive)
+     * @param definitionName the EMR cluster definition name (case-insensitive)
+     * @param leaseEmrClusterName the EMR cluster name the pooled cluster is leased to (case-insensitive)
+     *
+     * @return the EMR cluster pool entity or null if no pooled cluster is leased to the EMR cluster name
+     */
+    public EmrClusterPoolEntity getLeasedEmrClusterPoolEntity(String namespaceCd, String definitionName, String leaseEmrClusterName);
+
+    /**
+     * Gets a pooled EMR cluster by its EMR cluster id.
+     *
+     * @param emrClusterId the EMR cluster id
+     *
+     * @return the EMR cluster pool entity or null if the EMR cluster is not pooled
+     */
+    public EmrClusterPoolEntity getEmrClusterPoolEntityByEmrClusterId(String emrClusterId);
+
     // NotificationEvent
 
     /**
@@ -601,17 +671,6 @@ public interface DmDao extends BaseJpaDao
      */
     public List<BusinessObjectDataNotificationRegistrationKey> getBusinessObjectDataNotificationRegistrationKeys(String namespaceCode);
 
-    /**
-     * Retrieves a list of business object data notification entities that match given input parameters.
-     *
-     * @param notificationEventTypeCode the notification event type code (case-insensitive)
-     * @param businessObjectDataKey the business object data key (case-insensitive)
-     *
-     * @return the list of business object data notification entities
-     */
-    public List<BusinessObjectDataNotificationRegistrationEntity> getBusinessObjectDataNotificationRegistrations(String notificationEventTypeCode,
-        BusinessObjectDataKey businessObjectDataKey);
-
     // SecurityFunction
 
     /**
@@ -51,6 +51,8 @@ public interface EmrDao
     public String getActiveEmrClusterIdByName(String clusterName, AwsParamsDto awsParams);
     
     public ClusterSummary getActiveEmrClusterByName(String clusterName, AwsParamsDto awsParams);
+
+    public List<ClusterSummary> getActiveEmrClusters(AwsParamsDto awsParams);
     
     public StepSummary getClusterActiveStep(String clusterId, AwsParamsDto awsParamsDto);
     
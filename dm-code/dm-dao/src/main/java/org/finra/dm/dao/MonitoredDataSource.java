@@ -0,0 +1,247 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import org.finra.dm.dao.helper.SqlStatementMonitor;
+
+/**
+ * A data source that times the SQL statements run through the connections of the target data source and records them with a SQL statement monitor. The shape
+ * of the bound parameters (i.e. their position and type, never their values) is recorded along with the SQL of prepared and callable statements.
+ */
+public class MonitoredDataSource extends DelegatingDataSource
+{
+    private final SqlStatementMonitor sqlStatementMonitor;
+
+    /**
+     * Creates a monitored data source.
+     *
+     * @param targetDataSource the target data source
+     * @param sqlStatementMonitor the SQL statement monitor to record the statements with
+     */
+    public MonitoredDataSource(DataSource targetDataSource, SqlStatementMonitor sqlStatementMonitor)
+    {
+        super(targetDataSource);
+        this.sqlStatementMonitor = sqlStatementMonitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException
+    {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException
+    {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    /**
+     * Wraps a connection so the statements it creates get monitored.
+     *
+     * @param connection the connection
+     *
+     * @return the monitored connection
+     */
+    private Connection wrapConnection(Connection connection)
+    {
+        return (Connection) Proxy
+            .newProxyInstance(MonitoredDataSource.class.getClassLoader(), new Class<?>[] {Connection.class}, new ConnectionInvocationHandler(connection));
+    }
+
+    /**
+     * Invokes a method on a target object, unwrapping the exception thrown by the method.
+     *
+     * @param target the target object
+     * @param method the method
+     * @param args the method arguments
+     *
+     * @return the value returned by the method
+     * @throws Throwable if the method throws an exception
+     */
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable
+    {
+        try
+        {
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException e)
+        {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Wraps the statements created by a connection.
+     */
+    private class ConnectionInvocationHandler implements InvocationHandler
+    {
+        private final Connection connection;
+
+        ConnectionInvocationHandler(Connection connection)
+        {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            // Compare connections by proxy identity since Spring compares the connection it holds for a transaction with the ones it is asked to release.
+            if ("equals".equals(method.getName()))
+            {
+                return proxy == args[0];
+            }
+            else if ("hashCode".equals(method.getName()))
+            {
+                return System.identityHashCode(proxy);
+            }
+
+            Object result = MonitoredDataSource.invoke(connection, method, args);
+
+            Class<?> statementInterface;
+            if (result instanceof CallableStatement)
+            {
+                statementInterface = CallableStatement.class;
+            }
+            else if (result instanceof PreparedStatement)
+            {
+                statementInterface = PreparedStatement.class;
+            }
+            else if (result instanceof Statement)
+            {
+                statementInterface = Statement.class;
+            }
+            else
+            {
+                return result;
+            }
+
+            // Prepared and callable statements are created with their SQL, plain statements get their SQL when they are executed.
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+
+            return Proxy.newProxyInstance(MonitoredDataSource.class.getClassLoader(), new Class<?>[] {statementInterface},
+                new StatementInvocationHandler((Statement) result, sql));
+        }
+    }
+
+    /**
+     * Times the executions of a statement and keeps track of the shape of its bound parameters.
+     */
+    private class StatementInvocationHandler implements InvocationHandler
+    {
+        private final Statement statement;
+
+        private final String sql;
+
+        private final Map<Integer, String> parameterTypes = new TreeMap<>();
+
+        StatementInvocationHandler(Statement statement, String sql)
+        {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            String methodName = method.getName();
+
+            if (methodName.startsWith("execute"))
+            {
+                String executedSql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+                long startTime = System.nanoTime();
+                try
+                {
+                    return MonitoredDataSource.invoke(statement, method, args);
+                }
+                finally
+                {
+                    sqlStatementMonitor.recordStatement(executedSql, getParameterShape(), System.nanoTime() - startTime);
+                }
+            }
+
+            if (methodName.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer)
+            {
+                parameterTypes.put((Integer) args[0], getParameterType(methodName, args[1]));
+            }
+            else if ("clearParameters".equals(methodName))
+            {
+                parameterTypes.clear();
+            }
+
+            return MonitoredDataSource.invoke(statement, method, args);
+        }
+
+        /**
+         * Gets the type of a bound parameter from the name of the setter used to bind it and its value.
+         *
+         * @param methodName the name of the setter
+         * @param value the parameter value
+         *
+         * @return the parameter type
+         */
+        private String getParameterType(String methodName, Object value)
+        {
+            if ("setNull".equals(methodName) || value == null)
+            {
+                return "null";
+            }
+            else if ("setObject".equals(methodName))
+            {
+                return value.getClass().getSimpleName();
+            }
+            else
+            {
+                return methodName.substring("set".length());
+            }
+        }
+
+        /**
+         * Gets the shape of the currently bound parameters, e.g. "[1:String, 2:Long, 3:null]".
+         *
+         * @return the parameter shape
+         */
+        private String getParameterShape()
+        {
+            StringBuilder parameterShape = new StringBuilder("[");
+            for (Map.Entry<Integer, String> entry : parameterTypes.entrySet())
+            {
+                if (parameterShape.length() > 1)
+                {
+                    parameterShape.append(", ");
+                }
+                parameterShape.append(entry.getKey()).append(':').append(entry.getValue());
+            }
+            return parameterShape.append(']').toString();
+        }
+    }
+}
@@ -51,6 +51,18 @@ public interface OozieDao
      */
     public WorkflowJob getEmrOozieWorkflow(String masterIpAddress, String emrOozieWorkflowId) throws OozieClientException;
 
+    /**
+     * Gets the oozie workflow jobs from oozie server. The jobs are retrieved in parallel.
+     * 
+     * @param masterIpAddress the IP address of oozie master server.
+     * @param emrOozieWorkflowIds the oozie workflow job ids.
+     * 
+     * @return the WorkflowJob objects in the order of the given job ids.
+     * 
+     * @throws OozieClientException
+     */
+    public List<WorkflowJob> getEmrOozieWorkflows(String masterIpAddress, List<String> emrOozieWorkflowIds) throws OozieClientException;
+
     /**
      * Gets the oozie jobs in RUNNING status.
      * @param masterIpAddress the IP address of oozie master server.
@@ -83,6 +83,28 @@ public interface S3Dao
      */
     public List<StorageFile> listDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers);
 
+    /**
+     * Lists all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name) and passes them to the handler as they get listed. Large listings
+     * are split by the sub-prefixes found under the S3 key prefix and the sub-prefixes are listed concurrently.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 objects to get
+     * listed.
+     * @param ignoreZeroByteDirectoryMarkers specifies whether to ignore 0 byte objects that represent S3 directories.
+     * @param storageFileHandler the handler that receives the S3 objects represented as storage files.
+     */
+    public void listDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers,
+        StorageFileHandler storageFileHandler);
+
+    /**
+     * Determines whether there are no S3 objects matching the S3 key prefix in the given bucket (S3 bucket name). Unlike listing the directory, this takes a
+     * single request no matter how many objects there are. The 0 byte objects that represent S3 directories are not ignored.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 objects to check.
+     *
+     * @return true if no S3 object matches the prefix in the given bucket, false otherwise
+     */
+    public boolean isDirectoryEmpty(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto);
+
     /**
      * Uploads a local file into S3.
      *
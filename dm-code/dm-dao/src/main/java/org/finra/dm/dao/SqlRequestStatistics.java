@@ -0,0 +1,74 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao;
+
+/**
+ * The SQL statements run through the DM data source by the current thread while it handles a request. Tracking is started and stopped explicitly (e.g. by a
+ * request filter) so threads that don't handle requests don't pay for it.
+ */
+public class SqlRequestStatistics
+{
+    private static final ThreadLocal<SqlRequestStatistics> CURRENT_REQUEST_STATISTICS = new ThreadLocal<>();
+
+    private long statementCount;
+
+    private long executionTimeNanos;
+
+    /**
+     * Starts tracking the SQL statements run by the current thread.
+     */
+    public static void start()
+    {
+        CURRENT_REQUEST_STATISTICS.set(new SqlRequestStatistics());
+    }
+
+    /**
+     * Stops tracking the SQL statements run by the current thread.
+     *
+     * @return the statistics of the statements run since tracking was started or null if tracking wasn't started
+     */
+    public static SqlRequestStatistics stop()
+    {
+        SqlRequestStatistics sqlRequestStatistics = CURRENT_REQUEST_STATISTICS.get();
+        CURRENT_REQUEST_STATISTICS.remove();
+        return sqlRequestStatistics;
+    }
+
+    /**
+     * Records a SQL statement execution for the current thread if tracking was started.
+     *
+     * @param durationNanos the execution time of the statement in nanoseconds
+     */
+    public static void recordStatement(long durationNanos)
+    {
+        SqlRequestStatistics sqlRequestStatistics = CURRENT_REQUEST_STATISTICS.get();
+        if (sqlRequestStatistics != null)
+        {
+            sqlRequestStatistics.statementCount++;
+            sqlRequestStatistics.executionTimeNanos += durationNanos;
+        }
+    }
+
+    public long getStatementCount()
+    {
+        return statementCount;
+    }
+
+    public long getExecutionTimeNanos()
+    {
+        return executionTimeNanos;
+    }
+}
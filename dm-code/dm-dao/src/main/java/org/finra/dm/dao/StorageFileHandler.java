@@ -0,0 +1,34 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao;
+
+import java.util.List;
+
+import org.finra.dm.model.api.xml.StorageFile;
+
+/**
+ * A callback that receives storage files as they get listed, so that the callers do not need to hold the entire listing in memory.
+ */
+public interface StorageFileHandler
+{
+    /**
+     * Handles a batch of listed storage files. The calls are never made concurrently, but they might be made from different threads and the batches are not
+     * guaranteed to arrive in key order.
+     *
+     * @param storageFiles the storage files
+     */
+    public void handle(List<StorageFile> storageFiles);
+}
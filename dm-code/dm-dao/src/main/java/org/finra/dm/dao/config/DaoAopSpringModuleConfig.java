@@ -23,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 
+import org.finra.dm.core.StopWatchAdvice;
 import org.finra.dm.dao.helper.AwsEc2ExceptionRetryAdvice;
 import org.finra.dm.dao.helper.AwsEmrExceptionRetryAdvice;
 import org.finra.dm.dao.helper.AwsS3ExceptionRetryAdvice;
@@ -52,6 +53,15 @@ public class DaoAopSpringModuleConfig
     @Autowired
     private AwsSqsExceptionRetryAdvice awsSqsExceptionRetryAdvice;
 
+    /**
+     * A pointcut for all DM DAO methods.
+     */
+    @Pointcut("execution(* org.finra.dm.dao.*Dao.*(..))")
+    public void daoMethods()
+    {
+        // Pointcut methods are defined by their annotation and don't have an implementation.
+    }
+
     /**
      * A pointcut for S3 operations methods.
      */
@@ -97,6 +107,21 @@ public class DaoAopSpringModuleConfig
         // Pointcut methods are defined by their annotation and don't have an implementation.
     }
 
+    /**
+     * Around advice that records the method times of all DAO methods in the method metrics. DAO method times aren't logged since DAO methods are called too
+     * frequently.
+     *
+     * @param pjp the proceeding join point.
+     *
+     * @return the return value of the method we are advising.
+     * @throws Throwable if there were any problems executing the method.
+     */
+    @Around("daoMethods()")
+    public Object recordDaoMethodTime(ProceedingJoinPoint pjp) throws Throwable
+    {
+        return StopWatchAdvice.recordMethodTime(pjp);
+    }
+
     /**
      * Around advice that catches AWS S3 throttling exceptions and retries a configurable amount of time.
      *
@@ -0,0 +1,68 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import org.finra.dm.dao.helper.OperationsMetricsAdvice;
+
+/**
+ * Dao metrics AOP Spring module configuration. This class defines the aspects that record the calls made to external dependencies. The aspects have the
+ * highest precedence so they run around the retry aspects and the recorded calls include their retries.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DaoMetricsAopSpringModuleConfig
+{
+    @Autowired
+    private OperationsMetricsAdvice operationsMetricsAdvice;
+
+    /**
+     * A pointcut for the methods of the operations interfaces that call external dependencies (i.e. AWS and Oozie).
+     */
+    @Pointcut("execution(* org.finra.dm.dao.S3Operations.*(..)) || execution(* org.finra.dm.dao.EmrOperations.*(..)) || " +
+        "execution(* org.finra.dm.dao.Ec2Operations.*(..)) || execution(* org.finra.dm.dao.StsOperations.*(..)) || " +
+        "execution(* org.finra.dm.dao.SqsOperations.*(..)) || execution(* org.finra.dm.dao.KmsOperations.*(..)) || " +
+        "execution(* org.finra.dm.dao.OozieOperations.*(..))")
+    public void dependencyOperationsMethods()
+    {
+        // Pointcut methods are defined by their annotation and don't have an implementation.
+    }
+
+    /**
+     * Around advice that records the latency, errors, throttling errors and bytes transferred of the calls made to external dependencies.
+     *
+     * @param pjp the proceeding join point.
+     *
+     * @return the return value of the method we are advising.
+     * @throws Throwable if there were any problems executing the method.
+     */
+    @Around("dependencyOperationsMethods()")
+    public Object recordOperationCall(ProceedingJoinPoint pjp) throws Throwable
+    {
+        return operationsMetricsAdvice.recordOperationCall(pjp);
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.commons.configuration.ConfigurationConverter;
 import org.apache.commons.configuration.DatabaseConfiguration;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderInitiator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
@@ -51,7 +52,10 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.finra.dm.core.ApplicationContextHolder;
 import org.finra.dm.core.helper.ConfigurationHelper;
 import org.finra.dm.dao.CacheKeyGenerator;
+import org.finra.dm.dao.MonitoredDataSource;
 import org.finra.dm.dao.ReloadablePropertySource;
+import org.finra.dm.dao.helper.ScopedBatchBuilder;
+import org.finra.dm.dao.helper.SqlStatementMonitor;
 import org.finra.dm.model.dto.ConfigurationValue;
 import org.finra.dm.model.jpa.ConfigurationEntity;
 
@@ -61,7 +65,7 @@ import org.finra.dm.model.jpa.ConfigurationEntity;
 @Configuration
 // Component scan all packages, but exclude the configuration ones since they are explicitly specified.
 @ComponentScan(value = "org.finra.dm.dao", excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = "org\\.finra\\.dm\\.dao\\.config\\..*"))
-@Import(DaoAopSpringModuleConfig.class)
+@Import({DaoAopSpringModuleConfig.class, DaoMetricsAopSpringModuleConfig.class})
 @EnableTransactionManagement
 @EnableCaching
 public class DaoSpringModuleConfig implements CachingConfigurer
@@ -71,6 +75,9 @@ public class DaoSpringModuleConfig implements CachingConfigurer
     @Autowired
     private ConfigurationHelper configurationHelper;
 
+    @Autowired
+    private SqlStatementMonitor sqlStatementMonitor;
+
     /**
      * The DM data source bean name.
      */
@@ -104,9 +111,9 @@ public class DaoSpringModuleConfig implements CachingConfigurer
     @Bean
     public LocalContainerEntityManagerFactoryBean entityManagerFactory()
     {
-        // Create the entity manager factory against our data source.
+        // Create the entity manager factory against our data source, monitoring the SQL statements it runs.
         LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
-        entityManagerFactory.setDataSource(getDmDataSource());
+        entityManagerFactory.setDataSource(new MonitoredDataSource(getDmDataSource(), sqlStatementMonitor));
 
         // Auto-scan our model classes for persistent objects.
         entityManagerFactory.setPackagesToScan(MODEL_PACKAGES_TO_SCAN);
@@ -169,6 +176,13 @@ public class DaoSpringModuleConfig implements CachingConfigurer
         LOGGER.info("Show SQL: " + properties.getProperty(ConfigurationValue.SHOW_SQL.getKey()));
         properties.setProperty("hibernate.archive.autodetection", "class, hbm");
 
+        // Only batch the JDBC statements of the bulk operations that ask for it. Everything else runs one statement at a time.
+        properties.setProperty(BatchBuilderInitiator.BUILDER, ScopedBatchBuilder.class.getName());
+
+        // Set the flag that enables the collection of Hibernate statistics.
+        properties.setProperty(ConfigurationValue.HIBERNATE_GENERATE_STATISTICS.getKey(),
+            configurationHelper.getProperty(ConfigurationValue.HIBERNATE_GENERATE_STATISTICS));
+
         // Set the Hibernate HBM2DDL Auto param if it is configured. This is only needed in JUnits.
         String hibernateHbm2DdlAutoParam = getHibernateHbm2DdlAutoParam();
         if (StringUtils.isNotBlank(hibernateHbm2DdlAutoParam))
@@ -187,7 +201,17 @@ public class DaoSpringModuleConfig implements CachingConfigurer
     @Bean
     public JpaTransactionManager dmTransactionManager()
     {
-        JpaTransactionManager transactionManager = new JpaTransactionManager();
+        // The transaction manager would otherwise expose the JDBC connection of its transactions under the monitored data source of the entity manager
+        // factory. Expose it under the DM data source instead so JDBC access through the DM data source (e.g. Quartz) keeps joining the JPA transactions.
+        JpaTransactionManager transactionManager = new JpaTransactionManager()
+        {
+            @Override
+            public void afterPropertiesSet()
+            {
+                super.afterPropertiesSet();
+                setDataSource(getDmDataSource());
+            }
+        };
         transactionManager.setDataSource(getDmDataSource());
         transactionManager.setEntityManagerFactory(entityManagerFactory().getObject());
         return transactionManager;
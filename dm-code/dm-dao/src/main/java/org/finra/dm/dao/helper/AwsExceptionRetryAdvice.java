@@ -26,6 +26,8 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 
+import org.finra.dm.core.DependencyMetrics;
+import org.finra.dm.core.DependencyMetricsRegistry;
 import org.finra.dm.core.helper.DmThreadHelper;
 import org.finra.dm.model.dto.ConfigurationValue;
 
@@ -43,6 +45,9 @@ public abstract class AwsExceptionRetryAdvice
     @Autowired
     protected DmStringHelper dmStringHelper;
 
+    @Autowired
+    protected OperationsMetricsAdvice operationsMetricsAdvice;
+
     /**
      * Invokes the method, catches following various exceptions and retries as needed: 1. Throttling exception. 2. 5xx exception. 3. Error codes defined in
      * configuration to be retried.
@@ -118,6 +123,14 @@ public abstract class AwsExceptionRetryAdvice
                     // We can retry again so increment a counter to keep track of the number of times we retried and recalculate the total elapsed time.
                     retryCount++;
 
+                    // Record the retry and its throttling error, if any, in the dependency metrics.
+                    DependencyMetrics dependencyMetrics = DependencyMetricsRegistry.getDependencyMetrics(operationsMetricsAdvice.getOperationName(pjp));
+                    dependencyMetrics.recordRetry();
+                    if (RetryUtils.isThrottlingException(ase))
+                    {
+                        dependencyMetrics.recordThrottlingError(ase.getErrorCode());
+                    }
+
                     // Sleep for the next sleep delay.
                     dmThreadHelper.sleep(nextSleepDelay);
                 }
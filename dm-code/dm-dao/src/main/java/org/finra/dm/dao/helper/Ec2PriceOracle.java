@@ -0,0 +1,351 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao.helper;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.amazonaws.services.ec2.model.AvailabilityZone;
+import com.amazonaws.services.ec2.model.SpotPrice;
+import com.amazonaws.services.ec2.model.Subnet;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.dm.core.helper.ConfigurationHelper;
+import org.finra.dm.dao.DmDao;
+import org.finra.dm.dao.Ec2Dao;
+import org.finra.dm.model.ObjectNotFoundException;
+import org.finra.dm.model.dto.AwsParamsDto;
+import org.finra.dm.model.dto.ConfigurationValue;
+import org.finra.dm.model.jpa.OnDemandPriceEntity;
+
+/**
+ * A shared, in-memory source of the EC2 prices used to find the best price for an EMR cluster. The availability zones, the latest spot price per availability
+ * zone and instance type, and the on-demand price per region and instance type are cached for a short time, so that clusters created in quick succession do
+ * not each call EC2 and the database. The spot prices that are not cached are looked up for all the availability zones at the same time.
+ */
+@Component
+public class Ec2PriceOracle
+{
+    private static final Logger LOGGER = Logger.getLogger(Ec2PriceOracle.class);
+
+    @Autowired
+    private Ec2Dao ec2Dao;
+
+    @Autowired
+    private DmDao dmDao;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    private final Map<String, CachedValue<AvailabilityZone>> availabilityZonesByName = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedValue<BigDecimal>> spotPricesByKey = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedValue<BigDecimal>> onDemandPricesByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the availability zones which the given subnets belong to. Availability zones which do not exist are ignored.
+     *
+     * @param subnets the list of subnets
+     * @param awsParamsDto the AWS related parameters
+     *
+     * @return the list of availability zones
+     */
+    public List<AvailabilityZone> getAvailabilityZones(List<Subnet> subnets, AwsParamsDto awsParamsDto)
+    {
+        long maxAgeMillis = getMaxAgeMillis();
+
+        Set<String> zoneNames = new HashSet<>();
+        for (Subnet subnet : subnets)
+        {
+            zoneNames.add(subnet.getAvailabilityZone());
+        }
+
+        List<Subnet> subnetsToLookup = new ArrayList<>();
+        for (Subnet subnet : subnets)
+        {
+            if (isExpired(availabilityZonesByName.get(subnet.getAvailabilityZone()), maxAgeMillis))
+            {
+                subnetsToLookup.add(subnet);
+            }
+        }
+
+        if (!subnetsToLookup.isEmpty())
+        {
+            for (AvailabilityZone availabilityZone : ec2Dao.getAvailabilityZonesForSubnetIds(subnetsToLookup, awsParamsDto))
+            {
+                availabilityZonesByName.put(availabilityZone.getZoneName(), new CachedValue<>(availabilityZone));
+            }
+        }
+
+        List<AvailabilityZone> availabilityZones = new ArrayList<>();
+        for (String zoneName : zoneNames)
+        {
+            CachedValue<AvailabilityZone> cachedAvailabilityZone = availabilityZonesByName.get(zoneName);
+            if (cachedAvailabilityZone != null)
+            {
+                availabilityZones.add(cachedAvailabilityZone.value);
+            }
+        }
+
+        return availabilityZones;
+    }
+
+    /**
+     * Returns the latest spot prices of the given instance types in each of the given availability zones. The spot prices that are not cached are looked up
+     * from EC2, one availability zone per thread. The instance types for which EC2 has no spot price are left out of the result.
+     *
+     * @param availabilityZones the availability zones
+     * @param instanceTypes the instance types
+     * @param awsParamsDto the AWS related parameters
+     *
+     * @return the mapping of instance types to spot prices, keyed by availability zone name
+     */
+    public Map<String, Map<String, BigDecimal>> getSpotPrices(List<AvailabilityZone> availabilityZones, Set<String> instanceTypes,
+        AwsParamsDto awsParamsDto)
+    {
+        long maxAgeMillis = getMaxAgeMillis();
+
+        Map<String, Map<String, BigDecimal>> spotPrices = new LinkedHashMap<>();
+        Map<String, Set<String>> instanceTypesToLookup = new LinkedHashMap<>();
+
+        for (AvailabilityZone availabilityZone : availabilityZones)
+        {
+            String zoneName = availabilityZone.getZoneName();
+            Map<String, BigDecimal> instanceTypeSpotPrices = new HashMap<>();
+            spotPrices.put(zoneName, instanceTypeSpotPrices);
+
+            for (String instanceType : instanceTypes)
+            {
+                CachedValue<BigDecimal> cachedSpotPrice = spotPricesByKey.get(getKey(zoneName, instanceType));
+                if (isExpired(cachedSpotPrice, maxAgeMillis))
+                {
+                    // Look up all the instance types of this availability zone at once since it takes a single call.
+                    instanceTypesToLookup.put(zoneName, instanceTypes);
+                    break;
+                }
+                instanceTypeSpotPrices.put(instanceType, cachedSpotPrice.value);
+            }
+        }
+
+        if (!instanceTypesToLookup.isEmpty())
+        {
+            for (Map.Entry<String, List<SpotPrice>> entry : getLatestSpotPrices(instanceTypesToLookup, awsParamsDto).entrySet())
+            {
+                Map<String, BigDecimal> instanceTypeSpotPrices = spotPrices.get(entry.getKey());
+                instanceTypeSpotPrices.clear();
+
+                for (SpotPrice spotPrice : entry.getValue())
+                {
+                    BigDecimal price = new BigDecimal(spotPrice.getSpotPrice());
+                    instanceTypeSpotPrices.put(spotPrice.getInstanceType(), price);
+                    spotPricesByKey.put(getKey(entry.getKey(), spotPrice.getInstanceType()), new CachedValue<>(price));
+                }
+            }
+        }
+
+        return spotPrices;
+    }
+
+    /**
+     * Returns the on-demand prices of the given instance types in the given region. The on-demand prices are retrieved from database configurations.
+     *
+     * @param regionName the region name
+     * @param instanceTypes the instance types
+     *
+     * @return the mapping of instance types to on-demand prices
+     * @throws ObjectNotFoundException when any of the instance types was not found in the given region
+     */
+    public Map<String, BigDecimal> getOnDemandPrices(String regionName, Set<String> instanceTypes)
+    {
+        long maxAgeMillis = getMaxAgeMillis();
+
+        Map<String, BigDecimal> instanceTypeOnDemandPrices = new HashMap<>();
+        for (String instanceType : instanceTypes)
+        {
+            String key = getKey(regionName, instanceType);
+            CachedValue<BigDecimal> cachedOnDemandPrice = onDemandPricesByKey.get(key);
+
+            if (isExpired(cachedOnDemandPrice, maxAgeMillis))
+            {
+                OnDemandPriceEntity onDemandPrice = dmDao.getOnDemandPrice(regionName, instanceType);
+
+                if (onDemandPrice == null)
+                {
+                    throw new ObjectNotFoundException("On-demand price for region '" + regionName + "' and instance type '" + instanceType + "' not found.");
+                }
+
+                cachedOnDemandPrice = new CachedValue<>(onDemandPrice.getValue());
+                onDemandPricesByKey.put(key, cachedOnDemandPrice);
+            }
+
+            instanceTypeOnDemandPrices.put(instanceType, cachedOnDemandPrice.value);
+        }
+
+        return instanceTypeOnDemandPrices;
+    }
+
+    /**
+     * Discards all the cached prices and availability zones.
+     */
+    public void invalidate()
+    {
+        availabilityZonesByName.clear();
+        spotPricesByKey.clear();
+        onDemandPricesByKey.clear();
+    }
+
+    /**
+     * Looks up the latest spot prices from EC2. When more than one availability zone is looked up, the availability zones are looked up in parallel.
+     *
+     * @param instanceTypesToLookup the instance types to look up keyed by availability zone name
+     * @param awsParamsDto the AWS related parameters
+     *
+     * @return the spot prices keyed by availability zone name
+     */
+    private Map<String, List<SpotPrice>> getLatestSpotPrices(Map<String, Set<String>> instanceTypesToLookup, final AwsParamsDto awsParamsDto)
+    {
+        Map<String, List<SpotPrice>> spotPrices = new LinkedHashMap<>();
+
+        int maxThreads = Math.min(configurationHelper.getProperty(ConfigurationValue.EC2_PRICE_LOOKUP_MAX_THREADS, Integer.class),
+            instanceTypesToLookup.size());
+
+        if (maxThreads <= 1)
+        {
+            for (Map.Entry<String, Set<String>> entry : instanceTypesToLookup.entrySet())
+            {
+                spotPrices.put(entry.getKey(), ec2Dao.getLatestSpotPrices(entry.getKey(), entry.getValue(), awsParamsDto));
+            }
+            return spotPrices;
+        }
+
+        LOGGER.debug(String.format("Looking up spot prices in %d availability zone(s) using %d thread(s)...", instanceTypesToLookup.size(), maxThreads));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(maxThreads);
+
+        try
+        {
+            Map<String, Future<List<SpotPrice>>> futures = new LinkedHashMap<>();
+
+            for (final Map.Entry<String, Set<String>> entry : instanceTypesToLookup.entrySet())
+            {
+                futures.put(entry.getKey(), executorService.submit(new Callable<List<SpotPrice>>()
+                {
+                    @Override
+                    public List<SpotPrice> call() throws Exception
+                    {
+                        return ec2Dao.getLatestSpotPrices(entry.getKey(), entry.getValue(), awsParamsDto);
+                    }
+                }));
+            }
+
+            for (Map.Entry<String, Future<List<SpotPrice>>> entry : futures.entrySet())
+            {
+                try
+                {
+                    spotPrices.put(entry.getKey(), entry.getValue().get());
+                }
+                catch (ExecutionException e)
+                {
+                    // Re-throw the original exception, so the AWS exceptions get handled the same way as when looking up sequentially.
+                    if (e.getCause() instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while looking up spot prices.", e);
+                }
+            }
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+
+        return spotPrices;
+    }
+
+    /**
+     * Gets the configured maximum age of the cached prices in milliseconds.
+     *
+     * @return the maximum age in milliseconds, 0 if the cache is disabled
+     */
+    private long getMaxAgeMillis()
+    {
+        return configurationHelper.getProperty(ConfigurationValue.EC2_PRICE_CACHE_TIME_TO_LIVE_SECONDS, Long.class) * 1000;
+    }
+
+    /**
+     * Builds the cache key of a price.
+     *
+     * @param location the availability zone or region name
+     * @param instanceType the instance type
+     *
+     * @return the cache key
+     */
+    private String getKey(String location, String instanceType)
+    {
+        return location + "|" + instanceType;
+    }
+
+    /**
+     * Determines whether the specified cached value is missing or older than the specified maximum age.
+     *
+     * @param cachedValue the cached value, may be null
+     * @param maxAgeMillis the maximum age in milliseconds
+     *
+     * @return true if the value needs to be looked up again, false otherwise
+     */
+    private boolean isExpired(CachedValue<?> cachedValue, long maxAgeMillis)
+    {
+        return cachedValue == null || maxAgeMillis <= 0 || System.currentTimeMillis() - cachedValue.createdTimeMillis > maxAgeMillis;
+    }
+
+    /**
+     * A cached value along with the time it was looked up.
+     *
+     * @param <T> the type of the value
+     */
+    private static class CachedValue<T>
+    {
+        private final T value;
+
+        private final long createdTimeMillis = System.currentTimeMillis();
+
+        CachedValue(T value)
+        {
+            this.value = value;
+        }
+    }
+}
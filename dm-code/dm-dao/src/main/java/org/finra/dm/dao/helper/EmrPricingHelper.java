@@ -20,7 +20,6 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -28,19 +27,16 @@ import java.util.Map;
 import java.util.Set;
 
 import com.amazonaws.services.ec2.model.AvailabilityZone;
-import com.amazonaws.services.ec2.model.SpotPrice;
 import com.amazonaws.services.ec2.model.Subnet;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import org.finra.dm.dao.DmDao;
 import org.finra.dm.dao.Ec2Dao;
 import org.finra.dm.model.ObjectNotFoundException;
 import org.finra.dm.model.dto.Ec2PriceDto;
 import org.finra.dm.model.dto.EmrClusterPriceDto;
-import org.finra.dm.model.jpa.OnDemandPriceEntity;
 import org.finra.dm.model.api.xml.EmrClusterDefinition;
 import org.finra.dm.model.api.xml.InstanceDefinition;
 import org.finra.dm.model.api.xml.MasterInstanceDefinition;
@@ -57,7 +53,7 @@ public class EmrPricingHelper extends AwsHelper
     private Ec2Dao ec2Dao;
 
     @Autowired
-    private DmDao dmDao;
+    private Ec2PriceOracle ec2PriceOracle;
 
     @Autowired
     private DmStringHelper dmStringHelper;
@@ -115,11 +111,16 @@ public class EmrPricingHelper extends AwsHelper
 
         // Get AZs for the subnets
         List<AvailabilityZone> availabilityZones = getAvailabilityZones(subnets);
+
+        // Get the spot prices of all the AZs up front, so the search below is done in memory
+        Map<String, Map<String, BigDecimal>> spotPrices = ec2PriceOracle.getSpotPrices(availabilityZones, requestedInstanceTypes, getAwsParamsDto());
+
         for (AvailabilityZone availabilityZone : availabilityZones)
         {
             // Create a mapping of instance types to prices for more efficient, in-memory lookup
-            Map<String, BigDecimal> instanceTypeSpotPrices = getInstanceTypeSpotPrices(availabilityZone, requestedInstanceTypes);
-            Map<String, BigDecimal> instanceTypeOnDemandPrices = getInstanceTypeOnDemandPrices(availabilityZone, requestedInstanceTypes);
+            Map<String, BigDecimal> instanceTypeSpotPrices =
+                getInstanceTypeSpotPrices(availabilityZone, requestedInstanceTypes, spotPrices.get(availabilityZone.getZoneName()));
+            Map<String, BigDecimal> instanceTypeOnDemandPrices = ec2PriceOracle.getOnDemandPrices(availabilityZone.getRegionName(), requestedInstanceTypes);
 
             // Get and compare master price
             BigDecimal masterSpotPrice = instanceTypeSpotPrices.get(masterInstanceType);
@@ -503,55 +504,19 @@ public class EmrPricingHelper extends AwsHelper
     }
 
     /**
-     * Returns a mapping of instance types to on-demand prices for the given AZ and instance types. The on-demand prices are retrieved from database
-     * configurations. The on-demand prices are looked up by the AZ's region name.
-     *
-     * @param availabilityZone The availability zone of the on-demand instances.
-     * @param instanceTypes The sizes of the on-demand instances.
-     *
-     * @return A map of instance type to on-demand price.
-     * @throws ObjectNotFoundException when any of the instance type was not found in the given region
-     */
-    private Map<String, BigDecimal> getInstanceTypeOnDemandPrices(AvailabilityZone availabilityZone, Set<String> instanceTypes)
-    {
-        Map<String, BigDecimal> instanceTypeOnDemandPrices = new HashMap<>();
-        for (String instanceType : instanceTypes)
-        {
-            OnDemandPriceEntity onDemandPrice = dmDao.getOnDemandPrice(availabilityZone.getRegionName(), instanceType);
-
-            if (onDemandPrice == null)
-            {
-                throw new ObjectNotFoundException(
-                    "On-demand price for region '" + availabilityZone.getRegionName() + "' and instance type '" + instanceType + "' not found.");
-            }
-
-            instanceTypeOnDemandPrices.put(instanceType, onDemandPrice.getValue());
-        }
-
-        return instanceTypeOnDemandPrices;
-    }
-
-    /**
-     * Returns a mapping of instance types to spot prices for the given AZ and instance types. The spot prices are retrieved from EC2 API.
-     * <p/>
-     * This method also validates that the given instance types are real instance types supported by AWS.
+     * Validates that spot prices were found for all of the given instance types in the given AZ, which ensures that the given instance types are real instance
+     * types supported by AWS.
      *
      * @param availabilityZone The AZ of the spot instances.
      * @param instanceTypes The size of the spot instances.
+     * @param instanceTypeSpotPrices The mapping of instance type to spot prices found in the AZ.
      *
      * @return A mapping of instance type to spot prices.
      * @throws ObjectNotFoundException when any of the instance type does not exist in AWS
      */
-    private Map<String, BigDecimal> getInstanceTypeSpotPrices(AvailabilityZone availabilityZone, Set<String> instanceTypes)
+    private Map<String, BigDecimal> getInstanceTypeSpotPrices(AvailabilityZone availabilityZone, Set<String> instanceTypes,
+        Map<String, BigDecimal> instanceTypeSpotPrices)
     {
-        List<SpotPrice> spotPrices = ec2Dao.getLatestSpotPrices(availabilityZone.getZoneName(), instanceTypes, getAwsParamsDto());
-
-        Map<String, BigDecimal> instanceTypeSpotPrices = new HashMap<>();
-        for (SpotPrice spotPrice : spotPrices)
-        {
-            instanceTypeSpotPrices.put(spotPrice.getInstanceType(), new BigDecimal(spotPrice.getSpotPrice()));
-        }
-
         // Ensure that all of the specified instance types were found.
         // If not found, it probably means user tried to lookup non-existent types.
         Set<String> difference = new HashSet<>(instanceTypes);
@@ -574,7 +539,7 @@ public class EmrPricingHelper extends AwsHelper
      */
     private List<AvailabilityZone> getAvailabilityZones(List<Subnet> subnets)
     {
-        return ec2Dao.getAvailabilityZonesForSubnetIds(subnets, getAwsParamsDto());
+        return ec2PriceOracle.getAvailabilityZones(subnets, getAwsParamsDto());
     }
 
     /**
@@ -0,0 +1,126 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao.helper;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.retry.RetryUtils;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import org.finra.dm.core.DependencyMetrics;
+import org.finra.dm.core.DependencyMetricsRegistry;
+import org.finra.dm.dao.SqsOperations;
+
+/**
+ * Advice that records the calls made through the operations interfaces (e.g. S3, EMR or Oozie operations) in the dependency metrics, tagged with the calling
+ * service method. The latency of a call includes its retries. Operations that hand their work off to a transfer manager (e.g. upload) return before the
+ * transfer completes, so only the time to submit the transfer is recorded for them.
+ */
+@Component
+public class OperationsMetricsAdvice
+{
+    /**
+     * Invokes the method and records the call in the dependency metrics.
+     *
+     * @param pjp the join point.
+     *
+     * @return the return value of the method at the join point.
+     * @throws Throwable if any errors were encountered.
+     */
+    public Object recordOperationCall(ProceedingJoinPoint pjp) throws Throwable
+    {
+        DependencyMetrics dependencyMetrics = DependencyMetricsRegistry.getDependencyMetrics(getOperationName(pjp));
+
+        boolean error = true;
+        Object returnValue = null;
+        long startTimeNanos = System.nanoTime();
+        try
+        {
+            // Proceed to the join point (i.e. call the method and let it return).
+            returnValue = pjp.proceed();
+            error = false;
+            return returnValue;
+        }
+        catch (AmazonServiceException ase)
+        {
+            // Retried throttling errors are recorded by the retry advices, so only the throttling error that ends the call is recorded here.
+            if (RetryUtils.isThrottlingException(ase))
+            {
+                dependencyMetrics.recordThrottlingError(ase.getErrorCode());
+            }
+            throw ase;
+        }
+        finally
+        {
+            dependencyMetrics.recordCall(System.nanoTime() - startTimeNanos, error, error ? 0 : getBytesTransferred(pjp, returnValue));
+        }
+    }
+
+    /**
+     * Gets the name of the operation at the join point, i.e. the simple name of the operations interface and the method name (e.g. "S3Operations.putObject").
+     *
+     * @param pjp the join point.
+     *
+     * @return the operation name.
+     */
+    public String getOperationName(ProceedingJoinPoint pjp)
+    {
+        MethodSignature methodSignature = (MethodSignature) pjp.getSignature();
+        return methodSignature.getMethod().getDeclaringClass().getSimpleName() + "." + methodSignature.getName();
+    }
+
+    /**
+     * Gets the number of bytes transferred by an operation call. The bytes are known for S3 object puts and uploads, S3 object gets and SQS messages. Zero is
+     * returned for all the other operations.
+     *
+     * @param pjp the join point.
+     * @param returnValue the return value of the operation.
+     *
+     * @return the number of bytes transferred.
+     */
+    private long getBytesTransferred(ProceedingJoinPoint pjp, Object returnValue)
+    {
+        if (returnValue instanceof S3Object)
+        {
+            return ((S3Object) returnValue).getObjectMetadata().getContentLength();
+        }
+
+        Object[] args = pjp.getArgs();
+        if (args.length > 0 && args[0] instanceof PutObjectRequest)
+        {
+            PutObjectRequest putObjectRequest = (PutObjectRequest) args[0];
+            File file = putObjectRequest.getFile();
+            if (file != null)
+            {
+                return file.length();
+            }
+            return putObjectRequest.getMetadata() != null ? putObjectRequest.getMetadata().getContentLength() : 0;
+        }
+
+        if (pjp.getTarget() instanceof SqsOperations && args.length > 2 && args[2] instanceof String)
+        {
+            return ((String) args[2]).getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao.helper;
+
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderImpl;
+import org.hibernate.engine.jdbc.batch.internal.BatchingBatch;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+
+/**
+ * A Hibernate batch builder that only groups statements into JDBC batches on the threads that explicitly started batching (e.g. a bulk update). Every other
+ * statement is executed on its own, the way Hibernate does when "hibernate.jdbc.batch_size" isn't set. Batching has to stay started until the session is flushed, i.e. until
+ * the transaction that made the changes commits.
+ */
+public class ScopedBatchBuilder extends BatchBuilderImpl
+{
+    private static final ThreadLocal<Integer> CURRENT_BATCH_SIZE = new ThreadLocal<>();
+
+    /**
+     * Starts grouping the statements executed by the current thread into JDBC batches.
+     *
+     * @param batchSize the maximum number of statements per batch, a value of 1 or less doesn't batch the statements
+     */
+    public static void start(int batchSize)
+    {
+        CURRENT_BATCH_SIZE.set(batchSize);
+    }
+
+    /**
+     * Stops grouping the statements executed by the current thread into JDBC batches.
+     */
+    public static void stop()
+    {
+        CURRENT_BATCH_SIZE.remove();
+    }
+
+    @Override
+    public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator)
+    {
+        Integer batchSize = CURRENT_BATCH_SIZE.get();
+        return batchSize != null && batchSize > 1 ? new BatchingBatch(key, jdbcCoordinator, batchSize) : super.buildBatch(key, jdbcCoordinator);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao.helper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * A helper class for Smile functionality. Smile is a binary encoding of JSON that is more compact and cheaper to produce and parse than XML or JSON text. The
+ * model classes are mapped the same way they are for JSON so the Smile representation of an object is its JSON representation, minus the null values.
+ */
+@Component
+public class SmileHelper
+{
+    /**
+     * The media type of Smile encoded content.
+     */
+    public static final String SMILE_CONTENT_TYPE = "application/x-jackson-smile";
+
+    /**
+     * The object mapper is thread safe once configured so it is shared by all the callers.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates the Smile helper.
+     */
+    public SmileHelper()
+    {
+        objectMapper = new ObjectMapper(new SmileFactory());
+
+        // Same mapping as the one of the JSON REST responses, except that null values are left out since they are what make up most of a sparse response.
+        objectMapper.configure(MapperFeature.DEFAULT_VIEW_INCLUSION, false);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    /**
+     * Gets the object mapper that reads and writes Smile content.
+     *
+     * @return the object mapper
+     */
+    public ObjectMapper getObjectMapper()
+    {
+        return objectMapper;
+    }
+
+    /**
+     * Serializes any Java value as Smile output.
+     *
+     * @param object the Java object to be serialized
+     *
+     * @return the Smile representation of the object
+     * @throws IOException if an I/O error occurred
+     */
+    public byte[] objectToSmile(Object object) throws IOException
+    {
+        return objectMapper.writeValueAsBytes(object);
+    }
+
+    /**
+     * Deserializes Smile content from the given input stream.
+     *
+     * @param classType the class type of the object
+     * @param inputStream the input stream to read the Smile content from
+     *
+     * @return the object
+     * @throws IOException if there is an error in unmarshalling
+     */
+    public <T> T unmarshallSmileToObject(Class<T> classType, InputStream inputStream) throws IOException
+    {
+        return objectMapper.readValue(inputStream, classType);
+    }
+}
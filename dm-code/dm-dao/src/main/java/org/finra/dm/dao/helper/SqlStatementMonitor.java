@@ -0,0 +1,186 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao.helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.dm.core.DmDateUtils;
+import org.finra.dm.core.helper.ConfigurationHelper;
+import org.finra.dm.dao.SqlRequestStatistics;
+import org.finra.dm.model.api.xml.SlowQuery;
+import org.finra.dm.model.api.xml.SqlStatementStatistics;
+import org.finra.dm.model.dto.ConfigurationValue;
+
+/**
+ * Collects the executions of the SQL statements run through the DM data source. Statements that run longer than the configured threshold are captured as slow
+ * queries together with the shape of their bound parameters (i.e. the parameter types, never their values). Slow queries are grouped by SQL and parameter shape
+ * and only the most recently seen ones are kept.
+ */
+@Component
+public class SqlStatementMonitor
+{
+    private static final Logger LOGGER = Logger.getLogger(SqlStatementMonitor.class);
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    private final LongAdder statementCount = new LongAdder();
+
+    private final LongAdder totalExecutionTimeNanos = new LongAdder();
+
+    /**
+     * The captured slow queries keyed by SQL and parameter shape, in least recently seen order.
+     */
+    private final Map<String, CapturedSlowQuery> slowQueries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Records the execution of a SQL statement.
+     *
+     * @param sql the SQL of the statement
+     * @param parameterShape the shape of the bound parameters
+     * @param durationNanos the execution time in nanoseconds
+     */
+    public void recordStatement(String sql, String parameterShape, long durationNanos)
+    {
+        statementCount.increment();
+        totalExecutionTimeNanos.add(durationNanos);
+        SqlRequestStatistics.recordStatement(durationNanos);
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        if (durationMillis >= configurationHelper.getProperty(ConfigurationValue.JDBC_SLOW_QUERY_THRESHOLD_MILLIS, Long.class))
+        {
+            captureSlowQuery(sql, parameterShape, durationMillis);
+        }
+    }
+
+    /**
+     * Gets the statistics of the SQL statements run since the last reset, including the captured slow queries ordered by their maximum execution time.
+     *
+     * @return the SQL statement statistics
+     */
+    public SqlStatementStatistics getSqlStatementStatistics()
+    {
+        List<SlowQuery> slowQueryList = new ArrayList<>();
+        synchronized (slowQueries)
+        {
+            for (CapturedSlowQuery capturedSlowQuery : slowQueries.values())
+            {
+                slowQueryList.add(new SlowQuery(capturedSlowQuery.sql, capturedSlowQuery.parameterShape, capturedSlowQuery.executionCount,
+                    capturedSlowQuery.maxExecutionTimeMillis, capturedSlowQuery.totalExecutionTimeMillis,
+                    DmDateUtils.getXMLGregorianCalendarValue(new Date(capturedSlowQuery.lastExecutionTimeMillis))));
+            }
+        }
+
+        Collections.sort(slowQueryList, new Comparator<SlowQuery>()
+        {
+            @Override
+            public int compare(SlowQuery slowQuery1, SlowQuery slowQuery2)
+            {
+                return Long.compare(slowQuery2.getMaxExecutionTimeMillis(), slowQuery1.getMaxExecutionTimeMillis());
+            }
+        });
+
+        return new SqlStatementStatistics(statementCount.sum(), TimeUnit.NANOSECONDS.toMillis(totalExecutionTimeNanos.sum()),
+            configurationHelper.getProperty(ConfigurationValue.JDBC_SLOW_QUERY_THRESHOLD_MILLIS, Long.class), slowQueryList);
+    }
+
+    /**
+     * Clears the statement counts and the captured slow queries.
+     */
+    public void reset()
+    {
+        statementCount.reset();
+        totalExecutionTimeNanos.reset();
+        synchronized (slowQueries)
+        {
+            slowQueries.clear();
+        }
+    }
+
+    /**
+     * Captures a slow query, evicting the least recently seen slow query if the maximum number of slow queries is reached.
+     *
+     * @param sql the SQL of the statement
+     * @param parameterShape the shape of the bound parameters
+     * @param durationMillis the execution time in milliseconds
+     */
+    private void captureSlowQuery(String sql, String parameterShape, long durationMillis)
+    {
+        LOGGER.warn(String.format("Slow SQL statement took %d ms. sql=\"%s\" parameterShape=\"%s\"", durationMillis, sql, parameterShape));
+
+        int maxCaptured = configurationHelper.getProperty(ConfigurationValue.JDBC_SLOW_QUERY_MAX_CAPTURED, Integer.class);
+        String key = sql + '\n' + parameterShape;
+
+        synchronized (slowQueries)
+        {
+            CapturedSlowQuery capturedSlowQuery = slowQueries.get(key);
+            if (capturedSlowQuery == null)
+            {
+                while (!slowQueries.isEmpty() && slowQueries.size() >= maxCaptured)
+                {
+                    slowQueries.remove(slowQueries.keySet().iterator().next());
+                }
+                if (maxCaptured <= 0)
+                {
+                    return;
+                }
+                capturedSlowQuery = new CapturedSlowQuery(sql, parameterShape);
+                slowQueries.put(key, capturedSlowQuery);
+            }
+
+            capturedSlowQuery.executionCount++;
+            capturedSlowQuery.totalExecutionTimeMillis += durationMillis;
+            capturedSlowQuery.maxExecutionTimeMillis = Math.max(capturedSlowQuery.maxExecutionTimeMillis, durationMillis);
+            capturedSlowQuery.lastExecutionTimeMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * A captured slow query. Instances are only accessed while holding the lock on the slow queries map.
+     */
+    private static class CapturedSlowQuery
+    {
+        private final String sql;
+
+        private final String parameterShape;
+
+        private long executionCount;
+
+        private long totalExecutionTimeMillis;
+
+        private long maxExecutionTimeMillis;
+
+        private long lastExecutionTimeMillis;
+
+        CapturedSlowQuery(String sql, String parameterShape)
+        {
+            this.sql = sql;
+            this.parameterShape = parameterShape;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 
 import javax.persistence.CascadeType;
+import javax.persistence.LockModeType;
 import javax.persistence.OneToMany;
 import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -34,7 +35,6 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Join;
-import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
@@ -75,7 +75,11 @@ import org.finra.dm.model.jpa.CustomDdlEntity_;
 import org.finra.dm.model.jpa.DataProviderEntity;
 import org.finra.dm.model.jpa.DataProviderEntity_;
 import org.finra.dm.model.jpa.EmrClusterDefinitionEntity;
+import org.finra.dm.model.jpa.EmrClusterCreationLogEntity;
+import org.finra.dm.model.jpa.EmrClusterCreationLogEntity_;
 import org.finra.dm.model.jpa.EmrClusterDefinitionEntity_;
+import org.finra.dm.model.jpa.EmrClusterPoolEntity;
+import org.finra.dm.model.jpa.EmrClusterPoolEntity_;
 import org.finra.dm.model.jpa.ExpectedPartitionValueEntity;
 import org.finra.dm.model.jpa.ExpectedPartitionValueEntity_;
 import org.finra.dm.model.jpa.FileTypeEntity;
@@ -1335,6 +1339,53 @@ public class DmDaoImpl extends BaseJpaDaoImpl implements DmDao
         return entityManager.createQuery(criteria).getSingleResult();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BusinessObjectDataEntity> getLatestVersionBusinessObjectDataEntities(BusinessObjectFormatKey businessObjectFormatKey,
+        String startPartitionValue, String endPartitionValue)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BusinessObjectDataEntity> criteria = builder.createQuery(BusinessObjectDataEntity.class);
+
+        // The criteria root is the business object data.
+        Root<BusinessObjectDataEntity> businessObjectDataEntity = criteria.from(BusinessObjectDataEntity.class);
+
+        // Join to the other tables we can filter on.
+        Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> businessObjectFormatEntity =
+            businessObjectDataEntity.join(BusinessObjectDataEntity_.businessObjectFormat);
+        Join<BusinessObjectFormatEntity, FileTypeEntity> fileTypeEntity = businessObjectFormatEntity.join(BusinessObjectFormatEntity_.fileType);
+        Join<BusinessObjectFormatEntity, BusinessObjectDefinitionEntity> businessObjectDefinitionEntity =
+            businessObjectFormatEntity.join(BusinessObjectFormatEntity_.businessObjectDefinition);
+
+        // Create the standard restrictions based on the business object format key.
+        Predicate queryRestriction =
+            getQueryRestriction(builder, businessObjectFormatEntity, fileTypeEntity, businessObjectDefinitionEntity, businessObjectFormatKey, false);
+
+        // Add restrictions on the primary partition value range.
+        queryRestriction = builder.and(queryRestriction,
+            builder.greaterThanOrEqualTo(businessObjectDataEntity.get(BusinessObjectDataEntity_.partitionValue), startPartitionValue));
+        queryRestriction = builder.and(queryRestriction,
+            builder.lessThanOrEqualTo(businessObjectDataEntity.get(BusinessObjectDataEntity_.partitionValue), endPartitionValue));
+
+        // Only select the latest business object data versions.
+        queryRestriction = builder.and(queryRestriction, builder.isTrue(businessObjectDataEntity.get(BusinessObjectDataEntity_.latestVersion)));
+
+        // Add the clauses for the query.
+        criteria.select(businessObjectDataEntity).where(queryRestriction);
+
+        // Order by partition values.
+        criteria.orderBy(builder.asc(businessObjectDataEntity.get(BusinessObjectDataEntity_.partitionValue)),
+            builder.asc(businessObjectDataEntity.get(BusinessObjectDataEntity_.partitionValue2)),
+            builder.asc(businessObjectDataEntity.get(BusinessObjectDataEntity_.partitionValue3)),
+            builder.asc(businessObjectDataEntity.get(BusinessObjectDataEntity_.partitionValue4)),
+            builder.asc(businessObjectDataEntity.get(BusinessObjectDataEntity_.partitionValue5)));
+
+        return entityManager.createQuery(criteria).getResultList();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -2433,6 +2484,135 @@ public class DmDaoImpl extends BaseJpaDaoImpl implements DmDao
             .format("Found more than one EMR cluster definition with parameters {namespace=\"%s\", clusterDefinitionName=\"%s\"}.", namespace, definitionName));
     }
 
+    // EmrClusterCreationLog
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Timestamp getLatestEmrClusterCreationTime(String namespaceCd, String definitionName)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Timestamp> criteria = builder.createQuery(Timestamp.class);
+
+        // The criteria root is the EMR cluster creation log.
+        Root<EmrClusterCreationLogEntity> emrClusterCreationLog = criteria.from(EmrClusterCreationLogEntity.class);
+
+        // Join to the other tables we can filter on.
+        Join<EmrClusterCreationLogEntity, NamespaceEntity> namespace = emrClusterCreationLog.join(EmrClusterCreationLogEntity_.namespace);
+
+        // Create the standard restrictions (i.e. the standard where clauses).
+        Predicate namespaceRestriction = builder.equal(builder.upper(namespace.get(NamespaceEntity_.code)), namespaceCd.toUpperCase());
+        Predicate definitionNameRestriction =
+            builder.equal(builder.upper(emrClusterCreationLog.get(EmrClusterCreationLogEntity_.emrClusterDefinitionName)), definitionName.toUpperCase());
+
+        criteria.select(builder.greatest(emrClusterCreationLog.get(EmrClusterCreationLogEntity_.createdOn)))
+            .where(builder.and(namespaceRestriction, definitionNameRestriction));
+
+        return entityManager.createQuery(criteria).getSingleResult();
+    }
+
+    // EmrClusterPool
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<EmrClusterPoolEntity> getEmrClusterPoolEntities(EmrClusterDefinitionEntity emrClusterDefinitionEntity)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmrClusterPoolEntity> criteria = builder.createQuery(EmrClusterPoolEntity.class);
+
+        // The criteria root is the EMR cluster pool.
+        Root<EmrClusterPoolEntity> emrClusterPool = criteria.from(EmrClusterPoolEntity.class);
+
+        criteria.select(emrClusterPool).where(builder.equal(emrClusterPool.get(EmrClusterPoolEntity_.emrClusterDefinition), emrClusterDefinitionEntity))
+            .orderBy(builder.asc(emrClusterPool.get(EmrClusterPoolEntity_.id)));
+
+        return entityManager.createQuery(criteria).getResultList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<EmrClusterPoolEntity> getIdleEmrClusterPoolEntities(EmrClusterDefinitionEntity emrClusterDefinitionEntity, String emrClusterDefinitionHash)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmrClusterPoolEntity> criteria = builder.createQuery(EmrClusterPoolEntity.class);
+
+        // The criteria root is the EMR cluster pool.
+        Root<EmrClusterPoolEntity> emrClusterPool = criteria.from(EmrClusterPoolEntity.class);
+
+        // Create the standard restrictions (i.e. the standard where clauses).
+        Predicate queryRestriction = builder.equal(emrClusterPool.get(EmrClusterPoolEntity_.emrClusterDefinition), emrClusterDefinitionEntity);
+        queryRestriction = builder.and(queryRestriction, builder.isNull(emrClusterPool.get(EmrClusterPoolEntity_.leaseEmrClusterName)));
+
+        // Only add the definition hash restriction when a definition hash is specified.
+        if (emrClusterDefinitionHash != null)
+        {
+            queryRestriction =
+                builder.and(queryRestriction, builder.equal(emrClusterPool.get(EmrClusterPoolEntity_.emrClusterDefinitionHash), emrClusterDefinitionHash));
+        }
+
+        criteria.select(emrClusterPool).where(queryRestriction)
+            .orderBy(builder.asc(emrClusterPool.get(EmrClusterPoolEntity_.id)));
+
+        return entityManager.createQuery(criteria).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EmrClusterPoolEntity getLeasedEmrClusterPoolEntity(String namespaceCd, String definitionName, String leaseEmrClusterName)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmrClusterPoolEntity> criteria = builder.createQuery(EmrClusterPoolEntity.class);
+
+        // The criteria root is the EMR cluster pool.
+        Root<EmrClusterPoolEntity> emrClusterPool = criteria.from(EmrClusterPoolEntity.class);
+
+        // Join to the other tables we can filter on.
+        Join<EmrClusterPoolEntity, EmrClusterDefinitionEntity> emrClusterDefinition = emrClusterPool.join(EmrClusterPoolEntity_.emrClusterDefinition);
+        Join<EmrClusterDefinitionEntity, NamespaceEntity> namespace = emrClusterDefinition.join(EmrClusterDefinitionEntity_.namespace);
+
+        // Create the standard restrictions (i.e. the standard where clauses).
+        Predicate namespaceRestriction = builder.equal(builder.upper(namespace.get(NamespaceEntity_.code)), namespaceCd.toUpperCase());
+        Predicate definitionNameRestriction =
+            builder.equal(builder.upper(emrClusterDefinition.get(EmrClusterDefinitionEntity_.name)), definitionName.toUpperCase());
+        Predicate leaseRestriction =
+            builder.equal(builder.upper(emrClusterPool.get(EmrClusterPoolEntity_.leaseEmrClusterName)), leaseEmrClusterName.toUpperCase());
+
+        criteria.select(emrClusterPool).where(builder.and(namespaceRestriction, definitionNameRestriction, leaseRestriction));
+
+        return executeSingleResultQuery(criteria, String
+            .format("Found more than one pooled EMR cluster with parameters {namespace=\"%s\", clusterDefinitionName=\"%s\", leaseClusterName=\"%s\"}.",
+                namespaceCd, definitionName, leaseEmrClusterName));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EmrClusterPoolEntity getEmrClusterPoolEntityByEmrClusterId(String emrClusterId)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmrClusterPoolEntity> criteria = builder.createQuery(EmrClusterPoolEntity.class);
+
+        // The criteria root is the EMR cluster pool.
+        Root<EmrClusterPoolEntity> emrClusterPool = criteria.from(EmrClusterPoolEntity.class);
+
+        criteria.select(emrClusterPool).where(builder.equal(emrClusterPool.get(EmrClusterPoolEntity_.emrClusterId), emrClusterId));
+
+        return executeSingleResultQuery(criteria, String.format("Found more than one pooled EMR cluster with EMR cluster id \"%s\".", emrClusterId));
+    }
+
     // NotificationEvent
 
     /**
@@ -2539,64 +2719,6 @@ public class DmDaoImpl extends BaseJpaDaoImpl implements DmDao
         return businessObjectDataNotificationKeys;
     }
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public List<BusinessObjectDataNotificationRegistrationEntity> getBusinessObjectDataNotificationRegistrations(String notificationEventTypeCode,
-        BusinessObjectDataKey businessObjectDataKey)
-    {
-        // Create the criteria builder and the criteria.
-        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<BusinessObjectDataNotificationRegistrationEntity> criteria = builder.createQuery(BusinessObjectDataNotificationRegistrationEntity.class);
-
-        // The criteria root is the business object data notification registration entity.
-        Root<BusinessObjectDataNotificationRegistrationEntity> businessObjectDataNotificationEntity =
-            criteria.from(BusinessObjectDataNotificationRegistrationEntity.class);
-
-        // Join to the other tables we can filter on.
-        Join<BusinessObjectDataNotificationRegistrationEntity, NamespaceEntity> namespaceEntity =
-            businessObjectDataNotificationEntity.join(BusinessObjectDataNotificationRegistrationEntity_.namespace);
-        Join<BusinessObjectDataNotificationRegistrationEntity, NotificationEventTypeEntity> notificationEventTypeEntity =
-            businessObjectDataNotificationEntity.join(BusinessObjectDataNotificationRegistrationEntity_.notificationEventType);
-        Join<BusinessObjectDataNotificationRegistrationEntity, BusinessObjectDefinitionEntity> businessObjectDefinitionEntity =
-            businessObjectDataNotificationEntity.join(BusinessObjectDataNotificationRegistrationEntity_.businessObjectDefinition);
-        Join<BusinessObjectDefinitionEntity, NamespaceEntity> businessObjectDefinitionNamespaceEntity =
-            businessObjectDefinitionEntity.join(BusinessObjectDefinitionEntity_.namespace);
-        Join<BusinessObjectDataNotificationRegistrationEntity, FileTypeEntity> fileTypeEntity =
-            businessObjectDataNotificationEntity.join(BusinessObjectDataNotificationRegistrationEntity_.fileType, JoinType.LEFT);
-
-        // Create the standard restrictions (i.e. the standard where clauses).
-        Predicate queryRestriction =
-            builder.equal(builder.upper(notificationEventTypeEntity.get(NotificationEventTypeEntity_.code)), notificationEventTypeCode.toUpperCase());
-        queryRestriction = builder.and(queryRestriction, builder
-            .equal(builder.upper(businessObjectDefinitionNamespaceEntity.get(NamespaceEntity_.code)), businessObjectDataKey.getNamespace().toUpperCase()));
-        queryRestriction = builder.and(queryRestriction, builder.equal(builder.upper(businessObjectDefinitionEntity.get(BusinessObjectDefinitionEntity_.name)),
-            businessObjectDataKey.getBusinessObjectDefinitionName().toUpperCase()));
-        queryRestriction = builder.and(queryRestriction, builder
-            .or(builder.isNull(businessObjectDataNotificationEntity.get(BusinessObjectDataNotificationRegistrationEntity_.usage)), builder
-                .equal(builder.upper(businessObjectDataNotificationEntity.get(BusinessObjectDataNotificationRegistrationEntity_.usage)),
-                    businessObjectDataKey.getBusinessObjectFormatUsage().toUpperCase())));
-        queryRestriction = builder.and(queryRestriction, builder
-            .or(builder.isNull(businessObjectDataNotificationEntity.get(BusinessObjectDataNotificationRegistrationEntity_.fileType)),
-                builder.equal(builder.upper(fileTypeEntity.get(FileTypeEntity_.code)), businessObjectDataKey.getBusinessObjectFormatFileType().toUpperCase())));
-        queryRestriction = builder.and(queryRestriction, builder
-            .or(builder.isNull(businessObjectDataNotificationEntity.get(BusinessObjectDataNotificationRegistrationEntity_.businessObjectFormatVersion)), builder
-                .equal(businessObjectDataNotificationEntity.get(BusinessObjectDataNotificationRegistrationEntity_.businessObjectFormatVersion),
-                    businessObjectDataKey.getBusinessObjectFormatVersion())));
-
-        // Order the results by namespace and notification name.
-        List<Order> orderBy = new ArrayList<>();
-        orderBy.add(builder.asc(namespaceEntity.get(NamespaceEntity_.code)));
-        orderBy.add(builder.asc(businessObjectDataNotificationEntity.get(BusinessObjectDataNotificationRegistrationEntity_.name)));
-
-        // Add the clauses for the query.
-        criteria.select(businessObjectDataNotificationEntity).where(queryRestriction).orderBy(orderBy);
-
-        // Execute the query and return the results.
-        return entityManager.createQuery(criteria).getResultList();
-    }
-
     // SecurityFunction
 
     /**
@@ -358,6 +358,34 @@ public class EmrDaoImpl implements EmrDao
         return null;
     }
 
+    /**
+     * Gets all the active EMR clusters. Cluster only in following states are returned: ClusterState.BOOTSTRAPPING, ClusterState.RUNNING,
+     * ClusterState.STARTING, ClusterState.WAITING
+     *
+     * @param awsParams AWS related parameters for access/secret keys and proxy details.
+     *
+     * @return the list of ClusterSummary objects.
+     */
+    @Override
+    public List<ClusterSummary> getActiveEmrClusters(AwsParamsDto awsParams)
+    {
+        List<ClusterSummary> clusterSummaries = new ArrayList<>();
+
+        ListClustersRequest listClustersRequest = new ListClustersRequest().withClusterStates(getActiveEmrClusterStates());
+        String markerForListClusters = null;
+
+        // ListClusters returns only 50 clusters at a time, so keep following the returned marker until all the clusters are listed.
+        do
+        {
+            ListClustersResult clusterResult = emrOperations.listEmrClusters(getEmrClient(awsParams), listClustersRequest.withMarker(markerForListClusters));
+            clusterSummaries.addAll(clusterResult.getClusters());
+            markerForListClusters = clusterResult.getMarker();
+        }
+        while (markerForListClusters != null);
+
+        return clusterSummaries;
+    }
+
     /**
      * Gets the active step on the cluster if any.
      *
@@ -15,9 +15,17 @@
 */
 package org.finra.dm.dao.impl;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.oozie.client.OozieClient;
@@ -80,6 +88,11 @@ public class OozieDaoImpl implements OozieDao
 
     private static final String CLIENT_WORKFLOW_S3_LOCATION_VARIABLE = "client_workflow_s3_location";
 
+    /*
+     * The number of cached Oozie clients above which the cache is cleared, so the clients of terminated clusters do not accumulate.
+     */
+    private static final int MAX_CACHED_OOZIE_CLIENTS = 1000;
+
     @Autowired
     private ConfigurationHelper configurationHelper;
 
@@ -89,6 +102,11 @@ public class OozieDaoImpl implements OozieDao
     @Autowired
     private EmrHelper emrHelper;
 
+    /*
+     * The Oozie clients keyed by the Oozie URL, so the calls made to the Oozie server of a cluster share the same client.
+     */
+    private final Map<String, OozieClient> oozieClients = new ConcurrentHashMap<>();
+
     /**
      * {@inheritDoc}
      */
@@ -155,6 +173,77 @@ public class OozieDaoImpl implements OozieDao
         return workflowJob;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<WorkflowJob> getEmrOozieWorkflows(final String masterIpAddress, List<String> emrOozieWorkflowIds) throws OozieClientException
+    {
+        List<WorkflowJob> workflowJobs = new ArrayList<>();
+
+        int maxThreads = Math.min(configurationHelper.getProperty(ConfigurationValue.EMR_OOZIE_JOBS_MAX_THREADS, Integer.class), emrOozieWorkflowIds.size());
+
+        if (maxThreads <= 1)
+        {
+            for (String emrOozieWorkflowId : emrOozieWorkflowIds)
+            {
+                workflowJobs.add(getEmrOozieWorkflow(masterIpAddress, emrOozieWorkflowId));
+            }
+            return workflowJobs;
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(maxThreads);
+
+        try
+        {
+            List<Future<WorkflowJob>> futures = new ArrayList<>();
+
+            for (final String emrOozieWorkflowId : emrOozieWorkflowIds)
+            {
+                futures.add(executorService.submit(new Callable<WorkflowJob>()
+                {
+                    @Override
+                    public WorkflowJob call() throws Exception
+                    {
+                        return getEmrOozieWorkflow(masterIpAddress, emrOozieWorkflowId);
+                    }
+                }));
+            }
+
+            for (Future<WorkflowJob> future : futures)
+            {
+                try
+                {
+                    workflowJobs.add(future.get());
+                }
+                catch (ExecutionException e)
+                {
+                    // Re-throw the original exception, so the Oozie exceptions get handled the same way as when retrieving sequentially.
+                    if (e.getCause() instanceof OozieClientException)
+                    {
+                        throw (OozieClientException) e.getCause();
+                    }
+                    if (e.getCause() instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while retrieving oozie workflow jobs.", e);
+                }
+            }
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+
+        return workflowJobs;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -174,7 +263,7 @@ public class OozieDaoImpl implements OozieDao
     }
     
     /**
-     * Builds the Oozie client for the given master IP address.
+     * Gets the Oozie client for the given master IP address. The client is built on the first call and reused afterwards.
      * 
      * @param masterIpAddress the IP address of oozie master server.
      * @return the OozieClient.
@@ -184,6 +273,19 @@ public class OozieDaoImpl implements OozieDao
         ConfigurationValue configurationValue = ConfigurationValue.EMR_OOZIE_URL_TEMPLATE;
         String oozieUrlTemplate = configurationHelper.getProperty(configurationValue);
         String oozieUrl = String.format(oozieUrlTemplate, masterIpAddress);
-        return new OozieClient(oozieUrl);
+
+        OozieClient oozieClient = oozieClients.get(oozieUrl);
+        if (oozieClient == null)
+        {
+            if (oozieClients.size() >= MAX_CACHED_OOZIE_CLIENTS)
+            {
+                oozieClients.clear();
+            }
+
+            oozieClient = new OozieClient(oozieUrl);
+            oozieClients.put(oozieUrl, oozieClient);
+        }
+
+        return oozieClient;
     }
 }
@@ -20,10 +20,16 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
@@ -41,6 +47,7 @@ import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.MultipartUpload;
 import com.amazonaws.services.s3.model.MultipartUploadListing;
 import com.amazonaws.services.s3.model.ObjectListing;
@@ -58,6 +65,7 @@ import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
 import com.amazonaws.services.s3.transfer.Transfer;
 import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerConfiguration;
 import com.amazonaws.services.s3.transfer.TransferProgress;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
@@ -68,10 +76,13 @@ import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
 import org.finra.dm.core.DmDateUtils;
+import org.finra.dm.core.helper.ConfigurationHelper;
 import org.finra.dm.dao.S3Dao;
 import org.finra.dm.dao.S3Operations;
+import org.finra.dm.dao.StorageFileHandler;
 import org.finra.dm.dao.helper.JavaPropertiesHelper;
 import org.finra.dm.model.ObjectNotFoundException;
+import org.finra.dm.model.dto.ConfigurationValue;
 import org.finra.dm.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.dm.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.dm.model.dto.S3FileTransferResultsDto;
@@ -97,6 +108,9 @@ public class S3DaoImpl implements S3Dao
     @Autowired
     private JavaPropertiesHelper javaPropertiesHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Override
     public ObjectMetadata getObjectMetadata(final S3FileTransferRequestParamsDto params)
     {
@@ -192,7 +206,125 @@ public class S3DaoImpl implements S3Dao
     @Override
     public List<StorageFile> listDirectory(final S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers)
     {
-        return listObjectsMatchingKeyPrefix(params, ignoreZeroByteDirectoryMarkers);
+        final List<StorageFile> storageFiles = new ArrayList<>();
+
+        listDirectory(params, ignoreZeroByteDirectoryMarkers, new StorageFileHandler()
+        {
+            @Override
+            public void handle(List<StorageFile> listedStorageFiles)
+            {
+                storageFiles.addAll(listedStorageFiles);
+            }
+        });
+
+        // The sub-prefixes of a large listing get listed concurrently, so restore the key order that S3 lists the objects in.
+        Collections.sort(storageFiles, new Comparator<StorageFile>()
+        {
+            @Override
+            public int compare(StorageFile storageFile1, StorageFile storageFile2)
+            {
+                return storageFile1.getFilePath().compareTo(storageFile2.getFilePath());
+            }
+        });
+
+        return storageFiles;
+    }
+
+    @Override
+    public void listDirectory(final S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers, StorageFileHandler storageFileHandler)
+    {
+        AmazonS3Client s3Client = null;
+
+        try
+        {
+            s3Client = getAmazonS3(params);
+
+            // List the first page. Most prefixes fit in a single page, in which case there is nothing to split.
+            ListObjectsRequest listObjectsRequest = new ListObjectsRequest().withBucketName(params.getS3BucketName()).withPrefix(params.getS3KeyPrefix());
+            ObjectListing objectListing = s3Operations.listObjects(listObjectsRequest, s3Client);
+            handleObjectListing(objectListing, null, ignoreZeroByteDirectoryMarkers, storageFileHandler);
+
+            if (objectListing.isTruncated())
+            {
+                int maxThreads = configurationHelper.getProperty(ConfigurationValue.S3_LIST_MAX_THREADS, Integer.class);
+
+                if (maxThreads > 1)
+                {
+                    listObjectsBySubPrefix(params, objectListing.getNextMarker(), maxThreads, ignoreZeroByteDirectoryMarkers, storageFileHandler, s3Client);
+                }
+                else
+                {
+                    listObjects(params.getS3BucketName(), params.getS3KeyPrefix(), objectListing.getNextMarker(), ignoreZeroByteDirectoryMarkers,
+                        storageFileHandler, s3Client);
+                }
+            }
+        }
+        catch (AmazonS3Exception amazonS3Exception)
+        {
+            if (S3Operations.ERROR_CODE_NO_SUCH_BUCKET.equals(amazonS3Exception.getErrorCode()))
+            {
+                throw new IllegalArgumentException("The specified bucket '" + params.getS3BucketName() + "' does not exist.", amazonS3Exception);
+            }
+            throw new IllegalStateException("Error accessing S3", amazonS3Exception);
+        }
+        catch (AmazonClientException e)
+        {
+            throw new IllegalStateException(String
+                .format("Failed to list keys/objects with prefix \"%s\" from bucket \"%s\". Reason: %s", params.getS3KeyPrefix(), params.getS3BucketName(),
+                    e.getMessage()), e);
+        }
+        catch (InterruptedException e)
+        {
+            throw new IllegalStateException(String
+                .format("Interrupted while listing keys/objects with prefix \"%s\" from bucket \"%s\".", params.getS3KeyPrefix(), params.getS3BucketName()),
+                e);
+        }
+        finally
+        {
+            // Shutdown the AmazonS3Client instance to release resources.
+            if (s3Client != null)
+            {
+                s3Client.shutdown();
+            }
+        }
+    }
+
+    @Override
+    public boolean isDirectoryEmpty(final S3FileTransferRequestParamsDto params)
+    {
+        AmazonS3Client s3Client = null;
+
+        try
+        {
+            s3Client = getAmazonS3(params);
+
+            // A single key is enough to tell that the prefix is not empty.
+            ListObjectsRequest listObjectsRequest =
+                new ListObjectsRequest().withBucketName(params.getS3BucketName()).withPrefix(params.getS3KeyPrefix()).withMaxKeys(1);
+            return s3Operations.listObjects(listObjectsRequest, s3Client).getObjectSummaries().isEmpty();
+        }
+        catch (AmazonS3Exception amazonS3Exception)
+        {
+            if (S3Operations.ERROR_CODE_NO_SUCH_BUCKET.equals(amazonS3Exception.getErrorCode()))
+            {
+                throw new IllegalArgumentException("The specified bucket '" + params.getS3BucketName() + "' does not exist.", amazonS3Exception);
+            }
+            throw new IllegalStateException("Error accessing S3", amazonS3Exception);
+        }
+        catch (AmazonClientException e)
+        {
+            throw new IllegalStateException(String
+                .format("Failed to list keys/objects with prefix \"%s\" from bucket \"%s\". Reason: %s", params.getS3KeyPrefix(), params.getS3BucketName(),
+                    e.getMessage()), e);
+        }
+        finally
+        {
+            // Shutdown the AmazonS3Client instance to release resources.
+            if (s3Client != null)
+            {
+                s3Client.shutdown();
+            }
+        }
     }
 
     @Override
@@ -292,7 +424,14 @@ public class S3DaoImpl implements S3Dao
             @Override
             public Transfer performTransfer(TransferManager transferManager)
             {
-                // Create a copy request.
+                // Copy large objects as multipart copies, so the parts get copied in parallel by the transfer manager threads.
+                TransferManagerConfiguration transferManagerConfiguration = new TransferManagerConfiguration();
+                transferManagerConfiguration
+                    .setMultipartCopyThreshold(configurationHelper.getProperty(ConfigurationValue.S3_COPY_MULTIPART_THRESHOLD_BYTES, Long.class));
+                transferManagerConfiguration.setMultipartCopyPartSize(configurationHelper.getProperty(ConfigurationValue.S3_COPY_PART_SIZE_BYTES, Long.class));
+                transferManager.setConfiguration(transferManagerConfiguration);
+
+                // Create a copy request. The KMS parameters get applied to every part of a multipart copy.
                 CopyObjectRequest copyObjectRequest =
                     new CopyObjectRequest(params.getSourceBucketName(), params.getS3KeyPrefix(), params.getTargetBucketName(), params.getS3KeyPrefix());
                 copyObjectRequest.withSSEAwsKeyManagementParams(new SSEAwsKeyManagementParams(params.getKmsKeyId()));
@@ -359,6 +498,7 @@ public class S3DaoImpl implements S3Dao
     public void deleteFileList(final S3FileTransferRequestParamsDto params)
     {
         AmazonS3Client s3Client = null;
+        S3BatchDeleter s3BatchDeleter = null;
 
         LOGGER.info(String.format("Deleting %d keys/objects from s3://%s ...", params.getFiles().size(), params.getS3BucketName()));
 
@@ -367,32 +507,16 @@ public class S3DaoImpl implements S3Dao
             // In order to avoid a MalformedXML AWS exception, we send delete request only when we have any keys to delete.
             if (!params.getFiles().isEmpty())
             {
-                // Build a list of keys to be deleted.
-                List<DeleteObjectsRequest.KeyVersion> keys = new ArrayList<>();
-                for (File file : params.getFiles())
-                {
-                    keys.add(new DeleteObjectsRequest.KeyVersion(file.getPath().replaceAll("\\\\", "/")));
-                }
-
-                DeleteObjectsRequest multiObjectDeleteRequest = new DeleteObjectsRequest(params.getS3BucketName());
                 s3Client = getAmazonS3(params);
+                s3BatchDeleter = new S3BatchDeleter(params.getS3BucketName(), s3Client);
 
-                // The Multi-Object Delete request can contain a list of up to 1000 keys.
-                for (int i = 0; i < keys.size() / MAX_KEYS_PER_DELETE_REQUEST + 1; i++)
+                // Queue the keys to be deleted. The deleter sends a multi-object delete request as soon as a full batch of keys is available.
+                for (File file : params.getFiles())
                 {
-                    List<DeleteObjectsRequest.KeyVersion> keysSubList =
-                        keys.subList(i * MAX_KEYS_PER_DELETE_REQUEST, Math.min(keys.size(), (i + 1) * MAX_KEYS_PER_DELETE_REQUEST));
-                    multiObjectDeleteRequest.setKeys(keysSubList);
-                    s3Operations.deleteObjects(multiObjectDeleteRequest, s3Client);
-
-                    LOGGER.info(String.format("Successfully requested the deletion of the following %d keys/objects from bucket \"%s\":", keysSubList.size(),
-                        params.getS3BucketName()));
-
-                    for (DeleteObjectsRequest.KeyVersion keyVersion : keysSubList)
-                    {
-                        LOGGER.info(String.format("    s3://%s/%s", params.getS3BucketName(), keyVersion.getKey()));
-                    }
+                    s3BatchDeleter.delete(file.getPath().replaceAll("\\\\", "/"));
                 }
+
+                s3BatchDeleter.awaitCompletion();
             }
         }
         catch (Exception e)
@@ -402,6 +526,11 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
+            if (s3BatchDeleter != null)
+            {
+                s3BatchDeleter.shutdown();
+            }
+
             // Shutdown the AmazonS3Client instance to release resources.
             if (s3Client != null)
             {
@@ -414,6 +543,7 @@ public class S3DaoImpl implements S3Dao
     public void deleteDirectory(final S3FileTransferRequestParamsDto params)
     {
         AmazonS3Client s3Client = null;
+        S3BatchDeleter s3BatchDeleter = null;
 
         LOGGER.info(String.format("Deleting keys/objects from s3://%s/%s ...", params.getS3BucketName(), params.getS3KeyPrefix()));
 
@@ -421,40 +551,32 @@ public class S3DaoImpl implements S3Dao
 
         try
         {
-            // List S3 object including any 0 byte objects that represent S3 directories.
-            List<StorageFile> storageFiles = listObjectsMatchingKeyPrefix(params, false);
-            LOGGER.info(String.format("Found %d keys/objects in s3://%s/%s ...", storageFiles.size(), params.getS3BucketName(), params.getS3KeyPrefix()));
+            s3Client = getAmazonS3(params);
+            s3BatchDeleter = new S3BatchDeleter(params.getS3BucketName(), s3Client);
 
-            // In order to avoid a MalformedXML AWS exception, we send delete request only when we have any keys to delete.
-            if (!storageFiles.isEmpty())
+            // List S3 objects including any 0 byte objects that represent S3 directories. The keys get deleted while the rest of the listing is still being
+            // retrieved, since the deleter sends a multi-object delete request as soon as a full batch of keys is available.
+            ListObjectsRequest listObjectsRequest = new ListObjectsRequest().withBucketName(params.getS3BucketName()).withPrefix(params.getS3KeyPrefix());
+            ObjectListing objectListing;
+            int keyCount = 0;
+
+            do
             {
-                DeleteObjectsRequest multiObjectDeleteRequest = new DeleteObjectsRequest(params.getS3BucketName());
-                s3Client = getAmazonS3(params);
+                objectListing = s3Operations.listObjects(listObjectsRequest, s3Client);
 
-                // The Multi-Object Delete request can contain a list of up to 1000 keys.
-                for (int i = 0; i < storageFiles.size() / MAX_KEYS_PER_DELETE_REQUEST + 1; i++)
+                for (S3ObjectSummary objectSummary : objectListing.getObjectSummaries())
                 {
-                    // Prepare a list of S3 object keys to be deleted.
-                    List<DeleteObjectsRequest.KeyVersion> keys = new ArrayList<>();
-                    for (StorageFile storageFile : storageFiles
-                        .subList(i * MAX_KEYS_PER_DELETE_REQUEST, Math.min(storageFiles.size(), (i + 1) * MAX_KEYS_PER_DELETE_REQUEST)))
-                    {
-                        keys.add(new DeleteObjectsRequest.KeyVersion(storageFile.getFilePath()));
-                    }
+                    s3BatchDeleter.delete(objectSummary.getKey());
+                    keyCount++;
+                }
 
-                    // Delete the S3 objects.
-                    multiObjectDeleteRequest.setKeys(keys);
-                    s3Operations.deleteObjects(multiObjectDeleteRequest, s3Client);
+                listObjectsRequest.setMarker(objectListing.getNextMarker());
+            }
+            while (objectListing.isTruncated());
 
-                    LOGGER.info(String.format("Successfully deleted the following %d keys/objects with prefix \"%s\" from bucket \"%s\":", keys.size(),
-                        params.getS3KeyPrefix(), params.getS3BucketName()));
+            LOGGER.info(String.format("Found %d keys/objects in s3://%s/%s ...", keyCount, params.getS3BucketName(), params.getS3KeyPrefix()));
 
-                    for (DeleteObjectsRequest.KeyVersion keyVersion : keys)
-                    {
-                        LOGGER.info(String.format("    s3://%s/%s", params.getS3BucketName(), keyVersion.getKey()));
-                    }
-                }
-            }
+            s3BatchDeleter.awaitCompletion();
         }
         catch (AmazonClientException e)
         {
@@ -462,8 +584,19 @@ public class S3DaoImpl implements S3Dao
                 .format("Failed to delete keys/objects with prefix \"%s\" from bucket \"%s\". Reason: %s", params.getS3KeyPrefix(), params.getS3BucketName(),
                     e.getMessage()), e);
         }
+        catch (InterruptedException e)
+        {
+            throw new IllegalStateException(String
+                .format("Interrupted while deleting keys/objects with prefix \"%s\" from bucket \"%s\".", params.getS3KeyPrefix(), params.getS3BucketName()),
+                e);
+        }
         finally
         {
+            if (s3BatchDeleter != null)
+            {
+                s3BatchDeleter.shutdown();
+            }
+
             // Shutdown the AmazonS3Client instance to release resources.
             if (s3Client != null)
             {
@@ -827,6 +960,152 @@ public class S3DaoImpl implements S3Dao
         public Transfer performTransfer(TransferManager transferManager);
     }
 
+    /**
+     * Deletes a batch of up to 1000 keys/objects using a single multi-object delete request. The keys/objects that S3 reports as not deleted are sent again in
+     * a follow-up request until the configured maximum number of attempts is reached.
+     *
+     * @param bucketName the S3 bucket name
+     * @param keys the keys/objects to delete
+     * @param s3Client the S3 client
+     *
+     * @throws InterruptedException if interrupted while waiting to retry the failed keys/objects
+     */
+    private void deleteKeys(String bucketName, List<DeleteObjectsRequest.KeyVersion> keys, AmazonS3Client s3Client) throws InterruptedException
+    {
+        int maxAttempts = configurationHelper.getProperty(ConfigurationValue.S3_DELETE_MAX_ATTEMPTS, Integer.class);
+        List<DeleteObjectsRequest.KeyVersion> remainingKeys = keys;
+
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                DeleteObjectsRequest multiObjectDeleteRequest = new DeleteObjectsRequest(bucketName);
+                multiObjectDeleteRequest.setKeys(remainingKeys);
+                s3Operations.deleteObjects(multiObjectDeleteRequest, s3Client);
+                break;
+            }
+            catch (MultiObjectDeleteException e)
+            {
+                if (attempt >= maxAttempts)
+                {
+                    throw e;
+                }
+
+                // Only retry the keys/objects that failed to get deleted.
+                remainingKeys = new ArrayList<>();
+                for (MultiObjectDeleteException.DeleteError deleteError : e.getErrors())
+                {
+                    remainingKeys.add(new DeleteObjectsRequest.KeyVersion(deleteError.getKey(), deleteError.getVersionId()));
+                }
+
+                LOGGER.warn(String.format("Failed to delete %d keys/objects from bucket \"%s\" on attempt %d of %d. Reason: %s", remainingKeys.size(),
+                    bucketName, attempt, maxAttempts, e.getMessage()));
+
+                Thread.sleep(SLEEP_INTERVAL_MILLIS * attempt);
+            }
+        }
+
+        LOGGER.info(String.format("Successfully deleted the following %d keys/objects from bucket \"%s\":", keys.size(), bucketName));
+
+        for (DeleteObjectsRequest.KeyVersion keyVersion : keys)
+        {
+            LOGGER.info(String.format("    s3://%s/%s", bucketName, keyVersion.getKey()));
+        }
+    }
+
+    /**
+     * Collects keys/objects to be deleted into batches of up to 1000 keys (the maximum supported by a single multi-object delete request) and deletes the
+     * batches on a pool of threads, so the caller can keep collecting keys while the previous batches are being deleted.
+     */
+    private class S3BatchDeleter
+    {
+        private final String bucketName;
+
+        private final AmazonS3Client s3Client;
+
+        private final ExecutorService executorService;
+
+        private final List<Future<Void>> futures = new ArrayList<>();
+
+        private List<DeleteObjectsRequest.KeyVersion> keys = new ArrayList<>();
+
+        S3BatchDeleter(String bucketName, AmazonS3Client s3Client)
+        {
+            this.bucketName = bucketName;
+            this.s3Client = s3Client;
+            this.executorService = Executors.newFixedThreadPool(configurationHelper.getProperty(ConfigurationValue.S3_DELETE_MAX_THREADS, Integer.class));
+        }
+
+        /**
+         * Queues a key/object for deletion. The current batch gets submitted once it is full.
+         *
+         * @param key the S3 key
+         */
+        void delete(String key)
+        {
+            keys.add(new DeleteObjectsRequest.KeyVersion(key));
+
+            if (keys.size() == MAX_KEYS_PER_DELETE_REQUEST)
+            {
+                submitBatch();
+            }
+        }
+
+        /**
+         * Submits any remaining keys and waits for all the batches to be deleted.
+         *
+         * @throws InterruptedException if interrupted while waiting
+         */
+        void awaitCompletion() throws InterruptedException
+        {
+            submitBatch();
+
+            for (Future<Void> future : futures)
+            {
+                try
+                {
+                    future.get();
+                }
+                catch (ExecutionException e)
+                {
+                    // Re-throw the original exception, so the callers can handle the AWS exceptions the same way they did before.
+                    if (e.getCause() instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+                }
+            }
+        }
+
+        /**
+         * Stops any batches that are still running and releases the threads.
+         */
+        void shutdown()
+        {
+            executorService.shutdownNow();
+        }
+
+        private void submitBatch()
+        {
+            if (!keys.isEmpty())
+            {
+                final List<DeleteObjectsRequest.KeyVersion> batchKeys = keys;
+                keys = new ArrayList<>();
+
+                futures.add(executorService.submit(new Callable<Void>()
+                {
+                    @Override
+                    public Void call() throws Exception
+                    {
+                        deleteKeys(bucketName, batchKeys, s3Client);
+                        return null;
+                    }
+                }));
+            }
+        }
+    }
+
     /**
      * Returns transfer rate in kBytes/s.  Please note that bytes->kBytes and ms->seconds conversions cancel each other (both use conversion factor of 1000).
      *
@@ -854,66 +1133,142 @@ public class S3DaoImpl implements S3Dao
     }
 
     /**
-     * Lists all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name). The S3 bucket name and S3 key prefix that identify the S3 objects
-     * to get listed are taken from the S3 file transfer request parameters DTO.
+     * Lists the S3 objects matching the S3 key prefix that come after the marker by splitting the key space into the sub-prefixes found under the S3 key
+     * prefix (e.g. the partition sub-directories) and listing the sub-prefixes concurrently. The S3 objects directly under the S3 key prefix are handled
+     * while the sub-prefixes are being discovered.
      *
      * @param params the S3 file transfer request parameters
+     * @param marker the key after which to list the S3 objects
+     * @param maxThreads the maximum number of sub-prefixes to list at the same time
      * @param ignoreZeroByteDirectoryMarkers specifies whether to ignore 0 byte objects that represent S3 directories
+     * @param storageFileHandler the handler that receives the S3 objects represented as storage files
+     * @param s3Client the S3 client
      *
-     * @return the list of all S3 objects represented as storage files that match the prefix in the given bucket
+     * @throws InterruptedException if interrupted while waiting for the sub-prefixes to get listed
      */
-    private List<StorageFile> listObjectsMatchingKeyPrefix(final S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers)
+    private void listObjectsBySubPrefix(final S3FileTransferRequestParamsDto params, final String marker, int maxThreads,
+        final boolean ignoreZeroByteDirectoryMarkers, final StorageFileHandler storageFileHandler, final AmazonS3Client s3Client) throws InterruptedException
     {
-        AmazonS3Client s3Client = null;
-        List<StorageFile> storageFiles = new ArrayList<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(maxThreads);
 
         try
         {
-            s3Client = getAmazonS3(params);
-            ListObjectsRequest listObjectsRequest = new ListObjectsRequest().withBucketName(params.getS3BucketName()).withPrefix(params.getS3KeyPrefix());
+            List<Future<Void>> futures = new ArrayList<>();
+
+            ListObjectsRequest listObjectsRequest = new ListObjectsRequest().withBucketName(params.getS3BucketName()).withPrefix(params.getS3KeyPrefix())
+                .withDelimiter(configurationHelper.getProperty(ConfigurationValue.S3_URL_PATH_DELIMITER));
             ObjectListing objectListing;
 
             do
             {
                 objectListing = s3Operations.listObjects(listObjectsRequest, s3Client);
 
-                for (S3ObjectSummary objectSummary : objectListing.getObjectSummaries())
+                handleObjectListing(objectListing, marker, ignoreZeroByteDirectoryMarkers, storageFileHandler);
+
+                for (final String subPrefix : objectListing.getCommonPrefixes())
                 {
-                    // Ignore 0 byte objects that represent S3 directories.
-                    if (!(ignoreZeroByteDirectoryMarkers && objectSummary.getKey().endsWith("/") && objectSummary.getSize() == 0L))
+                    // Skip the sub-prefixes that were fully listed before the marker. The sub-prefix that contains the marker is listed from the marker on.
+                    if (subPrefix.compareTo(marker) > 0 || marker.startsWith(subPrefix))
                     {
-                        storageFiles.add(new StorageFile(objectSummary.getKey(), objectSummary.getSize(), null));
+                        futures.add(executorService.submit(new Callable<Void>()
+                        {
+                            @Override
+                            public Void call() throws Exception
+                            {
+                                listObjects(params.getS3BucketName(), subPrefix, marker.startsWith(subPrefix) ? marker : null, ignoreZeroByteDirectoryMarkers,
+                                    storageFileHandler, s3Client);
+                                return null;
+                            }
+                        }));
                     }
                 }
 
                 listObjectsRequest.setMarker(objectListing.getNextMarker());
             }
             while (objectListing.isTruncated());
-        }
-        catch (AmazonS3Exception amazonS3Exception)
-        {
-            if (S3Operations.ERROR_CODE_NO_SUCH_BUCKET.equals(amazonS3Exception.getErrorCode()))
+
+            LOGGER.info(String.format("Listing %d sub-prefixes of s3://%s/%s ...", futures.size(), params.getS3BucketName(), params.getS3KeyPrefix()));
+
+            for (Future<Void> future : futures)
             {
-                throw new IllegalArgumentException("The specified bucket '" + params.getS3BucketName() + "' does not exist.", amazonS3Exception);
+                try
+                {
+                    future.get();
+                }
+                catch (ExecutionException e)
+                {
+                    // Re-throw the original exception, so the AWS exceptions get handled the same way as when listing sequentially.
+                    if (e.getCause() instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+                }
             }
-            throw new IllegalStateException("Error accessing S3", amazonS3Exception);
         }
-        catch (AmazonClientException e)
+        finally
         {
-            throw new IllegalStateException(String
-                .format("Failed to list keys/objects with prefix \"%s\" from bucket \"%s\". Reason: %s", params.getS3KeyPrefix(), params.getS3BucketName(),
-                    e.getMessage()), e);
+            executorService.shutdownNow();
         }
-        finally
+    }
+
+    /**
+     * Lists all S3 objects matching the S3 key prefix that come after the marker, one page at a time.
+     *
+     * @param bucketName the S3 bucket name
+     * @param prefix the S3 key prefix
+     * @param marker the key after which to list the S3 objects, maybe null
+     * @param ignoreZeroByteDirectoryMarkers specifies whether to ignore 0 byte objects that represent S3 directories
+     * @param storageFileHandler the handler that receives the S3 objects represented as storage files
+     * @param s3Client the S3 client
+     */
+    private void listObjects(String bucketName, String prefix, String marker, boolean ignoreZeroByteDirectoryMarkers,
+        StorageFileHandler storageFileHandler, AmazonS3Client s3Client)
+    {
+        ListObjectsRequest listObjectsRequest = new ListObjectsRequest().withBucketName(bucketName).withPrefix(prefix).withMarker(marker);
+        ObjectListing objectListing;
+
+        do
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            if (s3Client != null)
+            objectListing = s3Operations.listObjects(listObjectsRequest, s3Client);
+
+            handleObjectListing(objectListing, null, ignoreZeroByteDirectoryMarkers, storageFileHandler);
+
+            listObjectsRequest.setMarker(objectListing.getNextMarker());
+        }
+        while (objectListing.isTruncated());
+    }
+
+    /**
+     * Passes the S3 objects of an object listing to the handler. The handler calls are serialized, so the handler does not need to be thread safe.
+     *
+     * @param objectListing the object listing
+     * @param marker the key after which to handle the S3 objects, maybe null
+     * @param ignoreZeroByteDirectoryMarkers specifies whether to ignore 0 byte objects that represent S3 directories
+     * @param storageFileHandler the handler that receives the S3 objects represented as storage files
+     */
+    private void handleObjectListing(ObjectListing objectListing, String marker, boolean ignoreZeroByteDirectoryMarkers,
+        StorageFileHandler storageFileHandler)
+    {
+        List<StorageFile> storageFiles = new ArrayList<>();
+
+        for (S3ObjectSummary objectSummary : objectListing.getObjectSummaries())
+        {
+            // Ignore 0 byte objects that represent S3 directories and the objects that were already handled.
+            if (!(ignoreZeroByteDirectoryMarkers && objectSummary.getKey().endsWith("/") && objectSummary.getSize() == 0L) &&
+                (marker == null || objectSummary.getKey().compareTo(marker) > 0))
             {
-                s3Client.shutdown();
+                storageFiles.add(new StorageFile(objectSummary.getKey(), objectSummary.getSize(), null));
             }
         }
 
-        return storageFiles;
+        if (!storageFiles.isEmpty())
+        {
+            synchronized (storageFileHandler)
+            {
+                storageFileHandler.handle(storageFiles);
+            }
+        }
     }
 
     @Override
@@ -41,6 +41,8 @@ import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.MutablePropertySources;
@@ -53,6 +55,7 @@ import org.finra.dm.dao.config.DaoSpringModuleConfig;
 import org.finra.dm.dao.config.DaoTestSpringModuleConfig;
 import org.finra.dm.dao.helper.DmCollectionHelper;
 import org.finra.dm.dao.helper.JavaPropertiesHelper;
+import org.finra.dm.dao.impl.MockS3OperationsImpl;
 import org.finra.dm.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.dm.model.jpa.BusinessObjectDataAttributeDefinitionEntity;
 import org.finra.dm.model.jpa.BusinessObjectDataAttributeEntity;
@@ -445,6 +448,17 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
         propertySourceHoldingLocation = null;
     }
 
+    /**
+     * Gets the mock S3 operations behind the S3 operations bean, which is proxied by the DAO aspects.
+     *
+     * @return the mock S3 operations
+     * @throws Exception if the target of the proxy couldn't be retrieved
+     */
+    protected MockS3OperationsImpl getMockS3Operations() throws Exception
+    {
+        return (MockS3OperationsImpl) (AopUtils.isAopProxy(s3Operations) ? ((Advised) s3Operations).getTargetSource().getTarget() : s3Operations);
+    }
+
     /**
      * Creates and persists a new data provider entity.
      *
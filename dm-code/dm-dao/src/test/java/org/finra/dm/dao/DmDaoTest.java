@@ -974,6 +974,35 @@ public class DmDaoTest extends AbstractDaoTest
         assertEquals(Long.valueOf(1L), result);
     }
 
+    @Test
+    public void testGetLatestVersionBusinessObjectDataEntities()
+    {
+        // Create a business object format.
+        BusinessObjectFormatEntity businessObjectFormatEntity =
+            createBusinessObjectFormatEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, FORMAT_DESCRIPTION, true,
+                PARTITION_KEY, PARTITION_KEY_GROUP);
+
+        // Create two versions of business object data for the first partition value and single versions for the other two partition values.
+        createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE, INITIAL_DATA_VERSION, false, BDATA_STATUS);
+        BusinessObjectDataEntity businessObjectDataEntity1 =
+            createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE, SECOND_DATA_VERSION, true, BDATA_STATUS);
+        BusinessObjectDataEntity businessObjectDataEntity2 =
+            createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE_2, INITIAL_DATA_VERSION, true, BDATA_STATUS);
+        createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE_3, INITIAL_DATA_VERSION, true, BDATA_STATUS);
+
+        // Retrieve the latest business object data versions for a range that covers the first two partition values.
+        List<BusinessObjectDataEntity> result = dmDao.getLatestVersionBusinessObjectDataEntities(
+            new BusinessObjectFormatKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION), PARTITION_VALUE, PARTITION_VALUE_2);
+
+        // Validate the results.
+        assertEquals(Arrays.asList(businessObjectDataEntity1, businessObjectDataEntity2), result);
+
+        // Validate that no business object data is returned for a range outside of the registered partition values.
+        assertTrue(dmDao.getLatestVersionBusinessObjectDataEntities(
+            new BusinessObjectFormatKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION), PARTITION_VALUE_3 + "_A",
+            PARTITION_VALUE_3 + "_Z").isEmpty());
+    }
+
     @Test
     public void testGetBusinessObjectDataEntitiesByKey()
     {
@@ -1680,58 +1709,6 @@ public class DmDaoTest extends AbstractDaoTest
         assertEquals(getExpectedBusinessObjectDataNotificationRegistrationKeys(), resultKeys);
     }
 
-    /**
-     * Tests the getBusinessObjectDataNotificationRegistrations() method. Tests the happy path scenario by providing all the parameters.
-     */
-    @Test
-    public void testGetBusinessObjectDataNotifications()
-    {
-        // Create and persist a business object data notification registration entity with all optional parameters specified.
-        BusinessObjectDataNotificationRegistrationEntity businessObjectDataNotificationRegistrationEntity =
-            createBusinessObjectDataNotificationRegistrationEntity(NAMESPACE_CD, NOTIFICATION_NAME, NOTIFICATION_EVENT_TYPE, BOD_NAME, FORMAT_USAGE_CODE,
-                FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, STORAGE_NAME, getTestJobActions());
-
-        // Create a business object data key.
-        BusinessObjectDataKey businessObjectDataKey =
-            new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
-                DATA_VERSION);
-
-        // Retrieve the business object notification matching the filter criteria.
-        List<BusinessObjectDataNotificationRegistrationEntity> businessObjectDataNotificationEntities =
-            dmDao.getBusinessObjectDataNotificationRegistrations(NOTIFICATION_EVENT_TYPE, businessObjectDataKey);
-
-        // Validate the returned object.
-        assertNotNull(businessObjectDataNotificationEntities);
-        assertEquals(1, businessObjectDataNotificationEntities.size());
-        assertEquals(businessObjectDataNotificationRegistrationEntity.getId(), businessObjectDataNotificationEntities.get(0).getId());
-    }
-
-    /**
-     * Tests the getBusinessObjectDataNotificationRegistrations() method.
-     */
-    @Test
-    public void testGetBusinessObjectDataNotificationsMissingOptionalFilterParameters()
-    {
-        // Create and persist a business object data notification registration entity with all optional filter parameters missing.
-        BusinessObjectDataNotificationRegistrationEntity businessObjectDataNotificationRegistrationEntity =
-            createBusinessObjectDataNotificationRegistrationEntity(NAMESPACE_CD, NOTIFICATION_NAME, NOTIFICATION_EVENT_TYPE, BOD_NAME, null, null, null, null,
-                getTestJobActions());
-
-        // Create a business object data key.
-        BusinessObjectDataKey businessObjectDataKey =
-            new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
-                DATA_VERSION);
-
-        // Retrieve the business object notification matching the filter criteria.
-        List<BusinessObjectDataNotificationRegistrationEntity> businessObjectDataNotificationEntities =
-            dmDao.getBusinessObjectDataNotificationRegistrations(NOTIFICATION_EVENT_TYPE, businessObjectDataKey);
-
-        // Validate the returned object.
-        assertNotNull(businessObjectDataNotificationEntities);
-        assertEquals(1, businessObjectDataNotificationEntities.size());
-        assertEquals(businessObjectDataNotificationRegistrationEntity.getId(), businessObjectDataNotificationEntities.get(0).getId());
-    }
-
     // SecurityFunction
 
     @Test
@@ -148,6 +148,50 @@ public class OozieDaoTest extends AbstractDaoTest
         }
     }
 
+    /**
+     * Tests the scenario where multiple jobs are retrieved in parallel.
+     */
+    @Test
+    public void testGetEmrOozieWorkflows() throws Exception
+    {
+        String masterIpAddress = "0.0.0.0";
+        List<String> emrOozieWorkflowIds = new ArrayList<>();
+        emrOozieWorkflowIds.add(MockOozieOperationsImpl.CASE_1_JOB_ID);
+        emrOozieWorkflowIds.add(MockOozieOperationsImpl.CASE_1_CLIENT_JOB_ID);
+        emrOozieWorkflowIds.add(MockOozieOperationsImpl.CASE_4_JOB_ID);
+
+        List<WorkflowJob> workflowJobs = oozieDao.getEmrOozieWorkflows(masterIpAddress, emrOozieWorkflowIds);
+
+        // The jobs are returned in the order of the job ids.
+        Assert.assertEquals("workflowJobs size", emrOozieWorkflowIds.size(), workflowJobs.size());
+        for (int i = 0; i < emrOozieWorkflowIds.size(); i++)
+        {
+            Assert.assertEquals("workflowJob id", emrOozieWorkflowIds.get(i), workflowJobs.get(i).getId());
+        }
+    }
+
+    /**
+     * Tests when one of the jobs retrieved in parallel does not exist.
+     */
+    @Test
+    public void testGetEmrOozieWorkflowsJobDoesNotExist() throws Exception
+    {
+        String masterIpAddress = "0.0.0.0";
+        List<String> emrOozieWorkflowIds = new ArrayList<>();
+        emrOozieWorkflowIds.add(MockOozieOperationsImpl.CASE_1_JOB_ID);
+        emrOozieWorkflowIds.add(MockOozieOperationsImpl.CASE_2_JOB_ID);
+        try
+        {
+            oozieDao.getEmrOozieWorkflows(masterIpAddress, emrOozieWorkflowIds);
+            Assert.fail("expected ObjectNotFoundException, but no exception was thrown");
+        }
+        catch (ObjectNotFoundException e)
+        {
+            Assert.assertEquals("thrown exception message", "The oozie workflow with job ID '" + MockOozieOperationsImpl.CASE_2_JOB_ID + "' does not exist.",
+                e.getMessage());
+        }
+    }
+
     @Test
     public void testGetRunningEmrOozieJobs()
     {
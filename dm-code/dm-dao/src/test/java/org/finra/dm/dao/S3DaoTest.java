@@ -16,7 +16,9 @@
 package org.finra.dm.dao;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
@@ -24,8 +26,11 @@ import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import com.amazonaws.AmazonServiceException;
@@ -49,6 +54,7 @@ import org.junit.Test;
 import org.finra.dm.dao.impl.MockS3OperationsImpl;
 import org.finra.dm.dao.impl.S3DaoImpl;
 import org.finra.dm.model.ObjectNotFoundException;
+import org.finra.dm.model.dto.ConfigurationValue;
 import org.finra.dm.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.dm.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.dm.model.dto.S3FileTransferResultsDto;
@@ -110,6 +116,38 @@ public class S3DaoTest extends AbstractDaoTest
         assertEquals(Long.valueOf(1L), resultsDto.getTotalFilesTransferred());
     }
 
+    /**
+     * Test that S3 file copy sets up the transfer manager with the configured multipart copy threshold and part size and with the requested number of threads.
+     */
+    @Test
+    public void testCopyFileTransferManagerConfiguration() throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_COPY_MULTIPART_THRESHOLD_BYTES.getKey(), "10485760");
+        overrideMap.put(ConfigurationValue.S3_COPY_PART_SIZE_BYTES.getKey(), "5242880");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            S3FileCopyRequestParamsDto transferDto = new S3FileCopyRequestParamsDto();
+            transferDto.setSourceBucketName(getS3LoadingDockBucketName());
+            transferDto.setTargetBucketName(getS3ExternalBucketName());
+            transferDto.setS3KeyPrefix("testKeyPrefix");
+            transferDto.setKmsKeyId(MockS3OperationsImpl.MOCK_KMS_ID);
+            transferDto.setMaxThreads(3);
+            s3Dao.copyFile(transferDto);
+
+            MockS3OperationsImpl mockS3Operations = getMockS3Operations();
+            assertEquals(10485760L, mockS3Operations.getLastCopyTransferManagerConfiguration().getMultipartCopyThreshold());
+            assertEquals(5242880L, mockS3Operations.getLastCopyTransferManagerConfiguration().getMultipartCopyPartSize());
+            assertEquals(Integer.valueOf(3), mockS3Operations.getLastCopyMaxThreads());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
     /**
      * Test S3 file copy with an invalid KMS Id. This should throw an AmazonServiceException.
      */
@@ -564,6 +602,173 @@ public class S3DaoTest extends AbstractDaoTest
         Assert.assertTrue(storageFiles.size() == 0);
     }
 
+    /**
+     * Test that deleteDirectory deletes more keys than fit in a single multi-object delete request and retries the keys that failed to get deleted.
+     */
+    @Test
+    public void testDeleteDirectoryMultipleBatchesWithTransientFailures()
+    {
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX + "/");
+
+        // Put 2,500 objects into S3, so they get deleted in three batches. Every 100th object fails to get deleted on the first attempt.
+        int objectCount = 2500;
+        for (int i = 0; i < objectCount; i++)
+        {
+            String s3ObjectKey = String
+                .format("%s/%04d_%s", TEST_S3_KEY_PREFIX, i, i % 100 == 0 ? MockS3OperationsImpl.MOCK_S3_FILE_NAME_TRANSIENT_DELETE_FAILURE : LOCAL_FILE);
+            s3Operations.putObject(new PutObjectRequest(s3FileTransferRequestParamsDto.getS3BucketName(), s3ObjectKey, new ByteArrayInputStream(new byte[0]),
+                new ObjectMetadata()), null);
+        }
+        assertEquals(objectCount, s3Dao.listDirectory(s3FileTransferRequestParamsDto).size());
+
+        // Delete directory from S3 using s3Dao.
+        s3Dao.deleteDirectory(s3FileTransferRequestParamsDto);
+
+        // Validate that S3 directory got deleted.
+        assertEquals(0, s3Dao.listDirectory(s3FileTransferRequestParamsDto).size());
+    }
+
+    /**
+     * Test that listDirectory lists a prefix that does not fit in a single page by listing its sub-prefixes concurrently.
+     */
+    @Test
+    public void testListDirectoryBySubPrefix()
+    {
+        List<String> expectedKeys = putPartitionedObjects();
+
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX + "/");
+
+        // Validate that all the objects get listed in key order.
+        assertEquals(expectedKeys, getFilePaths(s3Dao.listDirectory(s3FileTransferRequestParamsDto)));
+
+        // Validate that the handler receives every object exactly once.
+        final List<String> handledKeys = new ArrayList<>();
+        s3Dao.listDirectory(s3FileTransferRequestParamsDto, false, new StorageFileHandler()
+        {
+            @Override
+            public void handle(List<StorageFile> storageFiles)
+            {
+                handledKeys.addAll(getFilePaths(storageFiles));
+            }
+        });
+        Collections.sort(handledKeys);
+        assertEquals(expectedKeys, handledKeys);
+    }
+
+    /**
+     * Test that listDirectory lists a prefix that does not fit in a single page sequentially when it is configured to use a single thread.
+     */
+    @Test
+    public void testListDirectorySequential() throws Exception
+    {
+        List<String> expectedKeys = putPartitionedObjects();
+
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX + "/");
+
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_LIST_MAX_THREADS.getKey(), 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            assertEquals(expectedKeys, getFilePaths(s3Dao.listDirectory(s3FileTransferRequestParamsDto)));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    /**
+     * Test that isDirectoryEmpty tells whether any object matches the prefix, no matter how many pages it would take to list them.
+     */
+    @Test
+    public void testIsDirectoryEmpty()
+    {
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX + "/");
+        assertTrue(s3Dao.isDirectoryEmpty(s3FileTransferRequestParamsDto));
+
+        putPartitionedObjects();
+        assertFalse(s3Dao.isDirectoryEmpty(s3FileTransferRequestParamsDto));
+
+        // A prefix that only matches other objects is still empty.
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX + "/I_DO_NOT_EXIST/");
+        assertTrue(s3Dao.isDirectoryEmpty(s3FileTransferRequestParamsDto));
+    }
+
+    @Test
+    public void testIsDirectoryEmptyNoSuchBucket()
+    {
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(MockS3OperationsImpl.MOCK_S3_BUCKET_NAME_NO_SUCH_BUCKET_EXCEPTION);
+
+        try
+        {
+            s3Dao.isDirectoryEmpty(s3FileTransferRequestParamsDto);
+            fail("Should throw an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("The specified bucket '" + MockS3OperationsImpl.MOCK_S3_BUCKET_NAME_NO_SUCH_BUCKET_EXCEPTION + "' does not exist.", e.getMessage());
+        }
+    }
+
+    /**
+     * Puts a few objects directly under the test S3 key prefix and enough objects under three partition sub-directories to require multiple listing pages.
+     *
+     * @return the sorted list of the keys of the objects
+     */
+    private List<String> putPartitionedObjects()
+    {
+        List<String> s3ObjectKeys = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++)
+        {
+            s3ObjectKeys.add(String.format("%s/%s_%d", TEST_S3_KEY_PREFIX, LOCAL_FILE, i));
+        }
+
+        for (String partitionValue : Arrays.asList("2015-01-01", "2015-01-02", "2015-01-03"))
+        {
+            for (int i = 0; i < 700; i++)
+            {
+                s3ObjectKeys.add(String.format("%s/date=%s/%04d_%s", TEST_S3_KEY_PREFIX, partitionValue, i, LOCAL_FILE));
+            }
+        }
+
+        for (String s3ObjectKey : s3ObjectKeys)
+        {
+            s3Operations.putObject(new PutObjectRequest(getS3ManagedBucketName(), s3ObjectKey, new ByteArrayInputStream(new byte[0]), new ObjectMetadata()),
+                null);
+        }
+
+        Collections.sort(s3ObjectKeys);
+
+        return s3ObjectKeys;
+    }
+
+    /**
+     * Gets the file paths of the storage files.
+     *
+     * @param storageFiles the storage files
+     *
+     * @return the list of file paths
+     */
+    private List<String> getFilePaths(List<StorageFile> storageFiles)
+    {
+        List<String> filePaths = new ArrayList<>();
+
+        for (StorageFile storageFile : storageFiles)
+        {
+            filePaths.add(storageFile.getFilePath());
+        }
+
+        return filePaths;
+    }
+
     @Test
     public void testDeleteDirectoryNullParamsDto()
     {
@@ -0,0 +1,211 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.amazonaws.services.ec2.model.AvailabilityZone;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.dm.dao.AbstractDaoTest;
+import org.finra.dm.dao.impl.MockEc2OperationsImpl;
+import org.finra.dm.model.ObjectNotFoundException;
+import org.finra.dm.model.api.xml.EmrClusterDefinition;
+import org.finra.dm.model.api.xml.InstanceDefinition;
+import org.finra.dm.model.api.xml.InstanceDefinitions;
+import org.finra.dm.model.api.xml.MasterInstanceDefinition;
+import org.finra.dm.model.dto.ConfigurationValue;
+import org.finra.dm.model.jpa.OnDemandPriceEntity;
+
+/**
+ * This class tests functionality within the Ec2PriceOracle class.
+ */
+public class Ec2PriceOracleTest extends AbstractDaoTest
+{
+    @Autowired
+    private Ec2PriceOracle ec2PriceOracle;
+
+    @Autowired
+    private EmrPricingHelper emrPricingHelper;
+
+    @After
+    public void cleanup()
+    {
+        ec2PriceOracle.invalidate();
+    }
+
+    @Test
+    public void testGetSpotPrices()
+    {
+        List<AvailabilityZone> availabilityZones = ec2PriceOracle.getAvailabilityZones(
+            ec2Dao.getSubnets(Arrays.asList(MockEc2OperationsImpl.SUBNET_1, MockEc2OperationsImpl.SUBNET_3, MockEc2OperationsImpl.SUBNET_4),
+                emrPricingHelper.getAwsParamsDto()), emrPricingHelper.getAwsParamsDto());
+        assertEquals(3, availabilityZones.size());
+
+        Set<String> instanceTypes = new HashSet<>(Arrays.asList(MockEc2OperationsImpl.INSTANCE_TYPE_1, MockEc2OperationsImpl.INSTANCE_TYPE_2));
+
+        // Look up the prices twice, so the second lookup is served from the cache.
+        for (int i = 0; i < 2; i++)
+        {
+            Map<String, Map<String, BigDecimal>> spotPrices =
+                ec2PriceOracle.getSpotPrices(availabilityZones, instanceTypes, emrPricingHelper.getAwsParamsDto());
+
+            assertEquals(3, spotPrices.size());
+            assertEquals(new BigDecimal(MockEc2OperationsImpl.SPOT_PRICE_LOW),
+                spotPrices.get(MockEc2OperationsImpl.AVAILABILITY_ZONE_1).get(MockEc2OperationsImpl.INSTANCE_TYPE_1));
+            assertEquals(new BigDecimal(MockEc2OperationsImpl.SPOT_PRICE_EQUAL),
+                spotPrices.get(MockEc2OperationsImpl.AVAILABILITY_ZONE_1).get(MockEc2OperationsImpl.INSTANCE_TYPE_2));
+
+            // AVAILABILITY_ZONE_2 has no spot price for INSTANCE_TYPE_2.
+            assertEquals(1, spotPrices.get(MockEc2OperationsImpl.AVAILABILITY_ZONE_2).size());
+            assertEquals(new BigDecimal(MockEc2OperationsImpl.SPOT_PRICE_EQUAL),
+                spotPrices.get(MockEc2OperationsImpl.AVAILABILITY_ZONE_2).get(MockEc2OperationsImpl.INSTANCE_TYPE_1));
+
+            assertEquals(new BigDecimal(MockEc2OperationsImpl.SPOT_PRICE_VERY_LOW),
+                spotPrices.get(MockEc2OperationsImpl.AVAILABILITY_ZONE_3).get(MockEc2OperationsImpl.INSTANCE_TYPE_1));
+            assertEquals(new BigDecimal(MockEc2OperationsImpl.SPOT_PRICE_VERY_HIGH),
+                spotPrices.get(MockEc2OperationsImpl.AVAILABILITY_ZONE_3).get(MockEc2OperationsImpl.INSTANCE_TYPE_2));
+        }
+    }
+
+    @Test
+    public void testGetOnDemandPrices() throws Exception
+    {
+        OnDemandPriceEntity onDemandPriceEntity = createOnDemandPriceEntity(AWS_REGION, EC2_INSTANCE_TYPE);
+        BigDecimal changedOnDemandPrice = new BigDecimal(INTEGER_VALUE).add(BigDecimal.ONE);
+        Set<String> instanceTypes = new HashSet<>(Arrays.asList(EC2_INSTANCE_TYPE));
+
+        assertPriceEquals(new BigDecimal(INTEGER_VALUE), ec2PriceOracle.getOnDemandPrices(AWS_REGION, instanceTypes).get(EC2_INSTANCE_TYPE));
+
+        // Change the on-demand price. The cached price is returned until the cache expires.
+        onDemandPriceEntity.setValue(changedOnDemandPrice);
+        dmDao.saveAndRefresh(onDemandPriceEntity);
+        assertPriceEquals(new BigDecimal(INTEGER_VALUE), ec2PriceOracle.getOnDemandPrices(AWS_REGION, instanceTypes).get(EC2_INSTANCE_TYPE));
+
+        // Disable the cache and validate that the changed on-demand price is returned.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.EC2_PRICE_CACHE_TIME_TO_LIVE_SECONDS.getKey(), 0);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            assertPriceEquals(changedOnDemandPrice, ec2PriceOracle.getOnDemandPrices(AWS_REGION, instanceTypes).get(EC2_INSTANCE_TYPE));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGetOnDemandPricesNotFound()
+    {
+        try
+        {
+            ec2PriceOracle.getOnDemandPrices(AWS_REGION, new HashSet<>(Arrays.asList(EC2_INSTANCE_TYPE)));
+            fail("Should throw an ObjectNotFoundException when the on-demand price does not exist.");
+        }
+        catch (ObjectNotFoundException e)
+        {
+            assertEquals("On-demand price for region '" + AWS_REGION + "' and instance type '" + EC2_INSTANCE_TYPE + "' not found.", e.getMessage());
+        }
+    }
+
+    /**
+     * Validates that the best price search finds the same price whether the EC2 prices are cached or not. The cost of the search is measured by the
+     * EmrPricingHelperBenchmark in the dm-benchmarks module.
+     */
+    @Test
+    public void testUpdateEmrClusterDefinitionWithBestPriceCached() throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.EC2_PRICE_CACHE_TIME_TO_LIVE_SECONDS.getKey(), 0);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        EmrClusterDefinition uncachedEmrClusterDefinition;
+        try
+        {
+            uncachedEmrClusterDefinition = updateEmrClusterDefinitionWithBestPrice();
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+
+        // Search twice, so the second search is served from the cache.
+        for (int i = 0; i < 2; i++)
+        {
+            EmrClusterDefinition cachedEmrClusterDefinition = updateEmrClusterDefinitionWithBestPrice();
+
+            assertEquals(uncachedEmrClusterDefinition, cachedEmrClusterDefinition);
+            assertEquals(MockEc2OperationsImpl.SUBNET_4, cachedEmrClusterDefinition.getSubnetId());
+            assertTrue(cachedEmrClusterDefinition.getInstanceDefinitions().getMasterInstances().getInstanceSpotPrice() != null);
+        }
+    }
+
+    /**
+     * Asserts that the specified prices are equal regardless of their scale.
+     *
+     * @param expectedPrice the expected price
+     * @param actualPrice the actual price
+     */
+    private void assertPriceEquals(BigDecimal expectedPrice, BigDecimal actualPrice)
+    {
+        assertEquals(String.format("expected:<%s> but was:<%s>", expectedPrice, actualPrice), 0, expectedPrice.compareTo(actualPrice));
+    }
+
+    /**
+     * Finds the best price for a cluster definition that searches the subnets of three availability zones.
+     *
+     * @return the updated EMR cluster definition
+     */
+    private EmrClusterDefinition updateEmrClusterDefinitionWithBestPrice()
+    {
+        MasterInstanceDefinition masterInstanceDefinition = new MasterInstanceDefinition();
+        masterInstanceDefinition.setInstanceType(MockEc2OperationsImpl.INSTANCE_TYPE_1);
+        masterInstanceDefinition.setInstanceCount(1);
+        masterInstanceDefinition.setInstanceMaxSearchPrice(BigDecimal.ONE);
+
+        InstanceDefinition coreInstanceDefinition = new InstanceDefinition();
+        coreInstanceDefinition.setInstanceType(MockEc2OperationsImpl.INSTANCE_TYPE_1);
+        coreInstanceDefinition.setInstanceCount(1);
+        coreInstanceDefinition.setInstanceMaxSearchPrice(BigDecimal.ONE);
+
+        InstanceDefinitions instanceDefinitions = new InstanceDefinitions();
+        instanceDefinitions.setMasterInstances(masterInstanceDefinition);
+        instanceDefinitions.setCoreInstances(coreInstanceDefinition);
+
+        EmrClusterDefinition emrClusterDefinition = new EmrClusterDefinition();
+        emrClusterDefinition.setSubnetId(MockEc2OperationsImpl.SUBNET_1 + "," + MockEc2OperationsImpl.SUBNET_3 + "," + MockEc2OperationsImpl.SUBNET_4);
+        emrClusterDefinition.setInstanceDefinitions(instanceDefinitions);
+
+        emrPricingHelper.updateEmrClusterDefinitionWithBestPrice(emrClusterDefinition);
+
+        return emrClusterDefinition;
+    }
+}
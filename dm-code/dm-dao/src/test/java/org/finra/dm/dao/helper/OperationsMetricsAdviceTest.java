@@ -0,0 +1,106 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.dm.core.DependencyMetrics;
+import org.finra.dm.core.DependencyMetricsRegistry;
+import org.finra.dm.dao.AbstractDaoTest;
+import org.finra.dm.dao.S3Operations;
+import org.finra.dm.dao.impl.MockAwsOperationsHelper;
+import org.finra.dm.model.dto.ConfigurationValue;
+
+/**
+ * This class tests that the operations metrics advice records the calls made through the operations interfaces.
+ */
+public class OperationsMetricsAdviceTest extends AbstractDaoTest
+{
+    @Autowired
+    private S3Operations s3Operations;
+
+    @After
+    public void cleanEnv()
+    {
+        s3Operations.rollback();
+    }
+
+    @Test
+    public void testRecordOperationCall()
+    {
+        DependencyMetrics dependencyMetrics =
+            DependencyMetricsRegistry.getDependencyMetrics("S3Operations.putObject", DependencyMetrics.UNKNOWN_CALLING_METHOD_NAME);
+        long callCount = dependencyMetrics.getCallCount();
+        long bytesTransferred = dependencyMetrics.getBytesTransferred();
+
+        // Put an S3 object with a known content length.
+        byte[] data = new byte[1024];
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(data.length);
+        s3Operations.putObject(new PutObjectRequest(S3_BUCKET_NAME, TARGET_S3_KEY, new ByteArrayInputStream(data), metadata), null);
+
+        // The call and its bytes should have been recorded.
+        assertEquals(callCount + 1, dependencyMetrics.getCallCount());
+        assertEquals(bytesTransferred + data.length, dependencyMetrics.getBytesTransferred());
+    }
+
+    @Test
+    public void testRecordOperationCallRetriesAndThrottlingErrors() throws Exception
+    {
+        DependencyMetrics dependencyMetrics =
+            DependencyMetricsRegistry.getDependencyMetrics("S3Operations.getObjectMetadata", DependencyMetrics.UNKNOWN_CALLING_METHOD_NAME);
+        dependencyMetrics.reset();
+
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.AWS_S3_EXCEPTION_MAX_RETRY_DURATION_SECS.getKey(), 2);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Call the S3 operation to throw a throttling exception that gets retried until the maximum retry duration is exceeded.
+            s3Operations.getObjectMetadata(null, MockAwsOperationsHelper.AMAZON_THROTTLING_EXCEPTION, null);
+            fail("Should throw an AmazonServiceException.");
+        }
+        catch (AmazonServiceException e)
+        {
+            assertEquals("ThrottlingException", e.getErrorCode());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+
+        // The call including its retries is recorded once as a failed call. Every throttling error, retried or not, is counted.
+        assertEquals(1, dependencyMetrics.getCallCount());
+        assertEquals(1, dependencyMetrics.getErrorCount());
+        assertTrue(dependencyMetrics.getRetryCount() > 0);
+        assertEquals(Long.valueOf(dependencyMetrics.getRetryCount() + 1), dependencyMetrics.getThrottlingErrorCounts().get("ThrottlingException"));
+        assertTrue(dependencyMetrics.getLatencyHistogram().getMax() > 1000000);
+    }
+}
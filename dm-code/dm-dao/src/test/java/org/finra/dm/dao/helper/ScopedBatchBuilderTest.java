@@ -0,0 +1,76 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao.helper;
+
+import static org.junit.Assert.assertTrue;
+
+import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.batch.internal.BatchingBatch;
+import org.hibernate.engine.jdbc.batch.internal.NonBatchingBatch;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jdbc.Expectations;
+import org.junit.After;
+import org.junit.Test;
+
+import org.finra.dm.dao.AbstractDaoTest;
+
+/**
+ * This class tests functionality within the ScopedBatchBuilder class.
+ */
+public class ScopedBatchBuilderTest extends AbstractDaoTest
+{
+    private ScopedBatchBuilder scopedBatchBuilder = new ScopedBatchBuilder();
+
+    @After
+    public void after()
+    {
+        ScopedBatchBuilder.stop();
+    }
+
+    @Test
+    public void testBuildBatchNotStarted()
+    {
+        assertTrue(scopedBatchBuilder.buildBatch(new BasicBatchKey("test", Expectations.NONE), getJdbcCoordinator()) instanceof NonBatchingBatch);
+    }
+
+    @Test
+    public void testBuildBatchStarted()
+    {
+        ScopedBatchBuilder.start(50);
+        assertTrue(scopedBatchBuilder.buildBatch(new BasicBatchKey("test", Expectations.NONE), getJdbcCoordinator()) instanceof BatchingBatch);
+    }
+
+    @Test
+    public void testBuildBatchStartedBatchSizeOne()
+    {
+        ScopedBatchBuilder.start(1);
+        assertTrue(scopedBatchBuilder.buildBatch(new BasicBatchKey("test", Expectations.NONE), getJdbcCoordinator()) instanceof NonBatchingBatch);
+    }
+
+    @Test
+    public void testBuildBatchStopped()
+    {
+        ScopedBatchBuilder.start(50);
+        ScopedBatchBuilder.stop();
+        assertTrue(scopedBatchBuilder.buildBatch(new BasicBatchKey("test", Expectations.NONE), getJdbcCoordinator()) instanceof NonBatchingBatch);
+    }
+
+    private JdbcCoordinator getJdbcCoordinator()
+    {
+        return entityManager.unwrap(SessionImplementor.class).getTransactionCoordinator().getJdbcCoordinator();
+    }
+}
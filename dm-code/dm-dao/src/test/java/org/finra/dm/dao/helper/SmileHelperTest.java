@@ -0,0 +1,79 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.dm.dao.AbstractDaoTest;
+import org.finra.dm.model.api.xml.Attribute;
+import org.finra.dm.model.api.xml.BusinessObjectData;
+import org.finra.dm.model.api.xml.Storage;
+import org.finra.dm.model.api.xml.StorageFile;
+import org.finra.dm.model.api.xml.StorageUnit;
+
+/**
+ * This class tests functionality within the SmileHelper class.
+ */
+public class SmileHelperTest extends AbstractDaoTest
+{
+    @Autowired
+    private SmileHelper smileHelper;
+
+    @Autowired
+    private JsonHelper jsonHelper;
+
+    @Test
+    public void testObjectToSmileRoundTrip() throws Exception
+    {
+        Storage storage = new Storage(STORAGE_NAME, STORAGE_PLATFORM_CODE, Arrays.asList(new Attribute(ATTRIBUTE_NAME_1_MIXED_CASE, ATTRIBUTE_VALUE_1)));
+
+        StorageUnit storageUnit = new StorageUnit();
+        storageUnit.setStorage(storage);
+        storageUnit.setStorageFiles(Arrays.asList(new StorageFile(STRING_VALUE, LONG_VALUE, LONG_VALUE)));
+
+        BusinessObjectData businessObjectData = new BusinessObjectData();
+        businessObjectData.setId(INTEGER_VALUE);
+        businessObjectData.setNamespace(NAMESPACE_CD);
+        businessObjectData.setBusinessObjectDefinitionName(BOD_NAME);
+        businessObjectData.setBusinessObjectFormatVersion(FORMAT_VERSION);
+        businessObjectData.setPartitionValue(PARTITION_VALUE);
+        businessObjectData.setSubPartitionValues(SUBPARTITION_VALUES);
+        businessObjectData.setLatestVersion(true);
+        businessObjectData.setStorageUnits(Arrays.asList(storageUnit));
+
+        byte[] smile = smileHelper.objectToSmile(businessObjectData);
+
+        // The null values are left out so the Smile content is smaller than the JSON one, which includes them.
+        assertTrue(smile.length < jsonHelper.objectToJson(businessObjectData).length());
+        assertEquals(businessObjectData, smileHelper.unmarshallSmileToObject(BusinessObjectData.class, new ByteArrayInputStream(smile)));
+    }
+
+    @Test
+    public void testUnmarshallSmileToObjectUnknownProperty() throws Exception
+    {
+        // Content written by a newer version of the model must still be readable.
+        byte[] smile = smileHelper.objectToSmile(Collections.singletonMap("unknownProperty", STRING_VALUE));
+        assertEquals(new Attribute(), smileHelper.unmarshallSmileToObject(Attribute.class, new ByteArrayInputStream(smile)));
+    }
+}
@@ -0,0 +1,183 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.dao.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.dm.core.helper.ConfigurationHelper;
+import org.finra.dm.dao.AbstractDaoTest;
+import org.finra.dm.dao.MonitoredDataSource;
+import org.finra.dm.dao.SqlRequestStatistics;
+import org.finra.dm.model.api.xml.SlowQuery;
+import org.finra.dm.model.api.xml.SqlStatementStatistics;
+import org.finra.dm.model.dto.ConfigurationValue;
+
+/**
+ * This class tests functionality within the SqlStatementMonitor class and the MonitoredDataSource that records into it.
+ */
+public class SqlStatementMonitorTest extends AbstractDaoTest
+{
+    @Autowired
+    private SqlStatementMonitor sqlStatementMonitor;
+
+    @Autowired
+    private DataSource dmDataSource;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Before
+    public void before()
+    {
+        sqlStatementMonitor.reset();
+    }
+
+    @After
+    public void after()
+    {
+        sqlStatementMonitor.reset();
+        SqlRequestStatistics.stop();
+    }
+
+    @Test
+    public void testRecordStatementBelowThreshold()
+    {
+        sqlStatementMonitor.recordStatement("SELECT 1", "[]", TimeUnit.MILLISECONDS.toNanos(5));
+
+        SqlStatementStatistics sqlStatementStatistics = sqlStatementMonitor.getSqlStatementStatistics();
+        assertEquals(1, sqlStatementStatistics.getStatementCount());
+        assertEquals(5, sqlStatementStatistics.getTotalExecutionTimeMillis());
+        assertEquals((long) configurationHelper.getProperty(ConfigurationValue.JDBC_SLOW_QUERY_THRESHOLD_MILLIS, Long.class),
+            sqlStatementStatistics.getSlowQueryThresholdMillis());
+        assertTrue(sqlStatementStatistics.getSlowQueries().isEmpty());
+    }
+
+    @Test
+    public void testRecordStatementSlowQueries() throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.JDBC_SLOW_QUERY_THRESHOLD_MILLIS.getKey(), "10");
+        overrideMap.put(ConfigurationValue.JDBC_SLOW_QUERY_MAX_CAPTURED.getKey(), "2");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            sqlStatementMonitor.recordStatement("SELECT A", "[1:String]", TimeUnit.MILLISECONDS.toNanos(20));
+            sqlStatementMonitor.recordStatement("SELECT A", "[1:String]", TimeUnit.MILLISECONDS.toNanos(40));
+            sqlStatementMonitor.recordStatement("SELECT A", "[1:null]", TimeUnit.MILLISECONDS.toNanos(30));
+            sqlStatementMonitor.recordStatement("SELECT B", "[]", TimeUnit.MILLISECONDS.toNanos(1));
+
+            // The same SQL with a different parameter shape is captured separately and the fast statement isn't captured.
+            List<SlowQuery> slowQueries = sqlStatementMonitor.getSqlStatementStatistics().getSlowQueries();
+            assertEquals(2, slowQueries.size());
+            assertEquals("SELECT A", slowQueries.get(0).getSql());
+            assertEquals("[1:String]", slowQueries.get(0).getParameterShape());
+            assertEquals(2, slowQueries.get(0).getExecutionCount());
+            assertEquals(40, slowQueries.get(0).getMaxExecutionTimeMillis());
+            assertEquals(60, slowQueries.get(0).getTotalExecutionTimeMillis());
+            assertNotNull(slowQueries.get(0).getLastExecutionTime());
+            assertEquals("[1:null]", slowQueries.get(1).getParameterShape());
+
+            // Capturing a third slow query evicts the least recently seen one.
+            sqlStatementMonitor.recordStatement("SELECT C", "[]", TimeUnit.MILLISECONDS.toNanos(15));
+            slowQueries = sqlStatementMonitor.getSqlStatementStatistics().getSlowQueries();
+            assertEquals(2, slowQueries.size());
+            assertEquals("[1:null]", slowQueries.get(0).getParameterShape());
+            assertEquals("SELECT C", slowQueries.get(1).getSql());
+            assertEquals(4 + 1, sqlStatementMonitor.getSqlStatementStatistics().getStatementCount());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testMonitoredDataSourceParameterShape() throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.JDBC_SLOW_QUERY_THRESHOLD_MILLIS.getKey(), "0");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        SqlRequestStatistics.start();
+        try (Connection connection = new MonitoredDataSource(dmDataSource, sqlStatementMonitor).getConnection();
+            PreparedStatement preparedStatement = connection.prepareStatement("SELECT ? AS A, ? AS B, ? AS C"))
+        {
+            preparedStatement.setString(1, STRING_VALUE);
+            preparedStatement.setLong(2, LONG_VALUE);
+            preparedStatement.setNull(3, Types.VARCHAR);
+            preparedStatement.executeQuery().close();
+
+            preparedStatement.clearParameters();
+            preparedStatement.setObject(1, INTEGER_VALUE);
+            preparedStatement.setObject(2, null);
+            preparedStatement.setString(3, STRING_VALUE);
+            preparedStatement.executeQuery().close();
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+
+        SqlRequestStatistics sqlRequestStatistics = SqlRequestStatistics.stop();
+        assertEquals(2, sqlRequestStatistics.getStatementCount());
+        assertNull(SqlRequestStatistics.stop());
+
+        List<SlowQuery> slowQueries = sqlStatementMonitor.getSqlStatementStatistics().getSlowQueries();
+        assertEquals(2, slowQueries.size());
+        assertTrue(containsSlowQuery(slowQueries, "SELECT ? AS A, ? AS B, ? AS C", "[1:String, 2:Long, 3:null]"));
+        assertTrue(containsSlowQuery(slowQueries, "SELECT ? AS A, ? AS B, ? AS C", "[1:Integer, 2:null, 3:String]"));
+    }
+
+    @Test
+    public void testEntityManagerStatementsMonitored()
+    {
+        createNamespaceEntity(NAMESPACE_CD);
+        dmDao.getNamespaceByCd(NAMESPACE_CD);
+
+        assertTrue(sqlStatementMonitor.getSqlStatementStatistics().getStatementCount() > 0);
+    }
+
+    private boolean containsSlowQuery(List<SlowQuery> slowQueries, String sql, String parameterShape)
+    {
+        for (SlowQuery slowQuery : slowQueries)
+        {
+            if (sql.equals(slowQuery.getSql()) && parameterShape.equals(slowQuery.getParameterShape()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -28,8 +28,9 @@ import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import org.hibernate.jpa.criteria.predicate.InPredicate;
+import org.junit.Before;
 import org.junit.Test;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.aop.framework.Advised;
 
 import org.finra.dm.dao.AbstractDaoTest;
 import org.finra.dm.model.jpa.BusinessObjectDataEntity;
@@ -40,10 +41,15 @@ import org.finra.dm.model.jpa.BusinessObjectDataEntity_;
  */
 public class BaseJpaDaoImplTest extends AbstractDaoTest
 {
-    // Provide easy access to the DM DAO for all test methods.
-    @Autowired
+    // Provide easy access to the DM DAO implementation for all test methods. The DM DAO bean is an AOP proxy, so the implementation is its target.
     protected BaseJpaDaoImpl dmDaoImpl;
 
+    @Before
+    public void setDmDaoImpl() throws Exception
+    {
+        dmDaoImpl = (BaseJpaDaoImpl) ((Advised) dmDao).getTargetSource().getTarget();
+    }
+
     @Test
     public void testGetPredicateForInClauseOneChunk()
     {
@@ -27,6 +27,7 @@ import java.util.regex.Pattern;
 
 import javax.xml.bind.JAXBException;
 
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpStatus;
 import org.apache.http.ProtocolVersion;
@@ -35,6 +36,7 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -43,6 +45,7 @@ import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import org.finra.dm.dao.HttpClientOperations;
+import org.finra.dm.dao.helper.SmileHelper;
 import org.finra.dm.dao.helper.XmlHelper;
 import org.finra.dm.model.jpa.BusinessObjectDataStatusEntity;
 import org.finra.dm.model.jpa.StorageAttributeEntity;
@@ -68,6 +71,9 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
     @Autowired
     private XmlHelper xmlHelper;
 
+    @Autowired
+    private SmileHelper smileHelper;
+
     @Override
     public CloseableHttpResponse execute(CloseableHttpClient httpClient, HttpUriRequest request) throws IOException, JAXBException
     {
@@ -85,17 +91,17 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
             {
                 if (uri.getPath().endsWith("s3KeyPrefix"))
                 {
-                    buildGetS3KeyPrefixResponse(response, uri);
+                    buildGetS3KeyPrefixResponse(response, request);
                 }
                 else
                 {
-                    buildGetBusinessObjectDataResponse(response, uri);
+                    buildGetBusinessObjectDataResponse(response, request);
                 }
             }
             else if (uri.getPath().startsWith("/dm-app/rest/storages/"))
             {
                 checkHostname(request, HOSTNAME_THROW_IO_EXCEPTION_DURING_GET_STORAGES);
-                buildGetStorageResponse(response, uri);
+                buildGetStorageResponse(response, request);
             }
         }
         else if (request instanceof HttpPost)
@@ -132,12 +138,14 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
      * Builds a Get S3 Key Prefix response.
      *
      * @param response the response.
-     * @param uri the URI of the incoming request.
+     * @param request the incoming request.
      *
      * @throws JAXBException if a JAXB error occurred.
+     * @throws IOException if a Smile serialization error occurred.
      */
-    private void buildGetS3KeyPrefixResponse(MockCloseableHttpResponse response, URI uri) throws JAXBException
+    private void buildGetS3KeyPrefixResponse(MockCloseableHttpResponse response, HttpUriRequest request) throws JAXBException, IOException
     {
+        URI uri = request.getURI();
         Pattern pattern = Pattern.compile("/dm-app/rest/businessObjectData(/namespaces/(?<namespace>.*?))?" +
             "/businessObjectDefinitionNames/(?<businessObjectDefinitionName>.*?)/businessObjectFormatUsages/(?<businessObjectFormatUsage>.*?)" +
             "/businessObjectFormatFileTypes/(?<businessObjectFormatFileType>.*?)/businessObjectFormatVersions/(?<businessObjectFormatVersion>.*?)" +
@@ -157,7 +165,7 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
                     businessObjectFormatType.toLowerCase().replace('_', '-') + "/" + businessObjectDefinitionName.toLowerCase().replace('_', '-') + "/frmt-v" +
                     businessObjectFormatVersion + "/data-v0/process-date=2014-01-31");
 
-            response.setEntity(getHttpEntity(s3KeyPrefixInformation));
+            response.setEntity(getHttpEntity(request, s3KeyPrefixInformation));
         }
     }
 
@@ -177,12 +185,14 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
      * Builds a business object data response.
      *
      * @param response the response.
-     * @param uri the URI of the incoming request.
+     * @param request the incoming request.
      *
      * @throws JAXBException if a JAXB error occurred.
+     * @throws IOException if a Smile serialization error occurred.
      */
-    private void buildGetBusinessObjectDataResponse(MockCloseableHttpResponse response, URI uri) throws JAXBException
+    private void buildGetBusinessObjectDataResponse(MockCloseableHttpResponse response, HttpUriRequest request) throws JAXBException, IOException
     {
+        URI uri = request.getURI();
         Pattern pattern = Pattern.compile("/dm-app/rest/businessObjectData/namespaces/(.*)/businessObjectDefinitionNames/(.*)/businessObjectFormatUsages/(.*)" +
             "/businessObjectFormatFileTypes/(.*).*");
         Matcher matcher = pattern.matcher(uri.getPath());
@@ -231,7 +241,7 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
             businessObjectData.setId(1234);
             businessObjectData.setVersion(0);
 
-            response.setEntity(getHttpEntity(businessObjectData));
+            response.setEntity(getHttpEntity(request, businessObjectData));
         }
     }
 
@@ -239,18 +249,32 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
      * Builds a Get Storage response.
      *
      * @param response the response.
-     * @param uri the URI of the incoming request.
+     * @param request the incoming request.
      *
      * @throws JAXBException if a JAXB error occurred.
+     * @throws IOException if a Smile serialization error occurred.
      */
-    private void buildGetStorageResponse(MockCloseableHttpResponse response, URI uri) throws JAXBException
+    private void buildGetStorageResponse(MockCloseableHttpResponse response, HttpUriRequest request) throws JAXBException, IOException
     {
+        URI uri = request.getURI();
         Pattern pattern = Pattern.compile("/dm-app/rest/storages/(.*)");
         Matcher matcher = pattern.matcher(uri.getPath());
         if (matcher.find())
         {
-            Storage storage = getNewStorage(matcher.group(1));
-            response.setEntity(getHttpEntity(storage));
+            // The mocked storages never change so their entity tag is derived from the storage name only.
+            String entityTag = "\"" + matcher.group(1) + "\"";
+            response.setHeader("ETag", entityTag);
+
+            Header ifNoneMatchHeader = request.getFirstHeader("If-None-Match");
+            if (ifNoneMatchHeader != null && entityTag.equals(ifNoneMatchHeader.getValue()))
+            {
+                response.setStatusCode(HttpStatus.SC_NOT_MODIFIED);
+            }
+            else
+            {
+                Storage storage = getNewStorage(matcher.group(1));
+                response.setEntity(getHttpEntity(request, storage));
+            }
         }
     }
 
@@ -275,8 +299,22 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
         return storage;
     }
 
-    private HttpEntity getHttpEntity(Object content) throws UnsupportedCharsetException, JAXBException
+    /**
+     * Gets the HTTP entity of a response in the content type asked for by the request, i.e. Smile if the request accepts it or XML otherwise.
+     *
+     * @param request the incoming request.
+     * @param content the response content.
+     *
+     * @return the HTTP entity.
+     */
+    private HttpEntity getHttpEntity(HttpUriRequest request, Object content) throws UnsupportedCharsetException, JAXBException, IOException
     {
+        Header acceptHeader = request.getFirstHeader("Accept");
+        if (acceptHeader != null && SmileHelper.SMILE_CONTENT_TYPE.equals(acceptHeader.getValue()))
+        {
+            return new ByteArrayEntity(smileHelper.objectToSmile(content), ContentType.create(SmileHelper.SMILE_CONTENT_TYPE));
+        }
+
         String xml = xmlHelper.objectToXml(content);
         LOGGER.debug("xml = " + xml);
         ContentType contentType = ContentType.APPLICATION_XML.withCharset(StandardCharsets.UTF_8);
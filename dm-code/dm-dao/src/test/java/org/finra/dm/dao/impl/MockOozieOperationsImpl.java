@@ -209,6 +209,15 @@ public class MockOozieOperationsImpl implements OozieOperations
          */
         else
         {
+            // The jobs listed by getJobsInfo() can be retrieved by their ID as well.
+            for (WorkflowJob workflowJob : getJobsInfo(oozieClient, null, 1, Integer.MAX_VALUE))
+            {
+                if (workflowJob.getId().equals(jobId))
+                {
+                    return workflowJob;
+                }
+            }
+
             throw new UnsupportedOperationException("jobId '" + jobId
                 + "' is unrecognized. Either set up a pre-defined case for this jobId or try a different jobId.");
         }
@@ -25,9 +25,13 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
@@ -44,6 +48,8 @@ import com.amazonaws.services.s3.model.DeleteObjectsResult.DeletedObject;
 import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException.DeleteError;
 import com.amazonaws.services.s3.model.MultipartUpload;
 import com.amazonaws.services.s3.model.MultipartUploadListing;
 import com.amazonaws.services.s3.model.ObjectListing;
@@ -59,6 +65,7 @@ import com.amazonaws.services.s3.transfer.MultipleFileUpload;
 import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
 import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerConfiguration;
 import com.amazonaws.services.s3.transfer.TransferProgress;
 import com.amazonaws.services.s3.transfer.Upload;
 import com.amazonaws.services.s3.transfer.internal.CopyImpl;
@@ -71,6 +78,7 @@ import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpStatus;
 import org.apache.http.concurrent.BasicFuture;
 import org.apache.log4j.Logger;
+import org.springframework.beans.DirectFieldAccessor;
 
 import org.finra.dm.core.AbstractCoreTest;
 import org.finra.dm.core.DmDateUtils;
@@ -103,6 +111,11 @@ public class MockS3OperationsImpl implements S3Operations
      */
     public static final String MOCK_S3_FILE_NAME_0_BYTE_SIZE = "mock_s3_file_name_0_byte_size";
 
+    /**
+     * Suffix to hint multi-object delete to fail deleting the object on the first attempt.
+     */
+    public static final String MOCK_S3_FILE_NAME_TRANSIENT_DELETE_FAILURE = "mock_s3_file_name_transient_delete_failure";
+
     /**
      * A mock KMS ID.
      */
@@ -152,6 +165,21 @@ public class MockS3OperationsImpl implements S3Operations
      */
     private Map<String, MockS3Bucket> mockS3Buckets = new HashMap<>();
 
+    /**
+     * The keys that already failed to get deleted once.
+     */
+    private Set<String> failedDeleteKeys = new HashSet<>();
+
+    /**
+     * The configuration of the transfer manager used by the last copy.
+     */
+    private TransferManagerConfiguration lastCopyTransferManagerConfiguration;
+
+    /**
+     * The maximum number of threads of the transfer manager used by the last copy, null if the transfer manager does not use a thread pool executor.
+     */
+    private Integer lastCopyMaxThreads;
+
     /**
      * <p>
      * Creates and returns a new {@link ObjectMetadata} with the given parameters. Content length is defaulted to 1 bytes unless a hint is provided.
@@ -254,6 +282,11 @@ public class MockS3OperationsImpl implements S3Operations
                 copyObjectRequest.getSourceKey() + ", copyObjectRequest.getDestinationBucketName() = " + copyObjectRequest.getDestinationBucketName() +
                 ", copyObjectRequest.getDestinationKey() = " + copyObjectRequest.getDestinationKey());
 
+        // Remember how the transfer manager was set up, so the tests can verify the copy configuration.
+        lastCopyTransferManagerConfiguration = transferManager.getConfiguration();
+        Object threadPool = new DirectFieldAccessor(transferManager).getPropertyValue("threadPool");
+        lastCopyMaxThreads = threadPool instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) threadPool).getMaximumPoolSize() : null;
+
         if (copyObjectRequest.getSourceKey().endsWith(MOCK_S3_FILE_NAME_NOT_FOUND))
         {
             throw new AmazonServiceException(null);
@@ -468,15 +501,26 @@ public class MockS3OperationsImpl implements S3Operations
     }
 
     /**
+     * <p>
      * Deletes a list of objects from a bucket.
+     * </p>
+     * <p>
+     * Takes the following hints when the key is suffixed:
+     * </p>
+     * <dl>
+     * <p/>
+     * <dt>MOCK_S3_FILE_NAME_TRANSIENT_DELETE_FAILURE</dt>
+     * <dd>The object is not deleted on the first attempt and a {@link MultiObjectDeleteException} is thrown once the rest of the objects are deleted</dd>
+     * </dl>
      */
     @Override
-    public DeleteObjectsResult deleteObjects(DeleteObjectsRequest deleteObjectRequest, AmazonS3Client s3Client)
+    public synchronized DeleteObjectsResult deleteObjects(DeleteObjectsRequest deleteObjectRequest, AmazonS3Client s3Client)
     {
         LOGGER.debug("deleteObjects(): deleteObjectRequest.getBucketName() = " + deleteObjectRequest.getBucketName() + ", deleteObjectRequest.getKeys() = " +
             deleteObjectRequest.getKeys());
 
         List<DeletedObject> deletedObjects = new ArrayList<>();
+        List<DeleteError> deleteErrors = new ArrayList<>();
 
         MockS3Bucket mockS3Bucket = mockS3Buckets.get(deleteObjectRequest.getBucketName());
 
@@ -484,7 +528,15 @@ public class MockS3OperationsImpl implements S3Operations
         {
             String s3ObjectKey = keyVersion.getKey();
 
-            if (mockS3Bucket.getObjects().remove(s3ObjectKey) != null)
+            if (s3ObjectKey.endsWith(MOCK_S3_FILE_NAME_TRANSIENT_DELETE_FAILURE) && failedDeleteKeys.add(s3ObjectKey))
+            {
+                DeleteError deleteError = new DeleteError();
+                deleteError.setKey(s3ObjectKey);
+                deleteError.setCode("InternalError");
+                deleteError.setMessage("We encountered an internal error. Please try again.");
+                deleteErrors.add(deleteError);
+            }
+            else if (mockS3Bucket.getObjects().remove(s3ObjectKey) != null)
             {
                 DeletedObject deletedObject = new DeletedObject();
                 deletedObject.setKey(s3ObjectKey);
@@ -492,15 +544,23 @@ public class MockS3OperationsImpl implements S3Operations
             }
         }
 
+        if (!deleteErrors.isEmpty())
+        {
+            throw new MultiObjectDeleteException(deleteErrors, deletedObjects);
+        }
+
         return new DeleteObjectsResult(deletedObjects);
     }
 
     /**
      * Returns a list of objects. If the bucket does not exist, returns a listing with an empty list.
      * If a prefix is specified in listObjectsRequest, only keys starting with the prefix will be returned.
+     * The objects are listed in key order starting after the marker, if one is specified. When a delimiter is specified, the keys that contain the delimiter
+     * after the prefix are rolled up into common prefixes. A listing returns up to the requested maximum number of keys (1000 by default) and is truncated
+     * when there are more keys left.
      */
     @Override
-    public ObjectListing listObjects(ListObjectsRequest listObjectsRequest, AmazonS3Client s3Client)
+    public synchronized ObjectListing listObjects(ListObjectsRequest listObjectsRequest, AmazonS3Client s3Client)
     {
         LOGGER.debug("listObjects(): listObjectsRequest.getBucketName() = " + listObjectsRequest.getBucketName());
 
@@ -519,17 +579,50 @@ public class MockS3OperationsImpl implements S3Operations
         MockS3Bucket mockS3Bucket = mockS3Buckets.get(bucketName);
         if (mockS3Bucket != null)
         {
-            for (MockS3Object mockS3Object : mockS3Bucket.getObjects().values())
+            String prefix = listObjectsRequest.getPrefix() == null ? "" : listObjectsRequest.getPrefix();
+            String marker = listObjectsRequest.getMarker();
+            String delimiter = listObjectsRequest.getDelimiter();
+            int maxKeys = listObjectsRequest.getMaxKeys() == null ? 1000 : listObjectsRequest.getMaxKeys();
+            int keyCount = 0;
+
+            for (MockS3Object mockS3Object : new TreeMap<>(mockS3Bucket.getObjects()).values())
             {
                 String s3ObjectKey = mockS3Object.getKey();
-                if (listObjectsRequest.getPrefix() == null || s3ObjectKey.startsWith(listObjectsRequest.getPrefix()))
+                if (s3ObjectKey.startsWith(prefix) && (marker == null || s3ObjectKey.compareTo(marker) > 0))
                 {
-                    S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
-                    s3ObjectSummary.setBucketName(bucketName);
-                    s3ObjectSummary.setKey(s3ObjectKey);
-                    s3ObjectSummary.setSize(mockS3Object.getData().length);
+                    // Roll up the keys that contain the delimiter after the prefix.
+                    int delimiterIndex = delimiter == null ? -1 : s3ObjectKey.indexOf(delimiter, prefix.length());
+                    String commonPrefix = delimiterIndex < 0 ? null : s3ObjectKey.substring(0, delimiterIndex + delimiter.length());
+
+                    // Skip the keys that roll up into a common prefix that was already listed on this or on a previous page.
+                    if (commonPrefix != null &&
+                        (objectListing.getCommonPrefixes().contains(commonPrefix) || (marker != null && commonPrefix.compareTo(marker) <= 0)))
+                    {
+                        continue;
+                    }
+
+                    if (keyCount == maxKeys)
+                    {
+                        objectListing.setTruncated(true);
+                        break;
+                    }
 
-                    objectListing.getObjectSummaries().add(s3ObjectSummary);
+                    if (commonPrefix != null)
+                    {
+                        objectListing.getCommonPrefixes().add(commonPrefix);
+                        objectListing.setNextMarker(commonPrefix);
+                    }
+                    else
+                    {
+                        S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+                        s3ObjectSummary.setBucketName(bucketName);
+                        s3ObjectSummary.setKey(s3ObjectKey);
+                        s3ObjectSummary.setSize(mockS3Object.getData().length);
+
+                        objectListing.getObjectSummaries().add(s3ObjectSummary);
+                        objectListing.setNextMarker(s3ObjectKey);
+                    }
+                    keyCount++;
                 }
             }
         }
@@ -827,6 +920,19 @@ public class MockS3OperationsImpl implements S3Operations
     public void rollback()
     {
         mockS3Buckets.clear();
+        failedDeleteKeys.clear();
+        lastCopyTransferManagerConfiguration = null;
+        lastCopyMaxThreads = null;
+    }
+
+    public TransferManagerConfiguration getLastCopyTransferManagerConfiguration()
+    {
+        return lastCopyTransferManagerConfiguration;
+    }
+
+    public Integer getLastCopyMaxThreads()
+    {
+        return lastCopyMaxThreads;
     }
 
     @Override
@@ -0,0 +1,58 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.model;
+
+/**
+ * An exception that is thrown when a request is rejected because its user or namespace has too many requests in progress or exceeded its request rate.
+ */
+public class TooManyRequestsException extends RuntimeException
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of seconds after which the request can be retried.
+     */
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(long retryAfterSeconds)
+    {
+        super();
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public TooManyRequestsException(String message, long retryAfterSeconds)
+    {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public TooManyRequestsException(String message, Throwable cause, long retryAfterSeconds)
+    {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public TooManyRequestsException(Throwable cause, long retryAfterSeconds)
+    {
+        super(cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds()
+    {
+        return retryAfterSeconds;
+    }
+}
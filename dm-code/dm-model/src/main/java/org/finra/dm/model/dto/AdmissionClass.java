@@ -0,0 +1,88 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.model.dto;
+
+/**
+ * The classes of expensive requests that are subject to admission control. Each class has its own request rate and concurrency limits, read from the
+ * configuration so they can be tuned at runtime.
+ */
+public enum AdmissionClass
+{
+    /**
+     * The business object data availability checks.
+     */
+    AVAILABILITY(ConfigurationValue.ADMISSION_CONTROL_AVAILABILITY_REQUESTS_PER_SECOND_PER_USER,
+        ConfigurationValue.ADMISSION_CONTROL_AVAILABILITY_BURST_PER_USER, ConfigurationValue.ADMISSION_CONTROL_AVAILABILITY_MAX_CONCURRENT_PER_USER,
+        ConfigurationValue.ADMISSION_CONTROL_AVAILABILITY_MAX_CONCURRENT_PER_NAMESPACE),
+
+    /**
+     * The business object data and business object format DDL generations.
+     */
+    DDL(ConfigurationValue.ADMISSION_CONTROL_DDL_REQUESTS_PER_SECOND_PER_USER,
+        ConfigurationValue.ADMISSION_CONTROL_DDL_BURST_PER_USER, ConfigurationValue.ADMISSION_CONTROL_DDL_MAX_CONCURRENT_PER_USER,
+        ConfigurationValue.ADMISSION_CONTROL_DDL_MAX_CONCURRENT_PER_NAMESPACE),
+
+    /**
+     * The unregistered business object data invalidations.
+     */
+    INVALIDATION(ConfigurationValue.ADMISSION_CONTROL_INVALIDATION_REQUESTS_PER_SECOND_PER_USER,
+        ConfigurationValue.ADMISSION_CONTROL_INVALIDATION_BURST_PER_USER, ConfigurationValue.ADMISSION_CONTROL_INVALIDATION_MAX_CONCURRENT_PER_USER,
+        ConfigurationValue.ADMISSION_CONTROL_INVALIDATION_MAX_CONCURRENT_PER_NAMESPACE),
+
+    /**
+     * The bulk job creations.
+     */
+    JOB_BULK(ConfigurationValue.ADMISSION_CONTROL_JOB_BULK_REQUESTS_PER_SECOND_PER_USER,
+        ConfigurationValue.ADMISSION_CONTROL_JOB_BULK_BURST_PER_USER, ConfigurationValue.ADMISSION_CONTROL_JOB_BULK_MAX_CONCURRENT_PER_USER,
+        ConfigurationValue.ADMISSION_CONTROL_JOB_BULK_MAX_CONCURRENT_PER_NAMESPACE);
+
+    private final ConfigurationValue requestsPerSecondPerUser;
+
+    private final ConfigurationValue burstPerUser;
+
+    private final ConfigurationValue maxConcurrentPerUser;
+
+    private final ConfigurationValue maxConcurrentPerNamespace;
+
+    private AdmissionClass(ConfigurationValue requestsPerSecondPerUser, ConfigurationValue burstPerUser, ConfigurationValue maxConcurrentPerUser,
+        ConfigurationValue maxConcurrentPerNamespace)
+    {
+        this.requestsPerSecondPerUser = requestsPerSecondPerUser;
+        this.burstPerUser = burstPerUser;
+        this.maxConcurrentPerUser = maxConcurrentPerUser;
+        this.maxConcurrentPerNamespace = maxConcurrentPerNamespace;
+    }
+
+    public ConfigurationValue getRequestsPerSecondPerUser()
+    {
+        return requestsPerSecondPerUser;
+    }
+
+    public ConfigurationValue getBurstPerUser()
+    {
+        return burstPerUser;
+    }
+
+    public ConfigurationValue getMaxConcurrentPerUser()
+    {
+        return maxConcurrentPerUser;
+    }
+
+    public ConfigurationValue getMaxConcurrentPerNamespace()
+    {
+        return maxConcurrentPerNamespace;
+    }
+}
@@ -40,6 +40,21 @@ public enum ConfigurationValue
      */
     SHOW_SQL("hibernate.show_sql", "false"),
 
+    /**
+     * Determines whether Hibernate collects statistics (e.g. entity loads, cache hits and query execution times). Default to not collecting statistics.
+     */
+    HIBERNATE_GENERATE_STATISTICS("hibernate.generate_statistics", "false"),
+
+    /**
+     * The execution time in milliseconds above which a SQL statement run through the DM data source is captured as a slow query. The default is 1 second.
+     */
+    JDBC_SLOW_QUERY_THRESHOLD_MILLIS("jdbc.slow.query.threshold.millis", 1000L),
+
+    /**
+     * The maximum number of distinct slow queries that are kept. The least recently seen slow query is dropped when the maximum is reached.
+     */
+    JDBC_SLOW_QUERY_MAX_CAPTURED("jdbc.slow.query.max.captured", 100),
+
     /**
      * The S3 managed bucket name. This is required so there is no default.
      */
@@ -127,11 +142,53 @@ public enum ConfigurationValue
      */
     JMS_PUBLISHING_JOB_CRON_EXPRESSION("jms.publishing.job.cron.expression", "0 0/5 * * * ?"),
 
+    /**
+     * The cron expression to schedule "waitConditionWatcher" system job that signals the workflows waiting in wait tasks once their wait conditions are
+     * satisfied.  Default is to run the system job every 30 seconds.
+     */
+    WAIT_CONDITION_WATCHER_JOB_CRON_EXPRESSION("wait.condition.watcher.job.cron.expression", "0/30 * * * * ?"),
+
+    /**
+     * The number of times in a row the wait condition watcher may fail to evaluate the wait condition of a waiting workflow before it stops waiting and sets
+     * the error status on the wait task. Errors that are not transient (e.g. a cluster that does not exist anymore) stop the wait right away. The default is
+     * 10.
+     */
+    WAIT_CONDITION_MAX_FAILED_EVALUATIONS("wait.condition.max.failed.evaluations", 10),
+
+    /**
+     * The cron expression to schedule "emrClusterPoolMaintenance" system job that launches and terminates pooled EMR clusters.  Default is to run the system
+     * job every 5 minutes.
+     */
+    EMR_CLUSTER_POOL_MAINTENANCE_JOB_CRON_EXPRESSION("emr.cluster.pool.maintenance.job.cron.expression", "0 0/5 * * * ?"),
+
     /**
      * The tokenized template of the Activiti Id. The default is computed dynamically so it is not listed here.
      */
     ACTIVITI_JOB_DEFINITION_ID_TEMPLATE("activiti.job.definition.id.template", null),
 
+    /**
+     * The maximum number of compiled Activiti script task scripts that are kept in memory. The least recently used script is discarded when the limit is
+     * reached. A value of 0 evaluates the scripts without compiling them. The default is 1000.
+     */
+    ACTIVITI_COMPILED_SCRIPT_CACHE_MAX_SIZE("activiti.compiled.script.cache.max.size", 1000),
+
+    /**
+     * The number of process instances that are created in a single Activiti command when jobs are created in bulk. The default is 100.
+     */
+    JOB_CREATE_COLLECTION_BATCH_SIZE("job.create.collection.batch.size", 100),
+
+    /**
+     * The maximum number of jobs that can be created for a single namespace in one bulk job create request. The default is 5000. The number of bulk job create
+     * requests running concurrently for a namespace is limited by the admission control.
+     */
+    JOB_CREATE_COLLECTION_MAX_JOBS_PER_NAMESPACE("job.create.collection.max.jobs.per.namespace", 5000),
+
+    /**
+     * The maximum number of workflow steps returned in a page of job workflow steps. This is also the page size used when none is specified. The default is
+     * 1000.
+     */
+    JOB_WORKFLOW_STEPS_MAX_PAGE_SIZE("job.workflow.steps.max.page.size", 1000),
+
     /**
      * The node condition for running a bootstrap script. The default is whether the instance "isMaster" is true.
      */
@@ -197,6 +254,44 @@ public enum ConfigurationValue
      */
     EMR_OOZIE_JOBS_TO_INCLUDE_IN_CLUSTER_STATUS("emr.oozie.jobs.to.include.in.cluster.status", 100),
 
+    /**
+     * The maximum number of Oozie workflow jobs whose details get retrieved at the same time when the Oozie jobs are included in an EMR cluster status. A
+     * value of 1 retrieves the job details sequentially. The default is 10.
+     */
+    EMR_OOZIE_JOBS_MAX_THREADS("emr.oozie.jobs.max.threads", 10),
+
+    /**
+     * The maximum age in seconds of the cached EMR cluster state (active cluster list, cluster descriptions and active steps) that is returned to callers
+     * polling for an EMR cluster status. A value of 0 disables the cache. The default is 15 seconds.
+     */
+    EMR_CLUSTER_STATE_CACHE_TIME_TO_LIVE_SECONDS("emr.cluster.state.cache.time.to.live.seconds", 15L),
+
+    /**
+     * The interval in seconds at which each server refreshes the active EMR clusters cached by the EMR cluster state cache in the background, as long as the
+     * active clusters are being looked up. It should be shorter than the cache time to live, so that lookups by cluster name rarely have to wait on AWS. A
+     * value of 0 disables the background refresh. The default is 10 seconds.
+     */
+    EMR_CLUSTER_STATE_CACHE_REFRESH_INTERVAL_SECONDS("emr.cluster.state.cache.refresh.interval.seconds", 10L),
+
+    /**
+     * The time in minutes the idle pooled EMR clusters of a definition are kept after the last EMR cluster was created for the definition. Healthy idle
+     * clusters are kept and replaced while EMR clusters keep being created within this time, so only the pool of an unused definition scales down to nothing.
+     * The default is 60 minutes.
+     */
+    EMR_CLUSTER_POOL_IDLE_TIME_TO_LIVE_MINUTES("emr.cluster.pool.idle.time.to.live.minutes", 60L),
+
+    /**
+     * The maximum age in seconds of the cached EC2 spot prices, on-demand prices and availability zones that are used to find the best price for an EMR
+     * cluster. A value of 0 disables the cache. The default is 60 seconds.
+     */
+    EC2_PRICE_CACHE_TIME_TO_LIVE_SECONDS("ec2.price.cache.time.to.live.seconds", 60L),
+
+    /**
+     * The maximum number of availability zones whose spot prices get looked up at the same time when finding the best price for an EMR cluster. A value of 1
+     * looks up the spot prices sequentially. The default is 10.
+     */
+    EC2_PRICE_LOOKUP_MAX_THREADS("ec2.price.lookup.max.threads", 10),
+
     /**
      * The DM EMR support security group.
      */
@@ -217,6 +312,38 @@ public enum ConfigurationValue
      */
     S3_URL_PATH_DELIMITER("s3.path.delimiter", "/"),
 
+    /**
+     * The maximum number of S3 multi-object delete requests that can be in flight at the same time when deleting a list of files or a directory. The default
+     * is 10.
+     */
+    S3_DELETE_MAX_THREADS("s3.delete.max.threads", 10),
+
+    /**
+     * The maximum number of attempts to delete the keys/objects that S3 reported as not deleted in a multi-object delete response. The default is 3.
+     */
+    S3_DELETE_MAX_ATTEMPTS("s3.delete.max.attempts", 3),
+
+    /**
+     * The maximum number of sub-prefixes that get listed at the same time when listing a large number of keys/objects. A value of 1 lists the keys/objects
+     * sequentially. The default is 10.
+     */
+    S3_LIST_MAX_THREADS("s3.list.max.threads", 10),
+
+    /**
+     * The object size in bytes from which an S3 copy is performed as a multipart copy with the parts copied in parallel. The default is 256 MB.
+     */
+    S3_COPY_MULTIPART_THRESHOLD_BYTES("s3.copy.multipart.threshold.bytes", 268435456L),
+
+    /**
+     * The part size in bytes used by a multipart S3 copy. The default is 128 MB.
+     */
+    S3_COPY_PART_SIZE_BYTES("s3.copy.part.size.bytes", 134217728L),
+
+    /**
+     * The maximum number of parts copied at the same time when moving an uploaded file to its target S3 bucket. The default is 20.
+     */
+    S3_COPY_MAX_THREADS("s3.copy.max.threads", 20),
+
     /**
      * Bootstrapping script for configuring Hadoop parameters. The default value is the path to the EMR configure hadoop script.
      */
@@ -337,6 +464,25 @@ public enum ConfigurationValue
      */
     AVAILABILITY_DDL_MAX_PARTITION_VALUES("availability.ddl.max.partition.values", null),
 
+    /**
+     * The maximum number of business object data instances that can be updated by a single business object data status bulk update request. The default is
+     * 10000.
+     */
+    BUSINESS_OBJECT_DATA_STATUS_BULK_UPDATE_MAX_BUSINESS_OBJECT_DATA("business.object.data.status.bulk.update.max.business.object.data", 10000),
+
+    /**
+     * The number of business object data status updates that get applied in a single transaction by a business object data status bulk update request. The
+     * default is 500.
+     */
+    BUSINESS_OBJECT_DATA_STATUS_BULK_UPDATE_CHUNK_SIZE("business.object.data.status.bulk.update.chunk.size", 500),
+
+    /**
+     * The number of statements grouped into a single JDBC batch when a business object data status bulk update request flushes a chunk. Batching is what lets
+     * the status updates and history inserts avoid a round trip per row. The default is 50 which matches the allocation size of our entity sequence
+     * generators. Other requests don't batch their statements.
+     */
+    BUSINESS_OBJECT_DATA_STATUS_BULK_UPDATE_JDBC_BATCH_SIZE("business.object.data.status.bulk.update.jdbc.batch.size", 50),
+
     /**
      * The chunk size to use when creating database "in" clauses. The default chunk size to use for "in" clauses is 1000. For Oracle specifically, "in" clauses
      * can't be greater than 1000 or a SQL error will be thrown.
@@ -358,6 +504,78 @@ public enum ConfigurationValue
      */
     THREAD_POOL_KEEP_ALIVE_SECS("thread.pool.keep.alive.secs", 60),
 
+    /**
+     * The interval in seconds after which the workload thread pools re-read their pool sizes from the configuration. The default is 60 seconds.
+     */
+    THREAD_POOL_RESIZE_CHECK_INTERVAL_SECS("thread.pool.resize.check.interval.secs", 60L),
+
+    /**
+     * The core pool size of the Activiti job executor thread pool. The default is 5.
+     */
+    THREAD_POOL_ACTIVITI_CORE_POOL_SIZE("thread.pool.activiti.core.pool.size", 5),
+
+    /**
+     * The max pool size of the Activiti job executor thread pool. The default is 50.
+     */
+    THREAD_POOL_ACTIVITI_MAX_POOL_SIZE("thread.pool.activiti.max.pool.size", 50),
+
+    /**
+     * The queue capacity of the Activiti job executor thread pool. The pool only grows beyond its core size once the queue is full. The default is 100.
+     */
+    THREAD_POOL_ACTIVITI_QUEUE_CAPACITY("thread.pool.activiti.queue.capacity", 100),
+
+    /**
+     * What the Activiti job executor thread pool does with a task when both the pool and its queue are full: ABORT or CALLER_RUNS. The default is ABORT. Jobs
+     * rejected by the pool are handed back to the Activiti job executor.
+     */
+    THREAD_POOL_ACTIVITI_SATURATION_POLICY("thread.pool.activiti.saturation.policy", "ABORT"),
+
+    /**
+     * The core pool size of the upload-single file move thread pool. The default is 5.
+     */
+    THREAD_POOL_FILE_MOVE_CORE_POOL_SIZE("thread.pool.file.move.core.pool.size", 5),
+
+    /**
+     * The max pool size of the upload-single file move thread pool. The default is 20.
+     */
+    THREAD_POOL_FILE_MOVE_MAX_POOL_SIZE("thread.pool.file.move.max.pool.size", 20),
+
+    /**
+     * The queue capacity of the upload-single file move thread pool. The pool only grows beyond its core size once the queue is full. The default
+     * is 1000.
+     */
+    THREAD_POOL_FILE_MOVE_QUEUE_CAPACITY("thread.pool.file.move.queue.capacity", 1000),
+
+    /**
+     * What the upload-single file move thread pool does with a task when both the pool and its queue are full: ABORT or CALLER_RUNS. The default
+     * is CALLER_RUNS, which copies the file on the thread that processes the upload-single message rather than failing an upload that has already been
+     * completed by the uploader. ABORT fails the upload-single completion like any other file move error and marks the source business object data DELETED.
+     */
+    THREAD_POOL_FILE_MOVE_SATURATION_POLICY("thread.pool.file.move.saturation.policy", "CALLER_RUNS"),
+
+    /**
+     * The core pool size of the notification event processing thread pool. The default is 5.
+     */
+    THREAD_POOL_NOTIFICATION_CORE_POOL_SIZE("thread.pool.notification.core.pool.size", 5),
+
+    /**
+     * The max pool size of the notification event processing thread pool. The default is 20.
+     */
+    THREAD_POOL_NOTIFICATION_MAX_POOL_SIZE("thread.pool.notification.max.pool.size", 20),
+
+    /**
+     * The queue capacity of the notification event processing thread pool. The pool only grows beyond its core size once the queue is full. The
+     * default is 1000.
+     */
+    THREAD_POOL_NOTIFICATION_QUEUE_CAPACITY("thread.pool.notification.queue.capacity", 1000),
+
+    /**
+     * What the notification event processing thread pool does with a task when both the pool and its queue are full: ABORT or CALLER_RUNS. The
+     * default is ABORT, which skips the notification and logs an error, the same as when the notification processing fails. CALLER_RUNS processes the
+     * notification on the thread that registered the business object data, inside its transaction.
+     */
+    THREAD_POOL_NOTIFICATION_SATURATION_POLICY("thread.pool.notification.saturation.policy", "ABORT"),
+
     /**
      * JMS listener concurrency limits via a "lower-upper" String, e.g. "5-10". Refer to DefaultMessageListenerContainer#setConcurrency for details.
      */
@@ -470,6 +688,12 @@ public enum ConfigurationValue
      */
     DM_NOTIFICATION_SQS_BUSINESS_OBJECT_DATA_STATUS_CHANGE_VELOCITY_TEMPLATE("dm.notification.sqs.business.object.data.status.change.velocity.template", null),
 
+    /**
+     * The maximum number of parsed velocity templates that are kept in memory. The least recently used template is discarded when the limit is reached. A
+     * value of 0 disables the cache. The default is 1000.
+     */
+    VELOCITY_TEMPLATE_CACHE_MAX_SIZE("velocity.template.cache.max.size", 1000),
+
     /**
      * The cache time to live in seconds defined in net.sf.ehcache.config.CacheConfiguration.
      */
@@ -490,6 +714,12 @@ public enum ConfigurationValue
      */
     DM_CACHE_MEMORY_STORE_EVICTION_POLICY("dm.cache.memory.store.eviction.policy", "LRU"),
 
+    /**
+     * The maximum age in seconds of the in-memory business object data notification registration index before it gets rebuilt from the database. This bounds
+     * how long a registration created or deleted on another node can go unnoticed. The default is 60 seconds.
+     */
+    NOTIFICATION_REGISTRATION_INDEX_TIME_TO_LIVE_SECONDS("notification.registration.index.time.to.live.seconds", 60L),
+
     /**
      * The default value for EC2 node IAM profile name when creating EMR cluster.
      */
@@ -508,7 +738,133 @@ public enum ConfigurationValue
     /**
      * The maximum number of rows returned in the result of a statement execution of the JDBC service.
      */
-    JDBC_RESULT_MAX_ROWS("jdbc.result.max.rows", null);
+    JDBC_RESULT_MAX_ROWS("jdbc.result.max.rows", null),
+
+    /**
+     * Indicates whether REST responses are gzip compressed for the clients that accept it.
+     */
+    HTTP_RESPONSE_COMPRESSION_ENABLED("http.response.compression.enabled", "true"),
+
+    /**
+     * The minimum size in bytes of a REST response for it to get compressed. Smaller responses are sent as is since compressing them costs more than it
+     * saves. Endpoints that opt into streaming are compressed regardless of their size.
+     */
+    HTTP_RESPONSE_COMPRESSION_MIN_SIZE_BYTES("http.response.compression.min.size.bytes", 2048),
+
+    /**
+     * Indicates whether the admission control of the expensive REST endpoints (availability, DDL generation, unregistered business object data invalidation
+     * and bulk job creation) is enabled. The default is false, so deployments opt in. Once enabled, each of these endpoints is limited by the
+     * "admission.control.&lt;class&gt;.*" values below:
+     * <ul>
+     * <li>requests.per.second.per.user and burst.per.user: the average request rate and burst of a user. Requests over the rate get a "429 Too Many Requests"
+     * right away.</li>
+     * <li>max.concurrent.per.user and max.concurrent.per.namespace: the requests running at once for a user and for a namespace. Requests over a limit wait up
+     * to admission.control.queue.timeout.millis for a slot before they get a "429 Too Many Requests".</li>
+     * </ul>
+     * The user is the authenticated username, so all the clients sharing a service account share its limits. Review the per user limits against the traffic of
+     * the service accounts before enabling admission control.
+     */
+    ADMISSION_CONTROL_ENABLED("admission.control.enabled", "false"),
+
+    /**
+     * The maximum time in milliseconds a request waits for a concurrency slot of its user or namespace before it is rejected with a "429 Too Many Requests".
+     */
+    ADMISSION_CONTROL_QUEUE_TIMEOUT_MILLIS("admission.control.queue.timeout.millis", 2000),
+
+    /**
+     * The number of business object data availability requests per second allowed for a user on average. A value of 0 or less disables this limit.
+     */
+    ADMISSION_CONTROL_AVAILABILITY_REQUESTS_PER_SECOND_PER_USER("admission.control.availability.requests.per.second.per.user", 50),
+
+    /**
+     * The number of business object data availability requests a user can burst above the average rate.
+     */
+    ADMISSION_CONTROL_AVAILABILITY_BURST_PER_USER("admission.control.availability.burst.per.user", 100),
+
+    /**
+     * The maximum number of business object data availability requests running concurrently for a user. A value of 0 or less disables this limit.
+     */
+    ADMISSION_CONTROL_AVAILABILITY_MAX_CONCURRENT_PER_USER("admission.control.availability.max.concurrent.per.user", 10),
+
+    /**
+     * The maximum number of business object data availability requests running concurrently for a namespace. A value of 0 or less disables this limit.
+     */
+    ADMISSION_CONTROL_AVAILABILITY_MAX_CONCURRENT_PER_NAMESPACE("admission.control.availability.max.concurrent.per.namespace", 20),
+
+    /**
+     * The number of DDL generation requests per second allowed for a user on average. A value of 0 or less disables this limit.
+     */
+    ADMISSION_CONTROL_DDL_REQUESTS_PER_SECOND_PER_USER("admission.control.ddl.requests.per.second.per.user", 20),
+
+    /**
+     * The number of DDL generation requests a user can burst above the average rate.
+     */
+    ADMISSION_CONTROL_DDL_BURST_PER_USER("admission.control.ddl.burst.per.user", 50),
+
+    /**
+     * The maximum number of DDL generation requests running concurrently for a user. A value of 0 or less disables this limit.
+     */
+    ADMISSION_CONTROL_DDL_MAX_CONCURRENT_PER_USER("admission.control.ddl.max.concurrent.per.user", 5),
+
+    /**
+     * The maximum number of DDL generation requests running concurrently for a namespace. A value of 0 or less disables this limit.
+     */
+    ADMISSION_CONTROL_DDL_MAX_CONCURRENT_PER_NAMESPACE("admission.control.ddl.max.concurrent.per.namespace", 10),
+
+    /**
+     * The number of unregistered business object data invalidation requests per second allowed for a user on average. A value of 0 or less disables this
+     * limit.
+     */
+    ADMISSION_CONTROL_INVALIDATION_REQUESTS_PER_SECOND_PER_USER("admission.control.invalidation.requests.per.second.per.user", 5),
+
+    /**
+     * The number of unregistered business object data invalidation requests a user can burst above the average rate.
+     */
+    ADMISSION_CONTROL_INVALIDATION_BURST_PER_USER("admission.control.invalidation.burst.per.user", 20),
+
+    /**
+     * The maximum number of unregistered business object data invalidation requests running concurrently for a user. A value of 0 or less disables this
+     * limit.
+     */
+    ADMISSION_CONTROL_INVALIDATION_MAX_CONCURRENT_PER_USER("admission.control.invalidation.max.concurrent.per.user", 2),
+
+    /**
+     * The maximum number of unregistered business object data invalidation requests running concurrently for a namespace. A value of 0 or less disables this
+     * limit.
+     */
+    ADMISSION_CONTROL_INVALIDATION_MAX_CONCURRENT_PER_NAMESPACE("admission.control.invalidation.max.concurrent.per.namespace", 2),
+
+    /**
+     * The number of bulk job create requests per second allowed for a user on average. A value of 0 or less disables this limit.
+     */
+    ADMISSION_CONTROL_JOB_BULK_REQUESTS_PER_SECOND_PER_USER("admission.control.job.bulk.requests.per.second.per.user", 2),
+
+    /**
+     * The number of bulk job create requests a user can burst above the average rate.
+     */
+    ADMISSION_CONTROL_JOB_BULK_BURST_PER_USER("admission.control.job.bulk.burst.per.user", 10),
+
+    /**
+     * The maximum number of bulk job create requests running concurrently for a user. A value of 0 or less disables this limit.
+     */
+    ADMISSION_CONTROL_JOB_BULK_MAX_CONCURRENT_PER_USER("admission.control.job.bulk.max.concurrent.per.user", 2),
+
+    /**
+     * The maximum number of bulk job create requests running concurrently for a namespace. Together with the maximum number of jobs per namespace in a single
+     * request, this bounds the number of jobs that can be created for a namespace at the same time. A value of 0 or less disables this limit.
+     */
+    ADMISSION_CONTROL_JOB_BULK_MAX_CONCURRENT_PER_NAMESPACE("admission.control.job.bulk.max.concurrent.per.namespace", 1),
+
+    /**
+     * The maximum number of bytes of a request body captured by the request logging filter. The rest of the body streams through to the application without
+     * being copied.
+     */
+    REQUEST_LOGGING_PAYLOAD_CAPTURE_SIZE_BYTES("request.logging.payload.capture.size.bytes", 8192),
+
+    /**
+     * The request logging filter logs one request out of this many. A value of 1 or less logs every request.
+     */
+    REQUEST_LOGGING_SAMPLING_INTERVAL("request.logging.sampling.interval", 1);
 
     // Properties
     private String key;
@@ -53,6 +53,12 @@ public class DmRegServerAccessParamsDto
      */
     private String password;
 
+    /**
+     * This determines if the binary (Smile) content type is used to communicate with the Data Management Registration Server. If set to true, requests are
+     * sent and responses are asked for as "application/x-jackson-smile". Otherwise, XML is used.
+     */
+    private Boolean useBinaryContentType;
+
     public String getDmRegServerHost()
     {
         return dmRegServerHost;
@@ -103,6 +109,16 @@ public class DmRegServerAccessParamsDto
         this.password = password;
     }
 
+    public Boolean getUseBinaryContentType()
+    {
+        return useBinaryContentType;
+    }
+
+    public void setUseBinaryContentType(Boolean useBinaryContentType)
+    {
+        this.useBinaryContentType = useBinaryContentType;
+    }
+
     /**
      * Returns a builder that can easily build this DTO.
      *
@@ -150,6 +166,12 @@ public class DmRegServerAccessParamsDto
             return this;
         }
 
+        public Builder useBinaryContentType(Boolean useBinaryContentType)
+        {
+            params.setUseBinaryContentType(useBinaryContentType);
+            return this;
+        }
+
         public DmRegServerAccessParamsDto build()
         {
             return params;
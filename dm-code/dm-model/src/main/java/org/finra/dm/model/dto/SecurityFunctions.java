@@ -124,6 +124,10 @@ public class SecurityFunctions
 
     public static final String FN_BUILD_INFO_GET = "FN_BUILD_INFO_GET";
 
+    public static final String FN_METRICS_GET = "FN_METRICS_GET";
+
+    public static final String FN_DATABASE_STATISTICS_GET = "FN_DATABASE_STATISTICS_GET";
+
     public static final String FN_UPLOAD_POST = "FN_UPLOAD_POST";
     public static final String FN_UPLOAD_EXTEND_CREDENTIALS_GET = "FN_UPLOAD_EXTEND_CREDENTIALS_GET";
     public static final String FN_DOWNLOAD_GET = "FN_DOWNLOAD_GET";
@@ -0,0 +1,145 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.model.jpa;
+
+import java.sql.Timestamp;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+/**
+ * An EMR cluster launched ahead of demand for an EMR cluster definition. A pooled cluster is idle until it gets leased to an EMR cluster create request, at
+ * which point the requested cluster name is recorded as the lease name and the pooled cluster is used in place of a newly launched one.
+ */
+@Table(name = EmrClusterPoolEntity.TABLE_NAME)
+@Entity
+public class EmrClusterPoolEntity extends AuditableEntity
+{
+    /**
+     * The table name.
+     */
+    public static final String TABLE_NAME = "emr_clstr_pool";
+
+    @Id
+    @Column(name = TABLE_NAME + "_id")
+    @GeneratedValue(generator = TABLE_NAME + "_seq")
+    @SequenceGenerator(name = TABLE_NAME + "_seq", sequenceName = TABLE_NAME + "_seq")
+    private Integer id;
+
+    @ManyToOne
+    @JoinColumn(name = "emr_clstr_dfntn_id", referencedColumnName = "emr_clstr_dfntn_id", nullable = false)
+    private EmrClusterDefinitionEntity emrClusterDefinition;
+
+    /**
+     * The hash of the EMR cluster definition the pooled cluster was launched with.
+     */
+    @Column(name = "dfntn_hash_cd", nullable = false)
+    private String emrClusterDefinitionHash;
+
+    @Column(name = "emr_clstr_id", nullable = false)
+    private String emrClusterId;
+
+    /**
+     * The name the pooled cluster was launched with in EMR.
+     */
+    @Column(name = "emr_clstr_name_tx", nullable = false)
+    private String emrClusterName;
+
+    /**
+     * The EMR cluster name of the create request the pooled cluster is leased to or null when the pooled cluster is idle.
+     */
+    @Column(name = "lease_emr_clstr_name_tx")
+    private String leaseEmrClusterName;
+
+    @Column(name = "lease_ts")
+    private Timestamp leasedOn;
+
+    public Integer getId()
+    {
+        return id;
+    }
+
+    public void setId(Integer id)
+    {
+        this.id = id;
+    }
+
+    public EmrClusterDefinitionEntity getEmrClusterDefinition()
+    {
+        return emrClusterDefinition;
+    }
+
+    public void setEmrClusterDefinition(EmrClusterDefinitionEntity emrClusterDefinition)
+    {
+        this.emrClusterDefinition = emrClusterDefinition;
+    }
+
+    public String getEmrClusterDefinitionHash()
+    {
+        return emrClusterDefinitionHash;
+    }
+
+    public void setEmrClusterDefinitionHash(String emrClusterDefinitionHash)
+    {
+        this.emrClusterDefinitionHash = emrClusterDefinitionHash;
+    }
+
+    public String getEmrClusterId()
+    {
+        return emrClusterId;
+    }
+
+    public void setEmrClusterId(String emrClusterId)
+    {
+        this.emrClusterId = emrClusterId;
+    }
+
+    public String getEmrClusterName()
+    {
+        return emrClusterName;
+    }
+
+    public void setEmrClusterName(String emrClusterName)
+    {
+        this.emrClusterName = emrClusterName;
+    }
+
+    public String getLeaseEmrClusterName()
+    {
+        return leaseEmrClusterName;
+    }
+
+    public void setLeaseEmrClusterName(String leaseEmrClusterName)
+    {
+        this.leaseEmrClusterName = leaseEmrClusterName;
+    }
+
+    public Timestamp getLeasedOn()
+    {
+        return leasedOn;
+    }
+
+    public void setLeasedOn(Timestamp leasedOn)
+    {
+        this.leasedOn = leasedOn;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.model.jpa;
+
+import java.sql.Timestamp;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * A compact summary of a job that is kept up to date as the workflow of the job progresses, so the status of a job can be read without querying the Activiti
+ * runtime and history tables. The job Id is the Activiti process instance Id.
+ */
+@Table(name = JobSummaryEntity.TABLE_NAME)
+@Entity
+public class JobSummaryEntity
+{
+    /**
+     * The table name.
+     */
+    public static final String TABLE_NAME = "job_smry";
+
+    /**
+     * The status of a job whose workflow is running.
+     */
+    public static final String STATUS_RUNNING = "RUNNING";
+
+    /**
+     * The status of a job whose workflow has ended.
+     */
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    @Id
+    @Column(name = "job_id")
+    private String id;
+
+    @Column(name = "prcs_dfntn_id", nullable = false)
+    private String processDefinitionId;
+
+    @Column(name = "job_stts_cd", nullable = false)
+    private String status;
+
+    /**
+     * The Id of the most recently started activity of a running job.
+     */
+    @Column(name = "crnt_actvy_id")
+    private String currentActivityId;
+
+    @Column(name = "start_ts", nullable = false)
+    private Timestamp startTime;
+
+    @Column(name = "end_ts")
+    private Timestamp endTime;
+
+    @Column(name = "updt_ts", nullable = false)
+    private Timestamp updatedOn;
+
+    public String getId()
+    {
+        return id;
+    }
+
+    public void setId(String id)
+    {
+        this.id = id;
+    }
+
+    public String getProcessDefinitionId()
+    {
+        return processDefinitionId;
+    }
+
+    public void setProcessDefinitionId(String processDefinitionId)
+    {
+        this.processDefinitionId = processDefinitionId;
+    }
+
+    public String getStatus()
+    {
+        return status;
+    }
+
+    public void setStatus(String status)
+    {
+        this.status = status;
+    }
+
+    public String getCurrentActivityId()
+    {
+        return currentActivityId;
+    }
+
+    public void setCurrentActivityId(String currentActivityId)
+    {
+        this.currentActivityId = currentActivityId;
+    }
+
+    public Timestamp getStartTime()
+    {
+        return startTime;
+    }
+
+    public void setStartTime(Timestamp startTime)
+    {
+        this.startTime = startTime;
+    }
+
+    public Timestamp getEndTime()
+    {
+        return endTime;
+    }
+
+    public void setEndTime(Timestamp endTime)
+    {
+        this.endTime = endTime;
+    }
+
+    public Timestamp getUpdatedOn()
+    {
+        return updatedOn;
+    }
+
+    public void setUpdatedOn(Timestamp updatedOn)
+    {
+        this.updatedOn = updatedOn;
+    }
+}
@@ -19,6 +19,7 @@ import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorType;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.Inheritance;
@@ -33,6 +34,7 @@ import javax.persistence.Table;
  */
 @Table(name = NotificationRegistrationEntity.TABLE_NAME)
 @Entity
+@EntityListeners(NotificationRegistrationEntityListener.class)
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "ntfcn_type_cd", discriminatorType = DiscriminatorType.STRING)
 public class NotificationRegistrationEntity extends AuditableEntity
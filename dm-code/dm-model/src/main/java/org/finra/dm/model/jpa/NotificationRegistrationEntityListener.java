@@ -0,0 +1,54 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.model.jpa;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * A JPA entity listener that keeps a JVM wide count of notification registration modifications. In-memory structures built from notification registrations
+ * (e.g. a registration index) can compare this count against the count they were built with to know when they need to be rebuilt.
+ */
+public class NotificationRegistrationEntityListener
+{
+    private static final AtomicLong MODIFICATION_COUNT = new AtomicLong();
+
+    /**
+     * Gets the number of notification registration modifications made in this JVM.
+     *
+     * @return the modification count
+     */
+    public static long getModificationCount()
+    {
+        return MODIFICATION_COUNT.get();
+    }
+
+    /**
+     * Records a modification after a notification registration is inserted, updated, or deleted.
+     *
+     * @param notificationRegistrationEntity the notification registration entity
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onModification(NotificationRegistrationEntity notificationRegistrationEntity)
+    {
+        MODIFICATION_COUNT.incrementAndGet();
+    }
+}
@@ -0,0 +1,41 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.rest;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.finra.dm.model.dto.AdmissionClass;
+
+/**
+ * Marks an expensive endpoint whose requests are subject to the admission control. A request that exceeds the rate of its user or that can't get a
+ * concurrency slot of its user and namespaces within the queue timeout is answered with a "429 Too Many Requests" and a "Retry-After" header.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AdmissionControlled
+{
+    /**
+     * The admission class of the endpoint which determines the limits that apply.
+     *
+     * @return the admission class
+     */
+    AdmissionClass value();
+}
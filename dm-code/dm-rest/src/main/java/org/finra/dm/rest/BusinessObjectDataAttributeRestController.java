@@ -40,7 +40,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles business object data attribute requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class BusinessObjectDataAttributeRestController extends DmBaseController
 {
     public static final String BUSINESS_OBJECT_DATA_ATTRIBUTES_URI_PREFIX = "/businessObjectDataAttributes";
@@ -55,7 +55,8 @@ public class BusinessObjectDataAttributeRestController extends DmBaseController
      *
      * @return the newly created business object data attribute information
      */
-    @RequestMapping(value = BUSINESS_OBJECT_DATA_ATTRIBUTES_URI_PREFIX, method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = BUSINESS_OBJECT_DATA_ATTRIBUTES_URI_PREFIX, method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_ATTRIBUTES_POST)
     public BusinessObjectDataAttribute createBusinessObjectDataAttribute(@RequestBody BusinessObjectDataAttributeCreateRequest request)
     {
@@ -443,7 +444,7 @@ public class BusinessObjectDataAttributeRestController extends DmBaseController
         "/businessObjectFormatUsages/{businessObjectFormatUsage}/businessObjectFormatFileTypes/{businessObjectFormatFileType}" +
         "/businessObjectFormatVersions/{businessObjectFormatVersion}/partitionValues/{partitionValue}/businessObjectDataVersions/{businessObjectDataVersion}" +
         "/businessObjectDataAttributeNames/{businessObjectDataAttributeName}", method = RequestMethod.PUT,
-        consumes = {"application/xml", "application/json"})
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_ATTRIBUTES_PUT)
     public BusinessObjectDataAttribute updateBusinessObjectDataAttribute(@PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
         @PathVariable("businessObjectFormatUsage") String businessObjectFormatUsage,
@@ -476,7 +477,7 @@ public class BusinessObjectDataAttributeRestController extends DmBaseController
         "/businessObjectFormatUsages/{businessObjectFormatUsage}/businessObjectFormatFileTypes/{businessObjectFormatFileType}" +
         "/businessObjectFormatVersions/{businessObjectFormatVersion}/partitionValues/{partitionValue}/subPartition1Values/{subPartition1Value}" +
         "/businessObjectDataVersions/{businessObjectDataVersion}/businessObjectDataAttributeNames/{businessObjectDataAttributeName}",
-        method = RequestMethod.PUT, consumes = {"application/xml", "application/json"})
+        method = RequestMethod.PUT, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_ATTRIBUTES_PUT)
     public BusinessObjectDataAttribute updateBusinessObjectDataAttribute(@PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
         @PathVariable("businessObjectFormatUsage") String businessObjectFormatUsage,
@@ -512,7 +513,7 @@ public class BusinessObjectDataAttributeRestController extends DmBaseController
         "/businessObjectFormatVersions/{businessObjectFormatVersion}/partitionValues/{partitionValue}/subPartition1Values/{subPartition1Value}" +
         "/subPartition2Values/{subPartition2Value}" +
         "/businessObjectDataVersions/{businessObjectDataVersion}/businessObjectDataAttributeNames/{businessObjectDataAttributeName}",
-        method = RequestMethod.PUT, consumes = {"application/xml", "application/json"})
+        method = RequestMethod.PUT, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_ATTRIBUTES_PUT)
     public BusinessObjectDataAttribute updateBusinessObjectDataAttribute(@PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
         @PathVariable("businessObjectFormatUsage") String businessObjectFormatUsage,
@@ -550,7 +551,7 @@ public class BusinessObjectDataAttributeRestController extends DmBaseController
         "/businessObjectFormatVersions/{businessObjectFormatVersion}/partitionValues/{partitionValue}/subPartition1Values/{subPartition1Value}" +
         "/subPartition2Values/{subPartition2Value}/subPartition3Values/{subPartition3Value}" +
         "/businessObjectDataVersions/{businessObjectDataVersion}/businessObjectDataAttributeNames/{businessObjectDataAttributeName}",
-        method = RequestMethod.PUT, consumes = {"application/xml", "application/json"})
+        method = RequestMethod.PUT, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_ATTRIBUTES_PUT)
     public BusinessObjectDataAttribute updateBusinessObjectDataAttribute(@PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
         @PathVariable("businessObjectFormatUsage") String businessObjectFormatUsage,
@@ -589,7 +590,7 @@ public class BusinessObjectDataAttributeRestController extends DmBaseController
         "/businessObjectFormatVersions/{businessObjectFormatVersion}/partitionValues/{partitionValue}/subPartition1Values/{subPartition1Value}" +
         "/subPartition2Values/{subPartition2Value}/subPartition3Values/{subPartition3Value}/subPartition4Values/{subPartition4Value}" +
         "/businessObjectDataVersions/{businessObjectDataVersion}/businessObjectDataAttributeNames/{businessObjectDataAttributeName}",
-        method = RequestMethod.PUT, consumes = {"application/xml", "application/json"})
+        method = RequestMethod.PUT, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_ATTRIBUTES_PUT)
     public BusinessObjectDataAttribute updateBusinessObjectDataAttribute(@PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
         @PathVariable("businessObjectFormatUsage") String businessObjectFormatUsage,
@@ -626,7 +627,7 @@ public class BusinessObjectDataAttributeRestController extends DmBaseController
         "/businessObjectFormatUsages/{businessObjectFormatUsage}/businessObjectFormatFileTypes/{businessObjectFormatFileType}" +
         "/businessObjectFormatVersions/{businessObjectFormatVersion}/partitionValues/{partitionValue}/businessObjectDataVersions/{businessObjectDataVersion}" +
         "/businessObjectDataAttributeNames/{businessObjectDataAttributeName}", method = RequestMethod.PUT,
-        consumes = {"application/xml", "application/json"})
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_ATTRIBUTES_PUT)
     public BusinessObjectDataAttribute updateBusinessObjectDataAttribute(@PathVariable("namespace") String namespace,
         @PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
@@ -662,7 +663,7 @@ public class BusinessObjectDataAttributeRestController extends DmBaseController
         "/businessObjectFormatUsages/{businessObjectFormatUsage}/businessObjectFormatFileTypes/{businessObjectFormatFileType}" +
         "/businessObjectFormatVersions/{businessObjectFormatVersion}/partitionValues/{partitionValue}/subPartition1Values/{subPartition1Value}" +
         "/businessObjectDataVersions/{businessObjectDataVersion}/businessObjectDataAttributeNames/{businessObjectDataAttributeName}",
-        method = RequestMethod.PUT, consumes = {"application/xml", "application/json"})
+        method = RequestMethod.PUT, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_ATTRIBUTES_PUT)
     public BusinessObjectDataAttribute updateBusinessObjectDataAttribute(@PathVariable("namespace") String namespace,
         @PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
@@ -701,7 +702,7 @@ public class BusinessObjectDataAttributeRestController extends DmBaseController
         "/businessObjectFormatVersions/{businessObjectFormatVersion}/partitionValues/{partitionValue}/subPartition1Values/{subPartition1Value}" +
         "/subPartition2Values/{subPartition2Value}" +
         "/businessObjectDataVersions/{businessObjectDataVersion}/businessObjectDataAttributeNames/{businessObjectDataAttributeName}",
-        method = RequestMethod.PUT, consumes = {"application/xml", "application/json"})
+        method = RequestMethod.PUT, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_ATTRIBUTES_PUT)
     public BusinessObjectDataAttribute updateBusinessObjectDataAttribute(@PathVariable("namespace") String namespace,
         @PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
@@ -742,7 +743,7 @@ public class BusinessObjectDataAttributeRestController extends DmBaseController
         "/businessObjectFormatVersions/{businessObjectFormatVersion}/partitionValues/{partitionValue}/subPartition1Values/{subPartition1Value}" +
         "/subPartition2Values/{subPartition2Value}/subPartition3Values/{subPartition3Value}" +
         "/businessObjectDataVersions/{businessObjectDataVersion}/businessObjectDataAttributeNames/{businessObjectDataAttributeName}",
-        method = RequestMethod.PUT, consumes = {"application/xml", "application/json"})
+        method = RequestMethod.PUT, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_ATTRIBUTES_PUT)
     public BusinessObjectDataAttribute updateBusinessObjectDataAttribute(@PathVariable("namespace") String namespace,
         @PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
@@ -784,7 +785,7 @@ public class BusinessObjectDataAttributeRestController extends DmBaseController
         "/businessObjectFormatVersions/{businessObjectFormatVersion}/partitionValues/{partitionValue}/subPartition1Values/{subPartition1Value}" +
         "/subPartition2Values/{subPartition2Value}/subPartition3Values/{subPartition3Value}/subPartition4Values/{subPartition4Value}" +
         "/businessObjectDataVersions/{businessObjectDataVersion}/businessObjectDataAttributeNames/{businessObjectDataAttributeName}",
-        method = RequestMethod.PUT, consumes = {"application/xml", "application/json"})
+        method = RequestMethod.PUT, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_ATTRIBUTES_PUT)
     public BusinessObjectDataAttribute updateBusinessObjectDataAttribute(@PathVariable("namespace") String namespace,
         @PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
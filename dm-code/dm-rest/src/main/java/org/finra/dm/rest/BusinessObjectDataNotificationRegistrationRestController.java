@@ -35,7 +35,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles business object data notification REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class BusinessObjectDataNotificationRegistrationRestController extends DmBaseController
 {
     public static final String BUSINESS_OBJECT_DATA_NOTIFICATIONS_URI_PREFIX = "/notificationRegistrations/businessObjectDataNotificationRegistrations";
@@ -50,7 +50,8 @@ public class BusinessObjectDataNotificationRegistrationRestController extends Dm
      *
      * @return the created business object data notification
      */
-    @RequestMapping(value = BUSINESS_OBJECT_DATA_NOTIFICATIONS_URI_PREFIX, method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = BUSINESS_OBJECT_DATA_NOTIFICATIONS_URI_PREFIX, method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_NOTIFICATION_REGISTRATIONS_POST)
     public BusinessObjectDataNotificationRegistration createBusinessObjectDataNotificationRegistration(
         @RequestBody BusinessObjectDataNotificationRegistrationCreateRequest request)
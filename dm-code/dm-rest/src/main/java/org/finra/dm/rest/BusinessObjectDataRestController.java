@@ -20,7 +20,9 @@ import java.util.Arrays;
 
 import javax.servlet.ServletRequest;
 
+import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -29,6 +31,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import org.finra.dm.model.dto.AdmissionClass;
 import org.finra.dm.model.dto.SecurityFunctions;
 import org.finra.dm.model.jpa.NotificationEventTypeEntity;
 import org.finra.dm.model.api.xml.BusinessObjectData;
@@ -55,9 +58,11 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles business object data REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class BusinessObjectDataRestController extends DmBaseController
 {
+    private static final Logger LOGGER = Logger.getLogger(BusinessObjectDataRestController.class);
+
     @Autowired
     private BusinessObjectDataService businessObjectDataService;
 
@@ -148,7 +153,8 @@ public class BusinessObjectDataRestController extends DmBaseController
      *
      * @return the created business object data.
      */
-    @RequestMapping(value = "/businessObjectData", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/businessObjectData", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_POST)
     public BusinessObjectData createBusinessObjectData(@RequestBody BusinessObjectDataCreateRequest businessObjectDataCreateRequest)
     {
@@ -166,9 +172,18 @@ public class BusinessObjectDataRestController extends DmBaseController
         // Trigger notifications.
         BusinessObjectDataKey businessObjectDataKey = dmHelper.getBusinessObjectDataKey(businessObjectData);
 
-        // Create business object data notification.
-        notificationEventService
-            .processBusinessObjectDataNotificationEventAsync(NotificationEventTypeEntity.EVENT_TYPES_BDATA.BUS_OBJCT_DATA_RGSTN, businessObjectDataKey);
+        // Create business object data notification. The business object data is already registered, so a saturated notification thread pool does not fail
+        // the request.
+        try
+        {
+            notificationEventService
+                .processBusinessObjectDataNotificationEventAsync(NotificationEventTypeEntity.EVENT_TYPES_BDATA.BUS_OBJCT_DATA_RGSTN, businessObjectDataKey);
+        }
+        catch (TaskRejectedException e)
+        {
+            LOGGER.error(String.format("Skipped the business object data registration notification of business object data %s.",
+                dmHelper.businessObjectDataKeyToString(businessObjectDataKey)), e);
+        }
 
         return businessObjectData;
     }
@@ -195,6 +210,7 @@ public class BusinessObjectDataRestController extends DmBaseController
             "/businessObjectFormatFileTypes/{businessObjectFormatFileType}",
         method = RequestMethod.GET)
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_GET)
+    @StreamingResponse
     public BusinessObjectData getBusinessObjectData(@PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
         @PathVariable("businessObjectFormatUsage") String businessObjectFormatUsage,
         @PathVariable("businessObjectFormatFileType") String businessObjectFormatFileType,
@@ -234,6 +250,7 @@ public class BusinessObjectDataRestController extends DmBaseController
             "/businessObjectFormatFileTypes/{businessObjectFormatFileType}",
         method = RequestMethod.GET)
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_GET)
+    @StreamingResponse
     public BusinessObjectData getBusinessObjectData(@PathVariable("namespace") String namespace,
         @PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
         @PathVariable("businessObjectFormatUsage") String businessObjectFormatUsage,
@@ -655,8 +672,11 @@ public class BusinessObjectDataRestController extends DmBaseController
      *
      * @return the business object data availability information
      */
-    @RequestMapping(value = "/businessObjectData/availability", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/businessObjectData/availability", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_AVAILABILITY_POST)
+    @AdmissionControlled(AdmissionClass.AVAILABILITY)
+    @StreamingResponse
     public BusinessObjectDataAvailability checkBusinessObjectDataAvailability(
         @RequestBody BusinessObjectDataAvailabilityRequest businessObjectDataAvailabilityRequest)
     {
@@ -670,8 +690,11 @@ public class BusinessObjectDataRestController extends DmBaseController
      *
      * @return the business object data availability information
      */
-    @RequestMapping(value = "/businessObjectData/availabilityCollection", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/businessObjectData/availabilityCollection", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_AVAILABILITY_COLLECTION_POST)
+    @AdmissionControlled(AdmissionClass.AVAILABILITY)
+    @StreamingResponse
     public BusinessObjectDataAvailabilityCollectionResponse checkBusinessObjectDataAvailabilityCollection(
         @RequestBody BusinessObjectDataAvailabilityCollectionRequest businessObjectDataAvailabilityCollectionRequest)
     {
@@ -686,8 +709,11 @@ public class BusinessObjectDataRestController extends DmBaseController
      *
      * @return the business object data DDL information
      */
-    @RequestMapping(value = "/businessObjectData/generateDdl", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/businessObjectData/generateDdl", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_GENERATE_DDL_POST)
+    @AdmissionControlled(AdmissionClass.DDL)
+    @StreamingResponse
     public BusinessObjectDataDdl generateBusinessObjectDataDdl(@RequestBody BusinessObjectDataDdlRequest businessObjectDataDdlRequest)
     {
         return businessObjectDataService.generateBusinessObjectDataDdl(businessObjectDataDdlRequest);
@@ -701,8 +727,11 @@ public class BusinessObjectDataRestController extends DmBaseController
      *
      * @return the business object data DDL information
      */
-    @RequestMapping(value = "/businessObjectData/generateDdlCollection", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/businessObjectData/generateDdlCollection", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_GENERATE_DDL_COLLECTION_POST)
+    @AdmissionControlled(AdmissionClass.DDL)
+    @StreamingResponse
     public BusinessObjectDataDdlCollectionResponse generateBusinessObjectDataDdlCollection(
         @RequestBody BusinessObjectDataDdlCollectionRequest businessObjectDataDdlCollectionRequest)
     {
@@ -716,8 +745,10 @@ public class BusinessObjectDataRestController extends DmBaseController
      *
      * @return {@link BusinessObjectDataInvalidateUnregisteredResponse}
      */
-    @RequestMapping(value = "/businessObjectData/unregistered/invalidation", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/businessObjectData/unregistered/invalidation", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_UNREGISTERED_INVALIDATE)
+    @AdmissionControlled(AdmissionClass.INVALIDATION)
     public BusinessObjectDataInvalidateUnregisteredResponse invalidateUnregisteredBusinessObjectData(
         @RequestBody BusinessObjectDataInvalidateUnregisteredRequest businessObjectDataInvalidateUnregisteredRequest)
     {
@@ -29,6 +29,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 import org.finra.dm.model.dto.SecurityFunctions;
 import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusBulkUpdateRequest;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusBulkUpdateResponse;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatusInformation;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatusUpdateRequest;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatusUpdateResponse;
@@ -39,11 +41,13 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles business object data status requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class BusinessObjectDataStatusRestController extends DmBaseController
 {
     public static final String BUSINESS_OBJECT_DATA_STATUS_URI_PREFIX = "/businessObjectDataStatus";
 
+    public static final String BUSINESS_OBJECT_DATA_STATUSES_URI_PREFIX = "/businessObjectDataStatuses";
+
     @Autowired
     private BusinessObjectDataService businessObjectDataService;
 
@@ -458,4 +462,20 @@ public class BusinessObjectDataStatusRestController extends DmBaseController
                 businessObjectFormatVersion, partitionValue, Arrays.asList(subPartition1Value, subPartition2Value, subPartition3Value, subPartition4Value),
                 businessObjectDataVersion), request);
     }
+
+    /**
+     * Updates status of multiple business object data instances selected either by a list of business object data keys or by a business object format key
+     * along with a primary partition value range.
+     *
+     * @param request the business object data status bulk update request
+     *
+     * @return the business object data status bulk update response
+     */
+    @RequestMapping(value = BUSINESS_OBJECT_DATA_STATUSES_URI_PREFIX, method = RequestMethod.PUT,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
+    @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_STATUS_PUT)
+    public BusinessObjectDataStatusBulkUpdateResponse updateBusinessObjectDataStatuses(@RequestBody BusinessObjectDataStatusBulkUpdateRequest request)
+    {
+        return businessObjectDataService.updateBusinessObjectDataStatuses(request);
+    }
 }
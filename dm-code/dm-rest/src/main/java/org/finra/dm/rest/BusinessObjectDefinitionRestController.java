@@ -36,7 +36,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles business object definition REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class BusinessObjectDefinitionRestController extends DmBaseController
 {
     @Autowired
@@ -49,7 +49,8 @@ public class BusinessObjectDefinitionRestController extends DmBaseController
      *
      * @return the created business object definition.
      */
-    @RequestMapping(value = "/businessObjectDefinitions", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/businessObjectDefinitions", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DEFINITIONS_POST)
     public BusinessObjectDefinition createBusinessObjectDefinition(@RequestBody BusinessObjectDefinitionCreateRequest request)
     {
@@ -65,7 +66,7 @@ public class BusinessObjectDefinitionRestController extends DmBaseController
      * @return the updated business object definition
      */
     @RequestMapping(value = "/businessObjectDefinitions/{businessObjectDefinitionName}", method = RequestMethod.PUT,
-        consumes = {"application/xml", "application/json"})
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DEFINITIONS_PUT)
     public BusinessObjectDefinition updateBusinessObjectDefinition(@PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
         @RequestBody BusinessObjectDefinitionUpdateRequest request)
@@ -85,7 +86,7 @@ public class BusinessObjectDefinitionRestController extends DmBaseController
      */
     @RequestMapping(value = "/businessObjectDefinitions/namespaces/{namespace}/businessObjectDefinitionNames/{businessObjectDefinitionName}",
         method = RequestMethod.PUT,
-        consumes = {"application/xml", "application/json"})
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DEFINITIONS_PUT)
     public BusinessObjectDefinition updateBusinessObjectDefinition(@PathVariable("namespace") String namespace,
         @PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName, @RequestBody BusinessObjectDefinitionUpdateRequest request)
@@ -103,6 +104,7 @@ public class BusinessObjectDefinitionRestController extends DmBaseController
      */
     @RequestMapping(value = "/businessObjectDefinitions/{businessObjectDefinitionName}", method = RequestMethod.GET)
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DEFINITIONS_GET)
+    @ConditionalGet(MetadataEntityType.BUSINESS_OBJECT_DEFINITION)
     public BusinessObjectDefinition getBusinessObjectDefinition(@PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName)
     {
         BusinessObjectDefinitionKey businessObjectDefinitionKey = new BusinessObjectDefinitionKey(null, businessObjectDefinitionName);
@@ -120,6 +122,7 @@ public class BusinessObjectDefinitionRestController extends DmBaseController
     @RequestMapping(value = "/businessObjectDefinitions/namespaces/{namespace}/businessObjectDefinitionNames/{businessObjectDefinitionName}",
         method = RequestMethod.GET)
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DEFINITIONS_GET)
+    @ConditionalGet(MetadataEntityType.BUSINESS_OBJECT_DEFINITION)
     public BusinessObjectDefinition getBusinessObjectDefinition(@PathVariable("namespace") String namespace,
         @PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName)
     {
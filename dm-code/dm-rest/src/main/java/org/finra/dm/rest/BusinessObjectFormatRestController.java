@@ -25,6 +25,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import org.finra.dm.model.dto.AdmissionClass;
 import org.finra.dm.model.dto.SecurityFunctions;
 import org.finra.dm.model.api.xml.BusinessObjectDefinitionKey;
 import org.finra.dm.model.api.xml.BusinessObjectFormat;
@@ -43,7 +44,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles business object format REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class BusinessObjectFormatRestController extends DmBaseController
 {
     @Autowired
@@ -56,7 +57,8 @@ public class BusinessObjectFormatRestController extends DmBaseController
      *
      * @return the created business object format.
      */
-    @RequestMapping(value = "/businessObjectFormats", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/businessObjectFormats", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_FORMATS_POST)
     public BusinessObjectFormat createBusinessObjectFormat(@RequestBody BusinessObjectFormatCreateRequest request)
     {
@@ -77,7 +79,7 @@ public class BusinessObjectFormatRestController extends DmBaseController
     @RequestMapping(
         value = "/businessObjectFormats/businessObjectDefinitionNames/{businessObjectDefinitionName}/businessObjectFormatUsages/{businessObjectFormatUsage}" +
             "/businessObjectFormatFileTypes/{businessObjectFormatFileType}/businessObjectFormatVersions/{businessObjectFormatVersion}",
-        method = RequestMethod.PUT, consumes = {"application/xml", "application/json"})
+        method = RequestMethod.PUT, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_FORMATS_PUT)
     public BusinessObjectFormat updateBusinessObjectFormat(@PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
         @PathVariable("businessObjectFormatUsage") String businessObjectFormatUsage,
@@ -106,7 +108,7 @@ public class BusinessObjectFormatRestController extends DmBaseController
         value = "/businessObjectFormats/namespaces/{namespace}/businessObjectDefinitionNames/{businessObjectDefinitionName}" +
             "/businessObjectFormatUsages/{businessObjectFormatUsage}/businessObjectFormatFileTypes/{businessObjectFormatFileType}" +
             "/businessObjectFormatVersions/{businessObjectFormatVersion}",
-        method = RequestMethod.PUT, consumes = {"application/xml", "application/json"})
+        method = RequestMethod.PUT, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_FORMATS_PUT)
     public BusinessObjectFormat updateBusinessObjectFormat(@PathVariable("namespace") String namespace,
         @PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
@@ -134,6 +136,7 @@ public class BusinessObjectFormatRestController extends DmBaseController
         value = "/businessObjectFormats/businessObjectDefinitionNames/{businessObjectDefinitionName}/businessObjectFormatUsages/{businessObjectFormatUsage}" +
             "/businessObjectFormatFileTypes/{businessObjectFormatFileType}", method = RequestMethod.GET)
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_FORMATS_GET)
+    @ConditionalGet(MetadataEntityType.BUSINESS_OBJECT_FORMAT)
     public BusinessObjectFormat getBusinessObjectFormat(@PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
         @PathVariable("businessObjectFormatUsage") String businessObjectFormatUsage,
         @PathVariable("businessObjectFormatFileType") String businessObjectFormatFileType,
@@ -160,6 +163,7 @@ public class BusinessObjectFormatRestController extends DmBaseController
         value = "/businessObjectFormats/namespaces/{namespace}/businessObjectDefinitionNames/{businessObjectDefinitionName}" +
             "/businessObjectFormatUsages/{businessObjectFormatUsage}/businessObjectFormatFileTypes/{businessObjectFormatFileType}", method = RequestMethod.GET)
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_FORMATS_GET)
+    @ConditionalGet(MetadataEntityType.BUSINESS_OBJECT_FORMAT)
     public BusinessObjectFormat getBusinessObjectFormat(@PathVariable("namespace") String namespace,
         @PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
         @PathVariable("businessObjectFormatUsage") String businessObjectFormatUsage,
@@ -267,8 +271,10 @@ public class BusinessObjectFormatRestController extends DmBaseController
      *
      * @return the business object data DDL information
      */
-    @RequestMapping(value = "/businessObjectFormats/generateDdl", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/businessObjectFormats/generateDdl", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_FORMATS_GENERATE_DDL_POST)
+    @AdmissionControlled(AdmissionClass.DDL)
     public BusinessObjectFormatDdl generateBusinessObjectFormatDdl(@RequestBody BusinessObjectFormatDdlRequest businessObjectFormatDdlRequest)
     {
         return businessObjectFormatService.generateBusinessObjectFormatDdl(businessObjectFormatDdlRequest);
@@ -281,8 +287,10 @@ public class BusinessObjectFormatRestController extends DmBaseController
      *
      * @return the business object format DDL information
      */
-    @RequestMapping(value = "/businessObjectFormats/generateDdlCollection", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/businessObjectFormats/generateDdlCollection", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_FORMATS_GENERATE_DDL_COLLECTION_POST)
+    @AdmissionControlled(AdmissionClass.DDL)
     public BusinessObjectFormatDdlCollectionResponse generateBusinessObjectFormatDdlCollection(
         @RequestBody BusinessObjectFormatDdlCollectionRequest businessObjectFormatDdlCollectionRequest)
     {
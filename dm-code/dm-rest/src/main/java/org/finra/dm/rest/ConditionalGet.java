@@ -0,0 +1,40 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.rest;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET endpoint that returns a single, mostly static, metadata entity. Responses of such an endpoint carry an ETag derived from the entity version and
+ * a request whose "If-None-Match" header matches the current ETag is answered with a "304 Not Modified" before the controller loads and serializes the entity.
+ * The entity is identified from the URI template variables (and the "businessObjectFormatVersion" request parameter for business object formats).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalGet
+{
+    /**
+     * The type of the entity returned by the endpoint.
+     *
+     * @return the entity type
+     */
+    MetadataEntityType value();
+}
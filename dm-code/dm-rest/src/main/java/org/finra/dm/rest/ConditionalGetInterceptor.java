@@ -0,0 +1,226 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.rest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import org.finra.dm.model.api.xml.BusinessObjectDefinitionKey;
+import org.finra.dm.model.api.xml.BusinessObjectFormatKey;
+import org.finra.dm.model.api.xml.EmrClusterDefinitionKey;
+import org.finra.dm.model.api.xml.PartitionKeyGroupKey;
+import org.finra.dm.service.EntityVersionService;
+
+/**
+ * An interceptor that handles conditional GET requests for the endpoints annotated with {@link ConditionalGet}. It looks up the version of the requested
+ * entity, sets the ETag response header and short-circuits the request with a "304 Not Modified" when the "If-None-Match" request header matches, so only the
+ * lookup by alternate key is paid for unchanged metadata. Requests for entities that don't exist (or whose key can't be determined) go through to the
+ * controller which reports the error as usual.
+ */
+@Component
+public class ConditionalGetInterceptor extends HandlerInterceptorAdapter
+{
+    private static final String WEAK_ENTITY_TAG_PREFIX = "W/";
+
+    @Autowired
+    private EntityVersionService entityVersionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception
+    {
+        if (!"GET".equals(request.getMethod()) || !(handler instanceof HandlerMethod))
+        {
+            return true;
+        }
+
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+
+        // The interceptor runs before method security so it must not reveal anything about an entity the user is not allowed to get.
+        if (conditionalGet == null || !isAuthorized(handlerMethod.getMethodAnnotation(Secured.class)))
+        {
+            return true;
+        }
+
+        String entityVersion = getEntityVersion(conditionalGet.value(), getUriTemplateVariables(request), request);
+        if (entityVersion == null)
+        {
+            return true;
+        }
+
+        String entityTag = getEntityTag(entityVersion, request.getHeader(HttpHeaders.ACCEPT));
+        response.setHeader(HttpHeaders.ETAG, entityTag);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), entityTag))
+        {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Builds a weak entity tag from the entity version and the accepted content type, since the XML, JSON and Smile representations of the same entity
+     * version are different. The tag is weak because the response compression filter sends the same representation either gzip encoded or not, and a strong
+     * tag would have to differ between the two bodies.
+     *
+     * @param entityVersion the entity version
+     * @param accept the value of the "Accept" request header, may be null
+     *
+     * @return the weak entity tag
+     */
+    protected String getEntityTag(String entityVersion, String accept)
+    {
+        return WEAK_ENTITY_TAG_PREFIX + "\"" +
+            DigestUtils.md5Hex(entityVersion + ";" + StringUtils.lowerCase(StringUtils.deleteWhitespace(StringUtils.defaultString(accept)))) + "\"";
+    }
+
+    /**
+     * Determines whether an "If-None-Match" header matches an entity tag. As mandated for this header, the weak comparison is used, i.e. a "W/" prefix is
+     * ignored on both tags.
+     *
+     * @param ifNoneMatch the value of the "If-None-Match" request header, may be null
+     * @param entityTag the current entity tag
+     *
+     * @return true if the header matches the entity tag, false otherwise
+     */
+    protected boolean matches(String ifNoneMatch, String entityTag)
+    {
+        if (StringUtils.isBlank(ifNoneMatch))
+        {
+            return false;
+        }
+
+        String opaqueEntityTag = StringUtils.removeStart(entityTag, WEAK_ENTITY_TAG_PREFIX);
+        for (String requestEntityTag : ifNoneMatch.split(","))
+        {
+            String trimmedEntityTag = StringUtils.removeStart(requestEntityTag.trim(), WEAK_ENTITY_TAG_PREFIX);
+            if ("*".equals(trimmedEntityTag) || opaqueEntityTag.equals(trimmedEntityTag))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Determines whether the current user has one of the security functions required by an endpoint.
+     *
+     * @param secured the security annotation of the endpoint, may be null
+     *
+     * @return true if the user has one of the security functions, false otherwise
+     */
+    private boolean isAuthorized(Secured secured)
+    {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (secured == null || authentication == null)
+        {
+            return false;
+        }
+
+        List<String> securityFunctions = Arrays.asList(secured.value());
+        for (GrantedAuthority grantedAuthority : authentication.getAuthorities())
+        {
+            if (securityFunctions.contains(grantedAuthority.getAuthority()))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the version of the requested entity.
+     *
+     * @param entityType the entity type
+     * @param uriTemplateVariables the URI template variables of the request
+     * @param request the request
+     *
+     * @return the entity version or null if the entity doesn't exist or can't be identified
+     */
+    private String getEntityVersion(MetadataEntityType entityType, Map<String, String> uriTemplateVariables, HttpServletRequest request)
+    {
+        switch (entityType)
+        {
+            case STORAGE:
+                return entityVersionService.getStorageEntityVersion(uriTemplateVariables.get("storageName"));
+            case BUSINESS_OBJECT_DEFINITION:
+                return entityVersionService.getBusinessObjectDefinitionEntityVersion(
+                    new BusinessObjectDefinitionKey(uriTemplateVariables.get("namespace"), uriTemplateVariables.get("businessObjectDefinitionName")));
+            case BUSINESS_OBJECT_FORMAT:
+                Integer businessObjectFormatVersion;
+                try
+                {
+                    String businessObjectFormatVersionParameter = StringUtils.trimToNull(request.getParameter("businessObjectFormatVersion"));
+                    businessObjectFormatVersion = businessObjectFormatVersionParameter == null ? null : Integer.valueOf(businessObjectFormatVersionParameter);
+                }
+                catch (NumberFormatException e)
+                {
+                    // Let the controller reject the invalid business object format version.
+                    return null;
+                }
+                return entityVersionService.getBusinessObjectFormatEntityVersion(
+                    new BusinessObjectFormatKey(uriTemplateVariables.get("namespace"), uriTemplateVariables.get("businessObjectDefinitionName"),
+                        uriTemplateVariables.get("businessObjectFormatUsage"), uriTemplateVariables.get("businessObjectFormatFileType"),
+                        businessObjectFormatVersion));
+            case PARTITION_KEY_GROUP:
+                PartitionKeyGroupKey partitionKeyGroupKey = new PartitionKeyGroupKey();
+                partitionKeyGroupKey.setPartitionKeyGroupName(uriTemplateVariables.get("partitionKeyGroupName"));
+                return entityVersionService.getPartitionKeyGroupEntityVersion(partitionKeyGroupKey);
+            case EMR_CLUSTER_DEFINITION:
+                return entityVersionService.getEmrClusterDefinitionEntityVersion(
+                    new EmrClusterDefinitionKey(uriTemplateVariables.get("namespace"), uriTemplateVariables.get("emrClusterDefinitionName")));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Gets the URI template variables that the handler mapping extracted from the request path.
+     *
+     * @param request the request
+     *
+     * @return the URI template variables
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, String> getUriTemplateVariables(HttpServletRequest request)
+    {
+        Map<String, String> uriTemplateVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return uriTemplateVariables == null ? Collections.<String, String>emptyMap() : uriTemplateVariables;
+    }
+}
@@ -37,7 +37,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles custom DDL REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class CustomDdlRestController extends DmBaseController
 {
     public static final String CUSTOM_DDLS_URI_PREFIX = "/customDdls";
@@ -52,7 +52,8 @@ public class CustomDdlRestController extends DmBaseController
      *
      * @return the newly created custom DDL information
      */
-    @RequestMapping(value = CUSTOM_DDLS_URI_PREFIX, method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = CUSTOM_DDLS_URI_PREFIX, method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_CUSTOM_DDLS_POST)
     public CustomDdl createCustomDdl(@RequestBody CustomDdlCreateRequest request)
     {
@@ -126,7 +127,7 @@ public class CustomDdlRestController extends DmBaseController
     @RequestMapping(value = CUSTOM_DDLS_URI_PREFIX + "/businessObjectDefinitionNames/{businessObjectDefinitionName}" +
         "/businessObjectFormatUsages/{businessObjectFormatUsage}/businessObjectFormatFileTypes/{businessObjectFormatFileType}" +
         "/businessObjectFormatVersions/{businessObjectFormatVersion}/customDdlNames/{customDdlName}", method = RequestMethod.PUT,
-        consumes = {"application/xml", "application/json"})
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_CUSTOM_DDLS_PUT)
     public CustomDdl updateCustomDdl(@PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
         @PathVariable("businessObjectFormatUsage") String businessObjectFormatUsage,
@@ -155,7 +156,7 @@ public class CustomDdlRestController extends DmBaseController
     @RequestMapping(value = CUSTOM_DDLS_URI_PREFIX + "/namespaces/{namespace}/businessObjectDefinitionNames/{businessObjectDefinitionName}" +
         "/businessObjectFormatUsages/{businessObjectFormatUsage}/businessObjectFormatFileTypes/{businessObjectFormatFileType}" +
         "/businessObjectFormatVersions/{businessObjectFormatVersion}/customDdlNames/{customDdlName}", method = RequestMethod.PUT,
-        consumes = {"application/xml", "application/json"})
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_CUSTOM_DDLS_PUT)
     public CustomDdl updateCustomDdl(@PathVariable("namespace") String namespace,
         @PathVariable("businessObjectDefinitionName") String businessObjectDefinitionName,
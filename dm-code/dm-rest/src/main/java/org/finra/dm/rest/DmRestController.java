@@ -21,20 +21,33 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
+import org.finra.dm.core.AdmissionControlMetricsRegistry;
+import org.finra.dm.core.DependencyMetricsRegistry;
+import org.finra.dm.core.MethodMetricsRegistry;
+import org.finra.dm.core.ThreadPoolMetricsRegistry;
 import org.finra.dm.model.dto.SecurityFunctions;
 import org.finra.dm.model.api.xml.BuildInformation;
+import org.finra.dm.model.api.xml.DatabaseStatistics;
+import org.finra.dm.service.DatabaseStatisticsService;
+import org.finra.dm.service.helper.VelocityHelper;
 import org.finra.dm.ui.constants.UiConstants;
 
 /**
  * The REST controller that handles general DM REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class DmRestController extends DmBaseController
 {
     @Autowired
     private BuildInformation buildInformation;
 
+    @Autowired
+    private DatabaseStatisticsService databaseStatisticsService;
+
+    @Autowired
+    private VelocityHelper velocityHelper;
+
     /**
      * Gets the build information.
      *
@@ -46,4 +59,31 @@ public class DmRestController extends DmBaseController
     {
         return buildInformation;
     }
+
+    /**
+     * Gets the method metrics of the service and DAO methods, the metrics of the calls made to external dependencies, the admission control metrics, the
+     * workload thread pool metrics and the velocity template cache metrics as a plain text report in the Prometheus text exposition format.
+     *
+     * @return the metrics text report.
+     */
+    @RequestMapping(value = "/metrics", method = RequestMethod.GET, produces = "text/plain")
+    @Secured(SecurityFunctions.FN_METRICS_GET)
+    public String getMetrics()
+    {
+        return MethodMetricsRegistry.getTextReport() + DependencyMetricsRegistry.getTextReport() + AdmissionControlMetricsRegistry.getTextReport() +
+            ThreadPoolMetricsRegistry.getTextReport() + velocityHelper.getMetricsTextReport();
+    }
+
+    /**
+     * Gets the database statistics that include the Hibernate statistics, the connection pool statistics and the SQL statements that ran slower than the
+     * configured threshold along with the shape of their bound parameters.
+     *
+     * @return the database statistics.
+     */
+    @RequestMapping(value = "/databaseStatistics", method = RequestMethod.GET)
+    @Secured(SecurityFunctions.FN_DATABASE_STATISTICS_GET)
+    public DatabaseStatistics getDatabaseStatistics()
+    {
+        return databaseStatisticsService.getDatabaseStatistics();
+    }
 }
@@ -35,7 +35,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles EMR cluster definition REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class EmrClusterDefinitionRestController extends DmBaseController
 {
     public static final String EMR_CLUSTER_DEFINITIONS_URI_PREFIX = "/emrClusterDefinitions";
@@ -50,7 +50,8 @@ public class EmrClusterDefinitionRestController extends DmBaseController
      *
      * @return the newly created EMR cluster definition
      */
-    @RequestMapping(value = EMR_CLUSTER_DEFINITIONS_URI_PREFIX, method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = EMR_CLUSTER_DEFINITIONS_URI_PREFIX, method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_EMR_CLUSTER_DEFINITIONS_POST)
     public EmrClusterDefinitionInformation createEmrClusterDefinition(@RequestBody EmrClusterDefinitionCreateRequest request) throws Exception
     {
@@ -68,6 +69,7 @@ public class EmrClusterDefinitionRestController extends DmBaseController
     @RequestMapping(value = EMR_CLUSTER_DEFINITIONS_URI_PREFIX + "/namespaces/{namespace}/emrClusterDefinitionNames/{emrClusterDefinitionName}",
         method = RequestMethod.GET)
     @Secured(SecurityFunctions.FN_EMR_CLUSTER_DEFINITIONS_GET)
+    @ConditionalGet(MetadataEntityType.EMR_CLUSTER_DEFINITION)
     public EmrClusterDefinitionInformation getEmrClusterDefinition(@PathVariable("namespace") String namespace,
         @PathVariable("emrClusterDefinitionName") String emrClusterDefinitionName) throws Exception
     {
@@ -85,7 +87,7 @@ public class EmrClusterDefinitionRestController extends DmBaseController
      */
     @RequestMapping(
         value = EMR_CLUSTER_DEFINITIONS_URI_PREFIX + "/namespaces/{namespace}/emrClusterDefinitionNames/{emrClusterDefinitionName}",
-        method = RequestMethod.PUT, consumes = {"application/xml", "application/json"})
+        method = RequestMethod.PUT, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_EMR_CLUSTER_DEFINITIONS_PUT)
     public EmrClusterDefinitionInformation updateEmrClusterDefinition(@PathVariable("namespace") String namespace,
         @PathVariable("emrClusterDefinitionName") String emrClusterDefinitionName, @RequestBody EmrClusterDefinitionUpdateRequest request) throws Exception
@@ -50,7 +50,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles EMR REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class EmrRestController extends DmBaseController
 {
     @Autowired
@@ -66,6 +66,7 @@ public class EmrRestController extends DmBaseController
      * @param emrStepId the step id of the step to get details
      * @param verbose parameter for whether to return detailed information
      * @param retrieveOozieJobs parameter for whether to retrieve oozie job information
+     * @param consistentRead parameter for whether to read the current cluster state from AWS instead of the possibly older cached state
      *
      * @return the EMR Cluster object with details.
      * @throws Exception if there was an error getting the EMR cluster.
@@ -77,12 +78,13 @@ public class EmrRestController extends DmBaseController
         @PathVariable("emrClusterName") String emrClusterName, @RequestParam(value = "emrClusterId", required = false) String emrClusterId,
         @RequestParam(value = "emrStepId", required = false) String emrStepId,
         @RequestParam(value = "verbose", required = false, defaultValue = "false") Boolean verbose,
-        @RequestParam(value = "retrieveOozieJobs", required = false, defaultValue = "false") Boolean retrieveOozieJobs) throws Exception
+        @RequestParam(value = "retrieveOozieJobs", required = false, defaultValue = "false") Boolean retrieveOozieJobs,
+        @RequestParam(value = "consistentRead", required = false, defaultValue = "false") Boolean consistentRead) throws Exception
     {
         EmrClusterAlternateKeyDto alternateKey =
             EmrClusterAlternateKeyDto.builder().namespace(namespace).emrClusterDefinitionName(emrClusterDefinitionName).emrClusterName(emrClusterName).build();
 
-        return emrService.getCluster(alternateKey, emrClusterId, emrStepId, verbose, retrieveOozieJobs);
+        return emrService.getCluster(alternateKey, emrClusterId, emrStepId, verbose, retrieveOozieJobs, consistentRead);
     }
 
     /**
@@ -92,7 +94,7 @@ public class EmrRestController extends DmBaseController
      *
      * @return the created EMR cluster.
      */
-    @RequestMapping(value = "/emrClusters", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/emrClusters", method = RequestMethod.POST, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_EMR_CLUSTERS_POST)
     public EmrCluster createEmrCluster(@RequestBody EmrClusterCreateRequest request) throws Exception
     {
@@ -131,7 +133,7 @@ public class EmrRestController extends DmBaseController
      * @return the created EMR shell step.
      * @throws Exception if a shell step couldn't be added to the EMR cluster.
      */
-    @RequestMapping(value = "/emrShellSteps", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/emrShellSteps", method = RequestMethod.POST, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_EMR_SHELL_STEPS_POST)
     public EmrShellStep addShellStepToEmrCluster(@RequestBody EmrShellStepAddRequest request) throws Exception
     {
@@ -145,7 +147,7 @@ public class EmrRestController extends DmBaseController
      *
      * @return the created EMR hive step.
      */
-    @RequestMapping(value = "/emrHiveSteps", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/emrHiveSteps", method = RequestMethod.POST, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_EMR_HIVE_STEPS_POST)
     public EmrHiveStep addHiveStepToEmrCluster(@RequestBody EmrHiveStepAddRequest request) throws Exception
     {
@@ -159,7 +161,7 @@ public class EmrRestController extends DmBaseController
      *
      * @return the created EMR Pig step.
      */
-    @RequestMapping(value = "/emrPigSteps", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/emrPigSteps", method = RequestMethod.POST, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_EMR_PIG_STEPS_POST)
     public EmrPigStep addPigStepToEmrCluster(@RequestBody EmrPigStepAddRequest request) throws Exception
     {
@@ -174,7 +176,7 @@ public class EmrRestController extends DmBaseController
      * @return the created EMR oozie step.
      * @throws Exception if an Oozie step couldn't be added to an EMR cluster.
      */
-    @RequestMapping(value = "/emrOozieSteps", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/emrOozieSteps", method = RequestMethod.POST, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_EMR_OOZIE_STEPS_POST)
     public EmrOozieStep addOozieStepToEmrCluster(@RequestBody EmrOozieStepAddRequest request) throws Exception
     {
@@ -188,7 +190,8 @@ public class EmrRestController extends DmBaseController
      *
      * @return the created EMR Hadoop Jar step.
      */
-    @RequestMapping(value = "/emrHadoopJarSteps", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/emrHadoopJarSteps", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_EMR_HADOOP_JAR_STEPS_POST)
     public EmrHadoopJarStep addHadoopJarStepToEmrCluster(@RequestBody EmrHadoopJarStepAddRequest request) throws Exception
     {
@@ -202,7 +205,8 @@ public class EmrRestController extends DmBaseController
      *
      * @return the created EMR master groups.
      */
-    @RequestMapping(value = "/emrMasterSecurityGroups", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/emrMasterSecurityGroups", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_EMR_MASTER_SECURITY_GROUPS_POST)
     public EmrMasterSecurityGroup addGroupsToEmrClusterMaster(@RequestBody EmrMasterSecurityGroupAddRequest request) throws Exception
     {
@@ -217,7 +221,8 @@ public class EmrRestController extends DmBaseController
      * @return the oozie workflow job that was submitted.
      * @throws Exception if an Oozie step couldn't be added to an EMR cluster.
      */
-    @RequestMapping(value = "/emrOozieWorkflows", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/emrOozieWorkflows", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_EMR_OOZIE_STEPS_POST)
     public OozieWorkflowJob runOozieJobToEmrCluster(@RequestBody RunOozieWorkflowRequest request) throws Exception
     {
@@ -39,7 +39,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles expected partition value REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class ExpectedPartitionValueRestController  extends DmBaseController
 {
     public static final String EXPECTED_PARTITION_VALUES_URI_PREFIX = "/expectedPartitionValues";
@@ -54,7 +54,8 @@ public class ExpectedPartitionValueRestController  extends DmBaseController
      *
      * @return the newly created expected partition values
      */
-    @RequestMapping(value = EXPECTED_PARTITION_VALUES_URI_PREFIX, method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = EXPECTED_PARTITION_VALUES_URI_PREFIX, method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_EXPECTED_PARTITION_VALUES_POST)
     public ExpectedPartitionValuesInformation createExpectedPartitionValues(@RequestBody ExpectedPartitionValuesCreateRequest request)
     {
@@ -113,7 +114,8 @@ public class ExpectedPartitionValueRestController  extends DmBaseController
      *
      * @return the expected partition values that got deleted
      */
-    @RequestMapping(value = EXPECTED_PARTITION_VALUES_URI_PREFIX, method = RequestMethod.DELETE, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = EXPECTED_PARTITION_VALUES_URI_PREFIX, method = RequestMethod.DELETE,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_EXPECTED_PARTITION_VALUES_DELETE)
     public ExpectedPartitionValuesInformation deleteExpectedPartitionValues(@RequestBody ExpectedPartitionValuesDeleteRequest request)
     {
@@ -35,7 +35,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles job definition REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class JobDefinitionRestController extends DmBaseController
 {
     @Autowired
@@ -48,7 +48,7 @@ public class JobDefinitionRestController extends DmBaseController
      *
      * @return the created job definition.
      */
-    @RequestMapping(value = "/jobDefinitions", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/jobDefinitions", method = RequestMethod.POST, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_JOB_DEFINITIONS_POST)
     public JobDefinition createJobDefinition(@RequestBody JobDefinitionCreateRequest request) throws Exception
     {
@@ -65,7 +65,7 @@ public class JobDefinitionRestController extends DmBaseController
      * @return the updated job definition.
      */
     @RequestMapping(value = "/jobDefinitions/namespaces/{namespace}/jobNames/{jobName}", method = RequestMethod.PUT,
-        consumes = {"application/xml", "application/json"})
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_JOB_DEFINITIONS_PUT)
     public JobDefinition updateJobDefinition(@PathVariable("namespace") String namespace, @PathVariable("jobName") String jobName,
         @RequestBody JobDefinitionUpdateRequest request) throws Exception
@@ -24,10 +24,16 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import org.finra.dm.model.dto.AdmissionClass;
 import org.finra.dm.model.dto.SecurityFunctions;
 import org.finra.dm.model.api.xml.Job;
+import org.finra.dm.model.api.xml.JobCreateCollectionRequest;
+import org.finra.dm.model.api.xml.JobCreateCollectionResponse;
 import org.finra.dm.model.api.xml.JobCreateRequest;
 import org.finra.dm.model.api.xml.JobSignalRequest;
+import org.finra.dm.model.api.xml.JobSummary;
+import org.finra.dm.model.api.xml.JobVariables;
+import org.finra.dm.model.api.xml.JobWorkflowSteps;
 import org.finra.dm.service.JobService;
 import org.finra.dm.ui.constants.UiConstants;
 
@@ -35,7 +41,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles job REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class JobRestController extends DmBaseController
 {
     @Autowired
@@ -48,7 +54,7 @@ public class JobRestController extends DmBaseController
      *
      * @return the created job information.
      */
-    @RequestMapping(value = "/jobs", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/jobs", method = RequestMethod.POST, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_JOBS_POST)
     public Job createJob(@RequestBody JobCreateRequest request) throws Exception
     {
@@ -56,6 +62,23 @@ public class JobRestController extends DmBaseController
         return jobService.createAndStartJob(request, true);
     }
 
+    /**
+     * Creates jobs in bulk. The jobs are started asynchronously after their Ids are returned. The requests are subject to the admission control, which limits
+     * the number of bulk job create requests running concurrently for each namespace.
+     *
+     * @param request the information needed to create the jobs.
+     *
+     * @return the created jobs information.
+     */
+    @RequestMapping(value = "/jobs/bulk", method = RequestMethod.POST, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
+    @Secured(SecurityFunctions.FN_JOBS_POST)
+    @AdmissionControlled(AdmissionClass.JOB_BULK)
+    public JobCreateCollectionResponse createJobs(@RequestBody JobCreateCollectionRequest request) throws Exception
+    {
+        // Create and return the new jobs.
+        return jobService.createAndStartJobs(request);
+    }
+
     /**
      * Gets the details of a previously submitted job.
      *
@@ -71,6 +94,52 @@ public class JobRestController extends DmBaseController
         return jobService.getJob(id, verbose);
     }
 
+    /**
+     * Gets the summary of a previously submitted job. This is a lightweight alternative to getting the job for callers that poll the job status.
+     *
+     * @param id the job id.
+     *
+     * @return the job summary.
+     */
+    @RequestMapping(value = "/jobs/ids/{id}/summary", method = RequestMethod.GET)
+    @Secured(SecurityFunctions.FN_JOBS_GET)
+    public JobSummary getJobSummary(@PathVariable("id") String id)
+    {
+        return jobService.getJobSummary(id);
+    }
+
+    /**
+     * Gets a page of the workflow steps of a previously submitted job.
+     *
+     * @param id the job id.
+     * @param pageNum the page number starting at 1.
+     * @param pageSize the number of workflow steps per page.
+     *
+     * @return the page of job workflow steps.
+     */
+    @RequestMapping(value = "/jobs/ids/{id}/workflowSteps", method = RequestMethod.GET)
+    @Secured(SecurityFunctions.FN_JOBS_GET)
+    public JobWorkflowSteps getJobWorkflowSteps(@PathVariable("id") String id, @RequestParam(value = "pageNum", required = false) Integer pageNum,
+        @RequestParam(value = "pageSize", required = false) Integer pageSize)
+    {
+        return jobService.getJobWorkflowSteps(id, pageNum, pageSize);
+    }
+
+    /**
+     * Gets the specified workflow variables of a previously submitted job.
+     *
+     * @param id the job id.
+     * @param variableNames the "|" delimited names of the variables to get.
+     *
+     * @return the job variables.
+     */
+    @RequestMapping(value = "/jobs/ids/{id}/variables", method = RequestMethod.GET)
+    @Secured(SecurityFunctions.FN_JOBS_GET)
+    public JobVariables getJobVariables(@PathVariable("id") String id, @RequestParam(value = "variableNames") DelimitedFieldValues variableNames)
+    {
+        return jobService.getJobVariables(id, variableNames.getValues());
+    }
+
     /**
      * Signals the job with the receive task.
      *
@@ -78,7 +147,7 @@ public class JobRestController extends DmBaseController
      *
      * @return the created job information.
      */
-    @RequestMapping(value = "/jobs/signal", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/jobs/signal", method = RequestMethod.POST, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_JOBS_SIGNAL_POST)
     public Job signalJob(@RequestBody JobSignalRequest request) throws Exception
     {
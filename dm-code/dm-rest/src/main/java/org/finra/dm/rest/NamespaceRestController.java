@@ -36,7 +36,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles namespace REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class NamespaceRestController
 {
     @Autowired
@@ -49,7 +49,7 @@ public class NamespaceRestController
      *
      * @return the created namespace
      */
-    @RequestMapping(value = "/namespaces", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/namespaces", method = RequestMethod.POST, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_NAMESPACES_POST)
     public Namespace createNamespace(@RequestBody NamespaceCreateRequest request)
     {
@@ -35,7 +35,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles partition key group REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class PartitionKeyGroupRestController extends DmBaseController
 {
     public static final String PARTITION_KEY_GROUPS_URI_PREFIX = "/partitionKeyGroups";
@@ -50,7 +50,8 @@ public class PartitionKeyGroupRestController extends DmBaseController
      *
      * @return the newly created partition key group information
      */
-    @RequestMapping(value = PARTITION_KEY_GROUPS_URI_PREFIX, method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = PARTITION_KEY_GROUPS_URI_PREFIX, method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_PARTITION_KEY_GROUPS_POST)
     public PartitionKeyGroup createPartitionKeyGroup(@RequestBody PartitionKeyGroupCreateRequest request)
     {
@@ -66,6 +67,7 @@ public class PartitionKeyGroupRestController extends DmBaseController
      */
     @RequestMapping(value = PARTITION_KEY_GROUPS_URI_PREFIX + "/{partitionKeyGroupName}", method = RequestMethod.GET)
     @Secured(SecurityFunctions.FN_PARTITION_KEY_GROUPS_GET)
+    @ConditionalGet(MetadataEntityType.PARTITION_KEY_GROUP)
     public PartitionKeyGroup getPartitionKeyGroup(@PathVariable("partitionKeyGroupName") String partitionKeyGroupName)
     {
         PartitionKeyGroupKey partitionKeyGroupKey = new PartitionKeyGroupKey();
@@ -0,0 +1,41 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import org.finra.dm.dao.helper.SmileHelper;
+
+/**
+ * An HTTP message converter that reads and writes the Smile binary encoding of JSON. Clients select it by sending an "Accept" (or "Content-Type") header of
+ * "application/x-jackson-smile".
+ */
+public class SmileHttpMessageConverter extends AbstractJackson2HttpMessageConverter
+{
+    public static final MediaType SMILE_MEDIA_TYPE = MediaType.parseMediaType(SmileHelper.SMILE_CONTENT_TYPE);
+
+    /**
+     * Constructs the converter.
+     *
+     * @param objectMapper the object mapper that reads and writes Smile content.
+     */
+    public SmileHttpMessageConverter(ObjectMapper objectMapper)
+    {
+        super(objectMapper, SMILE_MEDIA_TYPE);
+    }
+}
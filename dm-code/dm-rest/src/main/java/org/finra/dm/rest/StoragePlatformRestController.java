@@ -32,7 +32,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles storage platform REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class StoragePlatformRestController extends DmBaseController
 {
     @Autowired
@@ -42,7 +42,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles storage REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class StorageRestController extends DmBaseController
 {
     public static final String STORAGES_URI_PREFIX = "/storages";
@@ -60,7 +60,7 @@ public class StorageRestController extends DmBaseController
      *
      * @return the created storage information
      */
-    @RequestMapping(value = STORAGES_URI_PREFIX, method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = STORAGES_URI_PREFIX, method = RequestMethod.POST, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_STORAGES_POST)
     public Storage createStorage(@RequestBody StorageCreateRequest request)
     {
@@ -75,7 +75,8 @@ public class StorageRestController extends DmBaseController
      *
      * @return the updated storage information
      */
-    @RequestMapping(value = STORAGES_URI_PREFIX + "/{storageName}", method = RequestMethod.PUT, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = STORAGES_URI_PREFIX + "/{storageName}", method = RequestMethod.PUT,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_STORAGES_PUT)
     public Storage updateStorage(@PathVariable("storageName") String storageName, @RequestBody StorageUpdateRequest request)
     {
@@ -92,6 +93,7 @@ public class StorageRestController extends DmBaseController
      */
     @RequestMapping(value = STORAGES_URI_PREFIX + "/{storageName}", method = RequestMethod.GET)
     @Secured(SecurityFunctions.FN_STORAGES_GET)
+    @ConditionalGet(MetadataEntityType.STORAGE)
     public Storage getStorage(@PathVariable("storageName") String storageName)
     {
         StorageAlternateKeyDto alternateKey = StorageAlternateKeyDto.builder().storageName(storageName).build();
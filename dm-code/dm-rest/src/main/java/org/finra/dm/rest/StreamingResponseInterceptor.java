@@ -0,0 +1,41 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.rest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import org.finra.dm.ui.ResponseCompressionFilter;
+
+/**
+ * An interceptor that flags the requests handled by endpoints annotated with {@link StreamingResponse} so the response compression filter streams their
+ * responses instead of buffering them.
+ */
+public class StreamingResponseInterceptor extends HandlerInterceptorAdapter
+{
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception
+    {
+        if (handler instanceof HandlerMethod && ((HandlerMethod) handler).getMethodAnnotation(StreamingResponse.class) != null)
+        {
+            request.setAttribute(ResponseCompressionFilter.STREAMING_RESPONSE_ATTRIBUTE, Boolean.TRUE);
+        }
+        return true;
+    }
+}
@@ -32,7 +32,7 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles system job REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class SystemJobRestController extends DmBaseController
 {
     @Autowired
@@ -45,7 +45,7 @@ public class SystemJobRestController extends DmBaseController
      *
      * @return the system job information
      */
-    @RequestMapping(value = "/systemJobs", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/systemJobs", method = RequestMethod.POST, consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_SYSTEM_JOBS_POST)
     public SystemJobRunResponse runSystemJob(@RequestBody SystemJobRunRequest request) throws Exception
     {
@@ -15,7 +15,9 @@
 */
 package org.finra.dm.rest;
 
+import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -39,9 +41,11 @@ import org.finra.dm.ui.constants.UiConstants;
  * The REST controller that handles business object data REST requests.
  */
 @RestController
-@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json", "application/x-jackson-smile"})
 public class UploadDownloadRestController extends DmBaseController
 {
+    private static final Logger LOGGER = Logger.getLogger(UploadDownloadRestController.class);
+
     @Autowired
     private UploadDownloadService uploadDownloadService;
 
@@ -59,7 +63,8 @@ public class UploadDownloadRestController extends DmBaseController
      *
      * @return the upload single initiation response
      */
-    @RequestMapping(value = "/upload/single/initiation", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @RequestMapping(value = "/upload/single/initiation", method = RequestMethod.POST,
+        consumes = {"application/xml", "application/json", "application/x-jackson-smile"})
     @Secured(SecurityFunctions.FN_UPLOAD_POST)
     public UploadSingleInitiationResponse initiateUploadSingle(@RequestBody UploadSingleInitiationRequest uploadSingleInitiationRequest)
     {
@@ -69,13 +74,9 @@ public class UploadDownloadRestController extends DmBaseController
         BusinessObjectDataKey sourceBusinessObjectDataKey = dmHelper.getBusinessObjectDataKey(uploadSingleInitiationResponse.getSourceBusinessObjectData());
         BusinessObjectDataKey targetBusinessObjectDataKey = dmHelper.getBusinessObjectDataKey(uploadSingleInitiationResponse.getTargetBusinessObjectData());
 
-        // Create business object data notification.
-        notificationEventService
-            .processBusinessObjectDataNotificationEventAsync(NotificationEventTypeEntity.EVENT_TYPES_BDATA.BUS_OBJCT_DATA_RGSTN, sourceBusinessObjectDataKey);
-
-        // Create business object data notification.
-        notificationEventService
-            .processBusinessObjectDataNotificationEventAsync(NotificationEventTypeEntity.EVENT_TYPES_BDATA.BUS_OBJCT_DATA_RGSTN, targetBusinessObjectDataKey);
+        // Create business object data notifications.
+        processBusinessObjectDataRegistrationNotification(sourceBusinessObjectDataKey);
+        processBusinessObjectDataRegistrationNotification(targetBusinessObjectDataKey);
 
         return uploadSingleInitiationResponse;
     }
@@ -138,4 +139,24 @@ public class UploadDownloadRestController extends DmBaseController
             .extendUploadSingleCredentials(namespace, businessObjectDefinitionName, businessObjectFormatUsage, businessObjectFormatFileType,
                 businessObjectFormatVersion, partitionValue, businessObjectDataVersion);
     }
+
+    /**
+     * Creates a business object data registration notification. The business object data is already registered, so a saturated notification thread pool does
+     * not fail the request.
+     *
+     * @param businessObjectDataKey the business object data key
+     */
+    private void processBusinessObjectDataRegistrationNotification(BusinessObjectDataKey businessObjectDataKey)
+    {
+        try
+        {
+            notificationEventService
+                .processBusinessObjectDataNotificationEventAsync(NotificationEventTypeEntity.EVENT_TYPES_BDATA.BUS_OBJCT_DATA_RGSTN, businessObjectDataKey);
+        }
+        catch (TaskRejectedException e)
+        {
+            LOGGER.error(String.format("Skipped the business object data registration notification of business object data %s.",
+                dmHelper.businessObjectDataKeyToString(businessObjectDataKey)), e);
+        }
+    }
 }
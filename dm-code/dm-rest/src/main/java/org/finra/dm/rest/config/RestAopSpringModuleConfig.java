@@ -23,6 +23,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 
+import org.finra.dm.rest.AdmissionControlled;
+import org.finra.dm.service.helper.AdmissionControlHelper;
 import org.finra.dm.service.helper.CheckAllowedMethodAdvice;
 
 /**
@@ -36,6 +38,9 @@ public class RestAopSpringModuleConfig
     @Autowired
     private CheckAllowedMethodAdvice checkAllowedMethodAdvice;
 
+    @Autowired
+    private AdmissionControlHelper admissionControlHelper;
+
     /**
      * A pointcut for all DM rest methods.
      */
@@ -58,4 +63,19 @@ public class RestAopSpringModuleConfig
     {
         return checkAllowedMethodAdvice.checkNotAllowedMethods(pjp);
     }
+
+    /**
+     * Around advice that admits the expensive rest methods according to the rate and concurrency limits of their admission class.
+     *
+     * @param pjp the proceeding join point.
+     * @param admissionControlled the admission control annotation of the method.
+     *
+     * @return the return value of the method we are advising.
+     * @throws Throwable if there were any problems executing the method or if the method was not admitted.
+     */
+    @Around("restMethods() && @annotation(admissionControlled)")
+    public Object admitRestMethods(ProceedingJoinPoint pjp, AdmissionControlled admissionControlled) throws Throwable
+    {
+        return admissionControlHelper.admit(pjp, admissionControlled.value());
+    }
 }
@@ -35,6 +35,7 @@ import org.springframework.http.converter.xml.MarshallingHttpMessageConverter;
 import org.springframework.oxm.jaxb.Jaxb2Marshaller;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurationSupport;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
@@ -44,7 +45,11 @@ import org.springframework.web.util.UrlPathHelper;
 
 import org.finra.dm.core.helper.ConfigurationHelper;
 import org.finra.dm.dao.helper.DmCharacterEscapeHandler;
+import org.finra.dm.dao.helper.SmileHelper;
 import org.finra.dm.model.dto.ConfigurationValue;
+import org.finra.dm.rest.ConditionalGetInterceptor;
+import org.finra.dm.rest.SmileHttpMessageConverter;
+import org.finra.dm.rest.StreamingResponseInterceptor;
 
 /**
  * REST Spring module configuration. This configuration doesn't use the @EnableWebMvc annotation and instead extends WebMvcConfigurationSupport so we have the
@@ -68,6 +73,12 @@ public class RestSpringModuleConfig extends WebMvcConfigurationSupport
     @Autowired
     private ConfigurationHelper configurationHelper;
 
+    @Autowired
+    private SmileHelper smileHelper;
+
+    @Autowired
+    private ConditionalGetInterceptor conditionalGetInterceptor;
+
     /**
      * We need to override the base method so this "@Bean" will get invoked and ultimately call configureMessageConverters. Otherwise, it doesn't get called.
      * This implementation doesn't do anything except call the super method.
@@ -120,6 +131,9 @@ public class RestSpringModuleConfig extends WebMvcConfigurationSupport
                 break;
             }
         }
+
+        // Add the Smile converter last so it only gets used when it is explicitly asked for.
+        converters.add(new SmileHttpMessageConverter(smileHelper.getObjectMapper()));
     }
 
     /**
@@ -218,4 +232,17 @@ public class RestSpringModuleConfig extends WebMvcConfigurationSupport
         // (e.g. .txt could be parsed by a specific handler).
         configurer.setUseSuffixPatternMatch(false);
     }
+
+    /**
+     * Adds the interceptor that flags the requests of the endpoints that opted into streaming their responses and the interceptor that answers the conditional
+     * GET requests of the metadata endpoints.
+     *
+     * @param registry the interceptor registry.
+     */
+    @Override
+    protected void addInterceptors(InterceptorRegistry registry)
+    {
+        registry.addInterceptor(new StreamingResponseInterceptor());
+        registry.addInterceptor(conditionalGetInterceptor);
+    }
 }
\ No newline at end of file
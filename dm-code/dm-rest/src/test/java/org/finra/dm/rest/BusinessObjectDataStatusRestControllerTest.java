@@ -15,12 +15,17 @@
 */
 package org.finra.dm.rest;
 
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Test;
 
 import org.finra.dm.model.jpa.BusinessObjectDataEntity;
 import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusBulkUpdateRequest;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusBulkUpdateResponse;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatusInformation;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatusUpdateResponse;
 
@@ -249,4 +254,25 @@ public class BusinessObjectDataStatusRestControllerTest extends AbstractRestTest
                     DATA_VERSION), BDATA_STATUS_2, BDATA_STATUS, response);
         }
     }
+
+    @Test
+    public void testUpdateBusinessObjectDataStatuses()
+    {
+        // Create and persist relative test entities.
+        createBusinessObjectDataEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+            DATA_VERSION, true, BDATA_STATUS);
+        createBusinessObjectDataStatusEntity(BDATA_STATUS_2);
+
+        // Update the business object data statuses.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+        BusinessObjectDataStatusBulkUpdateResponse response = businessObjectDataStatusRestController
+            .updateBusinessObjectDataStatuses(new BusinessObjectDataStatusBulkUpdateRequest(Arrays.asList(businessObjectDataKey), null, null, BDATA_STATUS_2));
+
+        // Validate the returned object.
+        assertEquals(1, response.getBusinessObjectDataStatusUpdateResponses().size());
+        validateBusinessObjectDataStatusUpdateResponse(businessObjectDataKey, BDATA_STATUS_2, BDATA_STATUS,
+            response.getBusinessObjectDataStatusUpdateResponses().get(0));
+    }
 }
@@ -0,0 +1,186 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import org.finra.dm.model.api.xml.StorageCreateRequest;
+import org.finra.dm.model.dto.SecurityFunctions;
+import org.finra.dm.model.jpa.StorageEntity;
+
+/**
+ * This class tests the conditional GET interceptor.
+ */
+public class ConditionalGetInterceptorTest extends AbstractRestTest
+{
+    @Autowired
+    private ConditionalGetInterceptor conditionalGetInterceptor;
+
+    private Authentication originalAuthentication;
+
+    @Before
+    public void setAuthentication()
+    {
+        originalAuthentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("testUser", "testPassword", SecurityFunctions.FN_STORAGES_GET));
+    }
+
+    @After
+    public void restoreAuthentication()
+    {
+        SecurityContextHolder.getContext().setAuthentication(originalAuthentication);
+    }
+
+    @Test
+    public void testPreHandleNotModified() throws Exception
+    {
+        createStorageEntity(STORAGE_NAME);
+
+        // The first request gets the entity tag and goes through to the controller.
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(conditionalGetInterceptor.preHandle(getStorageRequest(STORAGE_NAME, null), response, getStorageHandlerMethod()));
+        String entityTag = response.getHeader(HttpHeaders.ETAG);
+        assertNotNull(entityTag);
+        assertTrue(entityTag.startsWith("W/\""));
+        assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+
+        // A request with the current entity tag is answered right away.
+        response = new MockHttpServletResponse();
+        assertFalse(conditionalGetInterceptor.preHandle(getStorageRequest(STORAGE_NAME, entityTag), response, getStorageHandlerMethod()));
+        assertEquals(304, response.getStatus());
+        assertEquals(entityTag, response.getHeader(HttpHeaders.ETAG));
+
+        // Strong and multiple entity tags are matched too.
+        assertFalse(conditionalGetInterceptor
+            .preHandle(getStorageRequest(STORAGE_NAME, "\"other\", " + entityTag.substring(2)), new MockHttpServletResponse(), getStorageHandlerMethod()));
+    }
+
+    @Test
+    public void testPreHandleModified() throws Exception
+    {
+        StorageEntity storageEntity = createStorageEntity(STORAGE_NAME);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        conditionalGetInterceptor.preHandle(getStorageRequest(STORAGE_NAME, null), response, getStorageHandlerMethod());
+        String entityTag = response.getHeader(HttpHeaders.ETAG);
+
+        // Updating the storage changes its entity tag.
+        storageEntity.setUpdatedOn(new Timestamp(storageEntity.getUpdatedOn().getTime() + 1000));
+        response = new MockHttpServletResponse();
+        assertTrue(conditionalGetInterceptor.preHandle(getStorageRequest(STORAGE_NAME, entityTag), response, getStorageHandlerMethod()));
+        assertEquals(200, response.getStatus());
+        assertNotEquals(entityTag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testPreHandleEntityTagDependsOnAcceptedContentType() throws Exception
+    {
+        createStorageEntity(STORAGE_NAME);
+
+        MockHttpServletRequest request = getStorageRequest(STORAGE_NAME, null);
+        request.addHeader(HttpHeaders.ACCEPT, "application/xml");
+        MockHttpServletResponse xmlResponse = new MockHttpServletResponse();
+        conditionalGetInterceptor.preHandle(request, xmlResponse, getStorageHandlerMethod());
+
+        request = getStorageRequest(STORAGE_NAME, null);
+        request.addHeader(HttpHeaders.ACCEPT, "application/json");
+        MockHttpServletResponse jsonResponse = new MockHttpServletResponse();
+        conditionalGetInterceptor.preHandle(request, jsonResponse, getStorageHandlerMethod());
+
+        assertNotEquals(xmlResponse.getHeader(HttpHeaders.ETAG), jsonResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testPreHandleEntityNoExists() throws Exception
+    {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(conditionalGetInterceptor.preHandle(getStorageRequest("I_DO_NOT_EXIST", "*"), response, getStorageHandlerMethod()));
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testPreHandleNotAuthorized() throws Exception
+    {
+        createStorageEntity(STORAGE_NAME);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("testUser", "testPassword", SecurityFunctions.FN_STORAGES_PUT));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(conditionalGetInterceptor.preHandle(getStorageRequest(STORAGE_NAME, "*"), response, getStorageHandlerMethod()));
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testPreHandleNoConditionalGet() throws Exception
+    {
+        createStorageEntity(STORAGE_NAME);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HandlerMethod handlerMethod = new HandlerMethod(new StorageRestController(), "createStorage", StorageCreateRequest.class);
+        assertTrue(conditionalGetInterceptor.preHandle(getStorageRequest(STORAGE_NAME, "*"), response, handlerMethod));
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    /**
+     * Creates a get storage request.
+     *
+     * @param storageName the storage name
+     * @param ifNoneMatch the value of the "If-None-Match" header or null to not send it
+     *
+     * @return the request
+     */
+    private MockHttpServletRequest getStorageRequest(String storageName, String ifNoneMatch)
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rest/storages/" + storageName);
+
+        Map<String, String> uriTemplateVariables = new HashMap<>();
+        uriTemplateVariables.put("storageName", storageName);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, uriTemplateVariables);
+
+        if (ifNoneMatch != null)
+        {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+
+        return request;
+    }
+
+    private HandlerMethod getStorageHandlerMethod() throws NoSuchMethodException
+    {
+        return new HandlerMethod(new StorageRestController(), "getStorage", String.class);
+    }
+}
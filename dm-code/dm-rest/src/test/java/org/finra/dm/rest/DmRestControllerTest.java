@@ -16,11 +16,13 @@
 package org.finra.dm.rest;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import org.apache.log4j.Logger;
 import org.junit.Test;
 
 import org.finra.dm.model.api.xml.BuildInformation;
+import org.finra.dm.model.api.xml.DatabaseStatistics;
 
 /**
  * This class tests various functionality within the DM REST controller.
@@ -38,4 +40,31 @@ public class DmRestControllerTest extends AbstractRestTest
         assertNotNull(buildInformation.getBuildDate());
         logger.info(buildInformation);
     }
+
+    @Test
+    public void testGetMetrics() throws Exception
+    {
+        // Call a service method so there is at least one method in the metrics.
+        namespaceRestController.getNamespaces();
+
+        // Get the metrics and ensure they contain the service method invocations.
+        String metrics = dmRestController.getMetrics();
+        assertTrue(metrics.contains("# TYPE dm_method_invocations_total counter"));
+        assertTrue(metrics.contains("NamespaceServiceImpl.getNamespaces\"}"));
+        assertTrue(metrics.contains("# TYPE dm_dependency_calls_total counter"));
+        assertTrue(metrics.contains("dm_thread_pool_rejected_total{workload=\"fileMove\"}"));
+        assertTrue(metrics.contains("# TYPE dm_velocity_template_cache_hits_total counter"));
+    }
+
+    @Test
+    public void testGetDatabaseStatistics()
+    {
+        // Call a service method so there is at least one SQL statement in the statistics.
+        namespaceRestController.getNamespaces();
+
+        DatabaseStatistics databaseStatistics = dmRestController.getDatabaseStatistics();
+        assertNotNull(databaseStatistics.getHibernateStatistics());
+        assertNotNull(databaseStatistics.getDataSourcePoolStatistics().getDataSourceClassName());
+        assertTrue(databaseStatistics.getSqlStatementStatistics().getStatementCount() > 0);
+    }
 }
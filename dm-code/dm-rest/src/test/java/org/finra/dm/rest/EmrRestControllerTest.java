@@ -54,7 +54,7 @@ public class EmrRestControllerTest extends AbstractRestTest
     @Test(expected = ObjectNotFoundException.class)
     public void testGetEmrCluster() throws Exception
     {
-        emrRestController.getEmrCluster(NAMESPACE_CD, EMR_CLUSTER_DEFINITION_NAME, "cluster_no_exist", null, null, false, false);
+        emrRestController.getEmrCluster(NAMESPACE_CD, EMR_CLUSTER_DEFINITION_NAME, "cluster_no_exist", null, null, false, false, false);
     }
 
     /**
@@ -115,7 +115,7 @@ public class EmrRestControllerTest extends AbstractRestTest
 
         EmrCluster emrClusterStatus = emrRestController
             .getEmrCluster(emrCluster.getNamespace(), emrCluster.getEmrClusterDefinitionName(), emrCluster.getEmrClusterName(), emrCluster.getId(),
-                emrShellStep.getId(), false, false);
+                emrShellStep.getId(), false, false, false);
         assertEquals(emrShellStep.getId(), emrClusterStatus.getStep().getId());
 
 
@@ -135,7 +135,7 @@ public class EmrRestControllerTest extends AbstractRestTest
         Assert.notNull(emrHiveStep.getId());
         emrClusterStatus = emrRestController
             .getEmrCluster(emrCluster.getNamespace(), emrCluster.getEmrClusterDefinitionName(), emrCluster.getEmrClusterName(), emrCluster.getId(),
-                emrHiveStep.getId(), false, false);
+                emrHiveStep.getId(), false, false, false);
         assertEquals(emrHiveStep.getId(), emrClusterStatus.getStep().getId());
 
         // Create a EmrPigStepAddRequest entry to pass it to RestController
@@ -155,7 +155,7 @@ public class EmrRestControllerTest extends AbstractRestTest
 
         emrClusterStatus = emrRestController
             .getEmrCluster(emrCluster.getNamespace(), emrCluster.getEmrClusterDefinitionName(), emrCluster.getEmrClusterName(), emrCluster.getId(),
-                emrPigStep.getId(), false, false);
+                emrPigStep.getId(), false, false, false);
         assertEquals(emrPigStep.getId(), emrClusterStatus.getStep().getId());
 
         // Create a EmrOozieStepAddRequest entry to pass it to RestController
@@ -176,7 +176,7 @@ public class EmrRestControllerTest extends AbstractRestTest
 
         emrClusterStatus = emrRestController
             .getEmrCluster(emrCluster.getNamespace(), emrCluster.getEmrClusterDefinitionName(), emrCluster.getEmrClusterName(), emrCluster.getId(),
-                emrOozieStep.getId(), false, false);
+                emrOozieStep.getId(), false, false, false);
         assertEquals(emrOozieStep.getId(), emrClusterStatus.getStep().getId());
 
         // Create a EmrHadoopJarStepAddRequest entry to pass it to RestController
@@ -196,7 +196,7 @@ public class EmrRestControllerTest extends AbstractRestTest
 
         emrClusterStatus = emrRestController
             .getEmrCluster(emrCluster.getNamespace(), emrCluster.getEmrClusterDefinitionName(), emrCluster.getEmrClusterName(), emrCluster.getId(),
-                emrHadoopJarStep.getId(), false, false);
+                emrHadoopJarStep.getId(), false, false, false);
         assertEquals(emrHadoopJarStep.getId(), emrClusterStatus.getStep().getId());
     }
 
@@ -23,6 +23,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.activiti.engine.task.Task;
@@ -32,10 +33,15 @@ import org.springframework.util.CollectionUtils;
 
 import org.finra.dm.model.ObjectNotFoundException;
 import org.finra.dm.model.api.xml.Job;
+import org.finra.dm.model.api.xml.JobCreateCollectionRequest;
+import org.finra.dm.model.api.xml.JobCreateCollectionResponse;
 import org.finra.dm.model.api.xml.JobCreateRequest;
 import org.finra.dm.model.api.xml.JobDefinitionCreateRequest;
 import org.finra.dm.model.api.xml.JobSignalRequest;
 import org.finra.dm.model.api.xml.JobStatusEnum;
+import org.finra.dm.model.api.xml.JobSummary;
+import org.finra.dm.model.api.xml.JobVariables;
+import org.finra.dm.model.api.xml.JobWorkflowSteps;
 import org.finra.dm.model.api.xml.Parameter;
 
 /**
@@ -76,6 +82,32 @@ public class JobRestControllerTest extends AbstractRestTest
         assertTrue(resultParameters.containsAll(expectedParameters));
     }
 
+    @Test
+    public void testCreateJobs() throws Exception
+    {
+        // Create the namespace entity.
+        createNamespaceEntity(TEST_ACTIVITI_NAMESPACE_CD);
+
+        // Create the job definition.
+        jobDefinitionRestController.createJobDefinition(createJobDefinitionCreateRequest());
+
+        // Create the jobs.
+        JobCreateCollectionRequest jobCreateCollectionRequest = new JobCreateCollectionRequest();
+        jobCreateCollectionRequest.setJobCreateRequests(Arrays.asList(createJobCreateRequest(TEST_ACTIVITI_NAMESPACE_CD, TEST_ACTIVITI_JOB_NAME),
+            createJobCreateRequest(TEST_ACTIVITI_NAMESPACE_CD, TEST_ACTIVITI_JOB_NAME)));
+        JobCreateCollectionResponse resultJobs = jobRestController.createJobs(jobCreateCollectionRequest);
+
+        // Validate the results.
+        assertNotNull(resultJobs);
+        assertEquals(2, resultJobs.getJobs().size());
+        for (Job resultJob : resultJobs.getJobs())
+        {
+            assertNotNull(resultJob.getId());
+            assertEquals(TEST_ACTIVITI_NAMESPACE_CD, resultJob.getNamespace());
+            assertEquals(TEST_ACTIVITI_JOB_NAME, resultJob.getJobName());
+        }
+    }
+
     @Test
     public void testCreateJobNoParams() throws Exception
     {
@@ -257,6 +289,31 @@ public class JobRestControllerTest extends AbstractRestTest
         jobRestController.getJob(null, false);
     }
 
+    @Test
+    public void testGetJobSummaryWorkflowStepsAndVariables() throws Exception
+    {
+        createJobDefinition(ACTIVITI_XML_TEST_RECEIVE_TASK_WITH_CLASSPATH);
+
+        // Start the job.
+        Job job = createAndStartJobSync(createJobCreateRequest(TEST_ACTIVITI_NAMESPACE_CD, TEST_ACTIVITI_JOB_NAME));
+
+        // Job should be waiting at Receive task.
+        JobSummary jobSummary = jobRestController.getJobSummary(job.getId());
+        assertEquals(JobStatusEnum.RUNNING, jobSummary.getStatus());
+        assertEquals("receivetask1", jobSummary.getCurrentWorkflowStep().getId());
+
+        // The workflow steps so far should be returned.
+        JobWorkflowSteps jobWorkflowSteps = jobRestController.getJobWorkflowSteps(job.getId(), 1, 10);
+        assertEquals(jobWorkflowSteps.getTotalCount(), jobWorkflowSteps.getWorkflowSteps().size());
+        assertTrue(jobWorkflowSteps.getWorkflowSteps().size() > 0);
+
+        // Get a variable by name.
+        DelimitedFieldValues variableNames = new DelimitedFieldValues();
+        variableNames.setValues(Arrays.asList(ATTRIBUTE_NAME_2_MIXED_CASE));
+        JobVariables jobVariables = jobRestController.getJobVariables(job.getId(), variableNames);
+        assertEquals(Arrays.asList(new Parameter(ATTRIBUTE_NAME_2_MIXED_CASE, ATTRIBUTE_VALUE_2)), jobVariables.getParameters());
+    }
+
     @Test
     public void testSignalJob() throws Exception
     {
@@ -0,0 +1,57 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import org.finra.dm.model.api.xml.BusinessObjectDataCreateRequest;
+import org.finra.dm.model.api.xml.BusinessObjectDataDdlRequest;
+import org.finra.dm.ui.ResponseCompressionFilter;
+
+/**
+ * This class tests the streaming response interceptor.
+ */
+public class StreamingResponseInterceptorTest extends AbstractRestTest
+{
+    @Test
+    public void testPreHandleStreamingResponse() throws Exception
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        HandlerMethod handlerMethod =
+            new HandlerMethod(new BusinessObjectDataRestController(), "generateBusinessObjectDataDdl", BusinessObjectDataDdlRequest.class);
+
+        assertTrue(new StreamingResponseInterceptor().preHandle(request, new MockHttpServletResponse(), handlerMethod));
+        assertEquals(Boolean.TRUE, request.getAttribute(ResponseCompressionFilter.STREAMING_RESPONSE_ATTRIBUTE));
+    }
+
+    @Test
+    public void testPreHandleNoStreamingResponse() throws Exception
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        HandlerMethod handlerMethod =
+            new HandlerMethod(new BusinessObjectDataRestController(), "createBusinessObjectData", BusinessObjectDataCreateRequest.class);
+
+        assertTrue(new StreamingResponseInterceptor().preHandle(request, new MockHttpServletResponse(), handlerMethod));
+        assertNull(request.getAttribute(ResponseCompressionFilter.STREAMING_RESPONSE_ATTRIBUTE));
+    }
+}
@@ -28,6 +28,8 @@ import org.finra.dm.model.api.xml.BusinessObjectDataDdlRequest;
 import org.finra.dm.model.api.xml.BusinessObjectDataInvalidateUnregisteredRequest;
 import org.finra.dm.model.api.xml.BusinessObjectDataInvalidateUnregisteredResponse;
 import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusBulkUpdateRequest;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusBulkUpdateResponse;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatusInformation;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatusUpdateRequest;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatusUpdateResponse;
@@ -85,6 +87,18 @@ public interface BusinessObjectDataService
     public BusinessObjectDataStatusUpdateResponse updateBusinessObjectDataStatus(BusinessObjectDataKey businessObjectDataKey,
         BusinessObjectDataStatusUpdateRequest request);
 
+    /**
+     * Updates status of multiple business object data instances. The business object data is selected either by an explicit list of business object data keys
+     * or by a business object format key along with a primary partition value range, in which case the latest version of each matching business object data
+     * gets updated. The updates are applied in chunks with each chunk committed in its own transaction, so a failure leaves the previously processed chunks
+     * updated.
+     *
+     * @param request the business object data status bulk update request
+     *
+     * @return the business object data status bulk update response
+     */
+    public BusinessObjectDataStatusBulkUpdateResponse updateBusinessObjectDataStatuses(BusinessObjectDataStatusBulkUpdateRequest request);
+
     /**
      * Creates business object data registrations in INVALID status if the S3 object exists, but no registration exists.
      *
@@ -0,0 +1,39 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service;
+
+import java.util.List;
+
+import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusUpdateResponse;
+
+/**
+ * A helper service for business object data status updates that need their own transactions.
+ */
+public interface BusinessObjectDataStatusHelperService
+{
+    /**
+     * Updates the status of the specified business object data instances in a new transaction. The status history records and the status change
+     * notification messages are written to the database as JDBC batches when the transaction gets flushed.
+     *
+     * @param businessObjectDataKeys the list of validated business object data keys
+     * @param businessObjectDataStatus the business object data status
+     *
+     * @return the list of business object data status update responses in the same order as the specified keys
+     */
+    public List<BusinessObjectDataStatusUpdateResponse> updateBusinessObjectDataStatuses(List<BusinessObjectDataKey> businessObjectDataKeys,
+        String businessObjectDataStatus);
+}
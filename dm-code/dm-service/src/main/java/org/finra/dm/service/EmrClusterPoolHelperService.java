@@ -0,0 +1,45 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service;
+
+import java.util.List;
+import java.util.Set;
+
+import org.finra.dm.model.api.xml.EmrClusterDefinitionKey;
+import org.finra.dm.model.jpa.EmrClusterPoolEntity;
+
+/**
+ * A helper service for EMR cluster pool changes that need their own transactions.
+ */
+public interface EmrClusterPoolHelperService
+{
+    /**
+     * Removes the idle pooled clusters of the specified EMR cluster definition that should no longer be kept from the pool in a new transaction. The idle
+     * pooled clusters are locked the same way they are when being leased, so a removed cluster can not be leased by a concurrent create request. Idle pooled
+     * clusters that are no longer active are removed without being returned. Idle pooled clusters that were launched with an outdated definition or that
+     * exceed the specified pool size are removed and returned. Since the removal is committed when this method returns, the returned clusters can then be
+     * terminated in EMR without the risk of terminating a leased cluster.
+     *
+     * @param emrClusterDefinitionKey the EMR cluster definition key
+     * @param emrClusterDefinitionHash the hash of the current EMR cluster definition
+     * @param poolSize the number of idle pooled clusters to keep
+     * @param activeEmrClusterIds the ids of the active EMR clusters
+     *
+     * @return the list of removed EMR cluster pool entities whose clusters need to be terminated
+     */
+    public List<EmrClusterPoolEntity> removeIdleEmrClusters(EmrClusterDefinitionKey emrClusterDefinitionKey, String emrClusterDefinitionHash, int poolSize,
+        Set<String> activeEmrClusterIds);
+}
@@ -0,0 +1,46 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service;
+
+import java.util.List;
+
+import org.finra.dm.model.api.xml.EmrClusterDefinitionKey;
+
+/**
+ * The service that maintains the pools of idle EMR clusters kept for EMR cluster definitions.
+ */
+public interface EmrClusterPoolService
+{
+    /**
+     * Gets the keys of all the EMR cluster definitions.
+     *
+     * @return the list of EMR cluster definition keys
+     */
+    public List<EmrClusterDefinitionKey> getEmrClusterDefinitionKeys();
+
+    /**
+     * Maintains the pool of idle EMR clusters of the specified EMR cluster definition. Pooled clusters that are no longer active are removed from the pool.
+     * Idle pooled clusters that were launched with an outdated definition or that exceed the configured pool size are terminated. While EMR clusters keep being
+     * created for the definition within the configured idle time to live, healthy idle clusters are kept and the pool is topped up to its configured size.
+     * Otherwise, all the idle pooled clusters are terminated.
+     *
+     * @param emrClusterDefinitionKey the EMR cluster definition key
+     *
+     * @return the number of pooled clusters that were launched
+     * @throws Exception if the pool could not be maintained
+     */
+    public int maintainEmrClusterPool(EmrClusterDefinitionKey emrClusterDefinitionKey) throws Exception;
+}
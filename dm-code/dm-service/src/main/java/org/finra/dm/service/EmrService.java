@@ -28,8 +28,8 @@ import org.finra.dm.model.api.xml.RunOozieWorkflowRequest;
  */
 public interface EmrService
 {
-    public EmrCluster getCluster(EmrClusterAlternateKeyDto alternateKey, String emrClusterId, String emrStepId, boolean verbose, boolean retrieveOozieJobs)
-        throws Exception;
+    public EmrCluster getCluster(EmrClusterAlternateKeyDto alternateKey, String emrClusterId, String emrStepId, boolean verbose, boolean retrieveOozieJobs,
+        boolean consistentRead) throws Exception;
 
     public EmrCluster createCluster(EmrClusterCreateRequest request) throws Exception;
 
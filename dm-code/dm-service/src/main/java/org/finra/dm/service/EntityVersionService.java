@@ -0,0 +1,74 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service;
+
+import org.finra.dm.model.api.xml.BusinessObjectDefinitionKey;
+import org.finra.dm.model.api.xml.BusinessObjectFormatKey;
+import org.finra.dm.model.api.xml.EmrClusterDefinitionKey;
+import org.finra.dm.model.api.xml.PartitionKeyGroupKey;
+
+/**
+ * The entity version service. An entity version identifies the current state of a metadata entity and changes whenever the entity is updated, deleted or
+ * re-created. It is retrieved with a single lookup by alternate key so it can be used to answer conditional requests without building the full response.
+ */
+public interface EntityVersionService
+{
+    /**
+     * Gets the version of a storage.
+     *
+     * @param storageName the storage name
+     *
+     * @return the storage entity version or null if the storage doesn't exist
+     */
+    public String getStorageEntityVersion(String storageName);
+
+    /**
+     * Gets the version of a business object definition. A legacy business object definition is looked up when the namespace is not specified.
+     *
+     * @param businessObjectDefinitionKey the business object definition key
+     *
+     * @return the business object definition entity version or null if the business object definition doesn't exist
+     */
+    public String getBusinessObjectDefinitionEntityVersion(BusinessObjectDefinitionKey businessObjectDefinitionKey);
+
+    /**
+     * Gets the version of a business object format. The latest business object format version is used when the business object format version is not
+     * specified and a legacy business object definition is looked up when the namespace is not specified.
+     *
+     * @param businessObjectFormatKey the business object format key
+     *
+     * @return the business object format entity version or null if the business object format doesn't exist
+     */
+    public String getBusinessObjectFormatEntityVersion(BusinessObjectFormatKey businessObjectFormatKey);
+
+    /**
+     * Gets the version of a partition key group.
+     *
+     * @param partitionKeyGroupKey the partition key group key
+     *
+     * @return the partition key group entity version or null if the partition key group doesn't exist
+     */
+    public String getPartitionKeyGroupEntityVersion(PartitionKeyGroupKey partitionKeyGroupKey);
+
+    /**
+     * Gets the version of an EMR cluster definition.
+     *
+     * @param emrClusterDefinitionKey the EMR cluster definition key
+     *
+     * @return the EMR cluster definition entity version or null if the EMR cluster definition doesn't exist
+     */
+    public String getEmrClusterDefinitionEntityVersion(EmrClusterDefinitionKey emrClusterDefinitionKey);
+}
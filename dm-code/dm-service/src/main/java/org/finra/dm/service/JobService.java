@@ -15,9 +15,16 @@
 */
 package org.finra.dm.service;
 
+import java.util.List;
+
 import org.finra.dm.model.api.xml.Job;
+import org.finra.dm.model.api.xml.JobCreateCollectionRequest;
+import org.finra.dm.model.api.xml.JobCreateCollectionResponse;
 import org.finra.dm.model.api.xml.JobCreateRequest;
 import org.finra.dm.model.api.xml.JobSignalRequest;
+import org.finra.dm.model.api.xml.JobSummary;
+import org.finra.dm.model.api.xml.JobVariables;
+import org.finra.dm.model.api.xml.JobWorkflowSteps;
 
 /**
  * The job service.
@@ -26,7 +33,15 @@ public interface JobService
 {
     public Job createAndStartJob(JobCreateRequest jobCreateRequest, boolean isAsync) throws Exception;
 
+    public JobCreateCollectionResponse createAndStartJobs(JobCreateCollectionRequest jobCreateCollectionRequest) throws Exception;
+
     public Job getJob(String id, boolean verbose) throws Exception;
     
+    public JobSummary getJobSummary(String id);
+
+    public JobWorkflowSteps getJobWorkflowSteps(String id, Integer pageNum, Integer pageSize);
+
+    public JobVariables getJobVariables(String id, List<String> variableNames);
+
     public Job signalJob(JobSignalRequest jobSignalRequest) throws Exception;
 }
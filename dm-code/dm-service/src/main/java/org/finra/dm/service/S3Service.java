@@ -17,6 +17,7 @@ package org.finra.dm.service;
 
 import java.util.List;
 
+import org.finra.dm.dao.StorageFileHandler;
 import org.finra.dm.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.dm.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.dm.model.dto.S3FileTransferResultsDto;
@@ -56,6 +57,27 @@ public interface S3Service
      */
     public List<StorageFile> listDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers);
 
+    /**
+     * Lists all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name) and passes them to the handler as they get listed.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 objects to get
+     * listed.
+     * @param ignoreZeroByteDirectoryMarkers specifies whether to ignore 0 byte objects that represent S3 directories.
+     * @param storageFileHandler the handler that receives the S3 objects represented as storage files.
+     */
+    public void listDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers,
+        StorageFileHandler storageFileHandler);
+
+    /**
+     * Determines whether there are no S3 objects matching the S3 key prefix in the given bucket (S3 bucket name). Unlike listing the directory, this takes a
+     * single request no matter how many objects there are. The 0 byte objects that represent S3 directories are not ignored.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 objects to check.
+     *
+     * @return true if no S3 object matches the prefix in the given bucket, false otherwise
+     */
+    public boolean isDirectoryEmpty(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto);
+
     /**
      * Uploads a local file into S3.
      *
@@ -15,8 +15,11 @@
 */
 package org.finra.dm.service;
 
+import java.util.List;
+
 import org.finra.dm.model.jpa.JmsMessageEntity;
 import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusUpdateResponse;
 
 public interface SqsNotificationEventService
 {
@@ -32,6 +35,17 @@ public interface SqsNotificationEventService
     public JmsMessageEntity processBusinessObjectDataStatusChangeNotificationEvent(BusinessObjectDataKey businessObjectDataKey,
         String newBusinessObjectDataStatus, String oldBusinessObjectDataStatus);
 
+    /**
+     * Handles the notifications for a batch of business object data status changes to the SQS. A separate message is queued for each status change, but all
+     * of the messages are queued together.
+     *
+     * @param businessObjectDataStatusUpdates the list of business object data status changes
+     *
+     * @return the list of JMS messages that got queued
+     */
+    public List<JmsMessageEntity> processBusinessObjectDataStatusChangeNotificationEvents(
+        List<BusinessObjectDataStatusUpdateResponse> businessObjectDataStatusUpdates);
+
     /**
      * Handles the system monitor event notification.
      *
@@ -0,0 +1,30 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service;
+
+/**
+ * The service that evaluates the conditions that Activiti wait tasks wait on.
+ */
+public interface WaitConditionService
+{
+    /**
+     * Evaluates the wait conditions of all the waiting workflow executions and signals the executions whose condition is satisfied. Each distinct wait
+     * condition is evaluated only once no matter how many executions wait on it.
+     *
+     * @return the number of executions that were signalled
+     */
+    public int signalSatisfiedWaitConditions();
+}
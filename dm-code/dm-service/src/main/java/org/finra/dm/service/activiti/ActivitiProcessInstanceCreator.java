@@ -15,6 +15,7 @@
 */
 package org.finra.dm.service.activiti;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Future;
 
@@ -29,4 +30,5 @@ public interface ActivitiProcessInstanceCreator
     public void createAndStartProcessInstanceSync(String processDefinitionId, Map<String, Object> parameters,
             ProcessInstanceHolder processInstanceHolder) throws Exception;
 
+    public List<String> createProcessInstancesForAsyncStart(List<String> processDefinitionIds, List<Map<String, Object>> parametersList);
 }
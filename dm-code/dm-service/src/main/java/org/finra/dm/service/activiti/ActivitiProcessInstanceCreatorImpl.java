@@ -15,6 +15,7 @@
 */
 package org.finra.dm.service.activiti;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Future;
 
@@ -81,4 +82,19 @@ public class ActivitiProcessInstanceCreatorImpl implements ActivitiProcessInstan
         activitiConfiguration.getCommandExecutor()
             .execute(new CreateAndStartProcessInstanceCmd(processDefinitionId, parameters, processInstanceHolder, exceptionHandler));
     }
+
+    /**
+     * Creates a batch of process instances in a single Activiti command without starting them. Each process instance is started asynchronously by the Activiti
+     * job executor once the current transaction is committed.
+     *
+     * @param processDefinitionIds the process definition Ids of the process instances to create.
+     * @param parametersList the runtime parameters of each process instance, in the same order as the process definition Ids.
+     *
+     * @return the Ids of the created process instances, in the same order as the process definition Ids.
+     */
+    @Override
+    public List<String> createProcessInstancesForAsyncStart(List<String> processDefinitionIds, List<Map<String, Object>> parametersList)
+    {
+        return activitiConfiguration.getCommandExecutor().execute(new CreateProcessInstancesCmd(processDefinitionIds, parametersList));
+    }
 }
@@ -0,0 +1,114 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.activiti;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.deploy.DeploymentManager;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.MessageEntity;
+import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
+
+/**
+ * This is an Activiti command that creates a batch of process instances without starting them. Each process instance gets an asynchronous message job that
+ * starts it once the batch is committed, so the process instance Ids are known as soon as this command completes regardless of how long the workflows take
+ * to run.
+ */
+public class CreateProcessInstancesCmd implements Command<List<String>>, Serializable
+{
+    private static final long serialVersionUID = 1L;
+    protected List<String> processDefinitionIds;
+    protected List<Map<String, Object>> parametersList;
+
+    /**
+     * Create a create process instances command.
+     *
+     * @param processDefinitionIds the process definition Ids of the process instances to create.
+     * @param parametersList the parameters that are passed to each process instance, in the same order as the process definition Ids.
+     */
+    public CreateProcessInstancesCmd(List<String> processDefinitionIds, List<Map<String, Object>> parametersList)
+    {
+        this.processDefinitionIds = processDefinitionIds;
+        this.parametersList = parametersList;
+    }
+
+    /**
+     * Executes this command which will create the process instances and their start jobs.
+     *
+     * @param commandContext the command context.
+     *
+     * @return the Ids of the created process instances, in the same order as the process definition Ids.
+     */
+    public List<String> execute(CommandContext commandContext)
+    {
+        // Get a handle to the Activiti deployment manager.
+        DeploymentManager deploymentCache = Context.getProcessEngineConfiguration().getDeploymentManager();
+
+        // The process definitions are resolved once per batch since a batch typically contains many instances of the same process definition.
+        Map<String, ProcessDefinitionEntity> processDefinitions = new HashMap<>();
+
+        List<String> processInstanceIds = new ArrayList<>();
+
+        for (int i = 0; i < processDefinitionIds.size(); i++)
+        {
+            String processDefinitionId = processDefinitionIds.get(i);
+
+            ProcessDefinitionEntity processDefinition = processDefinitions.get(processDefinitionId);
+            if (processDefinition == null)
+            {
+                // Find the process definition entity based on the Id.
+                try
+                {
+                    processDefinition = deploymentCache.findDeployedProcessDefinitionById(processDefinitionId);
+                }
+                catch (Exception ex)
+                {
+                    throw new IllegalArgumentException("No process definition found for Id: " + processDefinitionId, ex);
+                }
+
+                // Do not start process a process instance if the process definition is suspended.
+                if (processDefinition.isSuspended())
+                {
+                    throw new IllegalArgumentException(
+                        "Cannot start process instance for process definition Id: " + processDefinition.getId() + " because it is suspended.");
+                }
+
+                processDefinitions.put(processDefinitionId, processDefinition);
+            }
+
+            // Create the process instance and set the variables which will be available to the workflow when the instance is started.
+            ExecutionEntity processInstance = processDefinition.createProcessInstance();
+            processInstance.setVariables(parametersList.get(i));
+
+            // Schedule the start of the process instance. The job executor is notified once the transaction is committed.
+            MessageEntity message = new MessageEntity();
+            message.setExecution(processInstance);
+            message.setJobHandlerType(StartProcessInstanceJobHandler.TYPE);
+            commandContext.getJobEntityManager().send(message);
+
+            processInstanceIds.add(processInstance.getProcessInstanceId());
+        }
+
+        return processInstanceIds;
+    }
+}
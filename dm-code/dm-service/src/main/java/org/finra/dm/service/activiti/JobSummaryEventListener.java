@@ -0,0 +1,124 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.activiti;
+
+import java.sql.Timestamp;
+
+import org.activiti.engine.delegate.event.ActivitiActivityEvent;
+import org.activiti.engine.delegate.event.ActivitiEntityEvent;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.dm.dao.DmDao;
+import org.finra.dm.model.jpa.JobSummaryEntity;
+
+/**
+ * An Activiti event listener that keeps the job summaries up to date. A job summary is created when a process instance is created, its current activity is
+ * updated when an activity starts and it is completed when the process instance ends or gets deleted. The summaries are written within the transaction of the
+ * Activiti command that raised the event.
+ */
+@Component
+public class JobSummaryEventListener implements ActivitiEventListener
+{
+    @Autowired
+    private DmDao dmDao;
+
+    @Override
+    public void onEvent(ActivitiEvent event)
+    {
+        if (event.getType() == ActivitiEventType.ACTIVITY_STARTED)
+        {
+            ActivitiActivityEvent activityEvent = (ActivitiActivityEvent) event;
+            JobSummaryEntity jobSummaryEntity = dmDao.findById(JobSummaryEntity.class, activityEvent.getProcessInstanceId());
+
+            // Jobs created before job summaries were introduced don't have a summary.
+            if (jobSummaryEntity != null && JobSummaryEntity.STATUS_RUNNING.equals(jobSummaryEntity.getStatus()))
+            {
+                jobSummaryEntity.setCurrentActivityId(activityEvent.getActivityId());
+                jobSummaryEntity.setUpdatedOn(new Timestamp(System.currentTimeMillis()));
+            }
+        }
+        else if (event instanceof ActivitiEntityEvent && ((ActivitiEntityEvent) event).getEntity() instanceof ExecutionEntity)
+        {
+            ExecutionEntity execution = (ExecutionEntity) ((ActivitiEntityEvent) event).getEntity();
+
+            if (execution.isProcessInstanceType())
+            {
+                if (event.getType() == ActivitiEventType.ENTITY_CREATED)
+                {
+                    createJobSummary(execution);
+                }
+                else if (event.getType() == ActivitiEventType.PROCESS_COMPLETED || event.getType() == ActivitiEventType.ENTITY_DELETED)
+                {
+                    completeJobSummary(execution);
+                }
+            }
+        }
+    }
+
+    /**
+     * Failing to update a job summary does not fail the workflow.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isFailOnException()
+    {
+        return false;
+    }
+
+    /**
+     * Creates the summary of a newly created process instance.
+     *
+     * @param processInstance the process instance
+     */
+    private void createJobSummary(ExecutionEntity processInstance)
+    {
+        Timestamp currentTime = new Timestamp(System.currentTimeMillis());
+
+        JobSummaryEntity jobSummaryEntity = new JobSummaryEntity();
+        jobSummaryEntity.setId(processInstance.getProcessInstanceId());
+        jobSummaryEntity.setProcessDefinitionId(processInstance.getProcessDefinitionId());
+        jobSummaryEntity.setStatus(JobSummaryEntity.STATUS_RUNNING);
+        jobSummaryEntity.setCurrentActivityId(processInstance.getActivityId());
+        jobSummaryEntity.setStartTime(currentTime);
+        jobSummaryEntity.setUpdatedOn(currentTime);
+        dmDao.save(jobSummaryEntity);
+    }
+
+    /**
+     * Completes the summary of a process instance that has ended.
+     *
+     * @param processInstance the process instance
+     */
+    private void completeJobSummary(ExecutionEntity processInstance)
+    {
+        JobSummaryEntity jobSummaryEntity = dmDao.findById(JobSummaryEntity.class, processInstance.getProcessInstanceId());
+
+        if (jobSummaryEntity != null && JobSummaryEntity.STATUS_RUNNING.equals(jobSummaryEntity.getStatus()))
+        {
+            Timestamp currentTime = new Timestamp(System.currentTimeMillis());
+            jobSummaryEntity.setStatus(JobSummaryEntity.STATUS_COMPLETED);
+            jobSummaryEntity.setCurrentActivityId(null);
+            jobSummaryEntity.setEndTime(currentTime);
+            jobSummaryEntity.setUpdatedOn(currentTime);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.activiti;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.JobHandler;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import org.finra.dm.service.helper.DmErrorInformationExceptionHandler;
+
+/**
+ * An Activiti job handler that starts a process instance that was created by {@link CreateProcessInstancesCmd}.
+ */
+@Component
+public class StartProcessInstanceJobHandler implements JobHandler
+{
+    public static final String TYPE = "dm-start-process-instance";
+
+    private static final Logger LOGGER = Logger.getLogger(StartProcessInstanceJobHandler.class);
+
+    @Autowired
+    @Qualifier("dmErrorInformationExceptionHandler") // This is to ensure we get the base class bean rather than any classes that extend it.
+    private DmErrorInformationExceptionHandler exceptionHandler;
+
+    @Override
+    public String getType()
+    {
+        return TYPE;
+    }
+
+    /**
+     * Starts the process instance of the job.
+     *
+     * @param job the job.
+     * @param configuration the job handler configuration which is not used.
+     * @param execution the process instance to start.
+     * @param commandContext the command context.
+     *
+     * @see CreateAndStartProcessInstanceCmd#execute(CommandContext)
+     */
+    @Override
+    public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext)
+    {
+        // The process definition of an execution loaded from the database is initialized lazily and it is needed to find the initial activity.
+        String processDefinitionId = execution.getProcessDefinition().getId();
+
+        try
+        {
+            // Start the process instance which runs the workflow and could take a long time to complete depending on the workflow configuration.
+            execution.start();
+        }
+        catch (Exception ex)
+        {
+            // Log something showing the exception. Note that we don't want to re-throw the exception because it would cause the job to be retried and the
+            // workflow to be started again. This is consistent with how a process instance that fails to start is handled when a single job is created.
+            if (exceptionHandler.isReportableError(ex))
+            {
+                // In the case of an error that is reportable, we will log an error.
+                LOGGER.error("Unexpected error occurred during asynchronous starting of process with process definition Id \"" + processDefinitionId +
+                    "\" and process instance Id: \"" + execution.getProcessInstanceId() + "\".", ex);
+            }
+            else
+            {
+                LOGGER.warn("Unexpected error occurred during asynchronous starting of process with process definition Id \"" + processDefinitionId +
+                    "\" and process instance Id: \"" + execution.getProcessInstanceId() +
+                    "\". This is a workflow related error and should be handled by the workflow creator.", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.activiti;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * Custom Activiti MyBatis mapper used by the wait condition watcher to read the wait condition variables of all the waiting executions with a single query.
+ */
+public interface WaitConditionMapper
+{
+    /**
+     * Selects the wait condition parameters of all the executions that wait for the specified wait condition type. Parameters that are too long to be stored
+     * as a string variable are returned with a null value.
+     *
+     * @param typeVariableName the name of the local variable that holds the wait condition type
+     * @param parametersVariableName the name of the local variable that holds the wait condition parameters
+     * @param conditionType the wait condition type
+     *
+     * @return the list of wait condition parameters of the waiting executions
+     */
+    @Select("SELECT PARAM_VAR.EXECUTION_ID_ AS executionId, PARAM_VAR.TEXT_ AS parameters " +
+        "FROM ACT_RU_VARIABLE PARAM_VAR " +
+        "WHERE PARAM_VAR.NAME_ = #{parametersVariableName} " +
+        "AND PARAM_VAR.EXECUTION_ID_ IN (" +
+        "SELECT TYPE_VAR.EXECUTION_ID_ FROM ACT_RU_VARIABLE TYPE_VAR WHERE TYPE_VAR.NAME_ = #{typeVariableName} AND TYPE_VAR.TEXT_ = #{conditionType})")
+    List<WaitConditionParameters> selectWaitConditionParameters(@Param("typeVariableName") String typeVariableName,
+        @Param("parametersVariableName") String parametersVariableName, @Param("conditionType") String conditionType);
+}
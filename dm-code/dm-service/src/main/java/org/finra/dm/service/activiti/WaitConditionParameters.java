@@ -0,0 +1,46 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.activiti;
+
+/**
+ * The wait condition parameters of a waiting execution as selected by the {@link WaitConditionMapper}.
+ */
+public class WaitConditionParameters
+{
+    private String executionId;
+
+    private String parameters;
+
+    public String getExecutionId()
+    {
+        return executionId;
+    }
+
+    public void setExecutionId(String executionId)
+    {
+        this.executionId = executionId;
+    }
+
+    public String getParameters()
+    {
+        return parameters;
+    }
+
+    public void setParameters(String parameters)
+    {
+        this.parameters = parameters;
+    }
+}
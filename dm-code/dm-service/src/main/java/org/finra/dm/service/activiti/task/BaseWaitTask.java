@@ -0,0 +1,215 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.activiti.task;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.activiti.engine.delegate.BpmnError;
+import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.impl.bpmn.behavior.AbstractBpmnActivityBehavior;
+import org.activiti.engine.impl.pvm.delegate.ActivityExecution;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import org.finra.dm.core.ApplicationContextHolder;
+import org.finra.dm.dao.helper.DmStringHelper;
+import org.finra.dm.dao.helper.JsonHelper;
+import org.finra.dm.service.activiti.ActivitiHelper;
+import org.finra.dm.service.helper.DmDaoHelper;
+import org.finra.dm.service.helper.DmErrorInformationExceptionHandler;
+import org.finra.dm.service.helper.WaitCondition;
+
+/**
+ * This class handles the core flow for our Activiti wait tasks. A wait task evaluates its wait condition when the workflow reaches it and, when the condition
+ * is not satisfied yet, keeps the workflow waiting in a wait state instead of polling the condition in a timer loop. The wait condition type and parameters
+ * are stored as local variables of the waiting execution and the wait condition watcher system job signals the execution once the condition is satisfied.
+ * <p/>
+ * Wait tasks are Activiti activity behaviors rather than "JavaDelegate" tasks since a Java delegate always leaves the activity once it is executed. Activiti
+ * does not pass activity behaviors through the delegate interceptor, so the Spring beans are autowired by this class directly.
+ */
+public abstract class BaseWaitTask extends AbstractBpmnActivityBehavior
+{
+    private static final Logger LOGGER = Logger.getLogger(BaseWaitTask.class);
+
+    /**
+     * The local variable of a waiting execution that holds the wait condition type.
+     */
+    public static final String VARIABLE_WAIT_CONDITION_TYPE = "dmWaitConditionType";
+
+    /**
+     * The local variable of a waiting execution that holds the wait condition parameters in JSON format.
+     */
+    public static final String VARIABLE_WAIT_CONDITION_PARAMETERS = "dmWaitConditionParameters";
+
+    /**
+     * The local variable of a waiting execution that holds the number of times in a row the wait condition watcher failed to evaluate the wait condition.
+     */
+    public static final String VARIABLE_WAIT_CONDITION_FAILED_EVALUATIONS = "dmWaitConditionFailedEvaluations";
+
+    /**
+     * The variable the wait condition watcher sets along with the signal when it gives up on the wait condition. It holds the error message to set on the
+     * task.
+     */
+    public static final String VARIABLE_WAIT_CONDITION_ERROR_MESSAGE = "dmWaitConditionErrorMessage";
+
+    @Autowired
+    protected ActivitiHelper activitiHelper;
+
+    @Autowired
+    protected DmDaoHelper dmDaoHelper;
+
+    @Autowired
+    protected DmStringHelper daoHelper;
+
+    @Autowired
+    protected JsonHelper jsonHelper;
+
+    @Autowired
+    @Qualifier("dmErrorInformationExceptionHandler") // This is to ensure we get the base class bean rather than any classes that extend it.
+    private DmErrorInformationExceptionHandler errorInformationExceptionHandler;
+
+    private volatile boolean springInitialized;
+
+    /**
+     * Gets the wait condition of this task.
+     *
+     * @return the wait condition
+     */
+    protected abstract WaitCondition getWaitCondition();
+
+    /**
+     * Gets the wait condition parameters from the task fields. Sub-classes should validate the parameters here so that an invalid task fails right away rather
+     * than waiting forever.
+     *
+     * @param execution the delegate execution
+     *
+     * @return the wait condition parameters
+     * @throws Exception if the parameters are not valid
+     */
+    protected abstract Map<String, String> getConditionParameters(DelegateExecution execution) throws Exception;
+
+    /**
+     * This is what Activiti will call when the workflow reaches this task. The task leaves right away if the wait condition is already satisfied, otherwise it
+     * registers the wait condition on the execution and stays in a wait state until it gets signalled.
+     *
+     * @param execution the activity execution
+     *
+     * @throws Exception if any errors were encountered
+     */
+    @Override
+    public void execute(ActivityExecution execution) throws Exception
+    {
+        initializeSpring();
+
+        try
+        {
+            // Check if method is not allowed.
+            dmDaoHelper.checkNotAllowedMethod(this.getClass().getCanonicalName());
+
+            WaitCondition waitCondition = getWaitCondition();
+
+            // Sort the parameters so that the same parameters always produce the same JSON and the watcher can evaluate them only once.
+            Map<String, String> parameters = new TreeMap<>(getConditionParameters(execution));
+
+            Map<String, Object> variables = waitCondition.evaluate(parameters);
+            if (variables != null)
+            {
+                for (Map.Entry<String, Object> variable : variables.entrySet())
+                {
+                    activitiHelper.setTaskWorkflowVariable(execution, variable.getKey(), variable.getValue());
+                }
+                activitiHelper.setTaskSuccessInWorkflow(execution);
+                leave(execution);
+            }
+            else
+            {
+                execution.setVariableLocal(VARIABLE_WAIT_CONDITION_TYPE, waitCondition.getConditionType());
+                execution.setVariableLocal(VARIABLE_WAIT_CONDITION_PARAMETERS, jsonHelper.objectToJson(parameters));
+            }
+        }
+        catch (BpmnError ex)
+        {
+            // Set the error status and error message as workflow variables.
+            activitiHelper.setTaskErrorInWorkflow(execution, ex.getMessage());
+
+            // Continue throwing the original exception and let workflow handle it with a Boundary event handler.
+            throw ex;
+        }
+        catch (Exception ex)
+        {
+            // Set the error status and error message as workflow variables.
+            activitiHelper.setTaskErrorInWorkflow(execution, ex.getMessage());
+
+            // Log the error if the exception should be reported.
+            if (errorInformationExceptionHandler.isReportableError(ex))
+            {
+                LOGGER.error(
+                    activitiHelper.getProcessIdentifyingInformation(execution) + " Unexpected error occurred during task \"" + getClass().getSimpleName() +
+                        "\".", ex);
+            }
+
+            // Do not keep a workflow waiting on a condition that could not be registered.
+            leave(execution);
+        }
+    }
+
+    /**
+     * This is what Activiti will call when the wait condition watcher signals the waiting execution. The watcher sets the task workflow variables along with
+     * the signal when the wait condition is satisfied, or an error message when it gave up on the wait condition, in which case the task error status is set.
+     *
+     * @param execution the activity execution
+     * @param signalName the signal name
+     * @param signalData the signal data
+     *
+     * @throws Exception if any errors were encountered
+     */
+    @Override
+    public void signal(ActivityExecution execution, String signalName, Object signalData) throws Exception
+    {
+        initializeSpring();
+
+        execution.removeVariableLocal(VARIABLE_WAIT_CONDITION_TYPE);
+        execution.removeVariableLocal(VARIABLE_WAIT_CONDITION_PARAMETERS);
+        execution.removeVariableLocal(VARIABLE_WAIT_CONDITION_FAILED_EVALUATIONS);
+
+        String errorMessage = (String) execution.getVariable(VARIABLE_WAIT_CONDITION_ERROR_MESSAGE);
+        if (errorMessage != null)
+        {
+            execution.removeVariable(VARIABLE_WAIT_CONDITION_ERROR_MESSAGE);
+            activitiHelper.setTaskErrorInWorkflow(execution, errorMessage);
+        }
+        else
+        {
+            activitiHelper.setTaskSuccessInWorkflow(execution);
+        }
+
+        leave(execution);
+    }
+
+    /**
+     * Autowires the Spring beans onto this task the first time it is used.
+     */
+    private void initializeSpring()
+    {
+        if (!springInitialized)
+        {
+            ApplicationContextHolder.getApplicationContext().getAutowireCapableBeanFactory().autowireBean(this);
+            springInitialized = true;
+        }
+    }
+}
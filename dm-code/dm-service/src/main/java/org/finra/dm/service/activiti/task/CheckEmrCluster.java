@@ -35,6 +35,7 @@ import org.finra.dm.model.api.xml.EmrCluster;
  *   <activiti:field name="emrStepId" stringValue="" />
  *   <activiti:field name="verbose" stringValue="" />
  *   <activiti:field name="retrieveOozieJobs" stringValue="" />
+ *   <activiti:field name="consistentRead" stringValue="" />
  * </extensionElements>
  * </pre>
  */
@@ -49,6 +50,8 @@ public class CheckEmrCluster extends BaseEmrCluster
 
     private Expression retrieveOozieJobs;
 
+    private Expression consistentRead;
+
     @Override
     public void executeImpl(DelegateExecution execution) throws Exception
     {
@@ -58,9 +61,11 @@ public class CheckEmrCluster extends BaseEmrCluster
         String emrClusterIdString = activitiHelper.getExpressionVariableAsString(emrClusterId, execution);
         boolean verboseBoolean = activitiHelper.getExpressionVariableAsBoolean(verbose, execution, "verbose", false, false);
         boolean retrieveOozieJobsBoolean = activitiHelper.getExpressionVariableAsBoolean(retrieveOozieJobs, execution, "retrieveOozieJobs", false, false);
+        boolean consistentReadBoolean = activitiHelper.getExpressionVariableAsBoolean(consistentRead, execution, "consistentRead", false, false);
         
         // Gets the EMR cluster details.
-        EmrCluster emrCluster = emrService.getCluster(emrClusterAlternateKeyDto, emrClusterIdString, emrStepIdString, verboseBoolean, retrieveOozieJobsBoolean);
+        EmrCluster emrCluster = emrService
+            .getCluster(emrClusterAlternateKeyDto, emrClusterIdString, emrStepIdString, verboseBoolean, retrieveOozieJobsBoolean, consistentReadBoolean);
 
         // Set cluster id and status workflow variables based on the result EMR cluster.
         setIdStatusWorkflowVariables(execution, emrCluster);
@@ -17,7 +17,9 @@ package org.finra.dm.service.activiti.task;
 
 import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.delegate.Expression;
+import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Component;
 
 import org.finra.dm.model.jpa.NotificationEventTypeEntity;
@@ -42,6 +44,8 @@ import org.finra.dm.service.NotificationEventService;
 @Component
 public class RegisterBusinessObjectData extends BaseJavaDelegate
 {
+    private static final Logger LOGGER = Logger.getLogger(RegisterBusinessObjectData.class);
+
     public static final String VARIABLE_ID = "id";
     public static final String VARIABLE_VERSION = "version";
     public static final String VARIABLE_LATEST_VERSION = "isLatestVersion";
@@ -70,9 +74,17 @@ public class RegisterBusinessObjectData extends BaseJavaDelegate
         // Trigger notifications.
         BusinessObjectDataKey businessObjectDataKey = dmHelper.getBusinessObjectDataKey(businessObjectData);
 
-        // Create business object data notification.
-        notificationEventService
-            .processBusinessObjectDataNotificationEventAsync(NotificationEventTypeEntity.EVENT_TYPES_BDATA.BUS_OBJCT_DATA_RGSTN, businessObjectDataKey);
+        // Create business object data notification. The data is registered even when the notification thread pool is saturated.
+        try
+        {
+            notificationEventService
+                .processBusinessObjectDataNotificationEventAsync(NotificationEventTypeEntity.EVENT_TYPES_BDATA.BUS_OBJCT_DATA_RGSTN, businessObjectDataKey);
+        }
+        catch (TaskRejectedException e)
+        {
+            LOGGER.error(String.format("Skipped the business object data registration notification of business object data %s.",
+                dmHelper.businessObjectDataKeyToString(businessObjectDataKey)), e);
+        }
 
         // Set the JSON response as a workflow variable.
         setJsonResponseAsWorkflowVariable(businessObjectData, execution);
@@ -0,0 +1,102 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.activiti.task;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.delegate.Expression;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.dm.dao.helper.XmlHelper;
+import org.finra.dm.model.api.xml.BusinessObjectDataAvailabilityRequest;
+import org.finra.dm.service.helper.BusinessObjectDataAvailabilityWaitCondition;
+import org.finra.dm.service.helper.WaitCondition;
+
+/**
+ * An Activiti wait task that waits until all the requested business object data is available. This replaces a timer loop around the
+ * CheckBusinessObjectDataAvailability task. The request is a business object data availability request in the specified content type ("xml" or "json").
+ * <p/>
+ * <p/>
+ * <pre>
+ * <extensionElements>
+ *   <activiti:field name="contentType" stringValue=""/>
+ *   <activiti:field name="businessObjectDataAvailabilityRequest" stringValue=""/>
+ * </extensionElements>
+ * </pre>
+ */
+@Component
+public class WaitForBusinessObjectDataAvailability extends BaseWaitTask
+{
+    private Expression contentType;
+    private Expression businessObjectDataAvailabilityRequest;
+
+    @Autowired
+    private BusinessObjectDataAvailabilityWaitCondition businessObjectDataAvailabilityWaitCondition;
+
+    @Autowired
+    private XmlHelper xmlHelper;
+
+    @Override
+    protected WaitCondition getWaitCondition()
+    {
+        return businessObjectDataAvailabilityWaitCondition;
+    }
+
+    @Override
+    protected Map<String, String> getConditionParameters(DelegateExecution execution) throws Exception
+    {
+        String contentTypeString = activitiHelper.getRequiredExpressionVariableAsString(contentType, execution, "ContentType").trim();
+        String requestString =
+            activitiHelper.getRequiredExpressionVariableAsString(businessObjectDataAvailabilityRequest, execution, "BusinessObjectDataAvailabilityRequest")
+                .trim();
+
+        BusinessObjectDataAvailabilityRequest request;
+        if (contentTypeString.equalsIgnoreCase("xml"))
+        {
+            try
+            {
+                request = xmlHelper.unmarshallXmlToObject(BusinessObjectDataAvailabilityRequest.class, requestString);
+            }
+            catch (Exception ex)
+            {
+                throw new IllegalArgumentException("\"BusinessObjectDataAvailabilityRequest\" must be valid xml string.", ex);
+            }
+        }
+        else if (contentTypeString.equalsIgnoreCase("json"))
+        {
+            try
+            {
+                request = jsonHelper.unmarshallJsonToObject(BusinessObjectDataAvailabilityRequest.class, requestString);
+            }
+            catch (Exception ex)
+            {
+                throw new IllegalArgumentException("\"BusinessObjectDataAvailabilityRequest\" must be valid json string.", ex);
+            }
+        }
+        else
+        {
+            throw new IllegalArgumentException("\"ContentType\" must be a valid value of either \"xml\" or \"json\".");
+        }
+
+        // The request is stored in JSON format regardless of the content type it was specified in.
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(BusinessObjectDataAvailabilityWaitCondition.PARAMETER_BUSINESS_OBJECT_DATA_AVAILABILITY_REQUEST, jsonHelper.objectToJson(request));
+        return parameters;
+    }
+}
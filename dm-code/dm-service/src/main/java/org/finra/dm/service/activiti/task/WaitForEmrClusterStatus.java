@@ -0,0 +1,83 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.activiti.task;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.delegate.Expression;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.dm.service.helper.EmrClusterStatusWaitCondition;
+import org.finra.dm.service.helper.WaitCondition;
+
+/**
+ * An Activiti wait task that waits until an EMR cluster reaches one of the specified statuses (e.g. "WAITING") or terminates. This replaces a timer loop
+ * around the CheckEmrCluster task. The emrClusterStatuses field is a list of statuses separated by the default delimiter.
+ * <p/>
+ * <p/>
+ * <pre>
+ * <extensionElements>
+ *   <activiti:field name="namespace" stringValue="" />
+ *   <activiti:field name="emrClusterDefinitionName" stringValue="" />
+ *   <activiti:field name="emrClusterName" stringValue="" />
+ *   <activiti:field name="emrClusterId" stringValue="" />
+ *   <activiti:field name="emrClusterStatuses" stringValue="" />
+ * </extensionElements>
+ * </pre>
+ */
+@Component
+public class WaitForEmrClusterStatus extends BaseWaitTask
+{
+    private Expression namespace;
+    private Expression emrClusterDefinitionName;
+    private Expression emrClusterName;
+    private Expression emrClusterId;
+    private Expression emrClusterStatuses;
+
+    @Autowired
+    private EmrClusterStatusWaitCondition emrClusterStatusWaitCondition;
+
+    @Override
+    protected WaitCondition getWaitCondition()
+    {
+        return emrClusterStatusWaitCondition;
+    }
+
+    @Override
+    protected Map<String, String> getConditionParameters(DelegateExecution execution) throws Exception
+    {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(EmrClusterStatusWaitCondition.PARAMETER_NAMESPACE, activitiHelper.getExpressionVariableAsString(namespace, execution));
+        parameters.put(EmrClusterStatusWaitCondition.PARAMETER_EMR_CLUSTER_DEFINITION_NAME,
+            activitiHelper.getExpressionVariableAsString(emrClusterDefinitionName, execution));
+        parameters.put(EmrClusterStatusWaitCondition.PARAMETER_EMR_CLUSTER_NAME, activitiHelper.getExpressionVariableAsString(emrClusterName, execution));
+        parameters.put(EmrClusterStatusWaitCondition.PARAMETER_EMR_CLUSTER_ID, activitiHelper.getExpressionVariableAsString(emrClusterId, execution));
+        parameters.put(EmrClusterStatusWaitCondition.PARAMETER_EMR_CLUSTER_STATUSES,
+            activitiHelper.getRequiredExpressionVariableAsString(emrClusterStatuses, execution, "EmrClusterStatuses"));
+
+        // Resolve the cluster ID of a cluster identified by name only, so the cluster can still be found once it terminates.
+        if (StringUtils.isBlank(parameters.get(EmrClusterStatusWaitCondition.PARAMETER_EMR_CLUSTER_ID)))
+        {
+            parameters.put(EmrClusterStatusWaitCondition.PARAMETER_EMR_CLUSTER_ID, emrClusterStatusWaitCondition.getActiveEmrClusterId(parameters));
+        }
+
+        return parameters;
+    }
+}
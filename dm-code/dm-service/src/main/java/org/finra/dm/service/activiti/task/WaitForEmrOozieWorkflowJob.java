@@ -0,0 +1,72 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.activiti.task;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.delegate.Expression;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.dm.service.helper.EmrOozieWorkflowJobWaitCondition;
+import org.finra.dm.service.helper.WaitCondition;
+
+/**
+ * An Activiti wait task that waits until an oozie workflow job running on an EMR cluster completes. This replaces a timer loop around the
+ * CheckEmrOozieWorkflowJob task.
+ * <p/>
+ * <p/>
+ * <pre>
+ * <extensionElements>
+ *   <activiti:field name="namespace" stringValue="" />
+ *   <activiti:field name="emrClusterDefinitionName" stringValue="" />
+ *   <activiti:field name="emrClusterName" stringValue="" />
+ *   <activiti:field name="oozieWorkflowJobId" stringValue="" />
+ * </extensionElements>
+ * </pre>
+ */
+@Component
+public class WaitForEmrOozieWorkflowJob extends BaseWaitTask
+{
+    private Expression namespace;
+    private Expression emrClusterDefinitionName;
+    private Expression emrClusterName;
+    private Expression oozieWorkflowJobId;
+
+    @Autowired
+    private EmrOozieWorkflowJobWaitCondition emrOozieWorkflowJobWaitCondition;
+
+    @Override
+    protected WaitCondition getWaitCondition()
+    {
+        return emrOozieWorkflowJobWaitCondition;
+    }
+
+    @Override
+    protected Map<String, String> getConditionParameters(DelegateExecution execution) throws Exception
+    {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(EmrOozieWorkflowJobWaitCondition.PARAMETER_NAMESPACE, activitiHelper.getExpressionVariableAsString(namespace, execution));
+        parameters.put(EmrOozieWorkflowJobWaitCondition.PARAMETER_EMR_CLUSTER_DEFINITION_NAME,
+            activitiHelper.getExpressionVariableAsString(emrClusterDefinitionName, execution));
+        parameters.put(EmrOozieWorkflowJobWaitCondition.PARAMETER_EMR_CLUSTER_NAME, activitiHelper.getExpressionVariableAsString(emrClusterName, execution));
+        parameters.put(EmrOozieWorkflowJobWaitCondition.PARAMETER_OOZIE_WORKFLOW_JOB_ID,
+            activitiHelper.getRequiredExpressionVariableAsString(oozieWorkflowJobId, execution, "OozieWorkflowJobId"));
+        return parameters;
+    }
+}
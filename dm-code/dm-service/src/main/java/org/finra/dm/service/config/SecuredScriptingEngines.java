@@ -16,12 +16,27 @@
 package org.finra.dm.service.config;
 
 import java.security.PrivilegedAction;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
 
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.delegate.DelegateTask;
+import org.activiti.engine.delegate.VariableScope;
+import org.activiti.engine.delegate.event.ActivitiEntityEvent;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
 import org.activiti.engine.impl.scripting.ScriptBindingsFactory;
 import org.activiti.engine.impl.scripting.ScriptingEngines;
+import org.activiti.engine.repository.ProcessDefinition;
 
 import org.finra.dm.core.helper.SecurityManagerHelper;
 
@@ -29,15 +44,41 @@ import org.finra.dm.core.helper.SecurityManagerHelper;
  * An implementation of {@link ScriptingEngines} which evaluates scripts with no permissions under a {@link SecurityManager}. Use this {@link ScriptingEngines}
  * implementation to restrict scripts that are sourced outside of the application. A security manager must be enabled for this JVM context for this
  * implementation to do anything meaningful. Otherwise, this implementation behaves similarly to {@link ScriptingEngines}.
+ * <p/>
+ * When a compiled script cache size is specified, the scripts of process definitions that are evaluated by a {@link Compilable} script engine are compiled
+ * once and kept in a least recently used cache keyed by process definition ID, language and script. Both the compilation and the evaluation of a compiled
+ * script happen with no permissions. This class also listens to process definition entity events, so the compiled scripts of a process definition get evicted
+ * when the process definition is redeployed.
  */
-public class SecuredScriptingEngines extends ScriptingEngines
+public class SecuredScriptingEngines extends ScriptingEngines implements ActivitiEventListener
 {
+    private static final char KEY_SEPARATOR = '\n';
+
+    private final int compiledScriptCacheMaxSize;
+
+    /**
+     * The compiled scripts keyed by process definition ID, language and script, in access order.
+     */
+    private final Map<String, CompiledScript> compiledScripts = new LinkedHashMap<>(16, 0.75f, true);
+
     /**
      * {@inheritDoc}
      */
     public SecuredScriptingEngines(ScriptBindingsFactory scriptBindingsFactory)
+    {
+        this(scriptBindingsFactory, 0);
+    }
+
+    /**
+     * Creates scripting engines that keep up to the specified number of compiled scripts.
+     *
+     * @param scriptBindingsFactory the script bindings factory
+     * @param compiledScriptCacheMaxSize the maximum number of compiled scripts to keep, 0 to not compile scripts
+     */
+    public SecuredScriptingEngines(ScriptBindingsFactory scriptBindingsFactory, int compiledScriptCacheMaxSize)
     {
         super(scriptBindingsFactory);
+        this.compiledScriptCacheMaxSize = compiledScriptCacheMaxSize;
     }
 
     /**
@@ -46,6 +87,27 @@ public class SecuredScriptingEngines extends ScriptingEngines
     public SecuredScriptingEngines(ScriptEngineManager scriptEngineManager)
     {
         super(scriptEngineManager);
+        this.compiledScriptCacheMaxSize = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Evaluates the compiled script of the process definition when the script engine supports compilation.
+     */
+    @Override
+    public Object evaluate(String script, String language, VariableScope variableScope)
+    {
+        return evaluate(script, language, createBindings(variableScope), getProcessDefinitionId(variableScope));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Evaluates the compiled script of the process definition when the script engine supports compilation.
+     */
+    @Override
+    public Object evaluate(String script, String language, VariableScope variableScope, boolean storeScriptVariables)
+    {
+        return evaluate(script, language, createBindings(variableScope, storeScriptVariables), getProcessDefinitionId(variableScope));
     }
 
     /**
@@ -64,4 +126,167 @@ public class SecuredScriptingEngines extends ScriptingEngines
             }
         });
     }
+
+    /**
+     * Evaluates the script of the specified process definition. The script is compiled on its first evaluation when the script engine supports compilation,
+     * otherwise it is evaluated as is. The compilation and the evaluation are executed under a script manager with no permissions.
+     *
+     * @param script the script
+     * @param language the script language
+     * @param bindings the bindings
+     * @param processDefinitionId the ID of the process definition the script belongs to, may be null
+     *
+     * @return the result of the evaluation
+     */
+    protected Object evaluate(final String script, final String language, final Bindings bindings, final String processDefinitionId)
+    {
+        if (processDefinitionId == null || compiledScriptCacheMaxSize <= 0)
+        {
+            return evaluate(script, language, bindings);
+        }
+
+        return SecurityManagerHelper.doPrivileged(new PrivilegedAction<Object>()
+        {
+            @Override
+            public Object run()
+            {
+                ScriptEngine scriptEngine = getEngineByName(language);
+
+                if (!(scriptEngine instanceof Compilable))
+                {
+                    return SecuredScriptingEngines.super.evaluate(script, language, bindings);
+                }
+
+                try
+                {
+                    return getCompiledScript(processDefinitionId + KEY_SEPARATOR + language + KEY_SEPARATOR + script, (Compilable) scriptEngine, script)
+                        .eval(bindings);
+                }
+                catch (ScriptException e)
+                {
+                    // Report the errors the same way ScriptingEngines does.
+                    throw new ActivitiException("problem evaluating script: " + e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Evicts the compiled scripts of all the versions of the specified process definition.
+     *
+     * @param processDefinitionKey the process definition key
+     */
+    public void evictProcessDefinition(String processDefinitionKey)
+    {
+        // Process definition IDs are made of the process definition key, the version and a unique ID separated by colons.
+        String keyPrefix = processDefinitionKey + ":";
+
+        synchronized (compiledScripts)
+        {
+            for (Iterator<String> iterator = compiledScripts.keySet().iterator(); iterator.hasNext(); )
+            {
+                if (iterator.next().startsWith(keyPrefix))
+                {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of compiled scripts currently kept.
+     *
+     * @return the number of compiled scripts
+     */
+    public int getCompiledScriptCount()
+    {
+        synchronized (compiledScripts)
+        {
+            return compiledScripts.size();
+        }
+    }
+
+    /**
+     * Evicts the compiled scripts of a process definition when a version of the process definition is deployed or deleted.
+     *
+     * @param event the Activiti event
+     */
+    @Override
+    public void onEvent(ActivitiEvent event)
+    {
+        if (event instanceof ActivitiEntityEvent && ((ActivitiEntityEvent) event).getEntity() instanceof ProcessDefinition)
+        {
+            evictProcessDefinition(((ProcessDefinition) ((ActivitiEntityEvent) event).getEntity()).getKey());
+        }
+    }
+
+    /**
+     * Failing to evict compiled scripts does not fail the operation that triggered the event.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isFailOnException()
+    {
+        return false;
+    }
+
+    /**
+     * Gets the compiled script for the specified key, compiling the script when it is not cached.
+     *
+     * @param key the cache key
+     * @param scriptEngine the script engine
+     * @param script the script
+     *
+     * @return the compiled script
+     * @throws ScriptException if the script could not be compiled
+     */
+    private CompiledScript getCompiledScript(String key, Compilable scriptEngine, String script) throws ScriptException
+    {
+        synchronized (compiledScripts)
+        {
+            CompiledScript compiledScript = compiledScripts.get(key);
+            if (compiledScript != null)
+            {
+                return compiledScript;
+            }
+        }
+
+        // Compile outside of the lock. Another thread compiling the same script at the same time only results in a redundant compilation.
+        CompiledScript compiledScript = scriptEngine.compile(script);
+
+        synchronized (compiledScripts)
+        {
+            compiledScripts.put(key, compiledScript);
+
+            // Discard the least recently used compiled scripts that do not fit in the cache.
+            for (Iterator<String> iterator = compiledScripts.keySet().iterator(); compiledScripts.size() > compiledScriptCacheMaxSize && iterator.hasNext(); )
+            {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+
+        return compiledScript;
+    }
+
+    /**
+     * Gets the ID of the process definition of the specified variable scope.
+     *
+     * @param variableScope the variable scope
+     *
+     * @return the process definition ID or null if the variable scope does not belong to a process definition
+     */
+    private String getProcessDefinitionId(VariableScope variableScope)
+    {
+        if (variableScope instanceof DelegateExecution)
+        {
+            return ((DelegateExecution) variableScope).getProcessDefinitionId();
+        }
+        if (variableScope instanceof DelegateTask)
+        {
+            return ((DelegateTask) variableScope).getProcessDefinitionId();
+        }
+        return null;
+    }
 }
@@ -32,7 +32,7 @@ import org.finra.dm.core.StopWatchAdvice;
 public class ServiceBasicAopSpringModuleConfig extends ServiceAopPointcuts
 {
     /**
-     * Around advice that logs methods times for all service methods.
+     * Around advice that records the method times of all service methods in the method metrics and logs them.
      *
      * @param pjp the proceeding join point.
      *
@@ -20,10 +20,14 @@ import static org.quartz.JobBuilder.newJob;
 import static org.quartz.TriggerBuilder.newTrigger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import javax.jms.ConnectionFactory;
 import javax.sql.DataSource;
@@ -37,8 +41,11 @@ import org.activiti.engine.RepositoryService;
 import org.activiti.engine.RuntimeService;
 import org.activiti.engine.TaskService;
 import org.activiti.engine.cfg.ProcessEngineConfigurator;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.jobexecutor.JobExecutor;
+import org.activiti.engine.impl.jobexecutor.JobHandler;
 import org.activiti.engine.impl.scripting.BeansResolverFactory;
 import org.activiti.engine.impl.scripting.ResolverFactory;
 import org.activiti.engine.impl.scripting.ScriptBindingsFactory;
@@ -61,11 +68,14 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
+import org.springframework.jmx.export.MBeanExporter;
+import org.springframework.jmx.support.RegistrationPolicy;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -75,6 +85,10 @@ import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
 
 import org.finra.dm.core.ApplicationContextHolder;
 import org.finra.dm.core.AutowiringQuartzSpringBeanJobFactory;
+import org.finra.dm.core.DependencyMetricsManagementBean;
+import org.finra.dm.core.MethodMetricsManagementBean;
+import org.finra.dm.core.ThreadPoolMetricsManagementBean;
+import org.finra.dm.core.WorkloadThreadPoolTaskExecutor;
 import org.finra.dm.core.helper.ConfigurationHelper;
 import org.finra.dm.dao.helper.AwsHelper;
 import org.finra.dm.model.dto.AwsParamsDto;
@@ -82,6 +96,9 @@ import org.finra.dm.model.dto.ConfigurationValue;
 import org.finra.dm.service.activiti.DmCommandInvoker;
 import org.finra.dm.service.activiti.DmDelegateInterceptor;
 import org.finra.dm.service.activiti.DmProcessEngineConfigurator;
+import org.finra.dm.service.activiti.JobSummaryEventListener;
+import org.finra.dm.service.activiti.StartProcessInstanceJobHandler;
+import org.finra.dm.service.activiti.WaitConditionMapper;
 import org.finra.dm.service.helper.DmErrorInformationExceptionHandler;
 import org.finra.dm.service.helper.DmJmsDestinationResolver;
 import org.finra.dm.service.systemjobs.AbstractSystemJob;
@@ -107,6 +124,16 @@ public class ServiceSpringModuleConfig implements AsyncConfigurer
      */
     public static final String CREATE_QUARTZ_TABLES_BEAN_NAME = "createQuartzTables";
 
+    /**
+     * The bean name of the executor that runs the asynchronous upload-single file moves.
+     */
+    public static final String FILE_MOVE_TASK_EXECUTOR_BEAN_NAME = "fileMoveTaskExecutor";
+
+    /**
+     * The bean name of the executor that runs the asynchronous notification event processing.
+     */
+    public static final String NOTIFICATION_TASK_EXECUTOR_BEAN_NAME = "notificationTaskExecutor";
+
     @Autowired
     private DataSource dmDataSource;
 
@@ -125,9 +152,18 @@ public class ServiceSpringModuleConfig implements AsyncConfigurer
     @Autowired
     private DmProcessEngineConfigurator dmProcessEngineConfigurator;
 
+    @Autowired
+    private StartProcessInstanceJobHandler startProcessInstanceJobHandler;
+
+    @Autowired
+    private JobSummaryEventListener jobSummaryEventListener;
+
     @Autowired
     private ConfigurationHelper configurationHelper;
 
+    @Autowired
+    private Environment environment;
+
     @Autowired
     private DmJmsDestinationResolver dmDestinationResolver;
 
@@ -147,21 +183,82 @@ public class ServiceSpringModuleConfig implements AsyncConfigurer
     }
 
     /**
-     * Returns an Activiti job executor that uses our configured Async executor.
+     * Returns the exporter that publishes the method metrics recorded by the stop watch advice, the dependency metrics recorded by the operations metrics
+     * advice and the workload thread pool metrics over JMX. Already registered management beans (e.g. from another application context in the same JVM) are
+     * replaced since all of them share the same JVM wide metrics.
+     *
+     * @return the MBean exporter.
+     */
+    @Bean
+    public MBeanExporter methodMetricsMBeanExporter()
+    {
+        Map<String, Object> beans = new HashMap<>();
+        beans.put(MethodMetricsManagementBean.OBJECT_NAME, new MethodMetricsManagementBean());
+        beans.put(DependencyMetricsManagementBean.OBJECT_NAME, new DependencyMetricsManagementBean());
+        beans.put(ThreadPoolMetricsManagementBean.OBJECT_NAME, new ThreadPoolMetricsManagementBean());
+
+        MBeanExporter mBeanExporter = new MBeanExporter();
+        mBeanExporter.setRegistrationPolicy(RegistrationPolicy.REPLACE_EXISTING);
+        mBeanExporter.setBeans(beans);
+        return mBeanExporter;
+    }
+
+    /**
+     * Returns an Activiti job executor that uses its own thread pool, so Activiti asynchronous job executions (e.g. timers, messages, etc.) don't compete with
+     * the Async method calls.
      *
      * @return a Spring job executor.
      */
     @Bean
     public JobExecutor jobExecutor()
     {
-        return new SpringJobExecutor(getAsyncExecutor());
+        return new SpringJobExecutor(activitiTaskExecutor());
+    }
+
+    /**
+     * Returns the executor that runs the Activiti asynchronous job executions. When the pool and its queue are full, the job executor hands the rejected jobs
+     * to its rejected jobs handler.
+     *
+     * @return the Activiti task executor.
+     */
+    @Bean // This will call the "initialize" method of the ThreadPoolTaskExecutor automatically.
+    public WorkloadThreadPoolTaskExecutor activitiTaskExecutor()
+    {
+        return new WorkloadThreadPoolTaskExecutor("activiti", environment, ConfigurationValue.THREAD_POOL_ACTIVITI_CORE_POOL_SIZE,
+            ConfigurationValue.THREAD_POOL_ACTIVITI_MAX_POOL_SIZE, ConfigurationValue.THREAD_POOL_ACTIVITI_QUEUE_CAPACITY,
+            ConfigurationValue.THREAD_POOL_ACTIVITI_SATURATION_POLICY);
+    }
+
+    /**
+     * Returns the executor that runs the "@Async" upload-single file moves.
+     *
+     * @return the file move task executor.
+     */
+    @Bean(name = FILE_MOVE_TASK_EXECUTOR_BEAN_NAME)
+    public WorkloadThreadPoolTaskExecutor fileMoveTaskExecutor()
+    {
+        return new WorkloadThreadPoolTaskExecutor("fileMove", environment, ConfigurationValue.THREAD_POOL_FILE_MOVE_CORE_POOL_SIZE,
+            ConfigurationValue.THREAD_POOL_FILE_MOVE_MAX_POOL_SIZE, ConfigurationValue.THREAD_POOL_FILE_MOVE_QUEUE_CAPACITY,
+            ConfigurationValue.THREAD_POOL_FILE_MOVE_SATURATION_POLICY);
     }
 
     /**
-     * Returns an Async "task" executor which is also a normal "executor". This is being wired into Activity via the job executor bean. It is also being used by
-     * the "@EnableAsync" annotation and the fact that this class implements AsyncConfigurer. That way, all methods annotated with "@Async" will be executed
-     * asynchronously by this executor. Thus, we have a shared thread pool that handles both Async method calls as well as Activiti asynchronous job executions
-     * (e.g. timers, messages, etc.).
+     * Returns the executor that runs the "@Async" notification event processing.
+     *
+     * @return the notification task executor.
+     */
+    @Bean(name = NOTIFICATION_TASK_EXECUTOR_BEAN_NAME)
+    public WorkloadThreadPoolTaskExecutor notificationTaskExecutor()
+    {
+        return new WorkloadThreadPoolTaskExecutor("notification", environment, ConfigurationValue.THREAD_POOL_NOTIFICATION_CORE_POOL_SIZE,
+            ConfigurationValue.THREAD_POOL_NOTIFICATION_MAX_POOL_SIZE, ConfigurationValue.THREAD_POOL_NOTIFICATION_QUEUE_CAPACITY,
+            ConfigurationValue.THREAD_POOL_NOTIFICATION_SATURATION_POLICY);
+    }
+
+    /**
+     * Returns an Async "task" executor which is also a normal "executor". It is being used by the "@EnableAsync" annotation and the fact that this class
+     * implements AsyncConfigurer. That way, all methods annotated with "@Async" that don't name a specific executor (e.g. the Activiti process instance
+     * creation) will be executed asynchronously by this executor.
      *
      * @return the async task executor.
      */
@@ -221,7 +318,18 @@ public class ServiceSpringModuleConfig implements AsyncConfigurer
         // Explicitly set a custom DM command invoker that allows us to perform specialized logging for asynchronous tasks.
         configuration.setCommandInvoker(dmCommandInvoker);
 
+        // Register the job handler that starts the process instances created in bulk.
+        List<JobHandler> customJobHandlers = new ArrayList<>();
+        customJobHandlers.add(startProcessInstanceJobHandler);
+        configuration.setCustomJobHandlers(customJobHandlers);
+
+        // Register the custom mapper the wait condition watcher uses to read the wait condition variables of all the waiting executions at once.
+        Set<Class<?>> customMybatisMappers = new HashSet<>();
+        customMybatisMappers.add(WaitConditionMapper.class);
+        configuration.setCustomMybatisMappers(customMybatisMappers);
+
         initScriptingEngines(configuration);
+        initEventListeners(configuration);
 
         // Attach a custom DM process engine configurator that will allow us to modify the configuration before the engine is built.
         List<ProcessEngineConfigurator> dmConfigurators = new ArrayList<>();
@@ -249,7 +357,27 @@ public class ServiceSpringModuleConfig implements AsyncConfigurer
             resolverFactories.add(new BeansResolverFactory());
             configuration.setResolverFactories(resolverFactories);
         }
-        configuration.setScriptingEngines(new SecuredScriptingEngines(new ScriptBindingsFactory(resolverFactories)));
+        configuration.setScriptingEngines(new SecuredScriptingEngines(new ScriptBindingsFactory(resolverFactories),
+            configurationHelper.getProperty(ConfigurationValue.ACTIVITI_COMPILED_SCRIPT_CACHE_MAX_SIZE, Integer.class)));
+    }
+
+    /**
+     * Registers the DM Activiti event listeners with the given {@link ProcessEngineConfigurationImpl}. The scripting engines must be initialized first.
+     *
+     * @param configuration the {@link ProcessEngineConfigurationImpl} the event listeners will be registered with.
+     */
+    private void initEventListeners(ProcessEngineConfigurationImpl configuration)
+    {
+        SecuredScriptingEngines scriptingEngines = (SecuredScriptingEngines) configuration.getScriptingEngines();
+
+        // Evict the compiled scripts of a process definition when the process definition is redeployed or deleted. Keep the job summaries up to date as
+        // the workflows progress.
+        Map<String, List<ActivitiEventListener>> typedEventListeners = new HashMap<>();
+        typedEventListeners.put(ActivitiEventType.ENTITY_CREATED.name(), Arrays.<ActivitiEventListener>asList(scriptingEngines, jobSummaryEventListener));
+        typedEventListeners.put(ActivitiEventType.ENTITY_DELETED.name(), Arrays.<ActivitiEventListener>asList(scriptingEngines, jobSummaryEventListener));
+        typedEventListeners.put(ActivitiEventType.ACTIVITY_STARTED.name(), Collections.<ActivitiEventListener>singletonList(jobSummaryEventListener));
+        typedEventListeners.put(ActivitiEventType.PROCESS_COMPLETED.name(), Collections.<ActivitiEventListener>singletonList(jobSummaryEventListener));
+        configuration.setTypedEventListeners(typedEventListeners);
     }
 
     /**
@@ -0,0 +1,494 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.dm.core.AdmissionControlMetricsRegistry;
+import org.finra.dm.core.AdmissionControlMetricsRegistry.RejectionReason;
+import org.finra.dm.core.helper.ConfigurationHelper;
+import org.finra.dm.dao.helper.DmDaoSecurityHelper;
+import org.finra.dm.model.TooManyRequestsException;
+import org.finra.dm.model.api.xml.BusinessObjectDataAvailabilityCollectionRequest;
+import org.finra.dm.model.api.xml.BusinessObjectDataAvailabilityRequest;
+import org.finra.dm.model.api.xml.BusinessObjectDataDdlCollectionRequest;
+import org.finra.dm.model.api.xml.BusinessObjectDataDdlRequest;
+import org.finra.dm.model.api.xml.BusinessObjectDataInvalidateUnregisteredRequest;
+import org.finra.dm.model.api.xml.BusinessObjectFormatDdlCollectionRequest;
+import org.finra.dm.model.api.xml.BusinessObjectFormatDdlRequest;
+import org.finra.dm.model.api.xml.JobCreateCollectionRequest;
+import org.finra.dm.model.api.xml.JobCreateRequest;
+import org.finra.dm.model.dto.AdmissionClass;
+import org.finra.dm.model.dto.ConfigurationValue;
+
+/**
+ * A helper that admits the expensive requests (availability, DDL generation, unregistered business object data invalidation and bulk job creation) according
+ * to per user request rates and per user and per namespace concurrency limits. The limits are read from the configuration on every request so they can be
+ * changed at runtime. Requests that exceed a rate are rejected right away while requests that exceed a concurrency limit wait for a slot up to the queue
+ * timeout. Admission control is disabled unless "admission.control.enabled" is set to true.
+ */
+@Component
+public class AdmissionControlHelper
+{
+    private static final Logger LOGGER = Logger.getLogger(AdmissionControlHelper.class);
+
+    /**
+     * The number of seconds after which a request rejected for exceeding a concurrency limit should be retried.
+     */
+    private static final long CONCURRENCY_RETRY_AFTER_SECONDS = 1;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private DmDaoSecurityHelper dmDaoSecurityHelper;
+
+    /**
+     * The request rate token buckets keyed by admission class and user.
+     */
+    private final ConcurrentMap<String, TokenBucket> userTokenBuckets = new ConcurrentHashMap<>();
+
+    /**
+     * The concurrency limiters keyed by admission class and user.
+     */
+    private final ConcurrentMap<String, ConcurrencyLimiter> userConcurrencyLimiters = new ConcurrentHashMap<>();
+
+    /**
+     * The concurrency limiters keyed by admission class and namespace.
+     */
+    private final ConcurrentMap<String, ConcurrencyLimiter> namespaceConcurrencyLimiters = new ConcurrentHashMap<>();
+
+    /**
+     * Admits the method at the join point for the current user and the namespaces of its request arguments, proceeds with it and releases its concurrency
+     * slots once it completes.
+     *
+     * @param pjp the join point
+     * @param admissionClass the admission class of the method
+     *
+     * @return the return value of the method at the join point
+     * @throws Throwable if any errors were encountered, including a TooManyRequestsException when the method was not admitted
+     */
+    public Object admit(ProceedingJoinPoint pjp, AdmissionClass admissionClass) throws Throwable
+    {
+        Permit permit = acquirePermit(admissionClass, pjp.getArgs());
+        try
+        {
+            return pjp.proceed();
+        }
+        finally
+        {
+            permit.release();
+        }
+    }
+
+    /**
+     * Acquires a permit to run a request of the specified admission class for the current user and the namespaces of the specified request objects. The
+     * returned permit must be released once the request completes.
+     *
+     * @param admissionClass the admission class of the request
+     * @param requests the request objects, the namespaces of the availability, DDL, invalidation and bulk job create requests among them are subject to the
+     * namespace limits
+     *
+     * @return the permit
+     * @throws TooManyRequestsException if the request exceeds the rate of the user or a concurrency limit could not be met within the queue timeout
+     */
+    public Permit acquirePermit(AdmissionClass admissionClass, Object... requests) throws TooManyRequestsException
+    {
+        Permit permit = new Permit(admissionClass);
+
+        if (!Boolean.valueOf(configurationHelper.getProperty(ConfigurationValue.ADMISSION_CONTROL_ENABLED)))
+        {
+            return permit;
+        }
+
+        String username = dmDaoSecurityHelper.getCurrentUsername();
+        String userKey = admissionClass + ":" + username;
+
+        // Check the request rate of the user first since it never waits.
+        int requestsPerSecond = configurationHelper.getProperty(admissionClass.getRequestsPerSecondPerUser(), Integer.class);
+        if (requestsPerSecond > 0)
+        {
+            long waitNanos = getTokenBucket(userKey).tryAcquire(requestsPerSecond, configurationHelper.getProperty(admissionClass.getBurstPerUser(),
+                Integer.class), System.nanoTime());
+            if (waitNanos > 0)
+            {
+                reject(admissionClass, RejectionReason.USER_RATE, Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)),
+                    String.format("User \"%s\" exceeded its rate of %d %s request(s) per second.", username, requestsPerSecond, admissionClass));
+            }
+        }
+
+        // Acquire the concurrency slots of the user and of the namespaces, in a consistent order, sharing the queue timeout.
+        long deadlineNanos = System.nanoTime() +
+            TimeUnit.MILLISECONDS.toNanos(configurationHelper.getProperty(ConfigurationValue.ADMISSION_CONTROL_QUEUE_TIMEOUT_MILLIS, Integer.class));
+        boolean admitted = false;
+        try
+        {
+            int maxConcurrentPerUser = configurationHelper.getProperty(admissionClass.getMaxConcurrentPerUser(), Integer.class);
+            if (maxConcurrentPerUser > 0)
+            {
+                acquireSlot(permit, getConcurrencyLimiter(userConcurrencyLimiters, userKey), maxConcurrentPerUser, deadlineNanos,
+                    RejectionReason.USER_CONCURRENCY, String.format("User \"%s\"", username));
+            }
+
+            int maxConcurrentPerNamespace = configurationHelper.getProperty(admissionClass.getMaxConcurrentPerNamespace(), Integer.class);
+            if (maxConcurrentPerNamespace > 0)
+            {
+                for (String namespace : getNamespaces(requests))
+                {
+                    acquireSlot(permit, getConcurrencyLimiter(namespaceConcurrencyLimiters, admissionClass + ":" + namespace), maxConcurrentPerNamespace,
+                        deadlineNanos, RejectionReason.NAMESPACE_CONCURRENCY, String.format("Namespace \"%s\"", namespace));
+                }
+            }
+
+            admitted = true;
+        }
+        finally
+        {
+            if (!admitted)
+            {
+                permit.release();
+            }
+        }
+
+        AdmissionControlMetricsRegistry.recordAdmitted(admissionClass);
+        return permit;
+    }
+
+    /**
+     * Acquires a slot of a concurrency limiter for a permit, waiting up to the deadline.
+     *
+     * @param permit the permit
+     * @param concurrencyLimiter the concurrency limiter
+     * @param limit the maximum number of slots in use
+     * @param deadlineNanos the time, as returned by System.nanoTime(), after which to give up
+     * @param rejectionReason the reason of the rejection if the slot can't be acquired
+     * @param limitedEntity the description of the user or namespace the limiter applies to
+     *
+     * @throws TooManyRequestsException if the slot couldn't be acquired before the deadline
+     */
+    private void acquireSlot(Permit permit, ConcurrencyLimiter concurrencyLimiter, int limit, long deadlineNanos, RejectionReason rejectionReason,
+        String limitedEntity) throws TooManyRequestsException
+    {
+        boolean acquired = concurrencyLimiter.tryAcquire(limit);
+        if (!acquired)
+        {
+            AdmissionControlMetricsRegistry.recordQueued(permit.admissionClass);
+            try
+            {
+                acquired = concurrencyLimiter.tryAcquire(limit, deadlineNanos);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            finally
+            {
+                AdmissionControlMetricsRegistry.recordDequeued(permit.admissionClass);
+            }
+        }
+
+        if (!acquired)
+        {
+            reject(permit.admissionClass, rejectionReason, CONCURRENCY_RETRY_AFTER_SECONDS,
+                String.format("%s has too many %s requests in progress. The limit is %d.", limitedEntity, permit.admissionClass, limit));
+        }
+
+        permit.concurrencyLimiters.add(concurrencyLimiter);
+    }
+
+    /**
+     * Records a rejection and throws the corresponding exception.
+     *
+     * @param admissionClass the admission class of the request
+     * @param rejectionReason the reason of the rejection
+     * @param retryAfterSeconds the number of seconds after which the request can be retried
+     * @param message the exception message
+     *
+     * @throws TooManyRequestsException always
+     */
+    private void reject(AdmissionClass admissionClass, RejectionReason rejectionReason, long retryAfterSeconds, String message)
+        throws TooManyRequestsException
+    {
+        AdmissionControlMetricsRegistry.recordRejected(admissionClass, rejectionReason);
+        LOGGER.warn(String.format("Rejected request. %s", message));
+        throw new TooManyRequestsException(message + " Please retry later.", retryAfterSeconds);
+    }
+
+    /**
+     * Gets the distinct upper case namespaces of the availability, DDL, invalidation and bulk job create requests among the specified objects, in alphabetical order so that
+     * concurrent requests acquire the namespace slots in the same order.
+     *
+     * @param requests the request objects
+     *
+     * @return the namespaces
+     */
+    private SortedSet<String> getNamespaces(Object... requests)
+    {
+        SortedSet<String> namespaces = new TreeSet<>();
+        if (requests != null)
+        {
+            for (Object request : requests)
+            {
+                if (request instanceof BusinessObjectDataAvailabilityRequest)
+                {
+                    addNamespace(namespaces, ((BusinessObjectDataAvailabilityRequest) request).getNamespace());
+                }
+                else if (request instanceof BusinessObjectDataAvailabilityCollectionRequest &&
+                    ((BusinessObjectDataAvailabilityCollectionRequest) request).getBusinessObjectDataAvailabilityRequests() != null)
+                {
+                    for (BusinessObjectDataAvailabilityRequest availabilityRequest : ((BusinessObjectDataAvailabilityCollectionRequest) request)
+                        .getBusinessObjectDataAvailabilityRequests())
+                    {
+                        addNamespace(namespaces, availabilityRequest != null ? availabilityRequest.getNamespace() : null);
+                    }
+                }
+                else if (request instanceof BusinessObjectDataDdlRequest)
+                {
+                    addNamespace(namespaces, ((BusinessObjectDataDdlRequest) request).getNamespace());
+                }
+                else if (request instanceof BusinessObjectDataDdlCollectionRequest &&
+                    ((BusinessObjectDataDdlCollectionRequest) request).getBusinessObjectDataDdlRequests() != null)
+                {
+                    for (BusinessObjectDataDdlRequest ddlRequest : ((BusinessObjectDataDdlCollectionRequest) request).getBusinessObjectDataDdlRequests())
+                    {
+                        addNamespace(namespaces, ddlRequest != null ? ddlRequest.getNamespace() : null);
+                    }
+                }
+                else if (request instanceof BusinessObjectFormatDdlRequest)
+                {
+                    addNamespace(namespaces, ((BusinessObjectFormatDdlRequest) request).getNamespace());
+                }
+                else if (request instanceof BusinessObjectFormatDdlCollectionRequest &&
+                    ((BusinessObjectFormatDdlCollectionRequest) request).getBusinessObjectFormatDdlRequests() != null)
+                {
+                    for (BusinessObjectFormatDdlRequest ddlRequest : ((BusinessObjectFormatDdlCollectionRequest) request).getBusinessObjectFormatDdlRequests())
+                    {
+                        addNamespace(namespaces, ddlRequest != null ? ddlRequest.getNamespace() : null);
+                    }
+                }
+                else if (request instanceof BusinessObjectDataInvalidateUnregisteredRequest)
+                {
+                    addNamespace(namespaces, ((BusinessObjectDataInvalidateUnregisteredRequest) request).getNamespace());
+                }
+                else if (request instanceof JobCreateCollectionRequest && ((JobCreateCollectionRequest) request).getJobCreateRequests() != null)
+                {
+                    for (JobCreateRequest jobCreateRequest : ((JobCreateCollectionRequest) request).getJobCreateRequests())
+                    {
+                        addNamespace(namespaces, jobCreateRequest != null ? jobCreateRequest.getNamespace() : null);
+                    }
+                }
+            }
+        }
+        return namespaces;
+    }
+
+    /**
+     * Adds a namespace to a set of namespaces, ignoring blank namespaces which are rejected later on by the request validation.
+     *
+     * @param namespaces the set of namespaces
+     * @param namespace the namespace
+     */
+    private void addNamespace(SortedSet<String> namespaces, String namespace)
+    {
+        if (StringUtils.isNotBlank(namespace))
+        {
+            namespaces.add(namespace.trim().toUpperCase());
+        }
+    }
+
+    /**
+     * Gets the token bucket of a key, creating it if needed.
+     *
+     * @param key the key
+     *
+     * @return the token bucket
+     */
+    private TokenBucket getTokenBucket(String key)
+    {
+        TokenBucket tokenBucket = userTokenBuckets.get(key);
+        if (tokenBucket == null)
+        {
+            tokenBucket = new TokenBucket();
+            TokenBucket existingTokenBucket = userTokenBuckets.putIfAbsent(key, tokenBucket);
+            if (existingTokenBucket != null)
+            {
+                tokenBucket = existingTokenBucket;
+            }
+        }
+        return tokenBucket;
+    }
+
+    /**
+     * Gets the concurrency limiter of a key, creating it if needed.
+     *
+     * @param concurrencyLimiters the concurrency limiters
+     * @param key the key
+     *
+     * @return the concurrency limiter
+     */
+    private ConcurrencyLimiter getConcurrencyLimiter(ConcurrentMap<String, ConcurrencyLimiter> concurrencyLimiters, String key)
+    {
+        ConcurrencyLimiter concurrencyLimiter = concurrencyLimiters.get(key);
+        if (concurrencyLimiter == null)
+        {
+            concurrencyLimiter = new ConcurrencyLimiter();
+            ConcurrencyLimiter existingConcurrencyLimiter = concurrencyLimiters.putIfAbsent(key, concurrencyLimiter);
+            if (existingConcurrencyLimiter != null)
+            {
+                concurrencyLimiter = existingConcurrencyLimiter;
+            }
+        }
+        return concurrencyLimiter;
+    }
+
+    /**
+     * A permit to run an admitted request. Releasing the permit frees the concurrency slots held by the request.
+     */
+    public static class Permit
+    {
+        private final AdmissionClass admissionClass;
+
+        private final List<ConcurrencyLimiter> concurrencyLimiters = new ArrayList<>();
+
+        private Permit(AdmissionClass admissionClass)
+        {
+            this.admissionClass = admissionClass;
+        }
+
+        /**
+         * Releases the concurrency slots held by this permit. Releasing a permit more than once has no effect.
+         */
+        public synchronized void release()
+        {
+            for (ConcurrencyLimiter concurrencyLimiter : concurrencyLimiters)
+            {
+                concurrencyLimiter.release();
+            }
+            concurrencyLimiters.clear();
+        }
+    }
+
+    /**
+     * A token bucket that refills continuously at the configured rate. The rate and the burst size are passed on every call so configuration changes apply
+     * right away.
+     */
+    private static class TokenBucket
+    {
+        private double tokens = -1;
+
+        private long lastRefillNanos;
+
+        /**
+         * Takes a token if one is available.
+         *
+         * @param tokensPerSecond the refill rate
+         * @param burst the capacity of the bucket
+         * @param nowNanos the current time as returned by System.nanoTime()
+         *
+         * @return 0 if a token was taken, otherwise the number of nanoseconds until a token will be available
+         */
+        private synchronized long tryAcquire(int tokensPerSecond, int burst, long nowNanos)
+        {
+            double capacity = Math.max(burst, 1);
+            if (tokens < 0)
+            {
+                tokens = capacity;
+            }
+            else
+            {
+                tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * tokensPerSecond / (double) TimeUnit.SECONDS.toNanos(1));
+            }
+            lastRefillNanos = nowNanos;
+
+            if (tokens >= 1)
+            {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * TimeUnit.SECONDS.toNanos(1) / tokensPerSecond);
+        }
+    }
+
+    /**
+     * A counting limiter similar to a semaphore whose limit is passed on every call so configuration changes apply right away.
+     */
+    private static class ConcurrencyLimiter
+    {
+        private int slotsInUse;
+
+        /**
+         * Takes a slot if one is available.
+         *
+         * @param limit the maximum number of slots in use
+         *
+         * @return true if a slot was taken, false otherwise
+         */
+        private synchronized boolean tryAcquire(int limit)
+        {
+            if (slotsInUse < limit)
+            {
+                slotsInUse++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Takes a slot, waiting for one to be released up to the deadline.
+         *
+         * @param limit the maximum number of slots in use
+         * @param deadlineNanos the time, as returned by System.nanoTime(), after which to give up
+         *
+         * @return true if a slot was taken, false otherwise
+         * @throws InterruptedException if the thread was interrupted while waiting
+         */
+        private synchronized boolean tryAcquire(int limit, long deadlineNanos) throws InterruptedException
+        {
+            while (slotsInUse >= limit)
+            {
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                if (remainingNanos <= 0)
+                {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+            }
+            slotsInUse++;
+            return true;
+        }
+
+        /**
+         * Releases a slot.
+         */
+        private synchronized void release()
+        {
+            slotsInUse--;
+            notifyAll();
+        }
+    }
+}
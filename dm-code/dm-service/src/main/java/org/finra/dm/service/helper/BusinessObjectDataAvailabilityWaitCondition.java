@@ -0,0 +1,75 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.helper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.dm.dao.helper.JsonHelper;
+import org.finra.dm.model.api.xml.BusinessObjectDataAvailability;
+import org.finra.dm.model.api.xml.BusinessObjectDataAvailabilityRequest;
+import org.finra.dm.service.BusinessObjectDataService;
+
+/**
+ * A wait condition that is satisfied when all the requested business object data is available (i.e. the requested partitions are registered as VALID).
+ */
+@Component
+public class BusinessObjectDataAvailabilityWaitCondition implements WaitCondition
+{
+    public static final String CONDITION_TYPE = "BUSINESS_OBJECT_DATA_AVAILABILITY";
+
+    /**
+     * The business object data availability request in JSON format.
+     */
+    public static final String PARAMETER_BUSINESS_OBJECT_DATA_AVAILABILITY_REQUEST = "businessObjectDataAvailabilityRequest";
+
+    public static final String VARIABLE_IS_ALL_DATA_AVAILABLE = "isAllDataAvailable";
+    public static final String VARIABLE_JSON_RESPONSE = "jsonResponse";
+
+    @Autowired
+    private BusinessObjectDataService businessObjectDataService;
+
+    @Autowired
+    private JsonHelper jsonHelper;
+
+    @Override
+    public String getConditionType()
+    {
+        return CONDITION_TYPE;
+    }
+
+    @Override
+    public Map<String, Object> evaluate(Map<String, String> parameters) throws Exception
+    {
+        BusinessObjectDataAvailabilityRequest request =
+            jsonHelper.unmarshallJsonToObject(BusinessObjectDataAvailabilityRequest.class, parameters.get(PARAMETER_BUSINESS_OBJECT_DATA_AVAILABILITY_REQUEST));
+
+        BusinessObjectDataAvailability businessObjectDataAvailability = businessObjectDataService.checkBusinessObjectDataAvailability(request);
+
+        Map<String, Object> variables = null;
+        if (businessObjectDataAvailability.getNotAvailableStatuses().isEmpty())
+        {
+            variables = new HashMap<>();
+            variables.put(VARIABLE_IS_ALL_DATA_AVAILABLE, true);
+            variables.put(VARIABLE_JSON_RESPONSE, jsonHelper.objectToJson(businessObjectDataAvailability));
+        }
+
+        return variables;
+    }
+}
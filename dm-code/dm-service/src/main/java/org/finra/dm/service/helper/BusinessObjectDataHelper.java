@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeSet;
 
 import org.apache.commons.lang3.BooleanUtils;
@@ -34,6 +35,7 @@ import org.springframework.util.CollectionUtils;
 
 import org.finra.dm.core.helper.ConfigurationHelper;
 import org.finra.dm.dao.DmDao;
+import org.finra.dm.dao.StorageFileHandler;
 import org.finra.dm.model.AlreadyExistsException;
 import org.finra.dm.model.ObjectNotFoundException;
 import org.finra.dm.model.api.xml.Attribute;
@@ -1331,8 +1333,17 @@ public class BusinessObjectDataHelper
         // Retrieve a list of all keys/objects from the S3 bucket matching the specified S3 key prefix.
         // Since S3 key prefix represents the directory, we add a trailing '/' character to it, unless it is already present.
         params.setS3KeyPrefix(s3KeyPrefix.endsWith("/") ? s3KeyPrefix : s3KeyPrefix + "/");
-        // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-        List<StorageFile> storageFiles = s3Service.listDirectory(params, true);
+        // When listing S3 files, we ignore 0 byte objects that represent S3 directories. The order the discovered files get registered in does not
+        // matter, so they are collected as they get listed rather than sorted.
+        final List<StorageFile> storageFiles = new ArrayList<>();
+        s3Service.listDirectory(params, true, new StorageFileHandler()
+        {
+            @Override
+            public void handle(List<StorageFile> listedStorageFiles)
+            {
+                storageFiles.addAll(listedStorageFiles);
+            }
+        });
 
         // Fail registration if no storage files were discovered.
         if (CollectionUtils.isEmpty(storageFiles))
@@ -1356,7 +1367,7 @@ public class BusinessObjectDataHelper
 
             // If this storage is an S3 managed storage and storage files were not discovered, prepare for S3 file validation.
             S3FileTransferRequestParamsDto params = null;
-            List<String> actualKeys = null;
+            final Set<String> actualKeys = new HashSet<>();
             if (s3ManagedStorage && !storageFilesDiscovered)
             {
                 // Get S3 managed bucket access parameters, such as bucket name, AWS access key ID, AWS secret access key, etc...
@@ -1364,8 +1375,16 @@ public class BusinessObjectDataHelper
                 // Retrieve a list of all keys/objects from S3 managed bucket matching the expected S3 key prefix.
                 // Since S3 key prefix represents the directory, we add a trailing '/' character to it.
                 params.setS3KeyPrefix(expectedS3KeyPrefix + "/");
-                // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-                actualKeys = storageFileHelper.getFilePaths(s3Service.listDirectory(params, true));
+                // When listing S3 files, we ignore 0 byte objects that represent S3 directories. Only the keys are kept, so they can be looked up
+                // without holding the entire listing.
+                s3Service.listDirectory(params, true, new StorageFileHandler()
+                {
+                    @Override
+                    public void handle(List<StorageFile> listedStorageFiles)
+                    {
+                        actualKeys.addAll(storageFileHelper.getFilePaths(listedStorageFiles));
+                    }
+                });
             }
 
             // For S3 managed storage, ensure that there are no storage files already registered in this
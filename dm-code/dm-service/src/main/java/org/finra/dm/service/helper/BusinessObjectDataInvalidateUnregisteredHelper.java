@@ -26,6 +26,7 @@ import org.springframework.util.Assert;
 
 import org.finra.dm.dao.DmDao;
 import org.finra.dm.dao.S3Dao;
+import org.finra.dm.dao.StorageFileHandler;
 import org.finra.dm.dao.helper.DmCollectionHelper;
 import org.finra.dm.model.ObjectNotFoundException;
 import org.finra.dm.model.dto.S3FileTransferRequestParamsDto;
@@ -40,6 +41,7 @@ import org.finra.dm.model.api.xml.BusinessObjectDataInvalidateUnregisteredReques
 import org.finra.dm.model.api.xml.BusinessObjectDataInvalidateUnregisteredResponse;
 import org.finra.dm.model.api.xml.BusinessObjectDataKey;
 import org.finra.dm.model.api.xml.BusinessObjectFormatKey;
+import org.finra.dm.model.api.xml.StorageFile;
 import org.finra.dm.service.SqsNotificationEventService;
 
 @Component
@@ -405,7 +407,18 @@ public class BusinessObjectDataInvalidateUnregisteredHelper
         S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = dmDaoHelper.getS3BucketAccessParams(storageEntity);
         s3FileTransferRequestParamsDto.setS3KeyPrefix(s3KeyPrefix + '/');
 
-        return storageFileHelper.getFilePaths(s3Dao.listDirectory(s3FileTransferRequestParamsDto));
+        // Collect the keys as they get listed rather than materializing and sorting the entire listing first.
+        final List<String> s3ObjectKeys = new ArrayList<>();
+        s3Dao.listDirectory(s3FileTransferRequestParamsDto, false, new StorageFileHandler()
+        {
+            @Override
+            public void handle(List<StorageFile> storageFiles)
+            {
+                s3ObjectKeys.addAll(storageFileHelper.getFilePaths(storageFiles));
+            }
+        });
+
+        return s3ObjectKeys;
     }
 
     /**
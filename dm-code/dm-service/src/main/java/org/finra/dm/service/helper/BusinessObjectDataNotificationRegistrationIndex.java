@@ -0,0 +1,303 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import org.finra.dm.core.helper.ConfigurationHelper;
+import org.finra.dm.dao.DmDao;
+import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.dto.ConfigurationValue;
+import org.finra.dm.model.jpa.BusinessObjectDataNotificationRegistrationEntity;
+import org.finra.dm.model.jpa.NotificationRegistrationEntityListener;
+
+/**
+ * An in-memory index of business object data notification registrations. Registrations are compiled into immutable matchers keyed by event type, business
+ * object definition namespace and business object definition name so that matching an event requires no database access. The index is rebuilt lazily when a
+ * registration is created, updated or deleted in this JVM, when it is explicitly invalidated, or when it becomes older than the configured time to live.
+ */
+@Component
+public class BusinessObjectDataNotificationRegistrationIndex
+{
+    private static final Logger LOGGER = Logger.getLogger(BusinessObjectDataNotificationRegistrationIndex.class);
+
+    @Autowired
+    private DmDao dmDao;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    /**
+     * The current snapshot of the index or null when the index needs to be rebuilt.
+     */
+    private volatile IndexSnapshot indexSnapshot;
+
+    /**
+     * Returns the registrations that match the specified event type and business object data key. The storage filter of the registrations is not evaluated
+     * since it depends on the storage units of the business object data. The registrations are ordered by namespace and registration name.
+     *
+     * @param eventType the notification event type code
+     * @param businessObjectDataKey the business object data key
+     *
+     * @return the list of matching registrations, possibly empty
+     */
+    public List<IndexedRegistration> getMatchingRegistrations(String eventType, BusinessObjectDataKey businessObjectDataKey)
+    {
+        List<IndexedRegistration> candidates = getIndexSnapshot().registrationsByKey
+            .get(getIndexKey(eventType, businessObjectDataKey.getNamespace(), businessObjectDataKey.getBusinessObjectDefinitionName()));
+
+        List<IndexedRegistration> matchingRegistrations = new ArrayList<>();
+
+        if (candidates != null)
+        {
+            for (IndexedRegistration candidate : candidates)
+            {
+                if (candidate.matches(businessObjectDataKey))
+                {
+                    matchingRegistrations.add(candidate);
+                }
+            }
+        }
+
+        return matchingRegistrations;
+    }
+
+    /**
+     * Invalidates the index so it gets rebuilt on the next lookup. When called within a transaction, the index is invalidated again once the transaction
+     * completes, so a rebuild that happens before the changes are committed cannot leave the index stale.
+     */
+    public void invalidate()
+    {
+        indexSnapshot = null;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+            {
+                @Override
+                public void afterCompletion(int status)
+                {
+                    indexSnapshot = null;
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the current index snapshot, rebuilding it when it is missing or stale.
+     *
+     * @return the index snapshot
+     */
+    private IndexSnapshot getIndexSnapshot()
+    {
+        IndexSnapshot currentSnapshot = indexSnapshot;
+
+        if (isStale(currentSnapshot))
+        {
+            synchronized (this)
+            {
+                // Another thread might have rebuilt the index while we were waiting on the lock.
+                currentSnapshot = indexSnapshot;
+                if (isStale(currentSnapshot))
+                {
+                    currentSnapshot = buildIndexSnapshot();
+                    indexSnapshot = currentSnapshot;
+                }
+            }
+        }
+
+        return currentSnapshot;
+    }
+
+    /**
+     * Determines whether the specified snapshot needs to be rebuilt.
+     *
+     * @param snapshot the index snapshot, may be null
+     *
+     * @return true if the snapshot is missing or stale, false otherwise
+     */
+    private boolean isStale(IndexSnapshot snapshot)
+    {
+        if (snapshot == null || snapshot.modificationCount != NotificationRegistrationEntityListener.getModificationCount())
+        {
+            return true;
+        }
+
+        long timeToLiveMillis = configurationHelper.getProperty(ConfigurationValue.NOTIFICATION_REGISTRATION_INDEX_TIME_TO_LIVE_SECONDS, Long.class) * 1000;
+
+        return System.currentTimeMillis() - snapshot.createdTimeMillis > timeToLiveMillis;
+    }
+
+    /**
+     * Loads all business object data notification registrations from the database and compiles them into a new index snapshot.
+     *
+     * @return the newly built index snapshot
+     */
+    private IndexSnapshot buildIndexSnapshot()
+    {
+        // Capture the modification count before loading so that modifications made while loading will cause another rebuild.
+        long modificationCount = NotificationRegistrationEntityListener.getModificationCount();
+        long createdTimeMillis = System.currentTimeMillis();
+
+        Map<String, List<IndexedRegistration>> registrationsByKey = new HashMap<>();
+        int registrationCount = 0;
+
+        for (BusinessObjectDataNotificationRegistrationEntity registrationEntity : dmDao.findAll(BusinessObjectDataNotificationRegistrationEntity.class))
+        {
+            IndexedRegistration indexedRegistration = new IndexedRegistration(registrationEntity);
+
+            String indexKey = getIndexKey(registrationEntity.getNotificationEventType().getCode(),
+                registrationEntity.getBusinessObjectDefinition().getNamespace().getCode(), registrationEntity.getBusinessObjectDefinition().getName());
+
+            List<IndexedRegistration> registrations = registrationsByKey.get(indexKey);
+            if (registrations == null)
+            {
+                registrations = new ArrayList<>();
+                registrationsByKey.put(indexKey, registrations);
+            }
+            registrations.add(indexedRegistration);
+            registrationCount++;
+        }
+
+        // Order the registrations the same way the database query used to: by namespace and then by registration name.
+        for (List<IndexedRegistration> registrations : registrationsByKey.values())
+        {
+            Collections.sort(registrations, new Comparator<IndexedRegistration>()
+            {
+                @Override
+                public int compare(IndexedRegistration registration1, IndexedRegistration registration2)
+                {
+                    int result = registration1.getNamespace().compareTo(registration2.getNamespace());
+                    return result != 0 ? result : registration1.getName().compareTo(registration2.getName());
+                }
+            });
+        }
+
+        LOGGER.debug(String.format("Built business object data notification registration index with %d registration(s) under %d key(s).", registrationCount,
+            registrationsByKey.size()));
+
+        return new IndexSnapshot(registrationsByKey, modificationCount, createdTimeMillis);
+    }
+
+    /**
+     * Builds the case-insensitive index key.
+     *
+     * @param eventType the notification event type code
+     * @param namespace the business object definition namespace
+     * @param businessObjectDefinitionName the business object definition name
+     *
+     * @return the index key
+     */
+    private String getIndexKey(String eventType, String namespace, String businessObjectDefinitionName)
+    {
+        return (eventType + "|" + namespace + "|" + businessObjectDefinitionName).toUpperCase();
+    }
+
+    /**
+     * An immutable snapshot of the index.
+     */
+    private static class IndexSnapshot
+    {
+        private final Map<String, List<IndexedRegistration>> registrationsByKey;
+
+        private final long modificationCount;
+
+        private final long createdTimeMillis;
+
+        IndexSnapshot(Map<String, List<IndexedRegistration>> registrationsByKey, long modificationCount, long createdTimeMillis)
+        {
+            this.registrationsByKey = registrationsByKey;
+            this.modificationCount = modificationCount;
+            this.createdTimeMillis = createdTimeMillis;
+        }
+    }
+
+    /**
+     * A compiled, detached view of a business object data notification registration. Null filter values act as wildcards.
+     */
+    public static class IndexedRegistration
+    {
+        private final Integer id;
+
+        private final String namespace;
+
+        private final String name;
+
+        private final String usage;
+
+        private final String fileType;
+
+        private final Integer businessObjectFormatVersion;
+
+        private final String storageName;
+
+        IndexedRegistration(BusinessObjectDataNotificationRegistrationEntity registrationEntity)
+        {
+            this.id = registrationEntity.getId();
+            this.namespace = registrationEntity.getNamespace().getCode();
+            this.name = registrationEntity.getName();
+            this.usage = registrationEntity.getUsage();
+            this.fileType = registrationEntity.getFileType() == null ? null : registrationEntity.getFileType().getCode();
+            this.businessObjectFormatVersion = registrationEntity.getBusinessObjectFormatVersion();
+            this.storageName = registrationEntity.getStorage() == null ? null : registrationEntity.getStorage().getName();
+        }
+
+        /**
+         * Determines whether the business object format filters of this registration match the specified business object data key.
+         *
+         * @param businessObjectDataKey the business object data key
+         *
+         * @return true if the registration matches, false otherwise
+         */
+        boolean matches(BusinessObjectDataKey businessObjectDataKey)
+        {
+            return (usage == null || usage.equalsIgnoreCase(businessObjectDataKey.getBusinessObjectFormatUsage())) &&
+                (fileType == null || fileType.equalsIgnoreCase(businessObjectDataKey.getBusinessObjectFormatFileType())) &&
+                (businessObjectFormatVersion == null || businessObjectFormatVersion.equals(businessObjectDataKey.getBusinessObjectFormatVersion()));
+        }
+
+        public Integer getId()
+        {
+            return id;
+        }
+
+        public String getNamespace()
+        {
+            return namespace;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public String getStorageName()
+        {
+            return storageName;
+        }
+    }
+}
@@ -921,4 +921,34 @@ public class DmDaoHelper
 
         return jmsMessageEntity;
     }
+
+    /**
+     * Adds the JMS messages to the database queue. Unlike adding the messages one at a time, the messages do not get flushed individually, so they can be
+     * inserted using JDBC batching when the transaction is flushed. The JMS publishing job gets scheduled once for all of the messages.
+     *
+     * @param jmsQueueName the JMS queue name
+     * @param messageTexts the list of message texts
+     *
+     * @return the list of JMS message entities
+     */
+    public List<JmsMessageEntity> addJmsMessagesToDatabaseQueue(String jmsQueueName, List<String> messageTexts)
+    {
+        List<JmsMessageEntity> jmsMessageEntities = new ArrayList<>();
+
+        for (String messageText : messageTexts)
+        {
+            JmsMessageEntity jmsMessageEntity = new JmsMessageEntity();
+            jmsMessageEntity.setJmsQueueName(jmsQueueName);
+            jmsMessageEntity.setMessageText(messageText);
+            jmsMessageEntities.add(dmDao.save(jmsMessageEntity));
+        }
+
+        // Set to schedule JMS publishing job.
+        if (!jmsMessageEntities.isEmpty())
+        {
+            ScheduleJmsPublishingJobAdvice.setScheduleJmsPublishingJob();
+        }
+
+        return jmsMessageEntities;
+    }
 }
@@ -36,6 +36,7 @@ import org.hibernate.exception.ConstraintViolationException;
 import org.quartz.ObjectAlreadyExistsException;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.orm.jpa.JpaSystemException;
@@ -49,6 +50,7 @@ import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
 
 import org.finra.dm.model.AlreadyExistsException;
 import org.finra.dm.model.MethodNotAllowedException;
+import org.finra.dm.model.TooManyRequestsException;
 import org.finra.dm.model.api.xml.ErrorInformation;
 
 /**
@@ -264,6 +266,20 @@ public class DmErrorInformationExceptionHandler
         return getErrorInformation(HttpStatus.METHOD_NOT_ALLOWED, exception);
     }
 
+    /**
+     * Handle exceptions that result in a "too many requests" status. The response tells the client when to retry through the "Retry-After" header.
+     */
+    @ExceptionHandler(value = TooManyRequestsException.class)
+    @ResponseBody
+    public ErrorInformation handleTooManyRequestsException(TooManyRequestsException exception, HttpServletResponse response)
+    {
+        if (response != null)
+        {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()));
+        }
+        return getErrorInformationAndSetStatus(HttpStatus.TOO_MANY_REQUESTS, exception, response);
+    }
+
     /**
      * Handle exceptions that result in a "not found" status.
      */
@@ -878,6 +878,14 @@ public class DmHelper
             Assert.isTrue(StringUtils.isNotBlank(token), "No blank is allowed in the list of subnet IDs");
         }
 
+        // Pooled clusters wait for work without any steps, so only clusters that are kept alive can be pooled.
+        if (emrClusterDefinition.getIdleClusterPoolSize() != null)
+        {
+            Assert.isTrue(emrClusterDefinition.getIdleClusterPoolSize() >= 0, "Idle cluster pool size can not be negative.");
+            Assert.isTrue(emrClusterDefinition.getIdleClusterPoolSize() == 0 || Boolean.TRUE.equals(emrClusterDefinition.isKeepAlive()),
+                "Keep alive must be enabled for an EMR cluster definition with an idle cluster pool.");
+        }
+
         Assert.notNull(emrClusterDefinition.getInstanceDefinitions(), "Instance definitions must be specified.");
 
         // Check master instances.
@@ -0,0 +1,153 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.helper;
+
+import java.sql.Timestamp;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.dm.dao.DmDao;
+import org.finra.dm.dao.EmrDao;
+import org.finra.dm.dao.helper.EmrHelper;
+import org.finra.dm.dao.helper.XmlHelper;
+import org.finra.dm.model.api.xml.EmrClusterDefinition;
+import org.finra.dm.model.dto.AwsParamsDto;
+import org.finra.dm.model.jpa.EmrClusterDefinitionEntity;
+import org.finra.dm.model.jpa.EmrClusterPoolEntity;
+
+/**
+ * A helper class for leasing pooled EMR clusters. A pooled cluster is launched in EMR under a name of its own, so once it is leased, the EMR cluster name of
+ * the create request it is leased to must be resolved to the name of the pooled cluster before looking the cluster up in EMR.
+ */
+@Component
+public class EmrClusterPoolHelper
+{
+    private static final Logger LOGGER = Logger.getLogger(EmrClusterPoolHelper.class);
+
+    @Autowired
+    private DmDao dmDao;
+
+    @Autowired
+    private EmrDao emrDao;
+
+    @Autowired
+    private EmrHelper emrHelper;
+
+    @Autowired
+    private XmlHelper xmlHelper;
+
+    /**
+     * Gets the name of the EMR cluster in EMR. This is the name of the pooled cluster leased to the specified EMR cluster name, if any, otherwise the EMR
+     * cluster name built from the name template.
+     *
+     * @param namespaceCd the namespace code
+     * @param emrClusterDefinitionName the EMR cluster definition name
+     * @param emrClusterName the EMR cluster name
+     *
+     * @return the EMR cluster name in EMR
+     */
+    public String getEmrClusterName(String namespaceCd, String emrClusterDefinitionName, String emrClusterName)
+    {
+        EmrClusterPoolEntity emrClusterPoolEntity = dmDao.getLeasedEmrClusterPoolEntity(namespaceCd, emrClusterDefinitionName, emrClusterName);
+
+        return emrClusterPoolEntity != null ? emrClusterPoolEntity.getEmrClusterName() :
+            emrHelper.buildEmrClusterName(namespaceCd, emrClusterDefinitionName, emrClusterName);
+    }
+
+    /**
+     * Gets the hash a pooled cluster is matched on. Two definitions with the same hash launch identical clusters. The idle cluster pool size does not affect
+     * the launched clusters, so it is left out of the hash.
+     *
+     * @param emrClusterDefinition the EMR cluster definition, before the instance prices get updated
+     *
+     * @return the hex encoded SHA-256 hash of the definition
+     * @throws Exception if the definition could not be marshalled
+     */
+    public String getEmrClusterDefinitionHash(EmrClusterDefinition emrClusterDefinition) throws Exception
+    {
+        Integer idleClusterPoolSize = emrClusterDefinition.getIdleClusterPoolSize();
+        emrClusterDefinition.setIdleClusterPoolSize(null);
+        try
+        {
+            return DigestUtils.sha256Hex(xmlHelper.objectToXml(emrClusterDefinition));
+        }
+        finally
+        {
+            emrClusterDefinition.setIdleClusterPoolSize(idleClusterPoolSize);
+        }
+    }
+
+    /**
+     * Leases an idle pooled cluster that was launched with the specified definition hash to the specified EMR cluster name. Any pooled cluster still leased to
+     * this name is released first, since the caller already found that no active cluster exists under this name. Idle pooled clusters that are no longer
+     * active are removed from the pool along the way.
+     *
+     * @param emrClusterDefinitionEntity the EMR cluster definition entity
+     * @param emrClusterDefinitionHash the EMR cluster definition hash
+     * @param emrClusterName the EMR cluster name of the create request
+     * @param awsParamsDto the AWS related parameters
+     *
+     * @return the leased EMR cluster pool entity or null if no idle pooled cluster could be leased
+     */
+    public EmrClusterPoolEntity leaseEmrCluster(EmrClusterDefinitionEntity emrClusterDefinitionEntity, String emrClusterDefinitionHash, String emrClusterName,
+        AwsParamsDto awsParamsDto)
+    {
+        EmrClusterPoolEntity staleLeaseEntity =
+            dmDao.getLeasedEmrClusterPoolEntity(emrClusterDefinitionEntity.getNamespace().getCode(), emrClusterDefinitionEntity.getName(), emrClusterName);
+        if (staleLeaseEntity != null)
+        {
+            dmDao.delete(staleLeaseEntity);
+        }
+
+        for (EmrClusterPoolEntity emrClusterPoolEntity : dmDao.getIdleEmrClusterPoolEntities(emrClusterDefinitionEntity, emrClusterDefinitionHash))
+        {
+            if (emrHelper.isActiveEmrState(emrDao.getEmrClusterStatusById(emrClusterPoolEntity.getEmrClusterId(), awsParamsDto)))
+            {
+                emrClusterPoolEntity.setLeaseEmrClusterName(emrClusterName);
+                emrClusterPoolEntity.setLeasedOn(new Timestamp(System.currentTimeMillis()));
+                dmDao.saveAndRefresh(emrClusterPoolEntity);
+
+                LOGGER.info(String.format("Leased pooled EMR cluster \"%s\" with ID \"%s\" to EMR cluster name \"%s\".",
+                    emrClusterPoolEntity.getEmrClusterName(), emrClusterPoolEntity.getEmrClusterId(), emrClusterName));
+
+                return emrClusterPoolEntity;
+            }
+
+            // The pooled cluster went away on its own, so it can not be leased anymore.
+            dmDao.delete(emrClusterPoolEntity);
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes the specified EMR cluster from the pool if it is a pooled cluster. A leased cluster is never returned to the pool, since its lessee might have
+     * changed it, so terminating a leased cluster terminates it for good.
+     *
+     * @param emrClusterId the EMR cluster id
+     */
+    public void releaseEmrCluster(String emrClusterId)
+    {
+        EmrClusterPoolEntity emrClusterPoolEntity = dmDao.getEmrClusterPoolEntityByEmrClusterId(emrClusterId);
+        if (emrClusterPoolEntity != null)
+        {
+            dmDao.delete(emrClusterPoolEntity);
+        }
+    }
+}
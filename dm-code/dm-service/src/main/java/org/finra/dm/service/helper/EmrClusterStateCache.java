@@ -0,0 +1,379 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.helper;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.services.elasticmapreduce.model.Cluster;
+import com.amazonaws.services.elasticmapreduce.model.ClusterSummary;
+import com.amazonaws.services.elasticmapreduce.model.StepSummary;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.dm.core.helper.ConfigurationHelper;
+import org.finra.dm.dao.EmrDao;
+import org.finra.dm.dao.helper.EmrHelper;
+import org.finra.dm.model.dto.ConfigurationValue;
+
+/**
+ * A shared, in-memory cache of EMR cluster state for callers that poll EMR clusters (e.g. workflows checking on a cluster). A single ListClusters sweep is
+ * shared by all the lookups by cluster name, and DescribeCluster and ListSteps results are cached per cluster ID, so concurrent pollers of the same clusters
+ * do not each call AWS. Every lookup takes the maximum age of the state the caller is willing to accept; a maximum age of 0 bypasses the cache and always
+ * reads through to AWS, refreshing the cached state along the way. While the active clusters are being looked up, a single background thread keeps
+ * refreshing them at the configured interval, so the lookups by cluster name do not have to list the clusters themselves.
+ */
+@Component
+public class EmrClusterStateCache implements InitializingBean, DisposableBean
+{
+    private static final Logger LOGGER = Logger.getLogger(EmrClusterStateCache.class);
+
+    /**
+     * The number of per-cluster entries above which expired entries are pruned when a new entry is added.
+     */
+    private static final int PRUNE_THRESHOLD = 1000;
+
+    @Autowired
+    private EmrDao emrDao;
+
+    @Autowired
+    private EmrHelper emrHelper;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    /**
+     * The current snapshot of the active clusters or null when it needs to be refreshed.
+     */
+    private volatile ActiveClustersSnapshot activeClustersSnapshot;
+
+    private final Map<String, CachedValue<Cluster>> clustersById = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedValue<StepSummary>> activeStepsByClusterId = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedValue<String>> masterIpAddressesByClusterId = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the active clusters were looked up since the last background refresh.
+     */
+    private volatile boolean activeClustersRequested;
+
+    private ScheduledExecutorService refreshExecutorService;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        // Check every second whether the active clusters need to be refreshed, so a change of the configured refresh interval applies right away.
+        refreshExecutorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+        {
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread(runnable, "emrClusterStateCacheRefresh");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        refreshExecutorService.scheduleWithFixedDelay(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    refreshActiveClustersInUse();
+                }
+                catch (Exception e)
+                {
+                    LOGGER.warn("Failed to refresh the active EMR clusters in the background.", e);
+                }
+            }
+        }, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy()
+    {
+        refreshExecutorService.shutdownNow();
+    }
+
+    /**
+     * Gets the configured maximum age of the cached state in milliseconds.
+     *
+     * @return the maximum age in milliseconds, 0 if the cache is disabled
+     */
+    public long getDefaultMaxAgeMillis()
+    {
+        return configurationHelper.getProperty(ConfigurationValue.EMR_CLUSTER_STATE_CACHE_TIME_TO_LIVE_SECONDS, Long.class) * 1000;
+    }
+
+    /**
+     * Gets an active EMR cluster by the cluster name. A miss is never served from the cache: when the cluster is missing from a snapshot that is recent enough,
+     * the active clusters are listed again, so a cluster created after the snapshot was taken (e.g. by another server) is found right away. Concurrent misses
+     * share a single listing of the active clusters.
+     *
+     * @param clusterName the cluster name, case insensitive
+     * @param maxAgeMillis the maximum age of the cached state that is acceptable to the caller
+     *
+     * @return the cluster summary or null if no active cluster exists with this name
+     */
+    public ClusterSummary getActiveClusterByName(String clusterName, long maxAgeMillis)
+    {
+        activeClustersRequested = true;
+        ActiveClustersSnapshot snapshot = activeClustersSnapshot;
+
+        if (isExpired(snapshot, maxAgeMillis))
+        {
+            return refreshActiveClusters(snapshot).clustersByName.get(clusterName.toUpperCase());
+        }
+
+        ClusterSummary clusterSummary = snapshot.clustersByName.get(clusterName.toUpperCase());
+
+        if (clusterSummary == null)
+        {
+            clusterSummary = refreshActiveClusters(snapshot).clustersByName.get(clusterName.toUpperCase());
+        }
+
+        return clusterSummary;
+    }
+
+    /**
+     * Gets an EMR cluster by the cluster ID.
+     *
+     * @param clusterId the cluster ID
+     * @param maxAgeMillis the maximum age of the cached state that is acceptable to the caller
+     *
+     * @return the cluster or null if the cluster does not exist
+     */
+    public Cluster getClusterById(String clusterId, long maxAgeMillis)
+    {
+        CachedValue<Cluster> cachedCluster = clustersById.get(clusterId);
+
+        if (isExpired(cachedCluster, maxAgeMillis))
+        {
+            cachedCluster = new CachedValue<>(emrDao.getEmrClusterById(clusterId, emrHelper.getAwsParamsDto()));
+            put(clustersById, clusterId, cachedCluster);
+        }
+
+        return cachedCluster.value;
+    }
+
+    /**
+     * Gets the active step on the cluster if any.
+     *
+     * @param clusterId the cluster ID
+     * @param maxAgeMillis the maximum age of the cached state that is acceptable to the caller
+     *
+     * @return the step summary or null if there is no active step
+     */
+    public StepSummary getActiveStep(String clusterId, long maxAgeMillis)
+    {
+        CachedValue<StepSummary> cachedStep = activeStepsByClusterId.get(clusterId);
+
+        if (isExpired(cachedStep, maxAgeMillis))
+        {
+            cachedStep = new CachedValue<>(emrDao.getClusterActiveStep(clusterId, emrHelper.getAwsParamsDto()));
+            put(activeStepsByClusterId, clusterId, cachedStep);
+        }
+
+        return cachedStep.value;
+    }
+
+    /**
+     * Gets the private IP address of the master instance of the cluster. The master instance does not change during the life of a cluster, so the IP address
+     * is kept until the cluster gets invalidated, unless the cache is disabled.
+     *
+     * @param clusterId the cluster ID
+     *
+     * @return the private IP address of the master instance
+     * @throws Exception if the master instance could not be retrieved
+     */
+    public String getMasterIpAddress(String clusterId) throws Exception
+    {
+        CachedValue<String> cachedMasterIpAddress = masterIpAddressesByClusterId.get(clusterId);
+
+        if (cachedMasterIpAddress == null || getDefaultMaxAgeMillis() <= 0)
+        {
+            String masterIpAddress = emrDao.getEmrMasterInstance(clusterId, emrHelper.getAwsParamsDto()).getPrivateIpAddress();
+
+            // Do not keep an IP address that has not been assigned yet.
+            if (masterIpAddress == null)
+            {
+                return null;
+            }
+
+            cachedMasterIpAddress = new CachedValue<>(masterIpAddress);
+            put(masterIpAddressesByClusterId, clusterId, cachedMasterIpAddress);
+        }
+
+        return cachedMasterIpAddress.value;
+    }
+
+    /**
+     * Invalidates the cached state of the specified cluster and the active clusters snapshot. This should be called after an operation that changes the state
+     * of a cluster, such as creating or terminating a cluster or adding a step to it.
+     *
+     * @param clusterId the cluster ID, may be null when it is not known
+     */
+    public void invalidate(String clusterId)
+    {
+        activeClustersSnapshot = null;
+
+        if (clusterId != null)
+        {
+            clustersById.remove(clusterId);
+            activeStepsByClusterId.remove(clusterId);
+            masterIpAddressesByClusterId.remove(clusterId);
+        }
+    }
+
+    /**
+     * Refreshes the active clusters when they were looked up since the last refresh and the current snapshot is older than the configured refresh interval.
+     * This is called periodically by the background refresh thread.
+     */
+    protected void refreshActiveClustersInUse()
+    {
+        long refreshIntervalMillis =
+            configurationHelper.getProperty(ConfigurationValue.EMR_CLUSTER_STATE_CACHE_REFRESH_INTERVAL_SECONDS, Long.class) * 1000;
+        ActiveClustersSnapshot snapshot = activeClustersSnapshot;
+
+        if (activeClustersRequested && refreshIntervalMillis > 0 && getDefaultMaxAgeMillis() > 0 && isExpired(snapshot, refreshIntervalMillis))
+        {
+            activeClustersRequested = false;
+            refreshActiveClusters(snapshot);
+        }
+    }
+
+    /**
+     * Lists the active clusters from AWS unless another thread already refreshed the snapshot while this thread was waiting on the lock. Only one thread lists
+     * the active clusters at a time and the threads that waited on it use its result.
+     *
+     * @param staleSnapshot the snapshot the caller found to be stale, may be null
+     *
+     * @return the refreshed snapshot
+     */
+    private synchronized ActiveClustersSnapshot refreshActiveClusters(ActiveClustersSnapshot staleSnapshot)
+    {
+        ActiveClustersSnapshot currentSnapshot = activeClustersSnapshot;
+
+        if (currentSnapshot != null && currentSnapshot != staleSnapshot)
+        {
+            return currentSnapshot;
+        }
+
+        List<ClusterSummary> clusterSummaries = emrDao.getActiveEmrClusters(emrHelper.getAwsParamsDto());
+
+        Map<String, ClusterSummary> clustersByName = new HashMap<>();
+        for (ClusterSummary clusterSummary : clusterSummaries)
+        {
+            if (clusterSummary.getName() != null)
+            {
+                clustersByName.put(clusterSummary.getName().toUpperCase(), clusterSummary);
+            }
+        }
+
+        LOGGER.debug(String.format("Refreshed the EMR cluster state cache with %d active cluster(s).", clustersByName.size()));
+
+        currentSnapshot = new ActiveClustersSnapshot(clustersByName);
+        activeClustersSnapshot = currentSnapshot;
+
+        return currentSnapshot;
+    }
+
+    /**
+     * Adds an entry to a per-cluster map, pruning the expired entries when the map grows large so state of terminated clusters does not accumulate.
+     *
+     * @param map the per-cluster map
+     * @param clusterId the cluster ID
+     * @param cachedValue the cached value
+     * @param <T> the type of the cached value
+     */
+    private <T> void put(Map<String, CachedValue<T>> map, String clusterId, CachedValue<T> cachedValue)
+    {
+        map.put(clusterId, cachedValue);
+
+        if (map.size() > PRUNE_THRESHOLD)
+        {
+            long maxAgeMillis = getDefaultMaxAgeMillis();
+            for (Iterator<CachedValue<T>> iterator = map.values().iterator(); iterator.hasNext(); )
+            {
+                if (isExpired(iterator.next(), maxAgeMillis))
+                {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Determines whether the specified cached state is missing or older than the specified maximum age.
+     *
+     * @param cachedState the cached state, may be null
+     * @param maxAgeMillis the maximum age in milliseconds
+     *
+     * @return true if the state needs to be read from AWS, false otherwise
+     */
+    private boolean isExpired(CachedState cachedState, long maxAgeMillis)
+    {
+        return cachedState == null || maxAgeMillis <= 0 || System.currentTimeMillis() - cachedState.createdTimeMillis > maxAgeMillis;
+    }
+
+    /**
+     * Base class of the cached state that records when the state was read from AWS.
+     */
+    private static class CachedState
+    {
+        protected final long createdTimeMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * An immutable snapshot of the active clusters keyed by the upper case cluster name.
+     */
+    private static class ActiveClustersSnapshot extends CachedState
+    {
+        private final Map<String, ClusterSummary> clustersByName;
+
+        ActiveClustersSnapshot(Map<String, ClusterSummary> clustersByName)
+        {
+            this.clustersByName = clustersByName;
+        }
+    }
+
+    /**
+     * A value read from AWS, possibly null.
+     *
+     * @param <T> the type of the value
+     */
+    private static class CachedValue<T> extends CachedState
+    {
+        private final T value;
+
+        CachedValue(T value)
+        {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.helper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.elasticmapreduce.model.ClusterSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import org.finra.dm.dao.helper.DmStringHelper;
+import org.finra.dm.dao.helper.EmrHelper;
+import org.finra.dm.model.ObjectNotFoundException;
+import org.finra.dm.model.api.xml.EmrCluster;
+import org.finra.dm.model.dto.EmrClusterAlternateKeyDto;
+import org.finra.dm.service.EmrService;
+
+/**
+ * A wait condition that is satisfied when an EMR cluster reaches one of the requested statuses or is no longer active (i.e. it terminated). A cluster that is
+ * identified by name only must be active when the condition is evaluated, so wait tasks resolve the cluster ID when they start waiting (see {@link
+ * #getActiveEmrClusterId(Map)}) and the condition then keeps tracking the cluster by ID after it terminates.
+ */
+@Component
+public class EmrClusterStatusWaitCondition implements WaitCondition
+{
+    public static final String CONDITION_TYPE = "EMR_CLUSTER_STATUS";
+
+    public static final String PARAMETER_NAMESPACE = "namespace";
+    public static final String PARAMETER_EMR_CLUSTER_DEFINITION_NAME = "emrClusterDefinitionName";
+    public static final String PARAMETER_EMR_CLUSTER_NAME = "emrClusterName";
+    public static final String PARAMETER_EMR_CLUSTER_ID = "emrClusterId";
+    public static final String PARAMETER_EMR_CLUSTER_STATUSES = "emrClusterStatuses";
+
+    public static final String VARIABLE_EMR_CLUSTER_ID = "emrClusterId";
+    public static final String VARIABLE_EMR_CLUSTER_STATUS = "emrClusterStatus";
+
+    @Autowired
+    private EmrService emrService;
+
+    @Autowired
+    private EmrHelper emrHelper;
+
+    @Autowired
+    private DmStringHelper dmStringHelper;
+
+    @Autowired
+    private EmrClusterPoolHelper emrClusterPoolHelper;
+
+    @Autowired
+    private EmrClusterStateCache emrClusterStateCache;
+
+    @Override
+    public String getConditionType()
+    {
+        return CONDITION_TYPE;
+    }
+
+    @Override
+    public Map<String, Object> evaluate(Map<String, String> parameters) throws Exception
+    {
+        EmrClusterAlternateKeyDto emrClusterAlternateKeyDto = getEmrClusterAlternateKey(parameters);
+
+        // The cluster state is read through the shared EMR cluster state cache, so many workflows waiting on clusters share the same AWS calls.
+        String emrClusterId = parameters.get(PARAMETER_EMR_CLUSTER_ID);
+        if (!StringUtils.hasText(emrClusterId))
+        {
+            emrClusterId = getActiveEmrClusterId(parameters);
+        }
+
+        EmrCluster emrCluster = emrService.getCluster(emrClusterAlternateKeyDto, emrClusterId, null, false, false, false);
+
+        boolean satisfied = !emrHelper.isActiveEmrState(emrCluster.getStatus());
+        List<String> emrClusterStatuses = dmStringHelper.splitStringWithDefaultDelimiter(parameters.get(PARAMETER_EMR_CLUSTER_STATUSES));
+        for (String emrClusterStatus : emrClusterStatuses)
+        {
+            satisfied = satisfied || emrClusterStatus.trim().equalsIgnoreCase(emrCluster.getStatus());
+        }
+
+        Map<String, Object> variables = null;
+        if (satisfied)
+        {
+            variables = new HashMap<>();
+            variables.put(VARIABLE_EMR_CLUSTER_ID, emrCluster.getId());
+            variables.put(VARIABLE_EMR_CLUSTER_STATUS, emrCluster.getStatus());
+        }
+
+        return variables;
+    }
+
+    /**
+     * Gets the ID of the active EMR cluster identified by the namespace, EMR cluster definition name and EMR cluster name condition parameters.
+     *
+     * @param parameters the condition parameters
+     *
+     * @return the EMR cluster ID
+     * @throws ObjectNotFoundException if no active EMR cluster has this name
+     */
+    public String getActiveEmrClusterId(Map<String, String> parameters) throws ObjectNotFoundException
+    {
+        EmrClusterAlternateKeyDto emrClusterAlternateKeyDto = getEmrClusterAlternateKey(parameters);
+
+        String emrClusterName = emrClusterPoolHelper.getEmrClusterName(emrClusterAlternateKeyDto.getNamespace(),
+            emrClusterAlternateKeyDto.getEmrClusterDefinitionName(), emrClusterAlternateKeyDto.getEmrClusterName());
+        ClusterSummary clusterSummary = emrClusterStateCache.getActiveClusterByName(emrClusterName, emrClusterStateCache.getDefaultMaxAgeMillis());
+
+        if (clusterSummary == null)
+        {
+            throw new ObjectNotFoundException(String.format("No active EMR cluster with name \"%s\" exists.", emrClusterName));
+        }
+
+        return clusterSummary.getId();
+    }
+
+    /**
+     * Gets the validated EMR cluster alternate key from the condition parameters.
+     *
+     * @param parameters the condition parameters
+     *
+     * @return the EMR cluster alternate key
+     */
+    private EmrClusterAlternateKeyDto getEmrClusterAlternateKey(Map<String, String> parameters)
+    {
+        EmrClusterAlternateKeyDto emrClusterAlternateKeyDto = new EmrClusterAlternateKeyDto();
+        emrClusterAlternateKeyDto.setNamespace(parameters.get(PARAMETER_NAMESPACE));
+        emrClusterAlternateKeyDto.setEmrClusterDefinitionName(parameters.get(PARAMETER_EMR_CLUSTER_DEFINITION_NAME));
+        emrClusterAlternateKeyDto.setEmrClusterName(parameters.get(PARAMETER_EMR_CLUSTER_NAME));
+        emrHelper.validateEmrClusterKey(emrClusterAlternateKeyDto);
+        return emrClusterAlternateKeyDto;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.helper;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.oozie.client.WorkflowJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.dm.dao.helper.JsonHelper;
+import org.finra.dm.dao.impl.OozieDaoImpl;
+import org.finra.dm.model.api.xml.OozieWorkflowJob;
+import org.finra.dm.service.EmrService;
+
+/**
+ * A wait condition that is satisfied when an oozie workflow job running on an EMR cluster completes, either successfully or not.
+ */
+@Component
+public class EmrOozieWorkflowJobWaitCondition implements WaitCondition
+{
+    public static final String CONDITION_TYPE = "EMR_OOZIE_WORKFLOW_JOB";
+
+    public static final String PARAMETER_NAMESPACE = "namespace";
+    public static final String PARAMETER_EMR_CLUSTER_DEFINITION_NAME = "emrClusterDefinitionName";
+    public static final String PARAMETER_EMR_CLUSTER_NAME = "emrClusterName";
+    public static final String PARAMETER_OOZIE_WORKFLOW_JOB_ID = "oozieWorkflowJobId";
+
+    public static final String VARIABLE_OOZIE_WORKFLOW_JOB_STATUS = "oozieWorkflowJobStatus";
+    public static final String VARIABLE_JSON_RESPONSE = "jsonResponse";
+
+    /**
+     * The oozie workflow job statuses that mean the job will not make any more progress.
+     */
+    private static final List<String> COMPLETED_STATUSES = Arrays
+        .asList(WorkflowJob.Status.SUCCEEDED.toString(), WorkflowJob.Status.KILLED.toString(), WorkflowJob.Status.FAILED.toString(),
+            OozieDaoImpl.OOZIE_WORKFLOW_JOB_STATUS_DM_FAILED);
+
+    @Autowired
+    private EmrService emrService;
+
+    @Autowired
+    private JsonHelper jsonHelper;
+
+    @Override
+    public String getConditionType()
+    {
+        return CONDITION_TYPE;
+    }
+
+    @Override
+    public Map<String, Object> evaluate(Map<String, String> parameters) throws Exception
+    {
+        OozieWorkflowJob oozieWorkflowJob = emrService
+            .getEmrOozieWorkflowJob(parameters.get(PARAMETER_NAMESPACE), parameters.get(PARAMETER_EMR_CLUSTER_DEFINITION_NAME),
+                parameters.get(PARAMETER_EMR_CLUSTER_NAME), parameters.get(PARAMETER_OOZIE_WORKFLOW_JOB_ID), false);
+
+        Map<String, Object> variables = null;
+        if (COMPLETED_STATUSES.contains(oozieWorkflowJob.getStatus()))
+        {
+            variables = new HashMap<>();
+            variables.put(VARIABLE_OOZIE_WORKFLOW_JOB_STATUS, oozieWorkflowJob.getStatus());
+            variables.put(VARIABLE_JSON_RESPONSE, jsonHelper.objectToJson(oozieWorkflowJob));
+        }
+
+        return variables;
+    }
+}
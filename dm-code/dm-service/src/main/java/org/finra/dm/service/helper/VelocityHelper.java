@@ -18,18 +18,54 @@ package org.finra.dm.service.helper;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.log4j.Logger;
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.Velocity;
+import org.apache.velocity.exception.ParseErrorException;
+import org.apache.velocity.runtime.RuntimeServices;
+import org.apache.velocity.runtime.RuntimeSingleton;
+import org.apache.velocity.runtime.parser.ParseException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import org.finra.dm.core.helper.ConfigurationHelper;
+import org.finra.dm.model.dto.ConfigurationValue;
+
 /**
- * A helper to abstract operations around Apache Velocity.
+ * A helper to abstract operations around Apache Velocity. Template strings are parsed once and kept in a bounded, least recently used cache keyed by the hash
+ * of the template content, so evaluating a template that was seen before only merges the variables into the parsed template.
  */
 @Component
 public class VelocityHelper
 {
+    private static final Logger LOGGER = Logger.getLogger(VelocityHelper.class);
+
+    /**
+     * The prefix of the metric names in the text report.
+     */
+    private static final String METRIC_NAME_PREFIX = "dm_velocity_template_cache_";
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    /**
+     * The parsed templates keyed by the hash of the template content, in access order.
+     */
+    private final Map<String, Template> templates = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
     /**
      * Initializes the Velocity engine.
      */
@@ -63,7 +99,8 @@ public class VelocityHelper
     }
 
     /**
-     * Wrapper for {@link Velocity#evaluate(org.apache.velocity.context.Context, java.io.Writer, String, java.io.InputStream)}
+     * Evaluates the template. The template is parsed on the first evaluation and the parsed template is reused by the following evaluations of the same
+     * template content.
      * 
      * @param template The template {@link String}
      * @param variables Variables to add to context
@@ -72,7 +109,191 @@ public class VelocityHelper
      */
     public String evaluate(String template, Map<String, Object> variables, String logTag)
     {
-        StringReader templateReader = new StringReader(template);
-        return evaluate(templateReader, variables, logTag);
+        if (getCacheMaxSize() <= 0)
+        {
+            return evaluate(new StringReader(template), variables, logTag);
+        }
+
+        StringWriter writer = new StringWriter();
+        getTemplate(template, logTag).merge(new VelocityContext(variables), writer);
+        return writer.toString();
+    }
+
+    /**
+     * Gets the number of evaluations that reused a parsed template.
+     *
+     * @return the cache hit count
+     */
+    public long getCacheHitCount()
+    {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of evaluations that had to parse their template.
+     *
+     * @return the cache miss count
+     */
+    public long getCacheMissCount()
+    {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the number of parsed templates that were discarded to keep the cache within its maximum size.
+     *
+     * @return the cache eviction count
+     */
+    public long getCacheEvictionCount()
+    {
+        return evictionCount.get();
+    }
+
+    /**
+     * Gets the number of parsed templates currently in the cache.
+     *
+     * @return the cache size
+     */
+    public int getCacheSize()
+    {
+        synchronized (templates)
+        {
+            return templates.size();
+        }
+    }
+
+    /**
+     * Gets a plain text report of the parsed template cache metrics in the Prometheus text exposition format, so they get published along with the method
+     * metrics.
+     *
+     * @return the text report
+     */
+    public String getMetricsTextReport()
+    {
+        StringBuilder report = new StringBuilder();
+        appendMetric(report, "hits_total", "counter", "The number of template evaluations that reused a parsed template.", getCacheHitCount());
+        appendMetric(report, "misses_total", "counter", "The number of template evaluations that had to parse their template.", getCacheMissCount());
+        appendMetric(report, "evictions_total", "counter", "The number of parsed templates discarded to keep the cache within its maximum size.",
+            getCacheEvictionCount());
+        appendMetric(report, "size", "gauge", "The number of parsed templates in the cache.", getCacheSize());
+        return report.toString();
+    }
+
+    /**
+     * Discards all the parsed templates.
+     */
+    public void clearCache()
+    {
+        synchronized (templates)
+        {
+            templates.clear();
+        }
+    }
+
+    /**
+     * Gets the parsed template for the template content, parsing it when it is not cached.
+     *
+     * @param templateContent the template content
+     * @param logTag the log tag, used as the template name
+     *
+     * @return the parsed template
+     */
+    private Template getTemplate(String templateContent, String logTag)
+    {
+        String key = DigestUtils.sha256Hex(templateContent);
+
+        synchronized (templates)
+        {
+            Template template = templates.get(key);
+            if (template != null)
+            {
+                hitCount.incrementAndGet();
+                return template;
+            }
+        }
+
+        // Parse outside of the lock. Another thread parsing the same template at the same time only results in a redundant parse.
+        missCount.incrementAndGet();
+        Template template = parseTemplate(templateContent, logTag);
+
+        synchronized (templates)
+        {
+            templates.put(key, template);
+
+            // Discard the least recently used templates that do not fit in the cache.
+            int cacheMaxSize = getCacheMaxSize();
+            for (Iterator<String> iterator = templates.keySet().iterator(); templates.size() > cacheMaxSize && iterator.hasNext(); )
+            {
+                iterator.next();
+                iterator.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+
+        if (LOGGER.isDebugEnabled())
+        {
+            LOGGER.debug(String.format("Parsed velocity template \"%s\". hits=%d misses=%d evictions=%d", logTag, hitCount.get(), missCount.get(),
+                evictionCount.get()));
+        }
+
+        return template;
+    }
+
+    /**
+     * Parses the template content into a template that can be merged any number of times.
+     *
+     * @param templateContent the template content
+     * @param logTag the log tag, used as the template name
+     *
+     * @return the parsed template
+     * @throws ParseErrorException if the template content could not be parsed
+     */
+    private Template parseTemplate(String templateContent, String logTag)
+    {
+        RuntimeServices runtimeServices = RuntimeSingleton.getRuntimeServices();
+
+        Template template = new Template();
+        template.setRuntimeServices(runtimeServices);
+        template.setName(logTag);
+
+        try
+        {
+            template.setData(runtimeServices.parse(new StringReader(templateContent), logTag));
+        }
+        catch (ParseException e)
+        {
+            // Report parse errors the same way Velocity.evaluate() does.
+            throw new ParseErrorException(e, null);
+        }
+
+        template.initDocument();
+
+        return template;
+    }
+
+    /**
+     * Appends the help and type lines and the sample of a metric to the report.
+     *
+     * @param report the report
+     * @param metricName the metric name without its prefix
+     * @param metricType the metric type
+     * @param help the description of the metric
+     * @param value the sample value
+     */
+    private void appendMetric(StringBuilder report, String metricName, String metricType, String help, long value)
+    {
+        report.append("# HELP ").append(METRIC_NAME_PREFIX).append(metricName).append(' ').append(help).append('\n');
+        report.append("# TYPE ").append(METRIC_NAME_PREFIX).append(metricName).append(' ').append(metricType).append('\n');
+        report.append(METRIC_NAME_PREFIX).append(metricName).append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Gets the configured maximum number of parsed templates to keep.
+     *
+     * @return the maximum cache size, 0 if the cache is disabled
+     */
+    private int getCacheMaxSize()
+    {
+        return configurationHelper.getProperty(ConfigurationValue.VELOCITY_TEMPLATE_CACHE_MAX_SIZE, Integer.class);
     }
 }
@@ -0,0 +1,43 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.helper;
+
+import java.util.Map;
+
+/**
+ * A condition that an Activiti wait task (see {@link org.finra.dm.service.activiti.task.BaseWaitTask}) waits on. Wait conditions are evaluated once when a
+ * workflow reaches the wait task and then periodically by the wait condition watcher, which evaluates each distinct set of condition parameters only once no
+ * matter how many workflows wait on it.
+ */
+public interface WaitCondition
+{
+    /**
+     * Gets the type of this wait condition. The type is stored with every waiting execution so the watcher can find the executions waiting on this condition.
+     *
+     * @return the wait condition type
+     */
+    public String getConditionType();
+
+    /**
+     * Evaluates this condition.
+     *
+     * @param parameters the condition parameters as collected by the wait task
+     *
+     * @return the task workflow variables to set when the condition is satisfied or null if the condition is not satisfied yet
+     * @throws Exception if the condition could not be evaluated
+     */
+    public Map<String, Object> evaluate(Map<String, String> parameters) throws Exception;
+}
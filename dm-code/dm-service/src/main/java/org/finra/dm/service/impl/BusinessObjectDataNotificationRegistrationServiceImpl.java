@@ -46,6 +46,7 @@ import org.finra.dm.model.api.xml.BusinessObjectDataNotificationRegistrationKeys
 import org.finra.dm.model.api.xml.BusinessObjectDefinitionKey;
 import org.finra.dm.model.api.xml.JobAction;
 import org.finra.dm.service.BusinessObjectDataNotificationRegistrationService;
+import org.finra.dm.service.helper.BusinessObjectDataNotificationRegistrationIndex;
 import org.finra.dm.service.helper.DmDaoHelper;
 import org.finra.dm.service.helper.DmHelper;
 
@@ -65,6 +66,9 @@ public class BusinessObjectDataNotificationRegistrationServiceImpl implements Bu
     @Autowired
     private DmDaoHelper dmDaoHelper;
 
+    @Autowired
+    private BusinessObjectDataNotificationRegistrationIndex businessObjectDataNotificationRegistrationIndex;
+
     /**
      * Creates a new business object data notification.
      *
@@ -140,6 +144,9 @@ public class BusinessObjectDataNotificationRegistrationServiceImpl implements Bu
         // Persist the new entity.
         businessObjectDataNotificationRegistrationEntity = dmDao.saveAndRefresh(businessObjectDataNotificationRegistrationEntity);
 
+        // Have the notification registration index rebuilt so the new registration gets matched.
+        businessObjectDataNotificationRegistrationIndex.invalidate();
+
         // Create and return the business object data notification object from the persisted entity.
         return createBusinessObjectDataNotificationFromEntity(businessObjectDataNotificationRegistrationEntity);
     }
@@ -185,6 +192,9 @@ public class BusinessObjectDataNotificationRegistrationServiceImpl implements Bu
         // Delete the business object data notification.
         dmDao.delete(businessObjectDataNotificationRegistrationEntity);
 
+        // Have the notification registration index rebuilt so the deleted registration no longer gets matched.
+        businessObjectDataNotificationRegistrationIndex.invalidate();
+
         // Create and return the business object data notification object from the deleted entity.
         return createBusinessObjectDataNotificationFromEntity(businessObjectDataNotificationRegistrationEntity);
     }
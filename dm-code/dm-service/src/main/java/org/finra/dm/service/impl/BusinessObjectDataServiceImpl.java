@@ -19,7 +19,9 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
@@ -30,9 +32,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
+import org.finra.dm.core.helper.ConfigurationHelper;
 import org.finra.dm.dao.DmDao;
 import org.finra.dm.dao.config.DaoSpringModuleConfig;
+import org.finra.dm.dao.helper.ScopedBatchBuilder;
 import org.finra.dm.model.AlreadyExistsException;
+import org.finra.dm.model.dto.ConfigurationValue;
 import org.finra.dm.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.dm.model.jpa.BusinessObjectDataEntity;
 import org.finra.dm.model.jpa.BusinessObjectDataStatusEntity;
@@ -57,6 +62,8 @@ import org.finra.dm.model.api.xml.BusinessObjectDataInvalidateUnregisteredReques
 import org.finra.dm.model.api.xml.BusinessObjectDataInvalidateUnregisteredResponse;
 import org.finra.dm.model.api.xml.BusinessObjectDataKey;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatus;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusBulkUpdateRequest;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusBulkUpdateResponse;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatusInformation;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatusUpdateRequest;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatusUpdateResponse;
@@ -70,6 +77,7 @@ import org.finra.dm.model.api.xml.PartitionValueFilter;
 import org.finra.dm.model.api.xml.PartitionValueRange;
 import org.finra.dm.model.api.xml.S3KeyPrefixInformation;
 import org.finra.dm.service.BusinessObjectDataService;
+import org.finra.dm.service.BusinessObjectDataStatusHelperService;
 import org.finra.dm.service.S3Service;
 import org.finra.dm.service.helper.BusinessObjectDataHelper;
 import org.finra.dm.service.helper.BusinessObjectDataInvalidateUnregisteredHelper;
@@ -112,6 +120,12 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
     @Autowired
     private BusinessObjectDataInvalidateUnregisteredHelper businessObjectDataInvalidateUnregisteredHelper;
 
+    @Autowired
+    private BusinessObjectDataStatusHelperService businessObjectDataStatusHelperService;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     /**
      * Gets the S3 key prefix. This method starts a new transaction.
      *
@@ -809,6 +823,128 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return response;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BusinessObjectDataStatusBulkUpdateResponse updateBusinessObjectDataStatuses(BusinessObjectDataStatusBulkUpdateRequest request)
+    {
+        // Validate the request and resolve the keys of the business object data to be updated.
+        List<BusinessObjectDataKey> businessObjectDataKeys = validateBusinessObjectDataStatusBulkUpdateRequest(request);
+
+        // Apply the status updates in chunks, each one in its own transaction, to keep the transactions short.
+        int chunkSize = configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_STATUS_BULK_UPDATE_CHUNK_SIZE, Integer.class);
+        Assert.isTrue(chunkSize > 0, String.format("The \"%s\" configuration value must be greater than 0.",
+            ConfigurationValue.BUSINESS_OBJECT_DATA_STATUS_BULK_UPDATE_CHUNK_SIZE.getKey()));
+
+        // Batch the JDBC statements of the chunks. Batching has to stay on until each chunk transaction commits since that is when the changes get flushed.
+        int jdbcBatchSize = configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_STATUS_BULK_UPDATE_JDBC_BATCH_SIZE, Integer.class);
+
+        List<BusinessObjectDataStatusUpdateResponse> responses = new ArrayList<>();
+        for (int i = 0; i < businessObjectDataKeys.size(); i += chunkSize)
+        {
+            List<BusinessObjectDataKey> chunkBusinessObjectDataKeys = businessObjectDataKeys.subList(i, Math.min(i + chunkSize, businessObjectDataKeys.size()));
+            ScopedBatchBuilder.start(jdbcBatchSize);
+            try
+            {
+                responses.addAll(businessObjectDataStatusHelperService.updateBusinessObjectDataStatuses(chunkBusinessObjectDataKeys, request.getStatus()));
+            }
+            finally
+            {
+                ScopedBatchBuilder.stop();
+            }
+        }
+
+        LOGGER.info(String.format("Updated status of %d business object data instance(s) to \"%s\".", responses.size(), request.getStatus()));
+
+        return new BusinessObjectDataStatusBulkUpdateResponse(responses);
+    }
+
+    /**
+     * Validates the business object data status bulk update request. This method also trims the request parameters.
+     *
+     * @param request the business object data status bulk update request
+     *
+     * @return the list of keys for the business object data to be updated
+     * @throws IllegalArgumentException if any validation errors were found
+     */
+    private List<BusinessObjectDataKey> validateBusinessObjectDataStatusBulkUpdateRequest(BusinessObjectDataStatusBulkUpdateRequest request)
+    {
+        Assert.notNull(request, "A business object data status bulk update request must be specified.");
+
+        // Validate status.
+        Assert.hasText(request.getStatus(), "A business object data status must be specified.");
+        request.setStatus(request.getStatus().trim());
+
+        // Ensure the status is valid before any of the business object data gets selected.
+        dmDaoHelper.getBusinessObjectDataStatusEntity(request.getStatus());
+
+        boolean businessObjectDataKeysSpecified = !CollectionUtils.isEmpty(request.getBusinessObjectDataKeys());
+        boolean businessObjectFormatKeySpecified = request.getBusinessObjectFormatKey() != null;
+        Assert.isTrue(businessObjectDataKeysSpecified ^ businessObjectFormatKeySpecified,
+            "Either a list of business object data keys or a business object format key with a partition value range must be specified.");
+
+        List<BusinessObjectDataKey> businessObjectDataKeys = new ArrayList<>();
+
+        if (businessObjectDataKeysSpecified)
+        {
+            Assert.isNull(request.getPartitionValueRange(), "A partition value range can only be specified along with a business object format key.");
+
+            Set<String> businessObjectDataKeyStrings = new HashSet<>();
+            for (BusinessObjectDataKey businessObjectDataKey : request.getBusinessObjectDataKeys())
+            {
+                // Validate and trim the business object data key.
+                Assert.notNull(businessObjectDataKey, "A business object data key must be specified.");
+                dmHelper.validateBusinessObjectDataKey(businessObjectDataKey, true, true, true);
+
+                // Ensure that the same business object data is not listed more than once.
+                String businessObjectDataKeyString = dmHelper.businessObjectDataKeyToString(businessObjectDataKey);
+                if (!businessObjectDataKeyStrings.add(businessObjectDataKeyString.toUpperCase()))
+                {
+                    throw new IllegalArgumentException(String.format("Duplicate business object data key found: %s", businessObjectDataKeyString));
+                }
+
+                businessObjectDataKeys.add(businessObjectDataKey);
+            }
+        }
+        else
+        {
+            // Validate and trim the business object format key.
+            dmHelper.validateBusinessObjectFormatKey(request.getBusinessObjectFormatKey(), true);
+
+            // Validate and trim the partition value range.
+            PartitionValueRange partitionValueRange = request.getPartitionValueRange();
+            Assert.notNull(partitionValueRange, "A partition value range must be specified along with a business object format key.");
+            Assert.hasText(partitionValueRange.getStartPartitionValue(), "A start partition value for the partition value range must be specified.");
+            partitionValueRange.setStartPartitionValue(partitionValueRange.getStartPartitionValue().trim());
+            Assert.hasText(partitionValueRange.getEndPartitionValue(), "An end partition value for the partition value range must be specified.");
+            partitionValueRange.setEndPartitionValue(partitionValueRange.getEndPartitionValue().trim());
+            Assert.isTrue(partitionValueRange.getStartPartitionValue().compareTo(partitionValueRange.getEndPartitionValue()) <= 0, String
+                .format("The start partition value \"%s\" cannot be greater than the end partition value \"%s\".",
+                    partitionValueRange.getStartPartitionValue(), partitionValueRange.getEndPartitionValue()));
+
+            // Ensure that the business object format exists.
+            dmDaoHelper.getBusinessObjectFormatEntity(request.getBusinessObjectFormatKey());
+
+            // Select the latest versions of the business object data within the partition value range.
+            for (BusinessObjectDataEntity businessObjectDataEntity : dmDao
+                .getLatestVersionBusinessObjectDataEntities(request.getBusinessObjectFormatKey(), partitionValueRange.getStartPartitionValue(),
+                    partitionValueRange.getEndPartitionValue()))
+            {
+                businessObjectDataKeys.add(dmDaoHelper.getBusinessObjectDataKey(businessObjectDataEntity));
+            }
+        }
+
+        // Ensure that the number of business object data instances does not exceed the configured maximum.
+        int maxBusinessObjectData =
+            configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_STATUS_BULK_UPDATE_MAX_BUSINESS_OBJECT_DATA, Integer.class);
+        Assert.isTrue(businessObjectDataKeys.size() <= maxBusinessObjectData, String
+            .format("The number of business object data instances to update (%d) exceeds the maximum allowed (%d).", businessObjectDataKeys.size(),
+                maxBusinessObjectData));
+
+        return businessObjectDataKeys;
+    }
+
     /**
      * Validates a business object data availability collection request. This method also trims appropriate request parameters.
      *
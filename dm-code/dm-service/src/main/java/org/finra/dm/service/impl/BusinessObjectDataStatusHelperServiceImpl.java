@@ -0,0 +1,117 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import org.finra.dm.dao.DmDao;
+import org.finra.dm.dao.config.DaoSpringModuleConfig;
+import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusUpdateResponse;
+import org.finra.dm.model.jpa.BusinessObjectDataEntity;
+import org.finra.dm.model.jpa.BusinessObjectDataStatusEntity;
+import org.finra.dm.model.jpa.BusinessObjectDataStatusHistoryEntity;
+import org.finra.dm.service.BusinessObjectDataStatusHelperService;
+import org.finra.dm.service.SqsNotificationEventService;
+import org.finra.dm.service.helper.DmDaoHelper;
+
+/**
+ * A helper service class for business object data status updates.
+ */
+@Service
+@Transactional(value = DaoSpringModuleConfig.DM_TRANSACTION_MANAGER_BEAN_NAME)
+public class BusinessObjectDataStatusHelperServiceImpl implements BusinessObjectDataStatusHelperService
+{
+    @Autowired
+    private DmDao dmDao;
+
+    @Autowired
+    private DmDaoHelper dmDaoHelper;
+
+    @Autowired
+    private SqsNotificationEventService sqsNotificationEventService;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<BusinessObjectDataStatusUpdateResponse> updateBusinessObjectDataStatuses(List<BusinessObjectDataKey> businessObjectDataKeys,
+        String businessObjectDataStatus)
+    {
+        return updateBusinessObjectDataStatusesImpl(businessObjectDataKeys, businessObjectDataStatus);
+    }
+
+    /**
+     * Implementation of the update business object data statuses.
+     *
+     * @param businessObjectDataKeys the list of validated business object data keys
+     * @param businessObjectDataStatus the business object data status
+     *
+     * @return the list of business object data status update responses in the same order as the specified keys
+     */
+    protected List<BusinessObjectDataStatusUpdateResponse> updateBusinessObjectDataStatusesImpl(List<BusinessObjectDataKey> businessObjectDataKeys,
+        String businessObjectDataStatus)
+    {
+        // Retrieve and ensure the status is valid.
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity = dmDaoHelper.getBusinessObjectDataStatusEntity(businessObjectDataStatus);
+
+        // Retrieve all of the business object data entities before making any changes. Any query run after the first change would cause Hibernate to flush
+        // the pending changes one entity at a time instead of as a batch.
+        List<BusinessObjectDataEntity> businessObjectDataEntities = new ArrayList<>();
+        for (BusinessObjectDataKey businessObjectDataKey : businessObjectDataKeys)
+        {
+            businessObjectDataEntities.add(dmDaoHelper.getBusinessObjectDataEntity(businessObjectDataKey));
+        }
+
+        List<BusinessObjectDataStatusUpdateResponse> responses = new ArrayList<>();
+
+        for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataEntities)
+        {
+            // Save the current status value.
+            String previousStatus = businessObjectDataEntity.getStatus().getCode();
+
+            // Update the entity with the new status.
+            businessObjectDataEntity.setStatus(businessObjectDataStatusEntity);
+
+            // Add an entry to the business object data status history table. The entity is only persisted here and gets inserted with the rest of the
+            // chunk when the session is flushed.
+            BusinessObjectDataStatusHistoryEntity businessObjectDataStatusHistoryEntity = new BusinessObjectDataStatusHistoryEntity();
+            businessObjectDataEntity.getHistoricalStatuses().add(businessObjectDataStatusHistoryEntity);
+            businessObjectDataStatusHistoryEntity.setBusinessObjectData(businessObjectDataEntity);
+            businessObjectDataStatusHistoryEntity.setStatus(businessObjectDataStatusEntity);
+            dmDao.save(businessObjectDataStatusHistoryEntity);
+
+            // Create the business object data status response object.
+            BusinessObjectDataStatusUpdateResponse response = new BusinessObjectDataStatusUpdateResponse();
+            response.setBusinessObjectDataKey(dmDaoHelper.getBusinessObjectDataKey(businessObjectDataEntity));
+            response.setStatus(businessObjectDataStatusEntity.getCode());
+            response.setPreviousStatus(previousStatus);
+            responses.add(response);
+        }
+
+        // Queue all of the business object data status change notifications together.
+        sqsNotificationEventService.processBusinessObjectDataStatusChangeNotificationEvents(responses);
+
+        return responses;
+    }
+}
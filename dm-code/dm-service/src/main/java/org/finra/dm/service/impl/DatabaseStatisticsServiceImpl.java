@@ -0,0 +1,144 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import org.finra.dm.dao.helper.SqlStatementMonitor;
+import org.finra.dm.model.api.xml.DataSourcePoolStatistics;
+import org.finra.dm.model.api.xml.DatabaseStatistics;
+import org.finra.dm.model.api.xml.HibernateQueryStatistics;
+import org.finra.dm.model.api.xml.HibernateStatistics;
+import org.finra.dm.service.DatabaseStatisticsService;
+
+/**
+ * The database statistics service implementation. This service isn't transactional since it only reads in-memory statistics.
+ */
+@Service
+public class DatabaseStatisticsServiceImpl implements DatabaseStatisticsService
+{
+    /**
+     * The maximum number of queries, ordered by their total execution time, to return the Hibernate query statistics for.
+     */
+    private static final int MAX_QUERY_STATISTICS = 20;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dmDataSource;
+
+    @Autowired
+    private SqlStatementMonitor sqlStatementMonitor;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DatabaseStatistics getDatabaseStatistics()
+    {
+        return new DatabaseStatistics(getHibernateStatistics(), getDataSourcePoolStatistics(), sqlStatementMonitor.getSqlStatementStatistics());
+    }
+
+    /**
+     * Gets the Hibernate statistics. The counts are only collected when the Hibernate statistics are enabled.
+     *
+     * @return the Hibernate statistics
+     */
+    private HibernateStatistics getHibernateStatistics()
+    {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<HibernateQueryStatistics> queryStatisticsList = new ArrayList<>();
+        for (String query : statistics.getQueries())
+        {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            queryStatisticsList.add(new HibernateQueryStatistics(query, queryStatistics.getExecutionCount(), queryStatistics.getExecutionRowCount(),
+                queryStatistics.getExecutionAvgTime(), queryStatistics.getExecutionMaxTime(),
+                queryStatistics.getExecutionAvgTime() * queryStatistics.getExecutionCount()));
+        }
+
+        // Only keep the queries that took the most time overall.
+        Collections.sort(queryStatisticsList, new Comparator<HibernateQueryStatistics>()
+        {
+            @Override
+            public int compare(HibernateQueryStatistics queryStatistics1, HibernateQueryStatistics queryStatistics2)
+            {
+                return Long.compare(queryStatistics2.getExecutionTotalTimeMillis(), queryStatistics1.getExecutionTotalTimeMillis());
+            }
+        });
+        if (queryStatisticsList.size() > MAX_QUERY_STATISTICS)
+        {
+            queryStatisticsList = new ArrayList<>(queryStatisticsList.subList(0, MAX_QUERY_STATISTICS));
+        }
+
+        return new HibernateStatistics(statistics.isStatisticsEnabled(), statistics.getTransactionCount(), statistics.getPrepareStatementCount(),
+            statistics.getEntityLoadCount(), statistics.getEntityFetchCount(), statistics.getCollectionLoadCount(), statistics.getQueryExecutionCount(),
+            statistics.getQueryExecutionMaxTime(), statistics.getQueryExecutionMaxTimeQueryString(), statistics.getSecondLevelCacheHitCount(),
+            statistics.getSecondLevelCacheMissCount(), statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(), queryStatisticsList);
+    }
+
+    /**
+     * Gets the connection pool statistics of the DM data source. Since the data source is looked up from JNDI, the pool statistics are read from the bean
+     * properties exposed by the common pool implementations (i.e. DBCP and the Tomcat JDBC pool) and are left out when the pool doesn't expose them.
+     *
+     * @return the data source pool statistics
+     */
+    private DataSourcePoolStatistics getDataSourcePoolStatistics()
+    {
+        BeanWrapper beanWrapper = new BeanWrapperImpl(dmDataSource);
+        return new DataSourcePoolStatistics(dmDataSource.getClass().getName(), getIntegerProperty(beanWrapper, "numActive", "active"),
+            getIntegerProperty(beanWrapper, "numIdle", "idle"), getIntegerProperty(beanWrapper, "maxTotal", "maxActive"));
+    }
+
+    /**
+     * Gets the value of the first readable integer property of a bean.
+     *
+     * @param beanWrapper the bean wrapper
+     * @param propertyNames the candidate property names
+     *
+     * @return the property value or null if none of the properties are readable
+     */
+    private Integer getIntegerProperty(BeanWrapper beanWrapper, String... propertyNames)
+    {
+        for (String propertyName : propertyNames)
+        {
+            if (beanWrapper.isReadableProperty(propertyName))
+            {
+                Object value = beanWrapper.getPropertyValue(propertyName);
+                if (value instanceof Number)
+                {
+                    return ((Number) value).intValue();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import org.finra.dm.dao.DmDao;
+import org.finra.dm.dao.config.DaoSpringModuleConfig;
+import org.finra.dm.model.api.xml.EmrClusterDefinitionKey;
+import org.finra.dm.model.jpa.EmrClusterDefinitionEntity;
+import org.finra.dm.model.jpa.EmrClusterPoolEntity;
+import org.finra.dm.service.EmrClusterPoolHelperService;
+import org.finra.dm.service.helper.DmDaoHelper;
+
+/**
+ * A helper service class for EMR cluster pool changes.
+ */
+@Service
+@Transactional(value = DaoSpringModuleConfig.DM_TRANSACTION_MANAGER_BEAN_NAME)
+public class EmrClusterPoolHelperServiceImpl implements EmrClusterPoolHelperService
+{
+    @Autowired
+    private DmDao dmDao;
+
+    @Autowired
+    private DmDaoHelper dmDaoHelper;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<EmrClusterPoolEntity> removeIdleEmrClusters(EmrClusterDefinitionKey emrClusterDefinitionKey, String emrClusterDefinitionHash, int poolSize,
+        Set<String> activeEmrClusterIds)
+    {
+        return removeIdleEmrClustersImpl(emrClusterDefinitionKey, emrClusterDefinitionHash, poolSize, activeEmrClusterIds);
+    }
+
+    /**
+     * Implementation of the remove idle EMR clusters.
+     *
+     * @param emrClusterDefinitionKey the EMR cluster definition key
+     * @param emrClusterDefinitionHash the hash of the current EMR cluster definition
+     * @param poolSize the number of idle pooled clusters to keep
+     * @param activeEmrClusterIds the ids of the active EMR clusters
+     *
+     * @return the list of removed EMR cluster pool entities whose clusters need to be terminated
+     */
+    protected List<EmrClusterPoolEntity> removeIdleEmrClustersImpl(EmrClusterDefinitionKey emrClusterDefinitionKey, String emrClusterDefinitionHash,
+        int poolSize, Set<String> activeEmrClusterIds)
+    {
+        EmrClusterDefinitionEntity emrClusterDefinitionEntity =
+            dmDaoHelper.getEmrClusterDefinitionEntity(emrClusterDefinitionKey.getNamespace(), emrClusterDefinitionKey.getEmrClusterDefinitionName());
+
+        List<EmrClusterPoolEntity> removedEmrClusterPoolEntities = new ArrayList<>();
+        int idleClusterCount = 0;
+        for (EmrClusterPoolEntity emrClusterPoolEntity : dmDao.getIdleEmrClusterPoolEntities(emrClusterDefinitionEntity, null))
+        {
+            // The row is locked now, so make sure it wasn't leased while waiting for the lock.
+            if (emrClusterPoolEntity.getLeaseEmrClusterName() != null)
+            {
+                continue;
+            }
+
+            if (!activeEmrClusterIds.contains(emrClusterPoolEntity.getEmrClusterId()))
+            {
+                // The pooled cluster was terminated, so there is nothing left to track.
+                dmDao.delete(emrClusterPoolEntity);
+            }
+            else if (!emrClusterDefinitionHash.equals(emrClusterPoolEntity.getEmrClusterDefinitionHash()) || idleClusterCount >= poolSize)
+            {
+                dmDao.delete(emrClusterPoolEntity);
+                removedEmrClusterPoolEntities.add(emrClusterPoolEntity);
+            }
+            else
+            {
+                idleClusterCount++;
+            }
+        }
+
+        return removedEmrClusterPoolEntities;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.impl;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.amazonaws.services.elasticmapreduce.model.ClusterSummary;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import org.finra.dm.core.helper.ConfigurationHelper;
+import org.finra.dm.dao.DmDao;
+import org.finra.dm.dao.EmrDao;
+import org.finra.dm.dao.config.DaoSpringModuleConfig;
+import org.finra.dm.dao.helper.EmrHelper;
+import org.finra.dm.dao.helper.EmrPricingHelper;
+import org.finra.dm.dao.helper.XmlHelper;
+import org.finra.dm.model.api.xml.EmrClusterDefinition;
+import org.finra.dm.model.api.xml.EmrClusterDefinitionKey;
+import org.finra.dm.model.dto.AwsParamsDto;
+import org.finra.dm.model.dto.ConfigurationValue;
+import org.finra.dm.model.jpa.EmrClusterDefinitionEntity;
+import org.finra.dm.model.jpa.EmrClusterPoolEntity;
+import org.finra.dm.service.EmrClusterPoolHelperService;
+import org.finra.dm.service.EmrClusterPoolService;
+import org.finra.dm.service.helper.DmDaoHelper;
+import org.finra.dm.service.helper.EmrClusterPoolHelper;
+import org.finra.dm.service.helper.EmrClusterStateCache;
+
+/**
+ * The EMR cluster pool service implementation.
+ */
+@Service
+@Transactional(value = DaoSpringModuleConfig.DM_TRANSACTION_MANAGER_BEAN_NAME)
+public class EmrClusterPoolServiceImpl implements EmrClusterPoolService
+{
+    private static final Logger LOGGER = Logger.getLogger(EmrClusterPoolServiceImpl.class);
+
+    @Autowired
+    private DmDao dmDao;
+
+    @Autowired
+    private DmDaoHelper dmDaoHelper;
+
+    @Autowired
+    private EmrDao emrDao;
+
+    @Autowired
+    private EmrHelper emrHelper;
+
+    @Autowired
+    private XmlHelper xmlHelper;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private EmrPricingHelper emrPricingHelper;
+
+    @Autowired
+    private EmrClusterPoolHelper emrClusterPoolHelper;
+
+    @Autowired
+    private EmrClusterPoolHelperService emrClusterPoolHelperService;
+
+    @Autowired
+    private EmrClusterStateCache emrClusterStateCache;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<EmrClusterDefinitionKey> getEmrClusterDefinitionKeys()
+    {
+        List<EmrClusterDefinitionKey> emrClusterDefinitionKeys = new ArrayList<>();
+
+        for (EmrClusterDefinitionEntity emrClusterDefinitionEntity : dmDao.findAll(EmrClusterDefinitionEntity.class))
+        {
+            emrClusterDefinitionKeys
+                .add(new EmrClusterDefinitionKey(emrClusterDefinitionEntity.getNamespace().getCode(), emrClusterDefinitionEntity.getName()));
+        }
+
+        return emrClusterDefinitionKeys;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int maintainEmrClusterPool(EmrClusterDefinitionKey emrClusterDefinitionKey) throws Exception
+    {
+        AwsParamsDto awsParamsDto = emrHelper.getAwsParamsDto();
+
+        // Get the EMR cluster definition and ensure it exists.
+        EmrClusterDefinitionEntity emrClusterDefinitionEntity =
+            dmDaoHelper.getEmrClusterDefinitionEntity(emrClusterDefinitionKey.getNamespace(), emrClusterDefinitionKey.getEmrClusterDefinitionName());
+
+        // Build the definition the same way a create request without overrides does, so the hash matches the one of such requests.
+        EmrClusterDefinition emrClusterDefinition = xmlHelper.unmarshallXmlToObject(EmrClusterDefinition.class, emrClusterDefinitionEntity.getConfiguration()
+            .replaceAll(configurationHelper.getProperty(ConfigurationValue.S3_STAGING_RESOURCE_LOCATION), emrHelper.getS3StagingLocation()));
+        String emrClusterDefinitionHash = emrClusterPoolHelper.getEmrClusterDefinitionHash(emrClusterDefinition);
+        int poolSize = emrClusterDefinition.getIdleClusterPoolSize() == null ? 0 : emrClusterDefinition.getIdleClusterPoolSize();
+
+        List<EmrClusterPoolEntity> emrClusterPoolEntities = dmDao.getEmrClusterPoolEntities(emrClusterDefinitionEntity);
+        if (poolSize == 0 && emrClusterPoolEntities.isEmpty())
+        {
+            return 0;
+        }
+
+        // Only keep the pool warm while clusters keep being created for the definition, so the pool of an unused definition scales down to nothing. Healthy
+        // idle clusters are kept for as long as the definition is in use, no matter how long they have been idle.
+        long idleTimeToLiveMillis = configurationHelper.getProperty(ConfigurationValue.EMR_CLUSTER_POOL_IDLE_TIME_TO_LIVE_MINUTES, Long.class) * 60 * 1000;
+        Timestamp latestEmrClusterCreationTime =
+            dmDao.getLatestEmrClusterCreationTime(emrClusterDefinitionEntity.getNamespace().getCode(), emrClusterDefinitionEntity.getName());
+        boolean inDemand = latestEmrClusterCreationTime != null && latestEmrClusterCreationTime.getTime() >= System.currentTimeMillis() - idleTimeToLiveMillis;
+
+        Set<String> activeEmrClusterIds = new HashSet<>();
+        for (ClusterSummary clusterSummary : emrDao.getActiveEmrClusters(awsParamsDto))
+        {
+            activeEmrClusterIds.add(clusterSummary.getId());
+        }
+
+        // A leased cluster is removed from the pool when it gets terminated, unless it went away on its own.
+        for (EmrClusterPoolEntity emrClusterPoolEntity : emrClusterPoolEntities)
+        {
+            if (emrClusterPoolEntity.getLeaseEmrClusterName() != null && !activeEmrClusterIds.contains(emrClusterPoolEntity.getEmrClusterId()))
+            {
+                dmDao.delete(emrClusterPoolEntity);
+            }
+        }
+
+        // The idle clusters to terminate are removed from the pool and committed first, so none of them can get leased while being terminated.
+        for (EmrClusterPoolEntity emrClusterPoolEntity : emrClusterPoolHelperService
+            .removeIdleEmrClusters(emrClusterDefinitionKey, emrClusterDefinitionHash, inDemand ? poolSize : 0, activeEmrClusterIds))
+        {
+            LOGGER.info(String.format("Terminating idle pooled EMR cluster \"%s\" with ID \"%s\".", emrClusterPoolEntity.getEmrClusterName(),
+                emrClusterPoolEntity.getEmrClusterId()));
+            emrDao.terminateEmrCluster(emrClusterPoolEntity.getEmrClusterName(), true, awsParamsDto);
+            emrClusterStateCache.invalidate(emrClusterPoolEntity.getEmrClusterId());
+        }
+
+        if (!inDemand)
+        {
+            return 0;
+        }
+
+        int idleClusterCount = 0;
+        for (EmrClusterPoolEntity emrClusterPoolEntity : dmDao.getEmrClusterPoolEntities(emrClusterDefinitionEntity))
+        {
+            if (emrClusterPoolEntity.getLeaseEmrClusterName() == null)
+            {
+                idleClusterCount++;
+            }
+        }
+
+        int launchedClusterCount = 0;
+        if (idleClusterCount < poolSize)
+        {
+            // The prices are only updated after the definition is hashed, just like when a cluster gets created.
+            emrPricingHelper.updateEmrClusterDefinitionWithBestPrice(emrClusterDefinition);
+
+            // Pooled clusters are launched without the hadoop jar steps of the definition. The steps are added to a pooled cluster when it gets leased, so they
+            // run for the caller that leases the cluster rather than on an idle cluster.
+            emrClusterDefinition.setHadoopJarSteps(null);
+
+            for (; idleClusterCount + launchedClusterCount < poolSize; launchedClusterCount++)
+            {
+                String emrClusterName = emrHelper.buildEmrClusterName(emrClusterDefinitionEntity.getNamespace().getCode(), emrClusterDefinitionEntity.getName(),
+                    "pool-" + UUID.randomUUID());
+                String emrClusterId = emrDao.createEmrCluster(emrClusterName, emrClusterDefinition, awsParamsDto);
+
+                EmrClusterPoolEntity emrClusterPoolEntity = new EmrClusterPoolEntity();
+                emrClusterPoolEntity.setEmrClusterDefinition(emrClusterDefinitionEntity);
+                emrClusterPoolEntity.setEmrClusterDefinitionHash(emrClusterDefinitionHash);
+                emrClusterPoolEntity.setEmrClusterId(emrClusterId);
+                emrClusterPoolEntity.setEmrClusterName(emrClusterName);
+                dmDao.saveAndRefresh(emrClusterPoolEntity);
+
+                LOGGER.info(String.format("Launched pooled EMR cluster \"%s\" with ID \"%s\".", emrClusterName, emrClusterId));
+            }
+        }
+
+        return launchedClusterCount;
+    }
+}
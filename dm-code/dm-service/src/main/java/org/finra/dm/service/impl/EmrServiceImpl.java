@@ -54,6 +54,7 @@ import org.finra.dm.model.dto.ConfigurationValue;
 import org.finra.dm.model.dto.EmrClusterAlternateKeyDto;
 import org.finra.dm.model.jpa.EmrClusterCreationLogEntity;
 import org.finra.dm.model.jpa.EmrClusterDefinitionEntity;
+import org.finra.dm.model.jpa.EmrClusterPoolEntity;
 import org.finra.dm.model.jpa.NamespaceEntity;
 import org.finra.dm.model.api.xml.EmrCluster;
 import org.finra.dm.model.api.xml.EmrClusterCreateRequest;
@@ -61,12 +62,15 @@ import org.finra.dm.model.api.xml.EmrClusterDefinition;
 import org.finra.dm.model.api.xml.EmrMasterSecurityGroup;
 import org.finra.dm.model.api.xml.EmrMasterSecurityGroupAddRequest;
 import org.finra.dm.model.api.xml.EmrStep;
+import org.finra.dm.model.api.xml.HadoopJarStep;
 import org.finra.dm.model.api.xml.OozieWorkflowAction;
 import org.finra.dm.model.api.xml.OozieWorkflowJob;
 import org.finra.dm.model.api.xml.RunOozieWorkflowRequest;
 import org.finra.dm.service.EmrService;
 import org.finra.dm.service.helper.DmDaoHelper;
 import org.finra.dm.service.helper.DmHelper;
+import org.finra.dm.service.helper.EmrClusterPoolHelper;
+import org.finra.dm.service.helper.EmrClusterStateCache;
 import org.finra.dm.service.helper.EmrStepHelper;
 import org.finra.dm.service.helper.EmrStepHelperFactory;
 
@@ -110,6 +114,12 @@ public class EmrServiceImpl implements EmrService
     @Autowired
     private DmStringHelper dmStringHelper;
 
+    @Autowired
+    private EmrClusterStateCache emrClusterStateCache;
+
+    @Autowired
+    private EmrClusterPoolHelper emrClusterPoolHelper;
+
     /**
      * Gets details of an existing EMR Cluster. Creates its own transaction.
      *
@@ -118,6 +128,7 @@ public class EmrServiceImpl implements EmrService
      * @param emrStepId, the step id of the step to get details
      * @param verbose, parameter for whether to return detailed information
      * @param retrieveOozieJobs parameter for whether to retrieve oozie job information
+     * @param consistentRead parameter for whether to bypass the EMR cluster state cache and read the current state from AWS
      *
      * @return the EMR Cluster object with details.
      * @throws Exception
@@ -125,25 +136,27 @@ public class EmrServiceImpl implements EmrService
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public EmrCluster getCluster(EmrClusterAlternateKeyDto emrClusterAlternateKeyDto, String emrClusterId, String emrStepId, boolean verbose,
-        boolean retrieveOozieJobs) throws Exception
+        boolean retrieveOozieJobs, boolean consistentRead) throws Exception
     {
-        return getClusterImpl(emrClusterAlternateKeyDto, emrClusterId, emrStepId, verbose, retrieveOozieJobs);
+        return getClusterImpl(emrClusterAlternateKeyDto, emrClusterId, emrStepId, verbose, retrieveOozieJobs, consistentRead);
     }
 
     /**
-     * Gets details of an existing EMR Cluster.
+     * Gets details of an existing EMR Cluster. Unless a consistent read is requested, the cluster and its active step are read through the shared EMR cluster
+     * state cache, so the returned status can be as old as the configured cache time to live.
      *
      * @param emrClusterAlternateKeyDto the EMR cluster alternate key
      * @param emrClusterId the cluster id of the cluster to get details
      * @param emrStepId the step id of the step to get details
      * @param verbose parameter for whether to return detailed information
      * @param retrieveOozieJobs parameter for whether to retrieve oozie job information
+     * @param consistentRead parameter for whether to bypass the EMR cluster state cache and read the current state from AWS
      *
      * @return the EMR Cluster object with details.
      * @throws Exception if an error occurred while getting the cluster.
      */
     protected EmrCluster getClusterImpl(EmrClusterAlternateKeyDto emrClusterAlternateKeyDto, String emrClusterId, String emrStepId, boolean verbose,
-        boolean retrieveOozieJobs) throws Exception
+        boolean retrieveOozieJobs, boolean consistentRead) throws Exception
     {
         // Perform the request validation.
         emrHelper.validateEmrClusterKey(emrClusterAlternateKeyDto);
@@ -158,14 +171,15 @@ public class EmrServiceImpl implements EmrService
         EmrCluster emrCluster =
             createEmrClusterFromRequest(null, namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), emrClusterAlternateKeyDto.getEmrClusterName(),
                 null, null, null, null);
-        String clusterName =
-            emrHelper.buildEmrClusterName(namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), emrClusterAlternateKeyDto.getEmrClusterName());
+        String clusterName = emrClusterPoolHelper
+            .getEmrClusterName(namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), emrClusterAlternateKeyDto.getEmrClusterName());
+        long maxAgeMillis = consistentRead ? 0 : emrClusterStateCache.getDefaultMaxAgeMillis();
         try
         {
             // Get Cluster status if clusterId is specified
             if (StringUtils.hasText(emrClusterId))
             {
-                Cluster cluster = emrDao.getEmrClusterById(emrClusterId.trim(), emrHelper.getAwsParamsDto());
+                Cluster cluster = emrClusterStateCache.getClusterById(emrClusterId.trim(), maxAgeMillis);
 
                 // Validate that, Cluster exists
                 Assert.notNull(cluster, "An EMR cluster must exists with the cluster ID \"" + emrClusterId + "\".");
@@ -178,7 +192,7 @@ public class EmrServiceImpl implements EmrService
             }
             else
             {
-                ClusterSummary clusterSummary = emrDao.getActiveEmrClusterByName(clusterName, emrHelper.getAwsParamsDto());
+                ClusterSummary clusterSummary = emrClusterStateCache.getActiveClusterByName(clusterName, maxAgeMillis);
 
                 // Validate that, Cluster exists with the name
                 Assert.notNull(clusterSummary, "An EMR cluster must exists with the name \"" + clusterName + "\".");
@@ -190,7 +204,7 @@ public class EmrServiceImpl implements EmrService
             // Get active step details
             if (emrHelper.isActiveEmrState(emrCluster.getStatus()))
             {
-                StepSummary stepSummary = emrDao.getClusterActiveStep(emrCluster.getId(), emrHelper.getAwsParamsDto());
+                StepSummary stepSummary = emrClusterStateCache.getActiveStep(emrCluster.getId(), maxAgeMillis);
                 if (stepSummary != null)
                 {
                     EmrStep activeStep;
@@ -249,10 +263,17 @@ public class EmrServiceImpl implements EmrService
         // List of wrapper jobs that have been found.
         List<WorkflowJob> jobsFound = oozieDao.getRunningEmrOozieJobsByName(masterIpAddress, OozieDaoImpl.DM_OOZIE_WRAPPER_WORKFLOW_NAME, 1, jobsToInclude);
 
+        // The jobs are listed without their actions, so retrieve the details of all the jobs found at once.
+        List<String> jobIds = new ArrayList<>();
+        for (WorkflowJob workflowJob : jobsFound)
+        {
+            jobIds.add(workflowJob.getId());
+        }
+
         // Construct the response
         List<OozieWorkflowJob> oozieWorkflowJobs = new ArrayList<>();
 
-        for (WorkflowJob workflowJob : jobsFound)
+        for (WorkflowJob workflowJob : oozieDao.getEmrOozieWorkflows(masterIpAddress, jobIds))
         {
             // Get the client Workflow id.
             WorkflowAction clientWorkflowAction = emrHelper.getClientWorkflowAction(workflowJob);
@@ -377,6 +398,9 @@ public class EmrServiceImpl implements EmrService
         // Perform the EMR cluster definition configuration validation.
         dmHelper.validateEmrClusterDefinitionConfiguration(emrClusterDefinition);
 
+        // Hash the definition before the prices get updated, since an idle pooled cluster launched with the same definition can be leased instead.
+        String emrClusterDefinitionHash = emrClusterPoolHelper.getEmrClusterDefinitionHash(emrClusterDefinition);
+
         // Find best price and update definition
         emrPricingHelper.updateEmrClusterDefinitionWithBestPrice(emrClusterDefinition);
 
@@ -393,16 +417,27 @@ public class EmrServiceImpl implements EmrService
              * If the cluster already exists, record the existing cluster ID.
              * If there is any error while attempting to check for existing cluster or create a new one, handle the exception to throw appropriate exception.
              */
-            String clusterName =
-                emrHelper.buildEmrClusterName(namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), emrClusterAlternateKeyDto.getEmrClusterName());
+            String clusterName = emrClusterPoolHelper
+                .getEmrClusterName(namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), emrClusterAlternateKeyDto.getEmrClusterName());
             try
             {
                 ClusterSummary clusterSummary = emrDao.getActiveEmrClusterByName(clusterName, awsParamsDto);
                 // If cluster does not already exist.
                 if (clusterSummary == null)
                 {
-                    clusterId = emrDao.createEmrCluster(clusterName, emrClusterDefinition, awsParamsDto);
+                    // Lease an idle pooled cluster launched with the same definition and only launch a new cluster when there is none.
+                    EmrClusterPoolEntity emrClusterPoolEntity = emrClusterPoolHelper
+                        .leaseEmrCluster(emrClusterDefinitionEntity, emrClusterDefinitionHash, emrClusterAlternateKeyDto.getEmrClusterName(), awsParamsDto);
+                    if (emrClusterPoolEntity != null)
+                    {
+                        // Pooled clusters are launched without the hadoop jar steps of the definition, so run them on the leased cluster now.
+                        addHadoopJarSteps(emrClusterPoolEntity.getEmrClusterName(), emrClusterDefinition, awsParamsDto);
+                    }
+                    clusterId = emrClusterPoolEntity != null ? emrClusterPoolEntity.getEmrClusterId() : emrDao.createEmrCluster(emrHelper
+                        .buildEmrClusterName(namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), emrClusterAlternateKeyDto.getEmrClusterName()),
+                        emrClusterDefinition, awsParamsDto);
                     emrClusterCreated = true;
+                    emrClusterStateCache.invalidate(clusterId);
 
                     EmrClusterCreationLogEntity emrClusterCreationLogEntity = new EmrClusterCreationLogEntity();
                     emrClusterCreationLogEntity.setNamespace(emrClusterDefinitionEntity.getNamespace());
@@ -436,6 +471,28 @@ public class EmrServiceImpl implements EmrService
             emrClusterAlternateKeyDto.getEmrClusterName(), emrClusterStatus, emrClusterCreated, request.isDryRun(), emrClusterDefinition);
     }
 
+    /**
+     * Adds the hadoop jar steps of the EMR cluster definition to an EMR cluster.
+     *
+     * @param clusterName the EMR cluster name in EMR
+     * @param emrClusterDefinition the EMR cluster definition
+     * @param awsParamsDto the AWS related parameters
+     *
+     * @throws Exception if a step could not be added
+     */
+    private void addHadoopJarSteps(String clusterName, EmrClusterDefinition emrClusterDefinition, AwsParamsDto awsParamsDto) throws Exception
+    {
+        if (emrClusterDefinition.getHadoopJarSteps() != null)
+        {
+            for (HadoopJarStep hadoopJarStep : emrClusterDefinition.getHadoopJarSteps())
+            {
+                emrDao.addEmrStep(clusterName, emrHelper
+                    .getEmrHadoopJarStepConfig(hadoopJarStep.getStepName(), hadoopJarStep.getJarLocation(), hadoopJarStep.getMainClass(),
+                        hadoopJarStep.getScriptArguments(), hadoopJarStep.isContinueOnError()), awsParamsDto);
+            }
+        }
+    }
+
     /**
      * <p> Overrides the properties of {@code emrClusterDefinition} with the properties of {@code emrClusterDefinitionOverride}. </p> <p> If any property in
      * {@code emrClusterDefinitionOverride} is {@code null}, the property will remain unmodified. </p> <p> If any property in {@code
@@ -598,11 +655,13 @@ public class EmrServiceImpl implements EmrService
             dmDaoHelper.getEmrClusterDefinitionEntity(emrClusterAlternateKeyDto.getNamespace(), emrClusterAlternateKeyDto.getEmrClusterDefinitionName());
 
         String clusterId = null;
-        String clusterName =
-            emrHelper.buildEmrClusterName(namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), emrClusterAlternateKeyDto.getEmrClusterName());
+        String clusterName = emrClusterPoolHelper
+            .getEmrClusterName(namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), emrClusterAlternateKeyDto.getEmrClusterName());
         try
         {
             clusterId = emrDao.terminateEmrCluster(clusterName, overrideTerminationProtection, awsParamsDto);
+            emrClusterStateCache.invalidate(clusterId);
+            emrClusterPoolHelper.releaseEmrCluster(clusterId);
         }
         catch (AmazonServiceException ex)
         {
@@ -704,8 +763,8 @@ public class EmrServiceImpl implements EmrService
         stepHelper.setRequestNamespace(request, namespaceEntity.getCode());
         stepHelper.setRequestEmrClusterDefinitionName(request, emrClusterDefinitionEntity.getName());
 
-        String clusterName =
-            emrHelper.buildEmrClusterName(namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), stepHelper.getRequestEmrClusterName(request));
+        String clusterName = emrClusterPoolHelper
+            .getEmrClusterName(namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), stepHelper.getRequestEmrClusterName(request));
         Object emrStep = stepHelper.buildResponseFromRequest(request);
 
         try
@@ -788,7 +847,8 @@ public class EmrServiceImpl implements EmrService
             dmDaoHelper.getEmrClusterDefinitionEntity(request.getNamespace(), request.getEmrClusterDefinitionName());
 
         List<String> groupIds = null;
-        String clusterName = emrHelper.buildEmrClusterName(namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), request.getEmrClusterName());
+        String clusterName = emrClusterPoolHelper
+            .getEmrClusterName(namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), request.getEmrClusterName());
         try
         {
             groupIds = emrDao.addEmrMasterSecurityGroups(clusterName, request.getSecurityGroupIds(), emrHelper.getAwsParamsDto());
@@ -912,8 +972,7 @@ public class EmrServiceImpl implements EmrService
      */
     private String getEmrClusterMasterIpAddress(String emrClusterId) throws Exception
     {
-        AwsParamsDto awsParamsDto = emrHelper.getAwsParamsDto();
-        return emrDao.getEmrMasterInstance(emrClusterId, awsParamsDto).getPrivateIpAddress();
+        return emrClusterStateCache.getMasterIpAddress(emrClusterId);
     }
 
     /**
@@ -933,7 +992,7 @@ public class EmrServiceImpl implements EmrService
         // Get the EMR cluster definition and ensure it exists.
         EmrClusterDefinitionEntity emrClusterDefinitionEntity = dmDaoHelper.getEmrClusterDefinitionEntity(namespace, emrClusterDefinitionName);
 
-        String clusterName = emrHelper.buildEmrClusterName(namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), emrClusterName);
+        String clusterName = emrClusterPoolHelper.getEmrClusterName(namespaceEntity.getCode(), emrClusterDefinitionEntity.getName(), emrClusterName);
 
         // Look up cluster
         ClusterSummary clusterSummary = emrDao.getActiveEmrClusterByName(clusterName, emrHelper.getAwsParamsDto());
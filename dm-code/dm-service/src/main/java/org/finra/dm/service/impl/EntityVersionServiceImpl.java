@@ -0,0 +1,153 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.impl;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import org.finra.dm.dao.DmDao;
+import org.finra.dm.dao.config.DaoSpringModuleConfig;
+import org.finra.dm.model.api.xml.BusinessObjectDefinitionKey;
+import org.finra.dm.model.api.xml.BusinessObjectFormatKey;
+import org.finra.dm.model.api.xml.EmrClusterDefinitionKey;
+import org.finra.dm.model.api.xml.PartitionKeyGroupKey;
+import org.finra.dm.model.jpa.AuditableEntity;
+import org.finra.dm.model.jpa.BusinessObjectDefinitionEntity;
+import org.finra.dm.model.jpa.BusinessObjectFormatEntity;
+import org.finra.dm.model.jpa.EmrClusterDefinitionEntity;
+import org.finra.dm.model.jpa.PartitionKeyGroupEntity;
+import org.finra.dm.model.jpa.StorageEntity;
+import org.finra.dm.service.EntityVersionService;
+
+/**
+ * The entity version service implementation. The version of an entity is made of its type, its identifier and its last update timestamp which is refreshed
+ * by the DAO every time the entity (or one of its cascaded children) is saved.
+ */
+@Service
+@Transactional(value = DaoSpringModuleConfig.DM_TRANSACTION_MANAGER_BEAN_NAME)
+public class EntityVersionServiceImpl implements EntityVersionService
+{
+    @Autowired
+    private DmDao dmDao;
+
+    @Override
+    public String getStorageEntityVersion(String storageName)
+    {
+        if (StringUtils.isBlank(storageName))
+        {
+            return null;
+        }
+
+        StorageEntity storageEntity = dmDao.getStorageByName(storageName);
+        return storageEntity == null ? null : getEntityVersion(storageEntity, storageEntity.getName());
+    }
+
+    @Override
+    public String getBusinessObjectDefinitionEntityVersion(BusinessObjectDefinitionKey businessObjectDefinitionKey)
+    {
+        if (StringUtils.isBlank(businessObjectDefinitionKey.getBusinessObjectDefinitionName()))
+        {
+            return null;
+        }
+
+        BusinessObjectDefinitionEntity businessObjectDefinitionEntity;
+        if (StringUtils.isBlank(businessObjectDefinitionKey.getNamespace()))
+        {
+            businessObjectDefinitionEntity = dmDao.getLegacyBusinessObjectDefinitionByName(businessObjectDefinitionKey.getBusinessObjectDefinitionName());
+        }
+        else
+        {
+            businessObjectDefinitionEntity = dmDao.getBusinessObjectDefinitionByKey(businessObjectDefinitionKey);
+        }
+
+        return businessObjectDefinitionEntity == null ? null : getEntityVersion(businessObjectDefinitionEntity, businessObjectDefinitionEntity.getId());
+    }
+
+    @Override
+    public String getBusinessObjectFormatEntityVersion(BusinessObjectFormatKey businessObjectFormatKey)
+    {
+        if (StringUtils.isBlank(businessObjectFormatKey.getBusinessObjectDefinitionName()) ||
+            StringUtils.isBlank(businessObjectFormatKey.getBusinessObjectFormatUsage()) ||
+            StringUtils.isBlank(businessObjectFormatKey.getBusinessObjectFormatFileType()))
+        {
+            return null;
+        }
+
+        // Resolve the namespace of a legacy business object definition on a copy of the key so the caller's key is left untouched.
+        String namespace = businessObjectFormatKey.getNamespace();
+        if (StringUtils.isBlank(namespace))
+        {
+            BusinessObjectDefinitionEntity businessObjectDefinitionEntity =
+                dmDao.getLegacyBusinessObjectDefinitionByName(businessObjectFormatKey.getBusinessObjectDefinitionName());
+            if (businessObjectDefinitionEntity == null)
+            {
+                return null;
+            }
+            namespace = businessObjectDefinitionEntity.getNamespace().getCode();
+        }
+
+        BusinessObjectFormatEntity businessObjectFormatEntity = dmDao.getBusinessObjectFormatByAltKey(
+            new BusinessObjectFormatKey(namespace, businessObjectFormatKey.getBusinessObjectDefinitionName(),
+                businessObjectFormatKey.getBusinessObjectFormatUsage(), businessObjectFormatKey.getBusinessObjectFormatFileType(),
+                businessObjectFormatKey.getBusinessObjectFormatVersion()));
+
+        return businessObjectFormatEntity == null ? null : getEntityVersion(businessObjectFormatEntity, businessObjectFormatEntity.getId());
+    }
+
+    @Override
+    public String getPartitionKeyGroupEntityVersion(PartitionKeyGroupKey partitionKeyGroupKey)
+    {
+        if (StringUtils.isBlank(partitionKeyGroupKey.getPartitionKeyGroupName()))
+        {
+            return null;
+        }
+
+        PartitionKeyGroupEntity partitionKeyGroupEntity = dmDao.getPartitionKeyGroupByKey(partitionKeyGroupKey);
+        return partitionKeyGroupEntity == null ? null : getEntityVersion(partitionKeyGroupEntity, partitionKeyGroupEntity.getPartitionKeyGroupName());
+    }
+
+    @Override
+    public String getEmrClusterDefinitionEntityVersion(EmrClusterDefinitionKey emrClusterDefinitionKey)
+    {
+        if (StringUtils.isBlank(emrClusterDefinitionKey.getNamespace()) || StringUtils.isBlank(emrClusterDefinitionKey.getEmrClusterDefinitionName()))
+        {
+            return null;
+        }
+
+        EmrClusterDefinitionEntity emrClusterDefinitionEntity = dmDao.getEmrClusterDefinitionByAltKey(emrClusterDefinitionKey);
+        return emrClusterDefinitionEntity == null ? null : getEntityVersion(emrClusterDefinitionEntity, emrClusterDefinitionEntity.getId());
+    }
+
+    /**
+     * Builds the version of an entity.
+     *
+     * @param entity the entity
+     * @param entityIdentifier the identifier of the entity
+     *
+     * @return the entity version or null if the entity has never been saved
+     */
+    private String getEntityVersion(AuditableEntity entity, Object entityIdentifier)
+    {
+        if (entity.getUpdatedOn() == null)
+        {
+            return null;
+        }
+
+        return String.format("%s:%s:%d", entity.getClass().getSimpleName(), entityIdentifier, entity.getUpdatedOn().getTime());
+    }
+}
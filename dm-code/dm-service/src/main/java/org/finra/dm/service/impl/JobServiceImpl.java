@@ -30,7 +30,9 @@ import org.activiti.engine.ManagementService;
 import org.activiti.engine.RepositoryService;
 import org.activiti.engine.RuntimeService;
 import org.activiti.engine.history.HistoricActivityInstance;
+import org.activiti.engine.history.HistoricActivityInstanceQuery;
 import org.activiti.engine.history.HistoricProcessInstance;
+import org.activiti.engine.history.HistoricVariableInstance;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.JobQuery;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -43,19 +45,27 @@ import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 import org.finra.dm.core.DmDateUtils;
+import org.finra.dm.core.helper.ConfigurationHelper;
 import org.finra.dm.dao.DmDao;
 import org.finra.dm.dao.S3Dao;
 import org.finra.dm.dao.config.DaoSpringModuleConfig;
 import org.finra.dm.dao.helper.JavaPropertiesHelper;
 import org.finra.dm.model.ObjectNotFoundException;
+import org.finra.dm.model.dto.ConfigurationValue;
 import org.finra.dm.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.dm.model.jpa.JobDefinitionEntity;
 import org.finra.dm.model.jpa.JobDefinitionParameterEntity;
+import org.finra.dm.model.jpa.JobSummaryEntity;
 import org.finra.dm.model.jpa.NamespaceEntity;
 import org.finra.dm.model.api.xml.Job;
+import org.finra.dm.model.api.xml.JobCreateCollectionRequest;
+import org.finra.dm.model.api.xml.JobCreateCollectionResponse;
 import org.finra.dm.model.api.xml.JobCreateRequest;
 import org.finra.dm.model.api.xml.JobSignalRequest;
 import org.finra.dm.model.api.xml.JobStatusEnum;
+import org.finra.dm.model.api.xml.JobSummary;
+import org.finra.dm.model.api.xml.JobVariables;
+import org.finra.dm.model.api.xml.JobWorkflowSteps;
 import org.finra.dm.model.api.xml.Parameter;
 import org.finra.dm.model.api.xml.S3PropertiesLocation;
 import org.finra.dm.model.api.xml.WorkflowError;
@@ -109,6 +119,9 @@ public class JobServiceImpl implements JobService
     @Autowired
     private S3PropertiesLocationHelper s3PropertiesLocationHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Override
     public Job createAndStartJob(JobCreateRequest request, boolean isAsync) throws Exception
     {
@@ -196,6 +209,103 @@ public class JobServiceImpl implements JobService
         return createJobFromRequest(namespaceEntity.getCode(), jobDefinitionEntity.getName(), mergedParameters, processInstance.getProcessInstanceId());
     }
 
+    /**
+     * Creates jobs in bulk. The namespaces, job definitions and S3 parameter files are resolved once per request and the process instances are created in
+     * batches. The process instances are started asynchronously by the Activiti job executor once the transaction is committed, so the returned jobs only have
+     * their Ids and parameters populated.
+     *
+     * @param request the job create collection request
+     *
+     * @return the created jobs, in the same order as the job create requests
+     * @throws Exception if any problems were encountered
+     */
+    @Override
+    public JobCreateCollectionResponse createAndStartJobs(JobCreateCollectionRequest request) throws Exception
+    {
+        // Perform the validation.
+        Assert.notNull(request, "A job create collection request must be specified.");
+        Assert.isTrue(!CollectionUtils.isEmpty(request.getJobCreateRequests()), "At least one job create request must be specified.");
+
+        Map<String, Integer> jobCountsByNamespace = new HashMap<>();
+        for (JobCreateRequest jobCreateRequest : request.getJobCreateRequests())
+        {
+            Assert.notNull(jobCreateRequest, "A job create request must be specified.");
+            validateJobCreateRequest(jobCreateRequest);
+
+            String namespaceKey = jobCreateRequest.getNamespace().toUpperCase();
+            Integer jobCount = jobCountsByNamespace.get(namespaceKey);
+            jobCountsByNamespace.put(namespaceKey, jobCount == null ? 1 : jobCount + 1);
+        }
+
+        // Limit the number of jobs a single request can create for each namespace.
+        int maxJobsPerNamespace = configurationHelper.getProperty(ConfigurationValue.JOB_CREATE_COLLECTION_MAX_JOBS_PER_NAMESPACE, Integer.class);
+        for (Map.Entry<String, Integer> entry : jobCountsByNamespace.entrySet())
+        {
+            Assert.isTrue(entry.getValue() <= maxJobsPerNamespace, String.format(
+                "The number of jobs requested for namespace \"%s\" (%d) exceeds the maximum of %d jobs allowed in a single request.", entry.getKey(),
+                entry.getValue(), maxJobsPerNamespace));
+        }
+
+        // Resolve the job definitions and build the parameters of each job. Namespaces, job definitions and S3 parameter files shared by several jobs are
+        // only retrieved once.
+        Map<String, JobDefinitionEntity> jobDefinitionEntities = new HashMap<>();
+        Map<String, Map<String, Object>> s3ParametersCache = new HashMap<>();
+        List<JobDefinitionEntity> requestJobDefinitionEntities = new ArrayList<>();
+        List<String> processDefinitionIds = new ArrayList<>();
+        List<Map<String, Object>> mergedParametersList = new ArrayList<>();
+
+        for (JobCreateRequest jobCreateRequest : request.getJobCreateRequests())
+        {
+            String jobDefinitionKey = (jobCreateRequest.getNamespace() + "|" + jobCreateRequest.getJobName()).toUpperCase();
+            JobDefinitionEntity jobDefinitionEntity = jobDefinitionEntities.get(jobDefinitionKey);
+            if (jobDefinitionEntity == null)
+            {
+                // Get the namespace and ensure it exists.
+                dmDaoHelper.getNamespaceEntity(jobCreateRequest.getNamespace());
+
+                // Get the job definition and ensure it exists.
+                jobDefinitionEntity = dmDao.getJobDefinitionByAltKey(jobCreateRequest.getNamespace(), jobCreateRequest.getJobName());
+                if (jobDefinitionEntity == null)
+                {
+                    throw new ObjectNotFoundException("Job definition with name \"" + jobCreateRequest.getJobName() + "\" doesn't exist for namespace \"" +
+                        jobCreateRequest.getNamespace() + "\".");
+                }
+
+                jobDefinitionEntities.put(jobDefinitionKey, jobDefinitionEntity);
+            }
+
+            requestJobDefinitionEntities.add(jobDefinitionEntity);
+            processDefinitionIds.add(jobDefinitionEntity.getActivitiId());
+            mergedParametersList.add(getParameters(jobDefinitionEntity, jobCreateRequest, s3ParametersCache));
+        }
+
+        // Create the process instances in batches.
+        int batchSize = Math.max(1, configurationHelper.getProperty(ConfigurationValue.JOB_CREATE_COLLECTION_BATCH_SIZE, Integer.class));
+        List<String> processInstanceIds = new ArrayList<>();
+        for (int fromIndex = 0; fromIndex < processDefinitionIds.size(); fromIndex += batchSize)
+        {
+            int toIndex = Math.min(fromIndex + batchSize, processDefinitionIds.size());
+            processInstanceIds.addAll(activitiProcessInstanceCreator
+                .createProcessInstancesForAsyncStart(processDefinitionIds.subList(fromIndex, toIndex), mergedParametersList.subList(fromIndex, toIndex)));
+        }
+
+        LOGGER.info("Created " + processInstanceIds.size() + " process instance(s) for " + jobDefinitionEntities.size() +
+            " job definition(s). The process instances will be started asynchronously.");
+
+        // Create and return the jobs.
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < processInstanceIds.size(); i++)
+        {
+            JobDefinitionEntity jobDefinitionEntity = requestJobDefinitionEntities.get(i);
+            jobs.add(createJobFromRequest(jobDefinitionEntity.getNamespace().getCode(), jobDefinitionEntity.getName(), mergedParametersList.get(i),
+                processInstanceIds.get(i)));
+        }
+
+        JobCreateCollectionResponse response = new JobCreateCollectionResponse();
+        response.setJobs(jobs);
+        return response;
+    }
+
     @Override
     public Job getJob(String jobId, boolean verbose) throws Exception
     {
@@ -306,6 +416,198 @@ public class JobServiceImpl implements JobService
         return job;
     }
 
+    /**
+     * Gets the summary of a job. The summary is read from the job summary table which is kept up to date by an Activiti event listener, so no workflow
+     * variables or activity history are loaded. Jobs created before job summaries were introduced are summarized from the Activiti runtime and history.
+     *
+     * @param jobId the job Id
+     *
+     * @return the job summary
+     */
+    @Override
+    public JobSummary getJobSummary(String jobId)
+    {
+        // Validate and trim required elements
+        Assert.hasText(jobId, "A job Id must be specified.");
+        String jobIdLocal = jobId.trim();
+
+        JobSummary jobSummary = new JobSummary();
+        jobSummary.setId(jobIdLocal);
+
+        boolean running;
+        String currentActivityId = null;
+
+        JobSummaryEntity jobSummaryEntity = dmDao.findById(JobSummaryEntity.class, jobIdLocal);
+        if (jobSummaryEntity != null)
+        {
+            running = JobSummaryEntity.STATUS_RUNNING.equals(jobSummaryEntity.getStatus());
+            currentActivityId = jobSummaryEntity.getCurrentActivityId();
+            jobSummary.setStartTime(DmDateUtils.getXMLGregorianCalendarValue(jobSummaryEntity.getStartTime()));
+            if (jobSummaryEntity.getEndTime() != null)
+            {
+                jobSummary.setEndTime(DmDateUtils.getXMLGregorianCalendarValue(jobSummaryEntity.getEndTime()));
+            }
+        }
+        else
+        {
+            ProcessInstance processInstance = activitiRuntimeService.createProcessInstanceQuery().processInstanceId(jobIdLocal).singleResult();
+            HistoricProcessInstance historicProcessInstance =
+                activitiHistoryService.createHistoricProcessInstanceQuery().processInstanceId(jobIdLocal).singleResult();
+
+            if (processInstance == null && historicProcessInstance == null)
+            {
+                // Process not found
+                throw new ObjectNotFoundException(String.format("Job with Id: \"%s\" doesn't exist.", jobIdLocal));
+            }
+
+            running = processInstance != null;
+            if (running)
+            {
+                currentActivityId = processInstance.getActivityId();
+            }
+            if (historicProcessInstance != null)
+            {
+                jobSummary.setStartTime(DmDateUtils.getXMLGregorianCalendarValue(historicProcessInstance.getStartTime()));
+                if (historicProcessInstance.getEndTime() != null)
+                {
+                    jobSummary.setEndTime(DmDateUtils.getXMLGregorianCalendarValue(historicProcessInstance.getEndTime()));
+                }
+            }
+        }
+
+        if (running)
+        {
+            // Only count the errored jobs since their details are not part of the summary.
+            long erroredJobCount = activitiManagementService.createJobQuery().withException().processInstanceId(jobIdLocal).count();
+            jobSummary.setStatus(erroredJobCount > 0 ? JobStatusEnum.ERROR : JobStatusEnum.RUNNING);
+
+            if (currentActivityId != null)
+            {
+                // Set current workflow step.
+                WorkflowStep currentStep = new WorkflowStep();
+                currentStep.setId(currentActivityId);
+                jobSummary.setCurrentWorkflowStep(currentStep);
+            }
+        }
+        else
+        {
+            jobSummary.setStatus(JobStatusEnum.COMPLETED);
+        }
+
+        return jobSummary;
+    }
+
+    /**
+     * Gets a page of the workflow steps of a job, ordered by start time and end time.
+     *
+     * @param jobId the job Id
+     * @param pageNum the page number starting at 1, defaults to 1
+     * @param pageSize the page size, defaults to the maximum page size
+     *
+     * @return the page of job workflow steps
+     */
+    @Override
+    public JobWorkflowSteps getJobWorkflowSteps(String jobId, Integer pageNum, Integer pageSize)
+    {
+        // Validate and trim required elements
+        Assert.hasText(jobId, "A job Id must be specified.");
+        String jobIdLocal = jobId.trim();
+
+        int maxPageSize = configurationHelper.getProperty(ConfigurationValue.JOB_WORKFLOW_STEPS_MAX_PAGE_SIZE, Integer.class);
+        int pageNumLocal = pageNum == null ? 1 : pageNum;
+        int pageSizeLocal = pageSize == null ? maxPageSize : pageSize;
+        Assert.isTrue(pageNumLocal > 0, "A page number must be greater than 0.");
+        Assert.isTrue(pageSizeLocal > 0 && pageSizeLocal <= maxPageSize, String.format("A page size must be between 1 and %d.", maxPageSize));
+
+        if (activitiHistoryService.createHistoricProcessInstanceQuery().processInstanceId(jobIdLocal).count() == 0)
+        {
+            // Process not found
+            throw new ObjectNotFoundException(String.format("Job with Id: \"%s\" doesn't exist.", jobIdLocal));
+        }
+
+        HistoricActivityInstanceQuery historicActivityInstanceQuery =
+            activitiHistoryService.createHistoricActivityInstanceQuery().processInstanceId(jobIdLocal);
+        long totalCount = historicActivityInstanceQuery.count();
+        List<HistoricActivityInstance> historicActivitiTasks =
+            historicActivityInstanceQuery.orderByHistoricActivityInstanceStartTime().asc().orderByHistoricActivityInstanceEndTime().asc()
+                .listPage((pageNumLocal - 1) * pageSizeLocal, pageSizeLocal);
+
+        JobWorkflowSteps jobWorkflowSteps = new JobWorkflowSteps();
+        jobWorkflowSteps.setId(jobIdLocal);
+        jobWorkflowSteps.setPageNum(pageNumLocal);
+        jobWorkflowSteps.setPageSize(pageSizeLocal);
+        jobWorkflowSteps.setTotalCount(totalCount);
+        jobWorkflowSteps.setWorkflowSteps(toWorkflowSteps(historicActivitiTasks));
+        return jobWorkflowSteps;
+    }
+
+    /**
+     * Gets the specified workflow variables of a job. Only the requested variables are loaded. Variables that don't exist are not returned.
+     *
+     * @param jobId the job Id
+     * @param variableNames the names of the variables to get
+     *
+     * @return the job variables
+     */
+    @Override
+    public JobVariables getJobVariables(String jobId, List<String> variableNames)
+    {
+        // Validate and trim required elements
+        Assert.hasText(jobId, "A job Id must be specified.");
+        String jobIdLocal = jobId.trim();
+        Assert.isTrue(!CollectionUtils.isEmpty(variableNames), "At least one variable name must be specified.");
+        List<String> variableNamesLocal = new ArrayList<>();
+        for (String variableName : variableNames)
+        {
+            Assert.hasText(variableName, "A variable name must be specified.");
+            variableNamesLocal.add(variableName.trim());
+        }
+
+        Map<String, Object> variables = new HashMap<>();
+
+        ProcessInstance processInstance = activitiRuntimeService.createProcessInstanceQuery().processInstanceId(jobIdLocal).singleResult();
+        if (processInstance != null)
+        {
+            variables.putAll(activitiRuntimeService.getVariables(processInstance.getId(), variableNamesLocal));
+        }
+        else
+        {
+            if (activitiHistoryService.createHistoricProcessInstanceQuery().processInstanceId(jobIdLocal).count() == 0)
+            {
+                // Process not found
+                throw new ObjectNotFoundException(String.format("Job with Id: \"%s\" doesn't exist.", jobIdLocal));
+            }
+
+            for (String variableName : variableNamesLocal)
+            {
+                List<HistoricVariableInstance> historicVariableInstances =
+                    activitiHistoryService.createHistoricVariableInstanceQuery().processInstanceId(jobIdLocal).variableName(variableName).list();
+                if (!historicVariableInstances.isEmpty())
+                {
+                    variables.put(variableName, historicVariableInstances.get(0).getValue());
+                }
+            }
+        }
+
+        // Return the variables in the requested order.
+        List<Parameter> parameters = new ArrayList<>();
+        for (String variableName : variableNamesLocal)
+        {
+            if (variables.containsKey(variableName))
+            {
+                Object value = variables.get(variableName);
+                Parameter parameter = new Parameter(variableName, value == null ? null : value.toString());
+                dmHelper.maskPassword(parameter);
+                parameters.add(parameter);
+            }
+        }
+
+        JobVariables jobVariables = new JobVariables();
+        jobVariables.setId(jobIdLocal);
+        jobVariables.setParameters(parameters);
+        return jobVariables;
+    }
+
     @Override
     public Job signalJob(JobSignalRequest request) throws Exception
     {
@@ -373,15 +675,26 @@ public class JobServiceImpl implements JobService
     private void populateCompletedActivitiSteps(Job job, List<HistoricActivityInstance> historicActivitiTasks)
     {
         // Set completed steps
-        List<WorkflowStep> completedWorkflowSteps = new ArrayList<>();
+        job.setCompletedWorkflowSteps(toWorkflowSteps(historicActivitiTasks));
+    }
+
+    /**
+     * Converts the given historic activity instances to workflow steps.
+     *
+     * @param historicActivitiTasks the historic activity instances
+     *
+     * @return the workflow steps
+     */
+    private List<WorkflowStep> toWorkflowSteps(List<HistoricActivityInstance> historicActivitiTasks)
+    {
+        List<WorkflowStep> workflowSteps = new ArrayList<>();
         for (HistoricActivityInstance historicActivityInstance : historicActivitiTasks)
         {
-            completedWorkflowSteps.add(new WorkflowStep(historicActivityInstance.getActivityId(), historicActivityInstance.getActivityName(),
+            workflowSteps.add(new WorkflowStep(historicActivityInstance.getActivityId(), historicActivityInstance.getActivityName(),
                 DmDateUtils.getXMLGregorianCalendarValue(historicActivityInstance.getStartTime()),
                 DmDateUtils.getXMLGregorianCalendarValue(historicActivityInstance.getEndTime())));
         }
-
-        job.setCompletedWorkflowSteps(completedWorkflowSteps);
+        return workflowSteps;
     }
 
     /**
@@ -492,12 +805,34 @@ public class JobServiceImpl implements JobService
      * @param parameters parameters to merge
      */
     private void putParametersFromS3(String s3BucketName, String s3ObjectKey, Map<String, Object> parameters)
+    {
+        putParametersFromS3(s3BucketName, s3ObjectKey, parameters, new HashMap<String, Map<String, Object>>());
+    }
+
+    /**
+     * Gets a Java properties from the given S3 location, and puts the key-value pairs into the given parameters. The properties of an S3 location are only
+     * retrieved once for a given cache. If either bucket name or object key is null, this method does nothing.
+     *
+     * @param s3BucketName S3 bucket name
+     * @param s3ObjectKey S3 object key
+     * @param parameters parameters to merge
+     * @param s3ParametersCache the parameters previously retrieved, keyed by S3 location
+     */
+    private void putParametersFromS3(String s3BucketName, String s3ObjectKey, Map<String, Object> parameters,
+        Map<String, Map<String, Object>> s3ParametersCache)
     {
         if (s3BucketName != null && s3ObjectKey != null)
         {
-            S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = dmDaoHelper.getS3FileTransferRequestParamsDto();
-            Properties properties = s3Dao.getProperties(s3BucketName, s3ObjectKey, s3FileTransferRequestParamsDto);
-            parameters.putAll(javaPropertiesHelper.toMap(properties));
+            String s3Location = s3BucketName + "/" + s3ObjectKey;
+            Map<String, Object> s3Parameters = s3ParametersCache.get(s3Location);
+            if (s3Parameters == null)
+            {
+                S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = dmDaoHelper.getS3FileTransferRequestParamsDto();
+                Properties properties = s3Dao.getProperties(s3BucketName, s3ObjectKey, s3FileTransferRequestParamsDto);
+                s3Parameters = javaPropertiesHelper.toMap(properties);
+                s3ParametersCache.put(s3Location, s3Parameters);
+            }
+            parameters.putAll(s3Parameters);
         }
     }
 
@@ -516,11 +851,26 @@ public class JobServiceImpl implements JobService
      * @return merged parameters
      */
     private Map<String, Object> getParameters(JobDefinitionEntity jobDefinitionEntity, JobCreateRequest jobCreateRequest)
+    {
+        return getParameters(jobDefinitionEntity, jobCreateRequest, new HashMap<String, Map<String, Object>>());
+    }
+
+    /**
+     * Gets the merged parameters the same way as {@link #getParameters(JobDefinitionEntity, JobCreateRequest)}, retrieving the properties of each S3 location
+     * only once for the given cache.
+     *
+     * @param jobDefinitionEntity {@link JobDefinitionEntity}
+     * @param jobCreateRequest {@link JobCreateRequest}
+     * @param s3ParametersCache the parameters previously retrieved, keyed by S3 location
+     * @return merged parameters
+     */
+    private Map<String, Object> getParameters(JobDefinitionEntity jobDefinitionEntity, JobCreateRequest jobCreateRequest,
+        Map<String, Map<String, Object>> s3ParametersCache)
     {
         Map<String, Object> mergedParameters = new HashMap<>();
 
         // Get parameters from job definition S3 location
-        putParametersFromS3(jobDefinitionEntity.getS3BucketName(), jobDefinitionEntity.getS3ObjectKey(), mergedParameters);
+        putParametersFromS3(jobDefinitionEntity.getS3BucketName(), jobDefinitionEntity.getS3ObjectKey(), mergedParameters, s3ParametersCache);
 
         // Get parameters from job definition parameters
         for (JobDefinitionParameterEntity definitionParam : jobDefinitionEntity.getParameters())
@@ -532,7 +882,7 @@ public class JobServiceImpl implements JobService
         S3PropertiesLocation s3PropertiesLocation = jobCreateRequest.getS3PropertiesLocation();
         if (s3PropertiesLocation != null)
         {
-            putParametersFromS3(s3PropertiesLocation.getBucketName(), s3PropertiesLocation.getKey(), mergedParameters);
+            putParametersFromS3(s3PropertiesLocation.getBucketName(), s3PropertiesLocation.getKey(), mergedParameters, s3ParametersCache);
         }
 
         // Get parameters from job create request parameters
@@ -16,7 +16,9 @@
 package org.finra.dm.service.impl;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Future;
 
 import org.apache.log4j.Logger;
@@ -40,6 +42,8 @@ import org.finra.dm.model.jpa.StorageUnitEntity;
 import org.finra.dm.model.api.xml.BusinessObjectDataKey;
 import org.finra.dm.service.NotificationActionService;
 import org.finra.dm.service.NotificationEventService;
+import org.finra.dm.service.config.ServiceSpringModuleConfig;
+import org.finra.dm.service.helper.BusinessObjectDataNotificationRegistrationIndex;
 import org.finra.dm.service.helper.DmHelper;
 import org.finra.dm.service.helper.NotificationActionFactory;
 
@@ -61,6 +65,9 @@ public class NotificationEventServiceImpl implements NotificationEventService
     @Autowired
     private DmDao dmDao;
 
+    @Autowired
+    private BusinessObjectDataNotificationRegistrationIndex businessObjectDataNotificationRegistrationIndex;
+
     /**
      * Asynchronously handles the notification for the business object data changes.
      *
@@ -69,7 +76,7 @@ public class NotificationEventServiceImpl implements NotificationEventService
      *
      * @return a future to know the asynchronous state of this method.
      */
-    @Async
+    @Async(ServiceSpringModuleConfig.NOTIFICATION_TASK_EXECUTOR_BEAN_NAME)
     public Future<Void> processBusinessObjectDataNotificationEventAsync(NotificationEventTypeEntity.EVENT_TYPES_BDATA eventType, BusinessObjectDataKey key)
     {
         processBusinessObjectDataNotificationEventSync(eventType, key);
@@ -89,37 +96,65 @@ public class NotificationEventServiceImpl implements NotificationEventService
      */
     public List<Object> processBusinessObjectDataNotificationEventSync(NotificationEventTypeEntity.EVENT_TYPES_BDATA eventType, BusinessObjectDataKey key)
     {
-        // Retrieve the notifications matching the event type.
-        List<BusinessObjectDataNotificationRegistrationEntity> businessObjectDataNotificationRegistrationEntities =
-            dmDao.getBusinessObjectDataNotificationRegistrations(eventType.name(), key);
+        // Retrieve the notifications matching the event type from the in-memory registration index.
+        List<BusinessObjectDataNotificationRegistrationIndex.IndexedRegistration> indexedRegistrations =
+            businessObjectDataNotificationRegistrationIndex.getMatchingRegistrations(eventType.name(), key);
 
-        BusinessObjectDataEntity businessObjectDataEntity = dmDao.getBusinessObjectDataByAltKey(key);
+        // The storage names of the business object data are only loaded when a registration filters on storage.
+        Set<String> storageNames = null;
 
         List<BusinessObjectDataNotificationRegistrationEntity> notificationRegistrationsToProcess = new ArrayList<>();
 
-        for (BusinessObjectDataNotificationRegistrationEntity notificationRegistration : businessObjectDataNotificationRegistrationEntities)
+        for (BusinessObjectDataNotificationRegistrationIndex.IndexedRegistration indexedRegistration : indexedRegistrations)
         {
-            if (notificationRegistration.getStorage() == null)
+            if (indexedRegistration.getStorageName() != null)
             {
-                notificationRegistrationsToProcess.add(notificationRegistration);
-            }
-            else
-            {
-                String filterStorageName = notificationRegistration.getStorage().getName();
-                for (StorageUnitEntity storageUnitEntity : businessObjectDataEntity.getStorageUnits())
+                if (storageNames == null)
+                {
+                    storageNames = getStorageNames(key);
+                }
+
+                if (!storageNames.contains(indexedRegistration.getStorageName().toUpperCase()))
                 {
-                    if (filterStorageName.equalsIgnoreCase(storageUnitEntity.getStorage().getName()))
-                    {
-                        notificationRegistrationsToProcess.add(notificationRegistration);
-                        break;
-                    }
+                    continue;
                 }
             }
+
+            // Load the registration so its notification actions can be processed. The registration might have been deleted since the index was built.
+            BusinessObjectDataNotificationRegistrationEntity notificationRegistration =
+                dmDao.findById(BusinessObjectDataNotificationRegistrationEntity.class, indexedRegistration.getId());
+            if (notificationRegistration != null)
+            {
+                notificationRegistrationsToProcess.add(notificationRegistration);
+            }
         }
 
         return processBusinessObjectDataNotifications(eventType.name(), notificationRegistrationsToProcess, key);
     }
 
+    /**
+     * Gets the upper case names of the storages the specified business object data has storage units in.
+     *
+     * @param key the business object data key
+     *
+     * @return the set of upper case storage names, empty if the business object data does not exist
+     */
+    private Set<String> getStorageNames(BusinessObjectDataKey key)
+    {
+        Set<String> storageNames = new HashSet<>();
+
+        BusinessObjectDataEntity businessObjectDataEntity = dmDao.getBusinessObjectDataByAltKey(key);
+        if (businessObjectDataEntity != null)
+        {
+            for (StorageUnitEntity storageUnitEntity : businessObjectDataEntity.getStorageUnits())
+            {
+                storageNames.add(storageUnitEntity.getStorage().getName().toUpperCase());
+            }
+        }
+
+        return storageNames;
+    }
+
     private List<Object> processBusinessObjectDataNotifications(String eventType,
         List<BusinessObjectDataNotificationRegistrationEntity> businessObjectDataNotifications, BusinessObjectDataKey key)
     {
@@ -23,6 +23,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.finra.dm.dao.S3Dao;
+import org.finra.dm.dao.StorageFileHandler;
 import org.finra.dm.dao.config.DaoSpringModuleConfig;
 import org.finra.dm.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.dm.model.dto.S3FileTransferRequestParamsDto;
@@ -63,6 +64,18 @@ public class S3ServiceImpl implements S3Service
         return s3Dao.listDirectory(params, ignoreZeroByteDirectoryMarkers);
     }
 
+    @Override
+    public void listDirectory(S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers, StorageFileHandler storageFileHandler)
+    {
+        s3Dao.listDirectory(params, ignoreZeroByteDirectoryMarkers, storageFileHandler);
+    }
+
+    @Override
+    public boolean isDirectoryEmpty(S3FileTransferRequestParamsDto params)
+    {
+        return s3Dao.isDirectoryEmpty(params);
+    }
+
     @Override
     public S3FileTransferResultsDto uploadFile(S3FileTransferRequestParamsDto params) throws InterruptedException
     {
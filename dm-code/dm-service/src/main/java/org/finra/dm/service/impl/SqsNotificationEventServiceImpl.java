@@ -15,6 +15,9 @@
 */
 package org.finra.dm.service.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +29,7 @@ import org.finra.dm.dao.config.DaoSpringModuleConfig;
 import org.finra.dm.model.dto.ConfigurationValue;
 import org.finra.dm.model.jpa.JmsMessageEntity;
 import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusUpdateResponse;
 import org.finra.dm.service.SqsNotificationEventService;
 import org.finra.dm.service.helper.DmDaoHelper;
 import org.finra.dm.service.helper.SqsMessageBuilder;
@@ -57,6 +61,39 @@ public class SqsNotificationEventServiceImpl implements SqsNotificationEventServ
             "business object data status change");
     }
 
+    @Override
+    public List<JmsMessageEntity> processBusinessObjectDataStatusChangeNotificationEvents(
+        List<BusinessObjectDataStatusUpdateResponse> businessObjectDataStatusUpdates)
+    {
+        List<JmsMessageEntity> jmsMessageEntities = new ArrayList<>();
+
+        // Only process messages if the service is enabled.
+        if (isDmSqsNotificationEnabled())
+        {
+            List<String> messageTexts = new ArrayList<>();
+
+            for (BusinessObjectDataStatusUpdateResponse businessObjectDataStatusUpdate : businessObjectDataStatusUpdates)
+            {
+                String messageText = sqsMessageBuilder
+                    .buildBusinessObjectDataStatusChangeMessage(businessObjectDataStatusUpdate.getBusinessObjectDataKey(),
+                        businessObjectDataStatusUpdate.getStatus(), businessObjectDataStatusUpdate.getPreviousStatus());
+
+                // The message template is the same for all of the status changes, so stop as soon as we know that it is not configured.
+                if (messageText == null)
+                {
+                    LOGGER.warn("Not sending \"business object data status change\" messages because it is not configured.");
+                    return jmsMessageEntities;
+                }
+
+                messageTexts.add(messageText);
+            }
+
+            jmsMessageEntities.addAll(dmDaoHelper.addJmsMessagesToDatabaseQueue(getSqsQueueName(), messageTexts));
+        }
+
+        return jmsMessageEntities;
+    }
+
     @Override
     public JmsMessageEntity processSystemMonitorNotificationEvent(String systemMonitorRequestPayload)
     {
@@ -21,9 +21,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import org.finra.dm.core.helper.ConfigurationHelper;
 import org.finra.dm.dao.S3Dao;
 import org.finra.dm.dao.config.DaoSpringModuleConfig;
 import org.finra.dm.model.dto.AwsParamsDto;
+import org.finra.dm.model.dto.ConfigurationValue;
 import org.finra.dm.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.dm.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.dm.model.jpa.BusinessObjectDataEntity;
@@ -43,6 +45,9 @@ public class UploadDownloadHelperServiceImpl implements UploadDownloadHelperServ
 {
     private static final Logger LOGGER = Logger.getLogger(UploadDownloadHelperServiceImpl.class);
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Autowired
     private DmHelper dmHelper;
 
@@ -90,6 +95,7 @@ public class UploadDownloadHelperServiceImpl implements UploadDownloadHelperServ
         params.setKmsKeyId(kmsKeyId);
         params.setHttpProxyHost(awsParams.getHttpProxyHost());
         params.setHttpProxyPort(awsParams.getHttpProxyPort());
+        params.setMaxThreads(configurationHelper.getProperty(ConfigurationValue.S3_COPY_MAX_THREADS, Integer.class));
 
         String targetStatus;
         String sourceStatus;
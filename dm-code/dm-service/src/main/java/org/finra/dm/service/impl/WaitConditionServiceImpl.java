@@ -0,0 +1,273 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.impl.cmd.AbstractCustomSqlExecution;
+import org.activiti.engine.runtime.Execution;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import org.finra.dm.core.helper.ConfigurationHelper;
+import org.finra.dm.dao.helper.JsonHelper;
+import org.finra.dm.model.dto.ConfigurationValue;
+import org.finra.dm.service.WaitConditionService;
+import org.finra.dm.service.activiti.ActivitiHelper;
+import org.finra.dm.service.activiti.WaitConditionMapper;
+import org.finra.dm.service.activiti.WaitConditionParameters;
+import org.finra.dm.service.activiti.task.BaseWaitTask;
+import org.finra.dm.service.helper.DmErrorInformationExceptionHandler;
+import org.finra.dm.service.helper.WaitCondition;
+
+/**
+ * The wait condition service implementation.
+ */
+@Service
+public class WaitConditionServiceImpl implements WaitConditionService
+{
+    private static final Logger LOGGER = Logger.getLogger(WaitConditionServiceImpl.class);
+
+    @Autowired
+    private List<WaitCondition> waitConditions;
+
+    @Autowired
+    private RuntimeService activitiRuntimeService;
+
+    @Autowired
+    private ManagementService activitiManagementService;
+
+    @Autowired
+    private JsonHelper jsonHelper;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    @Qualifier("dmErrorInformationExceptionHandler") // This is to ensure we get the base class bean rather than any classes that extend it.
+    private DmErrorInformationExceptionHandler errorInformationExceptionHandler;
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This method is intentionally not transactional. Each Activiti call runs in its own transaction, so a failure to evaluate a condition or to signal an
+     * execution does not roll back the executions that were already signalled.
+     */
+    @Override
+    public int signalSatisfiedWaitConditions()
+    {
+        int signalledExecutionsCount = 0;
+
+        for (WaitCondition waitCondition : waitConditions)
+        {
+            List<Execution> waitingExecutions = activitiRuntimeService.createExecutionQuery()
+                .variableValueEquals(BaseWaitTask.VARIABLE_WAIT_CONDITION_TYPE, waitCondition.getConditionType()).list();
+            if (waitingExecutions.isEmpty())
+            {
+                continue;
+            }
+
+            // Read the condition parameters of all the waiting executions at once rather than one execution at a time.
+            Map<String, String> parametersByExecutionId = getWaitConditionParameters(waitCondition.getConditionType());
+
+            // Group the waiting executions by their condition parameters.
+            Map<String, List<Execution>> executionsByParameters = new LinkedHashMap<>();
+            for (Execution execution : waitingExecutions)
+            {
+                if (!parametersByExecutionId.containsKey(execution.getId()))
+                {
+                    // The execution started waiting after the parameters were read, so it is evaluated the next time the watcher runs.
+                    continue;
+                }
+
+                String parameters = parametersByExecutionId.get(execution.getId());
+                if (parameters == null)
+                {
+                    // Long parameters are not stored as a string variable, so they are read through the Activiti API.
+                    parameters = (String) activitiRuntimeService.getVariableLocal(execution.getId(), BaseWaitTask.VARIABLE_WAIT_CONDITION_PARAMETERS);
+                }
+
+                List<Execution> executions = executionsByParameters.get(parameters);
+                if (executions == null)
+                {
+                    executions = new ArrayList<>();
+                    executionsByParameters.put(parameters, executions);
+                }
+                executions.add(execution);
+            }
+
+            for (Map.Entry<String, List<Execution>> entry : executionsByParameters.entrySet())
+            {
+                Map<String, Object> variables;
+                try
+                {
+                    @SuppressWarnings("unchecked")
+                    Map<String, String> parameters = jsonHelper.unmarshallJsonToObject(Map.class, entry.getKey());
+                    variables = waitCondition.evaluate(parameters);
+                }
+                catch (Exception e)
+                {
+                    LOGGER.warn(String.format("Failed to evaluate \"%s\" wait condition with parameters %s.", waitCondition.getConditionType(), entry.getKey()),
+                        e);
+
+                    // Errors that are not reportable (e.g. an object that does not exist) are not transient, so there is no point in evaluating the condition
+                    // again. Other errors are retried the next time the watcher runs up to the configured number of failed evaluations in a row.
+                    boolean transientError = errorInformationExceptionHandler.isReportableError(e);
+                    for (Execution execution : entry.getValue())
+                    {
+                        if (recordFailedEvaluation(execution, transientError, e.getMessage()))
+                        {
+                            signalledExecutionsCount++;
+                        }
+                    }
+                    continue;
+                }
+
+                if (variables != null)
+                {
+                    for (Execution execution : entry.getValue())
+                    {
+                        if (signalExecution(execution, getTaskVariables(execution, variables)))
+                        {
+                            signalledExecutionsCount++;
+                        }
+                    }
+                }
+            }
+        }
+
+        return signalledExecutionsCount;
+    }
+
+    /**
+     * Gets the condition parameters of all the executions that wait for the specified wait condition type.
+     *
+     * @param conditionType the wait condition type
+     *
+     * @return the map of execution ids to the wait condition parameters in JSON format, the parameters are null when they are too long to be stored as a
+     * string variable
+     */
+    private Map<String, String> getWaitConditionParameters(final String conditionType)
+    {
+        List<WaitConditionParameters> waitConditionParametersList = activitiManagementService
+            .executeCustomSql(new AbstractCustomSqlExecution<WaitConditionMapper, List<WaitConditionParameters>>(WaitConditionMapper.class)
+            {
+                @Override
+                public List<WaitConditionParameters> execute(WaitConditionMapper waitConditionMapper)
+                {
+                    return waitConditionMapper.selectWaitConditionParameters(BaseWaitTask.VARIABLE_WAIT_CONDITION_TYPE,
+                        BaseWaitTask.VARIABLE_WAIT_CONDITION_PARAMETERS, conditionType);
+                }
+            });
+
+        Map<String, String> parametersByExecutionId = new HashMap<>();
+        for (WaitConditionParameters waitConditionParameters : waitConditionParametersList)
+        {
+            parametersByExecutionId.put(waitConditionParameters.getExecutionId(), waitConditionParameters.getParameters());
+        }
+
+        return parametersByExecutionId;
+    }
+
+    /**
+     * Records a failed evaluation of the wait condition of a waiting execution. Once the error is not transient or the wait condition failed to be evaluated
+     * the configured number of times in a row, the execution is signalled with the error message so that the wait task sets the task error status and leaves
+     * rather than waiting forever.
+     *
+     * @param execution the waiting execution
+     * @param transientError whether the evaluation failed with an error that may go away when the condition is evaluated again
+     * @param errorMessage the error message
+     *
+     * @return true if the execution was signalled, false otherwise
+     */
+    private boolean recordFailedEvaluation(Execution execution, boolean transientError, String errorMessage)
+    {
+        try
+        {
+            Integer failedEvaluations =
+                (Integer) activitiRuntimeService.getVariableLocal(execution.getId(), BaseWaitTask.VARIABLE_WAIT_CONDITION_FAILED_EVALUATIONS);
+            failedEvaluations = (failedEvaluations == null ? 1 : failedEvaluations + 1);
+
+            if (transientError && failedEvaluations < configurationHelper.getProperty(ConfigurationValue.WAIT_CONDITION_MAX_FAILED_EVALUATIONS, Integer.class))
+            {
+                activitiRuntimeService.setVariableLocal(execution.getId(), BaseWaitTask.VARIABLE_WAIT_CONDITION_FAILED_EVALUATIONS, failedEvaluations);
+                return false;
+            }
+        }
+        catch (Exception e)
+        {
+            LOGGER.error(String.format("Failed to record a failed wait condition evaluation of the waiting execution \"%s\" of process instance \"%s\".",
+                execution.getId(), execution.getProcessInstanceId()), e);
+            return false;
+        }
+
+        LOGGER.warn(String.format("Giving up on the wait condition of the waiting execution \"%s\" of process instance \"%s\".", execution.getId(),
+            execution.getProcessInstanceId()));
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put(BaseWaitTask.VARIABLE_WAIT_CONDITION_ERROR_MESSAGE, errorMessage == null ? "Failed to evaluate the wait condition." : errorMessage);
+        return signalExecution(execution, variables);
+    }
+
+    /**
+     * Gets the specified variables as task workflow variables of the activity the execution waits in.
+     *
+     * @param execution the waiting execution
+     * @param variables the variables
+     *
+     * @return the task workflow variables
+     */
+    private Map<String, Object> getTaskVariables(Execution execution, Map<String, Object> variables)
+    {
+        Map<String, Object> taskVariables = new HashMap<>();
+        for (Map.Entry<String, Object> variable : variables.entrySet())
+        {
+            taskVariables.put(execution.getActivityId() + ActivitiHelper.TASK_VARIABLE_MARKER + variable.getKey(), variable.getValue());
+        }
+        return taskVariables;
+    }
+
+    /**
+     * Signals a waiting execution, setting the specified variables along with the signal.
+     *
+     * @param execution the waiting execution
+     * @param variables the variables
+     *
+     * @return true if the execution was signalled, false otherwise
+     */
+    private boolean signalExecution(Execution execution, Map<String, Object> variables)
+    {
+        try
+        {
+            activitiRuntimeService.signal(execution.getId(), variables);
+            return true;
+        }
+        catch (Exception e)
+        {
+            LOGGER.error(String.format("Failed to signal the waiting execution \"%s\" of process instance \"%s\".", execution.getId(),
+                execution.getProcessInstanceId()), e);
+            return false;
+        }
+    }
+}
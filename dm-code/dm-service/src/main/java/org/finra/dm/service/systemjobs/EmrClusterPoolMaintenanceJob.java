@@ -0,0 +1,98 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.systemjobs;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+import org.finra.dm.model.api.xml.EmrClusterDefinitionKey;
+import org.finra.dm.model.api.xml.Parameter;
+import org.finra.dm.model.dto.ConfigurationValue;
+import org.finra.dm.service.EmrClusterPoolService;
+
+/**
+ * The EMR cluster pool maintenance job. It launches and terminates pooled EMR clusters so that every EMR cluster definition keeps its configured number of idle
+ * clusters while it is in use.
+ */
+@Component(EmrClusterPoolMaintenanceJob.JOB_NAME)
+@DisallowConcurrentExecution
+public class EmrClusterPoolMaintenanceJob extends AbstractSystemJob
+{
+    public static final String JOB_NAME = "emrClusterPoolMaintenance";
+
+    private static final Logger LOGGER = Logger.getLogger(EmrClusterPoolMaintenanceJob.class);
+
+    @Autowired
+    private EmrClusterPoolService emrClusterPoolService;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException
+    {
+        // Log that the system job is started.
+        LOGGER.debug(String.format("Started \"%s\" system job.", JOB_NAME));
+
+        // Maintain the pool of every EMR cluster definition separately, so a failure with one definition does not affect the others.
+        for (EmrClusterDefinitionKey emrClusterDefinitionKey : emrClusterPoolService.getEmrClusterDefinitionKeys())
+        {
+            try
+            {
+                int launchedClusterCount = emrClusterPoolService.maintainEmrClusterPool(emrClusterDefinitionKey);
+                if (launchedClusterCount > 0)
+                {
+                    LOGGER.info(String.format("Launched %d pooled EMR clusters for \"%s\" namespace and \"%s\" EMR cluster definition.", launchedClusterCount,
+                        emrClusterDefinitionKey.getNamespace(), emrClusterDefinitionKey.getEmrClusterDefinitionName()));
+                }
+            }
+            catch (Exception e)
+            {
+                // Log the exception.
+                LOGGER.error(String.format("Failed to maintain the EMR cluster pool of \"%s\" namespace and \"%s\" EMR cluster definition.",
+                    emrClusterDefinitionKey.getNamespace(), emrClusterDefinitionKey.getEmrClusterDefinitionName()), e);
+            }
+        }
+
+        // Log that the system job is ended.
+        LOGGER.debug(String.format("Completed \"%s\" system job.", JOB_NAME));
+    }
+
+    @Override
+    public void validateParameters(List<Parameter> parameters)
+    {
+        // This system job accepts no parameters.
+        Assert.isTrue(CollectionUtils.isEmpty(parameters), String.format("\"%s\" system job does not except parameters.", JOB_NAME));
+    }
+
+    @Override
+    public JobDataMap getJobDataMap()
+    {
+        return getJobDataMapWithoutParameters();
+    }
+
+    @Override
+    public String getCronExpression()
+    {
+        return configurationHelper.getProperty(ConfigurationValue.EMR_CLUSTER_POOL_MAINTENANCE_JOB_CRON_EXPRESSION);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.systemjobs;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+import org.finra.dm.model.api.xml.Parameter;
+import org.finra.dm.model.dto.ConfigurationValue;
+import org.finra.dm.service.WaitConditionService;
+
+/**
+ * The wait condition watcher job. It evaluates the conditions that workflows waiting in wait tasks wait on and signals the workflows whose condition is
+ * satisfied.
+ */
+@Component(WaitConditionWatcherJob.JOB_NAME)
+@DisallowConcurrentExecution
+public class WaitConditionWatcherJob extends AbstractSystemJob
+{
+    public static final String JOB_NAME = "waitConditionWatcher";
+
+    private static final Logger LOGGER = Logger.getLogger(WaitConditionWatcherJob.class);
+
+    @Autowired
+    private WaitConditionService waitConditionService;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException
+    {
+        // Log that the system job is started.
+        LOGGER.debug(String.format("Started \"%s\" system job.", JOB_NAME));
+
+        // Signal the waiting workflows whose wait condition is satisfied.
+        try
+        {
+            int signalledExecutionsCount = waitConditionService.signalSatisfiedWaitConditions();
+            LOGGER.debug(String.format("Signalled %d waiting workflow executions.", signalledExecutionsCount));
+        }
+        catch (Exception e)
+        {
+            // Log the exception.
+            LOGGER.error("Failed to evaluate wait conditions.", e);
+        }
+
+        // Log that the system job is ended.
+        LOGGER.debug(String.format("Completed \"%s\" system job.", JOB_NAME));
+    }
+
+    @Override
+    public void validateParameters(List<Parameter> parameters)
+    {
+        // This system job accepts no parameters.
+        Assert.isTrue(CollectionUtils.isEmpty(parameters), String.format("\"%s\" system job does not except parameters.", JOB_NAME));
+    }
+
+    @Override
+    public JobDataMap getJobDataMap()
+    {
+        return getJobDataMapWithoutParameters();
+    }
+
+    @Override
+    public String getCronExpression()
+    {
+        return configurationHelper.getProperty(ConfigurationValue.WAIT_CONDITION_WATCHER_JOB_CRON_EXPRESSION);
+    }
+}
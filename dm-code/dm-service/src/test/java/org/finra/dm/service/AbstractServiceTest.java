@@ -184,6 +184,8 @@ public abstract class AbstractServiceTest extends AbstractDaoTest
         "classpath:org/finra/dm/service/activitiWorkflowLogVariablesNoRegex.bpmn20.xml";
     protected static final String ACTIVITI_XML_CREATE_CLUSTER_WITH_CLASSPATH = "classpath:org/finra/dm/service/activitiWorkflowCreateEmrCluster.bpmn20.xml";
     protected static final String ACTIVITI_XML_CHECK_CLUSTER_WITH_CLASSPATH = "classpath:org/finra/dm/service/activitiWorkflowCheckEmrCluster.bpmn20.xml";
+    protected static final String ACTIVITI_XML_WAIT_FOR_CLUSTER_STATUS_WITH_CLASSPATH =
+        "classpath:org/finra/dm/service/activitiWorkflowWaitForEmrClusterStatus.bpmn20.xml";
     protected static final String ACTIVITI_XML_TERMINATE_CLUSTER_WITH_CLASSPATH =
         "classpath:org/finra/dm/service/activitiWorkflowTerminateEmrCluster.bpmn20.xml";
     protected static final String ACTIVITI_XML_ADD_EMR_MASTER_SECURITY_GROUPS_WITH_CLASSPATH =
@@ -429,6 +431,9 @@ public abstract class AbstractServiceTest extends AbstractDaoTest
     @Autowired
     protected JdbcService jdbcService;
 
+    @Autowired
+    protected EntityVersionService entityVersionService;
+
     @Autowired
     protected BusinessObjectDataInvalidateUnregisteredHelper businessObjectDataInvalidateUnregisteredHelper;
 
@@ -20,15 +20,23 @@ import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 
 import org.finra.dm.model.ObjectNotFoundException;
+import org.finra.dm.model.dto.ConfigurationValue;
 import org.finra.dm.model.jpa.BusinessObjectDataEntity;
+import org.finra.dm.model.jpa.BusinessObjectFormatEntity;
 import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusBulkUpdateRequest;
+import org.finra.dm.model.api.xml.BusinessObjectDataStatusBulkUpdateResponse;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatusInformation;
 import org.finra.dm.model.api.xml.BusinessObjectDataStatusUpdateResponse;
+import org.finra.dm.model.api.xml.BusinessObjectFormatKey;
+import org.finra.dm.model.api.xml.PartitionValueRange;
 
 /**
  * This class tests various functionality within the business object data status REST controller.
@@ -825,4 +833,144 @@ public class BusinessObjectDataStatusServiceTest extends AbstractServiceTest
             assertEquals("Business object data status \"I_DO_NOT_EXIST\" doesn't exist.", e.getMessage());
         }
     }
+
+    @Test
+    public void testUpdateBusinessObjectDataStatusesByKeys() throws Exception
+    {
+        // Create and persist relative test entities.
+        List<BusinessObjectDataKey> businessObjectDataKeys = new ArrayList<>();
+        for (String partitionValue : Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2, PARTITION_VALUE_3))
+        {
+            createBusinessObjectDataEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, partitionValue,
+                SUBPARTITION_VALUES, DATA_VERSION, true, BDATA_STATUS);
+            businessObjectDataKeys.add(
+                new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, partitionValue,
+                    SUBPARTITION_VALUES, DATA_VERSION));
+        }
+        createBusinessObjectDataStatusEntity(BDATA_STATUS_2);
+
+        // Override the chunk size, so the updates get split across multiple chunks.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.BUSINESS_OBJECT_DATA_STATUS_BULK_UPDATE_CHUNK_SIZE.getKey(), 2);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        BusinessObjectDataStatusBulkUpdateResponse response;
+        try
+        {
+            // Update the business object data statuses.
+            response = businessObjectDataService.updateBusinessObjectDataStatuses(
+                new BusinessObjectDataStatusBulkUpdateRequest(businessObjectDataKeys, null, null, BDATA_STATUS_2));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+
+        // Validate the returned object.
+        assertEquals(businessObjectDataKeys.size(), response.getBusinessObjectDataStatusUpdateResponses().size());
+        for (int i = 0; i < businessObjectDataKeys.size(); i++)
+        {
+            validateBusinessObjectDataStatusUpdateResponse(businessObjectDataKeys.get(i), BDATA_STATUS_2, BDATA_STATUS,
+                response.getBusinessObjectDataStatusUpdateResponses().get(i));
+
+            // Validate that the status got updated and recorded in the status history.
+            BusinessObjectDataEntity businessObjectDataEntity = dmDao.getBusinessObjectDataByAltKey(businessObjectDataKeys.get(i));
+            assertEquals(BDATA_STATUS_2, businessObjectDataEntity.getStatus().getCode());
+            assertEquals(1, businessObjectDataEntity.getHistoricalStatuses().size());
+        }
+    }
+
+    @Test
+    public void testUpdateBusinessObjectDataStatusesByPartitionValueRange()
+    {
+        // Create and persist relative test entities. Only the latest business object data version within the range is expected to be updated.
+        BusinessObjectFormatEntity businessObjectFormatEntity =
+            createBusinessObjectFormatEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, FORMAT_DESCRIPTION, true,
+                PARTITION_KEY);
+        createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE, INITIAL_DATA_VERSION, false, BDATA_STATUS);
+        createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE, SECOND_DATA_VERSION, true, BDATA_STATUS);
+        createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE_2, INITIAL_DATA_VERSION, true, BDATA_STATUS);
+        createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE_3, INITIAL_DATA_VERSION, true, BDATA_STATUS);
+        createBusinessObjectDataStatusEntity(BDATA_STATUS_2);
+
+        // Update the business object data statuses using a partition value range.
+        BusinessObjectDataStatusBulkUpdateResponse response = businessObjectDataService.updateBusinessObjectDataStatuses(
+            new BusinessObjectDataStatusBulkUpdateRequest(null,
+                new BusinessObjectFormatKey(addWhitespace(NAMESPACE_CD), addWhitespace(BOD_NAME), addWhitespace(FORMAT_USAGE_CODE),
+                    addWhitespace(FORMAT_FILE_TYPE_CODE), FORMAT_VERSION),
+                new PartitionValueRange(addWhitespace(PARTITION_VALUE), addWhitespace(PARTITION_VALUE_2)), addWhitespace(BDATA_STATUS_2)));
+
+        // Validate the returned object.
+        assertEquals(2, response.getBusinessObjectDataStatusUpdateResponses().size());
+        validateBusinessObjectDataStatusUpdateResponse(
+            new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, NO_SUBPARTITION_VALUES,
+                SECOND_DATA_VERSION), BDATA_STATUS_2, BDATA_STATUS, response.getBusinessObjectDataStatusUpdateResponses().get(0));
+        validateBusinessObjectDataStatusUpdateResponse(
+            new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                NO_SUBPARTITION_VALUES, INITIAL_DATA_VERSION), BDATA_STATUS_2, BDATA_STATUS, response.getBusinessObjectDataStatusUpdateResponses().get(1));
+    }
+
+    @Test
+    public void testUpdateBusinessObjectDataStatusesInvalidParameters()
+    {
+        createBusinessObjectDataStatusEntity(BDATA_STATUS);
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+        BusinessObjectFormatKey businessObjectFormatKey =
+            new BusinessObjectFormatKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION);
+
+        // Try to update business object data statuses without specifying the business object data to update.
+        try
+        {
+            businessObjectDataService.updateBusinessObjectDataStatuses(new BusinessObjectDataStatusBulkUpdateRequest(null, null, null, BDATA_STATUS));
+            fail("Should throw an IllegalArgumentException when neither business object data keys nor a business object format key are specified.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("Either a list of business object data keys or a business object format key with a partition value range must be specified.",
+                e.getMessage());
+        }
+
+        // Try to update business object data statuses specifying both business object data keys and a business object format key.
+        try
+        {
+            businessObjectDataService.updateBusinessObjectDataStatuses(
+                new BusinessObjectDataStatusBulkUpdateRequest(Arrays.asList(businessObjectDataKey), businessObjectFormatKey,
+                    new PartitionValueRange(PARTITION_VALUE, PARTITION_VALUE_2), BDATA_STATUS));
+            fail("Should throw an IllegalArgumentException when both business object data keys and a business object format key are specified.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("Either a list of business object data keys or a business object format key with a partition value range must be specified.",
+                e.getMessage());
+        }
+
+        // Try to update business object data statuses using duplicate business object data keys.
+        try
+        {
+            businessObjectDataService.updateBusinessObjectDataStatuses(
+                new BusinessObjectDataStatusBulkUpdateRequest(Arrays.asList(businessObjectDataKey, businessObjectDataKey), null, null, BDATA_STATUS));
+            fail("Should throw an IllegalArgumentException when duplicate business object data keys are specified.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("Duplicate business object data key found: %s", dmHelper.businessObjectDataKeyToString(businessObjectDataKey)),
+                e.getMessage());
+        }
+
+        // Try to update business object data statuses using a partition value range with the start partition value greater than the end one.
+        try
+        {
+            businessObjectDataService.updateBusinessObjectDataStatuses(
+                new BusinessObjectDataStatusBulkUpdateRequest(null, businessObjectFormatKey, new PartitionValueRange(PARTITION_VALUE_2, PARTITION_VALUE),
+                    BDATA_STATUS));
+            fail("Should throw an IllegalArgumentException when the start partition value is greater than the end partition value.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("The start partition value \"%s\" cannot be greater than the end partition value \"%s\".", PARTITION_VALUE_2,
+                PARTITION_VALUE), e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,56 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.dm.model.api.xml.DatabaseStatistics;
+
+/**
+ * This class tests functionality within the database statistics service.
+ */
+public class DatabaseStatisticsServiceTest extends AbstractServiceTest
+{
+    @Autowired
+    private DatabaseStatisticsService databaseStatisticsService;
+
+    @Test
+    public void testGetDatabaseStatistics()
+    {
+        // Run a query so there is at least one SQL statement in the statistics.
+        createNamespaceEntity(NAMESPACE_CD);
+        dmDao.getNamespaceByCd(NAMESPACE_CD);
+
+        DatabaseStatistics databaseStatistics = databaseStatisticsService.getDatabaseStatistics();
+
+        // The Hibernate statistics are disabled by default.
+        assertNotNull(databaseStatistics.getHibernateStatistics());
+        assertEquals(false, databaseStatistics.getHibernateStatistics().isStatisticsEnabled());
+
+        // The JUnit data source is a DBCP pool which exposes its pool statistics.
+        assertEquals("org.apache.commons.dbcp2.BasicDataSource", databaseStatistics.getDataSourcePoolStatistics().getDataSourceClassName());
+        assertNotNull(databaseStatistics.getDataSourcePoolStatistics().getActiveConnections());
+        assertNotNull(databaseStatistics.getDataSourcePoolStatistics().getIdleConnections());
+        assertNotNull(databaseStatistics.getDataSourcePoolStatistics().getMaxConnections());
+
+        assertTrue(databaseStatistics.getSqlStatementStatistics().getStatementCount() > 0);
+    }
+}
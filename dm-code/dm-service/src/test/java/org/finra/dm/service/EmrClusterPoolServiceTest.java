@@ -0,0 +1,233 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.services.elasticmapreduce.model.ClusterState;
+import com.amazonaws.services.elasticmapreduce.model.ListStepsRequest;
+import com.amazonaws.services.elasticmapreduce.model.StepSummary;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.dm.dao.EmrOperations;
+import org.finra.dm.model.api.xml.EmrCluster;
+import org.finra.dm.model.api.xml.EmrClusterCreateRequest;
+import org.finra.dm.model.api.xml.EmrClusterDefinition;
+import org.finra.dm.model.api.xml.EmrClusterDefinitionKey;
+import org.finra.dm.model.dto.EmrClusterAlternateKeyDto;
+import org.finra.dm.model.jpa.EmrClusterCreationLogEntity;
+import org.finra.dm.model.jpa.EmrClusterDefinitionEntity;
+import org.finra.dm.model.jpa.EmrClusterPoolEntity;
+
+/**
+ * This class tests functionality within the EMR cluster pool service.
+ */
+public class EmrClusterPoolServiceTest extends AbstractServiceTest
+{
+    private static final EmrClusterDefinitionKey EMR_CLUSTER_DEFINITION_KEY = new EmrClusterDefinitionKey(NAMESPACE_CD, EMR_CLUSTER_DEFINITION_NAME);
+
+    /**
+     * The name of the hadoop jar step of the test EMR cluster definition.
+     */
+    private static final String HADOOP_JAR_STEP_NAME = "Shell_step";
+
+    @Autowired
+    private EmrClusterPoolService emrClusterPoolService;
+
+    @Autowired
+    private EmrService emrService;
+
+    @Autowired
+    private EmrOperations emrOperations;
+
+    @Test
+    public void testMaintainEmrClusterPoolAndLease() throws Exception
+    {
+        EmrClusterDefinitionEntity emrClusterDefinitionEntity = createPooledEmrClusterDefinitionEntity(1);
+
+        // The pool stays cold until a cluster gets created for the definition.
+        assertEquals(0, emrClusterPoolService.maintainEmrClusterPool(EMR_CLUSTER_DEFINITION_KEY));
+        EmrCluster launchedEmrCluster = emrService.createCluster(getEmrClusterCreateRequest(getRandomEmrClusterName()));
+
+        // The pool gets topped up to its size once.
+        assertEquals(1, emrClusterPoolService.maintainEmrClusterPool(EMR_CLUSTER_DEFINITION_KEY));
+        assertEquals(0, emrClusterPoolService.maintainEmrClusterPool(EMR_CLUSTER_DEFINITION_KEY));
+        List<EmrClusterPoolEntity> emrClusterPoolEntities = dmDao.getEmrClusterPoolEntities(emrClusterDefinitionEntity);
+        assertEquals(1, emrClusterPoolEntities.size());
+        String pooledEmrClusterId = emrClusterPoolEntities.get(0).getEmrClusterId();
+        assertNotEquals(launchedEmrCluster.getId(), pooledEmrClusterId);
+
+        // The pooled cluster is launched without the hadoop jar steps of the definition.
+        assertTrue(getEmrClusterStepNames(launchedEmrCluster.getId()).contains(HADOOP_JAR_STEP_NAME));
+        assertFalse(getEmrClusterStepNames(pooledEmrClusterId).contains(HADOOP_JAR_STEP_NAME));
+
+        // The next create request leases the pooled cluster and gets audited like a launched cluster.
+        String emrClusterName = getRandomEmrClusterName();
+        EmrCluster leasedEmrCluster = emrService.createCluster(getEmrClusterCreateRequest(emrClusterName));
+        assertEquals(pooledEmrClusterId, leasedEmrCluster.getId());
+
+        // The hadoop jar steps of the definition are run on the leased cluster.
+        assertTrue(getEmrClusterStepNames(pooledEmrClusterId).contains(HADOOP_JAR_STEP_NAME));
+        assertTrue(leasedEmrCluster.isEmrClusterCreated());
+        assertEquals(emrClusterName, emrClusterPoolEntities.get(0).getLeaseEmrClusterName());
+        assertEquals(1, getEmrClusterCreationLogEntities(NAMESPACE_CD, EMR_CLUSTER_DEFINITION_NAME, emrClusterName).size());
+
+        // The leased cluster is found by the requested cluster name.
+        EmrClusterAlternateKeyDto emrClusterAlternateKeyDto =
+            EmrClusterAlternateKeyDto.builder().namespace(NAMESPACE_CD).emrClusterDefinitionName(EMR_CLUSTER_DEFINITION_NAME).emrClusterName(emrClusterName)
+                .build();
+        assertEquals(pooledEmrClusterId, emrService.getCluster(emrClusterAlternateKeyDto, null, null, false, false, false).getId());
+        assertEquals(pooledEmrClusterId, emrService.createCluster(getEmrClusterCreateRequest(emrClusterName)).getId());
+
+        // Terminating the leased cluster terminates it for good.
+        EmrCluster terminatedEmrCluster = emrService.terminateCluster(emrClusterAlternateKeyDto, false);
+        assertEquals(pooledEmrClusterId, terminatedEmrCluster.getId());
+        assertEquals(ClusterState.TERMINATED.toString(), terminatedEmrCluster.getStatus());
+        assertNull(dmDao.getEmrClusterPoolEntityByEmrClusterId(pooledEmrClusterId));
+    }
+
+    @Test
+    public void testMaintainEmrClusterPoolScaleDown() throws Exception
+    {
+        EmrClusterDefinitionEntity emrClusterDefinitionEntity = createPooledEmrClusterDefinitionEntity(2);
+        emrService.createCluster(getEmrClusterCreateRequest(getRandomEmrClusterName()));
+        assertEquals(2, emrClusterPoolService.maintainEmrClusterPool(EMR_CLUSTER_DEFINITION_KEY));
+
+        // Shrinking the pool terminates the idle clusters above the new size.
+        EmrClusterDefinition emrClusterDefinition = xmlHelper.unmarshallXmlToObject(EmrClusterDefinition.class, emrClusterDefinitionEntity.getConfiguration());
+        emrClusterDefinition.setIdleClusterPoolSize(0);
+        emrClusterDefinitionEntity.setConfiguration(xmlHelper.objectToXml(emrClusterDefinition));
+        dmDao.saveAndRefresh(emrClusterDefinitionEntity);
+
+        assertEquals(0, emrClusterPoolService.maintainEmrClusterPool(EMR_CLUSTER_DEFINITION_KEY));
+        assertTrue(dmDao.getEmrClusterPoolEntities(emrClusterDefinitionEntity).isEmpty());
+
+        // Without idle clusters, a create request launches a new cluster.
+        EmrCluster emrCluster = emrService.createCluster(getEmrClusterCreateRequest(getRandomEmrClusterName()));
+        assertTrue(emrCluster.isEmrClusterCreated());
+        assertTrue(dmDao.getEmrClusterPoolEntities(emrClusterDefinitionEntity).isEmpty());
+    }
+
+    @Test
+    public void testMaintainEmrClusterPoolKeepsHealthyIdleClusters() throws Exception
+    {
+        EmrClusterDefinitionEntity emrClusterDefinitionEntity = createPooledEmrClusterDefinitionEntity(1);
+        emrService.createCluster(getEmrClusterCreateRequest(getRandomEmrClusterName()));
+        assertEquals(1, emrClusterPoolService.maintainEmrClusterPool(EMR_CLUSTER_DEFINITION_KEY));
+
+        // An idle cluster that was launched longer than the idle time to live ago is kept while the definition is still in use.
+        EmrClusterPoolEntity emrClusterPoolEntity = dmDao.getEmrClusterPoolEntities(emrClusterDefinitionEntity).get(0);
+        String pooledEmrClusterId = emrClusterPoolEntity.getEmrClusterId();
+        emrClusterPoolEntity.setCreatedOn(new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)));
+        dmDao.saveAndRefresh(emrClusterPoolEntity);
+
+        assertEquals(0, emrClusterPoolService.maintainEmrClusterPool(EMR_CLUSTER_DEFINITION_KEY));
+        List<EmrClusterPoolEntity> emrClusterPoolEntities = dmDao.getEmrClusterPoolEntities(emrClusterDefinitionEntity);
+        assertEquals(1, emrClusterPoolEntities.size());
+        assertEquals(pooledEmrClusterId, emrClusterPoolEntities.get(0).getEmrClusterId());
+    }
+
+    @Test
+    public void testMaintainEmrClusterPoolNoLongerInDemand() throws Exception
+    {
+        EmrClusterDefinitionEntity emrClusterDefinitionEntity = createPooledEmrClusterDefinitionEntity(1);
+        String emrClusterName = getRandomEmrClusterName();
+        emrService.createCluster(getEmrClusterCreateRequest(emrClusterName));
+        assertEquals(1, emrClusterPoolService.maintainEmrClusterPool(EMR_CLUSTER_DEFINITION_KEY));
+
+        // Once no cluster was created for the definition within the idle time to live, the idle clusters are terminated.
+        for (EmrClusterCreationLogEntity emrClusterCreationLogEntity : getEmrClusterCreationLogEntities(NAMESPACE_CD, EMR_CLUSTER_DEFINITION_NAME,
+            emrClusterName))
+        {
+            emrClusterCreationLogEntity.setCreatedOn(new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)));
+            dmDao.saveAndRefresh(emrClusterCreationLogEntity);
+        }
+
+        assertEquals(0, emrClusterPoolService.maintainEmrClusterPool(EMR_CLUSTER_DEFINITION_KEY));
+        assertTrue(dmDao.getEmrClusterPoolEntities(emrClusterDefinitionEntity).isEmpty());
+    }
+
+    /**
+     * Creates an EMR cluster definition entity from the test EMR cluster definition with the specified idle cluster pool size.
+     *
+     * @param idleClusterPoolSize the idle cluster pool size
+     *
+     * @return the EMR cluster definition entity
+     * @throws Exception if the test EMR cluster definition could not be read
+     */
+    private EmrClusterDefinitionEntity createPooledEmrClusterDefinitionEntity(int idleClusterPoolSize) throws Exception
+    {
+        EmrClusterDefinition emrClusterDefinition = xmlHelper.unmarshallXmlToObject(EmrClusterDefinition.class,
+            IOUtils.toString(resourceLoader.getResource(EMR_CLUSTER_DEFINITION_XML_FILE_WITH_CLASSPATH).getInputStream()));
+        emrClusterDefinition.setIdleClusterPoolSize(idleClusterPoolSize);
+
+        return createEmrClusterDefinitionEntity(createNamespaceEntity(NAMESPACE_CD), EMR_CLUSTER_DEFINITION_NAME, xmlHelper.objectToXml(emrClusterDefinition));
+    }
+
+    /**
+     * Gets an EMR cluster create request for the test EMR cluster definition.
+     *
+     * @param emrClusterName the EMR cluster name
+     *
+     * @return the EMR cluster create request
+     */
+    private EmrClusterCreateRequest getEmrClusterCreateRequest(String emrClusterName)
+    {
+        EmrClusterCreateRequest request = new EmrClusterCreateRequest();
+        request.setNamespace(NAMESPACE_CD);
+        request.setEmrClusterDefinitionName(EMR_CLUSTER_DEFINITION_NAME);
+        request.setEmrClusterName(emrClusterName);
+        return request;
+    }
+
+    /**
+     * Gets the names of the steps of an EMR cluster.
+     *
+     * @param emrClusterId the EMR cluster ID
+     *
+     * @return the step names
+     */
+    private List<String> getEmrClusterStepNames(String emrClusterId)
+    {
+        List<String> stepNames = new ArrayList<>();
+        for (StepSummary stepSummary : emrOperations.listStepsRequest(null, new ListStepsRequest().withClusterId(emrClusterId)).getSteps())
+        {
+            stepNames.add(stepSummary.getName());
+        }
+        return stepNames;
+    }
+
+    /**
+     * Gets a random EMR cluster name, since the mocked EMR clusters outlive the test that created them.
+     *
+     * @return the EMR cluster name
+     */
+    private String getRandomEmrClusterName()
+    {
+        return "UT_EMR_CLUSTER-" + Math.random();
+    }
+}
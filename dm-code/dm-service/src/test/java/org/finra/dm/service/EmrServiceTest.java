@@ -33,6 +33,7 @@ import java.util.Map;
 import javax.xml.bind.JAXBException;
 
 import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.elasticmapreduce.model.ClusterState;
 import com.amazonaws.services.elasticmapreduce.model.ListStepsRequest;
 import com.amazonaws.services.elasticmapreduce.model.ListStepsResult;
 import com.amazonaws.services.elasticmapreduce.model.StepSummary;
@@ -1058,7 +1059,7 @@ public class EmrServiceTest extends AbstractServiceTest
             EmrClusterAlternateKeyDto.builder().namespace(NAMESPACE_CD).emrClusterDefinitionName(EMR_CLUSTER_DEFINITION_NAME)
                 .emrClusterName(request.getEmrClusterName()).build();
 
-        EmrCluster emrClusterGet = emrService.getCluster(emrClusterAlternateKeyDto, emrCluster.getId(), null, true, true);
+        EmrCluster emrClusterGet = emrService.getCluster(emrClusterAlternateKeyDto, emrCluster.getId(), null, true, true, false);
 
         // Validate the returned object against the input.
         assertNotNull(emrCluster);
@@ -1094,7 +1095,7 @@ public class EmrServiceTest extends AbstractServiceTest
         // Terminate the cluster and validate.
         emrService.terminateCluster(emrClusterAlternateKeyDto, true);
 
-        emrClusterGet = emrService.getCluster(emrClusterAlternateKeyDto, emrCluster.getId(), null, true, true);
+        emrClusterGet = emrService.getCluster(emrClusterAlternateKeyDto, emrCluster.getId(), null, true, true, false);
 
         // Validate the returned object against the input.
         assertNotNull(emrCluster);
@@ -1121,7 +1122,7 @@ public class EmrServiceTest extends AbstractServiceTest
             EmrClusterAlternateKeyDto.builder().namespace(NAMESPACE_CD).emrClusterDefinitionName(EMR_CLUSTER_DEFINITION_NAME)
                 .emrClusterName("cluster_does_not_exist").build();
 
-        emrService.getCluster(emrClusterAlternateKeyDto, "cluster_does_not_exist", null, true, true);
+        emrService.getCluster(emrClusterAlternateKeyDto, "cluster_does_not_exist", null, true, true, false);
 
         fail("Should throw an IllegalArgumentException.");
     }
@@ -1156,7 +1157,7 @@ public class EmrServiceTest extends AbstractServiceTest
             EmrClusterAlternateKeyDto.builder().namespace(NAMESPACE_CD_2).emrClusterDefinitionName(EMR_CLUSTER_DEFINITION_NAME)
                 .emrClusterName(request.getEmrClusterName()).build();
 
-        emrService.getCluster(emrClusterAlternateKeyDto_2, emrCluster.getId(), null, true, true);
+        emrService.getCluster(emrClusterAlternateKeyDto_2, emrCluster.getId(), null, true, true, false);
 
         fail("Should throw an IllegalArgumentException.");
     }
@@ -1176,7 +1177,7 @@ public class EmrServiceTest extends AbstractServiceTest
         EmrClusterAlternateKeyDto emrClusterAlternateKeyDto =
             EmrClusterAlternateKeyDto.builder().namespace(NAMESPACE_CD).emrClusterDefinitionName(EMR_CLUSTER_DEFINITION_NAME).emrClusterName("test").build();
 
-        emrService.getCluster(emrClusterAlternateKeyDto, MockAwsOperationsHelper.AMAZON_SERVICE_EXCEPTION, null, true, true);
+        emrService.getCluster(emrClusterAlternateKeyDto, MockAwsOperationsHelper.AMAZON_SERVICE_EXCEPTION, null, true, true, false);
 
         fail("Should throw an AmazonServiceException.");
     }
@@ -1201,7 +1202,7 @@ public class EmrServiceTest extends AbstractServiceTest
             EmrClusterAlternateKeyDto.builder().namespace(NAMESPACE_CD).emrClusterDefinitionName(EMR_CLUSTER_DEFINITION_NAME)
                 .emrClusterName(request.getEmrClusterName()).build();
 
-        EmrCluster emrClusterGet = emrService.getCluster(emrClusterAlternateKeyDto, null, null, true, true);
+        EmrCluster emrClusterGet = emrService.getCluster(emrClusterAlternateKeyDto, null, null, true, true, false);
 
         // Validate the returned object against the input.
         assertNotNull(emrCluster);
@@ -1211,6 +1212,35 @@ public class EmrServiceTest extends AbstractServiceTest
         assertTrue(emrCluster.getEmrClusterName().equals(emrClusterGet.getEmrClusterName()));
     }
 
+    /**
+     * This method tests that a consistent read returns the current cluster status instead of the cached one.
+     */
+    @Test
+    public void testGetEmrClusterByIdConsistentRead() throws Exception
+    {
+        // Create the namespace entity.
+        NamespaceEntity namespaceEntity = createNamespaceEntity(NAMESPACE_CD);
+
+        createEmrClusterDefinitionEntity(namespaceEntity, EMR_CLUSTER_DEFINITION_NAME,
+            IOUtils.toString(resourceLoader.getResource(EMR_CLUSTER_DEFINITION_XML_FILE_WITH_CLASSPATH).getInputStream()));
+
+        // Create a new EMR cluster create request
+        EmrClusterCreateRequest request = getNewEmrClusterCreateRequest();
+        EmrCluster emrCluster = emrService.createCluster(request);
+
+        EmrClusterAlternateKeyDto emrClusterAlternateKeyDto =
+            EmrClusterAlternateKeyDto.builder().namespace(NAMESPACE_CD).emrClusterDefinitionName(EMR_CLUSTER_DEFINITION_NAME)
+                .emrClusterName(request.getEmrClusterName()).build();
+
+        String status = emrService.getCluster(emrClusterAlternateKeyDto, emrCluster.getId(), null, false, false, false).getStatus();
+
+        // Terminate the cluster behind the cache's back. Only a consistent read returns the new status.
+        emrOperations.terminateEmrCluster(null, emrCluster.getId(), true);
+        assertEquals(status, emrService.getCluster(emrClusterAlternateKeyDto, emrCluster.getId(), null, false, false, false).getStatus());
+        assertEquals(ClusterState.TERMINATED.toString(),
+            emrService.getCluster(emrClusterAlternateKeyDto, emrCluster.getId(), null, false, false, true).getStatus());
+    }
+
     /**
      * This method tests the scenario with providing step Id.
      */
@@ -1239,7 +1269,7 @@ public class EmrServiceTest extends AbstractServiceTest
             EmrClusterAlternateKeyDto.builder().namespace(NAMESPACE_CD).emrClusterDefinitionName(EMR_CLUSTER_DEFINITION_NAME)
                 .emrClusterName(request.getEmrClusterName()).build();
 
-        EmrCluster emrClusterGet = emrService.getCluster(emrClusterAlternateKeyDto, emrCluster.getId(), stepId, true, true);
+        EmrCluster emrClusterGet = emrService.getCluster(emrClusterAlternateKeyDto, emrCluster.getId(), stepId, true, true, false);
 
         // Validate the returned object against the input.
         assertNotNull(emrCluster);
@@ -1252,7 +1282,7 @@ public class EmrServiceTest extends AbstractServiceTest
         assertTrue(stepId.equals(emrClusterGet.getStep().getId()));
 
         // Test the non verbose flow
-        emrClusterGet = emrService.getCluster(emrClusterAlternateKeyDto, emrCluster.getId(), stepId, false, false);
+        emrClusterGet = emrService.getCluster(emrClusterAlternateKeyDto, emrCluster.getId(), stepId, false, false, false);
 
         // Validate the returned object against the input.
         assertNotNull(emrCluster);
@@ -1798,7 +1828,7 @@ public class EmrServiceTest extends AbstractServiceTest
             EmrClusterAlternateKeyDto emrClusterAlternateKeyDto =
                 EmrClusterAlternateKeyDto.builder().namespace(NAMESPACE_CD).emrClusterDefinitionName(EMR_CLUSTER_DEFINITION_NAME).emrClusterName("test_cluster")
                     .build();
-            emrServiceImpl.getCluster(emrClusterAlternateKeyDto, null, null, false, false);
+            emrServiceImpl.getCluster(emrClusterAlternateKeyDto, null, null, false, false, false);
             fail("Should throw a ObjectNotFoundException.");
         }
         catch (ObjectNotFoundException e)
@@ -0,0 +1,132 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.sql.Timestamp;
+
+import org.junit.Test;
+
+import org.finra.dm.model.api.xml.BusinessObjectDefinitionKey;
+import org.finra.dm.model.api.xml.BusinessObjectFormatKey;
+import org.finra.dm.model.api.xml.EmrClusterDefinitionKey;
+import org.finra.dm.model.api.xml.PartitionKeyGroupKey;
+import org.finra.dm.model.jpa.BusinessObjectFormatEntity;
+import org.finra.dm.model.jpa.StorageEntity;
+
+/**
+ * This class tests functionality within the entity version service.
+ */
+public class EntityVersionServiceTest extends AbstractServiceTest
+{
+    @Test
+    public void testGetStorageEntityVersion()
+    {
+        StorageEntity storageEntity = createStorageEntity(STORAGE_NAME);
+
+        String version = entityVersionService.getStorageEntityVersion(STORAGE_NAME);
+        assertEquals(String.format("StorageEntity:%s:%d", STORAGE_NAME, storageEntity.getUpdatedOn().getTime()), version);
+
+        // The version is found regardless of the case of the storage name and stays the same until the storage is updated.
+        assertEquals(version, entityVersionService.getStorageEntityVersion(STORAGE_NAME.toLowerCase()));
+
+        storageEntity.setUpdatedOn(new Timestamp(storageEntity.getUpdatedOn().getTime() + 1000));
+        assertNotEquals(version, entityVersionService.getStorageEntityVersion(STORAGE_NAME));
+    }
+
+    @Test
+    public void testGetStorageEntityVersionStorageNoExists()
+    {
+        assertNull(entityVersionService.getStorageEntityVersion("I_DO_NOT_EXIST"));
+        assertNull(entityVersionService.getStorageEntityVersion(BLANK_TEXT));
+    }
+
+    @Test
+    public void testGetBusinessObjectDefinitionEntityVersion()
+    {
+        createBusinessObjectDefinitionEntity(NAMESPACE_CD, BOD_NAME, DATA_PROVIDER_NAME, BOD_DESCRIPTION, true);
+
+        String version = entityVersionService.getBusinessObjectDefinitionEntityVersion(new BusinessObjectDefinitionKey(NAMESPACE_CD, BOD_NAME));
+        assertNotNull(version);
+
+        // A legacy business object definition is also found without a namespace.
+        assertEquals(version, entityVersionService.getBusinessObjectDefinitionEntityVersion(new BusinessObjectDefinitionKey(null, BOD_NAME)));
+
+        assertNull(entityVersionService.getBusinessObjectDefinitionEntityVersion(new BusinessObjectDefinitionKey(NAMESPACE_CD, "I_DO_NOT_EXIST")));
+        assertNull(entityVersionService.getBusinessObjectDefinitionEntityVersion(new BusinessObjectDefinitionKey(NAMESPACE_CD, BLANK_TEXT)));
+    }
+
+    @Test
+    public void testGetBusinessObjectFormatEntityVersion()
+    {
+        createBusinessObjectDefinitionEntity(NAMESPACE_CD, BOD_NAME, DATA_PROVIDER_NAME, BOD_DESCRIPTION, true);
+        BusinessObjectFormatEntity initialVersionEntity =
+            createBusinessObjectFormatEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION, FORMAT_DESCRIPTION,
+                false, PARTITION_KEY);
+        BusinessObjectFormatEntity secondVersionEntity =
+            createBusinessObjectFormatEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, SECOND_FORMAT_VERSION, FORMAT_DESCRIPTION,
+                true, PARTITION_KEY);
+
+        String initialVersion = entityVersionService.getBusinessObjectFormatEntityVersion(
+            new BusinessObjectFormatKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION));
+        assertEquals(String.format("BusinessObjectFormatEntity:%d:%d", initialVersionEntity.getId(), initialVersionEntity.getUpdatedOn().getTime()),
+            initialVersion);
+
+        // The latest business object format version is used when the version is not specified, with or without a namespace.
+        String latestVersion = String.format("BusinessObjectFormatEntity:%d:%d", secondVersionEntity.getId(), secondVersionEntity.getUpdatedOn().getTime());
+        assertEquals(latestVersion, entityVersionService
+            .getBusinessObjectFormatEntityVersion(new BusinessObjectFormatKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, null)));
+        BusinessObjectFormatKey legacyKey = new BusinessObjectFormatKey(null, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, null);
+        assertEquals(latestVersion, entityVersionService.getBusinessObjectFormatEntityVersion(legacyKey));
+
+        // The key passed in is not modified.
+        assertNull(legacyKey.getNamespace());
+
+        assertNull(entityVersionService.getBusinessObjectFormatEntityVersion(
+            new BusinessObjectFormatKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, 9)));
+        assertNull(entityVersionService.getBusinessObjectFormatEntityVersion(
+            new BusinessObjectFormatKey(null, "I_DO_NOT_EXIST", FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, null)));
+        assertNull(entityVersionService.getBusinessObjectFormatEntityVersion(
+            new BusinessObjectFormatKey(NAMESPACE_CD, BOD_NAME, BLANK_TEXT, FORMAT_FILE_TYPE_CODE, null)));
+    }
+
+    @Test
+    public void testGetPartitionKeyGroupEntityVersion()
+    {
+        createPartitionKeyGroupEntity(PARTITION_KEY_GROUP);
+
+        PartitionKeyGroupKey partitionKeyGroupKey = new PartitionKeyGroupKey();
+        partitionKeyGroupKey.setPartitionKeyGroupName(PARTITION_KEY_GROUP);
+        assertNotNull(entityVersionService.getPartitionKeyGroupEntityVersion(partitionKeyGroupKey));
+
+        partitionKeyGroupKey.setPartitionKeyGroupName("I_DO_NOT_EXIST");
+        assertNull(entityVersionService.getPartitionKeyGroupEntityVersion(partitionKeyGroupKey));
+    }
+
+    @Test
+    public void testGetEmrClusterDefinitionEntityVersion()
+    {
+        createEmrClusterDefinitionEntity(createNamespaceEntity(NAMESPACE_CD), EMR_CLUSTER_DEFINITION_NAME, "<emrClusterDefinition/>");
+
+        assertNotNull(entityVersionService.getEmrClusterDefinitionEntityVersion(new EmrClusterDefinitionKey(NAMESPACE_CD, EMR_CLUSTER_DEFINITION_NAME)));
+        assertNull(entityVersionService.getEmrClusterDefinitionEntityVersion(new EmrClusterDefinitionKey(NAMESPACE_CD, "I_DO_NOT_EXIST")));
+        assertNull(entityVersionService.getEmrClusterDefinitionEntityVersion(new EmrClusterDefinitionKey(BLANK_TEXT, EMR_CLUSTER_DEFINITION_NAME)));
+    }
+}
@@ -25,7 +25,11 @@ import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
@@ -36,15 +40,23 @@ import org.junit.Test;
 import org.springframework.util.CollectionUtils;
 
 import org.finra.dm.model.ObjectNotFoundException;
+import org.finra.dm.model.dto.ConfigurationValue;
 import org.finra.dm.model.jpa.JobDefinitionEntity;
+import org.finra.dm.model.jpa.JobSummaryEntity;
 import org.finra.dm.model.api.xml.Job;
+import org.finra.dm.model.api.xml.JobCreateCollectionRequest;
+import org.finra.dm.model.api.xml.JobCreateCollectionResponse;
 import org.finra.dm.model.api.xml.JobCreateRequest;
 import org.finra.dm.model.api.xml.JobDefinition;
 import org.finra.dm.model.api.xml.JobDefinitionCreateRequest;
 import org.finra.dm.model.api.xml.JobSignalRequest;
 import org.finra.dm.model.api.xml.JobStatusEnum;
+import org.finra.dm.model.api.xml.JobSummary;
+import org.finra.dm.model.api.xml.JobVariables;
+import org.finra.dm.model.api.xml.JobWorkflowSteps;
 import org.finra.dm.model.api.xml.Parameter;
 import org.finra.dm.model.api.xml.S3PropertiesLocation;
+import org.finra.dm.model.api.xml.WorkflowStep;
 
 /**
  * This class tests various functionality within the Job REST controller.
@@ -174,6 +186,109 @@ public class JobServiceTest extends AbstractServiceTest
         jobService.createAndStartJob(createJobCreateRequest(TEST_ACTIVITI_NAMESPACE_CD, "I_DO_NOT_EXIST"), true);
     }
 
+    @Test
+    public void testCreateJobs() throws Exception
+    {
+        // Create the namespace entity and the job definition.
+        createNamespaceEntity(TEST_ACTIVITI_NAMESPACE_CD);
+        JobDefinitionCreateRequest jobDefinitionCreateRequest = createJobDefinitionCreateRequest();
+        jobDefinitionService.createJobDefinition(jobDefinitionCreateRequest);
+
+        // Create a job create collection request with more jobs than the batch size.
+        JobCreateCollectionRequest jobCreateCollectionRequest = new JobCreateCollectionRequest();
+        List<JobCreateRequest> jobCreateRequests = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+        {
+            jobCreateRequests.add(createJobCreateRequest(TEST_ACTIVITI_NAMESPACE_CD, TEST_ACTIVITI_JOB_NAME));
+        }
+        jobCreateCollectionRequest.setJobCreateRequests(jobCreateRequests);
+
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.JOB_CREATE_COLLECTION_BATCH_SIZE.getKey(), 2);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        JobCreateCollectionResponse jobCreateCollectionResponse;
+        try
+        {
+            // Create the jobs.
+            jobCreateCollectionResponse = jobService.createAndStartJobs(jobCreateCollectionRequest);
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+
+        // Validate the results.
+        assertNotNull(jobCreateCollectionResponse);
+        assertEquals(3, jobCreateCollectionResponse.getJobs().size());
+        Set<String> jobIds = new HashSet<>();
+        for (Job resultJob : jobCreateCollectionResponse.getJobs())
+        {
+            assertNotNull(resultJob.getId());
+            jobIds.add(resultJob.getId());
+            assertEquals(TEST_ACTIVITI_NAMESPACE_CD, resultJob.getNamespace());
+            assertEquals(TEST_ACTIVITI_JOB_NAME, resultJob.getJobName());
+            assertEquals(jobDefinitionCreateRequest.getParameters().size() + jobCreateRequests.get(0).getParameters().size(),
+                resultJob.getParameters().size());
+
+            // The job is created, but it is only started by its asynchronous start job.
+            assertEquals(JobStatusEnum.RUNNING, jobService.getJob(resultJob.getId(), false).getStatus());
+            org.activiti.engine.runtime.Job startJob =
+                activitiManagementService.createJobQuery().processInstanceId(resultJob.getId()).messages().singleResult();
+            assertNotNull(startJob);
+            activitiManagementService.executeJob(startJob.getId());
+
+            // The job should have completed now.
+            assertEquals(JobStatusEnum.COMPLETED, jobService.getJob(resultJob.getId(), false).getStatus());
+        }
+        assertEquals(3, jobIds.size());
+    }
+
+    @Test
+    public void testCreateJobsMaxJobsPerNamespaceExceeded() throws Exception
+    {
+        JobCreateCollectionRequest jobCreateCollectionRequest = new JobCreateCollectionRequest();
+        jobCreateCollectionRequest.setJobCreateRequests(Arrays.asList(createJobCreateRequest(TEST_ACTIVITI_NAMESPACE_CD, TEST_ACTIVITI_JOB_NAME),
+            createJobCreateRequest(TEST_ACTIVITI_NAMESPACE_CD, TEST_ACTIVITI_JOB_NAME)));
+
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.JOB_CREATE_COLLECTION_MAX_JOBS_PER_NAMESPACE.getKey(), 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            jobService.createAndStartJobs(jobCreateCollectionRequest);
+            fail("Should throw an IllegalArgumentException when too many jobs are requested for a namespace.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("The number of jobs requested for namespace \"%s\" (2) exceeds the maximum of 1 jobs allowed in a single request.",
+                TEST_ACTIVITI_NAMESPACE_CD.toUpperCase()), e.getMessage());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateJobsNoJobCreateRequests() throws Exception
+    {
+        jobService.createAndStartJobs(new JobCreateCollectionRequest());
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testCreateJobsJobNameNoExists() throws Exception
+    {
+        // Create the namespace entity.
+        createNamespaceEntity(TEST_ACTIVITI_NAMESPACE_CD);
+
+        // Try to create jobs using a non-existing job definition name.
+        JobCreateCollectionRequest jobCreateCollectionRequest = new JobCreateCollectionRequest();
+        jobCreateCollectionRequest.setJobCreateRequests(Arrays.asList(createJobCreateRequest(TEST_ACTIVITI_NAMESPACE_CD, "I_DO_NOT_EXIST")));
+        jobService.createAndStartJobs(jobCreateCollectionRequest);
+    }
+
     @Test
     public void testGetJob() throws Exception
     {
@@ -265,6 +380,146 @@ public class JobServiceTest extends AbstractServiceTest
         jobService.getJob(null, false);
     }
 
+    @Test
+    public void testGetJobSummary() throws Exception
+    {
+        createJobDefinition(ACTIVITI_XML_TEST_RECEIVE_TASK_WITH_CLASSPATH);
+
+        // Start the job.
+        Job job = createAndStartJobSync(createJobCreateRequest(TEST_ACTIVITI_NAMESPACE_CD, TEST_ACTIVITI_JOB_NAME));
+
+        // Job should be waiting at Receive task.
+        JobSummary jobSummary = jobService.getJobSummary(job.getId());
+        assertEquals(job.getId(), jobSummary.getId());
+        assertEquals(JobStatusEnum.RUNNING, jobSummary.getStatus());
+        assertEquals("receivetask1", jobSummary.getCurrentWorkflowStep().getId());
+        assertNotNull(jobSummary.getStartTime());
+        assertNull(jobSummary.getEndTime());
+
+        // Signal job to continue.
+        jobService.signalJob(new JobSignalRequest(job.getId(), "receivetask1", null, null));
+
+        // Job should have been completed.
+        jobSummary = jobService.getJobSummary(job.getId());
+        assertEquals(JobStatusEnum.COMPLETED, jobSummary.getStatus());
+        assertNull(jobSummary.getCurrentWorkflowStep());
+        assertNotNull(jobSummary.getEndTime());
+    }
+
+    @Test
+    public void testGetJobSummaryNoJobSummary() throws Exception
+    {
+        createJobDefinition(ACTIVITI_XML_TEST_RECEIVE_TASK_WITH_CLASSPATH);
+
+        // Start the job and remove its summary as if the job was created before job summaries were introduced.
+        Job job = createAndStartJobSync(createJobCreateRequest(TEST_ACTIVITI_NAMESPACE_CD, TEST_ACTIVITI_JOB_NAME));
+        dmDao.delete(dmDao.findById(JobSummaryEntity.class, job.getId()));
+
+        // The summary should be read from Activiti.
+        JobSummary jobSummary = jobService.getJobSummary(job.getId());
+        assertEquals(JobStatusEnum.RUNNING, jobSummary.getStatus());
+        assertEquals("receivetask1", jobSummary.getCurrentWorkflowStep().getId());
+
+        jobService.signalJob(new JobSignalRequest(job.getId(), "receivetask1", null, null));
+
+        jobSummary = jobService.getJobSummary(job.getId());
+        assertEquals(JobStatusEnum.COMPLETED, jobSummary.getStatus());
+        assertNull(jobSummary.getCurrentWorkflowStep());
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testGetJobSummaryNoJobFound() throws Exception
+    {
+        jobService.getJobSummary("job_not_submitted");
+    }
+
+    @Test
+    public void testGetJobWorkflowSteps() throws Exception
+    {
+        createJobDefinition(ACTIVITI_XML_DM_WORKFLOW_WITH_CLASSPATH);
+
+        // Run the job to completion.
+        Job job = createAndStartJobSync(createJobCreateRequest(TEST_ACTIVITI_NAMESPACE_CD, TEST_ACTIVITI_JOB_NAME));
+        List<WorkflowStep> completedWorkflowSteps = jobService.getJob(job.getId(), true).getCompletedWorkflowSteps();
+        assertEquals(3, completedWorkflowSteps.size());
+
+        // Get the workflow steps one page at a time.
+        JobWorkflowSteps jobWorkflowSteps = jobService.getJobWorkflowSteps(job.getId(), 1, 2);
+        assertEquals(job.getId(), jobWorkflowSteps.getId());
+        assertEquals(3, jobWorkflowSteps.getTotalCount());
+        assertEquals(2, jobWorkflowSteps.getWorkflowSteps().size());
+        assertEquals(completedWorkflowSteps.get(0).getId(), jobWorkflowSteps.getWorkflowSteps().get(0).getId());
+        assertEquals(completedWorkflowSteps.get(1).getId(), jobWorkflowSteps.getWorkflowSteps().get(1).getId());
+
+        jobWorkflowSteps = jobService.getJobWorkflowSteps(job.getId(), 2, 2);
+        assertEquals(1, jobWorkflowSteps.getWorkflowSteps().size());
+        assertEquals(completedWorkflowSteps.get(2).getId(), jobWorkflowSteps.getWorkflowSteps().get(0).getId());
+
+        // The first page with the maximum page size is returned by default.
+        jobWorkflowSteps = jobService.getJobWorkflowSteps(job.getId(), null, null);
+        assertEquals(1, jobWorkflowSteps.getPageNum());
+        assertEquals(3, jobWorkflowSteps.getWorkflowSteps().size());
+    }
+
+    @Test
+    public void testGetJobWorkflowStepsInvalidParameters() throws Exception
+    {
+        try
+        {
+            jobService.getJobWorkflowSteps("job_not_submitted", 0, 1);
+            fail("Should throw an IllegalArgumentException when the page number is not positive.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("A page number must be greater than 0.", e.getMessage());
+        }
+
+        try
+        {
+            jobService.getJobWorkflowSteps("job_not_submitted", 1, 1001);
+            fail("Should throw an IllegalArgumentException when the page size is greater than the maximum page size.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("A page size must be between 1 and 1000.", e.getMessage());
+        }
+
+        try
+        {
+            jobService.getJobWorkflowSteps("job_not_submitted", 1, 1);
+            fail("Should throw an ObjectNotFoundException when the job doesn't exist.");
+        }
+        catch (ObjectNotFoundException e)
+        {
+            assertEquals("Job with Id: \"job_not_submitted\" doesn't exist.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testGetJobVariables() throws Exception
+    {
+        createJobDefinition(ACTIVITI_XML_TEST_RECEIVE_TASK_WITH_CLASSPATH);
+
+        // Start the job.
+        Job job = createAndStartJobSync(createJobCreateRequest(TEST_ACTIVITI_NAMESPACE_CD, TEST_ACTIVITI_JOB_NAME));
+
+        // Get the variables of the running job. Variables that don't exist are not returned.
+        JobVariables jobVariables = jobService.getJobVariables(job.getId(), Arrays.asList(ATTRIBUTE_NAME_2_MIXED_CASE, "I_DO_NOT_EXIST"));
+        assertEquals(job.getId(), jobVariables.getId());
+        assertEquals(Arrays.asList(new Parameter(ATTRIBUTE_NAME_2_MIXED_CASE, ATTRIBUTE_VALUE_2)), jobVariables.getParameters());
+
+        // Get the variables of the completed job.
+        jobService.signalJob(new JobSignalRequest(job.getId(), "receivetask1", null, null));
+        jobVariables = jobService.getJobVariables(job.getId(), Arrays.asList(ATTRIBUTE_NAME_2_MIXED_CASE, "I_DO_NOT_EXIST"));
+        assertEquals(Arrays.asList(new Parameter(ATTRIBUTE_NAME_2_MIXED_CASE, ATTRIBUTE_VALUE_2)), jobVariables.getParameters());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetJobVariablesNoVariableNames() throws Exception
+    {
+        jobService.getJobVariables("job_not_submitted", null);
+    }
+
     @Test
     public void testSignalJob() throws Exception
     {
@@ -18,14 +18,19 @@ package org.finra.dm.service;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 
+import org.finra.dm.dao.impl.MockS3OperationsImpl;
 import org.finra.dm.model.ObjectNotFoundException;
 import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.dto.ConfigurationValue;
 import org.finra.dm.service.impl.UploadDownloadHelperServiceImpl;
 
 public class UploadDownloadHelperServiceTest extends AbstractServiceTest
@@ -59,4 +64,34 @@ public class UploadDownloadHelperServiceTest extends AbstractServiceTest
                 PARTITION_VALUE, NO_SUBPARTITION_VALUES, DATA_VERSION, null), e.getMessage());
         }
     }
+
+    /**
+     * The file move copies the file with the configured number of S3 copy threads.
+     */
+    @Test
+    public void testPerformFileMoveSyncS3CopyMaxThreads() throws Exception
+    {
+        Logger.getLogger(UploadDownloadHelperServiceImpl.class).setLevel(Level.OFF);
+
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_COPY_MAX_THREADS.getKey(), "7");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            BusinessObjectDataKey businessObjectDataKey =
+                new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                    NO_SUBPARTITION_VALUES, DATA_VERSION);
+
+            uploadDownloadHelperServiceImpl
+                .performFileMoveSync(businessObjectDataKey, businessObjectDataKey, getS3LoadingDockBucketName(), getS3ExternalBucketName(), TARGET_S3_KEY,
+                    MockS3OperationsImpl.MOCK_KMS_ID, emrHelper.getAwsParamsDto());
+
+            assertEquals(Integer.valueOf(7), getMockS3Operations().getLastCopyMaxThreads());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
 }
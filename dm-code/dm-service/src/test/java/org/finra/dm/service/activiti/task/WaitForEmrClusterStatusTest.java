@@ -0,0 +1,178 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.activiti.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.elasticmapreduce.model.ClusterState;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.history.HistoricProcessInstance;
+import org.activiti.engine.runtime.Execution;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.dm.dao.impl.MockAwsOperationsHelper;
+import org.finra.dm.model.api.xml.Job;
+import org.finra.dm.model.api.xml.Parameter;
+import org.finra.dm.model.dto.ConfigurationValue;
+import org.finra.dm.model.dto.EmrClusterAlternateKeyDto;
+import org.finra.dm.service.AbstractServiceTest;
+import org.finra.dm.service.WaitConditionService;
+import org.finra.dm.service.activiti.ActivitiHelper;
+import org.finra.dm.service.helper.EmrClusterStatusWaitCondition;
+
+/**
+ * Tests the WaitForEmrClusterStatus Activiti wait task and the wait condition service that signals it.
+ */
+public class WaitForEmrClusterStatusTest extends AbstractServiceTest
+{
+    private static final String WAIT_TASK_ID = "waitForClusterStatusServiceTask";
+
+    @Autowired
+    private WaitConditionService waitConditionService;
+
+    @Autowired
+    private RuntimeService activitiRuntimeService;
+
+    @Test
+    public void testWaitForEmrClusterStatusAlreadySatisfied() throws Exception
+    {
+        // The mock EMR cluster is bootstrapping once created, so the task does not wait at all.
+        Job job = createJobForCreateCluster(ACTIVITI_XML_WAIT_FOR_CLUSTER_STATUS_WITH_CLASSPATH,
+            getParameters("EmrClusterTest" + getRandomSuffix(), ClusterState.BOOTSTRAPPING.toString()));
+        assertNotNull(job);
+
+        Map<String, Object> variables = getCompletedProcessVariables(job);
+        assertEquals(ActivitiHelper.TASK_STATUS_SUCCESS, variables.get(WAIT_TASK_ID + ActivitiHelper.TASK_VARIABLE_MARKER + ActivitiHelper.VARIABLE_STATUS));
+        assertEquals(ClusterState.BOOTSTRAPPING.toString(),
+            variables.get(WAIT_TASK_ID + ActivitiHelper.TASK_VARIABLE_MARKER + EmrClusterStatusWaitCondition.VARIABLE_EMR_CLUSTER_STATUS));
+    }
+
+    @Test
+    public void testWaitForEmrClusterStatusSignalled() throws Exception
+    {
+        String clusterName = "EmrClusterTest" + getRandomSuffix();
+        Job job = createJobForCreateCluster(ACTIVITI_XML_WAIT_FOR_CLUSTER_STATUS_WITH_CLASSPATH, getParameters(clusterName, ClusterState.WAITING.toString()));
+        assertNotNull(job);
+
+        // The workflow waits in the wait task since the cluster is still bootstrapping.
+        Execution execution = activitiRuntimeService.createExecutionQuery().processInstanceId(job.getId()).activityId(WAIT_TASK_ID).singleResult();
+        assertNotNull(execution);
+        assertEquals(0, waitConditionService.signalSatisfiedWaitConditions());
+        assertNull(activitiHistoryService.createHistoricProcessInstanceQuery().processInstanceId(job.getId()).singleResult().getEndTime());
+
+        // Terminate the cluster. A terminated cluster satisfies the condition since it will never reach the requested status.
+        EmrClusterAlternateKeyDto emrClusterAlternateKeyDto = new EmrClusterAlternateKeyDto();
+        emrClusterAlternateKeyDto.setNamespace(TEST_ACTIVITI_NAMESPACE_CD);
+        emrClusterAlternateKeyDto.setEmrClusterDefinitionName(EMR_CLUSTER_DEFINITION_NAME);
+        emrClusterAlternateKeyDto.setEmrClusterName(clusterName);
+        emrService.terminateCluster(emrClusterAlternateKeyDto, true);
+
+        assertEquals(1, waitConditionService.signalSatisfiedWaitConditions());
+
+        Map<String, Object> variables = getCompletedProcessVariables(job);
+        assertEquals(ActivitiHelper.TASK_STATUS_SUCCESS, variables.get(WAIT_TASK_ID + ActivitiHelper.TASK_VARIABLE_MARKER + ActivitiHelper.VARIABLE_STATUS));
+        assertEquals(ClusterState.TERMINATED.toString(),
+            variables.get(WAIT_TASK_ID + ActivitiHelper.TASK_VARIABLE_MARKER + EmrClusterStatusWaitCondition.VARIABLE_EMR_CLUSTER_STATUS));
+    }
+
+    @Test
+    public void testWaitForEmrClusterStatusNotTransientError() throws Exception
+    {
+        String clusterName = "EmrClusterTest" + getRandomSuffix();
+        Job job = createJobForCreateCluster(ACTIVITI_XML_WAIT_FOR_CLUSTER_STATUS_WITH_CLASSPATH, getParameters(clusterName, ClusterState.WAITING.toString()));
+        assertNotNull(job);
+
+        // Make the wait condition refer to a cluster definition that does not exist, so evaluating the condition fails with an error that is not transient.
+        Execution execution = activitiRuntimeService.createExecutionQuery().processInstanceId(job.getId()).activityId(WAIT_TASK_ID).singleResult();
+        setWaitConditionParameter(execution, EmrClusterStatusWaitCondition.PARAMETER_EMR_CLUSTER_DEFINITION_NAME, "I_DO_NOT_EXIST");
+
+        // The workflow does not keep waiting on a condition that cannot be evaluated.
+        assertEquals(1, waitConditionService.signalSatisfiedWaitConditions());
+
+        Map<String, Object> variables = getCompletedProcessVariables(job);
+        assertEquals(ActivitiHelper.TASK_STATUS_ERROR, variables.get(WAIT_TASK_ID + ActivitiHelper.TASK_VARIABLE_MARKER + ActivitiHelper.VARIABLE_STATUS));
+        assertNotNull(variables.get(WAIT_TASK_ID + ActivitiHelper.TASK_VARIABLE_MARKER + ActivitiHelper.VARIABLE_ERROR_MESSAGE));
+        assertNull(variables.get(BaseWaitTask.VARIABLE_WAIT_CONDITION_ERROR_MESSAGE));
+    }
+
+    @Test
+    public void testWaitForEmrClusterStatusTransientErrors() throws Exception
+    {
+        String clusterName = "EmrClusterTest" + getRandomSuffix();
+        Job job = createJobForCreateCluster(ACTIVITI_XML_WAIT_FOR_CLUSTER_STATUS_WITH_CLASSPATH, getParameters(clusterName, ClusterState.WAITING.toString()));
+        assertNotNull(job);
+
+        // Make the wait condition refer to a cluster ID that fails with an AWS error every time it is evaluated.
+        Execution execution = activitiRuntimeService.createExecutionQuery().processInstanceId(job.getId()).activityId(WAIT_TASK_ID).singleResult();
+        setWaitConditionParameter(execution, EmrClusterStatusWaitCondition.PARAMETER_EMR_CLUSTER_ID, MockAwsOperationsHelper.AMAZON_SERVICE_EXCEPTION);
+
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.WAIT_CONDITION_MAX_FAILED_EVALUATIONS.getKey(), 2);
+        modifyPropertySourceInEnvironment(overrideMap);
+        try
+        {
+            // The first failure is retried the next time the watcher runs.
+            assertEquals(0, waitConditionService.signalSatisfiedWaitConditions());
+            assertNull(activitiHistoryService.createHistoricProcessInstanceQuery().processInstanceId(job.getId()).singleResult().getEndTime());
+
+            // The workflow stops waiting once the condition failed to be evaluated the maximum number of times in a row.
+            assertEquals(1, waitConditionService.signalSatisfiedWaitConditions());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+
+        Map<String, Object> variables = getCompletedProcessVariables(job);
+        assertEquals(ActivitiHelper.TASK_STATUS_ERROR, variables.get(WAIT_TASK_ID + ActivitiHelper.TASK_VARIABLE_MARKER + ActivitiHelper.VARIABLE_STATUS));
+        assertTrue(((String) variables.get(WAIT_TASK_ID + ActivitiHelper.TASK_VARIABLE_MARKER + ActivitiHelper.VARIABLE_ERROR_MESSAGE))
+            .contains(MockAwsOperationsHelper.AMAZON_SERVICE_EXCEPTION));
+    }
+
+    private void setWaitConditionParameter(Execution execution, String parameterName, String parameterValue) throws Exception
+    {
+        @SuppressWarnings("unchecked")
+        Map<String, String> parameters = jsonHelper.unmarshallJsonToObject(Map.class,
+            (String) activitiRuntimeService.getVariableLocal(execution.getId(), BaseWaitTask.VARIABLE_WAIT_CONDITION_PARAMETERS));
+        parameters.put(parameterName, parameterValue);
+        activitiRuntimeService.setVariableLocal(execution.getId(), BaseWaitTask.VARIABLE_WAIT_CONDITION_PARAMETERS, jsonHelper.objectToJson(parameters));
+    }
+
+    private List<Parameter> getParameters(String clusterName, String emrClusterStatuses)
+    {
+        List<Parameter> parameters = new ArrayList<>();
+        parameters.add(new Parameter("clusterName", clusterName));
+        parameters.add(new Parameter("emrClusterStatuses", emrClusterStatuses));
+        return parameters;
+    }
+
+    private Map<String, Object> getCompletedProcessVariables(Job job)
+    {
+        HistoricProcessInstance historicProcessInstance =
+            activitiHistoryService.createHistoricProcessInstanceQuery().processInstanceId(job.getId()).includeProcessVariables().singleResult();
+        assertNotNull(historicProcessInstance.getEndTime());
+        return historicProcessInstance.getProcessVariables();
+    }
+}
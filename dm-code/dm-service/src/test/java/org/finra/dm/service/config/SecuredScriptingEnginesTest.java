@@ -0,0 +1,177 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.activiti.engine.impl.scripting.ResolverFactory;
+import org.activiti.engine.impl.scripting.ScriptBindingsFactory;
+import org.activiti.engine.impl.scripting.VariableScopeResolverFactory;
+import org.junit.Test;
+
+/**
+ * This class tests the compiled script cache of the SecuredScriptingEngines class.
+ */
+public class SecuredScriptingEnginesTest
+{
+    private static final String LANGUAGE = "javascript";
+
+    private static final String PROCESS_DEFINITION_KEY = "testProcess";
+
+    @Test
+    public void testEvaluateCompiledScript()
+    {
+        SecuredScriptingEngines scriptingEngines = createScriptingEngines(10);
+        TestExecution execution = createExecution(PROCESS_DEFINITION_KEY + ":1:1");
+
+        // The script is compiled once and the compiled script is reused for subsequent evaluations.
+        assertEquals(2, ((Number) scriptingEngines.evaluate("1 + 1", LANGUAGE, execution)).intValue());
+        assertEquals(2, ((Number) scriptingEngines.evaluate("1 + 1", LANGUAGE, execution)).intValue());
+        assertEquals(1, scriptingEngines.getCompiledScriptCount());
+
+        // The same script of another process definition version is compiled separately.
+        assertEquals(2, ((Number) scriptingEngines.evaluate("1 + 1", LANGUAGE, createExecution(PROCESS_DEFINITION_KEY + ":2:2"))).intValue());
+        assertEquals(2, scriptingEngines.getCompiledScriptCount());
+    }
+
+    @Test
+    public void testEvaluateCompiledScriptVariables()
+    {
+        SecuredScriptingEngines scriptingEngines = createScriptingEngines(10);
+
+        // The compiled script is evaluated with the bindings of each execution.
+        TestExecution execution = createExecution(PROCESS_DEFINITION_KEY + ":1:1");
+        execution.variables.put("input", 1);
+        assertEquals(2, ((Number) scriptingEngines.evaluate("input + 1", LANGUAGE, execution)).intValue());
+
+        execution = createExecution(PROCESS_DEFINITION_KEY + ":1:1");
+        execution.variables.put("input", 5);
+        assertEquals(6, ((Number) scriptingEngines.evaluate("input + 1", LANGUAGE, execution)).intValue());
+        assertEquals(1, scriptingEngines.getCompiledScriptCount());
+    }
+
+    @Test
+    public void testEvaluateCompiledScriptCacheMaxSize()
+    {
+        SecuredScriptingEngines scriptingEngines = createScriptingEngines(2);
+        TestExecution execution = createExecution(PROCESS_DEFINITION_KEY + ":1:1");
+
+        for (int i = 0; i < 5; i++)
+        {
+            assertEquals(i, ((Number) scriptingEngines.evaluate(String.valueOf(i), LANGUAGE, execution)).intValue());
+        }
+
+        assertEquals(2, scriptingEngines.getCompiledScriptCount());
+    }
+
+    @Test
+    public void testEvaluateCompiledScriptCacheDisabled()
+    {
+        SecuredScriptingEngines scriptingEngines = createScriptingEngines(0);
+
+        assertEquals(2, ((Number) scriptingEngines.evaluate("1 + 1", LANGUAGE, createExecution(PROCESS_DEFINITION_KEY + ":1:1"))).intValue());
+        assertEquals(0, scriptingEngines.getCompiledScriptCount());
+    }
+
+    @Test
+    public void testEvaluateCompiledScriptInvalidScript()
+    {
+        SecuredScriptingEngines scriptingEngines = createScriptingEngines(10);
+
+        try
+        {
+            scriptingEngines.evaluate("1 +", LANGUAGE, createExecution(PROCESS_DEFINITION_KEY + ":1:1"));
+            fail("Should throw an ActivitiException when the script cannot be compiled.");
+        }
+        catch (ActivitiException e)
+        {
+            assertEquals(true, e.getMessage().startsWith("problem evaluating script: "));
+        }
+
+        assertEquals(0, scriptingEngines.getCompiledScriptCount());
+    }
+
+    @Test
+    public void testProcessDefinitionDeploymentEvictsCompiledScripts()
+    {
+        SecuredScriptingEngines scriptingEngines = createScriptingEngines(10);
+
+        scriptingEngines.evaluate("1 + 1", LANGUAGE, createExecution(PROCESS_DEFINITION_KEY + ":1:1"));
+        scriptingEngines.evaluate("1 + 1", LANGUAGE, createExecution(PROCESS_DEFINITION_KEY + "_2:1:2"));
+        assertEquals(2, scriptingEngines.getCompiledScriptCount());
+
+        // Deploying a new version of the process definition only evicts the compiled scripts of that process definition.
+        ProcessDefinitionEntity processDefinition = new ProcessDefinitionEntity();
+        processDefinition.setKey(PROCESS_DEFINITION_KEY);
+        processDefinition.setId(PROCESS_DEFINITION_KEY + ":2:3");
+        scriptingEngines.onEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_CREATED, processDefinition));
+
+        assertEquals(1, scriptingEngines.getCompiledScriptCount());
+    }
+
+    private SecuredScriptingEngines createScriptingEngines(int compiledScriptCacheMaxSize)
+    {
+        List<ResolverFactory> resolverFactories = new ArrayList<>();
+        resolverFactories.add(new VariableScopeResolverFactory());
+        return new SecuredScriptingEngines(new ScriptBindingsFactory(resolverFactories), compiledScriptCacheMaxSize);
+    }
+
+    private TestExecution createExecution(String processDefinitionId)
+    {
+        TestExecution execution = new TestExecution();
+        execution.setProcessDefinitionId(processDefinitionId);
+        return execution;
+    }
+
+    /**
+     * An execution that keeps its variables in memory so scripts can be evaluated outside of an Activiti command context.
+     */
+    private static class TestExecution extends ExecutionEntity
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, Object> variables = new HashMap<>();
+
+        @Override
+        public boolean hasVariable(String variableName)
+        {
+            return variables.containsKey(variableName);
+        }
+
+        @Override
+        public Object getVariable(String variableName)
+        {
+            return variables.get(variableName);
+        }
+
+        @Override
+        public void setVariable(String variableName, Object value)
+        {
+            variables.put(variableName, value);
+        }
+    }
+}
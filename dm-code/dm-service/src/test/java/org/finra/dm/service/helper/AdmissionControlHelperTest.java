@@ -0,0 +1,265 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.dm.core.AdmissionControlMetricsRegistry;
+import org.finra.dm.core.AdmissionControlMetricsRegistry.RejectionReason;
+import org.finra.dm.model.TooManyRequestsException;
+import org.finra.dm.model.api.xml.BusinessObjectDataAvailabilityCollectionRequest;
+import org.finra.dm.model.api.xml.BusinessObjectDataAvailabilityRequest;
+import org.finra.dm.model.api.xml.JobCreateCollectionRequest;
+import org.finra.dm.model.api.xml.JobCreateRequest;
+import org.finra.dm.model.dto.AdmissionClass;
+import org.finra.dm.model.dto.ConfigurationValue;
+import org.finra.dm.service.AbstractServiceTest;
+
+/**
+ * This class tests functionality within the AdmissionControlHelper class.
+ */
+public class AdmissionControlHelperTest extends AbstractServiceTest
+{
+    @Autowired
+    private AdmissionControlHelper admissionControlHelper;
+
+    @Test
+    public void testAcquirePermitUserRate() throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_ENABLED.getKey(), "true");
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_INVALIDATION_REQUESTS_PER_SECOND_PER_USER.getKey(), "1");
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_INVALIDATION_BURST_PER_USER.getKey(), "2");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            AdmissionControlMetricsRegistry.reset();
+
+            // The burst is admitted, the next request exceeds the rate of the user.
+            admissionControlHelper.acquirePermit(AdmissionClass.INVALIDATION).release();
+            admissionControlHelper.acquirePermit(AdmissionClass.INVALIDATION).release();
+            try
+            {
+                admissionControlHelper.acquirePermit(AdmissionClass.INVALIDATION);
+                fail("Should throw a TooManyRequestsException.");
+            }
+            catch (TooManyRequestsException e)
+            {
+                assertEquals(1, e.getRetryAfterSeconds());
+                assertTrue(e.getMessage().contains("exceeded its rate of 1 INVALIDATION request(s) per second"));
+            }
+
+            assertEquals(2, AdmissionControlMetricsRegistry.getAdmittedCount(AdmissionClass.INVALIDATION));
+            assertEquals(1, AdmissionControlMetricsRegistry.getRejectedCount(AdmissionClass.INVALIDATION, RejectionReason.USER_RATE));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testAcquirePermitUserConcurrency() throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_ENABLED.getKey(), "true");
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_DDL_MAX_CONCURRENT_PER_USER.getKey(), "1");
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_QUEUE_TIMEOUT_MILLIS.getKey(), "50");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            AdmissionControlMetricsRegistry.reset();
+
+            // A second request of the same user waits for the queue timeout and is rejected.
+            AdmissionControlHelper.Permit permit = admissionControlHelper.acquirePermit(AdmissionClass.DDL);
+            try
+            {
+                admissionControlHelper.acquirePermit(AdmissionClass.DDL);
+                fail("Should throw a TooManyRequestsException.");
+            }
+            catch (TooManyRequestsException e)
+            {
+                assertEquals(1, e.getRetryAfterSeconds());
+                assertTrue(e.getMessage().contains("has too many DDL requests in progress. The limit is 1."));
+            }
+            assertEquals(1, AdmissionControlMetricsRegistry.getQueuedCount(AdmissionClass.DDL));
+            assertEquals(1, AdmissionControlMetricsRegistry.getRejectedCount(AdmissionClass.DDL, RejectionReason.USER_CONCURRENCY));
+
+            // Once the first request completes, the next one is admitted.
+            permit.release();
+            admissionControlHelper.acquirePermit(AdmissionClass.DDL).release();
+            assertEquals(2, AdmissionControlMetricsRegistry.getAdmittedCount(AdmissionClass.DDL));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testAcquirePermitNamespaceConcurrency() throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_ENABLED.getKey(), "true");
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_AVAILABILITY_MAX_CONCURRENT_PER_USER.getKey(), "0");
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_AVAILABILITY_MAX_CONCURRENT_PER_NAMESPACE.getKey(), "1");
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_QUEUE_TIMEOUT_MILLIS.getKey(), "50");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        String namespace1 = NAMESPACE_CD + getRandomSuffix();
+        String namespace2 = NAMESPACE_CD_2 + getRandomSuffix();
+
+        try
+        {
+            AdmissionControlMetricsRegistry.reset();
+
+            // A collection request holds a slot of each of its namespaces, which are matched case insensitively.
+            BusinessObjectDataAvailabilityCollectionRequest collectionRequest = new BusinessObjectDataAvailabilityCollectionRequest();
+            collectionRequest.setBusinessObjectDataAvailabilityRequests(Arrays.asList(createAvailabilityRequest(namespace1),
+                createAvailabilityRequest(namespace2.toLowerCase()), createAvailabilityRequest(namespace1.toLowerCase())));
+            AdmissionControlHelper.Permit permit = admissionControlHelper.acquirePermit(AdmissionClass.AVAILABILITY, collectionRequest);
+
+            try
+            {
+                admissionControlHelper.acquirePermit(AdmissionClass.AVAILABILITY, createAvailabilityRequest(namespace2));
+                fail("Should throw a TooManyRequestsException.");
+            }
+            catch (TooManyRequestsException e)
+            {
+                assertTrue(
+                    e.getMessage().contains(String.format("Namespace \"%s\" has too many AVAILABILITY requests in progress.", namespace2.toUpperCase())));
+            }
+            assertEquals(1, AdmissionControlMetricsRegistry.getRejectedCount(AdmissionClass.AVAILABILITY, RejectionReason.NAMESPACE_CONCURRENCY));
+
+            // Requests without a namespace and requests of other namespaces are not limited.
+            admissionControlHelper.acquirePermit(AdmissionClass.AVAILABILITY, "not a request").release();
+            admissionControlHelper.acquirePermit(AdmissionClass.AVAILABILITY, createAvailabilityRequest(NAMESPACE_CD + getRandomSuffix())).release();
+
+            // Releasing the permit frees the slots of all its namespaces.
+            permit.release();
+            permit.release();
+            admissionControlHelper.acquirePermit(AdmissionClass.AVAILABILITY, createAvailabilityRequest(namespace2)).release();
+            admissionControlHelper.acquirePermit(AdmissionClass.AVAILABILITY, collectionRequest).release();
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testAcquirePermitJobBulkNamespaceConcurrency() throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_ENABLED.getKey(), "true");
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_JOB_BULK_MAX_CONCURRENT_PER_USER.getKey(), "0");
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_JOB_BULK_MAX_CONCURRENT_PER_NAMESPACE.getKey(), "1");
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_QUEUE_TIMEOUT_MILLIS.getKey(), "50");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        String namespace = NAMESPACE_CD + getRandomSuffix();
+
+        try
+        {
+            AdmissionControlMetricsRegistry.reset();
+
+            // A bulk job create request holds a slot of each namespace of its jobs.
+            JobCreateCollectionRequest jobCreateCollectionRequest = new JobCreateCollectionRequest();
+            jobCreateCollectionRequest.setJobCreateRequests(Arrays.asList(createJobCreateRequest(namespace), createJobCreateRequest(namespace.toLowerCase())));
+            AdmissionControlHelper.Permit permit = admissionControlHelper.acquirePermit(AdmissionClass.JOB_BULK, jobCreateCollectionRequest);
+
+            try
+            {
+                admissionControlHelper.acquirePermit(AdmissionClass.JOB_BULK, jobCreateCollectionRequest);
+                fail("Should throw a TooManyRequestsException.");
+            }
+            catch (TooManyRequestsException e)
+            {
+                assertTrue(e.getMessage().contains(String.format("Namespace \"%s\" has too many JOB_BULK requests in progress.", namespace.toUpperCase())));
+            }
+            assertEquals(1, AdmissionControlMetricsRegistry.getRejectedCount(AdmissionClass.JOB_BULK, RejectionReason.NAMESPACE_CONCURRENCY));
+
+            permit.release();
+            admissionControlHelper.acquirePermit(AdmissionClass.JOB_BULK, jobCreateCollectionRequest).release();
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testAcquirePermitDisabled() throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_ENABLED.getKey(), "false");
+        overrideMap.put(ConfigurationValue.ADMISSION_CONTROL_INVALIDATION_MAX_CONCURRENT_PER_USER.getKey(), "1");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            AdmissionControlMetricsRegistry.reset();
+
+            // Nothing is limited nor recorded when the admission control is disabled.
+            admissionControlHelper.acquirePermit(AdmissionClass.INVALIDATION);
+            admissionControlHelper.acquirePermit(AdmissionClass.INVALIDATION);
+            assertEquals(0, AdmissionControlMetricsRegistry.getAdmittedCount(AdmissionClass.INVALIDATION));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    /**
+     * Creates a business object data availability request for the specified namespace.
+     *
+     * @param namespace the namespace
+     *
+     * @return the business object data availability request
+     */
+    private BusinessObjectDataAvailabilityRequest createAvailabilityRequest(String namespace)
+    {
+        BusinessObjectDataAvailabilityRequest request = new BusinessObjectDataAvailabilityRequest();
+        request.setNamespace(namespace);
+        return request;
+    }
+
+    /**
+     * Creates a job create request for the specified namespace.
+     *
+     * @param namespace the namespace
+     *
+     * @return the job create request
+     */
+    private JobCreateRequest createJobCreateRequest(String namespace)
+    {
+        JobCreateRequest request = new JobCreateRequest();
+        request.setNamespace(namespace);
+        return request;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.jpa.BusinessObjectDataNotificationRegistrationEntity;
+import org.finra.dm.model.jpa.NotificationEventTypeEntity;
+import org.finra.dm.service.AbstractServiceTest;
+
+/**
+ * This class tests functionality within the BusinessObjectDataNotificationRegistrationIndex class.
+ */
+public class BusinessObjectDataNotificationRegistrationIndexTest extends AbstractServiceTest
+{
+    private static final String EVENT_TYPE = NotificationEventTypeEntity.EVENT_TYPES_BDATA.BUS_OBJCT_DATA_RGSTN.name();
+
+    @Autowired
+    private BusinessObjectDataNotificationRegistrationIndex businessObjectDataNotificationRegistrationIndex;
+
+    @Test
+    public void testGetMatchingRegistrations()
+    {
+        // Create a registration with all the optional filters specified and one with none of them specified.
+        BusinessObjectDataNotificationRegistrationEntity registrationEntity =
+            createBusinessObjectDataNotificationRegistrationEntity(NAMESPACE_CD, NOTIFICATION_NAME, EVENT_TYPE, BOD_NAME, FORMAT_USAGE_CODE,
+                FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, STORAGE_NAME, null);
+        BusinessObjectDataNotificationRegistrationEntity wildcardRegistrationEntity =
+            createBusinessObjectDataNotificationRegistrationEntity(NAMESPACE_CD, NOTIFICATION_NAME_2, EVENT_TYPE, BOD_NAME, null, null, null, null, null);
+
+        // Both registrations match a key that satisfies all the filters.
+        List<BusinessObjectDataNotificationRegistrationIndex.IndexedRegistration> registrations = businessObjectDataNotificationRegistrationIndex
+            .getMatchingRegistrations(EVENT_TYPE,
+                new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                    SUBPARTITION_VALUES, DATA_VERSION));
+        assertEquals(2, registrations.size());
+        assertEquals(registrationEntity.getId(), registrations.get(0).getId());
+        assertEquals(STORAGE_NAME, registrations.get(0).getStorageName());
+        assertEquals(wildcardRegistrationEntity.getId(), registrations.get(1).getId());
+
+        // Only the wildcard registration matches a key with different business object format values.
+        registrations = businessObjectDataNotificationRegistrationIndex.getMatchingRegistrations(EVENT_TYPE,
+            new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE_2, FORMAT_FILE_TYPE_CODE_2, FORMAT_VERSION_2, PARTITION_VALUE,
+                SUBPARTITION_VALUES, DATA_VERSION));
+        assertEquals(1, registrations.size());
+        assertEquals(wildcardRegistrationEntity.getId(), registrations.get(0).getId());
+    }
+
+    @Test
+    public void testGetMatchingRegistrationsCaseInsensitive()
+    {
+        BusinessObjectDataNotificationRegistrationEntity registrationEntity =
+            createBusinessObjectDataNotificationRegistrationEntity(NAMESPACE_CD, NOTIFICATION_NAME, EVENT_TYPE, BOD_NAME, FORMAT_USAGE_CODE,
+                FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, null, null);
+
+        List<BusinessObjectDataNotificationRegistrationIndex.IndexedRegistration> registrations = businessObjectDataNotificationRegistrationIndex
+            .getMatchingRegistrations(EVENT_TYPE.toLowerCase(),
+                new BusinessObjectDataKey(NAMESPACE_CD.toLowerCase(), BOD_NAME.toUpperCase(), FORMAT_USAGE_CODE.toLowerCase(),
+                    FORMAT_FILE_TYPE_CODE.toUpperCase(), FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES, DATA_VERSION));
+
+        assertEquals(1, registrations.size());
+        assertEquals(registrationEntity.getId(), registrations.get(0).getId());
+    }
+
+    @Test
+    public void testGetMatchingRegistrationsAfterDelete()
+    {
+        BusinessObjectDataNotificationRegistrationEntity registrationEntity =
+            createBusinessObjectDataNotificationRegistrationEntity(NAMESPACE_CD, NOTIFICATION_NAME, EVENT_TYPE, BOD_NAME, null, null, null, null, null);
+
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+
+        // Build the index with the registration in it.
+        assertEquals(1, businessObjectDataNotificationRegistrationIndex.getMatchingRegistrations(EVENT_TYPE, businessObjectDataKey).size());
+
+        // Delete the registration and validate that the index no longer returns it.
+        dmDao.delete(registrationEntity);
+        assertTrue(businessObjectDataNotificationRegistrationIndex.getMatchingRegistrations(EVENT_TYPE, businessObjectDataKey).isEmpty());
+    }
+}
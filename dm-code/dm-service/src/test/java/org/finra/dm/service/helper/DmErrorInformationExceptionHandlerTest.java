@@ -37,6 +37,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.finra.dm.model.AlreadyExistsException;
 import org.finra.dm.model.MethodNotAllowedException;
 import org.finra.dm.model.ObjectNotFoundException;
+import org.finra.dm.model.TooManyRequestsException;
 import org.finra.dm.model.api.xml.ErrorInformation;
 import org.finra.dm.service.AbstractServiceTest;
 
@@ -145,6 +146,20 @@ public class DmErrorInformationExceptionHandlerTest extends AbstractServiceTest
         validateErrorInformation(exceptionHandler.handleOperationNotAllowedException(new MethodNotAllowedException(MESSAGE)), HttpStatus.METHOD_NOT_ALLOWED);
     }
     
+    @Test
+    public void testHandleTooManyRequests() throws Exception
+    {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        validateErrorInformation(exceptionHandler.handleTooManyRequestsException(new TooManyRequestsException(MESSAGE, 3), response),
+            HttpStatus.TOO_MANY_REQUESTS);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("3", response.getHeader("Retry-After"));
+
+        // The handler is also invoked without a response to determine whether an error is reportable.
+        validateErrorInformation(exceptionHandler.handleTooManyRequestsException(new TooManyRequestsException(MESSAGE, 3), null),
+            HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @Test
     public void testHandleNotFound() throws Exception
     {
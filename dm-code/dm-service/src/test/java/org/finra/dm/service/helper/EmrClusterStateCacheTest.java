@@ -0,0 +1,142 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.amazonaws.services.elasticmapreduce.model.ClusterState;
+import com.amazonaws.services.elasticmapreduce.model.ClusterSummary;
+import com.amazonaws.services.elasticmapreduce.model.RunJobFlowRequest;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.dm.dao.EmrOperations;
+import org.finra.dm.model.dto.ConfigurationValue;
+import org.finra.dm.service.AbstractServiceTest;
+
+/**
+ * This class tests functionality within the EmrClusterStateCache class.
+ */
+public class EmrClusterStateCacheTest extends AbstractServiceTest
+{
+    private static final long MAX_AGE_MILLIS = 60000;
+
+    @Autowired
+    private EmrClusterStateCache emrClusterStateCache;
+
+    @Autowired
+    private EmrOperations emrOperations;
+
+    @Test
+    public void testGetActiveClusterByName()
+    {
+        String clusterName = "EmrClusterStateCacheTest" + getRandomSuffix();
+        String clusterId = emrOperations.runEmrJobFlow(null, new RunJobFlowRequest().withName(clusterName));
+
+        // The lookup is case insensitive.
+        ClusterSummary clusterSummary = emrClusterStateCache.getActiveClusterByName(clusterName.toLowerCase(), MAX_AGE_MILLIS);
+        assertNotNull(clusterSummary);
+        assertEquals(clusterId, clusterSummary.getId());
+
+        // Terminate the cluster behind the cache's back. The cached state is returned until a fresher state is requested.
+        emrOperations.terminateEmrCluster(null, clusterId, true);
+        assertNotNull(emrClusterStateCache.getActiveClusterByName(clusterName, MAX_AGE_MILLIS));
+        assertNull(emrClusterStateCache.getActiveClusterByName(clusterName, 0));
+    }
+
+    @Test
+    public void testGetActiveClusterByNameCreatedAfterRefresh()
+    {
+        String clusterName = "EmrClusterStateCacheTest" + getRandomSuffix();
+
+        // Cache a fresh snapshot of the active clusters that does not have the cluster yet.
+        emrClusterStateCache.invalidate(null);
+        assertNull(emrClusterStateCache.getActiveClusterByName(clusterName, MAX_AGE_MILLIS));
+
+        // Create the cluster behind the cache's back. A miss is not served from the snapshot, so the cluster is found without invalidating the snapshot.
+        String clusterId = emrOperations.runEmrJobFlow(null, new RunJobFlowRequest().withName(clusterName));
+        ClusterSummary clusterSummary = emrClusterStateCache.getActiveClusterByName(clusterName, MAX_AGE_MILLIS);
+        assertNotNull(clusterSummary);
+        assertEquals(clusterId, clusterSummary.getId());
+
+        emrOperations.terminateEmrCluster(null, clusterId, true);
+    }
+
+    @Test
+    public void testRefreshActiveClustersInUse() throws Exception
+    {
+        String clusterName = "EmrClusterStateCacheTest" + getRandomSuffix();
+        String clusterId = emrOperations.runEmrJobFlow(null, new RunJobFlowRequest().withName(clusterName));
+        emrClusterStateCache.invalidate(null);
+        assertNotNull(emrClusterStateCache.getActiveClusterByName(clusterName, MAX_AGE_MILLIS));
+
+        // Terminate the cluster behind the cache's back. The snapshot is not refreshed in the background until it is older than the refresh interval.
+        emrOperations.terminateEmrCluster(null, clusterId, true);
+        emrClusterStateCache.refreshActiveClustersInUse();
+        assertNotNull(emrClusterStateCache.getActiveClusterByName(clusterName, MAX_AGE_MILLIS));
+
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.EMR_CLUSTER_STATE_CACHE_REFRESH_INTERVAL_SECONDS.getKey(), 1L);
+        modifyPropertySourceInEnvironment(overrideMap);
+        try
+        {
+            Thread.sleep(1100);
+            emrClusterStateCache.refreshActiveClustersInUse();
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+
+        assertNull(emrClusterStateCache.getActiveClusterByName(clusterName, MAX_AGE_MILLIS));
+    }
+
+    @Test
+    public void testGetClusterByIdInvalidate()
+    {
+        String clusterName = "EmrClusterStateCacheTest" + getRandomSuffix();
+        String clusterId = emrOperations.runEmrJobFlow(null, new RunJobFlowRequest().withName(clusterName));
+
+        assertEquals(ClusterState.BOOTSTRAPPING.toString(), emrClusterStateCache.getClusterById(clusterId, MAX_AGE_MILLIS).getStatus().getState());
+
+        // The cached cluster is returned until the cluster gets invalidated.
+        emrOperations.terminateEmrCluster(null, clusterId, true);
+        assertEquals(ClusterState.BOOTSTRAPPING.toString(), emrClusterStateCache.getClusterById(clusterId, MAX_AGE_MILLIS).getStatus().getState());
+
+        emrClusterStateCache.invalidate(clusterId);
+        assertEquals(ClusterState.TERMINATED.toString(), emrClusterStateCache.getClusterById(clusterId, MAX_AGE_MILLIS).getStatus().getState());
+    }
+
+    @Test
+    public void testGetMasterIpAddress() throws Exception
+    {
+        String clusterName = "EmrClusterStateCacheTest" + getRandomSuffix();
+        String clusterId = emrOperations.runEmrJobFlow(null, new RunJobFlowRequest().withName(clusterName));
+
+        assertEquals("INSTANCE_IP_ADDRESS", emrClusterStateCache.getMasterIpAddress(clusterId));
+        assertEquals("INSTANCE_IP_ADDRESS", emrClusterStateCache.getMasterIpAddress(clusterId));
+
+        emrClusterStateCache.invalidate(clusterId);
+        assertEquals("INSTANCE_IP_ADDRESS", emrClusterStateCache.getMasterIpAddress(clusterId));
+
+        emrOperations.terminateEmrCluster(null, clusterId, true);
+    }
+}
@@ -15,13 +15,20 @@
 */
 package org.finra.dm.service.helper;
 
+import java.io.StringReader;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.finra.dm.service.AbstractServiceTest;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.velocity.exception.ParseErrorException;
 import org.junit.Assert;
 import org.junit.Test;
 
+import org.finra.dm.model.api.xml.BusinessObjectDataKey;
+import org.finra.dm.model.dto.ConfigurationValue;
+import org.finra.dm.service.AbstractServiceTest;
+
 public class VelocityHelperTest extends AbstractServiceTest
 {
     @Test
@@ -34,4 +41,92 @@ public class VelocityHelperTest extends AbstractServiceTest
         String result = velocityHelper.evaluate(template, variables, logTag);
         Assert.assertEquals("result", "bar", result);
     }
+
+    @Test
+    public void testEvaluateCachedTemplate()
+    {
+        String template = "#if($foo)${foo}#else none#end " + getRandomSuffix();
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("foo", "bar");
+
+        long missCount = velocityHelper.getCacheMissCount();
+        long hitCount = velocityHelper.getCacheHitCount();
+
+        // The first evaluation parses the template and the second one reuses the parsed template with different variables.
+        Assert.assertEquals("result", "bar " + template.substring(template.lastIndexOf(' ') + 1), velocityHelper.evaluate(template, variables, "test"));
+        variables.remove("foo");
+        Assert.assertEquals("result", " none " + template.substring(template.lastIndexOf(' ') + 1),
+            velocityHelper.evaluate(template, variables, "test"));
+
+        Assert.assertEquals("miss count", missCount + 1, velocityHelper.getCacheMissCount());
+        Assert.assertTrue("hit count", velocityHelper.getCacheHitCount() >= hitCount + 1);
+    }
+
+    @Test
+    public void testGetMetricsTextReport()
+    {
+        String template = "${foo} " + getRandomSuffix();
+        velocityHelper.evaluate(template, new HashMap<String, Object>(), "test");
+        velocityHelper.evaluate(template, new HashMap<String, Object>(), "test");
+
+        String report = velocityHelper.getMetricsTextReport();
+        Assert.assertTrue(report.contains("# TYPE dm_velocity_template_cache_hits_total counter\n"));
+        Assert.assertTrue(report.contains("\ndm_velocity_template_cache_hits_total " + velocityHelper.getCacheHitCount() + "\n"));
+        Assert.assertTrue(report.contains("\ndm_velocity_template_cache_misses_total " + velocityHelper.getCacheMissCount() + "\n"));
+        Assert.assertTrue(report.contains("\ndm_velocity_template_cache_evictions_total " + velocityHelper.getCacheEvictionCount() + "\n"));
+        Assert.assertTrue(report.contains("\ndm_velocity_template_cache_size " + velocityHelper.getCacheSize() + "\n"));
+    }
+
+    @Test
+    public void testEvaluateCacheMaxSize() throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.VELOCITY_TEMPLATE_CACHE_MAX_SIZE.getKey(), 2);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            for (int i = 0; i < 5; i++)
+            {
+                Assert.assertEquals("result", String.valueOf(i), velocityHelper.evaluate(String.valueOf(i), new HashMap<String, Object>(), "test"));
+            }
+            Assert.assertTrue("cache size", velocityHelper.getCacheSize() <= 2);
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test(expected = ParseErrorException.class)
+    public void testEvaluateParseError()
+    {
+        velocityHelper.evaluate("#if($foo", new HashMap<String, Object>(), "test");
+    }
+
+    @Test
+    public void testEvaluateStatusChangeTemplateCached()
+    {
+        String template = configurationHelper.getProperty(ConfigurationValue.DM_NOTIFICATION_SQS_BUSINESS_OBJECT_DATA_STATUS_CHANGE_VELOCITY_TEMPLATE);
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("dm_notification_sqs_environment", "UT");
+        variables.put("current_time", "2015-01-01T00:00:00.000-05:00");
+        variables.put("uuid", "UUID");
+        variables.put("username", "USER");
+        variables.put("StringUtils", StringUtils.class);
+        variables.put("CollectionUtils", CollectionUtils.class);
+        variables.put("businessObjectDataId", INTEGER_VALUE);
+        variables.put("businessObjectDataKey",
+            new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION));
+        variables.put("newBusinessObjectDataStatus", BDATA_STATUS);
+        variables.put("oldBusinessObjectDataStatus", BDATA_STATUS_2);
+
+        // The cached template produces the same message as parsing the template on every evaluation. The evaluation throughput is measured by the
+        // VelocityHelperBenchmark in the dm-benchmarks module.
+        String expectedMessage = velocityHelper.evaluate(new StringReader(template), variables, "test");
+        Assert.assertEquals("message", expectedMessage, velocityHelper.evaluate(template, variables, "test"));
+        Assert.assertEquals("message", expectedMessage, velocityHelper.evaluate(template, variables, "test"));
+    }
 }
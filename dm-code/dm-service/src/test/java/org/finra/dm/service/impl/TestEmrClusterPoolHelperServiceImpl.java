@@ -0,0 +1,44 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.service.impl;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import org.finra.dm.dao.config.DaoSpringModuleConfig;
+import org.finra.dm.model.api.xml.EmrClusterDefinitionKey;
+import org.finra.dm.model.jpa.EmrClusterPoolEntity;
+
+/**
+ * This is an EMR cluster pool helper service implementation for testing.
+ */
+@Service
+@Transactional(value = DaoSpringModuleConfig.DM_TRANSACTION_MANAGER_BEAN_NAME)
+@Primary
+public class TestEmrClusterPoolHelperServiceImpl extends EmrClusterPoolHelperServiceImpl
+{
+    // Overwrite the base class method to change transactional attributes.
+    @Override
+    public List<EmrClusterPoolEntity> removeIdleEmrClusters(EmrClusterDefinitionKey emrClusterDefinitionKey, String emrClusterDefinitionHash, int poolSize,
+        Set<String> activeEmrClusterIds)
+    {
+        return removeIdleEmrClustersImpl(emrClusterDefinitionKey, emrClusterDefinitionHash, poolSize, activeEmrClusterIds);
+    }
+}
@@ -39,10 +39,10 @@ import org.finra.dm.service.EmrService;
 public class TestEmrServiceImpl extends EmrServiceImpl implements EmrService
 {
     @Override
-    public EmrCluster getCluster(EmrClusterAlternateKeyDto alternateKey, String emrClusterId, String emrStepId, boolean verbose, boolean retrieveOozieJobs) 
-        throws Exception
+    public EmrCluster getCluster(EmrClusterAlternateKeyDto alternateKey, String emrClusterId, String emrStepId, boolean verbose, boolean retrieveOozieJobs,
+        boolean consistentRead) throws Exception
     {
-        return getClusterImpl(alternateKey, emrClusterId, emrStepId, verbose, retrieveOozieJobs);
+        return getClusterImpl(alternateKey, emrClusterId, emrStepId, verbose, retrieveOozieJobs, consistentRead);
     }
 
     @Override
@@ -74,7 +74,8 @@ public class DownloaderApp extends DataBridgeApp
         DownloaderController controller = applicationContext.getBean(DownloaderController.class);
         DmRegServerAccessParamsDto dmRegServerAccessParamsDto =
             DmRegServerAccessParamsDto.builder().dmRegServerHost(argParser.getStringValue(dmRegServerHostOpt)).dmRegServerPort(dmRegServerPort).useSsl(useSsl)
-                .username(argParser.getStringValue(usernameOpt)).password(argParser.getStringValue(passwordOpt)).build();
+                .username(argParser.getStringValue(usernameOpt)).password(argParser.getStringValue(passwordOpt)).useBinaryContentType(useBinaryContentType)
+                .build();
         controller.performDownload(dmRegServerAccessParamsDto, argParser.getFileValue(manifestPathOpt), params);
 
         // No exceptions were returned so return success.
@@ -106,7 +106,7 @@ public class DownloaderWebClient extends DataBridgeWebClient
 
         CloseableHttpClient client = HttpClientBuilder.create().build();
         HttpGet request = new HttpGet(uri);
-        request.addHeader("Accepts", "application/xml");
+        request.addHeader("Accept", getContentType());
 
         // If SSL is enabled, set the client authentication header.
         if (dmRegServerAccessParamsDto.getUseSsl())
@@ -23,6 +23,7 @@ import org.springframework.context.annotation.FilterType;
 import org.finra.dm.core.helper.ConfigurationHelper;
 import org.finra.dm.dao.S3Dao;
 import org.finra.dm.dao.helper.DmStringHelper;
+import org.finra.dm.dao.helper.SmileHelper;
 import org.finra.dm.dao.helper.JavaPropertiesHelper;
 import org.finra.dm.dao.impl.S3DaoImpl;
 import org.finra.dm.service.S3Service;
@@ -59,6 +60,12 @@ public class DataBridgeSpringModuleConfig
         return new DmStringHelper();
     }
 
+    @Bean
+    public SmileHelper smileHelper()
+    {
+        return new SmileHelper();
+    }
+
     // This dependency is required when DmStringHelper is used.
     @Bean
     public ConfigurationHelper configurationHelper()
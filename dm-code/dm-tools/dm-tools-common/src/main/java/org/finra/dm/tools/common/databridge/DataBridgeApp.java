@@ -58,9 +58,11 @@ public abstract class DataBridgeApp
     protected Option httpProxyHostOpt;
     protected Option httpProxyPortOpt;
     protected Option maxThreadsOpt;
+    protected Option binaryContentTypeOpt;
 
     // Boolean values for command line options that are of type "Boolean".
     protected Boolean useSsl;
+    protected Boolean useBinaryContentType;
 
     // Integer values for command line options that are of type "Integer".
     protected Integer dmRegServerPort;
@@ -140,6 +142,8 @@ public abstract class DataBridgeApp
             httpProxyHostOpt = argParser.addArgument("n", "httpProxyHost", true, "HTTP proxy host.", false);
             httpProxyPortOpt = argParser.addArgument("o", "httpProxyPort", true, "HTTP proxy port.", false);
             maxThreadsOpt = argParser.addArgument("t", "maxThreads", true, "Maximum number of threads.", false);
+            binaryContentTypeOpt = argParser.addArgument("b", "binaryContentType", true,
+                "Enable or disable the compact binary (Smile) content type instead of XML to communicate with the Data Management Service.", false);
 
             // Parse command line arguments without failing on any missing required arguments by passing "false" as the second argument.
             argParser.parseArguments(args, false);
@@ -166,6 +170,7 @@ public abstract class DataBridgeApp
 
             // Extract a boolean option value passing "false" as a default value.
             useSsl = argParser.getStringValueAsBoolean(sslOpt, false);
+            useBinaryContentType = argParser.getStringValueAsBoolean(binaryContentTypeOpt, false);
 
             // Username and password are required when useSsl is enabled.
             if (useSsl && (StringUtils.isBlank(argParser.getStringValue(usernameOpt)) || StringUtils.isBlank(argParser.getStringValue(passwordOpt))))
@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -37,11 +38,16 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
@@ -52,6 +58,7 @@ import org.springframework.util.CollectionUtils;
 
 import org.finra.dm.dao.HttpClientOperations;
 import org.finra.dm.dao.helper.DmStringHelper;
+import org.finra.dm.dao.helper.SmileHelper;
 import org.finra.dm.model.dto.DataBridgeBaseManifestDto;
 import org.finra.dm.model.dto.DmRegServerAccessParamsDto;
 import org.finra.dm.model.dto.ManifestFile;
@@ -75,6 +82,8 @@ public abstract class DataBridgeWebClient
 
     protected static final String DM_APP_REST_URI_PREFIX = "/dm-app/rest";
 
+    protected static final String XML_CONTENT_TYPE = "application/xml";
+
     /**
      * The DTO for the parameters required to communicate with the Data Management Registration Server.
      */
@@ -86,6 +95,15 @@ public abstract class DataBridgeWebClient
     @Autowired
     protected HttpClientOperations httpClientOperations;
 
+    @Autowired
+    protected SmileHelper smileHelper;
+
+    /**
+     * The metadata retrieved from the Data Management Service along with its entity tag, keyed by request URI and content type. The entity tag is sent back
+     * with the next request for the same metadata so the service can answer with a "304 Not Modified" when the metadata didn't change.
+     */
+    private final Map<String, CachedMetadata> cachedMetadata = new ConcurrentHashMap<>();
+
     /**
      * Returns the Data Management Registration Server Access Parameters DTO.
      *
@@ -129,7 +147,7 @@ public abstract class DataBridgeWebClient
         try (CloseableHttpClient client = HttpClientBuilder.create().build())
         {
             HttpGet request = new HttpGet(uriBuilder.build());
-            request.addHeader("Accepts", "application/xml");
+            request.addHeader("Accept", getContentType());
 
             // If SSL is enabled, set the client authentication header.
             if (dmRegServerAccessParamsDto.getUseSsl())
@@ -137,10 +155,7 @@ public abstract class DataBridgeWebClient
                 request.addHeader(getAuthorizationHeader());
             }
 
-            LOGGER.info(String.format("    HTTP GET URI: %s", request.getURI().toString()));
-            LOGGER.info(String.format("    HTTP GET Headers: %s", Arrays.toString(request.getAllHeaders())));
-
-            storage = getStorage(httpClientOperations.execute(client, request));
+            storage = (Storage) getMetadata(client, request, "retrieve storage information from the Data Management Service", Storage.class);
         }
 
         LOGGER.info("Successfully retrieved storage information from the Data Management Service.");
@@ -227,14 +242,29 @@ public abstract class DataBridgeWebClient
         // Add business object data parents, if any.
         request.setBusinessObjectDataParents(manifest.getBusinessObjectDataParents());
 
-        // Create a JAXB context and marshaller
-        JAXBContext requestContext = JAXBContext.newInstance(BusinessObjectDataCreateRequest.class);
-        Marshaller requestMarshaller = requestContext.createMarshaller();
-        requestMarshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
-        requestMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        // Serialize the request in the content type the client is configured to use.
+        HttpEntity requestEntity;
+        String requestContent;
+        if (isUseBinaryContentType())
+        {
+            byte[] smileRequest = smileHelper.objectToSmile(request);
+            requestEntity = new ByteArrayEntity(smileRequest, ContentType.create(SmileHelper.SMILE_CONTENT_TYPE));
+            requestContent = String.format("<%d bytes of %s content>", smileRequest.length, SmileHelper.SMILE_CONTENT_TYPE);
+        }
+        else
+        {
+            // Create a JAXB context and marshaller
+            JAXBContext requestContext = JAXBContext.newInstance(BusinessObjectDataCreateRequest.class);
+            Marshaller requestMarshaller = requestContext.createMarshaller();
+            requestMarshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
+            requestMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+
+            StringWriter sw = new StringWriter();
+            requestMarshaller.marshal(request, sw);
 
-        StringWriter sw = new StringWriter();
-        requestMarshaller.marshal(request, sw);
+            requestContent = sw.toString();
+            requestEntity = new StringEntity(requestContent);
+        }
 
         BusinessObjectData businessObjectData;
         try (CloseableHttpClient client = HttpClientBuilder.create().build())
@@ -243,8 +273,8 @@ public abstract class DataBridgeWebClient
                 .setPort(dmRegServerAccessParamsDto.getDmRegServerPort()).setPath(DM_APP_REST_URI_PREFIX + "/businessObjectData").build();
             HttpPost post = new HttpPost(uri);
 
-            post.addHeader("Content-Type", "application/xml");
-            post.addHeader("Accepts", "application/xml");
+            post.addHeader("Content-Type", getContentType());
+            post.addHeader("Accept", getContentType());
 
             // If SSL is enabled, set the client authentication header.
             if (dmRegServerAccessParamsDto.getUseSsl())
@@ -252,11 +282,11 @@ public abstract class DataBridgeWebClient
                 post.addHeader(getAuthorizationHeader());
             }
 
-            post.setEntity(new StringEntity(sw.toString()));
+            post.setEntity(requestEntity);
 
             LOGGER.info(String.format("    HTTP POST URI: %s", post.getURI().toString()));
             LOGGER.info(String.format("    HTTP POST Headers: %s", Arrays.toString(post.getAllHeaders())));
-            LOGGER.info(String.format("    HTTP POST Entity Content:\n%s", sw.toString()));
+            LOGGER.info(String.format("    HTTP POST Entity Content:\n%s", requestContent));
 
             businessObjectData =
                 getBusinessObjectData(httpClientOperations.execute(client, post), "register business object data with the Data Management Service");
@@ -326,7 +356,7 @@ public abstract class DataBridgeWebClient
         try (CloseableHttpClient client = HttpClientBuilder.create().build())
         {
             HttpGet request = new HttpGet(uriBuilder.build());
-            request.addHeader("Accepts", "application/xml");
+            request.addHeader("Accept", getContentType());
 
             // If SSL is enabled, set the client authentication header.
             if (dmRegServerAccessParamsDto.getUseSsl())
@@ -346,6 +376,26 @@ public abstract class DataBridgeWebClient
         return s3KeyPrefixInformation;
     }
 
+    /**
+     * Determines whether the binary (Smile) content type is used to communicate with the Data Management Registration Server instead of XML.
+     *
+     * @return true if the binary content type is used, false otherwise
+     */
+    protected boolean isUseBinaryContentType()
+    {
+        return Boolean.TRUE.equals(dmRegServerAccessParamsDto.getUseBinaryContentType());
+    }
+
+    /**
+     * Returns the content type of the requests sent to and the responses asked from the Data Management Registration Server.
+     *
+     * @return the content type
+     */
+    protected String getContentType()
+    {
+        return isUseBinaryContentType() ? SmileHelper.SMILE_CONTENT_TYPE : XML_CONTENT_TYPE;
+    }
+
     /**
      * Returns an URI scheme.
      */
@@ -367,15 +417,49 @@ public abstract class DataBridgeWebClient
     }
 
     /**
-     * Extracts Storage object from the Data Management Service HTTP response.
+     * Executes a GET request for metadata that rarely changes. The request is made conditional when the metadata was retrieved before, in which case the
+     * cached metadata is returned if the Data Management Service reports that it wasn't modified.
      *
-     * @param httpResponse the response received from the supported options
+     * @param client the HTTP client
+     * @param request the GET request
+     * @param actionDescription the description of the action being performed with the Data Management Service (to be used in an error message).
+     * @param responseClass the class of the object expected to be returned by the Data Management Service.
      *
-     * @return the Storage object extracted from the Data Management Service response
+     * @return the metadata object
+     * @throws IOException if an I/O error was encountered.
+     * @throws JAXBException if a JAXB error was encountered.
      */
-    private Storage getStorage(CloseableHttpResponse httpResponse)
+    protected Object getMetadata(CloseableHttpClient client, HttpGet request, String actionDescription, Class<?> responseClass)
+        throws IOException, JAXBException
     {
-        return (Storage) processXmlHttpResponse(httpResponse, "retrieve storage information from the Data Management Service", Storage.class);
+        String cacheKey = request.getURI().toString() + " " + getContentType();
+        CachedMetadata cached = cachedMetadata.get(cacheKey);
+        if (cached != null)
+        {
+            request.addHeader("If-None-Match", cached.getEntityTag());
+        }
+
+        LOGGER.info(String.format("    HTTP GET URI: %s", request.getURI().toString()));
+        LOGGER.info(String.format("    HTTP GET Headers: %s", Arrays.toString(request.getAllHeaders())));
+
+        CloseableHttpResponse httpResponse = httpClientOperations.execute(client, request);
+
+        if (cached != null && httpResponse.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED)
+        {
+            LOGGER.info("    Not modified since it was last retrieved, using the cached response.");
+            httpResponse.close();
+            return cached.getMetadata();
+        }
+
+        // Get the entity tag first since processing the response closes it.
+        Header entityTagHeader = httpResponse.getFirstHeader("ETag");
+        Object metadata = processXmlHttpResponse(httpResponse, actionDescription, responseClass);
+        if (entityTagHeader != null)
+        {
+            cachedMetadata.put(cacheKey, new CachedMetadata(entityTagHeader.getValue(), metadata));
+        }
+
+        return metadata;
     }
 
     /**
@@ -421,7 +505,8 @@ public abstract class DataBridgeWebClient
     }
 
     /**
-     * Extracts an instance of the specified object class from the Data Management Service response.
+     * Extracts an instance of the specified object class from the Data Management Service response. The response is read according to its content type, i.e.
+     * as Smile if the server sent it as such or as XML otherwise.
      *
      * @param response the HTTP response received from the Data Management Service.
      * @param actionDescription the description of the action being performed with the Data Management Service (to be used in an error message).
@@ -438,7 +523,25 @@ public abstract class DataBridgeWebClient
 
         try
         {
-            if (responseStatusLine.getStatusCode() == 200)
+            if (isSmileResponse(response))
+            {
+                // Smile content isn't human readable so only its size gets logged if it can't be processed.
+                byte[] smileResponse = IOUtils.toByteArray(response.getEntity().getContent());
+                xmlResponse = String.format("<%d bytes of %s content>", smileResponse.length, SmileHelper.SMILE_CONTENT_TYPE);
+                InputStream inputStream = new ByteArrayInputStream(smileResponse);
+
+                if (responseStatusLine.getStatusCode() == 200)
+                {
+                    responseObject = smileHelper.unmarshallSmileToObject(responseClass[0], inputStream);
+                }
+                else
+                {
+                    ErrorInformation errorInfo = smileHelper.unmarshallSmileToObject(ErrorInformation.class, inputStream);
+                    errorException = new HttpErrorResponseException("Failed to " + actionDescription, errorInfo.getStatusCode(),
+                        errorInfo.getStatusDescription(), errorInfo.getMessage());
+                }
+            }
+            else if (responseStatusLine.getStatusCode() == 200)
             {
                 // Request is successfully handled by the Server.
                 xmlResponse = IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8.name());
@@ -494,4 +597,43 @@ public abstract class DataBridgeWebClient
         // Return the response.
         return responseObject;
     }
+
+    /**
+     * Determines whether the Data Management Service response holds Smile content.
+     *
+     * @param response the HTTP response received from the Data Management Service.
+     *
+     * @return true if the response content type is Smile, false otherwise.
+     */
+    private boolean isSmileResponse(CloseableHttpResponse response)
+    {
+        Header contentType = response.getEntity() == null ? null : response.getEntity().getContentType();
+        return contentType != null && StringUtils.startsWithIgnoreCase(contentType.getValue(), SmileHelper.SMILE_CONTENT_TYPE);
+    }
+
+    /**
+     * Metadata retrieved from the Data Management Service along with its entity tag.
+     */
+    private static class CachedMetadata
+    {
+        private final String entityTag;
+
+        private final Object metadata;
+
+        CachedMetadata(String entityTag, Object metadata)
+        {
+            this.entityTag = entityTag;
+            this.metadata = metadata;
+        }
+
+        public String getEntityTag()
+        {
+            return entityTag;
+        }
+
+        public Object getMetadata()
+        {
+            return metadata;
+        }
+    }
 }
@@ -26,6 +26,8 @@ import javax.xml.bind.JAXBException;
 
 import org.apache.http.HttpVersion;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.message.BasicStatusLine;
 import org.junit.Assert;
@@ -35,6 +37,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import org.finra.dm.dao.HttpClientOperations;
 import org.finra.dm.dao.helper.DmStringHelper;
+import org.finra.dm.dao.helper.SmileHelper;
 import org.finra.dm.dao.helper.XmlHelper;
 import org.finra.dm.dao.impl.MockCloseableHttpResponse;
 import org.finra.dm.model.dto.DataBridgeBaseManifestDto;
@@ -60,6 +63,9 @@ public class DataBridgeWebClientTest extends AbstractDataBridgeTest
     @Autowired
     private DmStringHelper dmStringHelper;
 
+    @Autowired
+    private SmileHelper smileHelper;
+
     @Before
     public void before()
     {
@@ -75,6 +81,7 @@ public class DataBridgeWebClientTest extends AbstractDataBridgeTest
 
         dataBridgeWebClient.httpClientOperations = httpClientOperations;
         dataBridgeWebClient.dmStringHelper = dmStringHelper;
+        dataBridgeWebClient.smileHelper = smileHelper;
     }
 
     @Test
@@ -89,6 +96,29 @@ public class DataBridgeWebClientTest extends AbstractDataBridgeTest
         testGetStorage(true);
     }
 
+    @Test
+    public void testGetStorageUseBinaryContentType() throws Exception
+    {
+        dataBridgeWebClient.dmRegServerAccessParamsDto.setUseBinaryContentType(true);
+        testGetStorage(false);
+    }
+
+    @Test
+    public void testGetStorageNotModified() throws Exception
+    {
+        Storage storage = dataBridgeWebClient.getStorage("testStorage");
+
+        // The storage didn't change so the second request is answered with a "304 Not Modified" and the cached storage is returned.
+        Assert.assertSame(storage, dataBridgeWebClient.getStorage("testStorage"));
+
+        // Other storages and other content types are cached separately.
+        Assert.assertNotSame(storage, dataBridgeWebClient.getStorage("testOtherStorage"));
+        dataBridgeWebClient.dmRegServerAccessParamsDto.setUseBinaryContentType(true);
+        Storage binaryStorage = dataBridgeWebClient.getStorage("testStorage");
+        Assert.assertNotSame(storage, binaryStorage);
+        Assert.assertEquals(storage, binaryStorage);
+    }
+
     @Test
     public void testRegisterBusinessObjectData() throws Exception
     {
@@ -115,6 +145,20 @@ public class DataBridgeWebClientTest extends AbstractDataBridgeTest
         testGetS3KeyPrefix("testNamespace", Arrays.asList("testSubPartitionValue1", "testSubPartitionValue2"), 0, false);
     }
 
+    @Test
+    public void testGetS3KeyPrefixUseBinaryContentType() throws Exception
+    {
+        dataBridgeWebClient.dmRegServerAccessParamsDto.setUseBinaryContentType(true);
+        testGetS3KeyPrefix("testNamespace", Arrays.asList("testSubPartitionValue1", "testSubPartitionValue2"), 0, false);
+    }
+
+    @Test
+    public void testRegisterBusinessObjectDataUseBinaryContentType() throws Exception
+    {
+        dataBridgeWebClient.dmRegServerAccessParamsDto.setUseBinaryContentType(true);
+        testRegisterBusinessObjectData(new HashMap<String, String>(), false);
+    }
+
     @Test
     public void testGetS3KeyPrefixNoNamespace() throws Exception
     {
@@ -149,6 +193,43 @@ public class DataBridgeWebClientTest extends AbstractDataBridgeTest
         Assert.assertNotNull("businessObjectData", businessObjectData);
     }
 
+    @Test
+    public void testGetBusinessObjectData200ValidSmileResponse() throws Exception
+    {
+        BusinessObjectData expectedBusinessObjectData = new BusinessObjectData();
+        expectedBusinessObjectData.setId(1234);
+        expectedBusinessObjectData.setPartitionValue("2014-01-31");
+
+        CloseableHttpResponse httpResponse = new MockCloseableHttpResponse(new BasicStatusLine(HttpVersion.HTTP_1_1, 200, "testReasonPhrase"));
+        httpResponse.setEntity(
+            new ByteArrayEntity(smileHelper.objectToSmile(expectedBusinessObjectData), ContentType.create(SmileHelper.SMILE_CONTENT_TYPE)));
+        BusinessObjectData businessObjectData = dataBridgeWebClient.getBusinessObjectData(httpResponse, "testActionDescription");
+        Assert.assertEquals("businessObjectData", expectedBusinessObjectData, businessObjectData);
+    }
+
+    @Test
+    public void testGetBusinessObjectData400SmileResponseThrows() throws Exception
+    {
+        ErrorInformation errorInformation = new ErrorInformation();
+        errorInformation.setStatusCode(400);
+        errorInformation.setStatusDescription("testStatusDescription");
+        errorInformation.setMessage("testMessage");
+
+        CloseableHttpResponse httpResponse = new MockCloseableHttpResponse(new BasicStatusLine(HttpVersion.HTTP_1_1, 400, "testReasonPhrase"));
+        httpResponse.setEntity(new ByteArrayEntity(smileHelper.objectToSmile(errorInformation), ContentType.create(SmileHelper.SMILE_CONTENT_TYPE)));
+        try
+        {
+            dataBridgeWebClient.getBusinessObjectData(httpResponse, "testActionDescription");
+            Assert.fail("expected HttpErrorResponseException, but no exception was thrown");
+        }
+        catch (HttpErrorResponseException e)
+        {
+            Assert.assertEquals("statusCode", 400, e.getStatusCode());
+            Assert.assertEquals("statusDescription", "testStatusDescription", e.getStatusDescription());
+            Assert.assertEquals("responseMessage", "testMessage", e.getResponseMessage());
+        }
+    }
+
     @Test
     public void testGetBusinessObjectData200BadContentReturnsNull() throws Exception
     {
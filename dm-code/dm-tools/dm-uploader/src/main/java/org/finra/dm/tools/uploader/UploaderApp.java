@@ -141,7 +141,8 @@ public class UploaderApp extends DataBridgeApp
         UploaderController controller = applicationContext.getBean(UploaderController.class);
         DmRegServerAccessParamsDto dmRegServerAccessParamsDto =
             DmRegServerAccessParamsDto.builder().dmRegServerHost(argParser.getStringValue(dmRegServerHostOpt)).dmRegServerPort(dmRegServerPort).useSsl(useSsl)
-                .username(argParser.getStringValue(usernameOpt)).password(argParser.getStringValue(passwordOpt)).build();
+                .username(argParser.getStringValue(usernameOpt)).password(argParser.getStringValue(passwordOpt)).useBinaryContentType(useBinaryContentType)
+                .build();
         controller.performUpload(dmRegServerAccessParamsDto, argParser.getFileValue(manifestPathOpt), params, argParser.getBooleanValue(createNewVersionOpt),
             maxRetryAttempts, retryDelaySecs);
 
@@ -22,6 +22,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.bind.JAXBException;
 
@@ -33,6 +34,7 @@ import org.springframework.stereotype.Component;
 
 import org.finra.dm.core.DmFileUtils;
 import org.finra.dm.core.helper.DmThreadHelper;
+import org.finra.dm.dao.StorageFileHandler;
 import org.finra.dm.model.dto.DmRegServerAccessParamsDto;
 import org.finra.dm.model.dto.ManifestFile;
 import org.finra.dm.model.dto.S3FileTransferRequestParamsDto;
@@ -123,9 +125,8 @@ public class UploaderController extends DataBridgeController
             params.setS3KeyPrefix(s3KeyPrefixInformation.getS3KeyPrefix() + "/");
             params.setFiles(sourceFiles);
 
-            // Check if the destination S3 key prefix is empty.
-            // When listing S3 files, by default, we do not ignore 0 byte objects that represent S3 directories.
-            if (s3Service.listDirectory(params).isEmpty())
+            // Check if the destination S3 key prefix is empty. The 0 byte objects that represent S3 directories are not ignored.
+            if (s3Service.isDirectoryEmpty(params))
             {
                 cleanUpS3KeyPrefixOnFailure = true;
             }
@@ -285,13 +286,23 @@ public class UploaderController extends DataBridgeController
      */
     protected void logS3KeyPrefixContents(S3FileTransferRequestParamsDto params)
     {
-        List<StorageFile> storageFiles = s3Service.listDirectory(params);
-        LOGGER
-            .info(String.format("Found %d keys with prefix \"%s\" in bucket \"%s\":", storageFiles.size(), params.getS3KeyPrefix(), params.getS3BucketName()));
+        final String s3BucketName = params.getS3BucketName();
+        final AtomicLong s3KeyCount = new AtomicLong();
 
-        for (StorageFile storageFile : storageFiles)
+        // Log the keys as they get listed rather than holding the entire listing in memory.
+        s3Service.listDirectory(params, false, new StorageFileHandler()
         {
-            LOGGER.info(String.format("    s3://%s/%s", params.getS3BucketName(), storageFile.getFilePath()));
-        }
+            @Override
+            public void handle(List<StorageFile> storageFiles)
+            {
+                for (StorageFile storageFile : storageFiles)
+                {
+                    LOGGER.info(String.format("    s3://%s/%s", s3BucketName, storageFile.getFilePath()));
+                }
+                s3KeyCount.addAndGet(storageFiles.size());
+            }
+        });
+
+        LOGGER.info(String.format("Found %d keys with prefix \"%s\" in bucket \"%s\".", s3KeyCount.get(), params.getS3KeyPrefix(), s3BucketName));
     }
 }
@@ -16,11 +16,13 @@
 package org.finra.dm.ui;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 import javax.servlet.FilterChain;
@@ -31,15 +33,21 @@ import javax.servlet.http.HttpServletRequestWrapper;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.log4j.Logger;
+import org.springframework.core.env.Environment;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.WebUtils;
 
+import org.finra.dm.core.ApplicationContextHolder;
+import org.finra.dm.core.helper.ConfigurationHelper;
+import org.finra.dm.dao.SqlRequestStatistics;
+import org.finra.dm.model.dto.ConfigurationValue;
+
 /**
- * A servlet filter that logs incoming HTTP requests. This approach is similar to the Spring CommonsRequestLoggingFilter, but is customized to ensure that the
- * full request body is always read and logged. In addition, this filter only has the concept of "before" request logging.
+ * A servlet filter that logs incoming HTTP requests. This approach is similar to the Spring CommonsRequestLoggingFilter, but is customized to capture the
+ * request body as the application reads it: only the first bytes of the body, up to the configured capture size, are copied into a pooled buffer while the
+ * body streams through to the application. The request is logged once it completes and only one request out of the configured sampling interval is logged.
  */
 public class RequestLoggingFilter extends OncePerRequestFilter
 {
@@ -49,6 +57,16 @@ public class RequestLoggingFilter extends OncePerRequestFilter
     public static final String DEFAULT_LOG_MESSAGE_SUFFIX = "]";
     private static final Integer DEFAULT_MAX_PAYLOAD_LENGTH = null; // Default to unlimited.
 
+    /**
+     * The maximum number of capture buffers kept for reuse.
+     */
+    private static final int CAPTURE_BUFFER_POOL_SIZE = 64;
+
+    /**
+     * The capture buffers released by the completed requests, shared by all the filter instances.
+     */
+    private static final BlockingQueue<byte[]> CAPTURE_BUFFER_POOL = new ArrayBlockingQueue<>(CAPTURE_BUFFER_POOL_SIZE);
+
     private boolean includeQueryString = true;
     private boolean includeClientInfo = true;
     private boolean includePayload = true;
@@ -56,6 +74,11 @@ public class RequestLoggingFilter extends OncePerRequestFilter
     private String logMessagePrefix = DEFAULT_LOG_MESSAGE_PREFIX;
     private String logMessageSuffix = DEFAULT_LOG_MESSAGE_SUFFIX;
 
+    /**
+     * The number of requests seen by this filter, used to sample the requests to log.
+     */
+    private final AtomicLong requestCount = new AtomicLong();
+
     /**
      * Set whether or not the query string should be included in the log message.
      */
@@ -141,70 +164,151 @@ public class RequestLoggingFilter extends OncePerRequestFilter
     {
         HttpServletRequest requestLocal = request;
 
-        // Determine if this is the first request or not. We only want to wrap the request to log on the first request.
+        // Determine if this is the first request or not. We only want to wrap the request to log on the first request. Only the sampled requests are
+        // wrapped so the others stream through untouched.
         boolean isFirstRequest = !isAsyncDispatch(requestLocal);
-        if (isFirstRequest)
+        RequestLoggingFilterWrapper requestLoggingFilterWrapper = null;
+        if (isFirstRequest && LOGGER.isDebugEnabled())
+        {
+            Environment environment = ApplicationContextHolder.getApplicationContext().getEnvironment();
+            int samplingInterval = ConfigurationHelper.getProperty(ConfigurationValue.REQUEST_LOGGING_SAMPLING_INTERVAL, Integer.class, environment);
+            if (samplingInterval <= 1 || requestCount.getAndIncrement() % samplingInterval == 0)
+            {
+                requestLoggingFilterWrapper = new RequestLoggingFilterWrapper(requestLocal,
+                    ConfigurationHelper.getProperty(ConfigurationValue.REQUEST_LOGGING_PAYLOAD_CAPTURE_SIZE_BYTES, Integer.class, environment));
+                requestLocal = requestLoggingFilterWrapper;
+            }
+        }
+
+        // Track the SQL statements run while handling the request so their count can be logged once the request completes.
+        boolean trackSqlStatements = isFirstRequest && LOGGER.isDebugEnabled();
+        if (trackSqlStatements)
         {
-            requestLocal = new RequestLoggingFilterWrapper(requestLocal);
+            SqlRequestStatistics.start();
         }
 
-        // Move onto the next filter while wrapping the request with our own custom logging class.
-        filterChain.doFilter(requestLocal, response);
+        try
+        {
+            // Move onto the next filter while wrapping the request with our own custom logging class.
+            filterChain.doFilter(requestLocal, response);
+        }
+        finally
+        {
+            if (requestLoggingFilterWrapper != null)
+            {
+                requestLoggingFilterWrapper.logRequest();
+            }
+
+            if (trackSqlStatements)
+            {
+                SqlRequestStatistics sqlRequestStatistics = SqlRequestStatistics.stop();
+                LOGGER.debug(String.format("HTTP Request [uri=%s] ran %d SQL statement(s) in %d ms.", request.getRequestURI(),
+                    sqlRequestStatistics.getStatementCount(), TimeUnit.NANOSECONDS.toMillis(sqlRequestStatistics.getExecutionTimeNanos())));
+            }
+        }
+    }
+
+    /**
+     * Gets a capture buffer from the pool, allocating a new one if the pool has no buffer of the requested size.
+     *
+     * @param size the size of the buffer
+     *
+     * @return the capture buffer
+     */
+    private static byte[] borrowCaptureBuffer(int size)
+    {
+        byte[] buffer = CAPTURE_BUFFER_POOL.poll();
+        return buffer != null && buffer.length == size ? buffer : new byte[size];
     }
 
     /**
-     * A request wrapper that logs incoming requests.
+     * Returns a capture buffer to the pool. The buffer is dropped if the pool is full.
+     *
+     * @param buffer the capture buffer
+     */
+    private static void releaseCaptureBuffer(byte[] buffer)
+    {
+        CAPTURE_BUFFER_POOL.offer(buffer);
+    }
+
+    /**
+     * A request wrapper that captures the beginning of the request body as the application reads it, so the request can be logged once it completes.
      */
     public class RequestLoggingFilterWrapper extends HttpServletRequestWrapper
     {
-        private byte[] payload = null;
+        private final int captureSize;
+        private byte[] captureBuffer;
+        private int capturedLength;
+        private long payloadLength;
+        private CapturingServletInputStream inputStream;
         private BufferedReader reader;
 
         /**
-         * Constructs a request logging filter wrapper.
+         * Constructs a request logging filter wrapper that captures up to the default capture size of the request body.
          *
          * @param request the request to wrap.
+         */
+        public RequestLoggingFilterWrapper(HttpServletRequest request)
+        {
+            this(request, (Integer) ConfigurationValue.REQUEST_LOGGING_PAYLOAD_CAPTURE_SIZE_BYTES.getDefaultValue());
+        }
+
+        /**
+         * Constructs a request logging filter wrapper.
          *
-         * @throws IOException if any problems were encountered while reading from the stream.
+         * @param request the request to wrap.
+         * @param captureSize the maximum number of bytes of the request body to capture.
          */
-        public RequestLoggingFilterWrapper(HttpServletRequest request) throws IOException
+        public RequestLoggingFilterWrapper(HttpServletRequest request, int captureSize)
         {
             // Perform super class processing.
             super(request);
+            this.captureSize = Math.max(captureSize, 0);
+        }
 
-            // Only grab the payload if debugging is enabled. Otherwise, we'd always be pre-reading the entire payload for no reason which cause a slight
-            // performance degradation for no reason.
-            if (LOGGER.isDebugEnabled())
+        /**
+         * Logs the request message with the captured payload. If the application didn't read enough of the request body to fill the capture buffer, the
+         * remaining bytes up to the capture size are read first. The capture buffer is returned to the pool afterwards.
+         */
+        protected void logRequest()
+        {
+            try
             {
-                // Read the original payload into the payload variable.
-                InputStream inputStream = null;
-                try
+                if (isIncludePayload())
                 {
-                    // Get the input stream.
-                    inputStream = request.getInputStream();
-                    if (inputStream != null)
-                    {
-                        // Read the payload from the input stream.
-                        payload = IOUtils.toByteArray(request.getInputStream());
-                    }
+                    fillCaptureBuffer();
                 }
-                finally
+                logRequest((HttpServletRequest) getRequest());
+            }
+            finally
+            {
+                if (captureBuffer != null)
                 {
-                    if (inputStream != null)
-                    {
-                        try
-                        {
-                            inputStream.close();
-                        }
-                        catch (IOException iox)
-                        {
-                            LOGGER.warn("Unable to close request input stream.", iox);
-                        }
-                    }
+                    releaseCaptureBuffer(captureBuffer);
+                    captureBuffer = null;
                 }
+            }
+        }
 
-                // Log the request.
-                logRequest(request);
+        /**
+         * Reads the request body until the capture buffer is full or the end of the body is reached.
+         */
+        private void fillCaptureBuffer()
+        {
+            try
+            {
+                // The capturing stream copies the bytes read into the capture buffer.
+                CapturingServletInputStream capturingInputStream = getCapturingInputStream();
+                int value = 0;
+                while (capturingInputStream != null && capturedLength < captureSize && value != -1)
+                {
+                    value = capturingInputStream.read();
+                }
+            }
+            catch (IOException | IllegalStateException e)
+            {
+                // The body may not be readable anymore (e.g. if the application read it through the reader of the original request) so log what we have.
+                LOGGER.debug("Unable to read the rest of the request payload to log.", e);
             }
         }
 
@@ -257,13 +361,13 @@ public class RequestLoggingFilter extends OncePerRequestFilter
                 }
             }
 
-            // Get the request payload.
+            // Get the captured request payload.
             String payloadString = "";
             try
             {
-                if (payload != null && payload.length > 0)
+                if (captureBuffer != null && capturedLength > 0)
                 {
-                    payloadString = new String(payload, 0, payload.length, getCharacterEncoding());
+                    payloadString = new String(captureBuffer, 0, capturedLength, getCharacterEncoding());
                 }
             }
             catch (UnsupportedEncodingException e)
@@ -297,6 +401,12 @@ public class RequestLoggingFilter extends OncePerRequestFilter
                 }
 
                 message.append(";payload=").append(sanitizedPayloadString);
+
+                // Tell the payload was truncated since only the beginning of the body was captured.
+                if (payloadLength > capturedLength)
+                {
+                    message.append("...(").append(payloadLength).append(" bytes read)");
+                }
             }
 
             // Append the log message suffix.
@@ -306,40 +416,28 @@ public class RequestLoggingFilter extends OncePerRequestFilter
             LOGGER.debug(message.toString());
         }
 
-        @Override
-        public ServletInputStream getInputStream() throws IOException
+        /**
+         * Gets the captured payload bytes.
+         *
+         * @return the captured payload or an empty array if nothing was captured or if the request was already logged
+         */
+        public byte[] getCapturedPayload()
         {
-            if (payload == null)
+            if (captureBuffer == null)
             {
-                // If no payload is present (i.e. debug logging isn't enabled), then perform the standard super class functionality.
-                return super.getInputStream();
+                return new byte[0];
             }
-            else
-            {
-                return new ServletInputStream()
-                {
-                    final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(payload);
 
-                    public int read() throws IOException
-                    {
-                        // Read bytes from the previously read payload.
-                        return byteArrayInputStream.read();
-                    }
-                };
-            }
+            byte[] capturedPayload = new byte[capturedLength];
+            System.arraycopy(captureBuffer, 0, capturedPayload, 0, capturedLength);
+            return capturedPayload;
         }
 
         @Override
-        public int getContentLength()
+        public ServletInputStream getInputStream() throws IOException
         {
-            if (payload == null)
-            {
-                return super.getContentLength();
-            }
-            else
-            {
-                return payload.length;
-            }
+            CapturingServletInputStream capturingInputStream = getCapturingInputStream();
+            return capturingInputStream != null ? capturingInputStream : super.getInputStream();
         }
 
         @Override
@@ -352,7 +450,8 @@ public class RequestLoggingFilter extends OncePerRequestFilter
         @Override
         public BufferedReader getReader() throws IOException
         {
-            if (payload == null)
+            CapturingServletInputStream capturingInputStream = getCapturingInputStream();
+            if (capturingInputStream == null)
             {
                 return super.getReader();
             }
@@ -360,10 +459,101 @@ public class RequestLoggingFilter extends OncePerRequestFilter
             {
                 if (reader == null)
                 {
-                    this.reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(payload), getCharacterEncoding()));
+                    this.reader = new BufferedReader(new InputStreamReader(capturingInputStream, getCharacterEncoding()));
                 }
                 return reader;
             }
         }
+
+        /**
+         * Gets the stream that captures the body read from the original request, creating it on first use.
+         *
+         * @return the capturing stream or null if the original request has no input stream
+         * @throws IOException if the input stream of the original request couldn't be obtained
+         */
+        private CapturingServletInputStream getCapturingInputStream() throws IOException
+        {
+            if (inputStream == null)
+            {
+                ServletInputStream originalInputStream = super.getInputStream();
+                if (originalInputStream != null)
+                {
+                    inputStream = new CapturingServletInputStream(originalInputStream);
+                }
+            }
+            return inputStream;
+        }
+
+        /**
+         * Copies bytes read from the request body into the capture buffer, up to the capture size.
+         *
+         * @param bytes the bytes read
+         * @param offset the offset of the bytes read
+         * @param length the number of bytes read
+         */
+        private void capture(byte[] bytes, int offset, int length)
+        {
+            payloadLength += length;
+            int captureLength = Math.min(length, captureSize - capturedLength);
+            if (captureLength > 0)
+            {
+                if (captureBuffer == null)
+                {
+                    captureBuffer = borrowCaptureBuffer(captureSize);
+                }
+                System.arraycopy(bytes, offset, captureBuffer, capturedLength, captureLength);
+                capturedLength += captureLength;
+            }
+        }
+
+        /**
+         * A servlet input stream that passes the request body through while capturing its beginning.
+         */
+        private class CapturingServletInputStream extends ServletInputStream
+        {
+            private final ServletInputStream originalInputStream;
+
+            private final byte[] singleByte = new byte[1];
+
+            private CapturingServletInputStream(ServletInputStream originalInputStream)
+            {
+                this.originalInputStream = originalInputStream;
+            }
+
+            @Override
+            public int read() throws IOException
+            {
+                int value = originalInputStream.read();
+                if (value != -1)
+                {
+                    singleByte[0] = (byte) value;
+                    capture(singleByte, 0, 1);
+                }
+                return value;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException
+            {
+                int count = originalInputStream.read(bytes, offset, length);
+                if (count > 0)
+                {
+                    capture(bytes, offset, count);
+                }
+                return count;
+            }
+
+            @Override
+            public int available() throws IOException
+            {
+                return originalInputStream.available();
+            }
+
+            @Override
+            public void close() throws IOException
+            {
+                originalInputStream.close();
+            }
+        }
     }
 }
@@ -0,0 +1,538 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Enumeration;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import org.finra.dm.core.ApplicationContextHolder;
+import org.finra.dm.core.helper.ConfigurationHelper;
+import org.finra.dm.model.dto.ConfigurationValue;
+
+/**
+ * A servlet filter that gzip compresses responses for the clients that accept it. The response body is buffered until it reaches the configured minimum size
+ * so small responses are sent uncompressed (and with a content length) while larger ones are compressed on the fly as they are written. Requests flagged with
+ * the {@link #STREAMING_RESPONSE_ATTRIBUTE} attribute skip the buffering altogether and are compressed from their first byte, so the heap used by this filter
+ * stays the same no matter how big the response is.
+ */
+public class ResponseCompressionFilter extends OncePerRequestFilter
+{
+    /**
+     * The request attribute that flags a response as a streaming one, i.e. one that is expected to be large and should be compressed without buffering.
+     */
+    public static final String STREAMING_RESPONSE_ATTRIBUTE = ResponseCompressionFilter.class.getName() + ".STREAMING_RESPONSE";
+
+    private static final String GZIP_ENCODING = "gzip";
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException
+    {
+        Environment environment = ApplicationContextHolder.getApplicationContext().getEnvironment();
+
+        if (!Boolean.valueOf(ConfigurationHelper.getProperty(ConfigurationValue.HTTP_RESPONSE_COMPRESSION_ENABLED, environment)))
+        {
+            filterChain.doFilter(request, response);
+        }
+        else
+        {
+            // The response depends on the Accept-Encoding header whether it ends up being compressed or not so caches must know about it.
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+            if (!isGzipAccepted(request))
+            {
+                filterChain.doFilter(request, response);
+            }
+            else
+            {
+                CompressionResponseWrapper responseWrapper = new CompressionResponseWrapper(request, response,
+                    ConfigurationHelper.getProperty(ConfigurationValue.HTTP_RESPONSE_COMPRESSION_MIN_SIZE_BYTES, Integer.class, environment));
+                filterChain.doFilter(request, responseWrapper);
+
+                // The response is only completed when the request went through. Otherwise the buffered body is left unsent so the servlet container can
+                // send an error response instead.
+                responseWrapper.finish();
+            }
+        }
+    }
+
+    /**
+     * Determines whether the client accepts gzip encoded responses.
+     *
+     * @param request the HTTP servlet request
+     *
+     * @return true if gzip is one of the accepted encodings, false otherwise
+     */
+    protected boolean isGzipAccepted(HttpServletRequest request)
+    {
+        Enumeration<String> headerValues = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headerValues != null && headerValues.hasMoreElements())
+        {
+            for (String encoding : StringUtils.split(headerValues.nextElement(), ','))
+            {
+                // Ignore the quality value unless it explicitly refuses the encoding (i.e. "gzip;q=0").
+                String[] tokens = StringUtils.split(encoding, ';');
+                if (tokens.length > 0 && GZIP_ENCODING.equalsIgnoreCase(tokens[0].trim()) &&
+                    !(tokens.length > 1 && tokens[1].trim().matches("q=0(\\.0*)?")))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines whether a response with the specified content type is worth compressing. Only textual content types (e.g. XML, JSON or plain text) are since
+     * binary ones are usually compressed already.
+     *
+     * @param contentType the content type of the response, may be null
+     *
+     * @return true if the response should be compressed, false otherwise
+     */
+    protected boolean isCompressibleContentType(String contentType)
+    {
+        String type = StringUtils.lowerCase(contentType);
+        return type != null &&
+            (type.startsWith("text/") || type.contains("xml") || type.contains("json") || type.contains("javascript"));
+    }
+
+    /**
+     * A response wrapper that decides whether to compress the response once enough of its body has been written.
+     */
+    private class CompressionResponseWrapper extends HttpServletResponseWrapper
+    {
+        private final HttpServletRequest request;
+
+        private final int minCompressionSize;
+
+        private CompressionOutputStream outputStream;
+
+        private PrintWriter writer;
+
+        private String contentLength;
+
+        private boolean errorSent;
+
+        /**
+         * Constructs a compression response wrapper.
+         *
+         * @param request the HTTP servlet request
+         * @param response the HTTP servlet response to wrap
+         * @param minCompressionSize the minimum size in bytes of the body for it to be compressed
+         */
+        public CompressionResponseWrapper(HttpServletRequest request, HttpServletResponse response, int minCompressionSize)
+        {
+            super(response);
+            this.request = request;
+            this.minCompressionSize = minCompressionSize;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException
+        {
+            if (writer != null)
+            {
+                throw new IllegalStateException("getWriter() has already been called for this response.");
+            }
+            return getCompressionOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException
+        {
+            if (writer == null)
+            {
+                if (outputStream != null)
+                {
+                    throw new IllegalStateException("getOutputStream() has already been called for this response.");
+                }
+                String characterEncoding = getCharacterEncoding();
+                writer = new PrintWriter(new OutputStreamWriter(getCompressionOutputStream(),
+                    characterEncoding != null ? characterEncoding : WebUtils.DEFAULT_CHARACTER_ENCODING));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException
+        {
+            if (writer != null)
+            {
+                writer.flush();
+            }
+            else if (outputStream != null)
+            {
+                outputStream.flush();
+            }
+            super.flushBuffer();
+        }
+
+        @Override
+        public void resetBuffer()
+        {
+            discardBody(true);
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset()
+        {
+            discardBody(false);
+            super.reset();
+            contentLength = null;
+
+            // The headers are cleared along with the body, including the one set by this filter.
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        @Override
+        public void sendError(int statusCode) throws IOException
+        {
+            discardBodyForError();
+            super.sendError(statusCode);
+            errorSent = true;
+        }
+
+        @Override
+        public void sendError(int statusCode, String message) throws IOException
+        {
+            discardBodyForError();
+            super.sendError(statusCode, message);
+            errorSent = true;
+        }
+
+        // The content length is held back until we know whether the body gets compressed since it no longer applies once it is.
+
+        @Override
+        public void setContentLength(int length)
+        {
+            contentLength = String.valueOf(length);
+        }
+
+        @Override
+        public void setHeader(String name, String value)
+        {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name))
+            {
+                contentLength = value;
+            }
+            else
+            {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value)
+        {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name))
+            {
+                contentLength = value;
+            }
+            else
+            {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value)
+        {
+            setHeader(name, String.valueOf(value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value)
+        {
+            addHeader(name, String.valueOf(value));
+        }
+
+        /**
+         * Completes the response by writing out whatever is still buffered and the gzip trailer when the body is compressed.
+         *
+         * @throws IOException if the response couldn't be written
+         */
+        public void finish() throws IOException
+        {
+            if (errorSent)
+            {
+                // The servlet container writes the error response itself.
+                return;
+            }
+
+            if (writer != null)
+            {
+                writer.flush();
+            }
+            if (outputStream != null)
+            {
+                outputStream.finish();
+            }
+            else if (contentLength != null)
+            {
+                // Nothing was written through this wrapper so pass the content length on as is (e.g. for a HEAD request).
+                getResponse().setContentLength(Integer.parseInt(contentLength));
+            }
+        }
+
+        /**
+         * Discards the body written so far. This does nothing once the response is committed, in which case the wrapped response refuses the reset.
+         *
+         * @param keepCompression true to keep compressing the body if it was already being compressed, i.e. when the headers are kept
+         */
+        private void discardBody(boolean keepCompression)
+        {
+            if (!isCommitted() && outputStream != null)
+            {
+                // Whatever the writer still holds is dropped too. The stream ignores the writer flush meanwhile so it doesn't commit the response.
+                outputStream.discarding = true;
+                try
+                {
+                    if (writer != null)
+                    {
+                        writer.flush();
+                    }
+                }
+                finally
+                {
+                    outputStream.discarding = false;
+                }
+                outputStream.discard(keepCompression);
+            }
+        }
+
+        /**
+         * Discards the body written so far before an error gets sent. The error response is not compressed, so the "Content-Encoding" header is dropped along
+         * with the rest of the headers when the body was already being compressed.
+         */
+        private void discardBodyForError()
+        {
+            if (outputStream != null && outputStream.compressing)
+            {
+                reset();
+            }
+            else
+            {
+                discardBody(false);
+            }
+        }
+
+        private CompressionOutputStream getCompressionOutputStream()
+        {
+            if (outputStream == null)
+            {
+                outputStream = new CompressionOutputStream(this);
+            }
+            return outputStream;
+        }
+
+        /**
+         * Determines whether the body should be compressed. This is checked once the content type and the status are known, i.e. when the body is written.
+         *
+         * @return true if the body should be compressed, false otherwise
+         */
+        private boolean shouldCompress()
+        {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            return !isCommitted() && response.getHeader(HttpHeaders.CONTENT_ENCODING) == null && response.getStatus() != HttpServletResponse.SC_NO_CONTENT &&
+                response.getStatus() != HttpServletResponse.SC_NOT_MODIFIED && isCompressibleContentType(getContentType());
+        }
+
+        private boolean isStreamingResponse()
+        {
+            return Boolean.TRUE.equals(request.getAttribute(STREAMING_RESPONSE_ATTRIBUTE));
+        }
+    }
+
+    /**
+     * An output stream that buffers the body until it reaches the minimum compression size and then writes it through a gzip stream, or writes it as is when
+     * the response is not to be compressed.
+     */
+    private static class CompressionOutputStream extends ServletOutputStream
+    {
+        private final CompressionResponseWrapper responseWrapper;
+
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private OutputStream targetStream;
+
+        private boolean finished;
+
+        private boolean compressing;
+
+        private boolean discarding;
+
+        /**
+         * Constructs a compression output stream.
+         *
+         * @param responseWrapper the response wrapper the stream belongs to
+         */
+        public CompressionOutputStream(CompressionResponseWrapper responseWrapper)
+        {
+            this.responseWrapper = responseWrapper;
+        }
+
+        @Override
+        public void write(int b) throws IOException
+        {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException
+        {
+            if (finished)
+            {
+                throw new IOException("The response has already been completed.");
+            }
+            if (discarding)
+            {
+                return;
+            }
+
+            if (targetStream == null)
+            {
+                if (responseWrapper.isStreamingResponse() || buffer.size() + length >= responseWrapper.minCompressionSize)
+                {
+                    openTargetStream(compressing || responseWrapper.shouldCompress());
+                }
+                else
+                {
+                    buffer.write(bytes, offset, length);
+                    return;
+                }
+            }
+
+            targetStream.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException
+        {
+            if (discarding)
+            {
+                return;
+            }
+
+            // A flush doesn't force the compression decision for the buffered responses since frameworks flush even when they are done writing small bodies.
+            if (targetStream == null && responseWrapper.isStreamingResponse())
+            {
+                openTargetStream(compressing || responseWrapper.shouldCompress());
+            }
+            if (targetStream != null)
+            {
+                targetStream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            finish();
+        }
+
+        /**
+         * Writes out whatever is still buffered and completes the gzip stream if the body is compressed. The underlying response stream is left open for the
+         * servlet container to close.
+         *
+         * @throws IOException if the response couldn't be written
+         */
+        public void finish() throws IOException
+        {
+            if (!finished)
+            {
+                if (targetStream == null)
+                {
+                    // The body stayed below the minimum compression size so send it uncompressed with its actual length, unless the response was already
+                    // being compressed before its buffer got reset.
+                    if (!compressing)
+                    {
+                        responseWrapper.contentLength = String.valueOf(buffer.size());
+                    }
+                    openTargetStream(compressing);
+                }
+                if (targetStream instanceof GZIPOutputStream)
+                {
+                    ((GZIPOutputStream) targetStream).finish();
+                }
+                targetStream.flush();
+                finished = true;
+            }
+        }
+
+        /**
+         * Discards the body written so far. The body is buffered again from its start, since the wrapped response discards whatever was written to it
+         * (including the gzip header) along with this buffer.
+         *
+         * @param keepCompression true to keep compressing the body if it was already being compressed, false to decide again once the body is written
+         */
+        public void discard(boolean keepCompression)
+        {
+            buffer = new ByteArrayOutputStream();
+            targetStream = null;
+            compressing = keepCompression && compressing;
+        }
+
+        /**
+         * Opens the stream the body is written to and writes out what has been buffered so far.
+         *
+         * @param compress true to compress the body, false to write it as is
+         *
+         * @throws IOException if the response couldn't be written
+         */
+        private void openTargetStream(boolean compress) throws IOException
+        {
+            HttpServletResponse response = (HttpServletResponse) responseWrapper.getResponse();
+            compressing = compress;
+            if (compress)
+            {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+                targetStream = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE, true);
+            }
+            else
+            {
+                if (responseWrapper.contentLength != null)
+                {
+                    response.setHeader(HttpHeaders.CONTENT_LENGTH, responseWrapper.contentLength);
+                }
+                targetStream = response.getOutputStream();
+            }
+
+            buffer.writeTo(targetStream);
+            buffer = null;
+        }
+    }
+}
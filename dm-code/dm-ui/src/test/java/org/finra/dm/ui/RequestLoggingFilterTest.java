@@ -18,6 +18,12 @@ package org.finra.dm.ui;
 import static org.junit.Assert.assertEquals;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -38,6 +44,8 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockHttpSession;
 
+import org.finra.dm.model.dto.ConfigurationValue;
+
 /**
  * Test driver for the RequestLoggingFilter class. Since the filter's main functionality logs messages which is difficult to test, the majority of test cases
  * will simply ensure that exceptions are not thrown under various configuration approaches.
@@ -206,6 +214,90 @@ public class RequestLoggingFilterTest extends AbstractUiTest
         wrapper.getReader();
     }
 
+    @Test
+    public void testDoFilterCapturesPayloadUpToCaptureSize() throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.REQUEST_LOGGING_PAYLOAD_CAPTURE_SIZE_BYTES.getKey(), "4");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            FilterChain filterChain = new MockFilterChain()
+            {
+                public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException
+                {
+                    // The whole payload streams through while only its beginning is captured.
+                    assertEquals(PAYLOAD_CONTENT, IOUtils.toString(request.getReader()));
+                    assertEquals(PAYLOAD_CONTENT.substring(0, 4),
+                        new String(((RequestLoggingFilter.RequestLoggingFilterWrapper) request).getCapturedPayload(), StandardCharsets.UTF_8));
+                }
+            };
+
+            // Run the filter.
+            createFilter().doFilter(createServletRequest(), createServletResponse(), filterChain);
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testDoFilterSamplingInterval() throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.REQUEST_LOGGING_SAMPLING_INTERVAL.getKey(), "2");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            final List<Boolean> wrappedRequests = new ArrayList<>();
+            FilterChain filterChain = new MockFilterChain()
+            {
+                public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException
+                {
+                    wrappedRequests.add(request instanceof RequestLoggingFilter.RequestLoggingFilterWrapper);
+                }
+            };
+
+            // Only one request out of two is wrapped to be logged.
+            RequestLoggingFilter requestLoggingFilter = createFilter();
+            for (int i = 0; i < 4; i++)
+            {
+                requestLoggingFilter.doFilter(createServletRequest(), createServletResponse(), filterChain);
+            }
+            assertEquals(Arrays.asList(true, false, true, false), wrappedRequests);
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testRequestLoggingFilterWrapperCapturesUnreadPayload() throws Exception
+    {
+        final List<String> loggedPayloads = new ArrayList<>();
+        RequestLoggingFilter requestLoggingFilter = createFilter();
+        RequestLoggingFilter.RequestLoggingFilterWrapper wrapper = requestLoggingFilter.new RequestLoggingFilterWrapper(createServletRequest(), 4)
+        {
+            @Override
+            protected void logRequest(HttpServletRequest request)
+            {
+                loggedPayloads.add(new String(getCapturedPayload(), StandardCharsets.UTF_8));
+                super.logRequest(request);
+            }
+        };
+
+        // The application didn't read the payload so its beginning is read when the request gets logged.
+        wrapper.logRequest();
+        assertEquals(Arrays.asList(PAYLOAD_CONTENT.substring(0, 4)), loggedPayloads);
+
+        // The capture buffer is returned to the pool once the request is logged.
+        assertEquals(0, wrapper.getCapturedPayload().length);
+    }
+
     private MockHttpServletRequest createServletRequest()
     {
         MockHttpServletRequest request = new MockHttpServletRequest(null, "/test");
@@ -0,0 +1,258 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.dm.ui;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import org.finra.dm.model.dto.ConfigurationValue;
+
+/**
+ * Test driver for the ResponseCompressionFilter class.
+ */
+public class ResponseCompressionFilterTest extends AbstractUiTest
+{
+    private static final String SMALL_BODY = "<small/>";
+
+    private static final String LARGE_BODY = "<large>" + StringUtils.repeat("<item>value</item>", 1000) + "</large>";
+
+    @Test
+    public void testDoFilterLargeResponse() throws Exception
+    {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new ResponseCompressionFilter().doFilter(createServletRequest("gzip, deflate"), response, createFilterChain(LARGE_BODY));
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertTrue(response.getContentAsByteArray().length < LARGE_BODY.length());
+        assertEquals(LARGE_BODY, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    public void testDoFilterSmallResponse() throws Exception
+    {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new ResponseCompressionFilter().doFilter(createServletRequest("gzip"), response, createFilterChain(SMALL_BODY));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(SMALL_BODY.length(), response.getContentLength());
+        assertEquals(SMALL_BODY, response.getContentAsString());
+    }
+
+    @Test
+    public void testDoFilterStreamingResponse() throws Exception
+    {
+        // A streaming response is compressed no matter how small it is.
+        MockHttpServletRequest request = createServletRequest("gzip");
+        request.setAttribute(ResponseCompressionFilter.STREAMING_RESPONSE_ATTRIBUTE, Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new ResponseCompressionFilter().doFilter(request, response, createFilterChain(SMALL_BODY));
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(SMALL_BODY, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    public void testDoFilterGzipNotAccepted() throws Exception
+    {
+        for (String acceptEncoding : new String[] {null, "deflate", "gzip;q=0"})
+        {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            new ResponseCompressionFilter().doFilter(createServletRequest(acceptEncoding), response, createFilterChain(LARGE_BODY));
+
+            assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+            assertEquals(LARGE_BODY, response.getContentAsString());
+        }
+    }
+
+    @Test
+    public void testDoFilterBinaryContentType() throws Exception
+    {
+        final byte[] body = LARGE_BODY.getBytes("UTF-8");
+        MockFilterChain filterChain = new MockFilterChain()
+        {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException
+            {
+                response.setContentType("application/octet-stream");
+                response.getOutputStream().write(body);
+            }
+        };
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new ResponseCompressionFilter().doFilter(createServletRequest("gzip"), response, filterChain);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    public void testDoFilterResetBuffer() throws Exception
+    {
+        // The discarded body is written past the minimum compression size, so the body is compressed again from its start after the reset.
+        MockFilterChain filterChain = new MockFilterChain()
+        {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException
+            {
+                response.setContentType("application/xml");
+                response.setCharacterEncoding("UTF-8");
+                response.getWriter().write("<discarded>" + LARGE_BODY + "</discarded>");
+                response.resetBuffer();
+                response.getWriter().write(LARGE_BODY);
+            }
+        };
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new ResponseCompressionFilter().doFilter(createServletRequest("gzip"), response, filterChain);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE_BODY, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    public void testDoFilterSendError() throws Exception
+    {
+        for (final String body : new String[] {SMALL_BODY, LARGE_BODY})
+        {
+            MockFilterChain filterChain = new MockFilterChain()
+            {
+                @Override
+                public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException
+                {
+                    response.setContentType("application/xml");
+                    response.getWriter().write(body);
+                    ((HttpServletResponse) response).sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "error");
+                }
+            };
+
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            new ResponseCompressionFilter().doFilter(createServletRequest("gzip"), response, filterChain);
+
+            // The body written before the error is discarded and the error response is left to the servlet container, uncompressed.
+            assertEquals(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, response.getStatus());
+            assertEquals("error", response.getErrorMessage());
+            assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+            assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+            assertEquals(0, response.getContentAsByteArray().length);
+        }
+    }
+
+    @Test
+    public void testDoFilterException() throws Exception
+    {
+        MockFilterChain filterChain = new MockFilterChain()
+        {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException
+            {
+                response.setContentType("application/xml");
+                response.getWriter().write(SMALL_BODY);
+                throw new ServletException("failure");
+            }
+        };
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try
+        {
+            new ResponseCompressionFilter().doFilter(createServletRequest("gzip"), response, filterChain);
+            fail("Should throw a ServletException.");
+        }
+        catch (ServletException e)
+        {
+            assertEquals("failure", e.getMessage());
+        }
+
+        // The partial body is not sent so the servlet container can still send an error response.
+        assertFalse(response.isCommitted());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void testDoFilterCompressionDisabled() throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.HTTP_RESPONSE_COMPRESSION_ENABLED.getKey(), "false");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            new ResponseCompressionFilter().doFilter(createServletRequest("gzip"), response, createFilterChain(LARGE_BODY));
+
+            assertFalse(response.containsHeader(HttpHeaders.CONTENT_ENCODING));
+            assertFalse(response.containsHeader(HttpHeaders.VARY));
+            assertEquals(LARGE_BODY, response.getContentAsString());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    private MockHttpServletRequest createServletRequest(String acceptEncoding)
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rest/test");
+        if (acceptEncoding != null)
+        {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+
+    private MockFilterChain createFilterChain(final String body)
+    {
+        return new MockFilterChain()
+        {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException
+            {
+                response.setContentType("application/xml");
+                response.setCharacterEncoding("UTF-8");
+                response.getWriter().write(body);
+            }
+        };
+    }
+
+    private String gunzip(byte[] content) throws IOException
+    {
+        return IOUtils.toString(new GZIPInputStream(new ByteArrayInputStream(content)), "UTF-8");
+    }
+}